@@ -5,6 +5,7 @@ import cn.flying.platformapi.request.CancelShareRequest;
 import cn.flying.platformapi.request.DeleteFilesRequest;
 import cn.flying.platformapi.request.GetShareInfoRequest;
 import cn.flying.platformapi.request.GetAttestationBatchRequest;
+import cn.flying.platformapi.request.GetUserFilesPageRequest;
 import cn.flying.platformapi.request.GetUserShareCodesRequest;
 import cn.flying.platformapi.request.ShareFilesRequest;
 import cn.flying.platformapi.request.StoreAttestationBatchRequest;
@@ -63,6 +64,14 @@ public interface BlockChainService {
      */
     Result<List<FileVO>> getUserFiles(String uploader);
 
+    /**
+     * 按偏移量分页获取用户文件列表，避免文件较多的账户一次读取完整列表
+     *
+     * @param request 分页请求
+     * @return 当前页文件、文件总数与下一页偏移量
+     */
+    Result<UserFilePageVO> getUserFilesPage(GetUserFilesPageRequest request);
+
     /**
      * 获取单个文件详情
      *
@@ -0,0 +1,21 @@
+package cn.flying.platformapi.request;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 分页获取用户链上文件列表的请求。
+ *
+ * @param uploader 上传者标识
+ * @param offset 起始偏移量，从 0 开始；为空时按 0 处理
+ * @param limit 单页最大条数
+ */
+public record GetUserFilesPageRequest(
+        String uploader,
+        Integer offset,
+        Integer limit
+) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,26 @@
+package cn.flying.platformapi.response;
+
+import org.apache.dubbo.remoting.http12.rest.Schema;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 用户链上文件分页视图对象
+ */
+@Schema(description = "用户文件分页")
+public record UserFilePageVO(
+        @Schema(description = "当前页文件")
+        List<FileVO> files,
+
+        @Schema(description = "上传者在链上的文件总数")
+        Long total,
+
+        @Schema(description = "下一页起始偏移量，已到末尾时为空")
+        Integer nextOffset
+) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -6,6 +6,7 @@ package cn.flying.common.util;
 public final class Const {
     //JWT令牌
     public final static String JWT_BLACK_LIST = "jwt:blacklist:";
+    public final static String JWT_REVOCATION_STREAM = "jwt:revocations";
     public final static String JWT_FREQUENCY = "jwt:frequency:";
     //请求频率限制
     public final static String FLOW_LIMIT_COUNTER = "flow:counter:";
@@ -42,9 +43,9 @@ public final class Const {
     public final static String USER_ENTITY = "user";
     public final static String ACCOUNT_ENTITY = "account";
 
-    //权限缓存
-    public final static String PERMISSION_CACHE_PREFIX = "perm:role:";
-    public final static long PERMISSION_CACHE_TTL = 30 * 60;  // 30分钟
+    //权限快照
+    public final static String PERMISSION_VERSION_KEY = "perm:version";
+    public final static String PERMISSION_INVALIDATION_CHANNEL = "perm:invalidate";
 
     //SSE短期令牌
     public final static String SSE_TOKEN_PREFIX = "sse:token:";
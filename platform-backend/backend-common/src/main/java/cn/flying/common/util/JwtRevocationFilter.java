@@ -0,0 +1,368 @@
+package cn.flying.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * JWT 吊销本地过滤器。
+ * <p>
+ * 每个实例在内存中维护"精确集合 + 布隆过滤器"两级结构，使绝大多数未吊销令牌的校验不再访问 Redis：
+ * <ul>
+ *   <li>布隆过滤器未命中：令牌一定未被吊销，直接放行；</li>
+ *   <li>精确集合命中：令牌已吊销，直接拒绝；</li>
+ *   <li>布隆命中但精确集合未命中（精确集合溢出或误判）：回退 Redis 黑名单查询。</li>
+ * </ul>
+ * 吊销时通过 Lua 脚本原子写入黑名单键并追加到吊销事件流，各实例启动时 SCAN 黑名单键完成水合，
+ * 之后轮询事件流增量同步，并按固定周期全量重建以回收过期条目。
+ * 事件流同步落后超过阈值时按 {@code lag-fallback} 配置回退：默认全部查询 Redis。
+ */
+@Slf4j
+@Component
+public class JwtRevocationFilter {
+
+    /**
+     * 本地判定结果
+     */
+    public enum Verdict {
+        /** 一定未吊销 */
+        NOT_REVOKED,
+        /** 已吊销 */
+        REVOKED,
+        /** 本地无法判定，需查询 Redis */
+        UNKNOWN
+    }
+
+    /**
+     * 事件流同步落后时的回退策略
+     */
+    public enum LagFallback {
+        /** 全部查询 Redis 黑名单 */
+        REDIS,
+        /** 继续使用本地快照，仅布隆命中时查询 Redis */
+        LOCAL
+    }
+
+    /**
+     * 原子写入黑名单键并追加吊销事件。
+     * <p>
+     * KEYS[1]: 黑名单 key
+     * KEYS[2]: 吊销事件流 key
+     * ARGV[1]: 黑名单 TTL（毫秒）
+     * ARGV[2]: 本地条目过期时间（毫秒时间戳）
+     * ARGV[3]: 事件流近似最大长度
+     */
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], '', 'PX', ARGV[1])
+            redis.call('XADD', KEYS[2], 'MAXLEN', '~', ARGV[3], '*', 'key', KEYS[1], 'exp', ARGV[2])
+            return 1
+            """, Long.class);
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_EXPIRE_AT = "exp";
+    private static final String STREAM_START_ID = "0-0";
+    // 与 TenantKeyUtils 的 "tenant:{id}:" 前缀保持一致，覆盖所有租户的黑名单键
+    private static final String BLACKLIST_SCAN_PATTERN = "tenant:*:" + Const.JWT_BLACK_LIST + "*";
+    private static final int READ_BATCH = 500;
+    private static final int SCAN_BATCH = 1000;
+    private static final long PURGE_INTERVAL_MS = 60_000L;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final StringRedisTemplate template;
+    private final Clock clock;
+
+    //是否启用本地过滤读路径；关闭时每次校验都查询 Redis，吊销事件仍照常写入
+    @Value("${spring.security.jwt.revocation.local-filter-enabled:true}")
+    private boolean enabled = true;
+    //事件流同步允许的最大落后时间，超过后按回退策略处理并在下次同步时全量重建
+    @Value("${spring.security.jwt.revocation.max-feed-lag-ms:5000}")
+    private long maxFeedLagMs = 5000L;
+    //事件流同步落后时的回退策略
+    @Value("${spring.security.jwt.revocation.lag-fallback:REDIS}")
+    private LagFallback lagFallback = LagFallback.REDIS;
+    //全量重建间隔，用于回收布隆过滤器中已过期的吊销
+    @Value("${spring.security.jwt.revocation.rehydrate-interval-ms:3600000}")
+    private long rehydrateIntervalMs = 3_600_000L;
+    //布隆过滤器预期容量
+    @Value("${spring.security.jwt.revocation.expected-insertions:200000}")
+    private int expectedInsertions = 200_000;
+    //精确集合上限，超出后仅记入布隆过滤器，命中时回退 Redis
+    @Value("${spring.security.jwt.revocation.max-exact-entries:100000}")
+    private int maxExactEntries = 100_000;
+    //吊销事件流近似最大长度
+    @Value("${spring.security.jwt.revocation.stream-max-length:100000}")
+    private long streamMaxLength = 100_000L;
+
+    private volatile Generation generation;
+    private volatile long lastSyncMillis;
+    private String lastStreamId = STREAM_START_ID;
+    private long lastHydrateMillis;
+    private long lastPurgeMillis;
+
+    @Autowired
+    public JwtRevocationFilter(StringRedisTemplate template) {
+        this(template, Clock.systemUTC());
+    }
+
+    JwtRevocationFilter(StringRedisTemplate template, Clock clock) {
+        this.template = template;
+        this.clock = clock;
+    }
+
+    /**
+     * 判断黑名单 key 对应的令牌是否已吊销，本地无法判定时查询 Redis。
+     *
+     * @param blacklistKey 带租户前缀的黑名单 key
+     * @return true 表示已吊销
+     */
+    public boolean isRevoked(String blacklistKey) {
+        return switch (check(blacklistKey)) {
+            case REVOKED -> true;
+            case NOT_REVOKED -> false;
+            case UNKNOWN -> Boolean.TRUE.equals(template.hasKey(blacklistKey));
+        };
+    }
+
+    /**
+     * 仅使用本地结构判定令牌状态。
+     *
+     * @param blacklistKey 带租户前缀的黑名单 key
+     * @return 本地判定结果
+     */
+    public Verdict check(String blacklistKey) {
+        Generation current = generation;
+        if (!enabled || current == null) {
+            return Verdict.UNKNOWN;
+        }
+        if (clock.millis() - lastSyncMillis > maxFeedLagMs && lagFallback == LagFallback.REDIS) {
+            return Verdict.UNKNOWN;
+        }
+        if (current.exact.containsKey(blacklistKey)) {
+            return Verdict.REVOKED;
+        }
+        return current.bloom.mightContain(blacklistKey) ? Verdict.UNKNOWN : Verdict.NOT_REVOKED;
+    }
+
+    /**
+     * 吊销令牌：原子写入 Redis 黑名单与吊销事件流，并立即记入本地结构。
+     *
+     * @param blacklistKey 带租户前缀的黑名单 key
+     * @param ttlMillis    黑名单 TTL（毫秒）
+     * @param expireAt     令牌过期时间加冗余后的毫秒时间戳
+     */
+    public void revoke(String blacklistKey, long ttlMillis, long expireAt) {
+        template.execute(REVOKE_SCRIPT, List.of(blacklistKey, Const.JWT_REVOCATION_STREAM),
+                String.valueOf(Math.max(ttlMillis, 1L)), String.valueOf(expireAt), String.valueOf(streamMaxLength));
+        Generation current = generation;
+        if (current != null) {
+            current.add(blacklistKey, expireAt, maxExactEntries);
+        }
+    }
+
+    /**
+     * 同步吊销事件：首次或落后超限或到达重建周期时全量水合，否则增量读取事件流。
+     * 同步失败不更新同步时间，落后超限后校验自动回退 Redis。
+     */
+    @Scheduled(fixedDelayString = "${spring.security.jwt.revocation.poll-interval-ms:500}")
+    public synchronized void sync() {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        try {
+            if (generation == null || now - lastSyncMillis > maxFeedLagMs
+                    || now - lastHydrateMillis >= rehydrateIntervalMs) {
+                hydrate(now);
+            } else {
+                Generation current = generation;
+                lastStreamId = drain(current, lastStreamId);
+                if (now - lastPurgeMillis >= PURGE_INTERVAL_MS) {
+                    current.purgeExpired(now);
+                    lastPurgeMillis = now;
+                }
+            }
+            lastSyncMillis = now;
+        } catch (Exception e) {
+            log.warn("JWT 吊销事件同步失败，本地过滤器将在落后超限后回退 Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 当前精确集合条目数。
+     *
+     * @return 条目数，未水合时为 0
+     */
+    public int exactSize() {
+        Generation current = generation;
+        return current == null ? 0 : current.exact.size();
+    }
+
+    private void hydrate(long now) {
+        // 先记录事件流位置再扫描：之后的吊销由增量读取补齐，之前的吊销已落在黑名单键中
+        String startId = latestStreamId();
+        Generation rebuilt = new Generation(Math.max(expectedInsertions, 1));
+        long hydratedExpireAt = now + rehydrateIntervalMs;
+        ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_SCAN_PATTERN).count(SCAN_BATCH).build();
+        try (Cursor<String> cursor = template.scan(options)) {
+            while (cursor.hasNext()) {
+                rebuilt.add(cursor.next(), hydratedExpireAt, maxExactEntries);
+            }
+        }
+        lastStreamId = drain(rebuilt, startId);
+        generation = rebuilt;
+        lastHydrateMillis = now;
+        lastPurgeMillis = now;
+        log.debug("JWT 吊销过滤器已重建: exactEntries={}", rebuilt.exact.size());
+    }
+
+    private String latestStreamId() {
+        List<MapRecord<String, Object, Object>> latest = template.opsForStream()
+                .reverseRange(Const.JWT_REVOCATION_STREAM, Range.unbounded(), Limit.limit().count(1));
+        return latest == null || latest.isEmpty() ? STREAM_START_ID : latest.getFirst().getId().getValue();
+    }
+
+    private String drain(Generation target, String fromId) {
+        String cursorId = fromId;
+        while (true) {
+            List<MapRecord<String, Object, Object>> records = template.opsForStream().read(
+                    StreamReadOptions.empty().count(READ_BATCH),
+                    StreamOffset.create(Const.JWT_REVOCATION_STREAM, ReadOffset.from(cursorId)));
+            if (records == null || records.isEmpty()) {
+                return cursorId;
+            }
+            for (MapRecord<String, Object, Object> record : records) {
+                Map<Object, Object> fields = record.getValue();
+                Object key = fields.get(FIELD_KEY);
+                if (key != null) {
+                    target.add(key.toString(), parseExpireAt(fields.get(FIELD_EXPIRE_AT)), maxExactEntries);
+                }
+                cursorId = record.getId().getValue();
+            }
+            if (records.size() < READ_BATCH) {
+                return cursorId;
+            }
+        }
+    }
+
+    private long parseExpireAt(Object value) {
+        if (value != null) {
+            try {
+                return Long.parseLong(value.toString());
+            } catch (NumberFormatException ignored) {
+                // 无法解析时按重建周期保留
+            }
+        }
+        return clock.millis() + rehydrateIntervalMs;
+    }
+
+    /**
+     * 一代本地吊销结构：布隆过滤器只增不删，精确集合按过期时间清理，整体随全量重建替换。
+     */
+    private static final class Generation {
+
+        private final BloomFilter bloom;
+        private final ConcurrentHashMap<String, Long> exact = new ConcurrentHashMap<>();
+
+        private Generation(int expectedInsertions) {
+            this.bloom = new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+        }
+
+        private void add(String key, long expireAt, int maxExactEntries) {
+            // 先写布隆再写精确集合，保证并发读取时不会出现"布隆未命中但已吊销"
+            bloom.put(key);
+            if (exact.size() < maxExactEntries || exact.containsKey(key)) {
+                exact.put(key, expireAt);
+            }
+        }
+
+        private void purgeExpired(long now) {
+            exact.values().removeIf(expireAt -> expireAt <= now);
+        }
+    }
+
+    /**
+     * 线程安全的只增布隆过滤器，采用双重哈希生成 k 个位下标。
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.max(1, (bits + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+            long h1 = hash1(value);
+            long h2 = hash2(h1);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h1 = hash1(value);
+            long h2 = hash2(h1);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash1(String value) {
+            // FNV-1a 64 位后接 splitmix64 混淆
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long hash2(long h1) {
+            return mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.util.StringUtils;
@@ -55,6 +56,10 @@ public class JwtUtils {
     @Resource
     FlowUtils utils;
 
+    //本地吊销过滤器，未装配时直接查询 Redis 黑名单
+    @Autowired(required = false)
+    JwtRevocationFilter revocationFilter;
+
     private static final int MIN_KEY_LENGTH = 32;
     private static final double MIN_ENTROPY_BITS = 128.0;
     private static final String ISSUER = "record-platform";
@@ -369,18 +374,26 @@ public class JwtUtils {
         long expire = Math.max(time.getTime() - now.getTime() + BLACKLIST_BUFFER_MS, 0);
         // 使用租户隔离的 Key
         String key = TenantKeyUtils.tenantKey(Const.JWT_BLACK_LIST + uuid);
-        template.opsForValue().set(key, "", expire, TimeUnit.MILLISECONDS);
+        if (revocationFilter != null) {
+            revocationFilter.revoke(key, expire, time.getTime() + BLACKLIST_BUFFER_MS);
+        } else {
+            template.opsForValue().set(key, "", expire, TimeUnit.MILLISECONDS);
+        }
         return true;
     }
 
     /**
-     * 验证Token是否被列入Redis黑名单
+     * 验证Token是否被列入黑名单
+     * 装配本地吊销过滤器时优先本地判定，仅在无法判定时查询 Redis
      * @param uuid 令牌ID
      * @return 是否操作成功
      */
     private boolean isInvalidToken(String uuid){
         // 使用租户隔离的 Key
         String key = TenantKeyUtils.tenantKey(Const.JWT_BLACK_LIST + uuid);
+        if (revocationFilter != null) {
+            return revocationFilter.isRevoked(key);
+        }
         return Boolean.TRUE.equals(template.hasKey(key));
     }
 
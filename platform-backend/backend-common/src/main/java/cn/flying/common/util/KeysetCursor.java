@@ -0,0 +1,119 @@
+package cn.flying.common.util;
+
+import cn.flying.common.constant.ResultEnum;
+import cn.flying.common.exception.GeneralException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * 按 (时间, ID) 倒序翻页的 keyset 游标。
+ * <p>
+ * 游标对外是 Base64URL 编码的不透明字符串，内部为 "毫秒时间戳:外部ID"。ID 经 {@link IdUtils#toExternalId}
+ * 加密认证后才写入游标，不暴露雪花 ID；篡改或伪造的游标因外部 ID 校验失败被拒绝。
+ * 下一页条件为 {@code time < t OR (time = t AND id < id)}，深翻页与首页成本相同。
+ *
+ * @param epochMillis 上一页最后一条记录的时间（毫秒）
+ * @param id          上一页最后一条记录的 ID
+ */
+public record KeysetCursor(long epochMillis, long id) {
+
+    /**
+     * 单页最大条数
+     */
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * 由 Date 时间与 ID 构造游标。
+     *
+     * @param time 记录时间
+     * @param id   记录 ID
+     * @return 游标
+     */
+    public static KeysetCursor of(Date time, Long id) {
+        return new KeysetCursor(time.getTime(), id);
+    }
+
+    /**
+     * 由 LocalDateTime 时间与 ID 构造游标，按系统时区换算。
+     *
+     * @param time 记录时间
+     * @param id   记录 ID
+     * @return 游标
+     */
+    public static KeysetCursor of(LocalDateTime time, Long id) {
+        return new KeysetCursor(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), id);
+    }
+
+    /**
+     * 解析外部游标，空值表示第一页。
+     *
+     * @param cursor 外部游标
+     * @return 游标，空输入返回 null
+     * @throws GeneralException 游标格式非法或外部 ID 校验失败时抛出
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("missing separator");
+            }
+            Long id = IdUtils.fromExternalId(raw.substring(separator + 1));
+            if (id == null) {
+                throw new IllegalArgumentException("unauthenticated id");
+            }
+            return new KeysetCursor(Long.parseLong(raw.substring(0, separator)), id);
+        } catch (IllegalArgumentException ex) {
+            throw new GeneralException(ResultEnum.PARAM_IS_INVALID, "无效的分页游标");
+        }
+    }
+
+    /**
+     * 将单页条数限制在 [1, MAX_LIMIT]。
+     *
+     * @param limit 请求条数
+     * @return 规范化条数
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return 20;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * 编码为外部不透明游标。
+     *
+     * @return Base64URL 游标，仅含外部 ID
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((epochMillis + ":" + IdUtils.toExternalId(id)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 游标时间的 Date 形式。
+     *
+     * @return Date
+     */
+    public Date date() {
+        return new Date(epochMillis);
+    }
+
+    /**
+     * 游标时间的 LocalDateTime 形式，按系统时区换算。
+     *
+     * @return LocalDateTime
+     */
+    public LocalDateTime localDateTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -1,15 +1,21 @@
 package cn.flying.common.util;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Cipher;
 import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
-import java.security.MessageDigest;
+import java.security.GeneralSecurityException;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * 无状态 ID 加解密编解码器
@@ -34,6 +40,12 @@ import java.util.Arrays;
  * <h3>密钥派生：</h3>
  * <p>使用 HKDF 风格派生，从 JWT_KEY 派生出独立的加密密钥和 MAC 密钥，
  * 包含 salt 和上下文隔离以防止密钥混用。</p>
+ *
+ * <h3>热路径：</h3>
+ * <p>已初始化的 Cipher/Mac 上下文保存在按派生密钥隔离的有界池中，调用方借出后归还，
+ * 避免每个 ID 都做 JCA provider 查找；不依赖线程复用，虚拟线程每请求一个新线程时同样命中。
+ * 最近转换过的内部/外部 ID 对保存在有界 LRU 中，列表页重复出现的 ID 无需再做加解密。
+ * 缓存与派生密钥同属一个实例，密钥变更必须构造新实例，旧映射随旧实例一起失效。</p>
  */
 @Slf4j
 @Component
@@ -68,6 +80,19 @@ public class SecureIdCodec {
     /** 外部 ID 最大长度: 前缀(1) + Base62 密文最大长度。 */
     private static final int MAX_EXTERNAL_ID_LENGTH = 1 + MAX_ENCODED_LENGTH;
 
+    /** 默认 ID 对缓存容量（每个方向） */
+    static final int DEFAULT_CACHE_CAPACITY = 8192;
+
+    /** LRU 分段数，降低并发请求线程在缓存锁上的竞争 */
+    private static final int CACHE_SEGMENTS = 16;
+
+    /** 加解密上下文池容量；并发超出时临时创建的上下文用后丢弃 */
+    private static final int CONTEXT_POOL_CAPACITY = Math.max(16, Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final String CIPHER_TRANSFORMATION = "AES/CTR/NoPadding";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_OUTPUT_LENGTH = 32;
+
     /** HKDF Salt - 固定值用于密钥派生 */
     private static final byte[] HKDF_SALT = "RecordPlatform.IdCodec.v2".getBytes();
 
@@ -77,6 +102,18 @@ public class SecureIdCodec {
     /** HMAC 签名密钥 */
     private final SecretKeySpec hmacKey;
 
+    /** 空闲的已初始化加解密上下文，仅对本实例的派生密钥有效 */
+    private final BlockingQueue<CryptoContext> cryptoContexts = new ArrayBlockingQueue<>(CONTEXT_POOL_CAPACITY);
+
+    /** 内部实体 ID → 外部 ID */
+    private final IdPairCache<Long, String> entityExternalIds;
+
+    /** 内部用户 ID → 外部 ID */
+    private final IdPairCache<Long, String> userExternalIds;
+
+    /** 外部 ID（含类型前缀）→ 内部 ID */
+    private final IdPairCache<String, Long> internalIds;
+
     private static volatile SecureIdCodec instance;
 
     /**
@@ -84,14 +121,31 @@ public class SecureIdCodec {
      *
      * @param jwtKey JWT 密钥 (至少32字符)
      */
+    @Autowired
     public SecureIdCodec(@Value("${spring.security.jwt.key}") String jwtKey) {
+        this(jwtKey, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * 构造函数，可指定 ID 对缓存容量
+     *
+     * @param jwtKey        JWT 密钥 (至少32字符)
+     * @param cacheCapacity 每个方向的缓存条目上限，0 表示不缓存
+     */
+    SecureIdCodec(String jwtKey, int cacheCapacity) {
         if (jwtKey == null || jwtKey.length() < 32) {
             throw new IllegalArgumentException("JWT key must be at least 32 characters for ID encryption");
         }
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("ID cache capacity must not be negative");
+        }
 
         // 使用 HKDF 风格的密钥派生，带 salt 和上下文隔离
         this.aesKey = new SecretKeySpec(deriveKey(jwtKey, HKDF_SALT, "ID_ENC_KEY_V2", 32), "AES");
-        this.hmacKey = new SecretKeySpec(deriveKey(jwtKey, HKDF_SALT, "ID_MAC_KEY_V2", 32), "HmacSHA256");
+        this.hmacKey = new SecretKeySpec(deriveKey(jwtKey, HKDF_SALT, "ID_MAC_KEY_V2", 32), MAC_ALGORITHM);
+        this.entityExternalIds = new IdPairCache<>(cacheCapacity);
+        this.userExternalIds = new IdPairCache<>(cacheCapacity);
+        this.internalIds = new IdPairCache<>(cacheCapacity);
 
         SecureIdCodec.instance = this;
         log.info("SecureIdCodec v2 initialized with AES-256-CTR + HMAC-SHA256");
@@ -114,7 +168,7 @@ public class SecureIdCodec {
      * @return 外部ID (格式: E + Base62编码), 如输入为null则返回null
      */
     public String toExternalId(Long internalId) {
-        return encode(internalId, "E", TYPE_ENTITY);
+        return encodeCached(internalId, "E", TYPE_ENTITY, entityExternalIds);
     }
 
     /**
@@ -124,7 +178,7 @@ public class SecureIdCodec {
      * @return 外部用户ID (格式: U + Base62编码), 如输入为null则返回null
      */
     public String toExternalUserId(Long userId) {
-        return encode(userId, "U", TYPE_USER);
+        return encodeCached(userId, "U", TYPE_USER, userExternalIds);
     }
 
     /**
@@ -148,7 +202,35 @@ public class SecureIdCodec {
             return null;
         }
 
-        return decode(externalId.substring(1), expectedType);
+        Long cached = internalIds.get(externalId);
+        if (cached != null) {
+            return cached;
+        }
+        Long internalId = decode(externalId.substring(1), expectedType);
+        if (internalId != null) {
+            // 只回填外部→内部方向：Base62 允许非规范写法解出同一密文，内部→外部方向只由 encode 写入规范值
+            internalIds.put(externalId, internalId);
+        }
+        return internalId;
+    }
+
+    /**
+     * 先查 ID 对缓存，未命中再加密并回填两个方向
+     */
+    private String encodeCached(Long id, String prefix, byte type, IdPairCache<Long, String> externalIds) {
+        if (id == null) {
+            return null;
+        }
+        String cached = externalIds.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        String externalId = encode(id, prefix, type);
+        if (externalId != null) {
+            externalIds.put(id, externalId);
+            internalIds.put(externalId, id);
+        }
+        return externalId;
     }
 
     /**
@@ -168,26 +250,20 @@ public class SecureIdCodec {
             // 剩余 6 字节保持为 0 作为填充
 
             // 2. 计算 SIV (Synthetic IV) - 使用完整 16 字节
-            byte[] siv = computeSIV(plaintext);
-
-            // 3. AES-CTR 加密（使用 SIV 作为 counter 初始值）
-            Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
-            cipher.init(Cipher.ENCRYPT_MODE, aesKey, new javax.crypto.spec.IvParameterSpec(siv));
-            byte[] encryptedPlaintext = cipher.doFinal(plaintext);
+            CryptoContext context = borrowContext();
+            byte[] ciphertext = new byte[CIPHERTEXT_LENGTH];
+            context.siv(plaintext, ciphertext, 0);
 
-            // 4. 计算 MAC: HMAC-SHA256(SIV || ciphertext)，截断到 MAC_LENGTH
-            byte[] macInput = new byte[SIV_LENGTH + PADDED_PLAINTEXT_LENGTH];
-            System.arraycopy(siv, 0, macInput, 0, SIV_LENGTH);
-            System.arraycopy(encryptedPlaintext, 0, macInput, SIV_LENGTH, PADDED_PLAINTEXT_LENGTH);
-            byte[] mac = computeMAC(macInput);
+            // 3. AES-CTR 加密（使用 SIV 作为 counter 初始值），密文直接写入 [SIV:16] 之后
+            context.cipher.init(Cipher.ENCRYPT_MODE, aesKey, new IvParameterSpec(ciphertext, 0, SIV_LENGTH));
+            context.cipher.doFinal(plaintext, 0, PADDED_PLAINTEXT_LENGTH, ciphertext, SIV_LENGTH);
 
-            // 5. 组合密文: [SIV:16][encrypted:16][MAC:10]
-            byte[] ciphertext = new byte[CIPHERTEXT_LENGTH];
-            System.arraycopy(siv, 0, ciphertext, 0, SIV_LENGTH);
-            System.arraycopy(encryptedPlaintext, 0, ciphertext, SIV_LENGTH, PADDED_PLAINTEXT_LENGTH);
-            System.arraycopy(mac, 0, ciphertext, SIV_LENGTH + PADDED_PLAINTEXT_LENGTH, MAC_LENGTH);
+            // 4. 计算 MAC: HMAC-SHA256(SIV || ciphertext)，截断到 MAC_LENGTH 后写入尾部
+            context.mac(ciphertext);
+            System.arraycopy(context.digest, 0, ciphertext, SIV_LENGTH + PADDED_PLAINTEXT_LENGTH, MAC_LENGTH);
 
-            // 6. Base62 编码并添加前缀
+            // 5. 上下文只在成功路径归还，异常时丢弃；Base62 编码并添加前缀
+            releaseContext(context);
             return prefix + Base62.encode(ciphertext);
 
         } catch (Exception e) {
@@ -212,46 +288,11 @@ public class SecureIdCodec {
                 return null;
             }
 
-            // 2. 分离 SIV、密文和 MAC
-            byte[] siv = Arrays.copyOf(ciphertext, SIV_LENGTH);
-            byte[] encryptedPlaintext = Arrays.copyOfRange(ciphertext, SIV_LENGTH, SIV_LENGTH + PADDED_PLAINTEXT_LENGTH);
-            byte[] receivedMac = Arrays.copyOfRange(ciphertext, SIV_LENGTH + PADDED_PLAINTEXT_LENGTH, CIPHERTEXT_LENGTH);
-
-            // 3. 验证 MAC（先验证再解密，防止 oracle 攻击）
-            byte[] macInput = new byte[SIV_LENGTH + PADDED_PLAINTEXT_LENGTH];
-            System.arraycopy(siv, 0, macInput, 0, SIV_LENGTH);
-            System.arraycopy(encryptedPlaintext, 0, macInput, SIV_LENGTH, PADDED_PLAINTEXT_LENGTH);
-            byte[] expectedMac = computeMAC(macInput);
-
-            if (!MessageDigest.isEqual(receivedMac, expectedMac)) {
-                log.warn("MAC验证失败，可能是ID被篡改");
-                return null;
-            }
-
-            // 4. AES-CTR 解密
-            Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
-            cipher.init(Cipher.DECRYPT_MODE, aesKey, new javax.crypto.spec.IvParameterSpec(siv));
-            byte[] plaintext = cipher.doFinal(encryptedPlaintext);
-
-            // 5. 验证 SIV (确定性检查)
-            byte[] expectedSIV = computeSIV(plaintext);
-            if (!MessageDigest.isEqual(siv, expectedSIV)) {
-                log.warn("SIV验证失败，数据完整性检查未通过");
-                return null;
-            }
-
-            // 6. 验证版本和类型
-            if (plaintext[0] != VERSION) {
-                log.warn("版本号不匹配: expected={}, actual={}", VERSION, plaintext[0]);
-                return null;
-            }
-            if (plaintext[1] != expectedType) {
-                log.warn("类型标识不匹配: expected={}, actual={}", expectedType, plaintext[1]);
-                return null;
-            }
-
-            // 7. 提取内部ID
-            return ByteBuffer.wrap(plaintext, 2, 8).getLong();
+            CryptoContext context = borrowContext();
+            Long internalId = decrypt(context, ciphertext, expectedType);
+            // 上下文只在成功路径归还，异常时丢弃
+            releaseContext(context);
+            return internalId;
 
         } catch (IllegalArgumentException e) {
             log.warn("Base62解码失败: {}", e.getMessage());
@@ -262,6 +303,42 @@ public class SecureIdCodec {
         }
     }
 
+    /**
+     * 使用借出的上下文验证并解密 42 字节密文
+     */
+    private Long decrypt(CryptoContext context, byte[] ciphertext, byte expectedType) throws GeneralSecurityException {
+        // 2. 验证 MAC: HMAC-SHA256(SIV || ciphertext)（先验证再解密，防止 oracle 攻击）
+        context.mac(ciphertext);
+        if (!constantTimeEquals(ciphertext, SIV_LENGTH + PADDED_PLAINTEXT_LENGTH, context.digest, MAC_LENGTH)) {
+            log.warn("MAC验证失败，可能是ID被篡改");
+            return null;
+        }
+
+        // 3. AES-CTR 解密
+        context.cipher.init(Cipher.DECRYPT_MODE, aesKey, new IvParameterSpec(ciphertext, 0, SIV_LENGTH));
+        byte[] plaintext = context.cipher.doFinal(ciphertext, SIV_LENGTH, PADDED_PLAINTEXT_LENGTH);
+
+        // 4. 验证 SIV (确定性检查)
+        context.siv(plaintext, context.expectedSiv, 0);
+        if (!constantTimeEquals(ciphertext, 0, context.expectedSiv, SIV_LENGTH)) {
+            log.warn("SIV验证失败，数据完整性检查未通过");
+            return null;
+        }
+
+        // 5. 验证版本和类型
+        if (plaintext[0] != VERSION) {
+            log.warn("版本号不匹配: expected={}, actual={}", VERSION, plaintext[0]);
+            return null;
+        }
+        if (plaintext[1] != expectedType) {
+            log.warn("类型标识不匹配: expected={}, actual={}", expectedType, plaintext[1]);
+            return null;
+        }
+
+        // 6. 提取内部ID
+        return ByteBuffer.wrap(plaintext, 2, 8).getLong();
+    }
+
     /**
      * 校验 Base62 负载的长度和字符集，避免超长或非法输入进入 BigInteger 解码路径。
      */
@@ -282,25 +359,134 @@ public class SecureIdCodec {
     }
 
     /**
-     * 计算 Synthetic IV
-     * 使用 HMAC-SHA256 的前 16 字节作为 SIV
+     * 常量时间比较 {@code data[offset, offset+length)} 与 {@code expected[0, length)}
+     */
+    private static boolean constantTimeEquals(byte[] data, int offset, byte[] expected, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= data[offset + i] ^ expected[i];
+        }
+        return diff == 0;
+    }
+
+    /**
+     * 从池中借出上下文，池空时新建
      */
-    private byte[] computeSIV(byte[] plaintext) throws Exception {
-        Mac mac = Mac.getInstance("HmacSHA256");
-        mac.init(hmacKey);
-        byte[] hash = mac.doFinal(plaintext);
-        return Arrays.copyOf(hash, SIV_LENGTH);
+    private CryptoContext borrowContext() {
+        CryptoContext context = cryptoContexts.poll();
+        return context != null ? context : newCryptoContext();
     }
 
     /**
-     * 计算 MAC
-     * 使用 HMAC-SHA256 的前 MAC_LENGTH 字节
+     * 归还上下文，池满时直接丢弃
      */
-    private byte[] computeMAC(byte[] data) throws Exception {
-        Mac mac = Mac.getInstance("HmacSHA256");
-        mac.init(hmacKey);
-        byte[] hash = mac.doFinal(data);
-        return Arrays.copyOf(hash, MAC_LENGTH);
+    private void releaseContext(CryptoContext context) {
+        cryptoContexts.offer(context);
+    }
+
+    private CryptoContext newCryptoContext() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(hmacKey);
+            return new CryptoContext(Cipher.getInstance(CIPHER_TRANSFORMATION), mac);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("ID codec crypto context initialization failed", e);
+        }
+    }
+
+    /**
+     * 同一时刻只由一个借出方使用的 Cipher/Mac 与摘要缓冲区；Mac 在 doFinal 后自动重置，Cipher 每次按新 SIV 重新 init。
+     */
+    private static final class CryptoContext {
+
+        private final Cipher cipher;
+        private final Mac mac;
+        private final byte[] digest = new byte[MAC_OUTPUT_LENGTH];
+        private final byte[] expectedSiv = new byte[SIV_LENGTH];
+
+        private CryptoContext(Cipher cipher, Mac mac) {
+            this.cipher = cipher;
+            this.mac = mac;
+        }
+
+        /**
+         * 计算 Synthetic IV：HMAC-SHA256(plaintext) 的前 16 字节，写入 target[offset, offset+16)
+         */
+        private void siv(byte[] plaintext, byte[] target, int offset) throws GeneralSecurityException {
+            mac.update(plaintext, 0, PADDED_PLAINTEXT_LENGTH);
+            mac.doFinal(digest, 0);
+            System.arraycopy(digest, 0, target, offset, SIV_LENGTH);
+        }
+
+        /**
+         * 计算 HMAC-SHA256(SIV || ciphertext) 到 digest，调用方取前 MAC_LENGTH 字节
+         */
+        private void mac(byte[] ciphertext) throws GeneralSecurityException {
+            mac.update(ciphertext, 0, SIV_LENGTH + PADDED_PLAINTEXT_LENGTH);
+            mac.doFinal(digest, 0);
+        }
+    }
+
+    /**
+     * 按 key 哈希分段的有界 LRU；容量为 0 时不保存任何条目。
+     */
+    private static final class IdPairCache<K, V> {
+
+        private final Segment<K, V>[] segments;
+
+        @SuppressWarnings("unchecked")
+        private IdPairCache(int capacity) {
+            if (capacity == 0) {
+                this.segments = null;
+                return;
+            }
+            int segmentCount = Math.min(CACHE_SEGMENTS, capacity);
+            int segmentCapacity = Math.max(1, capacity / segmentCount);
+            this.segments = new Segment[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i] = new Segment<>(segmentCapacity);
+            }
+        }
+
+        private V get(K key) {
+            if (segments == null) {
+                return null;
+            }
+            Segment<K, V> segment = segment(key);
+            synchronized (segment) {
+                return segment.get(key);
+            }
+        }
+
+        private void put(K key, V value) {
+            if (segments == null) {
+                return;
+            }
+            Segment<K, V> segment = segment(key);
+            synchronized (segment) {
+                segment.put(key, value);
+            }
+        }
+
+        private Segment<K, V> segment(K key) {
+            int hash = key.hashCode();
+            return segments[((hash ^ (hash >>> 16)) & 0x7fffffff) % segments.length];
+        }
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
     }
 
     /**
@@ -315,13 +501,13 @@ public class SecureIdCodec {
     private static byte[] deriveKey(String masterKey, byte[] salt, String info, int length) {
         try {
             // Extract: PRK = HMAC(salt, masterKey)
-            Mac extractMac = Mac.getInstance("HmacSHA256");
-            extractMac.init(new SecretKeySpec(salt, "HmacSHA256"));
+            Mac extractMac = Mac.getInstance(MAC_ALGORITHM);
+            extractMac.init(new SecretKeySpec(salt, MAC_ALGORITHM));
             byte[] prk = extractMac.doFinal(masterKey.getBytes());
 
             // Expand: output = HMAC(PRK, info || 0x01)
-            Mac expandMac = Mac.getInstance("HmacSHA256");
-            expandMac.init(new SecretKeySpec(prk, "HmacSHA256"));
+            Mac expandMac = Mac.getInstance(MAC_ALGORITHM);
+            expandMac.init(new SecretKeySpec(prk, MAC_ALGORITHM));
             byte[] infoBytes = (info + "\u0001").getBytes();
             byte[] hash = expandMac.doFinal(infoBytes);
 
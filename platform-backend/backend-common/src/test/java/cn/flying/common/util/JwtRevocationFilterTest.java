@@ -0,0 +1,230 @@
+package cn.flying.common.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JwtRevocationFilter Tests")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class JwtRevocationFilterTest {
+
+    private static final String REVOKED_KEY = "tenant:1:" + Const.JWT_BLACK_LIST + "revoked";
+    private static final String ACTIVE_KEY = "tenant:1:" + Const.JWT_BLACK_LIST + "active";
+    private static final String STREAMED_KEY = "tenant:2:" + Const.JWT_BLACK_LIST + "streamed";
+
+    @Mock
+    private StringRedisTemplate template;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private Cursor<String> cursor;
+
+    private MutableClock clock;
+    private JwtRevocationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        filter = new JwtRevocationFilter(template, clock);
+        when(template.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.reverseRange(eq(Const.JWT_REVOCATION_STREAM), any(), any(Limit.class)))
+                .thenReturn(List.of());
+        when(streamOperations.read(any(StreamReadOptions.class), any(StreamOffset.class))).thenReturn(List.of());
+        when(template.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn(REVOKED_KEY);
+    }
+
+    @Nested
+    @DisplayName("local verdicts")
+    class LocalVerdicts {
+
+        @Test
+        @DisplayName("should defer to Redis before the first hydration")
+        void beforeHydration_fallsBackToRedis() {
+            when(template.hasKey(ACTIVE_KEY)).thenReturn(false);
+
+            assertThat(filter.check(ACTIVE_KEY)).isEqualTo(JwtRevocationFilter.Verdict.UNKNOWN);
+            assertThat(filter.isRevoked(ACTIVE_KEY)).isFalse();
+            verify(template).hasKey(ACTIVE_KEY);
+        }
+
+        @Test
+        @DisplayName("should answer hydrated keys and bloom negatives without Redis")
+        void afterHydration_answersLocally() {
+            filter.sync();
+
+            assertThat(filter.isRevoked(REVOKED_KEY)).isTrue();
+            assertThat(filter.isRevoked(ACTIVE_KEY)).isFalse();
+            verify(template, never()).hasKey(anyString());
+        }
+
+        @Test
+        @DisplayName("should apply revocations read from the event stream")
+        void streamEvents_areApplied() {
+            filter.sync();
+            MapRecord<String, Object, Object> event = MapRecord
+                    .create(Const.JWT_REVOCATION_STREAM, Map.<Object, Object>of(
+                            "key", STREAMED_KEY,
+                            "exp", String.valueOf(clock.millis() + 60_000L)))
+                    .withId(RecordId.of("1700000000000-0"));
+            when(streamOperations.read(any(StreamReadOptions.class), any(StreamOffset.class)))
+                    .thenReturn(List.of(event), List.of());
+
+            clock.advance(Duration.ofMillis(500));
+            filter.sync();
+
+            assertThat(filter.check(STREAMED_KEY)).isEqualTo(JwtRevocationFilter.Verdict.REVOKED);
+        }
+
+        @Test
+        @DisplayName("should record local revocations immediately through the atomic script")
+        void revoke_executesScriptAndAppliesLocally() {
+            filter.sync();
+
+            filter.revoke(ACTIVE_KEY, 1_000L, clock.millis() + 1_000L);
+
+            verify(template).execute(any(RedisScript.class),
+                    eq(List.of(ACTIVE_KEY, Const.JWT_REVOCATION_STREAM)), any(), any(), any());
+            assertThat(filter.check(ACTIVE_KEY)).isEqualTo(JwtRevocationFilter.Verdict.REVOKED);
+        }
+    }
+
+    @Nested
+    @DisplayName("feed lag")
+    class FeedLag {
+
+        @Test
+        @DisplayName("should fall back to Redis when the feed lags under REDIS fallback")
+        void lagging_redisFallback() {
+            filter.sync();
+            clock.advance(Duration.ofSeconds(6));
+
+            assertThat(filter.check(ACTIVE_KEY)).isEqualTo(JwtRevocationFilter.Verdict.UNKNOWN);
+        }
+
+        @Test
+        @DisplayName("should keep using the local snapshot under LOCAL fallback")
+        void lagging_localFallback() {
+            ReflectionTestUtils.setField(filter, "lagFallback", JwtRevocationFilter.LagFallback.LOCAL);
+            filter.sync();
+            clock.advance(Duration.ofSeconds(6));
+
+            assertThat(filter.check(ACTIVE_KEY)).isEqualTo(JwtRevocationFilter.Verdict.NOT_REVOKED);
+            assertThat(filter.check(REVOKED_KEY)).isEqualTo(JwtRevocationFilter.Verdict.REVOKED);
+        }
+
+        @Test
+        @DisplayName("should stay on Redis when hydration fails")
+        void hydrationFailure_keepsRedisPath() {
+            when(template.scan(any(ScanOptions.class))).thenThrow(new RedisConnectionFailureException("down"));
+
+            filter.sync();
+
+            assertThat(filter.check(ACTIVE_KEY)).isEqualTo(JwtRevocationFilter.Verdict.UNKNOWN);
+            assertThat(filter.exactSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("should bypass local structures when disabled")
+        void disabled_alwaysUnknown() {
+            ReflectionTestUtils.setField(filter, "enabled", false);
+
+            filter.sync();
+
+            assertThat(filter.check(REVOKED_KEY)).isEqualTo(JwtRevocationFilter.Verdict.UNKNOWN);
+            verify(template, never()).scan(any(ScanOptions.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("BloomFilter")
+    class BloomFilterTests {
+
+        @Test
+        @DisplayName("should never report false negatives and keep false positives near target")
+        void bloom_noFalseNegatives() {
+            JwtRevocationFilter.BloomFilter bloom = new JwtRevocationFilter.BloomFilter(10_000, 0.01);
+            for (int i = 0; i < 10_000; i++) {
+                bloom.put("member-" + i);
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(bloom.mightContain("member-" + i)).isTrue();
+                if (bloom.mightContain("other-" + i)) {
+                    falsePositives++;
+                }
+            }
+
+            assertThat(falsePositives).isLessThan(300);
+        }
+    }
+
+    /**
+     * 可手动推进的测试时钟。
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -554,6 +554,59 @@ class JwtUtilsTest {
         }
     }
 
+    @Nested
+    @DisplayName("Revocation Filter Tests")
+    class RevocationFilterTests {
+
+        @Mock
+        private JwtRevocationFilter revocationFilter;
+
+        @BeforeEach
+        void wireFilter() {
+            ReflectionTestUtils.setField(jwtUtils, "revocationFilter", revocationFilter);
+            when(flowUtils.limitOnceUpgradeCheck(anyString(), anyInt(), anyInt(), anyInt())).thenReturn(true);
+        }
+
+        @Test
+        @DisplayName("should consult the local filter instead of Redis when resolving")
+        void resolveJwt_usesRevocationFilter() {
+            when(revocationFilter.isRevoked(anyString())).thenReturn(false);
+            String token = jwtUtils.createJwt(testUser(), "testuser", 123L, 1L);
+
+            assertThat(jwtUtils.resolveJwt("Bearer " + token)).isNotNull();
+            verify(revocationFilter).isRevoked(startsWith(Const.JWT_BLACK_LIST));
+            verify(redisTemplate, never()).hasKey(anyString());
+        }
+
+        @Test
+        @DisplayName("should reject tokens the filter reports as revoked")
+        void resolveJwt_rejectsRevoked() {
+            when(revocationFilter.isRevoked(anyString())).thenReturn(true);
+            String token = jwtUtils.createJwt(testUser(), "testuser", 123L, 1L);
+
+            assertThat(jwtUtils.resolveJwt("Bearer " + token)).isNull();
+        }
+
+        @Test
+        @DisplayName("should revoke through the filter with buffered expiry")
+        void invalidateJwt_revokesThroughFilter() {
+            when(revocationFilter.isRevoked(anyString())).thenReturn(false);
+            String token = jwtUtils.createJwt(testUser(), "testuser", 123L, 1L);
+
+            assertThat(jwtUtils.invalidateJwt("Bearer " + token)).isTrue();
+            verify(revocationFilter).revoke(startsWith(Const.JWT_BLACK_LIST), longThat(ttl -> ttl > 0),
+                    longThat(expireAt -> expireAt > System.currentTimeMillis()));
+            verify(redisTemplate, never()).opsForValue();
+        }
+
+        private UserDetails testUser() {
+            return User.withUsername("testuser")
+                    .password("password")
+                    .authorities(new SimpleGrantedAuthority("ROLE_user"))
+                    .build();
+        }
+    }
+
     @Nested
     @DisplayName("Expire Time Tests")
     class ExpireTimeTests {
@@ -0,0 +1,112 @@
+package cn.flying.common.util;
+
+import cn.flying.common.exception.GeneralException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("KeysetCursor Tests")
+class KeysetCursorTest {
+
+    private static final long SNOWFLAKE_ID = 1_893_456_789_012_345_678L;
+
+    private SecureIdCodec originalSecureIdCodec;
+
+    @BeforeEach
+    void setUp() {
+        originalSecureIdCodec = (SecureIdCodec) ReflectionTestUtils.getField(IdUtils.class, "secureIdCodec");
+        ReflectionTestUtils.setField(
+                IdUtils.class,
+                "secureIdCodec",
+                new SecureIdCodec("SecureTestKey4UnitTests2026XyZ789AbCdEfGhIjKlMnOpQrStUvWxYz1234"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(IdUtils.class, "secureIdCodec", originalSecureIdCodec);
+    }
+
+    /**
+     * 验证 Date 与 LocalDateTime 游标编码后可无损还原时间与 ID。
+     */
+    @Test
+    @DisplayName("should round-trip time and id")
+    void shouldRoundTripTimeAndId() {
+        Date time = new Date(1_767_225_600_123L);
+        KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.of(time, 42L).encode());
+
+        assertThat(decoded).isEqualTo(new KeysetCursor(1_767_225_600_123L, 42L));
+        assertThat(decoded.date()).isEqualTo(time);
+
+        LocalDateTime localTime = LocalDateTime.of(2026, 3, 1, 8, 30, 15);
+        assertThat(KeysetCursor.decode(KeysetCursor.of(localTime, 7L).encode()).localDateTime()).isEqualTo(localTime);
+    }
+
+    /**
+     * 验证空游标表示第一页，非法游标统一转换为参数错误。
+     */
+    @Test
+    @DisplayName("should treat blank as first page and reject malformed cursors")
+    void shouldTreatBlankAsFirstPageAndRejectMalformedCursors() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode(" ")).isNull();
+
+        String noSeparator = Base64.getUrlEncoder().encodeToString("12345".getBytes());
+        assertThatThrownBy(() -> KeysetCursor.decode(noSeparator)).isInstanceOf(GeneralException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("%%%")).isInstanceOf(GeneralException.class);
+    }
+
+    /**
+     * 验证游标只携带外部 ID，解码后看不到雪花 ID。
+     */
+    @Test
+    @DisplayName("should not expose the internal id")
+    void shouldNotExposeInternalId() {
+        String cursor = new KeysetCursor(1_767_225_600_123L, SNOWFLAKE_ID).encode();
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+        assertThat(raw).isEqualTo("1767225600123:" + IdUtils.toExternalId(SNOWFLAKE_ID));
+        assertThat(raw).doesNotContain(Long.toString(SNOWFLAKE_ID));
+        assertThat(KeysetCursor.decode(cursor).id()).isEqualTo(SNOWFLAKE_ID);
+    }
+
+    /**
+     * 验证手工拼出的内部 ID 游标和篡改过外部 ID 的游标都被拒绝。
+     */
+    @Test
+    @DisplayName("should reject forged and tampered cursors")
+    void shouldRejectForgedAndTamperedCursors() {
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("1767225600123:" + SNOWFLAKE_ID).getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> KeysetCursor.decode(forged)).isInstanceOf(GeneralException.class);
+
+        String externalId = IdUtils.toExternalId(SNOWFLAKE_ID);
+        char last = externalId.charAt(externalId.length() - 1);
+        String tamperedId = externalId.substring(0, externalId.length() - 1) + (last == 'A' ? 'B' : 'A');
+        String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("1767225600123:" + tamperedId).getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> KeysetCursor.decode(tampered)).isInstanceOf(GeneralException.class);
+    }
+
+    /**
+     * 验证单页条数被限制在 [1, MAX_LIMIT]。
+     */
+    @Test
+    @DisplayName("should clamp limit")
+    void shouldClampLimit() {
+        assertThat(KeysetCursor.normalizeLimit(null)).isEqualTo(20);
+        assertThat(KeysetCursor.normalizeLimit(0)).isEqualTo(20);
+        assertThat(KeysetCursor.normalizeLimit(50)).isEqualTo(50);
+        assertThat(KeysetCursor.normalizeLimit(10_000)).isEqualTo(KeysetCursor.MAX_LIMIT);
+    }
+}
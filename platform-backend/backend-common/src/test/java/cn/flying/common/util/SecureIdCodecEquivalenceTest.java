@@ -0,0 +1,331 @@
+package cn.flying.common.util;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 验证复用加解密上下文与 ID 对缓存后，SecureIdCodec 与逐次 getInstance 的原始实现输出逐字节一致。
+ */
+@DisplayName("SecureIdCodec Equivalence Tests")
+class SecureIdCodecEquivalenceTest {
+
+    private static final String TEST_KEY = "SecureTestKey4UnitTests2026XyZ789AbCdEfGhIjKlMnOpQrStUvWxYz1234";
+    private static final long SEED = 20261018L;
+    private static final int SAMPLES = 5_000;
+
+    private LegacyIdEncoding legacy;
+
+    @BeforeEach
+    void setUp() {
+        legacy = new LegacyIdEncoding(TEST_KEY);
+    }
+
+    @Nested
+    @DisplayName("Round-trip Properties")
+    class RoundTripProperties {
+
+        @Test
+        @DisplayName("should match legacy encoding for random and boundary IDs with and without cache")
+        void encode_matchesLegacyForRandomIds() {
+            SecureIdCodec cached = new SecureIdCodec(TEST_KEY, 64);
+            SecureIdCodec uncached = new SecureIdCodec(TEST_KEY, 0);
+
+            for (long id : sampleIds()) {
+                String entity = legacy.encode(id, "E", (byte) 0x45);
+                String user = legacy.encode(id, "U", (byte) 0x55);
+
+                assertThat(cached.toExternalId(id)).as("entity %d", id).isEqualTo(entity);
+                assertThat(uncached.toExternalId(id)).as("entity %d", id).isEqualTo(entity);
+                assertThat(cached.toExternalUserId(id)).as("user %d", id).isEqualTo(user);
+                assertThat(uncached.toExternalUserId(id)).as("user %d", id).isEqualTo(user);
+            }
+        }
+
+        @Test
+        @DisplayName("should decode legacy output and produce IDs the legacy decoder accepts")
+        void decode_isCompatibleWithLegacyInBothDirections() {
+            SecureIdCodec codec = new SecureIdCodec(TEST_KEY, 64);
+
+            for (long id : sampleIds()) {
+                assertThat(codec.fromExternalId(legacy.encode(id, "E", (byte) 0x45))).isEqualTo(id);
+                assertThat(codec.fromExternalId(legacy.encode(id, "U", (byte) 0x55))).isEqualTo(id);
+                assertThat(legacy.decode(codec.toExternalId(id), (byte) 0x45)).isEqualTo(id);
+                assertThat(legacy.decode(codec.toExternalUserId(id), (byte) 0x55)).isEqualTo(id);
+            }
+        }
+
+        @Test
+        @DisplayName("should keep rejecting tampered and cross-type IDs after the valid ID is cached")
+        void decode_rejectsTamperedIdsEvenWhenCached() {
+            SecureIdCodec codec = new SecureIdCodec(TEST_KEY, 64);
+            Random random = new Random(SEED);
+
+            for (int i = 0; i < 500; i++) {
+                long id = random.nextLong();
+                String external = codec.toExternalId(id);
+                assertThat(codec.fromExternalId(external)).isEqualTo(id);
+
+                char[] chars = external.toCharArray();
+                int position = 1 + random.nextInt(chars.length - 1);
+                chars[position] = chars[position] == 'A' ? 'B' : 'A';
+
+                assertThat(codec.fromExternalId(new String(chars))).isNull();
+                assertThat(codec.fromExternalId("U" + external.substring(1))).isNull();
+            }
+        }
+
+        @Test
+        @DisplayName("should stay correct after LRU eviction with a tiny cache")
+        void cache_evictionDoesNotChangeResults() {
+            SecureIdCodec codec = new SecureIdCodec(TEST_KEY, 2);
+
+            for (int round = 0; round < 3; round++) {
+                for (long id = 1; id <= 50; id++) {
+                    String external = codec.toExternalId(id);
+                    assertThat(external).isEqualTo(legacy.encode(id, "E", (byte) 0x45));
+                    assertThat(codec.fromExternalId(external)).isEqualTo(id);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("should produce identical results from concurrent request threads")
+        void concurrentThreads_shareCacheSafely() throws Exception {
+            SecureIdCodec codec = new SecureIdCodec(TEST_KEY, 128);
+            long[] ids = new Random(SEED).longs(400).toArray();
+            Map<Long, String> expected = new HashMap<>();
+            for (long id : ids) {
+                expected.put(id, legacy.encode(id, "E", (byte) 0x45));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    results.add(executor.submit(() -> {
+                        for (int round = 0; round < 5; round++) {
+                            for (long id : ids) {
+                                String external = codec.toExternalId(id);
+                                if (!expected.get(id).equals(external)
+                                        || !Long.valueOf(id).equals(codec.fromExternalId(external))) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    }));
+                }
+                for (Future<Boolean> result : results) {
+                    assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("should produce identical results when every call runs on a fresh virtual thread")
+        void virtualThreads_reusePooledContexts() throws Exception {
+            SecureIdCodec codec = new SecureIdCodec(TEST_KEY, 0);
+            long[] ids = new Random(SEED).longs(2_000).toArray();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (long id : ids) {
+                    results.add(executor.submit(() -> {
+                        String external = codec.toExternalId(id);
+                        return legacy.encode(id, "E", (byte) 0x45).equals(external)
+                                && Long.valueOf(id).equals(codec.fromExternalId(external));
+                    }));
+                }
+                for (Future<Boolean> result : results) {
+                    assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("should not share cached pairs across codecs with different keys")
+        void cache_isScopedToDerivedKeys() {
+            SecureIdCodec first = new SecureIdCodec("KeyOne12345678901234567890ABCDEF");
+            SecureIdCodec rotated = new SecureIdCodec("KeyTwo12345678901234567890ABCDEF");
+            String external = first.toExternalId(12345L);
+
+            assertThat(first.fromExternalId(external)).isEqualTo(12345L);
+            assertThat(rotated.fromExternalId(external)).isNull();
+            assertThat(rotated.toExternalId(12345L)).isNotEqualTo(external);
+        }
+
+        @Test
+        @DisplayName("should reject negative cache capacity")
+        void constructor_rejectsNegativeCapacity() {
+            assertThatThrownBy(() -> new SecureIdCodec(TEST_KEY, -1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Per-ID Cost Report")
+    @EnabledIfSystemProperty(named = "backend.benchmark", matches = "true")
+    class PerIdCostReport {
+
+        private static final int ROUNDS = 5;
+        private static final int COLD_CODECS = 200;
+
+        /**
+         * 输出原始实现与冷启动、池化上下文、LRU 命中三条路径的单 ID 编解码耗时，只报告不断言；
+         * 用 {@code -Dbackend.benchmark=true} 运行。
+         */
+        @Test
+        @DisplayName("should report per-ID encode and decode cost for each path")
+        void reportPerIdCost() {
+            long[] ids = sampleIds();
+            String[] externals = new String[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                externals[i] = legacy.encode(ids[i], "E", (byte) 0x45);
+            }
+
+            SecureIdCodec pooled = new SecureIdCodec(TEST_KEY, 0);
+            SecureIdCodec cached = new SecureIdCodec(TEST_KEY, ids.length);
+            for (int round = 0; round < ROUNDS; round++) {
+                boolean measured = round == ROUNDS - 1;
+                report(measured, "legacy", "encode", ids.length,
+                        timed(() -> Arrays.stream(ids).forEach(id -> legacy.encode(id, "E", (byte) 0x45))));
+                report(measured, "legacy", "decode", ids.length,
+                        timed(() -> Arrays.stream(externals).forEach(external -> legacy.decode(external, (byte) 0x45))));
+                report(measured, "pooled-context", "encode", ids.length,
+                        timed(() -> Arrays.stream(ids).forEach(pooled::toExternalId)));
+                report(measured, "pooled-context", "decode", ids.length,
+                        timed(() -> Arrays.stream(externals).forEach(pooled::fromExternalId)));
+                report(measured, "lru-hit", "encode", ids.length,
+                        timed(() -> Arrays.stream(ids).forEach(cached::toExternalId)));
+                report(measured, "lru-hit", "decode", ids.length,
+                        timed(() -> Arrays.stream(externals).forEach(cached::fromExternalId)));
+            }
+
+            // 冷启动：每个新实例的第一次调用需要新建 Cipher/Mac 上下文，实例构造（密钥派生）不计入
+            long coldEncode = 0L;
+            long coldDecode = 0L;
+            for (int i = 0; i < COLD_CODECS; i++) {
+                SecureIdCodec encoder = new SecureIdCodec(TEST_KEY, 0);
+                SecureIdCodec decoder = new SecureIdCodec(TEST_KEY, 0);
+                long id = ids[i];
+                String external = externals[i];
+                coldEncode += timed(() -> encoder.toExternalId(id));
+                coldDecode += timed(() -> decoder.fromExternalId(external));
+            }
+            report(true, "cold", "encode", COLD_CODECS, coldEncode);
+            report(true, "cold", "decode", COLD_CODECS, coldDecode);
+        }
+
+        private long timed(Runnable action) {
+            long started = System.nanoTime();
+            action.run();
+            return System.nanoTime() - started;
+        }
+
+        private void report(boolean measured, String path, String operation, int count, long nanos) {
+            if (measured) {
+                System.out.printf("secure-id %-15s %-6s %8.0f ns/id%n", path, operation, (double) nanos / count);
+            }
+        }
+    }
+
+    private static long[] sampleIds() {
+        long[] boundaries = {0L, 1L, -1L, 42L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1, 1L << 32};
+        long[] ids = Arrays.copyOf(boundaries, boundaries.length + SAMPLES);
+        Random random = new Random(SEED);
+        for (int i = boundaries.length; i < ids.length; i++) {
+            ids[i] = random.nextLong();
+        }
+        return ids;
+    }
+
+    /**
+     * 原始实现的逐字节参考：每次编解码都重新 getInstance Cipher 与 Mac。
+     */
+    private static final class LegacyIdEncoding {
+
+        private static final byte VERSION = 0x02;
+        private static final byte[] HKDF_SALT = "RecordPlatform.IdCodec.v2".getBytes();
+
+        private final SecretKeySpec aesKey;
+        private final SecretKeySpec hmacKey;
+
+        private LegacyIdEncoding(String jwtKey) {
+            this.aesKey = new SecretKeySpec(deriveKey(jwtKey, "ID_ENC_KEY_V2"), "AES");
+            this.hmacKey = new SecretKeySpec(deriveKey(jwtKey, "ID_MAC_KEY_V2"), "HmacSHA256");
+        }
+
+        private String encode(long id, String prefix, byte type) {
+            try {
+                byte[] plaintext = new byte[16];
+                plaintext[0] = VERSION;
+                plaintext[1] = type;
+                ByteBuffer.wrap(plaintext, 2, 8).putLong(id);
+                byte[] siv = Arrays.copyOf(hmac(plaintext), 16);
+                Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+                cipher.init(Cipher.ENCRYPT_MODE, aesKey, new IvParameterSpec(siv));
+                byte[] encrypted = cipher.doFinal(plaintext);
+                byte[] macInput = new byte[32];
+                System.arraycopy(siv, 0, macInput, 0, 16);
+                System.arraycopy(encrypted, 0, macInput, 16, 16);
+                byte[] ciphertext = new byte[42];
+                System.arraycopy(macInput, 0, ciphertext, 0, 32);
+                System.arraycopy(hmac(macInput), 0, ciphertext, 32, 10);
+                return prefix + Base62.encode(ciphertext);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Long decode(String externalId, byte expectedType) {
+            try {
+                byte[] ciphertext = Base62.decode(externalId.substring(1));
+                byte[] macInput = Arrays.copyOf(ciphertext, 32);
+                if (!MessageDigest.isEqual(Arrays.copyOfRange(ciphertext, 32, 42), Arrays.copyOf(hmac(macInput), 10))) {
+                    return null;
+                }
+                Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+                cipher.init(Cipher.DECRYPT_MODE, aesKey, new IvParameterSpec(Arrays.copyOf(ciphertext, 16)));
+                byte[] plaintext = cipher.doFinal(Arrays.copyOfRange(ciphertext, 16, 32));
+                if (plaintext[0] != VERSION || plaintext[1] != expectedType) {
+                    return null;
+                }
+                return ByteBuffer.wrap(plaintext, 2, 8).getLong();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private byte[] hmac(byte[] data) throws Exception {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(hmacKey);
+            return mac.doFinal(data);
+        }
+
+        private static byte[] deriveKey(String masterKey, String info) {
+            try {
+                Mac extractMac = Mac.getInstance("HmacSHA256");
+                extractMac.init(new SecretKeySpec(HKDF_SALT, "HmacSHA256"));
+                byte[] prk = extractMac.doFinal(masterKey.getBytes());
+                Mac expandMac = Mac.getInstance("HmacSHA256");
+                expandMac.init(new SecretKeySpec(prk, "HmacSHA256"));
+                return Arrays.copyOf(expandMac.doFinal((info + "\u0001").getBytes()), 32);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
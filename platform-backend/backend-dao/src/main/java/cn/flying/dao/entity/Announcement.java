@@ -57,6 +57,13 @@ public class Announcement implements Serializable {
     @Schema(description = "发布者ID")
     private Long publisherId;
 
+    /**
+     * 发布序号，首次进入已发布状态时分配且不再改变；草稿为 null。
+     * 序号不超过用户已读水位的公告视为已读。
+     */
+    @Schema(description = "发布序号")
+    private Long publishSeq;
+
     @TableField(fill = FieldFill.INSERT)
     @Schema(description = "创建时间")
     private Date createTime;
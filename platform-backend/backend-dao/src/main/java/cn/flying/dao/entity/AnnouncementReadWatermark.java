@@ -0,0 +1,43 @@
+package cn.flying.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 公告已读水位实体
+ * 发布序号不超过水位的公告均视为已读，水位以上单独阅读的公告记录在 announcement_read 中
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@Accessors(chain = true)
+@TableName("announcement_read_watermark")
+@Schema(name = "AnnouncementReadWatermark", description = "公告已读水位实体")
+public class AnnouncementReadWatermark implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @TableId(type = IdType.INPUT)
+    @Schema(description = "用户ID")
+    private Long userId;
+
+    @TableField(fill = FieldFill.INSERT)
+    @Schema(description = "租户ID")
+    private Long tenantId;
+
+    @Schema(description = "已读水位（发布序号）")
+    private Long lastReadSeq;
+
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    @Schema(description = "更新时间")
+    private Date updateTime;
+}
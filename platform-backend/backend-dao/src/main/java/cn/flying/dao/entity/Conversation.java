@@ -63,6 +63,17 @@ public class Conversation implements Serializable {
     @Schema(description = "参与者B是否已隐藏该会话 0=可见 1=隐藏")
     private Integer participantBDeleted;
 
+    /**
+     * 未读计数只通过 ConversationMapper 的原子增减语句维护，整实体 updateById 不得回写旧值。
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    @Schema(description = "参与者A未读消息数")
+    private Integer participantAUnread;
+
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    @Schema(description = "参与者B未读消息数")
+    private Integer participantBUnread;
+
     /**
      * 获取对方用户ID
      */
@@ -70,6 +81,19 @@ public class Conversation implements Serializable {
         return userId.equals(participantA) ? participantB : participantA;
     }
 
+    /**
+     * 获取指定参与者在该会话中的未读消息数。
+     */
+    public int getUnreadCountFor(Long userId) {
+        Integer unread = null;
+        if (userId != null && userId.equals(participantA)) {
+            unread = participantAUnread;
+        } else if (userId != null && userId.equals(participantB)) {
+            unread = participantBUnread;
+        }
+        return unread == null ? 0 : unread;
+    }
+
     /**
      * 判断当前用户是否已隐藏该会话。
      */
@@ -44,6 +44,8 @@ public class ManifestBackfillRun implements Serializable {
 
     private Long cursorFileId;
 
+    private Integer workerConcurrency;
+
     private Long createdBy;
 
     private Long totalCount;
@@ -60,6 +62,12 @@ public class ManifestBackfillRun implements Serializable {
 
     private Long failedCount;
 
+    private Long attemptedCount;
+
+    private Long errorCount;
+
+    private Long throughputPerMinute;
+
     private String lastErrorClass;
 
     private Date startedAt;
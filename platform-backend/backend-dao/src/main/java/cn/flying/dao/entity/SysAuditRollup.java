@@ -0,0 +1,37 @@
+package cn.flying.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 按租户、粒度和时间桶预聚合的操作日志计数。
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+@TableName("sys_audit_rollup")
+public class SysAuditRollup implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String GRANULARITY_MINUTE = "MINUTE";
+    public static final String GRANULARITY_HOUR = "HOUR";
+    public static final String GRANULARITY_DAY = "DAY";
+
+    private Long tenantId;
+
+    private String granularity;
+
+    private LocalDateTime bucketStart;
+
+    private Long totalCount;
+
+    private Long errorCount;
+}
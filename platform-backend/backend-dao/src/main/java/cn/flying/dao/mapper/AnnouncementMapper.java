@@ -1,10 +1,13 @@
 package cn.flying.dao.mapper;
 
 import cn.flying.dao.entity.Announcement;
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 import java.util.Date;
 import java.util.List;
@@ -19,7 +22,7 @@ public interface AnnouncementMapper extends BaseMapper<Announcement> {
      * 查询需要自动发布的定时公告
      */
     @Select("""
-        SELECT id, tenant_id, title, content, priority, is_pinned, publish_time, expire_time, status, publisher_id, create_time, update_time, deleted
+        SELECT id, tenant_id, title, content, priority, is_pinned, publish_time, expire_time, status, publisher_id, publish_seq, create_time, update_time, deleted
         FROM announcement
         WHERE status = 0
           AND publish_time IS NOT NULL
@@ -32,7 +35,7 @@ public interface AnnouncementMapper extends BaseMapper<Announcement> {
      * 查询已过期的公告
      */
     @Select("""
-        SELECT id, tenant_id, title, content, priority, is_pinned, publish_time, expire_time, status, publisher_id, create_time, update_time, deleted
+        SELECT id, tenant_id, title, content, priority, is_pinned, publish_time, expire_time, status, publisher_id, publish_seq, create_time, update_time, deleted
         FROM announcement
         WHERE status = 1
           AND expire_time IS NOT NULL
@@ -40,4 +43,50 @@ public interface AnnouncementMapper extends BaseMapper<Announcement> {
           AND deleted = 0
         """)
     List<Announcement> selectExpiredAnnouncements(@Param("now") Date now);
+
+    /**
+     * 查询当前租户已分配的最大发布序号，作为"全部已读"的水位
+     *
+     * @return 最大发布序号；尚无发布过的公告时返回 null
+     */
+    @Select("""
+        SELECT MAX(publish_seq) FROM announcement
+        WHERE deleted = 0
+        """)
+    Long selectMaxPublishSeq();
+
+    /**
+     * 确保租户的发布序号行存在并对其加排他锁，新租户从 0 开始
+     * 行已存在时走 ON DUPLICATE KEY 分支直接取得排他锁，避免并发发布先取共享锁再升级而死锁
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Insert("""
+        INSERT INTO announcement_publish_sequence (tenant_id, last_seq, update_time)
+        VALUES (#{tenantId}, 0, NOW())
+        ON DUPLICATE KEY UPDATE tenant_id = tenant_id
+        """)
+    int lockPublishSeqRow(@Param("tenantId") Long tenantId);
+
+    /**
+     * 读取租户最近分配的发布序号，锁持有到发布事务提交，使序号按分配顺序可见
+     * 注意：手动处理租户条件，禁用自动注入
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        SELECT last_seq FROM announcement_publish_sequence
+        WHERE tenant_id = #{tenantId}
+        FOR UPDATE
+        """)
+    long selectPublishSeqForUpdate(@Param("tenantId") Long tenantId);
+
+    /**
+     * 记录租户最近分配的发布序号，调用方须已通过 {@link #selectPublishSeqForUpdate} 锁定该行
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Update("""
+        UPDATE announcement_publish_sequence
+        SET last_seq = #{lastSeq}, update_time = NOW()
+        WHERE tenant_id = #{tenantId}
+        """)
+    int updatePublishSeq(@Param("tenantId") Long tenantId, @Param("lastSeq") long lastSeq);
 }
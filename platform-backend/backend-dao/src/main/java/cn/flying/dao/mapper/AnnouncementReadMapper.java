@@ -1,7 +1,9 @@
 package cn.flying.dao.mapper;
 
 import cn.flying.dao.entity.AnnouncementRead;
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
@@ -10,20 +12,31 @@ import java.util.Set;
 
 /**
  * 公告已读记录 Mapper 接口
+ * 已读状态由用户水位（announcement_read_watermark）加本表稀疏例外组成：本表只保留水位以上单独阅读的公告
  */
 @Mapper
 public interface AnnouncementReadMapper extends BaseMapper<AnnouncementRead> {
 
+    /**
+     * 查询用户水位以上单独阅读的公告ID
+     */
     @Select("""
         SELECT announcement_id FROM announcement_read
         WHERE user_id = #{userId}
         """)
     Set<Long> selectReadAnnouncementIds(@Param("userId") Long userId);
 
+    /**
+     * 统计用户未读的已发布公告数，只扫描发布序号高于水位的公告
+     */
     @Select("""
         SELECT COUNT(*) FROM announcement a
         WHERE a.status = 1
           AND a.deleted = 0
+          AND (a.publish_seq IS NULL OR a.publish_seq > COALESCE((
+            SELECT w.last_read_seq FROM announcement_read_watermark w
+            WHERE w.user_id = #{userId}
+          ), 0))
           AND NOT EXISTS (
             SELECT 1 FROM announcement_read ar
             WHERE ar.announcement_id = a.id
@@ -31,4 +44,26 @@ public interface AnnouncementReadMapper extends BaseMapper<AnnouncementRead> {
           )
         """)
     int countUnreadAnnouncements(@Param("userId") Long userId);
+
+    /**
+     * 删除已被水位覆盖的例外记录（带租户隔离）
+     * 注意：手动处理租户条件，禁用自动注入避免多表 DELETE 被改写
+     *
+     * @return 删除的记录数
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Delete("""
+        DELETE ar FROM announcement_read ar
+        INNER JOIN announcement a ON a.id = ar.announcement_id
+        WHERE ar.user_id = #{userId}
+          AND ar.tenant_id = #{tenantId}
+          AND a.tenant_id = #{tenantId}
+          AND a.publish_seq IS NOT NULL
+          AND a.publish_seq <= #{lastReadSeq}
+        """)
+    int deleteCoveredByWatermark(
+            @Param("userId") Long userId,
+            @Param("tenantId") Long tenantId,
+            @Param("lastReadSeq") Long lastReadSeq
+    );
 }
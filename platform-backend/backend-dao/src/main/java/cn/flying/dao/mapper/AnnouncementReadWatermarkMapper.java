@@ -0,0 +1,45 @@
+package cn.flying.dao.mapper;
+
+import cn.flying.dao.entity.AnnouncementReadWatermark;
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 公告已读水位 Mapper 接口
+ */
+@Mapper
+public interface AnnouncementReadWatermarkMapper extends BaseMapper<AnnouncementReadWatermark> {
+
+    /**
+     * 查询用户已读水位
+     *
+     * @return 水位；用户从未执行过全部已读时返回 null
+     */
+    @Select("""
+        SELECT last_read_seq FROM announcement_read_watermark
+        WHERE user_id = #{userId}
+        """)
+    Long selectLastReadSeq(@Param("userId") Long userId);
+
+    /**
+     * 将用户已读水位推进到指定序号，水位只前进不后退（带租户隔离）
+     * 注意：手动处理租户条件，禁用自动注入避免改写 ON DUPLICATE KEY UPDATE
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Insert("""
+        INSERT INTO announcement_read_watermark (user_id, tenant_id, last_read_seq, update_time)
+        VALUES (#{userId}, #{tenantId}, #{lastReadSeq}, NOW())
+        ON DUPLICATE KEY UPDATE
+            last_read_seq = GREATEST(last_read_seq, VALUES(last_read_seq)),
+            update_time = NOW()
+        """)
+    int advance(
+            @Param("userId") Long userId,
+            @Param("tenantId") Long tenantId,
+            @Param("lastReadSeq") Long lastReadSeq
+    );
+}
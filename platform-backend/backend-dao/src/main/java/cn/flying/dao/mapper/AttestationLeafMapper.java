@@ -1,12 +1,64 @@
 package cn.flying.dao.mapper;
 
 import cn.flying.dao.entity.AttestationLeaf;
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Date;
+import java.util.List;
 
 /**
  * Mapper for Merkle attestation leaves.
  */
 @Mapper
 public interface AttestationLeafMapper extends BaseMapper<AttestationLeaf> {
+
+    /**
+     * Reads one ascending (create_time, id) keyset page of MANIFEST_HASH leaves for bulk proof export.
+     * A non-null ownerId restricts the page to leaves of files uploaded by that user.
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+            <script>
+            SELECT leaf.id, leaf.tenant_id, leaf.batch_id, leaf.file_id, leaf.file_version, leaf.manifest_id,
+                   leaf.file_hash, leaf.evidence_type, leaf.evidence_hash, leaf.chain_record_id,
+                   leaf.leaf_hash, leaf.leaf_index, leaf.proof_path_json, leaf.proof_algorithm,
+                   leaf.create_time, leaf.update_time, leaf.deleted
+            FROM attestation_leaf leaf
+            <if test="ownerId != null">
+            INNER JOIN file file_record
+                    ON file_record.tenant_id = leaf.tenant_id
+                   AND file_record.id = leaf.file_id
+                   AND file_record.uid = #{ownerId}
+                   AND file_record.deleted = 0
+            </if>
+            WHERE leaf.tenant_id = #{tenantId}
+              AND leaf.evidence_type = 'MANIFEST_HASH'
+              AND leaf.deleted = 0
+              <if test="createdFrom != null">
+              AND leaf.create_time &gt;= #{createdFrom}
+              </if>
+              <if test="createdTo != null">
+              AND leaf.create_time &lt; #{createdTo}
+              </if>
+              <if test="afterTime != null">
+              AND (leaf.create_time &gt; #{afterTime}
+                   OR (leaf.create_time = #{afterTime} AND leaf.id &gt; #{afterId}))
+              </if>
+            ORDER BY leaf.create_time ASC, leaf.id ASC
+            LIMIT #{limit}
+            </script>
+            """)
+    List<AttestationLeaf> selectExportPage(
+            @Param("tenantId") Long tenantId,
+            @Param("ownerId") Long ownerId,
+            @Param("createdFrom") Date createdFrom,
+            @Param("createdTo") Date createdTo,
+            @Param("afterTime") Date afterTime,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
 }
@@ -6,6 +6,9 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 /**
  * 私信会话 Mapper 接口
@@ -19,7 +22,8 @@ public interface ConversationMapper extends BaseMapper<Conversation> {
      */
     @Select("""
         SELECT id, tenant_id, participant_a, participant_b, last_message_id, last_message_at,
-               create_time, update_time, deleted, participant_a_deleted, participant_b_deleted
+               create_time, update_time, deleted, participant_a_deleted, participant_b_deleted,
+               participant_a_unread, participant_b_unread
         FROM conversation
         WHERE participant_a = #{participantA}
           AND participant_b = #{participantB}
@@ -33,23 +37,150 @@ public interface ConversationMapper extends BaseMapper<Conversation> {
     );
 
     /**
-     * 统计用户未读会话数（带租户隔离）
-     * 注意：手动处理租户条件，禁用自动注入避免 JOIN 歧义
+     * 统计用户未读会话数（带租户隔离），读取会话行上的未读计数，不再扫描 message 表
+     * 注意：手动处理租户条件，禁用自动注入
      */
     @InterceptorIgnore(tenantLine = "true")
     @Select("""
-        SELECT COUNT(DISTINCT c.id) FROM conversation c
-        INNER JOIN message m ON c.id = m.conversation_id
+        SELECT COUNT(*) FROM conversation c
         WHERE (
-            (c.participant_a = #{userId} AND c.participant_a_deleted = 0)
-            OR (c.participant_b = #{userId} AND c.participant_b_deleted = 0)
+            (c.participant_a = #{userId} AND c.participant_a_deleted = 0 AND c.participant_a_unread > 0)
+            OR (c.participant_b = #{userId} AND c.participant_b_deleted = 0 AND c.participant_b_unread > 0)
           )
-          AND m.receiver_id = #{userId}
-          AND m.is_read = 0
-          AND m.deleted = 0
           AND c.deleted = 0
           AND c.tenant_id = #{tenantId}
-          AND m.tenant_id = #{tenantId}
         """)
     int countUnreadConversations(@Param("userId") Long userId, @Param("tenantId") Long tenantId);
+
+    /**
+     * 汇总用户在所有会话中的未读消息数（带租户隔离）
+     * 注意：手动处理租户条件，禁用自动注入避免 UNION 子查询被重复改写
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        SELECT COALESCE(SUM(unread), 0) FROM (
+            SELECT participant_a_unread AS unread FROM conversation
+            WHERE tenant_id = #{tenantId} AND participant_a = #{userId} AND deleted = 0
+            UNION ALL
+            SELECT participant_b_unread AS unread FROM conversation
+            WHERE tenant_id = #{tenantId} AND participant_b = #{userId} AND deleted = 0
+        ) unread_counts
+        """)
+    int sumUnreadMessages(@Param("userId") Long userId, @Param("tenantId") Long tenantId);
+
+    /**
+     * 查询用户在会话中的未读消息数（带租户隔离）
+     *
+     * @return 未读数；会话不存在时返回 null
+     */
+    @Select("""
+        SELECT CASE
+                   WHEN participant_a = #{userId} THEN participant_a_unread
+                   WHEN participant_b = #{userId} THEN participant_b_unread
+                   ELSE 0
+               END
+        FROM conversation
+        WHERE id = #{conversationId}
+          AND tenant_id = #{tenantId}
+          AND deleted = 0
+        """)
+    Integer selectUnreadCount(
+            @Param("conversationId") Long conversationId,
+            @Param("userId") Long userId,
+            @Param("tenantId") Long tenantId
+    );
+
+    /**
+     * 为接收者原子递增未读数（带租户隔离）
+     * 必须在插入消息之前、同一事务内执行：先锁会话行再写 message，与标记已读的加锁顺序一致
+     */
+    @Update("""
+        UPDATE conversation
+        SET participant_a_unread = participant_a_unread + CASE WHEN participant_a = #{receiverId} THEN 1 ELSE 0 END,
+            participant_b_unread = participant_b_unread + CASE WHEN participant_b = #{receiverId} THEN 1 ELSE 0 END
+        WHERE id = #{conversationId}
+          AND tenant_id = #{tenantId}
+          AND deleted = 0
+        """)
+    int incrementUnread(
+            @Param("conversationId") Long conversationId,
+            @Param("receiverId") Long receiverId,
+            @Param("tenantId") Long tenantId
+    );
+
+    /**
+     * 将用户在会话中的未读数清零（带租户隔离）
+     * 必须在批量标记消息已读之前、同一事务内执行，以先持有会话行锁
+     */
+    @Update("""
+        UPDATE conversation
+        SET participant_a_unread = CASE WHEN participant_a = #{userId} THEN 0 ELSE participant_a_unread END,
+            participant_b_unread = CASE WHEN participant_b = #{userId} THEN 0 ELSE participant_b_unread END
+        WHERE id = #{conversationId}
+          AND tenant_id = #{tenantId}
+          AND deleted = 0
+        """)
+    int resetUnread(
+            @Param("conversationId") Long conversationId,
+            @Param("userId") Long userId,
+            @Param("tenantId") Long tenantId
+    );
+
+    /**
+     * 锁定下一批待校准的会话行，阻塞同批会话上的发送与已读直到校准事务提交
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        SELECT id FROM conversation
+        WHERE tenant_id = #{tenantId}
+          AND id > #{afterId}
+        ORDER BY id
+        LIMIT #{limit}
+        FOR UPDATE
+        """)
+    List<Long> lockIdsForUnreadRepair(
+            @Param("tenantId") Long tenantId,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 按 message 表重算一批会话的未读计数，只改写存在偏差的行（带租户隔离）
+     * 调用前需在同一事务内通过 {@link #lockIdsForUnreadRepair} 锁定该批会话
+     *
+     * @return 被校准的会话数
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Update("""
+        UPDATE conversation c
+            LEFT JOIN (
+                SELECT conversation_id, receiver_id, COUNT(*) AS unread
+                FROM message
+                WHERE tenant_id = #{tenantId}
+                  AND conversation_id BETWEEN #{fromId} AND #{toId}
+                  AND is_read = 0
+                  AND deleted = 0
+                GROUP BY conversation_id, receiver_id
+            ) ua ON ua.conversation_id = c.id AND ua.receiver_id = c.participant_a
+            LEFT JOIN (
+                SELECT conversation_id, receiver_id, COUNT(*) AS unread
+                FROM message
+                WHERE tenant_id = #{tenantId}
+                  AND conversation_id BETWEEN #{fromId} AND #{toId}
+                  AND is_read = 0
+                  AND deleted = 0
+                GROUP BY conversation_id, receiver_id
+            ) ub ON ub.conversation_id = c.id AND ub.receiver_id = c.participant_b
+        SET c.participant_a_unread = COALESCE(ua.unread, 0),
+            c.participant_b_unread = COALESCE(ub.unread, 0)
+        WHERE c.tenant_id = #{tenantId}
+          AND c.id BETWEEN #{fromId} AND #{toId}
+          AND (c.participant_a_unread <> COALESCE(ua.unread, 0)
+            OR c.participant_b_unread <> COALESCE(ub.unread, 0))
+        """)
+    int recomputeUnreadCounters(
+            @Param("tenantId") Long tenantId,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId
+    );
 }
@@ -6,6 +6,9 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 好友请求 Mapper 接口
  */
@@ -40,4 +43,36 @@ public interface FriendRequestMapper extends BaseMapper<FriendRequest> {
             @Param("userB") Long userB,
             @Param("tenantId") Long tenantId
     );
+
+    /**
+     * 从候选用户中批量查询与指定用户之间存在待处理请求（任一方向）的用户ID
+     */
+    @Select("""
+        <script>
+        SELECT addressee_id FROM friend_request
+        WHERE requester_id = #{userId}
+          AND addressee_id IN
+          <foreach collection="candidateIds" item="candidateId" open="(" separator="," close=")">
+              #{candidateId}
+          </foreach>
+          AND status = 0
+          AND deleted = 0
+          AND tenant_id = #{tenantId}
+        UNION
+        SELECT requester_id FROM friend_request
+        WHERE addressee_id = #{userId}
+          AND requester_id IN
+          <foreach collection="candidateIds" item="candidateId" open="(" separator="," close=")">
+              #{candidateId}
+          </foreach>
+          AND status = 0
+          AND deleted = 0
+          AND tenant_id = #{tenantId}
+        </script>
+        """)
+    List<Long> selectPendingCounterpartIds(
+            @Param("userId") Long userId,
+            @Param("candidateIds") Collection<Long> candidateIds,
+            @Param("tenantId") Long tenantId
+    );
 }
@@ -6,6 +6,9 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 好友关系 Mapper 接口
  */
@@ -55,4 +58,34 @@ public interface FriendshipMapper extends BaseMapper<Friendship> {
           AND tenant_id = #{tenantId}
         """)
     int countFriends(@Param("userId") Long userId, @Param("tenantId") Long tenantId);
+
+    /**
+     * 从候选用户中批量查询与指定用户互为好友的用户ID
+     */
+    @Select("""
+        <script>
+        SELECT user_b FROM friendship
+        WHERE user_a = #{userId}
+          AND user_b IN
+          <foreach collection="candidateIds" item="candidateId" open="(" separator="," close=")">
+              #{candidateId}
+          </foreach>
+          AND deleted = 0
+          AND tenant_id = #{tenantId}
+        UNION
+        SELECT user_a FROM friendship
+        WHERE user_b = #{userId}
+          AND user_a IN
+          <foreach collection="candidateIds" item="candidateId" open="(" separator="," close=")">
+              #{candidateId}
+          </foreach>
+          AND deleted = 0
+          AND tenant_id = #{tenantId}
+        </script>
+        """)
+    List<Long> selectFriendIdsAmong(
+            @Param("userId") Long userId,
+            @Param("candidateIds") Collection<Long> candidateIds,
+            @Param("tenantId") Long tenantId
+    );
 }
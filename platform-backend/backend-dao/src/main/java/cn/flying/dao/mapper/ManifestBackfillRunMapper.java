@@ -27,9 +27,10 @@ public interface ManifestBackfillRunMapper extends BaseMapper<ManifestBackfillRu
     @InterceptorIgnore(tenantLine = "true")
     @Select("""
             SELECT id, tenant_id, snapshot_run_id, mode, status, snapshot_version,
-                   snapshot_digest, cursor_file_id, created_by, total_count, pending_count,
-                   backfilled_count, reupload_count, unrecoverable_count, ignored_count,
-                   failed_count, last_error_class, started_at, completed_at,
+                   snapshot_digest, cursor_file_id, worker_concurrency, created_by, total_count,
+                   pending_count, backfilled_count, reupload_count, unrecoverable_count, ignored_count,
+                   failed_count, attempted_count, error_count, throughput_per_minute,
+                   last_error_class, started_at, completed_at,
                    create_time, update_time, deleted
             FROM manifest_backfill_run
             WHERE (
@@ -106,6 +107,48 @@ public interface ManifestBackfillRunMapper extends BaseMapper<ManifestBackfillRu
             @Param("tenantId") Long tenantId,
             @Param("cursorFileId") Long cursorFileId);
 
+    /**
+     * Adds apply error-budget deltas and the latest throughput sample while the run is still applying.
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Update("""
+            UPDATE manifest_backfill_run
+            SET attempted_count = attempted_count + #{attemptedDelta},
+                error_count = error_count + #{errorDelta},
+                throughput_per_minute = #{throughputPerMinute},
+                update_time = NOW()
+            WHERE id = #{runId}
+              AND tenant_id = #{tenantId}
+              AND status = 'APPLYING'
+              AND deleted = 0
+            """)
+    int recordApplyProgress(
+            @Param("runId") Long runId,
+            @Param("tenantId") Long tenantId,
+            @Param("attemptedDelta") long attemptedDelta,
+            @Param("errorDelta") long errorDelta,
+            @Param("throughputPerMinute") long throughputPerMinute);
+
+    /**
+     * Changes the concurrent worker count of an unfinished apply run; running coordinators pick it up.
+     * The update time is kept so an administrator change never refreshes a crashed worker's run lease.
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Update("""
+            UPDATE manifest_backfill_run
+            SET worker_concurrency = #{workerConcurrency},
+                update_time = update_time
+            WHERE id = #{runId}
+              AND tenant_id = #{tenantId}
+              AND mode = 'APPLY'
+              AND status IN ('PLANNED', 'APPLYING', 'PAUSED')
+              AND deleted = 0
+            """)
+    int updateWorkerConcurrency(
+            @Param("runId") Long runId,
+            @Param("tenantId") Long tenantId,
+            @Param("workerConcurrency") int workerConcurrency);
+
     /**
      * Loads one run irrespective of the caller's ambient tenant interceptor.
      *
@@ -115,9 +158,10 @@ public interface ManifestBackfillRunMapper extends BaseMapper<ManifestBackfillRu
     @InterceptorIgnore(tenantLine = "true")
     @Select("""
             SELECT id, tenant_id, snapshot_run_id, mode, status, snapshot_version,
-                   snapshot_digest, cursor_file_id, created_by, total_count, pending_count,
-                   backfilled_count, reupload_count, unrecoverable_count, ignored_count,
-                   failed_count, last_error_class, started_at, completed_at,
+                   snapshot_digest, cursor_file_id, worker_concurrency, created_by, total_count,
+                   pending_count, backfilled_count, reupload_count, unrecoverable_count, ignored_count,
+                   failed_count, attempted_count, error_count, throughput_per_minute,
+                   last_error_class, started_at, completed_at,
                    create_time, update_time, deleted
             FROM manifest_backfill_run
             WHERE id = #{runId}
@@ -131,9 +175,10 @@ public interface ManifestBackfillRunMapper extends BaseMapper<ManifestBackfillRu
     @InterceptorIgnore(tenantLine = "true")
     @Select("""
             SELECT id, tenant_id, snapshot_run_id, mode, status, snapshot_version,
-                   snapshot_digest, cursor_file_id, created_by, total_count, pending_count,
-                   backfilled_count, reupload_count, unrecoverable_count, ignored_count,
-                   failed_count, last_error_class, started_at, completed_at,
+                   snapshot_digest, cursor_file_id, worker_concurrency, created_by, total_count,
+                   pending_count, backfilled_count, reupload_count, unrecoverable_count, ignored_count,
+                   failed_count, attempted_count, error_count, throughput_per_minute,
+                   last_error_class, started_at, completed_at,
                    create_time, update_time, deleted
             FROM manifest_backfill_run
             WHERE tenant_id = #{tenantId}
@@ -4,7 +4,6 @@ import cn.flying.dao.entity.Message;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
-import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
 import java.util.Date;
@@ -16,35 +15,6 @@ import java.util.Date;
 @Mapper
 public interface MessageMapper extends BaseMapper<Message> {
 
-    /**
-     * 统计用户未读消息总数（带租户隔离）
-     */
-    @Select("""
-        SELECT COUNT(*) FROM message
-        WHERE receiver_id = #{userId}
-          AND is_read = 0
-          AND deleted = 0
-          AND tenant_id = #{tenantId}
-        """)
-    int countUnreadMessages(@Param("userId") Long userId, @Param("tenantId") Long tenantId);
-
-    /**
-     * 统计会话内用户未读消息数（带租户隔离）
-     */
-    @Select("""
-        SELECT COUNT(*) FROM message
-        WHERE conversation_id = #{conversationId}
-          AND receiver_id = #{userId}
-          AND is_read = 0
-          AND deleted = 0
-          AND tenant_id = #{tenantId}
-        """)
-    int countUnreadInConversation(
-            @Param("conversationId") Long conversationId,
-            @Param("userId") Long userId,
-            @Param("tenantId") Long tenantId
-    );
-
     /**
      * 批量标记会话消息为已读（带租户隔离）
      */
@@ -0,0 +1,258 @@
+package cn.flying.dao.mapper;
+
+import cn.flying.dao.entity.SysAuditRollup;
+import cn.flying.dao.vo.audit.ErrorOperationStatsVO;
+import cn.flying.dao.vo.audit.HighFrequencyOperationVO;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 审计预聚合 Mapper，覆盖计数桶、去重用户草图、高频用户分钟桶与错误日桶。
+ */
+@Mapper
+public interface SysAuditRollupMapper extends BaseMapper<SysAuditRollup> {
+
+    /**
+     * 在一条语句内累加分钟、小时、天三个计数桶。
+     */
+    @Insert("INSERT INTO sys_audit_rollup(tenant_id, granularity, bucket_start, total_count, error_count) VALUES " +
+            "(#{tenantId}, 'MINUTE', #{minuteStart}, 1, #{errorDelta}), " +
+            "(#{tenantId}, 'HOUR', #{hourStart}, 1, #{errorDelta}), " +
+            "(#{tenantId}, 'DAY', #{dayStart}, 1, #{errorDelta}) " +
+            "ON DUPLICATE KEY UPDATE total_count = total_count + VALUES(total_count), " +
+            "error_count = error_count + VALUES(error_count)")
+    int incrementCounters(@Param("tenantId") Long tenantId,
+                          @Param("minuteStart") LocalDateTime minuteStart,
+                          @Param("hourStart") LocalDateTime hourStart,
+                          @Param("dayStart") LocalDateTime dayStart,
+                          @Param("errorDelta") int errorDelta);
+
+    /**
+     * 以 GREATEST 合并 HyperLogLog 寄存器，并发写入可交换。
+     */
+    @Insert("INSERT INTO sys_audit_user_sketch(tenant_id, bucket_date, register_index, register_rank) " +
+            "VALUES(#{tenantId}, #{bucketDate}, #{registerIndex}, #{registerRank}) " +
+            "ON DUPLICATE KEY UPDATE register_rank = GREATEST(register_rank, VALUES(register_rank))")
+    int mergeSketchRegister(@Param("tenantId") Long tenantId,
+                            @Param("bucketDate") LocalDate bucketDate,
+                            @Param("registerIndex") int registerIndex,
+                            @Param("registerRank") int registerRank);
+
+    /**
+     * 累加用户分钟桶，供高频操作检测读取。
+     */
+    @Insert("INSERT INTO sys_audit_user_minute(tenant_id, bucket_start, user_id, request_ip, username, op_count) " +
+            "VALUES(#{tenantId}, #{bucketStart}, #{userId}, #{requestIp}, #{username}, 1) " +
+            "ON DUPLICATE KEY UPDATE op_count = op_count + 1, username = VALUES(username)")
+    int incrementUserMinute(@Param("tenantId") Long tenantId,
+                            @Param("bucketStart") LocalDateTime bucketStart,
+                            @Param("userId") String userId,
+                            @Param("requestIp") String requestIp,
+                            @Param("username") String username);
+
+    /**
+     * 累加错误日桶并维护首末出现时间。
+     */
+    @Insert("INSERT INTO sys_audit_error_rollup(tenant_id, bucket_date, module, operation_type, error_msg_hash, " +
+            "error_msg, error_count, first_occurrence, last_occurrence) " +
+            "VALUES(#{tenantId}, #{bucketDate}, #{module}, #{operationType}, #{errorMsgHash}, #{errorMsg}, 1, " +
+            "#{occurredAt}, #{occurredAt}) " +
+            "ON DUPLICATE KEY UPDATE error_count = error_count + 1, " +
+            "first_occurrence = LEAST(first_occurrence, VALUES(first_occurrence)), " +
+            "last_occurrence = GREATEST(last_occurrence, VALUES(last_occurrence))")
+    int incrementError(@Param("tenantId") Long tenantId,
+                       @Param("bucketDate") LocalDate bucketDate,
+                       @Param("module") String module,
+                       @Param("operationType") String operationType,
+                       @Param("errorMsgHash") String errorMsgHash,
+                       @Param("errorMsg") String errorMsg,
+                       @Param("occurredAt") LocalDateTime occurredAt);
+
+    /**
+     * 汇总指定粒度、半开区间内的计数桶。
+     */
+    @Select("SELECT #{tenantId} AS tenant_id, #{granularity} AS granularity, " +
+            "COALESCE(SUM(total_count), 0) AS total_count, COALESCE(SUM(error_count), 0) AS error_count " +
+            "FROM sys_audit_rollup WHERE tenant_id = #{tenantId} AND granularity = #{granularity} " +
+            "AND bucket_start >= #{startTime} AND bucket_start < #{endTime}")
+    SysAuditRollup sumBuckets(@Param("tenantId") Long tenantId,
+                              @Param("granularity") String granularity,
+                              @Param("startTime") LocalDateTime startTime,
+                              @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 读取自指定日期起的天桶，返回结构与原 selectDailyStats 一致。
+     */
+    @Select("SELECT DATE(bucket_start) AS operation_date, total_count AS operation_count " +
+            "FROM sys_audit_rollup WHERE tenant_id = #{tenantId} AND granularity = 'DAY' " +
+            "AND bucket_start >= #{startTime} ORDER BY bucket_start ASC")
+    List<Map<String, Object>> selectDailyBuckets(@Param("tenantId") Long tenantId,
+                                                 @Param("startTime") LocalDateTime startTime);
+
+    /**
+     * 读取单日草图的非空寄存器。
+     */
+    @Select("SELECT register_index, register_rank FROM sys_audit_user_sketch " +
+            "WHERE tenant_id = #{tenantId} AND bucket_date = #{bucketDate}")
+    List<Map<String, Object>> selectSketchRegisters(@Param("tenantId") Long tenantId,
+                                                    @Param("bucketDate") LocalDate bucketDate);
+
+    /**
+     * 从用户分钟桶读取窗口内的高频操作分组。
+     */
+    @Select("SELECT user_id AS userId, MAX(username) AS username, request_ip AS requestIp, " +
+            "SUM(op_count) AS operationCount, #{startTime} AS startTime, #{endTime} AS endTime, " +
+            "TIMESTAMPDIFF(SECOND, #{startTime}, #{endTime}) AS timeSpanSeconds " +
+            "FROM sys_audit_user_minute WHERE tenant_id = #{tenantId} AND bucket_start >= #{startTime} " +
+            "GROUP BY user_id, request_ip ORDER BY operationCount DESC LIMIT #{limit}")
+    List<HighFrequencyOperationVO> selectHighFrequencyOperations(@Param("tenantId") Long tenantId,
+                                                                 @Param("startTime") LocalDateTime startTime,
+                                                                 @Param("endTime") LocalDateTime endTime,
+                                                                 @Param("limit") int limit);
+
+    /**
+     * 统计窗口内活跃的用户与 IP 分组数。
+     */
+    @Select("SELECT COUNT(*) FROM (SELECT 1 FROM sys_audit_user_minute " +
+            "WHERE tenant_id = #{tenantId} AND bucket_start >= #{startTime} " +
+            "GROUP BY user_id, request_ip) AS active_groups")
+    Long countHighFrequencyGroups(@Param("tenantId") Long tenantId,
+                                  @Param("startTime") LocalDateTime startTime);
+
+    /**
+     * 跨日桶合并错误统计。
+     */
+    @Select("SELECT module, operation_type AS operationType, MAX(error_msg) AS errorMsg, " +
+            "SUM(error_count) AS errorCount, MIN(first_occurrence) AS firstOccurrence, " +
+            "MAX(last_occurrence) AS lastOccurrence FROM sys_audit_error_rollup " +
+            "WHERE tenant_id = #{tenantId} GROUP BY module, operation_type, error_msg_hash " +
+            "ORDER BY errorCount DESC LIMIT #{limit}")
+    List<ErrorOperationStatsVO> selectErrorOperationStats(@Param("tenantId") Long tenantId,
+                                                         @Param("limit") int limit);
+
+    /**
+     * 按原始日志重算窗口内的小时桶（对账路径）。
+     */
+    @Insert("INSERT INTO sys_audit_rollup(tenant_id, granularity, bucket_start, total_count, error_count) " +
+            "SELECT tenant_id, 'HOUR', DATE_FORMAT(operation_time, '%Y-%m-%d %H:00:00'), COUNT(*), " +
+            "SUM(CASE WHEN status = 1 THEN 1 ELSE 0 END) FROM sys_operation_log " +
+            "WHERE tenant_id = #{tenantId} AND operation_time >= #{startTime} AND operation_time < #{endTime} " +
+            "GROUP BY tenant_id, DATE_FORMAT(operation_time, '%Y-%m-%d %H:00:00') " +
+            "ON DUPLICATE KEY UPDATE total_count = VALUES(total_count), error_count = VALUES(error_count)")
+    int reconcileHourCounters(@Param("tenantId") Long tenantId,
+                              @Param("startTime") LocalDateTime startTime,
+                              @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 按原始日志重算窗口内的天桶（对账路径）。
+     */
+    @Insert("INSERT INTO sys_audit_rollup(tenant_id, granularity, bucket_start, total_count, error_count) " +
+            "SELECT tenant_id, 'DAY', DATE(operation_time), COUNT(*), " +
+            "SUM(CASE WHEN status = 1 THEN 1 ELSE 0 END) FROM sys_operation_log " +
+            "WHERE tenant_id = #{tenantId} AND operation_time >= #{startTime} AND operation_time < #{endTime} " +
+            "GROUP BY tenant_id, DATE(operation_time) " +
+            "ON DUPLICATE KEY UPDATE total_count = VALUES(total_count), error_count = VALUES(error_count)")
+    int reconcileDayCounters(@Param("tenantId") Long tenantId,
+                             @Param("startTime") LocalDateTime startTime,
+                             @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 删除对账窗口内的小时桶与天桶，使无日志的桶在重算后归零。
+     */
+    @Delete("DELETE FROM sys_audit_rollup WHERE tenant_id = #{tenantId} AND granularity IN ('HOUR', 'DAY') " +
+            "AND bucket_start >= #{startTime} AND bucket_start < #{endTime}")
+    int deleteCounterBuckets(@Param("tenantId") Long tenantId,
+                             @Param("startTime") LocalDateTime startTime,
+                             @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 读取单日去重用户 ID，用于重建草图。
+     */
+    @Select("SELECT DISTINCT user_id FROM sys_operation_log " +
+            "WHERE tenant_id = #{tenantId} AND operation_time >= #{startTime} AND operation_time < #{endTime} " +
+            "AND user_id IS NOT NULL AND user_id != '' AND user_id != 'system'")
+    List<String> selectDistinctUserIds(@Param("tenantId") Long tenantId,
+                                       @Param("startTime") LocalDateTime startTime,
+                                       @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 删除单日草图寄存器。
+     */
+    @Delete("DELETE FROM sys_audit_user_sketch WHERE tenant_id = #{tenantId} AND bucket_date = #{bucketDate}")
+    int deleteSketch(@Param("tenantId") Long tenantId, @Param("bucketDate") LocalDate bucketDate);
+
+    /**
+     * 按原始日志重算单日错误桶。
+     */
+    @Insert("INSERT INTO sys_audit_error_rollup(tenant_id, bucket_date, module, operation_type, error_msg_hash, " +
+            "error_msg, error_count, first_occurrence, last_occurrence) " +
+            "SELECT tenant_id, #{bucketDate}, COALESCE(module, ''), COALESCE(operation_type, ''), " +
+            "SHA2(COALESCE(error_msg, ''), 256), LEFT(MAX(COALESCE(error_msg, '')), 1024), COUNT(*), " +
+            "MIN(operation_time), MAX(operation_time) FROM sys_operation_log " +
+            "WHERE tenant_id = #{tenantId} AND status = 1 " +
+            "AND operation_time >= #{startTime} AND operation_time < #{endTime} " +
+            "GROUP BY tenant_id, COALESCE(module, ''), COALESCE(operation_type, ''), SHA2(COALESCE(error_msg, ''), 256)")
+    int reconcileErrors(@Param("tenantId") Long tenantId,
+                        @Param("bucketDate") LocalDate bucketDate,
+                        @Param("startTime") LocalDateTime startTime,
+                        @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 删除单日错误桶。
+     */
+    @Delete("DELETE FROM sys_audit_error_rollup WHERE tenant_id = #{tenantId} AND bucket_date = #{bucketDate}")
+    int deleteErrors(@Param("tenantId") Long tenantId, @Param("bucketDate") LocalDate bucketDate);
+
+    /**
+     * 首次回填时创建租户回填游标，已存在则保持原游标。
+     */
+    @Insert("INSERT INTO sys_audit_rollup_backfill(tenant_id, next_day) VALUES(#{tenantId}, #{startDay}) " +
+            "ON DUPLICATE KEY UPDATE tenant_id = tenant_id")
+    int initBackfillCursor(@Param("tenantId") Long tenantId, @Param("startDay") LocalDate startDay);
+
+    /**
+     * 锁定并读取租户下一个待回填日期，NULL 表示历史已回填完成。
+     */
+    @Select("SELECT next_day FROM sys_audit_rollup_backfill WHERE tenant_id = #{tenantId} FOR UPDATE")
+    LocalDate selectBackfillCursorForUpdate(@Param("tenantId") Long tenantId);
+
+    /**
+     * 移动回填游标，传入 NULL 标记回填完成。
+     */
+    @Update("UPDATE sys_audit_rollup_backfill SET next_day = #{nextDay} WHERE tenant_id = #{tenantId}")
+    int updateBackfillCursor(@Param("tenantId") Long tenantId, @Param("nextDay") LocalDate nextDay);
+
+    /**
+     * 读取租户最早一条原始日志的时间，走 (tenant_id, operation_time) 索引。
+     */
+    @Select("SELECT MIN(operation_time) FROM sys_operation_log WHERE tenant_id = #{tenantId}")
+    LocalDateTime selectOldestLogTime(@Param("tenantId") Long tenantId);
+
+    /**
+     * 分批清理过期分钟计数桶。
+     */
+    @Delete("DELETE FROM sys_audit_rollup WHERE tenant_id = #{tenantId} AND granularity = 'MINUTE' " +
+            "AND bucket_start < #{cutoff} LIMIT #{limit}")
+    int deleteMinuteBucketsBefore(@Param("tenantId") Long tenantId,
+                                  @Param("cutoff") LocalDateTime cutoff,
+                                  @Param("limit") int limit);
+
+    /**
+     * 分批清理过期用户分钟桶。
+     */
+    @Delete("DELETE FROM sys_audit_user_minute WHERE tenant_id = #{tenantId} AND bucket_start < #{cutoff} " +
+            "LIMIT #{limit}")
+    int deleteUserMinutesBefore(@Param("tenantId") Long tenantId,
+                                @Param("cutoff") LocalDateTime cutoff,
+                                @Param("limit") int limit);
+}
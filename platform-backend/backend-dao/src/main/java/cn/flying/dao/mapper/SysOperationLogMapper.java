@@ -5,9 +5,16 @@ import cn.flying.dao.vo.audit.AuditConfigVO;
 import cn.flying.dao.vo.audit.ErrorOperationStatsVO;
 import cn.flying.dao.vo.audit.HighFrequencyOperationVO;
 import cn.flying.dao.vo.audit.UserTimeDistributionVO;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -171,4 +178,18 @@ public interface SysOperationLogMapper extends BaseMapper<SysOperationLog> {
      */
     List<Map<String, Object>> selectDailyStats(@Param("days") int days);
 
+    /**
+     * 以 MySQL 流式结果集逐行回调操作日志，不在内存中物化结果列表。
+     * <p>
+     * fetchSize 为 Integer.MIN_VALUE 时驱动逐行读取；回调期间连接被占用，回调内不得再发起查询。
+     *
+     * @param wrapper 查询条件（含排序）
+     * @param handler 逐行回调
+     */
+    @Select("SELECT * FROM sys_operation_log ${ew.customSqlSegment}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(SysOperationLog.class)
+    void streamByWrapper(@Param(Constants.WRAPPER) Wrapper<SysOperationLog> wrapper,
+                         ResultHandler<SysOperationLog> handler);
+
 } 
@@ -8,6 +8,7 @@ import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -50,6 +51,19 @@ public interface SysPermissionMapper extends BaseMapper<SysPermission> {
         """)
     Set<String> selectPermissionCodesByRoles(@Param("roles") List<String> roles, @Param("tenantId") Long tenantId);
 
+    /**
+     * 获取租户可见的全部 (角色, 权限码) 映射，用于构建进程内权限快照
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        SELECT DISTINCT rp.role AS role, p.code AS code FROM sys_permission p
+        INNER JOIN sys_role_permission rp ON p.id = rp.permission_id
+        WHERE p.status = 1
+          AND (p.tenant_id = 0 OR p.tenant_id = #{tenantId})
+          AND (rp.tenant_id = 0 OR rp.tenant_id = #{tenantId})
+        """)
+    List<Map<String, Object>> selectRolePermissionCodes(@Param("tenantId") Long tenantId);
+
     /**
      * 根据模块获取权限列表
      */
@@ -0,0 +1,19 @@
+package cn.flying.dao.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Keyset 游标分页结果，不返回总数；nextCursor 为空表示已到最后一页。
+ *
+ * @param records    当前页记录
+ * @param nextCursor 下一页游标
+ * @param <T>        记录类型
+ */
+@Schema(description = "游标分页结果")
+public record CursorPageVO<T>(
+        List<T> records,
+        String nextCursor
+) {
+}
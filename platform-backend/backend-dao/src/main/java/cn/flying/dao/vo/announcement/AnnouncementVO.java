@@ -55,6 +55,9 @@ public class AnnouncementVO {
     @Schema(description = "是否已读")
     private Boolean read;
 
+    @Schema(description = "发布序号，全部已读时作为已加载列表的上界回传")
+    private Long publishSeq;
+
     @Schema(description = "创建时间")
     private Date createTime;
 
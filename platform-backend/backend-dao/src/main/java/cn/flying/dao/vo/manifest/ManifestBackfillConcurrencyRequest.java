@@ -0,0 +1,17 @@
+package cn.flying.dao.vo.manifest;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Administrator request changing how many claim workers an apply run uses.
+ */
+@Schema(description = "Manifest backfill apply worker concurrency request")
+public record ManifestBackfillConcurrencyRequest(
+        @NotNull
+        @Min(1)
+        @Schema(description = "Concurrent apply workers; bounded by the node-wide worker pool", example = "4")
+        Integer workerConcurrency
+) {
+}
@@ -22,6 +22,10 @@ public record ManifestBackfillRunVO(
         long unrecoverableCount,
         long ignoredCount,
         long failedCount,
+        int workerConcurrency,
+        long attemptedCount,
+        long errorCount,
+        long throughputPerMinute,
         String lastErrorClass,
         Date startedAt,
         Date completedAt,
@@ -77,9 +77,10 @@ public interface AnnouncementService extends IService<Announcement> {
     /**
      * 标记所有公告为已读
      *
-     * @param userId 用户ID
+     * @param userId     用户ID
+     * @param throughSeq 用户已加载列表中的最大发布序号，之后发布的公告保持未读；为空时使用当前最大发布序号
      */
-    void markAllAsRead(Long userId);
+    void markAllAsRead(Long userId, Long throughSeq);
 
     /**
      * 删除公告
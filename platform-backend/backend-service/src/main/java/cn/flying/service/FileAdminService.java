@@ -1,5 +1,6 @@
 package cn.flying.service;
 
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.admin.AdminFileDetailVO;
 import cn.flying.dao.vo.admin.AdminFileQueryParam;
 import cn.flying.dao.vo.admin.AdminFileVO;
@@ -36,6 +37,16 @@ public interface FileAdminService {
      */
     IPage<AdminFileVO> getAllFiles(AdminFileQueryParam param, Page<?> page);
 
+    /**
+     * 按 (创建时间, ID) keyset 游标获取文件列表，不统计总数
+     *
+     * @param param  查询参数
+     * @param cursor 上一页返回的游标，空表示第一页
+     * @param limit  单页条数
+     * @return 文件列表游标分页
+     */
+    CursorPageVO<AdminFileVO> getAllFilesByCursor(AdminFileQueryParam param, String cursor, Integer limit);
+
     /**
      * 获取文件详情（含完整审计信息）
      *
@@ -81,6 +92,16 @@ public interface FileAdminService {
      */
     IPage<AdminShareVO> getAllShares(AdminShareQueryParam param, Page<?> page);
 
+    /**
+     * 按 (创建时间, ID) keyset 游标获取分享列表，不统计总数
+     *
+     * @param param  查询参数
+     * @param cursor 上一页返回的游标，空表示第一页
+     * @param limit  单页条数
+     * @return 分享列表游标分页
+     */
+    CursorPageVO<AdminShareVO> getAllSharesByCursor(AdminShareQueryParam param, String cursor, Integer limit);
+
     /**
      * 强制取消分享
      *
@@ -1,5 +1,6 @@
 package cn.flying.service;
 
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.file.FileProvenanceVO;
 import cn.flying.dao.vo.file.ShareAccessLogVO;
 import cn.flying.dao.vo.file.ShareAccessStatsVO;
@@ -62,6 +63,17 @@ public interface ShareAuditService {
      */
     IPage<ShareAccessLogVO> getShareAccessLogs(String shareCode, Page<?> page);
 
+    /**
+     * 按 (访问时间, ID) keyset 游标获取分享的访问日志，不统计总数
+     * <p>管理员专用接口，通过 @PreAuthorize("isAdmin()") 控制访问权限</p>
+     *
+     * @param shareCode 分享码
+     * @param cursor    上一页返回的游标，空表示第一页
+     * @param limit     单页条数
+     * @return 访问日志游标分页
+     */
+    CursorPageVO<ShareAccessLogVO> getShareAccessLogsByCursor(String shareCode, String cursor, Integer limit);
+
     /**
      * 获取分享的访问统计
      * <p>管理员专用接口，通过 @PreAuthorize("isAdmin()") 控制访问权限</p>
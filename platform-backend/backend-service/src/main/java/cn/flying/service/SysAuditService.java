@@ -1,11 +1,13 @@
 package cn.flying.service;
 
 import cn.flying.dao.dto.SysOperationLog;
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.audit.*;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 系统审计服务接口
@@ -70,6 +72,23 @@ public interface SysAuditService {
      * @return 日志列表
      */
     List<SysOperationLog> exportOperationLogs(AuditLogQueryVO queryVO);
+
+    /**
+     * 按 (操作时间, ID) keyset 游标查询操作日志，不统计总数
+     * @param queryVO 查询条件（忽略 pageNum）
+     * @param cursor 上一页返回的游标，空表示第一页
+     * @param limit 单页条数
+     * @return 游标分页结果
+     */
+    CursorPageVO<SysOperationLog> queryOperationLogsByCursor(AuditLogQueryVO queryVO, String cursor, Integer limit);
+
+    /**
+     * 以流式结果集逐行导出操作日志，不设条数上限，内存占用与导出规模无关
+     * @param queryVO 查询条件
+     * @param consumer 逐行消费者，需在当前线程内同步写出
+     * @return 导出行数
+     */
+    long streamOperationLogs(AuditLogQueryVO queryVO, Consumer<SysOperationLog> consumer);
     
     /**
      * 获取审计概览数据
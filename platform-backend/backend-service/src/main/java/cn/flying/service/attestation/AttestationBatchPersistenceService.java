@@ -44,6 +44,7 @@ public class AttestationBatchPersistenceService {
     private final AttestationBatchAttemptMapper attemptMapper;
     private final AttestationBatchCandidateMapper candidateMapper;
     private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final SimulatedChainRegistryPolicy simulatedChainPolicy;
 
     /**
      * 在一个独立事务中创建 batch 和全部 leaf；同一幂等键已存在时直接复用。
@@ -358,7 +359,8 @@ public class AttestationBatchPersistenceService {
         ContractRegistryEntryResponse registry = JsonConverter.parse(
                 batch.getContractRegistryJson(), ContractRegistryEntryResponse.class);
         if (registry == null
-                || !ContractRegistryEntryValidator.isValidPersistedSharingRegistry(registry)
+                || !ContractRegistryEntryValidator.isValidPersistedSharingRegistry(
+                        registry, simulatedChainPolicy.simulatedChainAllowed())
                 || !Objects.equals(batch.getContractRegistryFingerprint(), registry.registryFingerprint())
                 || !Objects.equals(batch.getChainType(), registry.chainType())
                 || !Objects.equals(batch.getChainId(), registry.chainId())
@@ -59,6 +59,7 @@ public class AttestationBatchServiceImpl implements AttestationBatchService {
     private final FileRemoteClient fileRemoteClient;
     private final AttestationBatchPersistenceService persistenceService;
     private final AttestationBatchIdempotencyKey idempotencyKeyGenerator;
+    private final SimulatedChainRegistryPolicy simulatedChainPolicy;
 
     /**
      * 创建或复用租户内幂等 batch，并在数据库事务提交后同步尝试一次链确认。
@@ -396,7 +397,8 @@ public class AttestationBatchServiceImpl implements AttestationBatchService {
      * 校验注册表字段完整性，禁止使用不支持的 schema、算法、状态或链身份。
      */
     private void validateSharingRegistry(ContractRegistryEntryResponse registry) {
-        if (!ContractRegistryEntryValidator.isValidActiveSharingRegistry(registry)) {
+        if (!ContractRegistryEntryValidator.isValidActiveSharingRegistry(
+                registry, simulatedChainPolicy.simulatedChainAllowed())) {
             throw new ContractRegistryLookupException(
                     "provider 返回的 Sharing 合约注册表字段无效", false);
         }
@@ -28,6 +28,8 @@ public final class ContractRegistryEntryValidator {
     private static final Set<String> FISCO_CHAIN_TYPES = Set.of("LOCAL_FISCO", "BSN_FISCO");
     private static final Set<String> ALLOWED_CHAIN_TYPES = Set.of(
             "LOCAL_FISCO", "BSN_FISCO", "BSN_BESU");
+    // IN_MEMORY 仅用于离线压测批次创建，由调用方按 profile 显式放行；独立证明校验器仍拒绝模拟链证明
+    private static final String SIMULATED_CHAIN_TYPE = "IN_MEMORY";
     private static final Set<String> ACTIVE_STATUS = Set.of("ACTIVE");
     private static final Set<String> ISSUABLE_STATUSES = Set.of("ACTIVE", "DEPRECATED");
     private static final Set<String> PERSISTED_STATUSES = Set.of(
@@ -43,21 +45,41 @@ public final class ContractRegistryEntryValidator {
      * 校验 provider 当前写入入口只能使用结构完整且已经生效的 ACTIVE Sharing 条目。
      */
     public static boolean isValidActiveSharingRegistry(ContractRegistryEntryResponse registry) {
-        return isValidSharingRegistry(registry, ACTIVE_STATUS);
+        return isValidActiveSharingRegistry(registry, false);
+    }
+
+    /**
+     * 校验当前写入入口的 ACTIVE Sharing 条目，仅在测试 profile 下额外接受 IN_MEMORY 模拟链。
+     */
+    public static boolean isValidActiveSharingRegistry(
+            ContractRegistryEntryResponse registry,
+            boolean allowSimulatedChain
+    ) {
+        return isValidSharingRegistry(registry, ACTIVE_STATUS, allowSimulatedChain);
     }
 
     /**
      * 校验签名证明只能引用结构完整且处于历史可签发状态的 Sharing 条目。
      */
     public static boolean isValidIssuableSharingRegistry(ContractRegistryEntryResponse registry) {
-        return isValidSharingRegistry(registry, ISSUABLE_STATUSES);
+        return isValidSharingRegistry(registry, ISSUABLE_STATUSES, false);
     }
 
     /**
      * 校验历史批次快照在支持的生命周期状态下仍满足完整 Sharing 结构合同。
      */
     public static boolean isValidPersistedSharingRegistry(ContractRegistryEntryResponse registry) {
-        return isValidSharingRegistry(registry, PERSISTED_STATUSES);
+        return isValidPersistedSharingRegistry(registry, false);
+    }
+
+    /**
+     * 校验历史批次快照，仅在测试 profile 下额外接受 IN_MEMORY 模拟链。
+     */
+    public static boolean isValidPersistedSharingRegistry(
+            ContractRegistryEntryResponse registry,
+            boolean allowSimulatedChain
+    ) {
+        return isValidSharingRegistry(registry, PERSISTED_STATUSES, allowSimulatedChain);
     }
 
     /**
@@ -65,7 +87,8 @@ public final class ContractRegistryEntryValidator {
      */
     private static boolean isValidSharingRegistry(
             ContractRegistryEntryResponse registry,
-            Set<String> allowedStatuses
+            Set<String> allowedStatuses,
+            boolean allowSimulatedChain
     ) {
         if (registry == null) {
             return false;
@@ -82,7 +105,8 @@ public final class ContractRegistryEntryValidator {
                 || !StringUtils.hasText(registry.semanticVersion())
                 || !SEMANTIC_VERSION_PATTERN.matcher(registry.semanticVersion()).matches()
                 || registry.chainType() == null
-                || !ALLOWED_CHAIN_TYPES.contains(registry.chainType())
+                || !(ALLOWED_CHAIN_TYPES.contains(registry.chainType())
+                        || (allowSimulatedChain && SIMULATED_CHAIN_TYPE.equals(registry.chainType())))
                 || !StringUtils.hasText(registry.chainId())
                 || (fiscoChain && !StringUtils.hasText(registry.groupId()))
                 || (!fiscoChain && StringUtils.hasText(registry.groupId()))
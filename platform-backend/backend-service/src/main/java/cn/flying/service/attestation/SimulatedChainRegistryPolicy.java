@@ -0,0 +1,42 @@
+package cn.flying.service.attestation;
+
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+/**
+ * 决定合约注册表是否允许 IN_MEMORY 模拟链条目。
+ *
+ * <p>模拟链只服务离线压测与集成测试，仅在 {@code local} 或 {@code test} profile 且未启用
+ * {@code prod} 时放行；其余环境一律按未知链类型失败关闭。
+ */
+@Component
+public class SimulatedChainRegistryPolicy {
+
+    private static final Profiles SIMULATED_CHAIN_PROFILES = Profiles.of("local", "test");
+    private static final Profiles PRODUCTION_PROFILE = Profiles.of("prod");
+
+    private final boolean simulatedChainAllowed;
+
+    /**
+     * 按当前 active profile 固定模拟链放行策略。
+     */
+    public SimulatedChainRegistryPolicy(Environment environment) {
+        this(environment.acceptsProfiles(SIMULATED_CHAIN_PROFILES)
+                && !environment.acceptsProfiles(PRODUCTION_PROFILE));
+    }
+
+    /**
+     * 使用显式策略创建实例，供单元测试直接构造。
+     */
+    SimulatedChainRegistryPolicy(boolean simulatedChainAllowed) {
+        this.simulatedChainAllowed = simulatedChainAllowed;
+    }
+
+    /**
+     * 判断当前环境是否允许 IN_MEMORY 注册表条目。
+     */
+    public boolean simulatedChainAllowed() {
+        return simulatedChainAllowed;
+    }
+}
@@ -0,0 +1,308 @@
+package cn.flying.service.audit;
+
+import cn.flying.common.tenant.TenantContext;
+import cn.flying.dao.dto.SysOperationLog;
+import cn.flying.dao.entity.SysAuditRollup;
+import cn.flying.dao.mapper.SysAuditRollupMapper;
+import cn.flying.dao.vo.audit.ErrorOperationStatsVO;
+import cn.flying.dao.vo.audit.HighFrequencyOperationVO;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 审计预聚合服务：写日志时增量维护分钟/小时/天计数桶、去重用户草图、用户分钟桶和错误日桶，
+ * 概览读取只扫描桶而不扫描 sys_operation_log。
+ * <p>
+ * 增量写入在日志事务提交后执行，失败只记录告警；每日对账任务按原始日志重算前一天的桶作为最终口径。
+ * 升级前的历史日志由回填任务按租户逐日向前重算，游标持久化在 sys_audit_rollup_backfill，中断后可续跑；
+ * 当日草图在启动时从原始日志补齐。
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditRollupService {
+
+    private static final String SYSTEM_USER = "system";
+    private static final int ERROR_MSG_SAMPLE_LENGTH = 1024;
+    private static final int HIGH_FREQUENCY_WINDOW_MINUTES = 5;
+    private static final int HIGH_FREQUENCY_LIMIT = 100;
+    private static final int ERROR_STATS_LIMIT = 100;
+    private static final int PRUNE_BATCH_SIZE = 5000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final SysAuditRollupMapper rollupMapper;
+
+    /**
+     * 是否使用预聚合作为概览读路径，关闭时回退到原始日志聚合查询
+     */
+    @Value("${audit.rollup.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 分钟级桶保留小时数
+     */
+    @Value("${audit.rollup.minute-retention-hours:48}")
+    private int minuteRetentionHours;
+
+    /**
+     * 返回是否启用预聚合读路径。
+     *
+     * @return true 表示概览读取预聚合
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 将一条已提交的操作日志增量计入预聚合。
+     * <p>
+     * 在独立事务中执行，桶更新失败或死锁只回滚本次增量，不影响已提交的日志。
+     *
+     * @param operationLog 已插入的操作日志
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void record(SysOperationLog operationLog) {
+        if (operationLog == null) {
+            return;
+        }
+        Long tenantId = operationLog.getTenantId() != null
+                ? operationLog.getTenantId() : TenantContext.getTenantIdOrDefault();
+        LocalDateTime occurredAt = operationLog.getOperationTime() != null
+                ? operationLog.getOperationTime() : LocalDateTime.now();
+        LocalDateTime minute = occurredAt.truncatedTo(ChronoUnit.MINUTES);
+        boolean error = Integer.valueOf(1).equals(operationLog.getStatus());
+
+        rollupMapper.incrementCounters(tenantId, minute, occurredAt.truncatedTo(ChronoUnit.HOURS),
+                occurredAt.toLocalDate().atStartOfDay(), error ? 1 : 0);
+
+        String userId = operationLog.getUserId();
+        if (isTrackedUser(userId)) {
+            DistinctUserSketch.Register register = DistinctUserSketch.registerFor(userId);
+            rollupMapper.mergeSketchRegister(tenantId, occurredAt.toLocalDate(), register.index(), register.rank());
+            rollupMapper.incrementUserMinute(tenantId, minute, userId,
+                    StringUtils.defaultString(operationLog.getRequestIp()), operationLog.getUsername());
+        }
+
+        if (error) {
+            String errorMsg = StringUtils.defaultString(operationLog.getErrorMsg());
+            rollupMapper.incrementError(tenantId, occurredAt.toLocalDate(),
+                    StringUtils.defaultString(operationLog.getModule()),
+                    StringUtils.defaultString(operationLog.getOperationType()),
+                    sha256Hex(errorMsg), StringUtils.left(errorMsg, ERROR_MSG_SAMPLE_LENGTH), occurredAt);
+        }
+    }
+
+    /**
+     * 从预聚合填充审计概览指标，字段与原始日志聚合口径一致。
+     *
+     * @param overview 输出 Map
+     * @param tenantId 租户ID
+     * @param today 当日
+     * @param dailyStatsDays 每日统计天数
+     */
+    public void fillOverview(Map<String, Object> overview, Long tenantId, LocalDate today, int dailyStatsDays) {
+        LocalDateTime startOfDay = today.atStartOfDay();
+        LocalDateTime endOfDay = today.plusDays(1).atStartOfDay();
+
+        SysAuditRollup total = rollupMapper.sumBuckets(tenantId, SysAuditRollup.GRANULARITY_DAY, EPOCH, endOfDay);
+        SysAuditRollup todayTotal = rollupMapper.sumBuckets(
+                tenantId, SysAuditRollup.GRANULARITY_DAY, startOfDay, endOfDay);
+
+        overview.put("totalOperations", countOf(total, false));
+        overview.put("todayOperations", countOf(todayTotal, false));
+        overview.put("totalErrorOperations", countOf(total, true));
+        overview.put("todayErrorOperations", countOf(todayTotal, true));
+        // v_sensitive_operations 当前覆盖全部操作日志，敏感操作数与当日操作数同口径
+        overview.put("todaySensitiveOperations", countOf(todayTotal, false));
+        overview.put("todayActiveUsers", estimateActiveUsers(tenantId, today));
+        overview.put("highFrequencyAlerts", highFrequencyAlertCount(tenantId));
+        overview.put("dailyStats", rollupMapper.selectDailyBuckets(
+                tenantId, today.minusDays(dailyStatsDays).atStartOfDay()));
+    }
+
+    /**
+     * 用当日草图估算活跃用户数。
+     *
+     * @param tenantId 租户ID
+     * @param day 日期
+     * @return 去重用户估算值
+     */
+    public long estimateActiveUsers(Long tenantId, LocalDate day) {
+        List<Map<String, Object>> rows = rollupMapper.selectSketchRegisters(tenantId, day);
+        Map<Integer, Integer> registers = new HashMap<>();
+        if (rows != null) {
+            for (Map<String, Object> row : rows) {
+                Object index = row.get("register_index");
+                Object rank = row.get("register_rank");
+                if (index instanceof Number indexValue && rank instanceof Number rankValue) {
+                    registers.merge(indexValue.intValue(), rankValue.intValue(), Math::max);
+                }
+            }
+        }
+        return DistinctUserSketch.estimate(registers);
+    }
+
+    /**
+     * 读取最近窗口内的高频操作分组。
+     *
+     * @param tenantId 租户ID
+     * @return 高频操作列表
+     */
+    public List<HighFrequencyOperationVO> highFrequencyOperations(Long tenantId) {
+        LocalDateTime now = LocalDateTime.now();
+        return rollupMapper.selectHighFrequencyOperations(
+                tenantId, windowStart(now), now, HIGH_FREQUENCY_LIMIT);
+    }
+
+    /**
+     * 统计最近窗口内的高频操作分组数。
+     *
+     * @param tenantId 租户ID
+     * @return 分组数
+     */
+    public long highFrequencyAlertCount(Long tenantId) {
+        Long count = rollupMapper.countHighFrequencyGroups(tenantId, windowStart(LocalDateTime.now()));
+        return count == null ? 0L : count;
+    }
+
+    /**
+     * 读取跨日合并的错误统计。
+     *
+     * @param tenantId 租户ID
+     * @return 错误统计列表
+     */
+    public List<ErrorOperationStatsVO> errorOperationStats(Long tenantId) {
+        return rollupMapper.selectErrorOperationStats(tenantId, ERROR_STATS_LIMIT);
+    }
+
+    /**
+     * 按原始日志重算单租户单日的小时桶、天桶、去重草图与错误桶。
+     *
+     * @param tenantId 租户ID
+     * @param day 日期
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void reconcileDay(Long tenantId, LocalDate day) {
+        LocalDateTime startTime = day.atStartOfDay();
+        LocalDateTime endTime = day.plusDays(1).atStartOfDay();
+
+        rollupMapper.deleteCounterBuckets(tenantId, startTime, endTime);
+        rollupMapper.reconcileHourCounters(tenantId, startTime, endTime);
+        rollupMapper.reconcileDayCounters(tenantId, startTime, endTime);
+
+        rollupMapper.deleteSketch(tenantId, day);
+        mergeSketchFromLog(tenantId, day);
+
+        rollupMapper.deleteErrors(tenantId, day);
+        rollupMapper.reconcileErrors(tenantId, day, startTime, endTime);
+    }
+
+    /**
+     * 回填租户一天的历史预聚合并把游标前移一天。
+     * <p>
+     * 游标从首次运行的前一天开始向前走，越过最早一条原始日志后置空表示完成；
+     * 每天一个事务，中断后从游标续跑，已回填的天不会重复扫描。
+     *
+     * @param tenantId 租户ID
+     * @return true 表示还有待回填的日期
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public boolean backfillNextDay(Long tenantId) {
+        rollupMapper.initBackfillCursor(tenantId, LocalDate.now().minusDays(1));
+        LocalDate day = rollupMapper.selectBackfillCursorForUpdate(tenantId);
+        if (day == null) {
+            return false;
+        }
+        LocalDateTime oldest = rollupMapper.selectOldestLogTime(tenantId);
+        if (oldest == null || day.isBefore(oldest.toLocalDate())) {
+            rollupMapper.updateBackfillCursor(tenantId, null);
+            return false;
+        }
+        reconcileDay(tenantId, day);
+        rollupMapper.updateBackfillCursor(tenantId, day.minusDays(1));
+        return true;
+    }
+
+    /**
+     * 将单日原始日志中的用户并入去重草图，不删除已有寄存器。
+     * <p>
+     * 寄存器只按 GREATEST 合并，可与增量写入并发且重复执行无副作用，用于升级后补齐当日草图。
+     *
+     * @param tenantId 租户ID
+     * @param day 日期
+     */
+    public void mergeSketchFromLog(Long tenantId, LocalDate day) {
+        Map<Integer, Integer> registers = new HashMap<>();
+        List<String> userIds = rollupMapper.selectDistinctUserIds(
+                tenantId, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        if (userIds != null) {
+            for (String userId : userIds) {
+                if (isTrackedUser(userId)) {
+                    DistinctUserSketch.Register register = DistinctUserSketch.registerFor(userId);
+                    registers.merge(register.index(), register.rank(), Math::max);
+                }
+            }
+        }
+        registers.forEach((index, rank) -> rollupMapper.mergeSketchRegister(tenantId, day, index, rank));
+    }
+
+    /**
+     * 分批清理超过保留期的分钟级桶。
+     *
+     * @param tenantId 租户ID
+     * @return 删除行数
+     */
+    public int pruneMinuteBuckets(Long tenantId) {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(Math.max(1, minuteRetentionHours));
+        int deleted = 0;
+        int batch;
+        do {
+            batch = rollupMapper.deleteMinuteBucketsBefore(tenantId, cutoff, PRUNE_BATCH_SIZE);
+            deleted += batch;
+        } while (batch >= PRUNE_BATCH_SIZE);
+        do {
+            batch = rollupMapper.deleteUserMinutesBefore(tenantId, cutoff, PRUNE_BATCH_SIZE);
+            deleted += batch;
+        } while (batch >= PRUNE_BATCH_SIZE);
+        return deleted;
+    }
+
+    private LocalDateTime windowStart(LocalDateTime now) {
+        return now.minusMinutes(HIGH_FREQUENCY_WINDOW_MINUTES).truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    private boolean isTrackedUser(String userId) {
+        return StringUtils.isNotBlank(userId) && !SYSTEM_USER.equals(userId);
+    }
+
+    private long countOf(SysAuditRollup rollup, boolean errors) {
+        if (rollup == null) {
+            return 0L;
+        }
+        Long value = errors ? rollup.getErrorCount() : rollup.getTotalCount();
+        return value == null ? 0L : value;
+    }
+
+    private String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
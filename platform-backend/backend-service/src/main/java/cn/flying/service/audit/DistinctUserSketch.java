@@ -0,0 +1,76 @@
+package cn.flying.service.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * 审计去重用户数使用的 HyperLogLog 寄存器计算与估算。
+ *
+ * <p>精度固定为 {@value #PRECISION}（1024 个寄存器，标准误差约 3.25%）。用户 ID 的 SHA-256
+ * 前 8 字节作为 64 位哈希，高位选择寄存器，其余位的前导零计数加一作为 rank。</p>
+ */
+public final class DistinctUserSketch {
+
+    public static final int PRECISION = 10;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final int MAX_RANK = Long.SIZE - PRECISION + 1;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private DistinctUserSketch() {
+    }
+
+    /**
+     * 单个用户在草图中落入的寄存器与 rank。
+     */
+    public record Register(int index, int rank) {
+    }
+
+    /**
+     * 计算用户 ID 对应的寄存器更新。
+     */
+    public static Register registerFor(String userId) {
+        long hash = hash64(userId);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        long remainder = hash << PRECISION;
+        int rank = remainder == 0 ? MAX_RANK : Long.numberOfLeadingZeros(remainder) + 1;
+        return new Register(index, Math.min(rank, MAX_RANK));
+    }
+
+    /**
+     * 根据非空寄存器估算基数；缺失寄存器视为 0。
+     */
+    public static long estimate(Map<Integer, Integer> registers) {
+        double harmonicSum = 0D;
+        int zeroRegisters = REGISTER_COUNT;
+        for (Map.Entry<Integer, Integer> entry : registers.entrySet()) {
+            int index = entry.getKey();
+            int rank = entry.getValue() == null ? 0 : entry.getValue();
+            if (index < 0 || index >= REGISTER_COUNT || rank <= 0) {
+                continue;
+            }
+            harmonicSum += Math.pow(2D, -rank);
+            zeroRegisters--;
+        }
+        harmonicSum += zeroRegisters;
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / harmonicSum;
+        if (estimate <= 2.5D * REGISTER_COUNT && zeroRegisters > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeroRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    private static long hash64(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            long hash = 0L;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFFL);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 unavailable", exception);
+        }
+    }
+}
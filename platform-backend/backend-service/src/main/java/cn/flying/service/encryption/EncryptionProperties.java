@@ -69,6 +69,12 @@ public class EncryptionProperties {
      */
     private int framePlainSize = 1024 * 1024;
 
+    /**
+     * framed v2 单次写入并行加密的 frame 数上限，0 表示 min(4, CPU 核数)，1 表示串行。
+     * <p>每个在途 frame 占用一份明文与一份密文缓冲区。</p>
+     */
+    private int frameParallelism = 0;
+
     /**
      * 获取解析后的算法枚举
      */
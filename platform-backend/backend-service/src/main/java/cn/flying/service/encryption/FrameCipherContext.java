@@ -0,0 +1,137 @@
+package cn.flying.service.encryption;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 单次写入或验证内复用的 framed AES-GCM 上下文。
+ * <p>
+ * 每个 frame 缓冲槽位持有一组 {@link Cipher} 与 {@link Mac}，随调用创建并在结束时 {@link #destroy()}，
+ * 不绑定线程，因此池化线程上不会残留由 PRK 派生的 Mac 状态，也与虚拟线程兼容。
+ * frame key/nonce 由调用方预先计算的文件级 PRK 单块展开得到（输出不超过 32 字节时 HKDF-Expand 仅需 T(1)），
+ * 结果与 {@link FramedAeadCrypto#deriveFrameKey} / {@link FramedAeadCrypto#deriveFrameNonce} 逐字节一致。
+ */
+final class FrameCipherContext {
+
+    private static final String CIPHER_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final Mac mac;
+    private Cipher cipher;
+
+    /**
+     * 当前 Mac 已初始化的 PRK；同一次写入的所有 frame 共享同一数组引用，避免重复 init
+     */
+    private byte[] macKey;
+
+    FrameCipherContext() {
+        try {
+            this.mac = Mac.getInstance(MAC_ALGORITHM);
+            this.cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("framed AES-GCM primitives unavailable", e);
+        }
+    }
+
+    /**
+     * 用全零密钥覆盖 Mac 内由 PRK 派生的 HMAC 状态并释放 Cipher，之后上下文不可再用。
+     */
+    void destroy() {
+        macKey = null;
+        cipher = null;
+        byte[] zeroKey = new byte[FramedAeadCrypto.FILE_DEK_SIZE];
+        try {
+            mac.init(new SecretKeySpec(zeroKey, MAC_ALGORITHM));
+        } catch (GeneralSecurityException ignored) {
+            // HmacSHA256 接受任意非空密钥，此处不会失败
+        }
+        mac.reset();
+    }
+
+    /**
+     * 加密单个 frame，密文与 tag 写入 {@code output} 起始位置。
+     *
+     * @param prk        {@link FramedAeadCrypto#hkdfExtract} 得到的文件级 PRK
+     * @param aad        当前 frame 的 AAD
+     * @param chunkIndex 分片序号
+     * @param frameIndex frame 序号
+     * @param plain      明文缓冲区
+     * @param plainLength 明文长度
+     * @param output     至少 {@code plainLength + TAG_SIZE} 字节的输出缓冲区
+     * @return 密文长度
+     */
+    int encrypt(
+            byte[] prk,
+            byte[] aad,
+            int chunkIndex,
+            int frameIndex,
+            byte[] plain,
+            int plainLength,
+            byte[] output
+    ) throws GeneralSecurityException {
+        SecretKeySpec key = frameKey(prk, chunkIndex, frameIndex);
+        GCMParameterSpec spec = frameSpec(prk, chunkIndex, frameIndex);
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, key, spec);
+        } catch (InvalidAlgorithmParameterException e) {
+            // 同一 Cipher 拒绝连续两次使用相同 key/iv 加密（如重试同一分片），换新实例后重新初始化
+            cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, spec);
+        }
+        cipher.updateAAD(aad);
+        return cipher.doFinal(plain, 0, plainLength, output, 0);
+    }
+
+    /**
+     * 认证并解密单个 frame，明文写入 {@code output} 起始位置。
+     *
+     * @return 明文长度
+     * @throws javax.crypto.AEADBadTagException tag 或 AAD 不匹配
+     */
+    int decrypt(
+            byte[] prk,
+            byte[] aad,
+            int chunkIndex,
+            int frameIndex,
+            byte[] ciphertext,
+            int cipherLength,
+            byte[] output
+    ) throws GeneralSecurityException {
+        cipher.init(Cipher.DECRYPT_MODE, frameKey(prk, chunkIndex, frameIndex), frameSpec(prk, chunkIndex, frameIndex));
+        cipher.updateAAD(aad);
+        return cipher.doFinal(ciphertext, 0, cipherLength, output, 0);
+    }
+
+    private SecretKeySpec frameKey(byte[] prk, int chunkIndex, int frameIndex) throws GeneralSecurityException {
+        return new SecretKeySpec(expand(prk,
+                FramedAeadCrypto.info(FramedAeadCrypto.KEY_INFO_PREFIX, chunkIndex, frameIndex),
+                FramedAeadCrypto.FILE_DEK_SIZE), "AES");
+    }
+
+    private GCMParameterSpec frameSpec(byte[] prk, int chunkIndex, int frameIndex) throws GeneralSecurityException {
+        return new GCMParameterSpec(FramedAeadCrypto.TAG_SIZE * 8, expand(prk,
+                FramedAeadCrypto.info(FramedAeadCrypto.NONCE_INFO_PREFIX, chunkIndex, frameIndex),
+                FramedAeadCrypto.FRAME_NONCE_SIZE));
+    }
+
+    private byte[] expand(byte[] prk, byte[] info, int length) throws GeneralSecurityException {
+        if (macKey != prk) {
+            mac.init(new SecretKeySpec(prk, MAC_ALGORITHM));
+            macKey = prk;
+        }
+        mac.update(info);
+        mac.update((byte) 1);
+        byte[] block = mac.doFinal();
+        if (length == block.length) {
+            return block;
+        }
+        byte[] output = new byte[length];
+        System.arraycopy(block, 0, output, 0, length);
+        return output;
+    }
+}
@@ -223,7 +223,10 @@ public final class FramedAeadCrypto {
         return difference == 0;
     }
 
-    private static byte[] info(String prefix, int chunkIndex, int frameIndex) {
+    /**
+     * 构造 HKDF info：前缀 + chunkIndex + frameIndex（big-endian）。
+     */
+    static byte[] info(String prefix, int chunkIndex, int frameIndex) {
         byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
         return ByteBuffer.allocate(prefixBytes.length + 8)
                 .order(ByteOrder.BIG_ENDIAN)
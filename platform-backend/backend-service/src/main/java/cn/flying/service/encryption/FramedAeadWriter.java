@@ -6,16 +6,30 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import javax.crypto.Cipher;
-import javax.crypto.spec.GCMParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
-
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -25,9 +39,55 @@ import org.springframework.stereotype.Component;
 public class FramedAeadWriter {
 
     private static final String HASH_PREFIX = "sha256:";
-    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_PARALLELISM = 4;
     private final SecureRandom secureRandom = new SecureRandom();
 
+    /**
+     * 单次写入同时在途的 frame 数上限，也是 frame 缓冲区槽位数
+     */
+    private final int parallelism;
+
+    /**
+     * frame 加密线程池；并行度为 1 时为 null，在调用线程内串行加密
+     */
+    private final ExecutorService frameExecutor;
+
+    /**
+     * 分片级验证线程池；只等待 frame 任务，frame 任务本身从不阻塞，因此两级线程池不会互相死锁
+     */
+    private final ExecutorService chunkExecutor;
+
+    /**
+     * 串行 writer，在调用线程内逐帧加密。
+     */
+    public FramedAeadWriter() {
+        this(1);
+    }
+
+    /**
+     * 按 {@code file.encryption.frame-parallelism} 构建 writer，0 表示 min(4, CPU 核数)。
+     */
+    @Autowired
+    public FramedAeadWriter(EncryptionProperties properties) {
+        this(resolveParallelism(properties.getFrameParallelism()));
+    }
+
+    FramedAeadWriter(int parallelism) {
+        this(parallelism, parallelism > 1 ? newExecutor(parallelism, "framed-aead-") : null);
+    }
+
+    /**
+     * 使用外部 frame 线程池构建 writer，供测试控制 frame 任务的完成顺序。
+     */
+    FramedAeadWriter(int parallelism, ExecutorService frameExecutor) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("frame parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.frameExecutor = parallelism > 1 ? frameExecutor : null;
+        this.chunkExecutor = parallelism > 1 ? newExecutor(parallelism, "framed-aead-verify-") : null;
+    }
+
     /**
      * 生成稳定长度的文件级 DEK；调用方负责将其写入受控会话检查点。
      */
@@ -48,6 +108,10 @@ public class FramedAeadWriter {
 
     /**
      * 将一个明文分片按 1MiB 默认、有界 frame 写成 v2 对象。
+     * <p>
+     * 调用线程顺序读取明文并计算明文摘要，frame 加密分发到有界线程池，
+     * 输出按 frame 序号依次写入，最多 {@code parallelism} 个 frame 在途，
+     * 因此内存占用上限约为 {@code 2 * parallelism * framePlainSize}，输出与串行加密逐字节一致。
      */
     public WriteResult write(
             Path plainPath,
@@ -68,7 +132,14 @@ public class FramedAeadWriter {
                 chunkIndex, chunkCount, framePlainSize, frameCount, plainSize, fileNonce);
         MessageDigest plainDigest = sha256();
         MessageDigest cipherDigest = sha256();
-        byte[] frameBuffer = new byte[framePlainSize];
+        // 文件级 PRK 每次写入只计算一次，frame key/nonce 在工作线程内单块展开
+        byte[] prk = FramedAeadCrypto.hkdfExtract(fileNonce, fileDek);
+        boolean parallel = frameExecutor != null && frameCount > 1;
+        int window = parallel ? Math.min(parallelism, frameCount) : 1;
+        ArrayDeque<FrameSlot> freeSlots = new ArrayDeque<>(window);
+        List<FrameSlot> allocatedSlots = new ArrayList<>(window);
+        ArrayDeque<Future<FrameSlot>> inFlight = new ArrayDeque<>(window);
+        AtomicBoolean aborted = new AtomicBoolean();
         long remaining = plainSize;
         int frameIndex = 0;
 
@@ -81,25 +152,32 @@ public class FramedAeadWriter {
             output.write(header);
             cipherDigest.update(header);
             while (remaining > 0) {
+                if (inFlight.size() == window) {
+                    freeSlots.add(writeFrame(awaitFrame(inFlight.poll()), output, cipherDigest));
+                }
+                FrameSlot slot = freeSlots.isEmpty() ? allocate(allocatedSlots, framePlainSize) : freeSlots.poll();
                 int expectedLength = (int) Math.min(framePlainSize, remaining);
-                readFully(input, frameBuffer, expectedLength);
-                plainDigest.update(frameBuffer, 0, expectedLength);
-                byte[] ciphertext = encryptFrame(
-                        frameBuffer, expectedLength, fileDek, fileNonce,
-                        chunkIndex, chunkCount, frameIndex, frameCount, plainSize);
-                byte[] frameHeader = FramedAeadCrypto.buildFrameHeader(
-                        frameIndex, expectedLength, ciphertext.length);
-                output.write(frameHeader);
-                output.write(ciphertext);
-                cipherDigest.update(frameHeader);
-                cipherDigest.update(ciphertext);
+                readFully(input, slot.plain, expectedLength);
+                plainDigest.update(slot.plain, 0, expectedLength);
+                slot.frameIndex = frameIndex;
+                slot.plainLength = expectedLength;
+                FrameTask task = new FrameTask(
+                        slot, prk, fileNonce, chunkIndex, chunkCount, frameCount, plainSize, aborted);
+                inFlight.add(parallel ? frameExecutor.submit(task) : CompletableFuture.completedFuture(task.call()));
                 remaining -= expectedLength;
                 frameIndex++;
             }
+            while (!inFlight.isEmpty()) {
+                writeFrame(awaitFrame(inFlight.poll()), output, cipherDigest);
+            }
             if (input.read() != -1) {
                 throw new IOException("framed chunk contains unexpected trailing plaintext");
             }
             output.flush();
+        } finally {
+            abortAndAwait(aborted, inFlight);
+            destroy(allocatedSlots);
+            Arrays.fill(prk, (byte) 0);
         }
         return new WriteResult(
                 plainSize,
@@ -111,6 +189,9 @@ public class FramedAeadWriter {
 
     /**
      * 在不产生明文输出的情况下完整验证 v2 对象的 header、frame 顺序、tag、长度和 hash。
+     * <p>
+     * frame 按序读取并计算密文摘要，解密认证分发到 frame 线程池，明文摘要按 frame 序号归并；
+     * 认证失败时抛出 {@link FrameVerificationException} 并携带分片与 frame 坐标。
      */
     public WriteResult verify(
             Path encryptedPath,
@@ -124,8 +205,129 @@ public class FramedAeadWriter {
             throw new IOException("framed encrypted chunk does not exist");
         }
         validateKeys(fileDek, fileNonce, framePlainSize);
+        byte[] prk = FramedAeadCrypto.hkdfExtract(fileNonce, fileDek);
+        try {
+            return verifyChunk(
+                    encryptedPath, prk, fileNonce, chunkIndex, chunkCount, framePlainSize, new AtomicBoolean());
+        } finally {
+            Arrays.fill(prk, (byte) 0);
+        }
+    }
+
+    /**
+     * 并行验证一个文件的全部 v2 分片，列表下标即分片序号、列表长度即分片总数。
+     * <p>
+     * 最多 {@code parallelism} 个分片同时验证，每个分片内部再按 frame 并行认证；
+     * 任一分片失败即中止其余分片，等待已开始的分片与 frame 任务退出后再清零 PRK，
+     * 并抛出 {@link FrameVerificationException}。
+     * <p>
+     * 分片级与 frame 级并行度相同，峰值内存约为 {@code parallelism * parallelism * 2 * framePlainSize}，
+     * 默认 1MiB frame、并行度 4 时约 4 × 4 × 2MiB = 32MiB；调大并行度时该上限按平方增长。
+     *
+     * @return 按分片序号排列的验证结果
+     */
+    public List<WriteResult> verifyChunks(
+            List<Path> encryptedPaths,
+            byte[] fileDek,
+            byte[] fileNonce,
+            int framePlainSize
+    ) throws IOException {
+        if (encryptedPaths == null || encryptedPaths.isEmpty()) {
+            throw new IOException("framed encrypted chunk list is empty");
+        }
+        validateKeys(fileDek, fileNonce, framePlainSize);
+        int chunkCount = encryptedPaths.size();
+        WriteResult[] results = new WriteResult[chunkCount];
+        byte[] prk = FramedAeadCrypto.hkdfExtract(fileNonce, fileDek);
+        try {
+            if (chunkExecutor == null || chunkCount == 1) {
+                for (int index = 0; index < chunkCount; index++) {
+                    results[index] = verifyChunkReporting(encryptedPaths.get(index), prk, fileNonce,
+                            index, chunkCount, framePlainSize, new AtomicBoolean());
+                }
+            } else {
+                verifyChunksInParallel(encryptedPaths, prk, fileNonce, framePlainSize, results);
+            }
+        } finally {
+            Arrays.fill(prk, (byte) 0);
+        }
+        return List.of(results);
+    }
+
+    private void verifyChunksInParallel(
+            List<Path> encryptedPaths,
+            byte[] prk,
+            byte[] fileNonce,
+            int framePlainSize,
+            WriteResult[] results
+    ) throws IOException {
+        int chunkCount = encryptedPaths.size();
+        CompletionService<Integer> completion = new ExecutorCompletionService<>(chunkExecutor);
+        List<Future<Integer>> submitted = new ArrayList<>(chunkCount);
+        AtomicBoolean aborted = new AtomicBoolean();
+        try {
+            for (int index = 0; index < chunkCount; index++) {
+                int chunkIndex = index;
+                submitted.add(completion.submit(() -> {
+                    results[chunkIndex] = verifyChunkReporting(encryptedPaths.get(chunkIndex), prk, fileNonce,
+                            chunkIndex, chunkCount, framePlainSize, aborted);
+                    return chunkIndex;
+                }));
+            }
+            for (int completed = 0; completed < chunkCount; completed++) {
+                await(completion.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("framed chunk verification interrupted", e);
+        } finally {
+            abortAndAwait(aborted, submitted);
+        }
+    }
+
+    /**
+     * 验证单个分片，并把非 frame 级失败统一转换为带分片坐标的验证异常。
+     */
+    private WriteResult verifyChunkReporting(
+            Path encryptedPath,
+            byte[] prk,
+            byte[] fileNonce,
+            int chunkIndex,
+            int chunkCount,
+            int framePlainSize,
+            AtomicBoolean aborted
+    ) throws IOException {
+        if (encryptedPath == null || !Files.isRegularFile(encryptedPath)) {
+            throw new FrameVerificationException(chunkIndex, -1, "framed encrypted chunk does not exist", null);
+        }
+        try {
+            return verifyChunk(encryptedPath, prk, fileNonce, chunkIndex, chunkCount, framePlainSize, aborted);
+        } catch (FrameVerificationException e) {
+            throw e;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new FrameVerificationException(chunkIndex, -1, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 验证单个分片；{@code chunksAborted} 在兄弟分片失败时置位，本分片在 frame 边界处停止。
+     */
+    private WriteResult verifyChunk(
+            Path encryptedPath,
+            byte[] prk,
+            byte[] fileNonce,
+            int chunkIndex,
+            int chunkCount,
+            int framePlainSize,
+            AtomicBoolean chunksAborted
+    ) throws IOException {
         MessageDigest plainDigest = sha256();
         MessageDigest cipherDigest = sha256();
+        ArrayDeque<Future<FrameSlot>> inFlight = new ArrayDeque<>();
+        List<FrameSlot> allocatedSlots = new ArrayList<>();
+        AtomicBoolean aborted = new AtomicBoolean();
+        long plainSize;
+        int frameCount;
         try (InputStream input = Files.newInputStream(encryptedPath)) {
             byte[] header = readExact(input, FramedAeadCrypto.CHUNK_HEADER_SIZE);
             cipherDigest.update(header);
@@ -136,43 +338,65 @@ public class FramedAeadWriter {
                     || !FramedAeadCrypto.constantTimeEquals(parsed.fileNonce(), fileNonce)) {
                 throw new IOException("framed chunk header does not match upload state");
             }
-            long plainSize = parsed.chunkPlainSize();
-            int expectedFrameCount = FramedAeadCrypto.calculateFrameCount(plainSize, framePlainSize);
-            if (parsed.frameCount() != expectedFrameCount) {
+            plainSize = parsed.chunkPlainSize();
+            frameCount = parsed.frameCount();
+            if (frameCount != FramedAeadCrypto.calculateFrameCount(plainSize, framePlainSize)) {
                 throw new IOException("framed frame count does not match plaintext size");
             }
+            boolean parallel = frameExecutor != null && frameCount > 1;
+            int window = parallel ? Math.min(parallelism, frameCount) : 1;
+            ArrayDeque<FrameSlot> freeSlots = new ArrayDeque<>(window);
             long plainBytes = 0;
-            for (int frameIndex = 0; frameIndex < parsed.frameCount(); frameIndex++) {
+            for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+                if (chunksAborted.get()) {
+                    throw new IOException("framed chunk verification aborted");
+                }
+                if (inFlight.size() == window) {
+                    FrameSlot done = awaitFrame(inFlight.poll());
+                    plainDigest.update(done.plain, 0, done.plainLength);
+                    plainBytes = Math.addExact(plainBytes, done.plainLength);
+                    freeSlots.add(done);
+                }
                 byte[] frameHeader = readExact(input, FramedAeadCrypto.FRAME_HEADER_SIZE);
                 cipherDigest.update(frameHeader);
                 FramedAeadCrypto.FrameHeader frame = FramedAeadCrypto.parseFrameHeader(frameHeader);
                 if (frame.frameIndex() != frameIndex
                         || frame.plainLength() > framePlainSize
-                        || (frameIndex < parsed.frameCount() - 1 && frame.plainLength() != framePlainSize)
-                        || (frameIndex == parsed.frameCount() - 1 && frame.plainLength() <= 0)) {
-                    throw new IOException("framed frame coordinate or length is invalid");
+                        || (frameIndex < frameCount - 1 && frame.plainLength() != framePlainSize)
+                        || (frameIndex == frameCount - 1 && frame.plainLength() <= 0)) {
+                    throw new FrameVerificationException(
+                            chunkIndex, frameIndex, "framed frame coordinate or length is invalid", null);
                 }
                 if (frame.cipherLength() > framePlainSize + FramedAeadCrypto.TAG_SIZE) {
-                    throw new IOException("framed ciphertext exceeds configured bound");
+                    throw new FrameVerificationException(
+                            chunkIndex, frameIndex, "framed ciphertext exceeds configured bound", null);
                 }
-                byte[] ciphertext = readExact(input, frame.cipherLength());
-                cipherDigest.update(ciphertext);
-                byte[] plaintext = decryptFrame(
-                        ciphertext, fileDek, parsed.fileNonce(), parsed.chunkIndex(), parsed.chunkCount(),
-                        frameIndex, parsed.frameCount(), frame.plainLength(), plainSize);
-                plainDigest.update(plaintext);
-                plainBytes = Math.addExact(plainBytes, plaintext.length);
+                FrameSlot slot = freeSlots.isEmpty() ? allocate(allocatedSlots, framePlainSize) : freeSlots.poll();
+                readFully(input, slot.cipher, frame.cipherLength());
+                cipherDigest.update(slot.cipher, 0, frame.cipherLength());
+                slot.frameIndex = frameIndex;
+                slot.plainLength = frame.plainLength();
+                slot.cipherLength = frame.cipherLength();
+                VerifyFrameTask task = new VerifyFrameTask(
+                        slot, prk, parsed.fileNonce(), chunkIndex, chunkCount, frameCount, plainSize, aborted);
+                inFlight.add(parallel ? frameExecutor.submit(task) : CompletableFuture.completedFuture(task.call()));
+            }
+            while (!inFlight.isEmpty()) {
+                FrameSlot done = awaitFrame(inFlight.poll());
+                plainDigest.update(done.plain, 0, done.plainLength);
+                plainBytes = Math.addExact(plainBytes, done.plainLength);
             }
             if (plainBytes != plainSize || input.read() != -1) {
                 throw new IOException("framed object has truncated or trailing bytes");
             }
-        } catch (SecurityException e) {
-            throw new IOException("framed frame authentication failed", e);
+        } finally {
+            abortAndAwait(aborted, inFlight);
+            destroy(allocatedSlots);
         }
         return new WriteResult(
-                Files.size(encryptedPath) == 0 ? 0 : readPlainSize(encryptedPath),
+                plainSize,
                 Files.size(encryptedPath),
-                countFrames(encryptedPath),
+                frameCount,
                 HASH_PREFIX + HexFormat.of().formatHex(plainDigest.digest()),
                 HASH_PREFIX + HexFormat.of().formatHex(cipherDigest.digest()));
     }
@@ -187,54 +411,112 @@ public class FramedAeadWriter {
         return Base64.getUrlEncoder().withoutPadding().encodeToString(fileNonce);
     }
 
-    private byte[] encryptFrame(
-            byte[] plain,
-            int plainLength,
-            byte[] fileDek,
-            byte[] fileNonce,
-            int chunkIndex,
-            int chunkCount,
-            int frameIndex,
-            int frameCount,
-            long chunkPlainSize
-    ) throws IOException {
-        try {
-            byte[] nonce = FramedAeadCrypto.deriveFrameNonce(fileDek, fileNonce, chunkIndex, frameIndex);
-            byte[] key = FramedAeadCrypto.deriveFrameKey(fileDek, fileNonce, chunkIndex, frameIndex);
-            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
-            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new GCMParameterSpec(128, nonce));
-            cipher.updateAAD(FramedAeadCrypto.buildAad(
-                    fileNonce, chunkIndex, chunkCount, frameIndex, frameCount, plainLength, chunkPlainSize));
-            return cipher.doFinal(plain, 0, plainLength);
-        } catch (java.security.GeneralSecurityException e) {
-            throw new IOException("framed AES-GCM encryption failed", e);
+    /**
+     * 按 frame 顺序写出 header 与密文并更新密文摘要，返回可复用的槽位。
+     */
+    private static FrameSlot writeFrame(FrameSlot slot, OutputStream output, MessageDigest cipherDigest)
+            throws IOException {
+        byte[] frameHeader = FramedAeadCrypto.buildFrameHeader(
+                slot.frameIndex, slot.plainLength, slot.cipherLength);
+        output.write(frameHeader);
+        output.write(slot.cipher, 0, slot.cipherLength);
+        cipherDigest.update(frameHeader);
+        cipherDigest.update(slot.cipher, 0, slot.cipherLength);
+        return slot;
+    }
+
+    /**
+     * 为本次调用新建一个带独立密码上下文的 frame 槽位，并登记以便结束时销毁。
+     */
+    private static FrameSlot allocate(List<FrameSlot> allocatedSlots, int framePlainSize) {
+        FrameSlot slot = new FrameSlot(framePlainSize);
+        allocatedSlots.add(slot);
+        return slot;
+    }
+
+    /**
+     * 清除本次调用全部槽位的密码上下文与明文缓冲。
+     */
+    private static void destroy(List<FrameSlot> allocatedSlots) {
+        for (FrameSlot slot : allocatedSlots) {
+            slot.context.destroy();
+            Arrays.fill(slot.plain, (byte) 0);
         }
     }
 
-    private byte[] decryptFrame(
-            byte[] ciphertext,
-            byte[] fileDek,
-            byte[] fileNonce,
-            int chunkIndex,
-            int chunkCount,
-            int frameIndex,
-            int frameCount,
-            int plainLength,
-            long chunkPlainSize
-    ) throws IOException {
+    /**
+     * 中止尚未开始的任务并等待全部已提交任务真正退出。
+     * <p>
+     * {@link Future#cancel} 不等待正在运行的任务，其后立即清零 PRK 或销毁槽位会与仍在使用它们的任务竞争；
+     * 任务在开始时检查中止标记，因此这里的等待上限是一个已开始 frame（或分片）的处理时间。
+     */
+    private static void abortAndAwait(AtomicBoolean aborted, Iterable<? extends Future<?>> pending) {
+        aborted.set(true);
+        boolean interrupted = false;
+        for (Future<?> future : pending) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static FrameSlot awaitFrame(Future<FrameSlot> future) throws IOException {
+        return await(future);
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
         try {
-            byte[] nonce = FramedAeadCrypto.deriveFrameNonce(fileDek, fileNonce, chunkIndex, frameIndex);
-            byte[] key = FramedAeadCrypto.deriveFrameKey(fileDek, fileNonce, chunkIndex, frameIndex);
-            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
-            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"), new GCMParameterSpec(128, nonce));
-            cipher.updateAAD(FramedAeadCrypto.buildAad(
-                    fileNonce, chunkIndex, chunkCount, frameIndex, frameCount, plainLength, chunkPlainSize));
-            return cipher.doFinal(ciphertext);
-        } catch (java.security.GeneralSecurityException e) {
-            throw new IOException("framed frame authentication failed", e);
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("framed AES-GCM task interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("framed AES-GCM task failed", e.getCause());
         }
     }
 
+    /**
+     * 关闭 frame 与分片验证线程池。
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (frameExecutor != null) {
+            frameExecutor.shutdownNow();
+        }
+        if (chunkExecutor != null) {
+            chunkExecutor.shutdownNow();
+        }
+    }
+
+    private static int resolveParallelism(int configured) {
+        if (configured > 0) {
+            return configured;
+        }
+        return Math.min(DEFAULT_MAX_PARALLELISM, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static ExecutorService newExecutor(int parallelism, String namePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     private void validatePathsAndKeys(
             Path plainPath,
             Path encryptedPath,
@@ -281,19 +563,112 @@ public class FramedAeadWriter {
         return value;
     }
 
-    private static long readPlainSize(Path encryptedPath) throws IOException {
-        byte[] header;
-        try (InputStream input = Files.newInputStream(encryptedPath)) {
-            header = readExact(input, FramedAeadCrypto.CHUNK_HEADER_SIZE);
+    /**
+     * 单个 frame 的明文/密文缓冲区与密码上下文，在一次调用的加密窗口内循环复用；
+     * 同一时刻只有一个 frame 任务持有槽位，因此上下文无需线程绑定。
+     */
+    private static final class FrameSlot {
+
+        private final byte[] plain;
+        private final byte[] cipher;
+        private final FrameCipherContext context = new FrameCipherContext();
+        private int frameIndex;
+        private int plainLength;
+        private int cipherLength;
+
+        private FrameSlot(int framePlainSize) {
+            this.plain = new byte[framePlainSize];
+            this.cipher = new byte[framePlainSize + FramedAeadCrypto.TAG_SIZE];
         }
-        return FramedAeadCrypto.parseChunkHeader(header).chunkPlainSize();
     }
 
-    private static int countFrames(Path encryptedPath) throws IOException {
-        // verify() 已完成完整解析；这里只返回 header 中的声明数量，避免再次分配对象。
-        try (InputStream input = Files.newInputStream(encryptedPath)) {
-            return FramedAeadCrypto.parseChunkHeader(
-                    readExact(input, FramedAeadCrypto.CHUNK_HEADER_SIZE)).frameCount();
+    /**
+     * 在槽位的 {@link FrameCipherContext} 上加密一个 frame。
+     */
+    private record FrameTask(
+            FrameSlot slot,
+            byte[] prk,
+            byte[] fileNonce,
+            int chunkIndex,
+            int chunkCount,
+            int frameCount,
+            long chunkPlainSize,
+            AtomicBoolean aborted
+    ) implements Callable<FrameSlot> {
+
+        @Override
+        public FrameSlot call() throws IOException {
+            if (aborted.get()) {
+                throw new IOException("framed AES-GCM task aborted");
+            }
+            try {
+                byte[] aad = FramedAeadCrypto.buildAad(fileNonce, chunkIndex, chunkCount,
+                        slot.frameIndex, frameCount, slot.plainLength, chunkPlainSize);
+                slot.cipherLength = slot.context.encrypt(
+                        prk, aad, chunkIndex, slot.frameIndex, slot.plain, slot.plainLength, slot.cipher);
+                return slot;
+            } catch (GeneralSecurityException e) {
+                throw new IOException("framed AES-GCM encryption failed", e);
+            }
+        }
+    }
+
+    /**
+     * 在槽位的 {@link FrameCipherContext} 上认证并解密一个 frame。
+     */
+    private record VerifyFrameTask(
+            FrameSlot slot,
+            byte[] prk,
+            byte[] fileNonce,
+            int chunkIndex,
+            int chunkCount,
+            int frameCount,
+            long chunkPlainSize,
+            AtomicBoolean aborted
+    ) implements Callable<FrameSlot> {
+
+        @Override
+        public FrameSlot call() throws IOException {
+            if (aborted.get()) {
+                throw new IOException("framed AES-GCM task aborted");
+            }
+            try {
+                byte[] aad = FramedAeadCrypto.buildAad(fileNonce, chunkIndex, chunkCount,
+                        slot.frameIndex, frameCount, slot.plainLength, chunkPlainSize);
+                int plainLength = slot.context.decrypt(
+                        prk, aad, chunkIndex, slot.frameIndex, slot.cipher, slot.cipherLength, slot.plain);
+                if (plainLength != slot.plainLength) {
+                    throw new FrameVerificationException(
+                            chunkIndex, slot.frameIndex, "framed frame length does not match header", null);
+                }
+                return slot;
+            } catch (GeneralSecurityException e) {
+                throw new FrameVerificationException(
+                        chunkIndex, slot.frameIndex, "framed frame authentication failed", e);
+            }
+        }
+    }
+
+    /**
+     * v2 对象验证失败，携带失败的分片序号与 frame 序号（非 frame 级失败时为 -1），不包含密钥材料。
+     */
+    public static final class FrameVerificationException extends IOException {
+
+        private final int chunkIndex;
+        private final int frameIndex;
+
+        public FrameVerificationException(int chunkIndex, int frameIndex, String message, Throwable cause) {
+            super(message + " (chunk=" + chunkIndex + ", frame=" + frameIndex + ")", cause);
+            this.chunkIndex = chunkIndex;
+            this.frameIndex = frameIndex;
+        }
+
+        public int getChunkIndex() {
+            return chunkIndex;
+        }
+
+        public int getFrameIndex() {
+            return frameIndex;
         }
     }
 
@@ -9,6 +9,7 @@ import cn.flying.dao.entity.Announcement;
 import cn.flying.dao.entity.AnnouncementRead;
 import cn.flying.dao.mapper.AnnouncementMapper;
 import cn.flying.dao.mapper.AnnouncementReadMapper;
+import cn.flying.dao.mapper.AnnouncementReadWatermarkMapper;
 import cn.flying.dao.mapper.TenantMapper;
 import cn.flying.dao.vo.announcement.AnnouncementCreateVO;
 import cn.flying.dao.vo.announcement.AnnouncementVO;
@@ -43,6 +44,7 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
         implements AnnouncementService {
 
     private final AnnouncementReadMapper announcementReadMapper;
+    private final AnnouncementReadWatermarkMapper announcementReadWatermarkMapper;
     private final AccountService accountService;
     private final SseEmitterManager sseEmitterManager;
     private final TenantMapper tenantMapper;
@@ -65,6 +67,7 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
         } else if (vo.getPublishTime() == null || vo.getPublishTime().before(new Date())) {
             announcement.setStatus(AnnouncementStatus.PUBLISHED.getCode());
             announcement.setPublishTime(new Date());
+            assignPublishSeq(announcement);
         } else {
             announcement.setStatus(AnnouncementStatus.DRAFT.getCode());
         }
@@ -101,6 +104,7 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
             if (announcement.getPublishTime() == null) {
                 announcement.setPublishTime(new Date());
             }
+            assignPublishSeq(announcement);
         }
 
         this.updateById(announcement);
@@ -116,8 +120,10 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
                 .orderByDesc(Announcement::getPublishTime);
 
         IPage<Announcement> announcementPage = this.page(page, wrapper);
+        long lastReadSeq = selectLastReadSeq(userId);
         Set<Long> readIds = announcementReadMapper.selectReadAnnouncementIds(userId);
-        return announcementPage.convert(announcement -> convertToVO(announcement, readIds.contains(announcement.getId())));
+        return announcementPage.convert(announcement ->
+                convertToVO(announcement, isRead(announcement, lastReadSeq, readIds)));
     }
 
     @Override
@@ -138,12 +144,12 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
 
         boolean isRead = false;
         if (userId != null) {
-            Long count = announcementReadMapper.selectCount(
-                    new LambdaQueryWrapper<AnnouncementRead>()
-                            .eq(AnnouncementRead::getAnnouncementId, announcementId)
-                            .eq(AnnouncementRead::getUserId, userId)
-            );
-            isRead = count > 0;
+            isRead = isCoveredByWatermark(announcement, selectLastReadSeq(userId))
+                    || announcementReadMapper.selectCount(
+                            new LambdaQueryWrapper<AnnouncementRead>()
+                                    .eq(AnnouncementRead::getAnnouncementId, announcementId)
+                                    .eq(AnnouncementRead::getUserId, userId)
+                    ) > 0;
         }
 
         return convertToVO(announcement, isRead);
@@ -157,6 +163,12 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
     @Override
     @Transactional
     public void markAsRead(Long userId, Long announcementId) {
+        Announcement announcement = getById(announcementId);
+        if (announcement != null && isCoveredByWatermark(announcement, selectLastReadSeq(userId))) {
+            return;
+        }
+
+        // 水位以上的公告单独记录为例外
         Long count = announcementReadMapper.selectCount(
                 new LambdaQueryWrapper<AnnouncementRead>()
                         .eq(AnnouncementRead::getAnnouncementId, announcementId)
@@ -174,25 +186,23 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
 
     @Override
     @Transactional
-    public void markAllAsRead(Long userId) {
-        Set<Long> readIds = announcementReadMapper.selectReadAnnouncementIds(userId);
-
-        List<Announcement> unreadAnnouncements = this.list(
-                new LambdaQueryWrapper<Announcement>()
-                        .eq(Announcement::getStatus, AnnouncementStatus.PUBLISHED.getCode())
-                        .notIn(!readIds.isEmpty(), Announcement::getId, readIds)
-        );
-
-        Date now = new Date();
-        for (Announcement announcement : unreadAnnouncements) {
-            AnnouncementRead read = new AnnouncementRead()
-                    .setAnnouncementId(announcement.getId())
-                    .setUserId(userId)
-                    .setReadTime(now);
-            announcementReadMapper.insert(read);
+    public void markAllAsRead(Long userId, Long throughSeq) {
+        // 水位推进到用户已加载的最大发布序号，语句数与公告数量无关
+        Long maxPublishSeq = baseMapper.selectMaxPublishSeq();
+        if (maxPublishSeq == null) {
+            return;
+        }
+        // 加载列表之后才发布的公告不在用户看到的快照内，不能被一并标记为已读
+        long watermark = throughSeq != null ? Math.min(throughSeq, maxPublishSeq) : maxPublishSeq;
+        if (watermark <= 0) {
+            return;
         }
 
-        log.info("用户 {} 已将 {} 条公告标记为已读", userId, unreadAnnouncements.size());
+        Long tenantId = TenantContext.requireTenantId();
+        announcementReadWatermarkMapper.advance(userId, tenantId, watermark);
+        int pruned = announcementReadMapper.deleteCoveredByWatermark(userId, tenantId, watermark);
+
+        log.info("用户 {} 已将公告标记为全部已读: 水位={}, 清理例外记录={}", userId, watermark, pruned);
     }
 
     @Override
@@ -214,6 +224,7 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
                             List<Announcement> scheduledAnnouncements = baseMapper.selectScheduledAnnouncements(now);
                             for (Announcement announcement : scheduledAnnouncements) {
                                 announcement.setStatus(AnnouncementStatus.PUBLISHED.getCode());
+                                assignPublishSeq(announcement);
                                 this.updateById(announcement);
                                 log.info("定时公告已发布: tenantId={}, id={}, title={}", tenantId, announcement.getId(), announcement.getTitle());
                                 published.add(announcement);
@@ -267,15 +278,45 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
 
         List<Announcement> announcements = this.list(wrapper);
 
+        long lastReadSeq = userId != null ? selectLastReadSeq(userId) : 0L;
         Set<Long> readIds = userId != null
                 ? announcementReadMapper.selectReadAnnouncementIds(userId)
                 : Set.of();
 
         return announcements.stream()
-                .map(announcement -> convertToVO(announcement, readIds.contains(announcement.getId())))
+                .map(announcement -> convertToVO(announcement, isRead(announcement, lastReadSeq, readIds)))
                 .toList();
     }
 
+    /**
+     * 首次进入已发布状态时分配发布序号，须在发布事务内调用。
+     * 序号取自租户序号行，行锁持有到事务提交，并发发布按分配顺序提交，
+     * 已读水位之下不会再出现晚提交的序号；重新发布的公告沿用原序号，保持已读状态。
+     */
+    private void assignPublishSeq(Announcement announcement) {
+        if (announcement.getPublishSeq() != null) {
+            return;
+        }
+        Long tenantId = TenantContext.requireTenantId();
+        baseMapper.lockPublishSeqRow(tenantId);
+        long publishSeq = baseMapper.selectPublishSeqForUpdate(tenantId) + 1;
+        baseMapper.updatePublishSeq(tenantId, publishSeq);
+        announcement.setPublishSeq(publishSeq);
+    }
+
+    private long selectLastReadSeq(Long userId) {
+        Long lastReadSeq = announcementReadWatermarkMapper.selectLastReadSeq(userId);
+        return lastReadSeq != null ? lastReadSeq : 0L;
+    }
+
+    private static boolean isCoveredByWatermark(Announcement announcement, long lastReadSeq) {
+        return announcement.getPublishSeq() != null && announcement.getPublishSeq() <= lastReadSeq;
+    }
+
+    private static boolean isRead(Announcement announcement, long lastReadSeq, Set<Long> readIds) {
+        return isCoveredByWatermark(announcement, lastReadSeq) || readIds.contains(announcement.getId());
+    }
+
     private AnnouncementVO convertToVO(Announcement announcement, Boolean isRead) {
         AnnouncementVO vo = new AnnouncementVO()
                 .setId(IdUtils.toExternalId(announcement.getId()))
@@ -287,6 +328,7 @@ public class AnnouncementServiceImpl extends ServiceImpl<AnnouncementMapper, Ann
                 .setExpireTime(announcement.getExpireTime())
                 .setStatusWithDesc(announcement.getStatus())
                 .setPublisherId(IdUtils.toExternalId(announcement.getPublisherId()))
+                .setPublishSeq(announcement.getPublishSeq())
                 .setCreateTime(announcement.getCreateTime())
                 .setRead(isRead);
 
@@ -26,6 +26,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -57,7 +62,9 @@ public class ConversationServiceImpl extends ServiceImpl<ConversationMapper, Con
                 .setParticipantA(participantA)
                 .setParticipantB(participantB)
                 .setParticipantADeleted(0)
-                .setParticipantBDeleted(0);
+                .setParticipantBDeleted(0)
+                .setParticipantAUnread(0)
+                .setParticipantBUnread(0);
 
         this.save(conversation);
         log.info("创建新会话: id={}, participantA={}, participantB={}", conversation.getId(), participantA, participantB);
@@ -77,7 +84,8 @@ public class ConversationServiceImpl extends ServiceImpl<ConversationMapper, Con
                 .orderByDesc(Conversation::getLastMessageAt);
 
         IPage<Conversation> conversationPage = this.page(page, wrapper);
-        return conversationPage.convert(conversation -> convertToVO(conversation, userId));
+        PageLookups lookups = loadPageLookups(conversationPage.getRecords(), userId);
+        return conversationPage.convert(conversation -> convertToVO(conversation, userId, lookups));
     }
 
     @Override
@@ -141,29 +149,83 @@ public class ConversationServiceImpl extends ServiceImpl<ConversationMapper, Con
         }
     }
 
+    /**
+     * 批量加载会话列表所需数据：对方账号、最后一条消息各一次查询，与页大小无关；未读数直接取自会话行。
+     *
+     * @param conversations 当前页会话
+     * @param currentUserId 当前用户ID
+     * @return 按ID索引的查询结果
+     */
+    private PageLookups loadPageLookups(List<Conversation> conversations, Long currentUserId) {
+        if (conversations.isEmpty()) {
+            return new PageLookups(Map.of(), Map.of());
+        }
+
+        Set<Long> otherUserIds = new LinkedHashSet<>();
+        Set<Long> lastMessageIds = new LinkedHashSet<>();
+        for (Conversation conversation : conversations) {
+            otherUserIds.add(conversation.getOtherParticipant(currentUserId));
+            if (conversation.getLastMessageId() != null) {
+                lastMessageIds.add(conversation.getLastMessageId());
+            }
+        }
+
+        Map<Long, Account> otherUsers = accountService.findAccountsByIds(otherUserIds);
+        Map<Long, Message> lastMessages = lastMessageIds.isEmpty()
+                ? Map.of()
+                : messageMapper.selectBatchIds(lastMessageIds).stream()
+                .collect(Collectors.toMap(Message::getId, message -> message, (first, second) -> first));
+        return new PageLookups(otherUsers, lastMessages);
+    }
+
+    private ConversationVO convertToVO(Conversation conversation, Long currentUserId, PageLookups lookups) {
+        Long otherUserId = conversation.getOtherParticipant(currentUserId);
+        Long lastMessageId = conversation.getLastMessageId();
+        return buildVO(conversation, otherUserId,
+                lookups.otherUsers().get(otherUserId),
+                conversation.getUnreadCountFor(currentUserId),
+                lastMessageId == null ? null : lookups.lastMessages().get(lastMessageId));
+    }
+
     private ConversationVO convertToVO(Conversation conversation, Long currentUserId) {
         Long otherUserId = conversation.getOtherParticipant(currentUserId);
         Account otherUser = accountService.findAccountById(otherUserId);
+        Message lastMessage = conversation.getLastMessageId() == null
+                ? null
+                : messageMapper.selectById(conversation.getLastMessageId());
+        return buildVO(conversation, otherUserId, otherUser, conversation.getUnreadCountFor(currentUserId), lastMessage);
+    }
 
+    private ConversationVO buildVO(Conversation conversation, Long otherUserId, Account otherUser,
+                                   int unreadCount, Message lastMessage) {
         ConversationVO vo = new ConversationVO()
                 .setId(IdUtils.toExternalId(conversation.getId()))
                 .setOtherUserId(IdUtils.toExternalId(otherUserId))
                 .setLastMessageTime(conversation.getLastMessageAt())
-                .setUnreadCount(messageService.getUnreadCountInConversation(conversation.getId(), currentUserId));
+                .setUnreadCount(unreadCount);
 
         if (otherUser != null) {
             vo.setOtherUsername(otherUser.getUsername())
                     .setOtherAvatar(otherUser.getAvatar());
         }
 
-        if (conversation.getLastMessageId() != null) {
-            Message lastMessage = messageMapper.selectById(conversation.getLastMessageId());
-            if (lastMessage != null) {
-                vo.setLastMessageContent(lastMessage.getContent())
-                        .setLastMessageType(lastMessage.getContentType());
-            }
+        if (lastMessage != null) {
+            vo.setLastMessageContent(lastMessage.getContent())
+                    .setLastMessageType(lastMessage.getContentType());
         }
 
         return vo;
     }
+
+    /**
+     * 会话列表单页的批量查询结果。
+     *
+     * @param otherUsers 对方用户ID -> 账号
+     * @param lastMessages 消息ID -> 最后一条消息
+     */
+    private record PageLookups(
+            Map<Long, Account> otherUsers,
+            Map<Long, Message> lastMessages
+    ) {
+    }
 }
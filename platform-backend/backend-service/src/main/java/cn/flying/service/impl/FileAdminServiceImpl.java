@@ -6,6 +6,7 @@ import cn.flying.common.exception.GeneralException;
 import cn.flying.common.tenant.TenantContext;
 import cn.flying.common.util.IdUtils;
 import cn.flying.common.util.JsonConverter;
+import cn.flying.common.util.KeysetCursor;
 import cn.flying.common.util.SecurityUtils;
 import cn.flying.dao.dto.Account;
 import cn.flying.dao.dto.File;
@@ -17,6 +18,7 @@ import cn.flying.dao.mapper.FileMapper;
 import cn.flying.dao.mapper.FileShareMapper;
 import cn.flying.dao.mapper.FileSourceMapper;
 import cn.flying.dao.mapper.ShareAccessLogMapper;
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.admin.AdminFileDetailVO;
 import cn.flying.dao.vo.admin.AdminFileQueryParam;
 import cn.flying.dao.vo.admin.AdminFileVO;
@@ -31,6 +33,7 @@ import cn.flying.service.key.KeyEnvelopeRotationResult;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
@@ -43,6 +46,7 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * 管理员文件审计服务实现
@@ -69,7 +73,40 @@ public class FileAdminServiceImpl implements FileAdminService {
     @Override
     public IPage<AdminFileVO> getAllFiles(AdminFileQueryParam param, Page<?> page) {
         Long tenantId = TenantContext.getTenantId();
+        LambdaQueryWrapper<File> wrapper = buildAdminFileWrapper(param, tenantId);
 
+        // 分页查询
+        Page<File> filePage = new Page<>(page.getCurrent(), page.getSize());
+        IPage<File> result = fileMapper.selectPage(filePage, wrapper);
+
+        return result.convert(adminFileConverter(result.getRecords(), tenantId));
+    }
+
+    @Override
+    public CursorPageVO<AdminFileVO> getAllFilesByCursor(AdminFileQueryParam param, String cursor, Integer limit) {
+        Long tenantId = TenantContext.getTenantId();
+        int pageLimit = KeysetCursor.normalizeLimit(limit);
+        LambdaQueryWrapper<File> wrapper = buildAdminFileWrapper(param, tenantId)
+                .orderByDesc(File::getId);
+        applyKeyset(wrapper, File::getCreateTime, File::getId, KeysetCursor.decode(cursor));
+        wrapper.last("LIMIT " + (pageLimit + 1));
+
+        List<File> rows = fileMapper.selectList(wrapper);
+        List<File> files = rows.size() > pageLimit ? rows.subList(0, pageLimit) : rows;
+        String nextCursor = rows.size() > pageLimit
+                ? KeysetCursor.of(files.getLast().getCreateTime(), files.getLast().getId()).encode()
+                : null;
+        return new CursorPageVO<>(files.stream().map(adminFileConverter(files, tenantId)).toList(), nextCursor);
+    }
+
+    /**
+     * 构建管理员文件列表查询条件，按创建时间倒序。
+     *
+     * @param param    查询参数
+     * @param tenantId 当前租户 ID
+     * @return 查询条件
+     */
+    private LambdaQueryWrapper<File> buildAdminFileWrapper(AdminFileQueryParam param, Long tenantId) {
         LambdaQueryWrapper<File> wrapper = new LambdaQueryWrapper<File>()
                 .eq(File::getTenantId, tenantId)
                 .eq(File::getIsLatest, 1)
@@ -105,15 +142,21 @@ public class FileAdminServiceImpl implements FileAdminService {
         Date endTime = parseAdminQueryTime(param.getEndTime(), "endTime");
         applyCreateTimeRange(wrapper, startTime, endTime);
 
-        // 分页查询
-        Page<File> filePage = new Page<>(page.getCurrent(), page.getSize());
-        IPage<File> result = fileMapper.selectPage(filePage, wrapper);
+        return wrapper;
+    }
 
+    /**
+     * 批量预加载当前页文件的原始文件和来源记录，返回逐条转换函数，避免 N+1 查询。
+     *
+     * @param files    当前页文件
+     * @param tenantId 当前租户 ID
+     * @return 文件 VO 转换函数
+     */
+    private Function<File, AdminFileVO> adminFileConverter(List<File> files, Long tenantId) {
         // 批量获取用户名
         Map<Long, String> userNameCache = new HashMap<>();
 
-        // 批量预加载原始文件和来源记录，避免 N+1 查询
-        List<File> files = result.getRecords();
+        // 批量预加载原始文件和来源记录
         List<Long> originIds = files.stream()
                 .map(File::getOrigin)
                 .filter(Objects::nonNull)
@@ -138,7 +181,7 @@ public class FileAdminServiceImpl implements FileAdminService {
             fileSourceMapper.selectList(sourceWrapper).forEach(s -> fileSourceMap.put(s.getFileId(), s));
         }
 
-        return result.convert(file -> convertToAdminFileVO(file, userNameCache, originFileMap, fileSourceMap));
+        return file -> convertToAdminFileVO(file, userNameCache, originFileMap, fileSourceMap);
     }
 
     @Override
@@ -296,7 +339,40 @@ public class FileAdminServiceImpl implements FileAdminService {
     @Override
     public IPage<AdminShareVO> getAllShares(AdminShareQueryParam param, Page<?> page) {
         Long tenantId = TenantContext.getTenantId();
+        LambdaQueryWrapper<FileShare> wrapper = buildAdminShareWrapper(param, tenantId);
 
+        // 分页查询
+        Page<FileShare> sharePage = new Page<>(page.getCurrent(), page.getSize());
+        IPage<FileShare> result = fileShareMapper.selectPage(sharePage, wrapper);
+
+        return result.convert(adminShareConverter(result.getRecords(), tenantId));
+    }
+
+    @Override
+    public CursorPageVO<AdminShareVO> getAllSharesByCursor(AdminShareQueryParam param, String cursor, Integer limit) {
+        Long tenantId = TenantContext.getTenantId();
+        int pageLimit = KeysetCursor.normalizeLimit(limit);
+        LambdaQueryWrapper<FileShare> wrapper = buildAdminShareWrapper(param, tenantId)
+                .orderByDesc(FileShare::getId);
+        applyKeyset(wrapper, FileShare::getCreateTime, FileShare::getId, KeysetCursor.decode(cursor));
+        wrapper.last("LIMIT " + (pageLimit + 1));
+
+        List<FileShare> rows = fileShareMapper.selectList(wrapper);
+        List<FileShare> shares = rows.size() > pageLimit ? rows.subList(0, pageLimit) : rows;
+        String nextCursor = rows.size() > pageLimit
+                ? KeysetCursor.of(shares.getLast().getCreateTime(), shares.getLast().getId()).encode()
+                : null;
+        return new CursorPageVO<>(shares.stream().map(adminShareConverter(shares, tenantId)).toList(), nextCursor);
+    }
+
+    /**
+     * 构建管理员分享列表查询条件，按创建时间倒序。
+     *
+     * @param param    查询参数
+     * @param tenantId 当前租户 ID
+     * @return 查询条件
+     */
+    private LambdaQueryWrapper<FileShare> buildAdminShareWrapper(AdminShareQueryParam param, Long tenantId) {
         LambdaQueryWrapper<FileShare> wrapper = new LambdaQueryWrapper<FileShare>()
                 .eq(FileShare::getTenantId, tenantId)
                 .orderByDesc(FileShare::getCreateTime);
@@ -326,15 +402,22 @@ public class FileAdminServiceImpl implements FileAdminService {
         Date endTime = parseAdminQueryTime(param.getEndTime(), "endTime");
         applyShareCreateTimeRange(wrapper, startTime, endTime);
 
-        // 分页查询
-        Page<FileShare> sharePage = new Page<>(page.getCurrent(), page.getSize());
-        IPage<FileShare> result = fileShareMapper.selectPage(sharePage, wrapper);
+        return wrapper;
+    }
 
+    /**
+     * 批量查询当前页分享的访问统计，返回逐条转换函数，避免 N+1 查询。
+     *
+     * @param shares   当前页分享
+     * @param tenantId 当前租户 ID
+     * @return 分享 VO 转换函数
+     */
+    private Function<FileShare, AdminShareVO> adminShareConverter(List<FileShare> shares, Long tenantId) {
         // 批量获取用户名
         Map<Long, String> userNameCache = new HashMap<>();
 
         // 批量查询访问统计，避免 N+1 查询
-        List<String> shareCodes = result.getRecords().stream()
+        List<String> shareCodes = shares.stream()
                 .map(FileShare::getShareCode)
                 .toList();
         Map<String, Map<Integer, Long>> statsMap = new HashMap<>();
@@ -370,7 +453,7 @@ public class FileAdminServiceImpl implements FileAdminService {
             }
         }
 
-        return result.convert(share -> convertToAdminShareVO(share, userNameCache, statsMap, uniqueActorsMap));
+        return share -> convertToAdminShareVO(share, userNameCache, statsMap, uniqueActorsMap);
     }
 
     @Override
@@ -491,6 +574,25 @@ public class FileAdminServiceImpl implements FileAdminService {
         }
     }
 
+    /**
+     * 追加 (创建时间, ID) 倒序 keyset 条件，游标为空时不追加。
+     *
+     * @param wrapper  查询条件
+     * @param timeCol  时间列
+     * @param idCol    ID 列
+     * @param cursor   上一页游标
+     * @param <T>      实体类型
+     */
+    private <T> void applyKeyset(LambdaQueryWrapper<T> wrapper, SFunction<T, Date> timeCol,
+                                 SFunction<T, Long> idCol, KeysetCursor cursor) {
+        if (cursor == null) {
+            return;
+        }
+        Date time = cursor.date();
+        wrapper.and(w -> w.lt(timeCol, time)
+                .or(o -> o.eq(timeCol, time).lt(idCol, cursor.id())));
+    }
+
     /**
      * 为文件查询追加创建时间范围条件。
      *
@@ -4391,6 +4391,7 @@ public class FileUploadServiceImpl implements FileUploadService {
 
     /**
      * 在发布存储事件前重新认证全部 v2 对象，确保恢复/重试不会绕过 frame 标签校验。
+     * 分片与分片内 frame 在有界线程池上并行认证，首个失败即中止并报告分片与 frame 序号。
      *
      * @param suid 用户隔离目录标识
      * @param state 上传会话状态
@@ -4403,15 +4404,23 @@ public class FileUploadServiceImpl implements FileUploadService {
         if (fileDek == null || fileNonce == null || framePlainSize == null) {
             throw new IOException("framed v2 加密检查点不完整");
         }
+        List<Path> processedPaths = new ArrayList<>(state.getTotalChunks());
         for (int index = 0; index < state.getTotalChunks(); index++) {
-            Path processedPath = getChunkProcessedPath(suid, state.getClientId(), index);
-            FramedAeadWriter.WriteResult result = framedAeadWriter.verify(
-                    processedPath,
-                    fileDek,
-                    fileNonce,
-                    index,
-                    state.getTotalChunks(),
-                    framePlainSize);
+            processedPaths.add(getChunkProcessedPath(suid, state.getClientId(), index));
+        }
+        List<FramedAeadWriter.WriteResult> results;
+        try {
+            results = framedAeadWriter.verifyChunks(processedPaths, fileDek, fileNonce, framePlainSize);
+        } catch (FramedAeadWriter.FrameVerificationException e) {
+            log.error("framed v2 分片认证失败: 客户端ID={}, 分片={}, frame={}",
+                    state.getClientId(), e.getChunkIndex(), e.getFrameIndex());
+            throw e;
+        }
+        if (results.size() != state.getTotalChunks()) {
+            throw new IOException("framed v2 分片认证结果数量与上传状态不一致");
+        }
+        for (int index = 0; index < results.size(); index++) {
+            FramedAeadWriter.WriteResult result = results.get(index);
             long expectedPlainSize = expectedChunkSize(state, index);
             String expectedPlainHash = canonicalSha256FromBase64Url(
                     requirePlainChunkHash(state, index));
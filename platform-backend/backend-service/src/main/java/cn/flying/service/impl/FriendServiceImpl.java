@@ -4,6 +4,7 @@ import cn.flying.common.constant.ResultEnum;
 import cn.flying.common.exception.GeneralException;
 import cn.flying.common.tenant.TenantContext;
 import cn.flying.common.util.IdUtils;
+import cn.flying.common.util.SqlUtils;
 import cn.flying.dao.dto.Account;
 import cn.flying.dao.entity.FriendRequest;
 import cn.flying.dao.entity.Friendship;
@@ -35,6 +36,10 @@ import java.util.*;
 public class FriendServiceImpl extends ServiceImpl<FriendshipMapper, Friendship>
         implements FriendService {
 
+    private static final int SEARCH_LIMIT = 20;
+    /** 子串匹配无法走索引，只为足够长的关键字补齐，避免一两个字符的输入触发全租户扫描 */
+    private static final int SUBSTRING_SEARCH_MIN_LENGTH = 3;
+
     private final FriendRequestMapper friendRequestMapper;
     private final AccountService accountService;
     private final SseEmitterManager sseEmitterManager;
@@ -272,21 +277,33 @@ public class FriendServiceImpl extends ServiceImpl<FriendshipMapper, Friendship>
             return Collections.emptyList();
         }
 
-        // 搜索用户（排除自己）
-        LambdaQueryWrapper<Account> wrapper = new LambdaQueryWrapper<Account>()
-                .ne(Account::getId, userId)
-                .and(q -> q.like(Account::getUsername, keyword)
-                        .or()
-                        .like(Account::getNickname, keyword))
-                .last("LIMIT 20");
+        // 只按用户名和昵称搜索，不匹配邮箱，避免逐字符试探枚举其他用户的邮箱
+        String trimmed = keyword.trim();
+        String pattern = SqlUtils.escapeLikeParameter(trimmed);
+        // 先走 (tenant_id, 列) 索引的前缀匹配，按名称开头搜索时一次即可填满结果
+        List<Account> accounts = new ArrayList<>(
+                accountService.list(nameSearchWrapper(userId, pattern, true, List.of(), SEARCH_LIMIT)));
+        // 关键字足够长且不足一页时以子串匹配补齐，保持 "emo" 能搜到 "demo"；已命中的账号排在前面且不重复返回
+        if (accounts.size() < SEARCH_LIMIT
+                && trimmed.codePointCount(0, trimmed.length()) >= SUBSTRING_SEARCH_MIN_LENGTH) {
+            List<Long> prefixIds = accounts.stream().map(Account::getId).toList();
+            accounts.addAll(accountService.list(
+                    nameSearchWrapper(userId, pattern, false, prefixIds, SEARCH_LIMIT - accounts.size())));
+        }
+        if (accounts.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        List<Account> accounts = accountService.list(wrapper);
+        // 好友关系与待处理请求各用一次 IN 查询批量解析，不随结果行数增加往返
         Long tenantId = TenantContext.getTenantId();
+        List<Long> accountIds = accounts.stream().map(Account::getId).toList();
+        Set<Long> friendIds = new HashSet<>(baseMapper.selectFriendIdsAmong(userId, accountIds, tenantId));
+        Set<Long> pendingIds = new HashSet<>(friendRequestMapper.selectPendingCounterpartIds(userId, accountIds, tenantId));
 
         return accounts.stream().map(account -> {
             Long accountId = account.getId();
-            boolean isFriend = areFriends(userId, accountId);
-            boolean hasPending = !isFriend && friendRequestMapper.countPendingBetween(userId, accountId, tenantId) > 0;
+            boolean isFriend = friendIds.contains(accountId);
+            boolean hasPending = !isFriend && pendingIds.contains(accountId);
 
             return new UserSearchVO()
                     .setId(IdUtils.toExternalId(accountId))
@@ -298,6 +315,27 @@ public class FriendServiceImpl extends ServiceImpl<FriendshipMapper, Friendship>
         }).toList();
     }
 
+    /**
+     * 构造按用户名或昵称搜索账号的条件，排除自己和已命中的账号。
+     *
+     * @param pattern    已转义 LIKE 通配符的关键字
+     * @param prefixOnly true 时只做前缀匹配，false 时做子串匹配
+     */
+    private static LambdaQueryWrapper<Account> nameSearchWrapper(Long userId, String pattern, boolean prefixOnly,
+                                                                 Collection<Long> excludedIds, int limit) {
+        return new LambdaQueryWrapper<Account>()
+                .ne(Account::getId, userId)
+                .notIn(!excludedIds.isEmpty(), Account::getId, excludedIds)
+                .and(q -> {
+                    if (prefixOnly) {
+                        q.likeRight(Account::getUsername, pattern).or().likeRight(Account::getNickname, pattern);
+                    } else {
+                        q.like(Account::getUsername, pattern).or().like(Account::getNickname, pattern);
+                    }
+                })
+                .last("LIMIT " + limit);
+    }
+
     private FriendRequestDetailVO convertRequestToVO(FriendRequest request, boolean isReceived) {
         Account requester = accountService.findAccountById(request.getRequesterId());
         Account addressee = accountService.findAccountById(request.getAddresseeId());
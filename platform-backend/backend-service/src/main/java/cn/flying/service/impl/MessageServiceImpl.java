@@ -7,6 +7,7 @@ import cn.flying.common.util.IdUtils;
 import cn.flying.dao.dto.Account;
 import cn.flying.dao.entity.Conversation;
 import cn.flying.dao.entity.Message;
+import cn.flying.dao.mapper.ConversationMapper;
 import cn.flying.dao.mapper.MessageMapper;
 import cn.flying.dao.vo.message.MessageVO;
 import cn.flying.dao.vo.message.SendMessageVO;
@@ -38,6 +39,7 @@ public class MessageServiceImpl extends ServiceImpl<MessageMapper, Message>
 
     @Lazy
     private final ConversationService conversationService;
+    private final ConversationMapper conversationMapper;
     private final AccountService accountService;
     @Lazy
     private final FriendService friendService;
@@ -72,6 +74,8 @@ public class MessageServiceImpl extends ServiceImpl<MessageMapper, Message>
                 .setContentType(vo.getContentType() != null ? vo.getContentType() : "text")
                 .setIsRead(0);
 
+        // 先递增计数以锁定会话行，再写消息，与标记已读、计数校准保持相同的加锁顺序
+        conversationMapper.incrementUnread(conversation.getId(), receiverId, TenantContext.getTenantId());
         this.save(message);
         conversationService.updateLastMessage(conversation.getId(), message.getId());
 
@@ -115,6 +119,8 @@ public class MessageServiceImpl extends ServiceImpl<MessageMapper, Message>
             throw new GeneralException(ResultEnum.CONVERSATION_NOT_FOUND);
         }
 
+        // 先清零计数以锁定会话行，期间并发发送的消息会在本事务提交后重新计入
+        conversationMapper.resetUnread(conversationId, userId, TenantContext.getTenantId());
         int updated = baseMapper.markConversationAsRead(conversationId, userId, new Date(), TenantContext.getTenantId());
         if (updated > 0) {
             log.info("标记 {} 条消息为已读, conversationId={}, userId={}", updated, conversationId, userId);
@@ -123,12 +129,13 @@ public class MessageServiceImpl extends ServiceImpl<MessageMapper, Message>
 
     @Override
     public int getTotalUnreadCount(Long userId) {
-        return baseMapper.countUnreadMessages(userId, TenantContext.getTenantId());
+        return conversationMapper.sumUnreadMessages(userId, TenantContext.getTenantId());
     }
 
     @Override
     public int getUnreadCountInConversation(Long conversationId, Long userId) {
-        return baseMapper.countUnreadInConversation(conversationId, userId, TenantContext.getTenantId());
+        Integer unread = conversationMapper.selectUnreadCount(conversationId, userId, TenantContext.getTenantId());
+        return unread == null ? 0 : unread;
     }
 
     private MessageVO convertToVO(Message message, Long currentUserId) {
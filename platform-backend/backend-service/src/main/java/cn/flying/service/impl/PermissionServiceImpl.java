@@ -2,16 +2,14 @@ package cn.flying.service.impl;
 
 import cn.flying.common.constant.ResultEnum;
 import cn.flying.common.exception.GeneralException;
-import cn.flying.common.util.CacheUtils;
-import cn.flying.common.util.Const;
 import cn.flying.common.util.IdUtils;
 import cn.flying.common.util.SecurityUtils;
-import cn.flying.common.util.TenantKeyUtils;
 import cn.flying.dao.entity.SysPermission;
 import cn.flying.dao.entity.SysRolePermission;
 import cn.flying.dao.mapper.SysPermissionMapper;
 import cn.flying.dao.mapper.SysRolePermissionMapper;
 import cn.flying.service.PermissionService;
+import cn.flying.service.permission.PermissionSnapshotCache;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
@@ -20,12 +18,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
 
 /**
  * 权限服务实现
- * 支持 Redis 缓存，缓存 key 格式: perm:role:{tenantId}:{role}
+ * 权限判断读取进程内权限快照 {@link PermissionSnapshotCache}，变更时按租户推进版本并广播失效
  */
 @Slf4j
 @Service
@@ -34,27 +34,11 @@ public class PermissionServiceImpl implements PermissionService {
 
     private final SysPermissionMapper permissionMapper;
     private final SysRolePermissionMapper rolePermissionMapper;
-    private final CacheUtils cacheUtils;
+    private final PermissionSnapshotCache snapshotCache;
 
     @Override
     public Set<String> getPermissionCodes(String role, Long tenantId) {
-        String cacheKey = buildCacheKey(role, tenantId);
-
-        // 尝试从缓存获取
-        Set<String> cached = getCachedPermissions(cacheKey);
-        if (cached != null) {
-            return cached;
-        }
-
-        // 从数据库查询
-        Set<String> permissions = permissionMapper.selectPermissionCodesByRole(role, tenantId);
-        if (permissions == null) {
-            permissions = new HashSet<>();
-        }
-
-        // 存入缓存
-        cacheUtils.saveToCache(cacheKey, permissions, Const.PERMISSION_CACHE_TTL);
-        return permissions;
+        return snapshotCache.matrix(tenantId).codesOf(role);
     }
 
     @Override
@@ -62,43 +46,12 @@ public class PermissionServiceImpl implements PermissionService {
         if (roles == null || roles.isEmpty()) {
             return new HashSet<>();
         }
-
-        Set<String> allPermissions = new HashSet<>();
-        List<String> uncachedRoles = new ArrayList<>();
-
-        // 尝试从缓存获取每个角色的权限
-        for (String role : roles) {
-            String cacheKey = buildCacheKey(role, tenantId);
-            Set<String> cached = getCachedPermissions(cacheKey);
-            if (cached != null) {
-                allPermissions.addAll(cached);
-            } else {
-                uncachedRoles.add(role);
-            }
-        }
-
-        // 对未缓存的角色批量查询
-        if (!uncachedRoles.isEmpty()) {
-            Set<String> dbPermissions = permissionMapper.selectPermissionCodesByRoles(uncachedRoles, tenantId);
-            if (dbPermissions != null) {
-                allPermissions.addAll(dbPermissions);
-            }
-            // 分别缓存每个角色的权限
-            for (String role : uncachedRoles) {
-                Set<String> rolePermissions = permissionMapper.selectPermissionCodesByRole(role, tenantId);
-                String cacheKey = buildCacheKey(role, tenantId);
-                cacheUtils.saveToCache(cacheKey, rolePermissions != null ? rolePermissions : new HashSet<>(),
-                        Const.PERMISSION_CACHE_TTL);
-            }
-        }
-
-        return allPermissions;
+        return snapshotCache.matrix(tenantId).codesOf(roles);
     }
 
     @Override
     public boolean hasPermission(String role, String permissionCode, Long tenantId) {
-        Set<String> permissions = getPermissionCodes(role, tenantId);
-        return permissions.contains(permissionCode);
+        return snapshotCache.matrix(tenantId).has(role, permissionCode);
     }
 
     @Override
@@ -115,63 +68,39 @@ public class PermissionServiceImpl implements PermissionService {
 
     @Override
     public void evictCache(String role, Long tenantId) {
-        String cacheKey = buildCacheKey(role, tenantId);
-        cacheUtils.deleteCache(cacheKey);
-        log.debug("Evicted permission cache: {}", cacheKey);
+        // 快照按租户整体构建，单角色变更同样使整个租户快照失效
+        snapshotCache.invalidateTenant(tenantId);
+        log.debug("Invalidated permission snapshot for role {} in tenant {}", role, tenantId);
     }
 
     @Override
     public void evictAllCache(Long tenantId) {
-        String pattern = TenantKeyUtils.tenantKey(Const.PERMISSION_CACHE_PREFIX, tenantId) + "*";
-        cacheUtils.deleteCachePattern(pattern);
-        log.debug("Evicted all permission caches for tenant: {}", tenantId);
+        snapshotCache.invalidateTenant(tenantId);
+        log.debug("Invalidated permission snapshot for tenant: {}", tenantId);
     }
 
     /**
-     * 清除所有租户下指定角色的权限缓存。
+     * 根据变更租户范围使权限快照失效，全局租户变更影响所有租户。
+     * <p>
+     * 事务内的变更推迟到提交后再推进版本与广播：提交前失效会让并发请求按未提交前的旧数据重建快照，
+     * 并以新版本号缓存，版本校验无法再发现。回滚时不失效。
      *
-     * @param role 角色标识
-     */
-    private void evictRoleAcrossTenants(String role) {
-        String pattern = "*" + Const.PERMISSION_CACHE_PREFIX + role;
-        cacheUtils.deleteCachePattern(pattern);
-        log.debug("Evicted permission cache for role across tenants: {}", role);
-    }
-
-    /**
-     * 清除所有租户下的权限缓存。
+     * @param tenantId 变更所属租户
      */
-    private void evictAllTenantPermissionCaches() {
-        String pattern = "*" + Const.PERMISSION_CACHE_PREFIX + "*";
-        cacheUtils.deleteCachePattern(pattern);
-        log.debug("Evicted all tenant permission caches");
-    }
-
-    /**
-     * 根据变更租户范围清除权限定义缓存。
-     *
-     * @param tenantId 权限定义所属租户
-     */
-    private void evictPermissionDefinitionCaches(Long tenantId) {
-        if (isGlobalTenant(tenantId)) {
-            evictAllTenantPermissionCaches();
-            return;
-        }
-        evictAllCache(tenantId);
-    }
-
-    /**
-     * 根据变更租户范围清除角色权限映射缓存。
-     *
-     * @param role     角色标识
-     * @param tenantId 角色权限映射所属租户
-     */
-    private void evictRolePermissionCaches(String role, Long tenantId) {
-        if (isGlobalTenant(tenantId)) {
-            evictRoleAcrossTenants(role);
-            return;
+    private void invalidateSnapshots(Long tenantId) {
+        Runnable invalidation = isGlobalTenant(tenantId)
+                ? snapshotCache::invalidateAll
+                : () -> snapshotCache.invalidateTenant(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
         }
-        evictCache(role, tenantId);
     }
 
     /**
@@ -184,25 +113,6 @@ public class PermissionServiceImpl implements PermissionService {
         return Long.valueOf(0L).equals(tenantId);
     }
 
-    /**
-     * 构建缓存 key
-     */
-    private String buildCacheKey(String role, Long tenantId) {
-        return TenantKeyUtils.tenantKey(Const.PERMISSION_CACHE_PREFIX, tenantId) + role;
-    }
-
-    /**
-     * 从缓存获取权限集合
-     */
-    @SuppressWarnings("unchecked")
-    private Set<String> getCachedPermissions(String cacheKey) {
-        List<String> cached = cacheUtils.takeListFormCache(cacheKey, String.class);
-        if (cached != null) {
-            return new HashSet<>(cached);
-        }
-        return null;
-    }
-
     // ==================== 权限 CRUD 操作 ====================
 
     @Override
@@ -278,7 +188,7 @@ public class PermissionServiceImpl implements PermissionService {
 
         if (changed) {
             permissionMapper.update(null, updateWrapper);
-            evictPermissionDefinitionCaches(tenantId);
+            invalidateSnapshots(tenantId);
         }
         return permission;
     }
@@ -301,7 +211,7 @@ public class PermissionServiceImpl implements PermissionService {
         rolePermissionMapper.delete(wrapper);
 
         permissionMapper.delete(permissionScope);
-        evictPermissionDefinitionCaches(tenantId);
+        invalidateSnapshots(tenantId);
     }
 
     // ==================== 角色权限映射操作 ====================
@@ -324,7 +234,7 @@ public class PermissionServiceImpl implements PermissionService {
                 .setRole(role)
                 .setPermissionId(permission.getId());
         rolePermissionMapper.insert(mapping);
-        evictRolePermissionCaches(role, tenantId);
+        invalidateSnapshots(tenantId);
     }
 
     @Override
@@ -340,6 +250,6 @@ public class PermissionServiceImpl implements PermissionService {
                 .eq(SysRolePermission::getPermissionId, permission.getId())
                 .eq(SysRolePermission::getTenantId, tenantId);
         rolePermissionMapper.delete(wrapper);
-        evictRolePermissionCaches(role, tenantId);
+        invalidateSnapshots(tenantId);
     }
 }
@@ -3,6 +3,7 @@ package cn.flying.service.impl;
 import cn.flying.common.constant.ResultEnum;
 import cn.flying.common.exception.GeneralException;
 import cn.flying.common.tenant.TenantContext;
+import cn.flying.common.util.KeysetCursor;
 import cn.flying.dao.dto.Account;
 import cn.flying.dao.dto.File;
 import cn.flying.dao.dto.FileShare;
@@ -13,6 +14,7 @@ import cn.flying.dao.mapper.FileMapper;
 import cn.flying.dao.mapper.FileShareMapper;
 import cn.flying.dao.mapper.FileSourceMapper;
 import cn.flying.dao.mapper.ShareAccessLogMapper;
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.file.FileProvenanceVO;
 import cn.flying.dao.vo.file.FileProvenanceVO.ProvenanceNode;
 import cn.flying.dao.vo.file.ShareAccessLogVO;
@@ -156,10 +158,7 @@ public class ShareAuditServiceImpl implements ShareAuditService {
     @Override
     public IPage<ShareAccessLogVO> getShareAccessLogs(String shareCode, Page<?> page) {
         // 验证分享存在性
-        FileShare share = fileShareMapper.selectByShareCode(shareCode);
-        if (share == null) {
-            throw new GeneralException(ResultEnum.PARAM_ERROR, "分享不存在");
-        }
+        requireShare(shareCode);
 
         // 查询访问日志
         LambdaQueryWrapper<ShareAccessLog> wrapper = new LambdaQueryWrapper<ShareAccessLog>()
@@ -171,29 +170,79 @@ public class ShareAuditServiceImpl implements ShareAuditService {
 
         // 批量获取用户名
         Map<Long, String> userNameCache = new HashMap<>();
+        return result.convert(logEntry -> toShareAccessLogVO(logEntry, userNameCache));
+    }
 
-            return result.convert(logEntry -> {
-                String actorUserName = "匿名用户";
-                if (logEntry.getActorUserId() != null) {
-                    actorUserName = userNameCache.computeIfAbsent(logEntry.getActorUserId(), id -> {
-                        Account account = accountMapper.selectById(id);
-                        return account != null ? account.getUsername() : "未知用户";
-                    });
-                }
-
-            return new ShareAccessLogVO(
-                    String.valueOf(logEntry.getId()),
-                    logEntry.getShareCode(),
-                    logEntry.getActionType(),
-                    ShareAccessLogVO.getActionTypeDesc(logEntry.getActionType()),
-                    logEntry.getActorUserId() != null ? String.valueOf(logEntry.getActorUserId()) : null,
-                    actorUserName,
-                    logEntry.getActorIp(),
-                    logEntry.getFileHash(),
-                    logEntry.getFileName(),
-                    logEntry.getAccessTime()
-            );
-        });
+    @Override
+    public CursorPageVO<ShareAccessLogVO> getShareAccessLogsByCursor(String shareCode, String cursor, Integer limit) {
+        requireShare(shareCode);
+        int pageLimit = KeysetCursor.normalizeLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        LambdaQueryWrapper<ShareAccessLog> wrapper = new LambdaQueryWrapper<ShareAccessLog>()
+                .eq(ShareAccessLog::getShareCode, shareCode)
+                .orderByDesc(ShareAccessLog::getAccessTime)
+                .orderByDesc(ShareAccessLog::getId);
+        if (after != null) {
+            Date afterTime = after.date();
+            wrapper.and(w -> w.lt(ShareAccessLog::getAccessTime, afterTime)
+                    .or(o -> o.eq(ShareAccessLog::getAccessTime, afterTime)
+                            .lt(ShareAccessLog::getId, after.id())));
+        }
+        // 多取一条判断是否还有下一页，避免 COUNT 与 OFFSET
+        wrapper.last("LIMIT " + (pageLimit + 1));
+
+        List<ShareAccessLog> rows = shareAccessLogMapper.selectList(wrapper);
+        List<ShareAccessLog> logs = rows.size() > pageLimit ? rows.subList(0, pageLimit) : rows;
+        String nextCursor = rows.size() > pageLimit
+                ? KeysetCursor.of(logs.getLast().getAccessTime(), logs.getLast().getId()).encode()
+                : null;
+        Map<Long, String> userNameCache = new HashMap<>();
+        return new CursorPageVO<>(
+                logs.stream().map(logEntry -> toShareAccessLogVO(logEntry, userNameCache)).toList(),
+                nextCursor);
+    }
+
+    /**
+     * 校验分享存在。
+     *
+     * @param shareCode 分享码
+     */
+    private void requireShare(String shareCode) {
+        FileShare share = fileShareMapper.selectByShareCode(shareCode);
+        if (share == null) {
+            throw new GeneralException(ResultEnum.PARAM_ERROR, "分享不存在");
+        }
+    }
+
+    /**
+     * 将访问日志转换为展示 VO，同一批次内复用用户名查询结果。
+     *
+     * @param logEntry      访问日志
+     * @param userNameCache 用户名缓存
+     * @return 访问日志 VO
+     */
+    private ShareAccessLogVO toShareAccessLogVO(ShareAccessLog logEntry, Map<Long, String> userNameCache) {
+        String actorUserName = "匿名用户";
+        if (logEntry.getActorUserId() != null) {
+            actorUserName = userNameCache.computeIfAbsent(logEntry.getActorUserId(), id -> {
+                Account account = accountMapper.selectById(id);
+                return account != null ? account.getUsername() : "未知用户";
+            });
+        }
+
+        return new ShareAccessLogVO(
+                String.valueOf(logEntry.getId()),
+                logEntry.getShareCode(),
+                logEntry.getActionType(),
+                ShareAccessLogVO.getActionTypeDesc(logEntry.getActionType()),
+                logEntry.getActorUserId() != null ? String.valueOf(logEntry.getActorUserId()) : null,
+                actorUserName,
+                logEntry.getActorIp(),
+                logEntry.getFileHash(),
+                logEntry.getFileName(),
+                logEntry.getAccessTime()
+        );
     }
 
     @Override
@@ -4,11 +4,14 @@ import cn.flying.common.constant.ResultEnum;
 import cn.flying.common.exception.GeneralException;
 import cn.flying.common.tenant.TenantContext;
 import cn.flying.common.util.JsonConverter;
+import cn.flying.common.util.KeysetCursor;
 import cn.flying.common.util.SqlUtils;
 import cn.flying.dao.dto.SysOperationLog;
 import cn.flying.dao.mapper.SysOperationLogMapper;
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.audit.*;
 import cn.flying.service.SysAuditService;
+import cn.flying.service.audit.AuditRollupService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
@@ -24,6 +27,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * 系统审计服务实现类 - 使用MyBatis Plus
@@ -40,6 +45,7 @@ public class SysAuditServiceImpl implements SysAuditService {
     private static final int MIN_BACKUP_RETENTION_DAYS = 1;
 
     private final SysOperationLogMapper operationLogMapper;
+    private final AuditRollupService auditRollupService;
     
     @Override
     public IPage<SysOperationLog> queryOperationLogs(AuditLogQueryVO queryVO) {
@@ -57,6 +63,9 @@ public class SysAuditServiceImpl implements SysAuditService {
     
     @Override
     public List<HighFrequencyOperationVO> getHighFrequencyOperations() {
+        if (auditRollupService.isEnabled()) {
+            return auditRollupService.highFrequencyOperations(TenantContext.getTenantIdOrDefault());
+        }
         // 直接使用Mapper查询视图
         return operationLogMapper.selectHighFrequencyOperations();
     }
@@ -100,6 +109,9 @@ public class SysAuditServiceImpl implements SysAuditService {
     
     @Override
     public List<ErrorOperationStatsVO> getErrorOperationStats() {
+        if (auditRollupService.isEnabled()) {
+            return auditRollupService.errorOperationStats(TenantContext.getTenantIdOrDefault());
+        }
         return operationLogMapper.selectErrorOperationStats();
     }
     
@@ -142,6 +154,44 @@ public class SysAuditServiceImpl implements SysAuditService {
         return operationLogMapper.selectList(queryWrapper);
     }
 
+    @Override
+    public CursorPageVO<SysOperationLog> queryOperationLogsByCursor(AuditLogQueryVO queryVO, String cursor, Integer limit) {
+        int pageLimit = KeysetCursor.normalizeLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // 游标依赖操作时间，缺失时间的历史行不参与 keyset 翻页
+        LambdaQueryWrapper<SysOperationLog> queryWrapper = buildOperationLogQueryWrapper(queryVO)
+                .isNotNull(SysOperationLog::getOperationTime)
+                .orderByDesc(SysOperationLog::getId);
+        if (after != null) {
+            LocalDateTime afterTime = after.localDateTime();
+            queryWrapper.and(w -> w.lt(SysOperationLog::getOperationTime, afterTime)
+                    .or(o -> o.eq(SysOperationLog::getOperationTime, afterTime)
+                            .lt(SysOperationLog::getId, after.id())));
+        }
+        // 多取一条判断是否还有下一页，避免 COUNT 与 OFFSET
+        queryWrapper.last("LIMIT " + (pageLimit + 1));
+
+        List<SysOperationLog> rows = operationLogMapper.selectList(queryWrapper);
+        if (rows.size() <= pageLimit) {
+            return new CursorPageVO<>(rows, null);
+        }
+        List<SysOperationLog> records = rows.subList(0, pageLimit);
+        SysOperationLog last = records.getLast();
+        return new CursorPageVO<>(records, KeysetCursor.of(last.getOperationTime(), last.getId()).encode());
+    }
+
+    @Override
+    public long streamOperationLogs(AuditLogQueryVO queryVO, Consumer<SysOperationLog> consumer) {
+        LambdaQueryWrapper<SysOperationLog> queryWrapper = buildOperationLogQueryWrapper(queryVO)
+                .orderByDesc(SysOperationLog::getId);
+        AtomicLong rows = new AtomicLong();
+        operationLogMapper.streamByWrapper(queryWrapper, context -> {
+            consumer.accept(context.getResultObject());
+            rows.incrementAndGet();
+        });
+        return rows.get();
+    }
+
     @Override
     public Map<String, Object> getAuditOverview() {
         Map<String, Object> overview = new HashMap<>();
@@ -150,18 +200,23 @@ public class SysAuditServiceImpl implements SysAuditService {
         LocalDateTime endOfDay = today.plusDays(1).atStartOfDay(); // Exclusive end
 
         try {
-            overview.put("totalOperations", operationLogMapper.selectTotalOperations());
-            overview.put("todayOperations", operationLogMapper.selectOperationsBetween(startOfDay, endOfDay));
-            overview.put("totalErrorOperations", operationLogMapper.selectTotalErrorOperations());
-            overview.put("todayErrorOperations", operationLogMapper.selectErrorOperationsBetween(startOfDay, endOfDay));
-            overview.put("todaySensitiveOperations", operationLogMapper.selectSensitiveOperationsCountBetween(startOfDay, endOfDay));
-            overview.put("todayActiveUsers", operationLogMapper.selectActiveUsersBetween(startOfDay, endOfDay));
-            overview.put("highFrequencyAlerts", operationLogMapper.selectHighFrequencyAlertCount());
-
             // 获取过去7天的每日统计数据
             int daysForStats = 7;
-            List<Map<String, Object>> dailyStats = operationLogMapper.selectDailyStats(daysForStats);
-            overview.put("dailyStats", dailyStats); // Example: [{date: '2024-04-01', count: 150}, ...]
+            if (auditRollupService.isEnabled()) {
+                // 预聚合读路径：只扫描计数桶与草图，不扫描 sys_operation_log
+                auditRollupService.fillOverview(overview, TenantContext.getTenantIdOrDefault(), today, daysForStats);
+            } else {
+                overview.put("totalOperations", operationLogMapper.selectTotalOperations());
+                overview.put("todayOperations", operationLogMapper.selectOperationsBetween(startOfDay, endOfDay));
+                overview.put("totalErrorOperations", operationLogMapper.selectTotalErrorOperations());
+                overview.put("todayErrorOperations", operationLogMapper.selectErrorOperationsBetween(startOfDay, endOfDay));
+                overview.put("todaySensitiveOperations", operationLogMapper.selectSensitiveOperationsCountBetween(startOfDay, endOfDay));
+                overview.put("todayActiveUsers", operationLogMapper.selectActiveUsersBetween(startOfDay, endOfDay));
+                overview.put("highFrequencyAlerts", operationLogMapper.selectHighFrequencyAlertCount());
+
+                List<Map<String, Object>> dailyStats = operationLogMapper.selectDailyStats(daysForStats);
+                overview.put("dailyStats", dailyStats); // Example: [{date: '2024-04-01', count: 150}, ...]
+            }
 
             // 获取审计配置状态
             overview.put("auditEnabled", getAuditConfigValue("AUDIT_ENABLED", "true")); // Default to true if not found
@@ -3,21 +3,48 @@ package cn.flying.service.impl;
 import cn.flying.dao.dto.SysOperationLog;
 import cn.flying.dao.mapper.SysOperationLogMapper;
 import cn.flying.service.SysOperationLogService;
+import cn.flying.service.audit.AuditRollupService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * 系统操作日志服务实现类
  * 注：查询和导出功能已迁移至 SysAuditServiceImpl，避免重复
  */
+@Slf4j
 @Service
 public class SysOperationLogServiceImpl extends ServiceImpl<SysOperationLogMapper, SysOperationLog> implements SysOperationLogService {
 
+    @Resource
+    private AuditRollupService auditRollupService;
+
+    /**
+     * 保存操作日志，预聚合在日志事务提交后于独立事务中计入。
+     * <p>
+     * 预聚合的小时桶与天桶是租户内热点行，放在日志事务里会串行化同租户的全部审计写入，
+     * 且桶更新死锁会连带回滚日志本身。提交后再写桶，失败只影响预聚合，由每日对账修复。
+     *
+     * @param operationLog 操作日志
+     */
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void saveOperationLog(SysOperationLog operationLog) {
         baseMapper.insert(operationLog);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordRollup(operationLog);
+                }
+            });
+        } else {
+            recordRollup(operationLog);
+        }
     }
 
     @Override
@@ -30,4 +57,12 @@ public class SysOperationLogServiceImpl extends ServiceImpl<SysOperationLogMappe
     public void cleanOperationLogs() {
         baseMapper.delete(null);
     }
-} 
\ No newline at end of file
+
+    private void recordRollup(SysOperationLog operationLog) {
+        try {
+            auditRollupService.record(operationLog);
+        } catch (Exception e) {
+            log.warn("审计预聚合增量写入失败，等待对账修复: logId={}, error={}", operationLog.getId(), e.getMessage());
+        }
+    }
+}
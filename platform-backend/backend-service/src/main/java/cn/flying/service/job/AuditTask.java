@@ -5,15 +5,19 @@ import cn.flying.common.tenant.TenantContext;
 import cn.flying.common.util.JsonConverter;
 import cn.flying.dao.mapper.TenantMapper;
 import cn.flying.service.SysAuditService;
+import cn.flying.service.audit.AuditRollupService;
 import cn.flying.service.sse.SseEmitterManager;
 import cn.flying.service.sse.SseEvent;
 import cn.flying.service.sse.SseEventType;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -22,9 +26,13 @@ import java.util.Map;
 /**
  * 审计系统定时任务
  * <p>
- * 包含两个主要任务：
+ * 包含三个主要任务：
  * 1. 异常检测：每5分钟执行一次，检测高频操作、失败登录、错误率异常
- * 2. 日志备份：每天凌晨3:30执行，备份过期日志并可选删除原数据
+ * 2. 预聚合对账：每天凌晨2:15执行，按原始日志重算前一天的审计预聚合并清理分钟桶
+ * 3. 预聚合回填：每10分钟执行一次，按租户分批向前重算升级前的历史日期，回填完成后空转
+ * 4. 日志备份：每天凌晨3:30执行，备份过期日志并可选删除原数据
+ * <p>
+ * 另外在应用启动完成时补齐当日去重草图，覆盖升级前已写入的当日日志。
  */
 @Component
 @Slf4j
@@ -39,6 +47,9 @@ public class AuditTask {
     @Resource
     private TenantMapper tenantMapper;
 
+    @Resource
+    private AuditRollupService auditRollupService;
+
     /**
      * 日志保留天数，默认180天
      */
@@ -63,6 +74,12 @@ public class AuditTask {
     @Value("${audit.backup.enabled:true}")
     private boolean backupEnabled;
 
+    /**
+     * 预聚合回填每次执行时每个租户最多重算的天数，默认30天
+     */
+    @Value("${audit.rollup.backfill-days-per-run:30}")
+    private int backfillDaysPerRun;
+
     /**
      * 异常检测定时任务
      * 每5分钟执行一次，检测系统中的异常操作
@@ -97,6 +114,117 @@ public class AuditTask {
         }
     }
 
+    /**
+     * 审计预聚合对账定时任务
+     * 每天凌晨2:15执行，按原始日志重算前一天的计数桶、去重草图与错误桶，修正增量写入期间的遗漏
+     */
+    @Scheduled(cron = "${audit.rollup.reconcile-cron:0 15 2 * * ?}")
+    @DistributedLock(key = "audit:rollup-reconcile", leaseTime = 1800)
+    public void reconcileRollupsScheduled() {
+        if (!auditRollupService.isEnabled()) {
+            log.debug("审计预聚合未启用，跳过对账");
+            return;
+        }
+
+        LocalDate day = LocalDate.now().minusDays(1);
+        log.info("开始执行审计预聚合对账任务，日期={}", day);
+
+        try {
+            List<Long> tenantIds = tenantMapper.selectActiveTenantIds();
+            if (tenantIds == null || tenantIds.isEmpty()) {
+                log.debug("审计预聚合对账未发现活跃租户，跳过执行");
+                return;
+            }
+
+            for (Long tenantId : tenantIds) {
+                try {
+                    TenantContext.callWithTenant(tenantId, () -> {
+                        auditRollupService.reconcileDay(tenantId, day);
+                        int pruned = auditRollupService.pruneMinuteBuckets(tenantId);
+                        log.debug("租户审计预聚合对账完成: tenantId={}, prunedMinuteRows={}", tenantId, pruned);
+                        return null;
+                    });
+                } catch (Exception ex) {
+                    log.error("租户审计预聚合对账失败: tenantId={}", tenantId, ex);
+                }
+            }
+            log.info("审计预聚合对账任务完成，租户数={}", tenantIds.size());
+        } catch (Exception e) {
+            log.error("审计预聚合对账任务执行失败", e);
+        }
+    }
+
+    /**
+     * 审计预聚合历史回填定时任务
+     * 每10分钟执行一次，每个租户最多向前重算若干天，每天一个事务并持久化游标，避免在启动路径上全表扫描原始日志
+     */
+    @Scheduled(cron = "${audit.rollup.backfill-cron:0 */10 * * * ?}")
+    @DistributedLock(key = "audit:rollup-backfill", leaseTime = 600)
+    public void backfillRollupsScheduled() {
+        if (!auditRollupService.isEnabled()) {
+            return;
+        }
+
+        try {
+            List<Long> tenantIds = tenantMapper.selectActiveTenantIds();
+            if (tenantIds == null || tenantIds.isEmpty()) {
+                return;
+            }
+
+            for (Long tenantId : tenantIds) {
+                try {
+                    int days = TenantContext.callWithTenant(tenantId, () -> {
+                        int backfilled = 0;
+                        while (backfilled < backfillDaysPerRun && auditRollupService.backfillNextDay(tenantId)) {
+                            backfilled++;
+                        }
+                        return backfilled;
+                    });
+                    if (days > 0) {
+                        log.info("租户审计预聚合历史回填: tenantId={}, days={}", tenantId, days);
+                    }
+                } catch (Exception ex) {
+                    log.error("租户审计预聚合历史回填失败: tenantId={}", tenantId, ex);
+                }
+            }
+        } catch (Exception e) {
+            log.error("审计预聚合历史回填任务执行失败", e);
+        }
+    }
+
+    /**
+     * 启动时补齐当日去重草图
+     * 当日日志要到次日对账才进入重算，草图寄存器的哈希只在应用内可算，因此在启动后按原始日志合并当日用户
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTodaySketchesOnStartup() {
+        if (!auditRollupService.isEnabled()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        try {
+            List<Long> tenantIds = tenantMapper.selectActiveTenantIds();
+            if (tenantIds == null || tenantIds.isEmpty()) {
+                return;
+            }
+
+            for (Long tenantId : tenantIds) {
+                try {
+                    TenantContext.callWithTenant(tenantId, () -> {
+                        auditRollupService.mergeSketchFromLog(tenantId, today);
+                        return null;
+                    });
+                } catch (Exception ex) {
+                    log.warn("租户当日审计草图补齐失败: tenantId={}, error={}", tenantId, ex.getMessage());
+                }
+            }
+            log.info("当日审计草图补齐完成，日期={}，租户数={}", today, tenantIds.size());
+        } catch (Exception e) {
+            log.error("当日审计草图补齐失败", e);
+        }
+    }
+
     /**
      * 日志备份定时任务
      * 每天凌晨3:30执行，备份超过保留期的日志
@@ -0,0 +1,111 @@
+package cn.flying.service.job;
+
+import cn.flying.common.lock.DistributedLock;
+import cn.flying.common.tenant.TenantContext;
+import cn.flying.dao.mapper.ConversationMapper;
+import cn.flying.dao.mapper.TenantMapper;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 私信未读计数校准任务。
+ * 会话行上的未读计数随发送、已读原子增减，本任务按 message 表重算以修正异常中断或人工改数造成的偏差。
+ * 使用分布式锁防止多实例重复执行。
+ * 多租户隔离：按租户分别校准。
+ */
+@Component
+@Slf4j
+public class MessageUnreadCounterRepairTask {
+
+    @Resource
+    private ConversationMapper conversationMapper;
+
+    @Resource
+    private TenantMapper tenantMapper;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${message.unread-repair.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * 校准所有活跃租户的未读计数。
+     * 默认每天凌晨 4:15 执行。
+     * 使用分布式锁（租约 30 分钟）防止多实例重复执行。
+     */
+    @Scheduled(cron = "${message.unread-repair.cron:0 15 4 * * ?}")
+    @DistributedLock(key = "message:unread-repair", leaseTime = 1800)
+    public void repairUnreadCounters() {
+        log.info("开始执行私信未读计数校准任务...");
+
+        List<Long> activeTenantIds = tenantMapper.selectActiveTenantIds();
+        if (activeTenantIds == null || activeTenantIds.isEmpty()) {
+            log.warn("没有活跃租户，跳过未读计数校准");
+            return;
+        }
+
+        int totalRepaired = 0;
+        for (Long tenantId : activeTenantIds) {
+            try {
+                totalRepaired += TenantContext.callWithTenant(tenantId, () -> repairTenant(tenantId));
+            } catch (Exception e) {
+                log.error("租户 {} 未读计数校准失败: {}", tenantId, e.getMessage(), e);
+            }
+        }
+
+        log.info("私信未读计数校准任务完成: 校准会话数={}", totalRepaired);
+    }
+
+    /**
+     * 按会话ID顺序分批校准指定租户的未读计数。
+     * 每批在独立事务中先锁定会话行再重算，与发送、已读的加锁顺序一致，不会与其死锁，也不会漏计校准期间提交的消息。
+     *
+     * @param tenantId 租户ID
+     * @return 被校准的会话数
+     */
+    public int repairTenant(Long tenantId) {
+        int repaired = 0;
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            RepairBatch batch = transactionTemplate.execute(status -> {
+                List<Long> ids = conversationMapper.lockIdsForUnreadRepair(tenantId, cursor, batchSize);
+                if (ids == null || ids.isEmpty()) {
+                    return null;
+                }
+                Long lastId = ids.get(ids.size() - 1);
+                int fixed = conversationMapper.recomputeUnreadCounters(tenantId, ids.get(0), lastId);
+                return new RepairBatch(lastId, ids.size(), fixed);
+            });
+            if (batch == null) {
+                break;
+            }
+            repaired += batch.repaired();
+            if (batch.size() < batchSize) {
+                break;
+            }
+            afterId = batch.lastId();
+        }
+        if (repaired > 0) {
+            log.warn("租户 {} 未读计数存在偏差，已校准 {} 个会话", tenantId, repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * 单批校准结果。
+     *
+     * @param lastId 本批最大会话ID，作为下一批游标
+     * @param size 本批锁定的会话数
+     * @param repaired 本批被改写的会话数
+     */
+    private record RepairBatch(Long lastId, int size, int repaired) {
+    }
+}
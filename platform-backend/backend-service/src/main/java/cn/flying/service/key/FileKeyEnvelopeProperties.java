@@ -5,6 +5,7 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.LinkedHashSet;
 import java.util.LinkedHashMap;
@@ -60,6 +61,8 @@ public class FileKeyEnvelopeProperties {
 
     private Set<String> deprecatedSuites = new LinkedHashSet<>();
 
+    private UnwrapCache unwrapCache = new UnwrapCache();
+
     /**
      * 返回兼容旧调用方的 active provider 配置。
      */
@@ -165,12 +168,33 @@ public class FileKeyEnvelopeProperties {
 
         private boolean allowHttp;
 
-        private java.time.Duration connectTimeout = java.time.Duration.ofSeconds(2);
+        private Duration connectTimeout = Duration.ofSeconds(2);
 
-        private java.time.Duration requestTimeout = java.time.Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(5);
 
         private int maxRequestBytes = 65_536;
 
         private int maxResponseBytes = 65_536;
     }
+
+    /**
+     * 已解封数据密钥的短期堆外缓存配置，默认关闭。
+     */
+    @Getter
+    @Setter
+    public static class UnwrapCache {
+
+        private boolean enabled;
+
+        /**
+         * 为空时对所有租户生效，否则仅对列出的租户生效。
+         */
+        private Set<Long> tenantIds = new LinkedHashSet<>();
+
+        private Duration ttl = Duration.ofSeconds(30);
+
+        private int maxUses = 200;
+
+        private int maxEntriesPerTenant = 1_024;
+    }
 }
@@ -75,6 +75,7 @@ public class FileKeyEnvelopeService {
     private final FileKeyEnvelopeProperties properties;
     private final CryptoSuitePolicyService suitePolicy;
     private final KeyEnvelopeRotationActivationService rotationActivationService;
+    private final UnwrappedDataKeyCache unwrapCache;
 
     /**
      * Removes plaintext key material from file_param and returns envelope input metadata.
@@ -623,6 +624,7 @@ public class FileKeyEnvelopeService {
             int updated = fileKeyEnvelopeMapper.compareAndSetStatus(
                     tenantId, envelope.getId(), STATUS_ACTIVE, STATUS_REVOKED);
             if (updated == 1) {
+                unwrapCache.invalidate(tenantId, envelope.getId());
                 audit(envelope, OPERATION_REVOKE, actorId, RESULT_SUCCESS, reason, null);
             }
         }
@@ -786,6 +788,9 @@ public class FileKeyEnvelopeService {
 
         String outcome = rotationActivationService.activateVerifiedCandidate(
                 tenantId, sourceEnvelopeId, candidateEnvelopeId, targetReference, targetKeyVersion);
+        if ("SUCCEEDED".equals(outcome)) {
+            unwrapCache.invalidate(tenantId, sourceEnvelopeId);
+        }
         FileKeyEnvelope auditEnvelope = fileKeyEnvelopeMapper.selectById(candidateEnvelopeId);
         audit(auditEnvelope == null ? source : auditEnvelope, OPERATION_ROTATE, actorId,
                 "SUCCEEDED".equals(outcome) ? RESULT_SUCCESS : RESULT_SKIPPED,
@@ -1102,8 +1107,15 @@ public class FileKeyEnvelopeService {
 
     /**
      * Unwraps an envelope and records key access audit evidence.
+     * Opt-in tenants reuse a short-lived cached plaintext instead of calling the provider again.
      */
     private Optional<String> unwrapEnvelope(FileKeyEnvelope envelope, Long actorId, String reason) {
+        Optional<String> cached = unwrapCache.get(envelope);
+        if (cached.isPresent()) {
+            audit(envelope, OPERATION_UNWRAP, actorId, RESULT_SUCCESS, reason,
+                    KeyWrappingFailureCategory.NONE);
+            return cached;
+        }
         KeyWrappingResult<PlaintextDataKey> result = unwrapEnvelopeMaterial(envelope);
         if (!result.isSuccess()) {
             audit(envelope, OPERATION_UNWRAP, actorId, RESULT_FAILURE, reason,
@@ -1112,7 +1124,9 @@ public class FileKeyEnvelopeService {
         }
         audit(envelope, OPERATION_UNWRAP, actorId, RESULT_SUCCESS, reason,
                 KeyWrappingFailureCategory.NONE);
-        return Optional.of(result.value().reveal());
+        String plaintext = result.value().reveal();
+        unwrapCache.put(envelope, plaintext);
+        return Optional.of(plaintext);
     }
 
     /**
@@ -0,0 +1,292 @@
+package cn.flying.service.key;
+
+import cn.flying.dao.entity.FileKeyEnvelope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按租户隔离的已解封数据密钥短期缓存。
+ *
+ * <p>明文只保存在 direct buffer 中，过期、用尽、容量淘汰或显式失效时立即清零。缓存键是信封 ID，
+ * 命中还要求持久化包封材料指纹一致，因此 rotation 产生的新信封或被改写的行不会复用旧明文。
+ * 调用方仍需先按 ACTIVE 状态读取信封，缓存只替代 provider 解封这一步。</p>
+ */
+@Component
+public class UnwrappedDataKeyCache {
+
+    private static final String METRIC_PREFIX = "app.file.key_unwrap_cache";
+
+    private final FileKeyEnvelopeProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<Long, TenantPartition> partitions = new ConcurrentHashMap<>();
+    private final AtomicLong entryCount = new AtomicLong();
+
+    /**
+     * 创建使用系统 UTC 时钟的生产缓存。
+     */
+    @Autowired
+    public UnwrappedDataKeyCache(FileKeyEnvelopeProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * 创建可注入时钟的缓存，供确定性测试使用。
+     */
+    UnwrappedDataKeyCache(FileKeyEnvelopeProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        Gauge.builder(METRIC_PREFIX + ".entries", entryCount, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * 判断指定租户是否启用缓存。
+     */
+    public boolean isEnabledFor(Long tenantId) {
+        FileKeyEnvelopeProperties.UnwrapCache config = properties.getUnwrapCache();
+        if (config == null || !config.isEnabled() || tenantId == null
+                || config.getTtl() == null || config.getTtl().isNegative() || config.getTtl().isZero()
+                || config.getMaxUses() <= 0 || config.getMaxEntriesPerTenant() <= 0) {
+            return false;
+        }
+        return config.getTenantIds() == null || config.getTenantIds().isEmpty()
+                || config.getTenantIds().contains(tenantId);
+    }
+
+    /**
+     * 读取并消耗一次缓存命中；材料指纹不一致、过期或用尽时返回空。
+     */
+    public Optional<String> get(FileKeyEnvelope envelope) {
+        if (envelope == null || envelope.getId() == null || !isEnabledFor(envelope.getTenantId())) {
+            record("bypass");
+            return Optional.empty();
+        }
+        TenantPartition partition = partitions.get(envelope.getTenantId());
+        if (partition == null) {
+            record("miss");
+            return Optional.empty();
+        }
+        Optional<String> value = partition.take(envelope.getId(), fingerprint(envelope), clock.millis());
+        record(value.isPresent() ? "hit" : "miss");
+        return value;
+    }
+
+    /**
+     * 缓存一次成功解封的明文数据密钥。
+     */
+    public void put(FileKeyEnvelope envelope, String plaintext) {
+        if (envelope == null || envelope.getId() == null || plaintext == null
+                || !isEnabledFor(envelope.getTenantId())) {
+            return;
+        }
+        FileKeyEnvelopeProperties.UnwrapCache config = properties.getUnwrapCache();
+        CachedKey cachedKey = CachedKey.of(
+                fingerprint(envelope),
+                plaintext,
+                clock.millis() + config.getTtl().toMillis(),
+                config.getMaxUses());
+        partitions.computeIfAbsent(envelope.getTenantId(), ignored -> new TenantPartition())
+                .put(envelope.getId(), cachedKey, config.getMaxEntriesPerTenant());
+    }
+
+    /**
+     * 使单个信封的缓存明文立即失效并清零。
+     */
+    public void invalidate(Long tenantId, Long envelopeId) {
+        if (tenantId == null || envelopeId == null) {
+            return;
+        }
+        TenantPartition partition = partitions.get(tenantId);
+        if (partition != null) {
+            partition.remove(envelopeId, "invalidated");
+        }
+    }
+
+    /**
+     * 定时清零已过期条目，避免冷信封的明文在 TTL 之后仍滞留到下一次查找或容量淘汰。
+     */
+    @Scheduled(fixedDelayString = "${file.key-envelope.unwrap-cache.sweep-interval-ms:5000}")
+    public void evictExpired() {
+        long nowMillis = clock.millis();
+        for (TenantPartition partition : partitions.values()) {
+            partition.sweepExpired(nowMillis);
+        }
+    }
+
+    /**
+     * 返回当前缓存条目数。
+     */
+    public long size() {
+        return entryCount.get();
+    }
+
+    /**
+     * 计算参与解封的全部持久化材料与路由字段摘要。
+     */
+    private byte[] fingerprint(FileKeyEnvelope envelope) {
+        String material = String.join("\n",
+                Objects.toString(envelope.getTenantId()),
+                Objects.toString(envelope.getEncryptedDataKey()),
+                Objects.toString(envelope.getWrappingIv()),
+                Objects.toString(envelope.getAadHash()),
+                Objects.toString(envelope.getKmsProvider()),
+                Objects.toString(envelope.getProviderContractVersion()),
+                Objects.toString(envelope.getKmsKeyId()),
+                Objects.toString(envelope.getProviderKeyVersion()),
+                Objects.toString(envelope.getKeyVersion()),
+                Objects.toString(envelope.getContextSchema()));
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 unavailable", exception);
+        }
+    }
+
+    private void record(String result) {
+        Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordEviction(String reason) {
+        Counter.builder(METRIC_PREFIX + ".evictions")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 单租户 LRU 分区；所有修改都在分区锁内完成，保证清零与读取不会交错。
+     */
+    private final class TenantPartition {
+
+        private final LinkedHashMap<Long, CachedKey> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        synchronized Optional<String> take(Long envelopeId, byte[] fingerprint, long nowMillis) {
+            CachedKey cachedKey = entries.get(envelopeId);
+            if (cachedKey == null) {
+                return Optional.empty();
+            }
+            if (!MessageDigest.isEqual(cachedKey.fingerprint, fingerprint)) {
+                remove(envelopeId, "material_changed");
+                return Optional.empty();
+            }
+            if (nowMillis >= cachedKey.expiresAtMillis) {
+                remove(envelopeId, "expired");
+                return Optional.empty();
+            }
+            String plaintext = cachedKey.read();
+            if (--cachedKey.remainingUses <= 0) {
+                remove(envelopeId, "max_uses");
+            }
+            return Optional.of(plaintext);
+        }
+
+        synchronized void put(Long envelopeId, CachedKey cachedKey, int maxEntries) {
+            CachedKey previous = entries.put(envelopeId, cachedKey);
+            if (previous != null) {
+                previous.zero();
+            } else {
+                entryCount.incrementAndGet();
+            }
+            Iterator<Map.Entry<Long, CachedKey>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && iterator.hasNext()) {
+                CachedKey eldest = iterator.next().getValue();
+                iterator.remove();
+                evicted(eldest, "capacity");
+            }
+        }
+
+        synchronized void remove(Long envelopeId, String reason) {
+            CachedKey removed = entries.remove(envelopeId);
+            if (removed != null) {
+                evicted(removed, reason);
+            }
+        }
+
+        synchronized void sweepExpired(long nowMillis) {
+            Iterator<CachedKey> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                CachedKey cachedKey = iterator.next();
+                if (nowMillis >= cachedKey.expiresAtMillis) {
+                    iterator.remove();
+                    evicted(cachedKey, "expired");
+                }
+            }
+        }
+
+        private void evicted(CachedKey cachedKey, String reason) {
+            cachedKey.zero();
+            entryCount.decrementAndGet();
+            recordEviction(reason);
+        }
+    }
+
+    /**
+     * 堆外明文持有对象，toString 不输出任何材料。
+     */
+    private static final class CachedKey {
+
+        private final byte[] fingerprint;
+        private final ByteBuffer plaintext;
+        private final long expiresAtMillis;
+        private int remainingUses;
+
+        private CachedKey(byte[] fingerprint, ByteBuffer plaintext, long expiresAtMillis, int remainingUses) {
+            this.fingerprint = fingerprint;
+            this.plaintext = plaintext;
+            this.expiresAtMillis = expiresAtMillis;
+            this.remainingUses = remainingUses;
+        }
+
+        static CachedKey of(byte[] fingerprint, String value, long expiresAtMillis, int maxUses) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            Arrays.fill(bytes, (byte) 0);
+            return new CachedKey(fingerprint, buffer, expiresAtMillis, maxUses);
+        }
+
+        String read() {
+            byte[] bytes = new byte[plaintext.remaining()];
+            plaintext.duplicate().get(bytes);
+            try {
+                return new String(bytes, StandardCharsets.UTF_8);
+            } finally {
+                Arrays.fill(bytes, (byte) 0);
+            }
+        }
+
+        void zero() {
+            for (int index = 0; index < plaintext.capacity(); index++) {
+                plaintext.put(index, (byte) 0);
+            }
+            plaintext.limit(0);
+        }
+
+        @Override
+        public String toString() {
+            return "CachedKey[REDACTED]";
+        }
+    }
+}
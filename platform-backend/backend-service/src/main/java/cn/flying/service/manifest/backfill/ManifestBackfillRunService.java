@@ -29,9 +29,16 @@ import java.util.Date;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Coordinates immutable scans, derivative dry-runs, lease-fenced apply, and administrator controls.
+ * Coordinates immutable scans, derivative dry-runs, parallel lease-fenced apply, and administrator controls.
  */
 @Slf4j
 @Service
@@ -43,6 +50,8 @@ public class ManifestBackfillRunService {
     private static final int DEFAULT_CLAIM_SIZE = 20;
     private static final int DEFAULT_MAX_ATTEMPTS = 3;
     private static final long DEFAULT_LEASE_SECONDS = 120L;
+    private static final long PROGRESS_FLUSH_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final String ERROR_BUDGET_EXHAUSTED = "ERROR_BUDGET_EXHAUSTED";
 
     private final ManifestBackfillRunMapper runMapper;
     private final ManifestBackfillItemMapper itemMapper;
@@ -52,6 +61,7 @@ public class ManifestBackfillRunService {
     private final ChunkManifestBackfillPublisher publisher;
     private final SnowflakeIdGenerator snowflakeIdGenerator;
     private final MeterRegistry meterRegistry;
+    private final ManifestBackfillWorkerPool workerPool;
 
     @Value("${manifest.backfill.worker-enabled:true}")
     private boolean workerEnabled;
@@ -62,6 +72,18 @@ public class ManifestBackfillRunService {
     @Value("${manifest.backfill.run-lease-seconds:300}")
     private long runLeaseSeconds;
 
+    @Value("${manifest.backfill.default-apply-workers:4}")
+    private int defaultApplyWorkers;
+
+    @Value("${manifest.backfill.error-budget-ratio:0.25}")
+    private double errorBudgetRatio;
+
+    @Value("${manifest.backfill.error-budget-min-attempts:50}")
+    private long errorBudgetMinAttempts;
+
+    @Value("${manifest.backfill.coordination-interval-ms:1000}")
+    private long coordinationIntervalMillis;
+
     /**
      * Creates an asynchronous tenant-scoped run without accepting a caller-selected broader tenant scope.
      *
@@ -105,6 +127,7 @@ public class ManifestBackfillRunService {
                 .setStatus(ManifestBackfillRunStatus.PLANNED.name())
                 .setSnapshotVersion(SNAPSHOT_VERSION)
                 .setCursorFileId(0L)
+                .setWorkerConcurrency(mode == ManifestBackfillMode.APPLY ? workerLimit(defaultApplyWorkers) : 1)
                 .setCreatedBy(userId)
                 .setTotalCount(0L)
                 .setPendingCount(0L)
@@ -113,6 +136,9 @@ public class ManifestBackfillRunService {
                 .setUnrecoverableCount(0L)
                 .setIgnoredCount(0L)
                 .setFailedCount(0L)
+                .setAttemptedCount(0L)
+                .setErrorCount(0L)
+                .setThroughputPerMinute(0L)
                 .setDeleted(0);
         runMapper.insert(run);
         return run;
@@ -255,7 +281,7 @@ public class ManifestBackfillRunService {
     }
 
     /**
-     * Resumes a paused run against the same immutable snapshot.
+     * Resumes a paused run against the same immutable snapshot with a fresh apply error budget.
      *
      * @param tenantId authenticated tenant ID
      * @param runId run ID
@@ -265,6 +291,8 @@ public class ManifestBackfillRunService {
         getRun(tenantId, runId);
         int updated = runMapper.update(null, new LambdaUpdateWrapper<ManifestBackfillRun>()
                 .set(ManifestBackfillRun::getStatus, ManifestBackfillRunStatus.PLANNED.name())
+                .set(ManifestBackfillRun::getAttemptedCount, 0L)
+                .set(ManifestBackfillRun::getErrorCount, 0L)
                 .eq(ManifestBackfillRun::getId, runId)
                 .eq(ManifestBackfillRun::getTenantId, tenantId)
                 .eq(ManifestBackfillRun::getStatus, ManifestBackfillRunStatus.PAUSED.name())
@@ -276,6 +304,28 @@ public class ManifestBackfillRunService {
         return getRun(tenantId, runId);
     }
 
+    /**
+     * Changes how many concurrent claim workers an unfinished apply run uses; an applying run picks up
+     * the new limit at its next coordination tick, retiring surplus workers at claim boundaries.
+     *
+     * @param tenantId authenticated tenant ID
+     * @param runId run ID
+     * @param workerConcurrency requested worker count, bounded by the node-wide worker pool
+     * @return updated run
+     */
+    public ManifestBackfillRun updateWorkerConcurrency(Long tenantId, Long runId, Integer workerConcurrency) {
+        getRun(tenantId, runId);
+        if (workerConcurrency == null || workerConcurrency < 1 || workerConcurrency > workerPool.maxWorkers()) {
+            throw new GeneralException(ResultEnum.PARAM_IS_INVALID,
+                    "manifest backfill worker concurrency must be between 1 and " + workerPool.maxWorkers());
+        }
+        if (runMapper.updateWorkerConcurrency(runId, tenantId, workerConcurrency) != 1) {
+            throw new GeneralException(ResultEnum.DATA_IS_WRONG,
+                    "only an unfinished apply run can change worker concurrency");
+        }
+        return getRun(tenantId, runId);
+    }
+
     /**
      * Explicitly requeues a failed item and makes its run runnable again.
      *
@@ -369,48 +419,205 @@ public class ManifestBackfillRunService {
     }
 
     /**
-     * Claims and publishes every currently due backfillable item in bounded batches.
+     * Runs the run's configured number of claim workers until no item is due, re-reading the administrator
+     * worker limit, the pause flag, and the error budget at every coordination tick.
      */
     private void executeApply(ManifestBackfillRun run) {
-        while (!isPaused(run.getId())) {
-            touchRunLease(run, ManifestBackfillRunStatus.APPLYING);
-            ManifestBackfillClaim claim = claimService.claim(
-                    run.getId(), run.getTenantId(), DEFAULT_CLAIM_SIZE,
-                    DEFAULT_MAX_ATTEMPTS, DEFAULT_LEASE_SECONDS, Instant.now());
-            if (claim == null) {
-                return;
+        ApplyCoordination coordination = new ApplyCoordination(workerLimit(run.getWorkerConcurrency()));
+        CompletionService<Void> workers = workerPool.newCompletionService();
+        int outstanding = 0;
+        RuntimeException failure = null;
+        try {
+            while (true) {
+                ManifestBackfillRun current = runMapper.selectRunGlobally(run.getId());
+                if (current == null || ManifestBackfillRunStatus.PAUSED.name().equals(current.getStatus())) {
+                    coordination.stop();
+                } else {
+                    coordination.limit(workerLimit(current.getWorkerConcurrency()));
+                    if (isErrorBudgetExhausted(current, coordination)) {
+                        coordination.exhaustErrorBudget();
+                    }
+                }
+                while (coordination.tryStartWorker()) {
+                    workers.submit(() -> {
+                        runApplyWorker(run, coordination);
+                        return null;
+                    });
+                    outstanding++;
+                }
+                if (outstanding == 0) {
+                    break;
+                }
+                for (Future<Void> finished = workers.poll(coordinationIntervalMillis, TimeUnit.MILLISECONDS);
+                     finished != null;
+                     finished = workers.poll()) {
+                    outstanding--;
+                    RuntimeException workerFailure = workerFailure(finished);
+                    if (workerFailure != null && failure == null) {
+                        failure = workerFailure;
+                        coordination.stop();
+                    }
+                }
+                flushApplyProgress(run, coordination, false);
             }
-            for (ManifestBackfillItem item : claim.items()) {
-                try {
-                    publisher.publish(item.getTenantId(), item.getRunId(), item.getId(), claim.claimToken());
-                    recordMetric(run.getMode(), ManifestBackfillClassification.BACKFILLABLE,
-                            ManifestBackfillReason.BACKFILLABLE_EVIDENCE, "published");
-                } catch (ManifestEvidenceResolver.ManifestEvidenceChangedException evidenceChanged) {
-                    failClaimIfOwned(run, item, claim.claimToken(), evidenceChanged.reason(),
-                            isRetryableEvidenceFailure(evidenceChanged.reason()),
-                            evidenceChanged.getClass().getSimpleName());
-                } catch (DataAccessException transientDatabaseFailure) {
-                    failClaimIfOwned(run, item, claim.claimToken(),
-                            ManifestBackfillReason.DATABASE_TRANSIENT, true,
-                            transientDatabaseFailure.getClass().getSimpleName());
-                } catch (IllegalStateException claimFailure) {
-                    if (isClaimLost(claimFailure)) {
-                        recordMetric(run.getMode(), ManifestBackfillClassification.FAILED,
-                                ManifestBackfillReason.CLAIM_LOST, "abandoned");
-                    } else {
-                        failClaimIfOwned(run, item, claim.claimToken(),
-                                ManifestBackfillReason.MANUAL_REVIEW, false,
-                                claimFailure.getClass().getSimpleName());
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            coordination.stop();
+            failure = new IllegalStateException("manifest backfill apply coordinator interrupted", interrupted);
+        } finally {
+            flushApplyProgress(run, coordination, true);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        if (coordination.errorBudgetExhausted()) {
+            pauseForErrorBudget(run);
+        }
+    }
+
+    /**
+     * Claims and publishes bounded batches until the run drains, stops, or this worker is retired by a lower limit.
+     */
+    private void runApplyWorker(ManifestBackfillRun run, ApplyCoordination coordination) {
+        TenantContext.runWithTenantIsolation(run.getTenantId(), () -> {
+            boolean retired = false;
+            try {
+                while (coordination.mayClaim()) {
+                    if (coordination.retireIfOverLimit()) {
+                        retired = true;
+                        return;
+                    }
+                    touchRunLease(run, ManifestBackfillRunStatus.APPLYING);
+                    ManifestBackfillClaim claim = claimService.claim(
+                            run.getId(), run.getTenantId(), DEFAULT_CLAIM_SIZE,
+                            DEFAULT_MAX_ATTEMPTS, DEFAULT_LEASE_SECONDS, Instant.now());
+                    if (claim == null) {
+                        coordination.drain();
+                        return;
+                    }
+                    for (ManifestBackfillItem item : claim.items()) {
+                        applyClaimedItem(run, claim, item, coordination);
                     }
-                } catch (RuntimeException failure) {
-                    failClaimIfOwned(run, item, claim.claimToken(),
-                            ManifestBackfillReason.MANUAL_REVIEW, false,
-                            failure.getClass().getSimpleName());
                 }
+            } finally {
+                if (!retired) {
+                    coordination.workerExited();
+                }
+            }
+        });
+    }
+
+    /**
+     * Publishes one claimed item and classifies its failure through the exact claim fence.
+     */
+    private void applyClaimedItem(
+            ManifestBackfillRun run,
+            ManifestBackfillClaim claim,
+            ManifestBackfillItem item,
+            ApplyCoordination coordination
+    ) {
+        try {
+            publisher.publish(item.getTenantId(), item.getRunId(), item.getId(), claim.claimToken());
+            coordination.published();
+            recordMetric(run.getMode(), ManifestBackfillClassification.BACKFILLABLE,
+                    ManifestBackfillReason.BACKFILLABLE_EVIDENCE, "published");
+        } catch (ManifestEvidenceResolver.ManifestEvidenceChangedException evidenceChanged) {
+            failClaimIfOwned(run, item, claim.claimToken(), evidenceChanged.reason(),
+                    isRetryableEvidenceFailure(evidenceChanged.reason()),
+                    evidenceChanged.getClass().getSimpleName(), coordination);
+        } catch (DataAccessException transientDatabaseFailure) {
+            failClaimIfOwned(run, item, claim.claimToken(),
+                    ManifestBackfillReason.DATABASE_TRANSIENT, true,
+                    transientDatabaseFailure.getClass().getSimpleName(), coordination);
+        } catch (IllegalStateException claimFailure) {
+            if (isClaimLost(claimFailure)) {
+                recordMetric(run.getMode(), ManifestBackfillClassification.FAILED,
+                        ManifestBackfillReason.CLAIM_LOST, "abandoned");
+            } else {
+                failClaimIfOwned(run, item, claim.claimToken(),
+                        ManifestBackfillReason.MANUAL_REVIEW, false,
+                        claimFailure.getClass().getSimpleName(), coordination);
             }
+        } catch (RuntimeException failure) {
+            failClaimIfOwned(run, item, claim.claimToken(),
+                    ManifestBackfillReason.MANUAL_REVIEW, false,
+                    failure.getClass().getSimpleName(), coordination);
+        }
+    }
+
+    /**
+     * Unwraps a finished worker's failure so the run fails with the original exception.
+     */
+    private RuntimeException workerFailure(Future<Void> finished) throws InterruptedException {
+        try {
+            finished.get();
+            return null;
+        } catch (ExecutionException failed) {
+            return failed.getCause() instanceof RuntimeException runtimeFailure
+                    ? runtimeFailure
+                    : new IllegalStateException("manifest backfill worker failed", failed.getCause());
+        }
+    }
+
+    /**
+     * Checks the durable plus not-yet-flushed attempt and error counts against the configured error budget.
+     */
+    private boolean isErrorBudgetExhausted(ManifestBackfillRun current, ApplyCoordination coordination) {
+        long attempted = value(current.getAttemptedCount()) + coordination.unflushedAttempts();
+        long errors = value(current.getErrorCount()) + coordination.unflushedErrors();
+        return attempted >= Math.max(1L, errorBudgetMinAttempts) && errors > attempted * errorBudgetRatio;
+    }
+
+    /**
+     * Adds attempt/error deltas and the coordinator's average throughput to the run at bounded intervals.
+     */
+    private void flushApplyProgress(ManifestBackfillRun run, ApplyCoordination coordination, boolean force) {
+        long now = System.nanoTime();
+        if (!force && now - coordination.lastFlushNanos < PROGRESS_FLUSH_NANOS) {
+            return;
+        }
+        long attempts = coordination.attempts();
+        long errors = coordination.errors.get();
+        long attemptedDelta = attempts - coordination.flushedAttempts;
+        long errorDelta = errors - coordination.flushedErrors;
+        long elapsed = Math.max(TimeUnit.SECONDS.toNanos(1), now - coordination.startedNanos);
+        long throughputPerMinute = attempts * TimeUnit.MINUTES.toNanos(1) / elapsed;
+        coordination.lastFlushNanos = now;
+        if (attemptedDelta == 0L && errorDelta == 0L) {
+            return;
+        }
+        runMapper.recordApplyProgress(run.getId(), run.getTenantId(), attemptedDelta, errorDelta, throughputPerMinute);
+        coordination.flushedAttempts = attempts;
+        coordination.flushedErrors = errors;
+    }
+
+    /**
+     * Pauses an applying run whose failures exceeded its budget so an administrator can resume it deliberately.
+     */
+    private void pauseForErrorBudget(ManifestBackfillRun run) {
+        int updated = runMapper.update(null, new LambdaUpdateWrapper<ManifestBackfillRun>()
+                .set(ManifestBackfillRun::getStatus, ManifestBackfillRunStatus.PAUSED.name())
+                .set(ManifestBackfillRun::getLastErrorClass, ERROR_BUDGET_EXHAUSTED)
+                .eq(ManifestBackfillRun::getId, run.getId())
+                .eq(ManifestBackfillRun::getTenantId, run.getTenantId())
+                .eq(ManifestBackfillRun::getStatus, ManifestBackfillRunStatus.APPLYING.name())
+                .eq(ManifestBackfillRun::getDeleted, 0));
+        if (updated == 1) {
+            meterRegistry.counter("app.manifest.backfill.error_budget.exhausted", Tags.of(
+                    "mode", run.getMode())).increment();
+            log.warn("Manifest backfill run paused by error budget: runId={}, tenantId={}",
+                    run.getId(), run.getTenantId());
         }
     }
 
+    /**
+     * Bounds a run's requested worker count to the node-wide pool; legacy rows keep a single worker.
+     */
+    private int workerLimit(Integer workerConcurrency) {
+        int requested = workerConcurrency == null ? 1 : workerConcurrency;
+        return Math.max(1, Math.min(requested, workerPool.maxWorkers()));
+    }
+
     /**
      * Records a claimed failure unless the lease fence proves that another worker now owns it.
      */
@@ -420,10 +627,12 @@ public class ManifestBackfillRunService {
             String claimToken,
             ManifestBackfillReason reason,
             boolean retryable,
-            String errorClass
+            String errorClass,
+            ApplyCoordination coordination
     ) {
         try {
             claimService.failClaim(item, claimToken, reason, retryable, errorClass);
+            coordination.failed();
             recordMetric(run.getMode(), ManifestBackfillClassification.FAILED,
                     reason, retryable ? "retryable" : "rejected");
         } catch (IllegalStateException claimFailure) {
@@ -675,6 +884,13 @@ public class ManifestBackfillRunService {
         }
     }
 
+    /**
+     * Normalizes nullable database counters.
+     */
+    private long value(Long value) {
+        return value == null ? 0L : value;
+    }
+
     /**
      * Bounds an error class to the schema length.
      */
@@ -684,4 +900,106 @@ public class ManifestBackfillRunService {
         }
         return value.length() <= 128 ? value : value.substring(0, 128);
     }
+
+    /**
+     * Shared state between one run's apply coordinator and its workers; flush bookkeeping is coordinator-only.
+     */
+    private static final class ApplyCoordination {
+
+        private final AtomicInteger limit;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final AtomicBoolean drained = new AtomicBoolean();
+        private final AtomicBoolean errorBudgetExhausted = new AtomicBoolean();
+        private final AtomicLong published = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final long startedNanos = System.nanoTime();
+        private long lastFlushNanos = startedNanos;
+        private long flushedAttempts;
+        private long flushedErrors;
+
+        private ApplyCoordination(int limit) {
+            this.limit = new AtomicInteger(limit);
+        }
+
+        /**
+         * Reserves a worker slot while work may remain and the current limit has room.
+         */
+        private boolean tryStartWorker() {
+            while (mayClaim()) {
+                int current = running.get();
+                if (current >= limit.get()) {
+                    return false;
+                }
+                if (running.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Releases exactly one surplus slot after the administrator lowered the limit.
+         */
+        private boolean retireIfOverLimit() {
+            while (true) {
+                int current = running.get();
+                if (current <= limit.get()) {
+                    return false;
+                }
+                if (running.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean mayClaim() {
+            return !stopped.get() && !drained.get();
+        }
+
+        private void limit(int value) {
+            limit.set(value);
+        }
+
+        private void workerExited() {
+            running.decrementAndGet();
+        }
+
+        private void drain() {
+            drained.set(true);
+        }
+
+        private void stop() {
+            stopped.set(true);
+        }
+
+        private void exhaustErrorBudget() {
+            errorBudgetExhausted.set(true);
+            stopped.set(true);
+        }
+
+        private boolean errorBudgetExhausted() {
+            return errorBudgetExhausted.get();
+        }
+
+        private void published() {
+            published.incrementAndGet();
+        }
+
+        private void failed() {
+            errors.incrementAndGet();
+        }
+
+        private long attempts() {
+            return published.get() + errors.get();
+        }
+
+        private long unflushedAttempts() {
+            return attempts() - flushedAttempts;
+        }
+
+        private long unflushedErrors() {
+            return errors.get() - flushedErrors;
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package cn.flying.service.manifest.backfill;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded node-wide thread pool for concurrent apply claim workers.
+ * <p>
+ * Each run's administrator-tunable worker count is clamped to {@link #maxWorkers()}; disjointness between
+ * workers on this and other nodes comes from the skip-locked, lease-fenced item claims, not from this pool.
+ */
+@Component
+public class ManifestBackfillWorkerPool {
+
+    private final int maxWorkers;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    public ManifestBackfillWorkerPool(
+            @Value("${manifest.backfill.max-apply-workers:8}") int maxWorkers,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxWorkers = Math.max(1, maxWorkers);
+        this.executor = new ThreadPoolExecutor(
+                this.maxWorkers,
+                this.maxWorkers,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().daemon(true).name("manifest-backfill-worker-", 0).factory());
+        this.executor.allowCoreThreadTimeOut(true);
+        Gauge.builder("app.manifest.backfill.workers.active", activeWorkers, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the per-node upper bound for one run's worker concurrency.
+     */
+    public int maxWorkers() {
+        return maxWorkers;
+    }
+
+    /**
+     * Creates a completion queue so one run coordinator can wait for whichever of its workers finishes first.
+     */
+    public CompletionService<Void> newCompletionService() {
+        return new ExecutorCompletionService<>(command -> executor.execute(() -> {
+            activeWorkers.incrementAndGet();
+            try {
+                command.run();
+            } finally {
+                activeWorkers.decrementAndGet();
+            }
+        }));
+    }
+
+    /**
+     * Stops accepting workers; in-flight items stay lease-fenced and are reclaimed after expiry.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
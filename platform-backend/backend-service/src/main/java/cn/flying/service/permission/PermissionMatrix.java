@@ -0,0 +1,111 @@
+package cn.flying.service.permission;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 单租户权限矩阵快照：权限码映射为下标，每个角色持有一个权限位图。
+ * <p>
+ * 构建后不可变，可被任意线程无锁读取；权限变更时整体替换而不是原地修改。
+ */
+public final class PermissionMatrix {
+
+    private final Map<String, Integer> codeIndex;
+    private final String[] codes;
+    private final Map<String, BitSet> roleBits;
+
+    private PermissionMatrix(Map<String, Integer> codeIndex, String[] codes, Map<String, BitSet> roleBits) {
+        this.codeIndex = codeIndex;
+        this.codes = codes;
+        this.roleBits = roleBits;
+    }
+
+    /**
+     * 由 (role, code) 行构建矩阵，空值行被忽略。
+     *
+     * @param rows 角色权限行，键为 role 与 code
+     * @return 不可变矩阵
+     */
+    public static PermissionMatrix build(List<Map<String, Object>> rows) {
+        Map<String, Integer> codeIndex = new LinkedHashMap<>();
+        Map<String, BitSet> roleBits = new HashMap<>();
+        if (rows != null) {
+            for (Map<String, Object> row : rows) {
+                Object role = row.get("role");
+                Object code = row.get("code");
+                if (role == null || code == null) {
+                    continue;
+                }
+                int index = codeIndex.computeIfAbsent(code.toString(), key -> codeIndex.size());
+                roleBits.computeIfAbsent(role.toString(), key -> new BitSet()).set(index);
+            }
+        }
+        return new PermissionMatrix(Map.copyOf(codeIndex),
+                codeIndex.keySet().toArray(String[]::new), Map.copyOf(roleBits));
+    }
+
+    /**
+     * 判断角色是否拥有权限码。
+     *
+     * @param role 角色标识
+     * @param code 权限码
+     * @return true 表示拥有
+     */
+    public boolean has(String role, String code) {
+        if (role == null || code == null) {
+            return false;
+        }
+        Integer index = codeIndex.get(code);
+        BitSet bits = roleBits.get(role);
+        return index != null && bits != null && bits.get(index);
+    }
+
+    /**
+     * 返回角色的权限码集合副本。
+     *
+     * @param role 角色标识
+     * @return 权限码集合，调用方可修改
+     */
+    public Set<String> codesOf(String role) {
+        Set<String> result = new HashSet<>();
+        BitSet bits = role != null ? roleBits.get(role) : null;
+        if (bits != null) {
+            collect(bits, result);
+        }
+        return result;
+    }
+
+    /**
+     * 返回多个角色权限码的并集副本。
+     *
+     * @param roles 角色标识集合
+     * @return 权限码集合，调用方可修改
+     */
+    public Set<String> codesOf(Collection<String> roles) {
+        Set<String> result = new HashSet<>();
+        if (roles == null) {
+            return result;
+        }
+        BitSet union = new BitSet(codes.length);
+        for (String role : roles) {
+            BitSet bits = role != null ? roleBits.get(role) : null;
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        collect(union, result);
+        return result;
+    }
+
+    private void collect(BitSet bits, Set<String> target) {
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            target.add(codes[i]);
+        }
+    }
+}
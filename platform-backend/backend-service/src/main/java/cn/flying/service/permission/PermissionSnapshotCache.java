@@ -0,0 +1,242 @@
+package cn.flying.service.permission;
+
+import cn.flying.common.util.Const;
+import cn.flying.common.util.TenantKeyUtils;
+import cn.flying.dao.mapper.SysPermissionMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内权限快照缓存：每个租户一份不可变的 {@link PermissionMatrix}，权限判断不再访问 Redis。
+ * <p>
+ * 一致性由单调递增的版本号保证：
+ * <ul>
+ *   <li>权限变更时对租户版本键（全局变更为租户 0 的版本键）执行 INCR，并在频道上广播租户 ID；</li>
+ *   <li>各实例收到广播后丢弃对应快照，下次读取时重建；</li>
+ *   <li>定时版本校验以一次 MGET 对比已加载快照的版本，兜底丢失的广播。</li>
+ * </ul>
+ * Redis 不可用时快照仍可从数据库构建，版本记为 -1，恢复后由版本校验触发重建。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionSnapshotCache implements MessageListener {
+
+    /**
+     * 广播全部租户失效的消息体
+     */
+    static final String INVALIDATE_ALL = "*";
+
+    private static final long GLOBAL_TENANT_ID = 0L;
+    private static final long UNKNOWN_VERSION = -1L;
+
+    private final SysPermissionMapper permissionMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ConcurrentHashMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 本地失效纪元：加载期间发生失效时放弃写入，避免旧快照覆盖失效结果
+     */
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    /**
+     * 订阅权限失效频道。
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(Const.PERMISSION_INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 获取租户权限矩阵，未加载时从数据库构建。
+     *
+     * @param tenantId 租户ID
+     * @return 权限矩阵
+     */
+    public PermissionMatrix matrix(Long tenantId) {
+        long tid = normalize(tenantId);
+        Snapshot snapshot = snapshots.get(tid);
+        if (snapshot != null) {
+            return snapshot.matrix();
+        }
+        long epoch = invalidationEpoch.get();
+        // 先读版本再读数据：加载期间的变更只会让快照版本偏旧，由版本校验兜底重建
+        long[] versions = readVersions(List.of(tid));
+        PermissionMatrix matrix = PermissionMatrix.build(permissionMapper.selectRolePermissionCodes(tid));
+        Snapshot loaded = new Snapshot(versions[0], versions[1], matrix);
+        if (invalidationEpoch.get() == epoch) {
+            Snapshot existing = snapshots.putIfAbsent(tid, loaded);
+            if (existing != null) {
+                return existing.matrix();
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * 使单个租户的快照在所有实例失效。
+     *
+     * @param tenantId 租户ID，0 表示全局权限变更
+     */
+    public void invalidateTenant(Long tenantId) {
+        long tid = normalize(tenantId);
+        if (tid == GLOBAL_TENANT_ID) {
+            invalidateAll();
+            return;
+        }
+        bumpAndPublish(tid, String.valueOf(tid));
+        dropLocal(tid);
+    }
+
+    /**
+     * 使所有租户的快照在所有实例失效，用于全局权限定义或全局角色映射变更。
+     */
+    public void invalidateAll() {
+        bumpAndPublish(GLOBAL_TENANT_ID, INVALIDATE_ALL);
+        dropAllLocal();
+    }
+
+    /**
+     * 处理其他实例广播的失效消息。
+     *
+     * @param message 消息体为租户 ID 或 {@value #INVALIDATE_ALL}
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8).trim();
+        if (INVALIDATE_ALL.equals(body)) {
+            dropAllLocal();
+            return;
+        }
+        try {
+            long tid = Long.parseLong(body);
+            if (tid == GLOBAL_TENANT_ID) {
+                dropAllLocal();
+            } else {
+                dropLocal(tid);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("忽略无法识别的权限失效消息: {}", body);
+        }
+    }
+
+    /**
+     * 定时对比已加载快照与 Redis 中的版本号，丢弃落后的快照。
+     */
+    @Scheduled(fixedDelayString = "${permission.snapshot.version-check-interval-ms:30000}")
+    public void evictStaleSnapshots() {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        List<Long> tenantIds = new ArrayList<>(snapshots.keySet());
+        long[] versions = readVersions(tenantIds);
+        long globalVersion = versions[tenantIds.size()];
+        int dropped = 0;
+        for (int i = 0; i < tenantIds.size(); i++) {
+            Long tid = tenantIds.get(i);
+            Snapshot snapshot = snapshots.get(tid);
+            if (snapshot != null
+                    && (snapshot.tenantVersion() != versions[i] || snapshot.globalVersion() != globalVersion)
+                    && snapshots.remove(tid, snapshot)) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            log.info("权限快照版本校验丢弃 {} 个落后快照", dropped);
+        }
+    }
+
+    /**
+     * 当前已加载快照的租户数。
+     *
+     * @return 快照数
+     */
+    public int size() {
+        return snapshots.size();
+    }
+
+    private void bumpAndPublish(long tid, String payload) {
+        try {
+            stringRedisTemplate.opsForValue().increment(versionKey(tid));
+            stringRedisTemplate.convertAndSend(Const.PERMISSION_INVALIDATION_CHANNEL, payload);
+        } catch (Exception e) {
+            // 本地仍立即失效；其他实例在 Redis 恢复后由版本校验兜底
+            log.warn("权限快照版本推进或广播失败: tenantId={}, error={}", tid, e.getMessage());
+        }
+    }
+
+    /**
+     * 一次 MGET 读取多个租户的版本号，结果末位为全局版本号。
+     */
+    private long[] readVersions(List<Long> tenantIds) {
+        List<String> keys = new ArrayList<>(tenantIds.size() + 1);
+        for (Long tid : tenantIds) {
+            keys.add(versionKey(tid));
+        }
+        keys.add(versionKey(GLOBAL_TENANT_ID));
+
+        long[] versions = new long[keys.size()];
+        List<String> values = null;
+        try {
+            values = stringRedisTemplate.opsForValue().multiGet(keys);
+        } catch (Exception e) {
+            log.warn("读取权限快照版本失败: {}", e.getMessage());
+        }
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = values == null ? UNKNOWN_VERSION : parseVersion(values.get(i));
+        }
+        return versions;
+    }
+
+    private long parseVersion(String value) {
+        if (value == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    private void dropLocal(long tid) {
+        invalidationEpoch.incrementAndGet();
+        snapshots.remove(tid);
+    }
+
+    private void dropAllLocal() {
+        invalidationEpoch.incrementAndGet();
+        snapshots.clear();
+    }
+
+    private String versionKey(long tid) {
+        return TenantKeyUtils.tenantKey(Const.PERMISSION_VERSION_KEY, tid);
+    }
+
+    private long normalize(Long tenantId) {
+        return tenantId != null ? tenantId : GLOBAL_TENANT_ID;
+    }
+
+    /**
+     * 快照及其构建时读取到的租户版本与全局版本。
+     */
+    private record Snapshot(long tenantVersion, long globalVersion, PermissionMatrix matrix) {
+    }
+}
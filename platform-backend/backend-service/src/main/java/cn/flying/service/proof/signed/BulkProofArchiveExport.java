@@ -0,0 +1,100 @@
+package cn.flying.service.proof.signed;
+
+import cn.flying.common.constant.ResultEnum;
+import cn.flying.common.exception.GeneralException;
+import cn.flying.common.util.JsonConverter;
+import cn.flying.verifier.contract.SignedProofBundleContract;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 已通过参数与权限预检的批量导出；写出时逐个校验叶子，并把确定性 archive 以 STORED 条目流式写入外层 ZIP。
+ * <p>
+ * 每个 archive 条目名为 {@code proofs/<cursor>/<archive 文件名>}，连接中断时可取最后一个完整条目的游标续传；
+ * 外层 ZIP 以 {@value #SUMMARY_ENTRY} 结尾。内存占用仅为单个 archive 的有界字节。
+ */
+public final class BulkProofArchiveExport {
+
+    public static final String PROOFS_DIRECTORY = "proofs/";
+    public static final String SUMMARY_ENTRY = "export-summary.json";
+
+    private static final Pattern CURSOR_PATTERN = Pattern.compile("^[A-Za-z0-9_-]{1,128}$");
+
+    private final String fileName;
+    private final Function<ArchiveSink, BulkProofArchiveExportSummary> producer;
+
+    /**
+     * @param fileName 安全下载名
+     * @param producer 按 keyset 顺序把 archive 交给 sink 并返回汇总的导出过程
+     */
+    BulkProofArchiveExport(String fileName, Function<ArchiveSink, BulkProofArchiveExportSummary> producer) {
+        this.fileName = fileName;
+        this.producer = producer;
+    }
+
+    /** @return 安全下载文件名。 */
+    public String fileName() {
+        return fileName;
+    }
+
+    /**
+     * 执行导出并写出外层 ZIP，不关闭调用方流。
+     *
+     * @param outputStream HTTP 或测试输出流
+     * @return 同时写入 {@value #SUMMARY_ENTRY} 的导出汇总
+     */
+    public BulkProofArchiveExportSummary writeTo(OutputStream outputStream) {
+        if (outputStream == null) {
+            throw new GeneralException(ResultEnum.FILE_RECORD_ERROR, "证明包输出流不能为空");
+        }
+        try (ZipOutputStream zip = new ZipOutputStream(new ProofArchive.NonClosingOutputStream(outputStream))) {
+            BulkProofArchiveExportSummary summary = producer.apply((cursor, archive) -> {
+                if (cursor == null || !CURSOR_PATTERN.matcher(cursor).matches()) {
+                    throw new GeneralException(ResultEnum.FILE_RECORD_ERROR, "批量导出游标不合法");
+                }
+                writeStored(zip, PROOFS_DIRECTORY + cursor + "/" + archive.fileName(), archive.toByteArray());
+            });
+            writeStored(zip, SUMMARY_ENTRY, JsonConverter.toJson(summary).getBytes(StandardCharsets.UTF_8));
+            return summary;
+        } catch (IOException e) {
+            throw new GeneralException(ResultEnum.FILE_DOWNLOAD_ERROR, "批量证明包 ZIP 写出失败");
+        }
+    }
+
+    /**
+     * 以固定时间写入一个 STORED 条目，使相同 archive 序列产生相同字节。
+     */
+    private static void writeStored(ZipOutputStream zip, String name, byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setTimeLocal(SignedProofBundleContract.FIXED_ZIP_LOCAL_TIME);
+        entry.setSize(bytes.length);
+        entry.setCompressedSize(bytes.length);
+        entry.setCrc(crc.getValue());
+        try {
+            zip.putNextEntry(entry);
+            zip.write(bytes);
+            zip.closeEntry();
+            zip.flush();
+        } catch (IOException e) {
+            throw new GeneralException(ResultEnum.FILE_DOWNLOAD_ERROR, "批量证明包 ZIP 写出失败");
+        }
+    }
+
+    /**
+     * 接收一个已完成校验的 archive 及其 keyset 游标。
+     */
+    @FunctionalInterface
+    interface ArchiveSink {
+        void accept(String cursor, ProofArchive archive);
+    }
+}
@@ -0,0 +1,33 @@
+package cn.flying.service.proof.signed;
+
+import java.util.Date;
+
+/**
+ * 批量签名 proof 导出的筛选条件与续传位置。
+ *
+ * @param createdFrom 叶子创建时间下界（含），为空表示不限
+ * @param createdTo 叶子创建时间上界（不含），为空表示不限
+ * @param cursor 上次导出返回或最后一个完整 ZIP 条目中的不透明游标，为空表示从头开始
+ * @param limit 本次最多处理的叶子数，为空使用默认值
+ */
+public record BulkProofArchiveExportRequest(
+        Date createdFrom,
+        Date createdTo,
+        String cursor,
+        Integer limit
+) {
+    public BulkProofArchiveExportRequest {
+        createdFrom = createdFrom == null ? null : new Date(createdFrom.getTime());
+        createdTo = createdTo == null ? null : new Date(createdTo.getTime());
+    }
+
+    @Override
+    public Date createdFrom() {
+        return createdFrom == null ? null : new Date(createdFrom.getTime());
+    }
+
+    @Override
+    public Date createdTo() {
+        return createdTo == null ? null : new Date(createdTo.getTime());
+    }
+}
@@ -0,0 +1,42 @@
+package cn.flying.service.proof.signed;
+
+import java.util.List;
+
+/**
+ * 批量导出 ZIP 末尾的 {@value BulkProofArchiveExport#SUMMARY_ENTRY} 内容。
+ *
+ * @param status COMPLETE 表示筛选范围已导出完毕；PARTIAL 表示达到本次上限；INTERRUPTED 表示依赖暂时不可用
+ * @param exported 本次写出的 archive 数
+ * @param failures 确定性校验失败而被跳过的叶子
+ * @param nextCursor 续传游标，COMPLETE 时为空
+ */
+public record BulkProofArchiveExportSummary(
+        String status,
+        int exported,
+        List<Failure> failures,
+        String nextCursor
+) {
+    public static final String STATUS_COMPLETE = "COMPLETE";
+    public static final String STATUS_PARTIAL = "PARTIAL";
+    public static final String STATUS_INTERRUPTED = "INTERRUPTED";
+
+    public BulkProofArchiveExportSummary {
+        failures = failures == null ? List.of() : List.copyOf(failures);
+    }
+
+    /**
+     * 单个被跳过叶子的公开标识、所在游标位置和失败原因。
+     *
+     * @param leafId 叶子外部 ID
+     * @param cursor 该叶子的 keyset 位置
+     * @param code 业务错误码
+     * @param message 错误描述
+     */
+    public record Failure(
+            String leafId,
+            String cursor,
+            int code,
+            String message
+    ) {
+    }
+}
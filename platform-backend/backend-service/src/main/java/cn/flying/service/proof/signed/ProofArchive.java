@@ -157,9 +157,9 @@ public final class ProofArchive {
     /**
      * 允许关闭 ZipOutputStream 释放 Deflater，同时只刷新而不关闭调用方 HTTP 流。
      */
-    private static final class NonClosingOutputStream extends FilterOutputStream {
+    static final class NonClosingOutputStream extends FilterOutputStream {
 
-        private NonClosingOutputStream(OutputStream outputStream) {
+        NonClosingOutputStream(OutputStream outputStream) {
             super(outputStream);
         }
 
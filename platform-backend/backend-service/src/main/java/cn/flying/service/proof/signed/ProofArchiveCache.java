@@ -0,0 +1,441 @@
+package cn.flying.service.proof.signed;
+
+import cn.flying.common.exception.GeneralException;
+import cn.flying.verifier.contract.SignedProofBundleContract;
+import cn.flying.verifier.contract.SignedProofBundleModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 已重建签名 proof ZIP 的本地磁盘内容寻址缓存。
+ * <p>
+ * 缓存键是全部 archive 输入 canonical JSON 的 SHA-256，任一输入变化都会自然未命中；命中时按签发 manifest
+ * 的条目摘要逐条复核后再返回，因此只会返回与重建结果逐字节一致的 archive。目录归当前进程独占，索引只在内存中，
+ * 重启即冷启动；总字节与条目数均有上限，超出时按最近最少使用淘汰。
+ * <p>
+ * 进程在自己的目录内持有文件锁，退出（包括崩溃）后由操作系统释放；启动时删除同一父目录下已无持有者的缓存目录，
+ * 崩溃遗留的目录因此不会随重启累积，仍在运行的其他进程的目录保持不动。目录先以不参与清理的名字创建并加锁，
+ * 加锁后才改名为缓存目录名，同时启动的其他进程因此看不到尚未加锁的目录。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProofArchiveCache {
+
+    static final String KEY_SCHEMA = "record-platform-proof-archive-cache.v1";
+
+    private static final String FILE_SUFFIX = ".zip";
+    private static final String DIRECTORY_PREFIX = "proof-archive-cache-";
+    private static final String PENDING_PREFIX = ".pending-" + DIRECTORY_PREFIX;
+    private static final Duration PENDING_GRACE = Duration.ofMinutes(10);
+    private static final String OWNER_LOCK = ".owner.lock";
+    private static final int MAX_ENTRY_BYTES = SignedProofBundleContract.MAX_ENTRY_BYTES;
+
+    private final ProofCanonicalizer canonicalizer;
+    private final ProofArchiveCacheProperties properties;
+
+    private final LinkedHashMap<String, CachedArchive> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private volatile Path directory;
+    private FileChannel ownerLock;
+
+    /**
+     * 创建并锁定进程私有缓存目录，加锁后改名使其对清理可见，再清理同级的遗留目录；目录不可用时仅告警并退化为不缓存。
+     */
+    @PostConstruct
+    public void initialize() {
+        if (!properties.isEnabled() || properties.getMaxBytes() <= 0 || properties.getMaxEntries() <= 0) {
+            return;
+        }
+        try {
+            Path parent = StringUtils.hasText(properties.getDirectory())
+                    ? Files.createDirectories(Path.of(properties.getDirectory()))
+                    : Path.of(System.getProperty("java.io.tmpdir"));
+            Path pending = Files.createTempDirectory(parent, PENDING_PREFIX);
+            ownerLock = FileChannel.open(
+                    pending.resolve(OWNER_LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            ownerLock.lock();
+            Path created = parent.resolve(
+                    DIRECTORY_PREFIX + pending.getFileName().toString().substring(PENDING_PREFIX.length()));
+            Files.move(pending, created, StandardCopyOption.ATOMIC_MOVE);
+            directory = created;
+            sweepStaleDirectories(parent, created);
+        } catch (IOException | RuntimeException e) {
+            releaseOwnerLock();
+            log.warn("签名 proof archive 缓存目录不可用，缓存已禁用: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 关闭时清空索引并尽力删除本进程写出的缓存文件。
+     */
+    @PreDestroy
+    public void destroy() {
+        Path current = directory;
+        directory = null;
+        List<Path> files;
+        synchronized (index) {
+            files = index.values().stream().map(CachedArchive::path).toList();
+            index.clear();
+            totalBytes = 0L;
+        }
+        files.forEach(this::deleteQuietly);
+        releaseOwnerLock();
+        if (current != null) {
+            deleteQuietly(current.resolve(OWNER_LOCK));
+            deleteQuietly(current);
+        }
+    }
+
+    /**
+     * 计算 archive 输入的内容寻址键。
+     *
+     * @param inputs 全部 archive 输入
+     * @return 小写十六进制 SHA-256；缓存禁用时返回 null
+     */
+    public String key(Inputs inputs) {
+        if (directory == null || inputs == null) {
+            return null;
+        }
+        String document = new String(canonicalizer.canonicalBytes(inputs), StandardCharsets.UTF_8);
+        return canonicalizer.sha256(KEY_SCHEMA + "\n" + document)
+                .substring(ProofCanonicalizer.HASH_PREFIX.length());
+    }
+
+    /**
+     * 读取并复核缓存 archive；文件缺失、损坏或与签发快照不一致时剔除该条目并按未命中处理。
+     *
+     * @param key {@link #key(Inputs)} 返回的键
+     * @param fileName 安全下载名
+     * @param issuedManifest 已签发 manifest
+     * @param manifestHash 已签发 manifest 摘要
+     * @param compactJws 已签发 compact JWS
+     * @return 命中的 archive，未命中返回 null
+     */
+    public ProofArchive find(
+            String key,
+            String fileName,
+            SignedProofBundleModel.Manifest issuedManifest,
+            String manifestHash,
+            String compactJws
+    ) {
+        if (key == null) {
+            return null;
+        }
+        CachedArchive cached;
+        synchronized (index) {
+            cached = index.get(key);
+        }
+        if (cached == null) {
+            return null;
+        }
+        try {
+            ProofArchive archive = readVerified(
+                    Files.readAllBytes(cached.path()), fileName, issuedManifest, manifestHash, compactJws);
+            if (archive != null) {
+                return archive;
+            }
+            log.warn("签名 proof archive 缓存条目与签发快照不一致，已剔除: {}", key);
+        } catch (IOException | GeneralException e) {
+            log.warn("签名 proof archive 缓存条目不可读，已剔除: {}", key);
+        }
+        evict(candidateKey -> candidateKey.equals(key), candidate -> candidate == cached);
+        return null;
+    }
+
+    /**
+     * 写入已通过完整重建校验的 archive，并按总字节与条目数上限淘汰最久未用条目。
+     *
+     * @param key {@link #key(Inputs)} 返回的键
+     * @param archive 已校验 archive
+     * @param batchId 所属批次，用于批次状态变化时失效
+     * @param keyId 签名 key ID，用于 key 撤销时失效
+     * @param keyVersion 签名 key 版本
+     */
+    public void put(String key, ProofArchive archive, Long batchId, String keyId, Integer keyVersion) {
+        Path current = directory;
+        if (key == null || archive == null || current == null) {
+            return;
+        }
+        byte[] bytes = archive.toByteArray();
+        if (bytes.length > properties.getMaxBytes()) {
+            return;
+        }
+        Path target = current.resolve(key + FILE_SUFFIX);
+        try {
+            Path temp = Files.createTempFile(current, key, ".tmp");
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("签名 proof archive 缓存写入失败: {}", e.getMessage());
+            return;
+        }
+        List<Path> evicted = new ArrayList<>();
+        synchronized (index) {
+            CachedArchive previous = index.put(
+                    key, new CachedArchive(target, bytes.length, batchId, keyId, keyVersion));
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += bytes.length;
+            Iterator<Map.Entry<String, CachedArchive>> eldest = index.entrySet().iterator();
+            while ((totalBytes > properties.getMaxBytes() || index.size() > properties.getMaxEntries())
+                    && eldest.hasNext()) {
+                Map.Entry<String, CachedArchive> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= entry.getValue().size();
+                evicted.add(entry.getValue().path());
+                eldest.remove();
+            }
+        }
+        evicted.forEach(this::deleteQuietly);
+    }
+
+    /**
+     * 批次状态变化后丢弃该批次所有缓存 archive。
+     *
+     * @param batchId 批次 ID
+     */
+    public void invalidateBatch(Long batchId) {
+        if (batchId != null) {
+            evict(key -> true, cached -> batchId.equals(cached.batchId()));
+        }
+    }
+
+    /**
+     * 签名 key 撤销或注册信息失效后丢弃该 key 签发的所有缓存 archive。
+     *
+     * @param keyId 签名 key ID
+     * @param keyVersion 签名 key 版本
+     */
+    public void invalidateSigningKey(String keyId, Integer keyVersion) {
+        if (keyId != null) {
+            evict(key -> true, cached -> keyId.equals(cached.keyId())
+                    && Objects.equals(keyVersion, cached.keyVersion()));
+        }
+    }
+
+    /**
+     * 移除满足条件的索引条目后在锁外删除对应文件。
+     */
+    private void evict(Predicate<String> keyFilter, Predicate<CachedArchive> entryFilter) {
+        List<Path> evicted = new ArrayList<>();
+        synchronized (index) {
+            Iterator<Map.Entry<String, CachedArchive>> entries = index.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, CachedArchive> entry = entries.next();
+                if (keyFilter.test(entry.getKey()) && entryFilter.test(entry.getValue())) {
+                    totalBytes -= entry.getValue().size();
+                    evicted.add(entry.getValue().path());
+                    entries.remove();
+                }
+            }
+        }
+        evicted.forEach(this::deleteQuietly);
+    }
+
+    /**
+     * 按固定条目顺序解析缓存 ZIP，并用签发 manifest、manifestHash 与 JWS 复核每个条目。
+     */
+    private ProofArchive readVerified(
+            byte[] bytes,
+            String fileName,
+            SignedProofBundleModel.Manifest issuedManifest,
+            String manifestHash,
+            String compactJws
+    ) throws IOException {
+        if (issuedManifest == null || issuedManifest.entries() == null || manifestHash == null || compactJws == null) {
+            return null;
+        }
+        Map<String, SignedProofBundleModel.EntryDigest> digests = new LinkedHashMap<>();
+        issuedManifest.entries().forEach(digest -> digests.put(digest.name(), digest));
+        byte[] signature = (compactJws + "\n").getBytes(StandardCharsets.US_ASCII);
+        List<ProofArchive.ArchiveEntry> entries = new ArrayList<>(ProofArchive.ENTRY_ORDER.size());
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entries.size() == ProofArchive.ENTRY_ORDER.size()
+                        || !ProofArchive.ENTRY_ORDER.get(entries.size()).equals(entry.getName())) {
+                    return null;
+                }
+                byte[] content = zip.readNBytes(MAX_ENTRY_BYTES + 1);
+                if (content.length > MAX_ENTRY_BYTES) {
+                    return null;
+                }
+                String mediaType;
+                if (ProofArchive.MANIFEST_ENTRY.equals(entry.getName())) {
+                    if (!manifestHash.equals(canonicalizer.sha256(content))) {
+                        return null;
+                    }
+                    mediaType = SignedProofBundleContract.JSON_MEDIA_TYPE;
+                } else if (ProofArchive.SIGNATURE_ENTRY.equals(entry.getName())) {
+                    if (!Arrays.equals(signature, content)) {
+                        return null;
+                    }
+                    mediaType = SignedProofBundleContract.JWS_MEDIA_TYPE;
+                } else {
+                    SignedProofBundleModel.EntryDigest digest = digests.get(entry.getName());
+                    if (digest == null
+                            || digest.size() != content.length
+                            || !Objects.equals(digest.sha256(), canonicalizer.sha256(content))) {
+                        return null;
+                    }
+                    mediaType = digest.mediaType();
+                }
+                entries.add(new ProofArchive.ArchiveEntry(entry.getName(), mediaType, content));
+            }
+        }
+        if (entries.size() != ProofArchive.ENTRY_ORDER.size()) {
+            return null;
+        }
+        return new ProofArchive(fileName, manifestHash, compactJws, entries);
+    }
+
+    /**
+     * 删除父目录下其他已无持有者的缓存目录；创建中的目录只在超过宽限期后才参与清理，
+     * 覆盖在改名前崩溃的进程。清理失败只留下磁盘占用，不影响本进程缓存。
+     */
+    private void sweepStaleDirectories(Path parent, Path own) {
+        Instant pendingCutoff = Instant.now().minus(PENDING_GRACE);
+        List<Path> candidates;
+        try (Stream<Path> siblings = Files.list(parent)) {
+            candidates = siblings
+                    .filter(path -> !path.equals(own) && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS))
+                    .filter(path -> path.getFileName().toString().startsWith(DIRECTORY_PREFIX)
+                            || (path.getFileName().toString().startsWith(PENDING_PREFIX)
+                            && modifiedBefore(path, pendingCutoff)))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("遗留签名 proof archive 缓存目录扫描失败: {}", e.getMessage());
+            return;
+        }
+        long swept = candidates.stream().filter(this::deleteIfUnowned).count();
+        if (swept > 0) {
+            log.info("已清理遗留签名 proof archive 缓存目录: {} 个", swept);
+        }
+    }
+
+    /**
+     * 能取得目录锁说明持有进程已退出，持锁删除其全部文件、锁文件与目录本身；锁被占用时保留目录。
+     */
+    private boolean deleteIfUnowned(Path stale) {
+        try (FileChannel channel = FileChannel.open(
+                stale.resolve(OWNER_LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.tryLock()) {
+            if (lock == null) {
+                return false;
+            }
+            try (Stream<Path> files = Files.list(stale)) {
+                files.filter(path -> !path.getFileName().toString().equals(OWNER_LOCK))
+                        .forEach(this::deleteQuietly);
+            }
+            deleteQuietly(stale.resolve(OWNER_LOCK));
+            deleteQuietly(stale);
+        } catch (IOException | OverlappingFileLockException e) {
+            return false;
+        }
+        return Files.notExists(stale, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    /**
+     * 判断目录最后修改时间是否早于给定时刻；读取失败时视为仍在使用。
+     */
+    private boolean modifiedBefore(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path, LinkOption.NOFOLLOW_LINKS).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 释放本进程的目录锁。
+     */
+    private void releaseOwnerLock() {
+        FileChannel current = ownerLock;
+        ownerLock = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.debug("签名 proof archive 缓存目录锁释放失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 尽力删除缓存文件；失败只影响磁盘回收，不影响正确性。
+     */
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("签名 proof archive 缓存文件删除失败: {}", path);
+        }
+    }
+
+    /**
+     * 决定 archive 字节的全部输入；新增影响 archive 的输入时必须同时加入此记录。
+     */
+    public record Inputs(
+            Long tenantId,
+            String fileName,
+            Long issuanceId,
+            String issuanceStatus,
+            Long statusVersion,
+            String manifestHash,
+            String manifestJson,
+            String signatureJws,
+            ProofSigningKeyMetadata key,
+            String keyStatus,
+            Long batchId,
+            String batchStatus,
+            Long batchStateVersion,
+            SignedProofBundleModel.EvidencePayloads payloads
+    ) {
+    }
+
+    /** 一个磁盘缓存条目及其失效维度。 */
+    private record CachedArchive(
+            Path path,
+            long size,
+            Long batchId,
+            String keyId,
+            Integer keyVersion
+    ) {
+    }
+}
@@ -0,0 +1,24 @@
+package cn.flying.service.proof.signed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 已重建签名 proof ZIP 本地磁盘缓存配置；目录为空时使用进程私有临时目录。
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "proof.archive-cache")
+public class ProofArchiveCacheProperties {
+
+    private boolean enabled = true;
+
+    private String directory;
+
+    private long maxBytes = 64L * 1024 * 1024;
+
+    private int maxEntries = 4096;
+}
@@ -18,6 +18,11 @@ public interface SignedProofArchiveService {
      */
     ProofArchive exportByLeafId(Long userId, Long leafId);
 
+    /**
+     * 预检批量导出条件并返回按 keyset 顺序流式写出签名 proof ZIP 的导出；管理员导出整个租户，其他用户仅导出本人文件。
+     */
+    BulkProofArchiveExport prepareBulkExport(Long userId, BulkProofArchiveExportRequest request);
+
     /**
      * 撤销当前用户有权管理的 leaf proof。
      */
@@ -7,6 +7,7 @@ import cn.flying.common.exception.RetryableException;
 import cn.flying.common.tenant.TenantContext;
 import cn.flying.common.util.IdUtils;
 import cn.flying.common.util.JsonConverter;
+import cn.flying.common.util.KeysetCursor;
 import cn.flying.common.util.SecurityUtils;
 import cn.flying.common.util.SnowflakeIdGenerator;
 import cn.flying.dao.dto.File;
@@ -54,8 +55,11 @@ import java.security.KeyFactory;
 import java.security.PublicKey;
 import java.security.spec.X509EncodedKeySpec;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -95,6 +99,11 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
     private static final String JCA_SIGNATURE_ALGORITHM = "Ed25519";
     private static final int MAX_MANIFEST_CHUNKS = SignedProofBundleContract.MAX_CHUNKS;
     private static final int MAX_CONCURRENT_EXPORTS = 8;
+    private static final int MAX_CONCURRENT_BULK_EXPORTS = 2;
+    private static final int DEFAULT_BULK_EXPORT_LIMIT = 500;
+    private static final int MAX_BULK_EXPORT_LIMIT = 2000;
+    private static final int BULK_EXPORT_PAGE_SIZE = 100;
+    private static final int MAX_CACHED_SHARED_EVIDENCE = 256;
     private static final int MAX_ISSUANCE_TRANSACTION_ATTEMPTS = 3;
     private static final int MAX_PENDING_FINALIZATION_RECHECKS = 40;
     private static final long PENDING_FINALIZATION_RECHECK_MILLIS = 25L;
@@ -145,7 +154,9 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
     private final ProofCanonicalizer canonicalizer;
     private final SnowflakeIdGenerator snowflakeIdGenerator;
     private final TransactionTemplate transactionTemplate;
+    private final ProofArchiveCache archiveCache;
     private final Semaphore exportPermits = new Semaphore(MAX_CONCURRENT_EXPORTS, true);
+    private final Semaphore bulkExportPermits = new Semaphore(MAX_CONCURRENT_BULK_EXPORTS, true);
     private volatile LongSupplier currentTimeMillisSource = System::currentTimeMillis;
     private volatile LongSupplier nanoTimeSource = System::nanoTime;
     private volatile long storageValidationBudgetNanos = MAX_STORAGE_VALIDATION_NANOS;
@@ -159,7 +170,7 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
             signingProvider.requireExportEnabled();
             File file = loadAuthorizedFile(userId, fileId);
             AttestationLeaf leaf = findLatestManifestLeaf(file);
-            return exportValidated(file, leaf);
+            return exportValidated(file, leaf, new SharedEvidence());
         });
     }
 
@@ -183,10 +194,181 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
                 throw new GeneralException(ResultEnum.FILE_RECORD_ERROR, "证明叶子不存在");
             }
             File file = loadAuthorizedFile(userId, leaf.getFileId());
-            return exportValidated(file, leaf);
+            return exportValidated(file, leaf, new SharedEvidence());
         });
     }
 
+    /**
+     * 在请求线程内固定租户、权限和筛选条件，返回写出时才逐页读取叶子的批量导出。
+     */
+    @Override
+    public BulkProofArchiveExport prepareBulkExport(Long userId, BulkProofArchiveExportRequest request) {
+        signingProvider.requireExportEnabled();
+        Long tenantId = TenantContext.requireTenantId();
+        boolean admin = SecurityUtils.isAdmin();
+        if (!admin && userId == null) {
+            throw new GeneralException(ResultEnum.PERMISSION_UNAUTHORIZED, "无权批量导出证明包");
+        }
+        if (request == null) {
+            throw new GeneralException(ResultEnum.PARAM_IS_INVALID, "批量导出条件不能为空");
+        }
+        Date createdFrom = request.createdFrom();
+        Date createdTo = request.createdTo();
+        if (createdFrom != null && createdTo != null && !createdFrom.before(createdTo)) {
+            throw new GeneralException(ResultEnum.PARAM_IS_INVALID, "批量导出时间范围无效");
+        }
+        if (request.limit() != null && (request.limit() <= 0 || request.limit() > MAX_BULK_EXPORT_LIMIT)) {
+            throw new GeneralException(ResultEnum.PARAM_IS_INVALID, "批量导出数量超出范围");
+        }
+        KeysetCursor start = KeysetCursor.decode(request.cursor());
+        BulkExportScope scope = new BulkExportScope(
+                tenantId,
+                userId,
+                admin,
+                createdFrom,
+                createdTo,
+                request.limit() == null ? DEFAULT_BULK_EXPORT_LIMIT : request.limit());
+        return new BulkProofArchiveExport(
+                "record-proof-export.zip",
+                sink -> TenantContext.callWithTenant(tenantId, () -> writeBulkExport(scope, start, sink)));
+    }
+
+    /**
+     * 在批量与单次导出两层 bulkhead 内执行导出；容量不足时不抛出，而是返回可原样续传的 INTERRUPTED 汇总。
+     */
+    private BulkProofArchiveExportSummary writeBulkExport(
+            BulkExportScope scope,
+            KeysetCursor start,
+            BulkProofArchiveExport.ArchiveSink sink
+    ) {
+        String startCursor = start == null ? null : start.encode();
+        if (!bulkExportPermits.tryAcquire()) {
+            return new BulkProofArchiveExportSummary(
+                    BulkProofArchiveExportSummary.STATUS_INTERRUPTED, 0, List.of(), startCursor);
+        }
+        try {
+            if (!exportPermits.tryAcquire()) {
+                return new BulkProofArchiveExportSummary(
+                        BulkProofArchiveExportSummary.STATUS_INTERRUPTED, 0, List.of(), startCursor);
+            }
+            try {
+                return exportKeysetRange(scope, start, sink);
+            } finally {
+                exportPermits.release();
+            }
+        } finally {
+            bulkExportPermits.release();
+        }
+    }
+
+    /**
+     * 按 (create_time, id) 升序逐页读取叶子并批量加载文件；batch、合约注册表和签名 key 在本次导出内只校验一次。
+     * 确定性失败记录后继续，依赖暂时不可用时停在最后一个已处理位置。
+     */
+    private BulkProofArchiveExportSummary exportKeysetRange(
+            BulkExportScope scope,
+            KeysetCursor start,
+            BulkProofArchiveExport.ArchiveSink sink
+    ) {
+        SharedEvidence shared = new SharedEvidence();
+        List<BulkProofArchiveExportSummary.Failure> failures = new ArrayList<>();
+        KeysetCursor position = start;
+        int exported = 0;
+        int processed = 0;
+        while (processed < scope.limit()) {
+            int pageSize = Math.min(BULK_EXPORT_PAGE_SIZE, scope.limit() - processed);
+            List<AttestationLeaf> page = leafMapper.selectExportPage(
+                    scope.tenantId(),
+                    scope.admin() ? null : scope.userId(),
+                    scope.createdFrom(),
+                    scope.createdTo(),
+                    position == null ? null : position.date(),
+                    position == null ? null : position.id(),
+                    pageSize);
+            Map<Long, File> files = loadPageFiles(page);
+            for (AttestationLeaf leaf : page) {
+                KeysetCursor itemCursor = KeysetCursor.of(leaf.getCreateTime(), leaf.getId());
+                ProofArchive archive;
+                try {
+                    File file = authorizeFile(scope.tenantId(), scope.userId(), scope.admin(),
+                            files.get(leaf.getFileId()));
+                    archive = exportValidated(file, leaf, shared);
+                } catch (RetryableException | TransientDataAccessException unavailable) {
+                    return new BulkProofArchiveExportSummary(
+                            BulkProofArchiveExportSummary.STATUS_INTERRUPTED,
+                            exported,
+                            failures,
+                            position == null ? null : position.encode());
+                } catch (GeneralException deterministicFailure) {
+                    failures.add(new BulkProofArchiveExportSummary.Failure(
+                            IdUtils.toExternalId(leaf.getId()),
+                            itemCursor.encode(),
+                            failureCode(deterministicFailure),
+                            failureMessage(deterministicFailure)));
+                    position = itemCursor;
+                    processed++;
+                    continue;
+                }
+                sink.accept(itemCursor.encode(), archive);
+                exported++;
+                processed++;
+                position = itemCursor;
+            }
+            if (page.size() < pageSize) {
+                return new BulkProofArchiveExportSummary(
+                        BulkProofArchiveExportSummary.STATUS_COMPLETE, exported, failures, null);
+            }
+        }
+        return new BulkProofArchiveExportSummary(
+                BulkProofArchiveExportSummary.STATUS_PARTIAL,
+                exported,
+                failures,
+                position == null ? null : position.encode());
+    }
+
+    /**
+     * 用一次主键批量查询加载整页叶子引用的文件。
+     */
+    private Map<Long, File> loadPageFiles(List<AttestationLeaf> page) {
+        if (page.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> fileIds = page.stream()
+                .map(AttestationLeaf::getFileId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (fileIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, File> files = new HashMap<>();
+        for (File file : fileMapper.selectBatchIds(fileIds)) {
+            files.put(file.getId(), file);
+        }
+        return files;
+    }
+
+    /**
+     * 取业务错误码；未绑定 ResultEnum 的异常归为文件记录错误。
+     */
+    private int failureCode(GeneralException failure) {
+        ResultEnum resultEnum = failure.getResultEnum() == null ? ResultEnum.FILE_RECORD_ERROR : failure.getResultEnum();
+        return resultEnum.getCode();
+    }
+
+    /**
+     * 优先使用抛出点的具体描述，其次使用错误码默认描述。
+     */
+    private String failureMessage(GeneralException failure) {
+        if (failure.getData() instanceof String detail && StringUtils.hasText(detail)) {
+            return detail;
+        }
+        if (StringUtils.hasText(failure.getMessage())) {
+            return failure.getMessage();
+        }
+        return failure.getResultEnum() == null ? ResultEnum.FILE_RECORD_ERROR.getMessage() : failure.getResultEnum().getMessage();
+    }
+
     /**
      * 以 fail-fast bulkhead 限制完整证据校验并发，防止远程 HEAD 调用被请求重放放大。
      */
@@ -297,7 +479,7 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
     /**
      * 校验所有证据，首次签发或使用历史签名快照确定性重建 archive。
      */
-    private ProofArchive exportValidated(File file, AttestationLeaf leaf) {
+    private ProofArchive exportValidated(File file, AttestationLeaf leaf, SharedEvidence shared) {
         validateLeafBinding(file, leaf);
         ProofBundleIssuance existing = findIssuance(file.getTenantId(), leaf.getId());
         SignedProofBundleModel.Manifest issuedManifest = null;
@@ -305,10 +487,12 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
             issuedManifest = loadIssuedManifestForEvidence(file, leaf);
         }
 
-        AttestationBatch batch = loadCompletedBatch(file.getTenantId(), leaf.getBatchId());
+        AttestationBatch batch = shared.batches.computeIfAbsent(
+                leaf.getBatchId(), batchId -> loadCompletedBatch(file.getTenantId(), batchId));
         ChunkManifestView manifest = loadAndValidateManifest(file, leaf);
         List<MerkleProofNode> proofPath = validateMerkleEvidence(leaf, batch);
-        ContractRegistryEntryResponse registry = requireRegistry(batch);
+        ContractRegistryEntryResponse registry = shared.registries.computeIfAbsent(
+                batch.getId(), batchId -> requireRegistry(batch));
         validateStorageEvidence(file, manifest);
         String externalFileId = issuedManifest == null
                 ? IdUtils.toExternalId(file.getId())
@@ -323,9 +507,9 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
                 externalFileId);
 
         if (existing != null) {
-            return rebuildExisting(file, leaf, batch, payloads);
+            return rebuildExisting(file, leaf, batch, payloads, shared);
         }
-        return issueNew(file, leaf, batch, payloads);
+        return issueNew(file, leaf, batch, payloads, shared);
     }
 
     /**
@@ -335,14 +519,15 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
             File file,
             AttestationLeaf leaf,
             AttestationBatch batch,
-            SignedProofBundleModel.EvidencePayloads payloads
+            SignedProofBundleModel.EvidencePayloads payloads,
+            SharedEvidence shared
     ) {
         int remainingAttempts = MAX_ISSUANCE_TRANSACTION_ATTEMPTS;
         int remainingFinalizationRechecks = MAX_PENDING_FINALIZATION_RECHECKS;
         while (true) {
             try {
                 ProofFinalizationOutcome outcome = transactionTemplate.execute(status ->
-                        issueNewLocked(file, leaf, batch, payloads));
+                        issueNewLocked(file, leaf, batch, payloads, shared));
                 return requireSuccessfulOutcome(outcome);
             } catch (PendingVersionFinalizationException pendingFinalization) {
                 remainingFinalizationRechecks--;
@@ -405,7 +590,8 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
             File file,
             AttestationLeaf leaf,
             AttestationBatch batch,
-            SignedProofBundleModel.EvidencePayloads payloads
+            SignedProofBundleModel.EvidencePayloads payloads,
+            SharedEvidence shared
     ) {
         lockVersionGroupForProofLifecycle(file);
         ProofBundleIssuance concurrent = issuanceMapper.selectByLeafForUpdate(
@@ -413,7 +599,7 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
         if (concurrent != null) {
             concurrent = synchronizeSupersededStatus(file, concurrent);
             requireExportableStatus(concurrent);
-            return rebuildExistingLocked(file, leaf, batch, payloads, concurrent);
+            return rebuildExistingLocked(file, leaf, batch, payloads, concurrent, shared);
         }
         if (hasNewerPendingFinalization(file)) {
             throw new PendingVersionFinalizationException();
@@ -476,7 +662,7 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
             }
             concurrent = synchronizeSupersededStatus(file, concurrent);
             requireExportableStatus(concurrent);
-            return rebuildExistingLocked(file, leaf, batch, payloads, concurrent);
+            return rebuildExistingLocked(file, leaf, batch, payloads, concurrent, shared);
         }
     }
 
@@ -487,7 +673,8 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
             File file,
             AttestationLeaf leaf,
             AttestationBatch batch,
-            SignedProofBundleModel.EvidencePayloads payloads
+            SignedProofBundleModel.EvidencePayloads payloads,
+            SharedEvidence shared
     ) {
         ProofFinalizationOutcome outcome = transactionTemplate.execute(status -> {
             lockVersionGroupForProofLifecycle(file);
@@ -498,7 +685,7 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
             }
             current = synchronizeSupersededStatus(file, current);
             requireExportableStatus(current);
-            return rebuildExistingLocked(file, leaf, batch, payloads, current);
+            return rebuildExistingLocked(file, leaf, batch, payloads, current, shared);
         });
         return requireSuccessfulOutcome(outcome);
     }
@@ -511,7 +698,8 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
             AttestationLeaf leaf,
             AttestationBatch batch,
             SignedProofBundleModel.EvidencePayloads payloads,
-            ProofBundleIssuance issuance
+            ProofBundleIssuance issuance,
+            SharedEvidence shared
     ) {
         try {
             SignedProofBundleModel.Manifest issuedManifest = parseIssuedManifest(issuance);
@@ -527,12 +715,39 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
                     issuance.getKeyVersion(),
                     issuance.getPublicKeySpki(),
                     issuance.getPublicKeyFingerprint());
-            requireRegisteredKey(key, PUBLIC_KEY_STATUS);
+            String keyStatus = shared.registeredKeyStatus.get(key);
+            if (keyStatus == null) {
+                keyStatus = requireRegisteredKey(key, PUBLIC_KEY_STATUS);
+                shared.registeredKeyStatus.put(key, keyStatus);
+            }
+            String fileName = archiveFileName(issuedManifest.fileId(), file.getVersion());
+            SignedProofBundleModel.EvidencePayloads issuedPayloads =
+                    rebindExternalFileId(payloads, issuedManifest.fileId());
+            String cacheKey = archiveCache.key(new ProofArchiveCache.Inputs(
+                    file.getTenantId(),
+                    fileName,
+                    issuance.getId(),
+                    issuance.getStatus(),
+                    issuance.getStatusVersion(),
+                    issuance.getManifestHash(),
+                    issuance.getManifestJson(),
+                    issuance.getSignatureJws(),
+                    key,
+                    keyStatus,
+                    batch.getId(),
+                    batch.getStatus(),
+                    batch.getStateVersion(),
+                    issuedPayloads));
+            ProofArchive cached = archiveCache.find(
+                    cacheKey, fileName, issuedManifest, issuance.getManifestHash(), issuance.getSignatureJws());
+            if (cached != null) {
+                return new ProofFinalizationOutcome(cached, null);
+            }
             SignedProofBundleModel.ManifestSeed seed = manifestSeed(issuedManifest);
             ProofArchive archive = archiveBuilder.rebuild(
-                    archiveFileName(issuedManifest.fileId(), file.getVersion()),
+                    fileName,
                     seed,
-                    rebindExternalFileId(payloads, issuedManifest.fileId()),
+                    issuedPayloads,
                     key,
                     issuance.getSignatureJws());
             String manifestJson = new String(archive.entries().getFirst().bytes(), StandardCharsets.UTF_8);
@@ -541,6 +756,7 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
                     || !Objects.equals(issuance.getSignatureJws(), archive.compactJws())) {
                 throw new GeneralException(ResultEnum.FILE_RECORD_ERROR, "已签发证明包不可变快照发生漂移");
             }
+            archiveCache.put(cacheKey, archive, batch.getId(), key.keyId(), key.keyVersion());
             return new ProofFinalizationOutcome(archive, null);
         } catch (GeneralException deterministicFailure) {
             markInvalidLocked(issuance);
@@ -572,14 +788,20 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
         if (fileId == null) {
             throw new GeneralException(ResultEnum.PARAM_IS_INVALID, "fileId 不能为空");
         }
-        File file = fileMapper.selectById(fileId);
+        return authorizeFile(tenantId, userId, SecurityUtils.isAdmin(), fileMapper.selectById(fileId));
+    }
+
+    /**
+     * 对已加载文件执行 tenant、owner、删除、版本和 contentHash 校验；批量导出复用请求线程固定的管理员身份。
+     */
+    private File authorizeFile(Long tenantId, Long userId, boolean admin, File file) {
         if (file == null || Integer.valueOf(1).equals(file.getDeleted())) {
             throw new GeneralException(ResultEnum.FILE_NOT_EXIST);
         }
         if (!Objects.equals(tenantId, file.getTenantId())) {
             throw new GeneralException(ResultEnum.PERMISSION_UNAUTHORIZED, "文件不属于当前租户");
         }
-        if (!SecurityUtils.isAdmin() && (userId == null || !Objects.equals(userId, file.getUid()))) {
+        if (!admin && (userId == null || !Objects.equals(userId, file.getUid()))) {
             throw new GeneralException(ResultEnum.PERMISSION_UNAUTHORIZED, "无权导出此文件证明包");
         }
         if (!Objects.equals(FileUploadStatus.SUCCESS.getCode(), file.getStatus())) {
@@ -658,10 +880,23 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
     }
 
     /**
-     * 加载已完成 batch 并校验链根确认字段。
+     * 加载已完成 batch 并校验链根确认字段；批次不再可用时同时丢弃其缓存 archive。
      */
     private AttestationBatch loadCompletedBatch(Long tenantId, Long batchId) {
         AttestationBatch batch = batchMapper.selectById(batchId);
+        try {
+            requireCompletedBatch(tenantId, batch);
+        } catch (GeneralException unavailable) {
+            archiveCache.invalidateBatch(batchId);
+            throw unavailable;
+        }
+        return batch;
+    }
+
+    /**
+     * 校验 batch 已完成且链根确认字段可信。
+     */
+    private void requireCompletedBatch(Long tenantId, AttestationBatch batch) {
         if (batch == null
                 || Integer.valueOf(1).equals(batch.getDeleted())
                 || !Objects.equals(tenantId, batch.getTenantId())
@@ -685,7 +920,6 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
                 || !batch.getMerkleRoot().equals(batch.getChainFileHash())) {
             throw new GeneralException(ResultEnum.FILE_RECORD_ERROR, "批量 Merkle 根与链上回执不一致");
         }
-        return batch;
     }
 
     /**
@@ -1334,16 +1568,20 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
     }
 
     /**
-     * 要求历史签发引用的 key 仍存在于唯一注册表且公开材料完全相同。
+     * 要求历史签发引用的 key 仍存在于唯一注册表且公开材料完全相同；失效时同时丢弃该 key 的缓存 archive。
+     *
+     * @return 注册表中的 key 状态
      */
-    private void requireRegisteredKey(ProofSigningKeyMetadata key, Set<String> allowedStatus) {
+    private String requireRegisteredKey(ProofSigningKeyMetadata key, Set<String> allowedStatus) {
         ProofSigningKeyRecord existing = signingKeyMapper.selectByIdentity(key.keyId(), key.keyVersion());
         if (existing == null
                 || !allowedStatus.contains(existing.getStatus())
                 || !matchesKeyIdentity(existing, key)
                 || !hasValidPublicKeyMetadata(key)) {
+            archiveCache.invalidateSigningKey(key.keyId(), key.keyVersion());
             throw new GeneralException(ResultEnum.PERMISSION_SIGNATURE_ERROR, "历史证明签名 key 注册信息无效");
         }
+        return existing.getStatus();
     }
 
     /**
@@ -1649,4 +1887,36 @@ public class SignedProofArchiveServiceImpl implements SignedProofArchiveService
             GeneralException failure
     ) {
     }
+
+    /**
+     * 请求线程内确定的批量导出租户、身份和筛选范围。
+     */
+    private record BulkExportScope(
+            Long tenantId,
+            Long userId,
+            boolean admin,
+            Date createdFrom,
+            Date createdTo,
+            int limit
+    ) {
+    }
+
+    /**
+     * 一次导出内已通过校验的共享证据；单次导出每次新建，批量导出在整个流内复用且按 LRU 限制条目数。
+     */
+    private static final class SharedEvidence {
+
+        private final Map<Long, AttestationBatch> batches = boundedCache();
+        private final Map<Long, ContractRegistryEntryResponse> registries = boundedCache();
+        private final Map<ProofSigningKeyMetadata, String> registeredKeyStatus = boundedCache();
+
+        private static <K, V> Map<K, V> boundedCache() {
+            return new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > MAX_CACHED_SHARED_EVIDENCE;
+                }
+            };
+        }
+    }
 }
@@ -25,14 +25,19 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 /**
@@ -48,13 +53,19 @@ import java.util.function.Consumer;
 public class FileSagaOrchestrator {
 
     private static final String DEFAULT_MAX_IN_MEMORY_CHUNK_BYTES = "83886080";
+    private static final int MEMORY_PERMIT_UNIT_BYTES = 1024;
     private final FileSagaMapper sagaMapper;
     private final FileRemoteClient fileRemoteClient;
     private final OutboxService outboxService;
     private final SagaMetrics sagaMetrics;
     private final TenantMapper tenantMapper;
     private final SagaCompensationHelper compensationHelper;
-    private final Semaphore uploadMemoryPermit = new Semaphore(1);
+    @Qualifier("virtualThreadExecutor")
+    private final TaskExecutor chunkUploadExecutor;
+    /**
+     * 实例级分片内存预算（KiB 许可），所有 Saga 的在途分片共享；首次上传时按配置惰性创建
+     */
+    private volatile Semaphore uploadMemoryBudget;
     @Value("${saga.compensation.max-retries:5}")
     private int maxCompensationRetries;
     @Value("${saga.compensation.batch-size:50}")
@@ -151,8 +162,9 @@ public class FileSagaOrchestrator {
      * <p><b>当前实现约束</b>:
      * 分片数据会完整加载到堆内存后通过 Dubbo 传输到存储服务。
      * 单分片上限 80MB，受 Dubbo 100MB 消息体限制。
-     * 高并发场景需注意堆内存使用，建议 JVM heap ≥ 4GB。
-     * 堆内存估算公式：并发上传数 × 分片大小 × 2（读取+传输缓冲）。
+     * 各分片并发分发，但在途分片字节总量受 {@code saga.upload.max-in-memory-chunk-bytes}
+     * 实例级预算约束（所有 Saga 共享），堆内存上限约为预算 × 2（读取+传输缓冲）。
+     * 结果按分片序号归并，与串行上传的引用顺序一致。
      * </p>
      *
      * <p><b>v2.0 改进计划</b>（参见 ROADMAP.md P2 任务）:
@@ -176,18 +188,17 @@ public class FileSagaOrchestrator {
         saga.advanceTo(FileSagaStep.S3_UPLOADING);
         compensationHelper.updateSagaStepInNewTransaction(saga);
 
-        List<StoredObjectReference> storedObjects = new ArrayList<>();
-        Map<String, String> storedPaths = new LinkedHashMap<>();
         List<java.io.File> fileList = cmd.getFileList();
         List<String> fileHashList = cmd.getFileHashList();
         validateChunkInputs(fileList, fileHashList);
 
-        for (int i = 0; i < fileList.size(); i++) {
-            java.io.File chunkFile = fileList.get(i);
+        List<String> logicalPaths = storeChunksConcurrently(fileList, fileHashList);
+        List<StoredObjectReference> storedObjects = new ArrayList<>(logicalPaths.size());
+        Map<String, String> storedPaths = new LinkedHashMap<>();
+        for (int i = 0; i < logicalPaths.size(); i++) {
             String chunkHash = fileHashList.get(i);
-            String logicalPath = storeChunkWithMemoryPermit(i, chunkFile, chunkHash);
-            storedObjects.add(new StoredObjectReference(i, chunkHash, logicalPath));
-            storedPaths.put(chunkHash, logicalPath);
+            storedObjects.add(new StoredObjectReference(i, chunkHash, logicalPaths.get(i)));
+            storedPaths.put(chunkHash, logicalPaths.get(i));
         }
 
         context.setStoredObjects(storedObjects);
@@ -210,16 +221,80 @@ public class FileSagaOrchestrator {
     }
 
     /**
-     * 在单实例内存许可保护下读取并上传分片，确保 byte[] 载荷不会并发放大堆内存占用。
+     * 并发上传全部分片并按序号返回逻辑路径。
+     * <p>
+     * 调用线程先完成全部分片的参数与大小校验，再按序号依次获取与分片大小等重的内存许可后分发，
+     * 预算耗尽时在调用线程阻塞形成背压；任一分片失败后停止分发，等待已分发分片结束并归还许可后抛出首个失败。
      */
-    private String storeChunkWithMemoryPermit(int index, java.io.File chunkFile, String chunkHash) {
-        validateChunkReference(index, chunkFile, chunkHash);
-        validateChunkSize(index, chunkFile);
+    private List<String> storeChunksConcurrently(List<java.io.File> fileList, List<String> fileHashList) {
+        long[] chunkSizes = new long[fileList.size()];
+        for (int i = 0; i < fileList.size(); i++) {
+            validateChunkReference(i, fileList.get(i), fileHashList.get(i));
+            chunkSizes[i] = validateChunkSize(i, fileList.get(i));
+        }
+
+        Semaphore budget = uploadMemoryBudget();
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<String>> dispatched = new ArrayList<>(fileList.size());
+        RuntimeException dispatchFailure = null;
+        for (int i = 0; i < fileList.size(); i++) {
+            int permits = toPermits(chunkSizes[i]);
+            try {
+                budget.acquire(permits);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dispatchFailure = new GeneralException(ResultEnum.FILE_UPLOAD_ERROR, "上传任务被中断");
+                break;
+            }
+            // 失败标记先于许可归还写入，获取许可后即可确定性地观察到此前分片的失败
+            if (failed.get()) {
+                budget.release(permits);
+                break;
+            }
+            int index = i;
+            try {
+                dispatched.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return storeChunk(index, fileList.get(index), fileHashList.get(index));
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        budget.release(permits);
+                    }
+                }, chunkUploadExecutor));
+            } catch (RuntimeException e) {
+                budget.release(permits);
+                dispatchFailure = e;
+                break;
+            }
+        }
 
-        boolean acquired = false;
+        List<String> logicalPaths = new ArrayList<>(dispatched.size());
+        RuntimeException firstFailure = null;
+        for (CompletableFuture<String> future : dispatched) {
+            try {
+                logicalPaths.add(future.join());
+            } catch (CompletionException e) {
+                if (firstFailure == null) {
+                    firstFailure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+        if (dispatchFailure != null) {
+            throw dispatchFailure;
+        }
+        return logicalPaths;
+    }
+
+    /**
+     * 读取并上传单个分片；调用方已为其持有等重的内存许可。
+     */
+    private String storeChunk(int index, java.io.File chunkFile, String chunkHash) {
         try {
-            uploadMemoryPermit.acquire();
-            acquired = true;
             byte[] chunkData = Files.readAllBytes(chunkFile.toPath());
             Result<String> result = fileRemoteClient.storeFileChunk(chunkData, chunkHash);
             String logicalPath = ResultUtils.getData(result);
@@ -228,17 +303,37 @@ public class FileSagaOrchestrator {
                 throw new GeneralException(ResultEnum.FILE_UPLOAD_ERROR);
             }
             return logicalPath;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new GeneralException(ResultEnum.FILE_UPLOAD_ERROR, "上传任务被中断");
         } catch (IOException e) {
             log.error("读取文件块失败: index={}, path={}", index, chunkFile.getPath(), e);
             throw new GeneralException(ResultEnum.FILE_NOT_EXIST);
-        } finally {
-            if (acquired) {
-                uploadMemoryPermit.release();
+        }
+    }
+
+    /**
+     * 获取实例级分片内存预算，首次调用时按配置创建公平信号量，避免大分片被小分片饿死。
+     */
+    private Semaphore uploadMemoryBudget() {
+        Semaphore budget = uploadMemoryBudget;
+        if (budget == null) {
+            synchronized (this) {
+                budget = uploadMemoryBudget;
+                if (budget == null) {
+                    budget = new Semaphore(toPermits(maxInMemoryChunkBytes), true);
+                    uploadMemoryBudget = budget;
+                }
             }
         }
+        return budget;
+    }
+
+    /**
+     * 将字节数换算为 KiB 许可，至少 1 个且不超过总预算。
+     */
+    private int toPermits(long bytes) {
+        long capacity = Math.max(1L, Math.min(Integer.MAX_VALUE,
+                (maxInMemoryChunkBytes + MEMORY_PERMIT_UNIT_BYTES - 1) / MEMORY_PERMIT_UNIT_BYTES));
+        long permits = (bytes + MEMORY_PERMIT_UNIT_BYTES - 1) / MEMORY_PERMIT_UNIT_BYTES;
+        return (int) Math.max(1L, Math.min(capacity, permits));
     }
 
     /**
@@ -252,9 +347,9 @@ public class FileSagaOrchestrator {
     }
 
     /**
-     * 在读取分片前检查文件大小，阻断超过 Dubbo byte[] 代理上传上限的请求。
+     * 在读取分片前检查文件大小，阻断超过 Dubbo byte[] 代理上传上限的请求，并返回分片字节数。
      */
-    private void validateChunkSize(int index, java.io.File chunkFile) {
+    private long validateChunkSize(int index, java.io.File chunkFile) {
         try {
             long chunkSize = Files.size(chunkFile.toPath());
             if (chunkSize > maxInMemoryChunkBytes) {
@@ -263,6 +358,7 @@ public class FileSagaOrchestrator {
                 throw new GeneralException(ResultEnum.FILE_UPLOAD_ERROR,
                         "分片大小超过后端代理上传上限，请使用 Multipart 直传链路");
             }
+            return chunkSize;
         } catch (GeneralException e) {
             throw e;
         } catch (IOException e) {
@@ -70,7 +70,8 @@ class AttestationBatchPersistenceServiceTest {
     @BeforeEach
     void setUp() {
         service = new AttestationBatchPersistenceService(
-                batchMapper, leafMapper, attemptMapper, candidateMapper, snowflakeIdGenerator);
+                batchMapper, leafMapper, attemptMapper, candidateMapper, snowflakeIdGenerator,
+                new SimulatedChainRegistryPolicy(false));
     }
 
     /**
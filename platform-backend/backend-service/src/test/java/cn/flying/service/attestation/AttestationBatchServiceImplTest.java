@@ -74,7 +74,8 @@ class AttestationBatchServiceImplTest {
                 merkleTreeService,
                 fileRemoteClient,
                 persistenceService,
-                new AttestationBatchIdempotencyKey());
+                new AttestationBatchIdempotencyKey(),
+                new SimulatedChainRegistryPolicy(false));
         lenient().when(fileRemoteClient.getContractRegistry())
                 .thenReturn(Result.success(List.of(contractRegistry())));
         lenient().when(persistenceService.requireContractRegistry(any()))
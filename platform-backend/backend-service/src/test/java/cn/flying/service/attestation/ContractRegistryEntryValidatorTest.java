@@ -23,6 +23,10 @@ class ContractRegistryEntryValidatorTest {
         besuFixture.chainType = "BSN_BESU";
         besuFixture.groupId = null;
         ContractRegistryEntryResponse activeBesu = besuFixture.build();
+        RegistryFixture inMemoryFixture = new RegistryFixture();
+        inMemoryFixture.chainType = "IN_MEMORY";
+        inMemoryFixture.groupId = null;
+        ContractRegistryEntryResponse activeInMemory = inMemoryFixture.build();
         RegistryFixture deprecatedFixture = new RegistryFixture();
         deprecatedFixture.status = "DEPRECATED";
         ContractRegistryEntryResponse deprecated = deprecatedFixture.build();
@@ -32,6 +36,11 @@ class ContractRegistryEntryValidatorTest {
 
         assertThat(ContractRegistryEntryValidator.isValidActiveSharingRegistry(activeFisco)).isTrue();
         assertThat(ContractRegistryEntryValidator.isValidActiveSharingRegistry(activeBesu)).isTrue();
+        assertThat(ContractRegistryEntryValidator.isValidActiveSharingRegistry(activeInMemory)).isFalse();
+        assertThat(ContractRegistryEntryValidator.isValidPersistedSharingRegistry(activeInMemory)).isFalse();
+        assertThat(ContractRegistryEntryValidator.isValidActiveSharingRegistry(activeInMemory, true)).isTrue();
+        assertThat(ContractRegistryEntryValidator.isValidPersistedSharingRegistry(activeInMemory, true)).isTrue();
+        assertThat(ContractRegistryEntryValidator.isValidIssuableSharingRegistry(activeInMemory)).isFalse();
         assertThat(ContractRegistryEntryValidator.isValidIssuableSharingRegistry(deprecated)).isTrue();
         assertThat(ContractRegistryEntryValidator.isValidActiveSharingRegistry(deprecated)).isFalse();
         assertThat(ContractRegistryEntryValidator.isValidPersistedSharingRegistry(revoked)).isTrue();
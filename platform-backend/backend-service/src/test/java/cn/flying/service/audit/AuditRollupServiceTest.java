@@ -0,0 +1,81 @@
+package cn.flying.service.audit;
+
+import cn.flying.dao.mapper.SysAuditRollupMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 验证审计预聚合历史回填的游标推进与终止条件。
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditRollupServiceTest {
+
+    private static final Long TENANT_ID = 7L;
+
+    @Mock
+    private SysAuditRollupMapper rollupMapper;
+
+    @InjectMocks
+    private AuditRollupService auditRollupService;
+
+    /**
+     * 验证每次只重算游标所在的一天，并在同一事务内把游标前移一天。
+     */
+    @Test
+    void backfillNextDay_reconcilesCursorDayAndMovesBackwards() {
+        LocalDate day = LocalDate.of(2026, 3, 10);
+        when(rollupMapper.selectBackfillCursorForUpdate(TENANT_ID)).thenReturn(day);
+        when(rollupMapper.selectOldestLogTime(TENANT_ID)).thenReturn(day.minusDays(30).atTime(8, 0));
+
+        assertThat(auditRollupService.backfillNextDay(TENANT_ID)).isTrue();
+
+        InOrder order = inOrder(rollupMapper);
+        order.verify(rollupMapper).initBackfillCursor(TENANT_ID, LocalDate.now().minusDays(1));
+        order.verify(rollupMapper).deleteCounterBuckets(TENANT_ID, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        order.verify(rollupMapper).reconcileDayCounters(TENANT_ID, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        order.verify(rollupMapper).reconcileErrors(TENANT_ID, day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        order.verify(rollupMapper).updateBackfillCursor(TENANT_ID, day.minusDays(1));
+    }
+
+    /**
+     * 验证游标越过最早一条原始日志后置空，不再重算。
+     */
+    @Test
+    void backfillNextDay_completesBeforeOldestLog() {
+        LocalDate day = LocalDate.of(2026, 3, 10);
+        when(rollupMapper.selectBackfillCursorForUpdate(TENANT_ID)).thenReturn(day);
+        when(rollupMapper.selectOldestLogTime(TENANT_ID)).thenReturn(day.plusDays(1).atTime(0, 5));
+
+        assertThat(auditRollupService.backfillNextDay(TENANT_ID)).isFalse();
+
+        verify(rollupMapper).updateBackfillCursor(TENANT_ID, null);
+        verify(rollupMapper, never()).deleteCounterBuckets(anyLong(), any(), any());
+    }
+
+    /**
+     * 验证已完成的租户只读取游标，不再扫描原始日志。
+     */
+    @Test
+    void backfillNextDay_isNoOpOnceCompleted() {
+        when(rollupMapper.selectBackfillCursorForUpdate(TENANT_ID)).thenReturn(null);
+
+        assertThat(auditRollupService.backfillNextDay(TENANT_ID)).isFalse();
+
+        verify(rollupMapper, never()).selectOldestLogTime(anyLong());
+        verify(rollupMapper, never()).updateBackfillCursor(anyLong(), any());
+    }
+}
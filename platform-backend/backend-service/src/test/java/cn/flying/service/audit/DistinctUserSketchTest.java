@@ -0,0 +1,63 @@
+package cn.flying.service.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 验证审计去重用户草图的寄存器范围、合并语义与估算精度。
+ */
+class DistinctUserSketchTest {
+
+    /**
+     * 验证寄存器下标与 rank 始终落在表结构允许范围内，且同一用户结果稳定。
+     */
+    @Test
+    void shouldProduceStableRegistersWithinBounds() {
+        for (int i = 0; i < 5_000; i++) {
+            DistinctUserSketch.Register register = DistinctUserSketch.registerFor("user-" + i);
+            assertThat(register.index()).isBetween(0, DistinctUserSketch.REGISTER_COUNT - 1);
+            assertThat(register.rank()).isBetween(1, Long.SIZE - DistinctUserSketch.PRECISION + 1);
+        }
+        assertThat(DistinctUserSketch.registerFor("user-42")).isEqualTo(DistinctUserSketch.registerFor("user-42"));
+    }
+
+    /**
+     * 验证空草图为 0，重复用户不影响计数，小基数走线性计数保持精确。
+     */
+    @Test
+    void shouldIgnoreDuplicatesAndStayAccurateForSmallCardinality() {
+        assertThat(DistinctUserSketch.estimate(Map.of())).isZero();
+
+        Map<Integer, Integer> registers = new HashMap<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 100; i++) {
+                merge(registers, "user-" + i);
+            }
+        }
+
+        assertThat((double) DistinctUserSketch.estimate(registers)).isCloseTo(100D, within(5D));
+    }
+
+    /**
+     * 验证大基数估算误差在 HyperLogLog 标准误差的合理倍数内。
+     */
+    @Test
+    void shouldEstimateLargeCardinalityWithinTolerance() {
+        Map<Integer, Integer> registers = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            merge(registers, "user-" + i);
+        }
+
+        assertThat((double) DistinctUserSketch.estimate(registers)).isCloseTo(20_000D, within(2_000D));
+    }
+
+    private void merge(Map<Integer, Integer> registers, String userId) {
+        DistinctUserSketch.Register register = DistinctUserSketch.registerFor(userId);
+        registers.merge(register.index(), register.rank(), Math::max);
+    }
+}
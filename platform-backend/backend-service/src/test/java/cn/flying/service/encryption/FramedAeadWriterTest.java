@@ -2,14 +2,24 @@ package cn.flying.service.encryption;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -34,6 +44,14 @@ class FramedAeadWriterTest {
                     + "c98154d047fe1419102926ece729c8fa20d8e7ef26d91b2c5d8aa9091aed0c4524"
                     + "8afe4ca36333045745d0e05b20259122";
 
+    private static final String MULTI_FRAME_PLAIN_HASH =
+            "sha256:b20b15b9826d71b3ac373a9ee5a7f375857ba0d0cbd0cf7956de11ffa332cc47";
+    private static final String MULTI_FRAME_CIPHER_HASH =
+            "sha256:2c51f700903f1469071887ef01ad416efb658eafdb0b7dccae2b52335882c46c";
+    private static final String MULTI_FRAME_TAIL_HEX =
+            "f181dccb880e5f902d474b019d97da1854a62b5b84f160da39372b7e3def04eb"
+                    + "bd24a26372a6c3b50940facd4d557221943d277d45f7e77e78f222fbe4297f53";
+
     private final FramedAeadWriter writer = new FramedAeadWriter();
 
     @TempDir
@@ -63,6 +81,37 @@ class FramedAeadWriterTest {
         assertThat(verified).isEqualTo(written);
     }
 
+    /**
+     * 多 frame 固定向量：3 个完整 frame 加 1000 字节短尾帧，分片 1/3，期望值由引入并行 writer 前的串行实现生成，
+     * 串行与并行 writer 都必须逐字节复现。
+     */
+    @Test
+    void write_shouldMatchMultiFrameFixedVectorWithPartialLastFrame() throws IOException {
+        Path plaintext = writeFile("multi-fixed-plain.bin", patterned(FRAME_SIZE * 3 + 1000));
+        FramedAeadWriter parallelWriter = new FramedAeadWriter(3);
+        try {
+            List<FramedAeadWriter> candidates = List.of(writer, parallelWriter);
+            for (int index = 0; index < candidates.size(); index++) {
+                FramedAeadWriter candidate = candidates.get(index);
+                Path encrypted = tempDir.resolve("multi-fixed-" + index + ".bin");
+
+                FramedAeadWriter.WriteResult written = candidate.write(
+                        plaintext, encrypted, FILE_DEK, FILE_NONCE, 1, 3, FRAME_SIZE);
+
+                byte[] encoded = Files.readAllBytes(encrypted);
+                assertThat(written.plainSize()).isEqualTo(197_608L);
+                assertThat(written.cipherSize()).isEqualTo(197_764L);
+                assertThat(written.frameCount()).isEqualTo(4);
+                assertThat(written.plainHash()).isEqualTo(MULTI_FRAME_PLAIN_HASH);
+                assertThat(written.cipherHash()).isEqualTo(MULTI_FRAME_CIPHER_HASH);
+                assertThat(HEX.formatHex(Arrays.copyOfRange(encoded, encoded.length - 64, encoded.length)))
+                        .isEqualTo(MULTI_FRAME_TAIL_HEX);
+            }
+        } finally {
+            parallelWriter.shutdown();
+        }
+    }
+
     /**
      * 验证 frameCount 向上取整公式、最后短帧和对象密文字节公式保持一致。
      */
@@ -88,6 +137,107 @@ class FramedAeadWriterTest {
                 .isEqualTo(written);
     }
 
+    /**
+     * 验证并行 writer 在固定向量上逐字节一致，且重复写入同一分片时不受上一次调用的 Cipher 状态影响。
+     */
+    @Test
+    void write_parallelShouldMatchFixedVectorAcrossRepeatedWrites() throws IOException {
+        FramedAeadWriter parallelWriter = new FramedAeadWriter(4);
+        try {
+            Path plaintext = writeFile("parallel-fixed-plain.bin", FIXED_PLAINTEXT);
+            for (int attempt = 0; attempt < 2; attempt++) {
+                Path encrypted = tempDir.resolve("parallel-fixed-" + attempt + ".bin");
+
+                FramedAeadWriter.WriteResult written = parallelWriter.write(
+                        plaintext, encrypted, FILE_DEK, FILE_NONCE, 0, 1, FRAME_SIZE);
+
+                assertThat(HEX.formatHex(Files.readAllBytes(encrypted))).isEqualTo(FIXED_ENCODED_HEX);
+                assertThat(written.cipherHash())
+                        .isEqualTo("sha256:4a6ba4e73d425291fe80258fb057df70a88837a9783f466080d7bebea4c4b131");
+            }
+        } finally {
+            parallelWriter.shutdown();
+        }
+    }
+
+    /**
+     * 验证多 frame 并行加密按序写出，与串行 writer 的对象字节和摘要完全一致。
+     */
+    @Test
+    void write_parallelShouldProduceSameBytesAsSerialWriter() throws IOException {
+        byte[] plaintextBytes = patterned(FRAME_SIZE * 9 + 123);
+        Path plaintext = writeFile("parallel-multi-plain.bin", plaintextBytes);
+        Path serialEncrypted = tempDir.resolve("serial-multi-framed.bin");
+        Path parallelEncrypted = tempDir.resolve("parallel-multi-framed.bin");
+        FramedAeadWriter parallelWriter = new FramedAeadWriter(3);
+        try {
+            FramedAeadWriter.WriteResult serial = writer.write(
+                    plaintext, serialEncrypted, FILE_DEK, FILE_NONCE, 2, 5, FRAME_SIZE);
+            FramedAeadWriter.WriteResult parallel = parallelWriter.write(
+                    plaintext, parallelEncrypted, FILE_DEK, FILE_NONCE, 2, 5, FRAME_SIZE);
+
+            assertThat(parallel).isEqualTo(serial);
+            assertThat(parallel.frameCount()).isEqualTo(10);
+            assertThat(Files.readAllBytes(parallelEncrypted)).isEqualTo(Files.readAllBytes(serialEncrypted));
+            assertThat(writer.verify(parallelEncrypted, FILE_DEK, FILE_NONCE, 2, 5, FRAME_SIZE))
+                    .isEqualTo(serial);
+        } finally {
+            parallelWriter.shutdown();
+        }
+    }
+
+    /**
+     * 验证 1MiB frame 下并行 writer 与串行 writer 输出逐字节一致，重复写入时槽位上下文按调用重建。
+     */
+    @Test
+    void write_parallelShouldMatchSerialWriterWithMegabyteFrames() throws IOException {
+        int framePlainSize = 1024 * 1024;
+        Path plaintext = writeFile("megabyte-plain.bin", patterned(framePlainSize * 16));
+        Path serialEncrypted = tempDir.resolve("megabyte-serial.bin");
+        Path parallelEncrypted = tempDir.resolve("megabyte-parallel.bin");
+        FramedAeadWriter parallelWriter = new FramedAeadWriter(
+                Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+        try {
+            FramedAeadWriter.WriteResult serial = writer.write(
+                    plaintext, serialEncrypted, FILE_DEK, FILE_NONCE, 0, 1, framePlainSize);
+            for (int attempt = 0; attempt < 2; attempt++) {
+                FramedAeadWriter.WriteResult parallel = parallelWriter.write(
+                        plaintext, parallelEncrypted, FILE_DEK, FILE_NONCE, 0, 1, framePlainSize);
+
+                assertThat(parallel).isEqualTo(serial);
+                assertThat(Files.readAllBytes(parallelEncrypted)).isEqualTo(Files.readAllBytes(serialEncrypted));
+            }
+        } finally {
+            parallelWriter.shutdown();
+        }
+    }
+
+    /**
+     * 输出串行与并行 writer 在 1MiB frame 下的吞吐，只报告不断言；用 {@code -Dbackend.benchmark=true} 运行。
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "backend.benchmark", matches = "true")
+    void write_reportSerialAndParallelThroughput() throws IOException {
+        int framePlainSize = 1024 * 1024;
+        byte[] plaintextBytes = patterned(framePlainSize * 64);
+        Path plaintext = writeFile("throughput-plain.bin", plaintextBytes);
+        Path encrypted = tempDir.resolve("throughput-framed.bin");
+        FramedAeadWriter parallelWriter = new FramedAeadWriter(
+                Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+        try {
+            for (String phase : List.of("warmup", "measured")) {
+                for (FramedAeadWriter candidate : List.of(writer, parallelWriter)) {
+                    String label = phase + "-" + (candidate == writer ? "serial" : "parallel");
+                    long started = System.nanoTime();
+                    candidate.write(plaintext, encrypted, FILE_DEK, FILE_NONCE, 0, 1, framePlainSize);
+                    reportThroughput("framed write", label, plaintextBytes.length, System.nanoTime() - started);
+                }
+            }
+        } finally {
+            parallelWriter.shutdown();
+        }
+    }
+
     /**
      * 验证 tag 篡改、错误 key 和 AAD 坐标变化全部认证失败，且异常不泄露 key/nonce。
      */
@@ -145,6 +295,177 @@ class FramedAeadWriterTest {
         verifyFailure(writeFile("reordered.bin", reordered), FILE_DEK, FILE_NONCE, 0, 1);
     }
 
+    /**
+     * 验证并行分片验证与逐个串行验证结果一致，且按分片序号返回。
+     */
+    @Test
+    void verifyChunks_parallelShouldMatchSequentialVerify() throws IOException {
+        List<Path> chunks = createFramedChunks("verify-all", 4, FRAME_SIZE * 3 + 17);
+        FramedAeadWriter parallelWriter = new FramedAeadWriter(4);
+        try {
+            List<FramedAeadWriter.WriteResult> parallel = parallelWriter.verifyChunks(
+                    chunks, FILE_DEK, FILE_NONCE, FRAME_SIZE);
+
+            assertThat(parallel).hasSize(chunks.size());
+            for (int index = 0; index < chunks.size(); index++) {
+                assertThat(parallel.get(index)).isEqualTo(writer.verify(
+                        chunks.get(index), FILE_DEK, FILE_NONCE, index, chunks.size(), FRAME_SIZE));
+            }
+            assertThat(writer.verifyChunks(chunks, FILE_DEK, FILE_NONCE, FRAME_SIZE)).isEqualTo(parallel);
+        } finally {
+            parallelWriter.shutdown();
+        }
+    }
+
+    /**
+     * 验证随机位置篡改的密文被定位到对应分片与 frame，串行与并行验证报告一致。
+     */
+    @Test
+    void verifyChunks_shouldReportChunkAndFrameOfTamperedCiphertext() throws IOException {
+        int chunkCount = 4;
+        int framesPerChunk = 4;
+        List<Path> chunks = createFramedChunks("tamper", chunkCount, FRAME_SIZE * framesPerChunk);
+        FramedAeadWriter parallelWriter = new FramedAeadWriter(4);
+        Random random = new Random(20260101L);
+        try {
+            for (int round = 0; round < 8; round++) {
+                int chunkIndex = random.nextInt(chunkCount);
+                int frameIndex = random.nextInt(framesPerChunk);
+                Path target = chunks.get(chunkIndex);
+                byte[] original = Files.readAllBytes(target);
+                byte[] tampered = original.clone();
+                int frameRecord = FramedAeadCrypto.FRAME_HEADER_SIZE + FRAME_SIZE + FramedAeadCrypto.TAG_SIZE;
+                int offset = FramedAeadCrypto.CHUNK_HEADER_SIZE + frameIndex * frameRecord
+                        + FramedAeadCrypto.FRAME_HEADER_SIZE
+                        + random.nextInt(FRAME_SIZE + FramedAeadCrypto.TAG_SIZE);
+                tampered[offset] ^= 0x01;
+                Files.write(target, tampered);
+
+                for (FramedAeadWriter candidate : List.of(writer, parallelWriter)) {
+                    FramedAeadWriter.FrameVerificationException failure = assertThrows(
+                            FramedAeadWriter.FrameVerificationException.class,
+                            () -> candidate.verifyChunks(chunks, FILE_DEK, FILE_NONCE, FRAME_SIZE));
+                    assertThat(failure.getChunkIndex()).isEqualTo(chunkIndex);
+                    assertThat(failure.getFrameIndex()).isEqualTo(frameIndex);
+                    assertThat(failure.getMessage()).doesNotContain(HEX.formatHex(FILE_DEK));
+                }
+                Files.write(target, original);
+            }
+        } finally {
+            parallelWriter.shutdown();
+        }
+    }
+
+    /**
+     * 验证 1、2、4 并行度下验证同一组 1MiB frame 分片的结果与串行验证完全一致。
+     */
+    @Test
+    void verifyChunks_shouldMatchSerialResultsAcrossParallelism() throws IOException {
+        int framePlainSize = 1024 * 1024;
+        List<Path> chunks = new ArrayList<>();
+        for (int index = 0; index < 4; index++) {
+            Path plainPath = writeFile("scaling-plain-" + index + ".bin", patterned(framePlainSize * 4));
+            Path encryptedPath = tempDir.resolve("scaling-framed-" + index + ".bin");
+            writer.write(plainPath, encryptedPath, FILE_DEK, FILE_NONCE, index, 4, framePlainSize);
+            chunks.add(encryptedPath);
+        }
+        List<FramedAeadWriter.WriteResult> serial = writer.verifyChunks(chunks, FILE_DEK, FILE_NONCE, framePlainSize);
+        for (int parallelism : new int[]{2, 4}) {
+            FramedAeadWriter candidate = new FramedAeadWriter(parallelism);
+            try {
+                assertThat(candidate.verifyChunks(chunks, FILE_DEK, FILE_NONCE, framePlainSize)).isEqualTo(serial);
+            } finally {
+                candidate.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 输出 1、2、4 并行度下验证同一组 1MiB frame 分片的耗时，只报告不断言；用 {@code -Dbackend.benchmark=true} 运行。
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "backend.benchmark", matches = "true")
+    void verifyChunks_reportElapsedAcrossParallelism() throws IOException {
+        int framePlainSize = 1024 * 1024;
+        int chunkCount = 8;
+        List<Path> chunks = new ArrayList<>();
+        for (int index = 0; index < chunkCount; index++) {
+            Path plainPath = writeFile("timing-plain-" + index + ".bin", patterned(framePlainSize * 8));
+            Path encryptedPath = tempDir.resolve("timing-framed-" + index + ".bin");
+            writer.write(plainPath, encryptedPath, FILE_DEK, FILE_NONCE, index, chunkCount, framePlainSize);
+            chunks.add(encryptedPath);
+        }
+        long plainBytes = (long) framePlainSize * 8 * chunkCount;
+        for (int parallelism : new int[]{1, 2, 4}) {
+            FramedAeadWriter candidate = new FramedAeadWriter(parallelism);
+            try {
+                candidate.verifyChunks(chunks, FILE_DEK, FILE_NONCE, framePlainSize);
+                long started = System.nanoTime();
+                candidate.verifyChunks(chunks, FILE_DEK, FILE_NONCE, framePlainSize);
+                reportThroughput("framed verifyChunks", "parallelism-" + parallelism,
+                        plainBytes, System.nanoTime() - started);
+            } finally {
+                candidate.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 9 个 frame 分 3 个窗口，每个窗口的首个 frame 等同窗口后续 frame 完成后才结束，
+     * 验证乱序完成时写出和验证仍按 frame 序号进行。
+     */
+    @Test
+    void writeAndVerify_shouldKeepFrameOrderWhenFramesCompleteOutOfOrder() throws IOException {
+        byte[] plaintextBytes = patterned(FRAME_SIZE * 8 + 5);
+        Path plaintext = writeFile("out-of-order-plain.bin", plaintextBytes);
+        Path serialEncrypted = tempDir.resolve("out-of-order-serial.bin");
+        Path parallelEncrypted = tempDir.resolve("out-of-order-parallel.bin");
+        FramedAeadWriter.WriteResult serial = writer.write(
+                plaintext, serialEncrypted, FILE_DEK, FILE_NONCE, 0, 1, FRAME_SIZE);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        ReorderingExecutor reordering = new ReorderingExecutor(pool, 3);
+        FramedAeadWriter parallelWriter = new FramedAeadWriter(3, reordering);
+        try {
+            FramedAeadWriter.WriteResult parallel = parallelWriter.write(
+                    plaintext, parallelEncrypted, FILE_DEK, FILE_NONCE, 0, 1, FRAME_SIZE);
+
+            assertThat(reordering.reorderedWindows()).isPositive();
+            assertThat(parallel).isEqualTo(serial);
+            assertThat(Files.readAllBytes(parallelEncrypted)).isEqualTo(Files.readAllBytes(serialEncrypted));
+            assertThat(parallelWriter.verify(parallelEncrypted, FILE_DEK, FILE_NONCE, 0, 1, FRAME_SIZE))
+                    .isEqualTo(serial);
+        } finally {
+            parallelWriter.shutdown();
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 验证 frame 认证失败时，其余在途 frame 任务都已进入并退出后验证才返回，
+     * 返回后不会再有任务触碰已清零的 PRK 或已销毁的槽位。
+     */
+    @Test
+    void verify_shouldAwaitInFlightFramesBeforeReturningOnFailure() throws IOException {
+        byte[] encoded = Files.readAllBytes(createFramedFile("in-flight-failure", patterned(FRAME_SIZE * 6)));
+        encoded[FramedAeadCrypto.CHUNK_HEADER_SIZE + FramedAeadCrypto.FRAME_HEADER_SIZE] ^= 0x01;
+        Path tampered = writeFile("in-flight-failure-tampered.bin", encoded);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        SlowFollowerExecutor slow = new SlowFollowerExecutor(pool);
+        FramedAeadWriter parallelWriter = new FramedAeadWriter(3, slow);
+        try {
+            FramedAeadWriter.FrameVerificationException failure = assertThrows(
+                    FramedAeadWriter.FrameVerificationException.class,
+                    () -> parallelWriter.verify(tampered, FILE_DEK, FILE_NONCE, 0, 1, FRAME_SIZE));
+
+            assertThat(failure.getFrameIndex()).isZero();
+            assertThat(slow.submitted()).isEqualTo(3);
+            assertThat(slow.entered()).isEqualTo(slow.submitted());
+        } finally {
+            parallelWriter.shutdown();
+            pool.shutdownNow();
+        }
+    }
+
     /**
      * 验证随机生成的文件级 DEK 和 nonce 始终使用协议固定长度且每次返回独立数组。
      */
@@ -220,6 +541,167 @@ class FramedAeadWriterTest {
                 FramedAeadCrypto.MAX_FRAME_PLAIN_SIZE + 1));
     }
 
+    /**
+     * 每个窗口的第一个任务等到同窗口其余任务完成后才执行，制造确定性的乱序完成。
+     */
+    private static final class ReorderingExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final int window;
+        private final AtomicInteger submitted = new AtomicInteger();
+        private final AtomicInteger reorderedWindows = new AtomicInteger();
+        private CountDownLatch followers;
+
+        private ReorderingExecutor(ExecutorService delegate, int window) {
+            this.delegate = delegate;
+            this.window = window;
+        }
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            int position = submitted.getAndIncrement() % window;
+            if (position == 0) {
+                CountDownLatch latch = new CountDownLatch(window - 1);
+                followers = latch;
+                delegate.execute(() -> {
+                    try {
+                        if (latch.await(10, TimeUnit.SECONDS)) {
+                            reorderedWindows.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    command.run();
+                });
+                return;
+            }
+            CountDownLatch latch = followers;
+            delegate.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        private int reorderedWindows() {
+            return reorderedWindows.get();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    /**
+     * 第一个任务立即执行，其余任务等它结束后再拖慢 50ms 才进入，使失败返回时仍有 frame 在途。
+     */
+    private static final class SlowFollowerExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final CountDownLatch firstDone = new CountDownLatch(1);
+        private final AtomicInteger submitted = new AtomicInteger();
+        private final AtomicInteger entered = new AtomicInteger();
+
+        private SlowFollowerExecutor(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            boolean first = submitted.getAndIncrement() == 0;
+            delegate.execute(() -> {
+                try {
+                    if (!first) {
+                        firstDone.await(10, TimeUnit.SECONDS);
+                        Thread.sleep(50);
+                    }
+                    entered.incrementAndGet();
+                    command.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    if (first) {
+                        firstDone.countDown();
+                    }
+                }
+            });
+        }
+
+        private int submitted() {
+            return submitted.get();
+        }
+
+        private int entered() {
+            return entered.get();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    /**
+     * 以 MB/s 输出一次基准测量。
+     */
+    private static void reportThroughput(String operation, String label, long bytes, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%s %-18s %8.1f MB/s (%d ms)%n",
+                operation, label, bytes / 1_000_000.0 / seconds, nanos / 1_000_000);
+    }
+
+    /**
+     * 生成可复现的非零明文，避免全零输入掩盖 frame 错位。
+     */
+    private static byte[] patterned(int length) {
+        byte[] bytes = new byte[length];
+        for (int index = 0; index < bytes.length; index++) {
+            bytes[index] = (byte) ((index * 31 + index / FRAME_SIZE) % 253);
+        }
+        return bytes;
+    }
+
     /**
      * 写入测试文件并返回路径。
      */
@@ -229,6 +711,20 @@ class FramedAeadWriterTest {
         return path;
     }
 
+    /**
+     * 生成同一文件的多个 framed 分片，分片序号即列表下标。
+     */
+    private List<Path> createFramedChunks(String name, int chunkCount, int chunkSize) throws IOException {
+        List<Path> chunks = new ArrayList<>(chunkCount);
+        for (int index = 0; index < chunkCount; index++) {
+            Path plainPath = writeFile(name + "-plain-" + index + ".bin", patterned(chunkSize + index));
+            Path encryptedPath = tempDir.resolve(name + "-framed-" + index + ".bin");
+            writer.write(plainPath, encryptedPath, FILE_DEK, FILE_NONCE, index, chunkCount, FRAME_SIZE);
+            chunks.add(encryptedPath);
+        }
+        return chunks;
+    }
+
     /**
      * 使用固定协议参数生成一个 framed 对象。
      */
@@ -10,6 +10,7 @@ import cn.flying.dao.entity.Announcement;
 import cn.flying.dao.entity.AnnouncementRead;
 import cn.flying.dao.mapper.AnnouncementMapper;
 import cn.flying.dao.mapper.AnnouncementReadMapper;
+import cn.flying.dao.mapper.AnnouncementReadWatermarkMapper;
 import cn.flying.dao.mapper.TenantMapper;
 import cn.flying.dao.vo.announcement.AnnouncementCreateVO;
 import cn.flying.dao.vo.announcement.AnnouncementVO;
@@ -41,6 +42,9 @@ class AnnouncementServiceImplTest {
     @Mock
     private AnnouncementReadMapper announcementReadMapper;
 
+    @Mock
+    private AnnouncementReadWatermarkMapper announcementReadWatermarkMapper;
+
     @Mock
     private AccountService accountService;
 
@@ -108,6 +112,7 @@ class AnnouncementServiceImplTest {
             assertNotNull(result);
             assertEquals(AnnouncementStatus.DRAFT.getCode(), result.getStatus());
             assertEquals(PUBLISHER_ID, result.getPublisherId());
+            assertNull(result.getPublishSeq());
             verify(sseEmitterManager, never()).broadcastToTenant(anyLong(), any());
         }
 
@@ -117,6 +122,7 @@ class AnnouncementServiceImplTest {
             AnnouncementCreateVO vo = createAnnouncementVO();
             vo.setStatus(1);
             vo.setPublishTime(null);
+            when(announcementMapper.selectPublishSeqForUpdate(TENANT_ID)).thenReturn(7000L);
 
             doAnswer(inv -> {
                 Announcement announcement = inv.getArgument(0);
@@ -129,6 +135,11 @@ class AnnouncementServiceImplTest {
             assertNotNull(result);
             assertEquals(AnnouncementStatus.PUBLISHED.getCode(), result.getStatus());
             assertNotNull(result.getPublishTime());
+            assertEquals(7001L, result.getPublishSeq());
+            InOrder inOrder = inOrder(announcementMapper);
+            inOrder.verify(announcementMapper).lockPublishSeqRow(TENANT_ID);
+            inOrder.verify(announcementMapper).selectPublishSeqForUpdate(TENANT_ID);
+            inOrder.verify(announcementMapper).updatePublishSeq(TENANT_ID, 7001L);
         }
 
         @Test
@@ -243,6 +254,26 @@ class AnnouncementServiceImplTest {
             assertEquals(AnnouncementStatus.PUBLISHED.getCode(), result.getStatus());
             assertNotNull(result.getPublishTime());
         }
+
+        @Test
+        @DisplayName("should keep the original publish sequence when republishing")
+        void update_keepsPublishSeq() {
+            Announcement existing = createAnnouncement();
+            existing.setStatus(AnnouncementStatus.EXPIRED.getCode());
+            existing.setPublishSeq(42L);
+            AnnouncementCreateVO vo = createAnnouncementVO();
+            vo.setStatus(1);
+
+            when(announcementService.getById(ANNOUNCEMENT_ID)).thenReturn(existing);
+            doReturn(true).when(announcementService).updateById(any(Announcement.class));
+
+            Announcement result = announcementService.update(ANNOUNCEMENT_ID, vo);
+
+            assertEquals(AnnouncementStatus.PUBLISHED.getCode(), result.getStatus());
+            assertEquals(42L, result.getPublishSeq());
+            verify(announcementMapper, never()).lockPublishSeqRow(anyLong());
+            verify(announcementMapper, never()).updatePublishSeq(anyLong(), anyLong());
+        }
     }
 
     @Nested
@@ -285,6 +316,22 @@ class AnnouncementServiceImplTest {
             assertFalse(result.getRead());
         }
 
+        @Test
+        @DisplayName("should treat announcements under the watermark as read without an exception row")
+        void getDetail_coveredByWatermark() {
+            Announcement announcement = createAnnouncement();
+            announcement.setPublishSeq(100L);
+
+            when(announcementService.getById(ANNOUNCEMENT_ID)).thenReturn(announcement);
+            when(announcementReadWatermarkMapper.selectLastReadSeq(USER_ID)).thenReturn(100L);
+            lenient().when(accountService.findAccountById(PUBLISHER_ID)).thenReturn(null);
+
+            AnnouncementVO result = announcementService.getDetail(USER_ID, ANNOUNCEMENT_ID);
+
+            assertTrue(result.getRead());
+            verify(announcementReadMapper, never()).selectCount(any());
+        }
+
         @Test
         @DisplayName("should throw when announcement not found")
         void getDetail_notFound() {
@@ -367,6 +414,35 @@ class AnnouncementServiceImplTest {
             assertTrue(result.getRecords().get(0).getRead());
             assertFalse(result.getRecords().get(1).getRead());
         }
+
+        @Test
+        @DisplayName("should combine the watermark with sparse exception rows")
+        @SuppressWarnings("unchecked")
+        void getPublishedList_watermarkAndExceptions() {
+            Announcement covered = createAnnouncement();
+            covered.setId(3001L);
+            covered.setPublishSeq(100L);
+            Announcement exception = createAnnouncement();
+            exception.setId(3002L);
+            exception.setPublishSeq(300L);
+            Announcement unread = createAnnouncement();
+            unread.setId(3003L);
+            unread.setPublishSeq(200L);
+
+            Page<Announcement> page = new Page<>(1, 10);
+            page.setRecords(List.of(covered, exception, unread));
+
+            when(announcementReadWatermarkMapper.selectLastReadSeq(USER_ID)).thenReturn(150L);
+            when(announcementReadMapper.selectReadAnnouncementIds(USER_ID)).thenReturn(Set.of(3002L));
+            doReturn(page).when(announcementService).page(any(Page.class), any(LambdaQueryWrapper.class));
+            lenient().when(accountService.findAccountById(anyLong())).thenReturn(null);
+
+            IPage<AnnouncementVO> result = announcementService.getPublishedList(USER_ID, new Page<>(1, 10));
+
+            assertTrue(result.getRecords().get(0).getRead());
+            assertTrue(result.getRecords().get(1).getRead());
+            assertFalse(result.getRecords().get(2).getRead());
+        }
     }
 
     @Nested
@@ -445,6 +521,20 @@ class AnnouncementServiceImplTest {
 
             verify(announcementReadMapper, never()).insert(any(AnnouncementRead.class));
         }
+
+        @Test
+        @DisplayName("should not record an exception for announcements under the watermark")
+        void markAsRead_coveredByWatermark() {
+            Announcement announcement = createAnnouncement();
+            announcement.setPublishSeq(80L);
+            when(announcementService.getById(ANNOUNCEMENT_ID)).thenReturn(announcement);
+            when(announcementReadWatermarkMapper.selectLastReadSeq(USER_ID)).thenReturn(100L);
+
+            announcementService.markAsRead(USER_ID, ANNOUNCEMENT_ID);
+
+            verify(announcementReadMapper, never()).selectCount(any());
+            verify(announcementReadMapper, never()).insert(any(AnnouncementRead.class));
+        }
     }
 
     @Nested
@@ -452,33 +542,51 @@ class AnnouncementServiceImplTest {
     class MarkAllAsRead {
 
         @Test
-        @DisplayName("should mark all unread announcements as read")
+        @DisplayName("should advance the watermark and prune covered exceptions without per-announcement inserts")
         @SuppressWarnings("unchecked")
-        void markAllAsRead_success() {
-            Announcement ann1 = createAnnouncement();
-            ann1.setId(3001L);
-            Announcement ann2 = createAnnouncement();
-            ann2.setId(3002L);
+        void markAllAsRead_advancesWatermark() {
+            when(announcementMapper.selectMaxPublishSeq()).thenReturn(900L);
+            when(announcementReadMapper.deleteCoveredByWatermark(USER_ID, TENANT_ID, 900L)).thenReturn(3);
 
-            when(announcementReadMapper.selectReadAnnouncementIds(USER_ID)).thenReturn(Set.of(3001L));
-            doReturn(List.of(ann2)).when(announcementService).list(any(LambdaQueryWrapper.class));
-            when(announcementReadMapper.insert(any(AnnouncementRead.class))).thenReturn(1);
+            assertDoesNotThrow(() -> announcementService.markAllAsRead(USER_ID, null));
+
+            InOrder inOrder = inOrder(announcementReadWatermarkMapper, announcementReadMapper);
+            inOrder.verify(announcementReadWatermarkMapper).advance(USER_ID, TENANT_ID, 900L);
+            inOrder.verify(announcementReadMapper).deleteCoveredByWatermark(USER_ID, TENANT_ID, 900L);
+            verify(announcementReadMapper, never()).insert(any(AnnouncementRead.class));
+            verify(announcementService, never()).list(any(LambdaQueryWrapper.class));
+        }
+
+        @Test
+        @DisplayName("should stop the watermark at the sequence the user loaded")
+        void markAllAsRead_stopsAtLoadedSnapshot() {
+            when(announcementMapper.selectMaxPublishSeq()).thenReturn(900L);
 
-            assertDoesNotThrow(() -> announcementService.markAllAsRead(USER_ID));
+            announcementService.markAllAsRead(USER_ID, 700L);
 
-            verify(announcementReadMapper, times(1)).insert(any(AnnouncementRead.class));
+            verify(announcementReadWatermarkMapper).advance(USER_ID, TENANT_ID, 700L);
+            verify(announcementReadMapper).deleteCoveredByWatermark(USER_ID, TENANT_ID, 700L);
         }
 
         @Test
-        @DisplayName("should handle no unread announcements")
-        @SuppressWarnings("unchecked")
-        void markAllAsRead_noUnread() {
-            when(announcementReadMapper.selectReadAnnouncementIds(USER_ID)).thenReturn(Set.of(3001L, 3002L));
-            doReturn(List.of()).when(announcementService).list(any(LambdaQueryWrapper.class));
+        @DisplayName("should not advance past the current maximum for a forged snapshot sequence")
+        void markAllAsRead_clampsSnapshotToCurrentMax() {
+            when(announcementMapper.selectMaxPublishSeq()).thenReturn(900L);
 
-            assertDoesNotThrow(() -> announcementService.markAllAsRead(USER_ID));
+            announcementService.markAllAsRead(USER_ID, Long.MAX_VALUE);
 
-            verify(announcementReadMapper, never()).insert(any(AnnouncementRead.class));
+            verify(announcementReadWatermarkMapper).advance(USER_ID, TENANT_ID, 900L);
+        }
+
+        @Test
+        @DisplayName("should leave the watermark untouched when nothing has been published")
+        void markAllAsRead_nothingPublished() {
+            when(announcementMapper.selectMaxPublishSeq()).thenReturn(null);
+
+            assertDoesNotThrow(() -> announcementService.markAllAsRead(USER_ID, null));
+
+            verifyNoInteractions(announcementReadWatermarkMapper);
+            verify(announcementReadMapper, never()).deleteCoveredByWatermark(anyLong(), anyLong(), anyLong());
         }
     }
 
@@ -24,8 +24,13 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -165,6 +170,8 @@ class ConversationServiceImplTest {
             assertNotNull(result);
             assertEquals(USER_A, result.getParticipantA());
             assertEquals(USER_B, result.getParticipantB());
+            assertEquals(0, result.getParticipantAUnread());
+            assertEquals(0, result.getParticipantBUnread());
             verify(conversationService).save(any(Conversation.class));
         }
 
@@ -199,6 +206,8 @@ class ConversationServiceImplTest {
             Conversation conv1 = createConversation(USER_A, USER_B);
             conv1.setLastMessageId(9001L);
             conv1.setLastMessageAt(new Date());
+            conv1.setParticipantAUnread(2);
+            conv1.setParticipantBUnread(7);
 
             Account otherUser = createAccount(USER_B, "userB");
             Message lastMessage = createMessage(9001L, "Hello");
@@ -208,13 +217,13 @@ class ConversationServiceImplTest {
             page.setTotal(1);
 
             doReturn(page).when(conversationService).page(any(Page.class), any(LambdaQueryWrapper.class));
-            when(accountService.findAccountById(USER_B)).thenReturn(otherUser);
-            when(messageMapper.selectById(9001L)).thenReturn(lastMessage);
-            when(messageService.getUnreadCountInConversation(CONVERSATION_ID, USER_A)).thenReturn(2);
+            when(accountService.findAccountsByIds(Set.of(USER_B))).thenReturn(Map.of(USER_B, otherUser));
+            when(messageMapper.selectBatchIds(Set.of(9001L))).thenReturn(List.of(lastMessage));
 
             IPage<ConversationVO> result = conversationService.getConversationList(USER_A, new Page<>(1, 10));
 
             assertEquals(1, result.getRecords().size());
+            assertEquals(1, result.getTotal());
             ConversationVO vo = result.getRecords().get(0);
             assertEquals("ext_" + USER_B, vo.getOtherUserId());
             assertEquals("userB", vo.getOtherUsername());
@@ -232,12 +241,12 @@ class ConversationServiceImplTest {
             page.setRecords(List.of(conv));
 
             doReturn(page).when(conversationService).page(any(Page.class), any(LambdaQueryWrapper.class));
-            when(accountService.findAccountById(USER_B)).thenReturn(null);
-            when(messageService.getUnreadCountInConversation(CONVERSATION_ID, USER_A)).thenReturn(0);
+            when(accountService.findAccountsByIds(Set.of(USER_B))).thenReturn(Map.of());
 
             IPage<ConversationVO> result = conversationService.getConversationList(USER_A, new Page<>(1, 10));
 
             assertNull(result.getRecords().get(0).getOtherUsername());
+            assertEquals(0, result.getRecords().get(0).getUnreadCount());
         }
 
         @Test
@@ -251,13 +260,85 @@ class ConversationServiceImplTest {
             page.setRecords(List.of(conv));
 
             doReturn(page).when(conversationService).page(any(Page.class), any(LambdaQueryWrapper.class));
-            lenient().when(accountService.findAccountById(USER_B)).thenReturn(null);
-            when(messageService.getUnreadCountInConversation(CONVERSATION_ID, USER_A)).thenReturn(0);
+            lenient().when(accountService.findAccountsByIds(anyCollection())).thenReturn(Map.of());
 
             IPage<ConversationVO> result = conversationService.getConversationList(USER_A, new Page<>(1, 10));
 
             assertNull(result.getRecords().get(0).getLastMessageContent());
             verify(messageMapper, never()).selectById(any());
+            verify(messageMapper, never()).selectBatchIds(anyCollection());
+        }
+
+        /**
+         * 50 条会话的收件箱只允许 2 次批量查找：对方账号、最后一条消息；未读数直接读取会话行上的计数。
+         * 这里统计的是 Mockito 交互次数，真实执行的 SQL 条数由 ConversationListStatementCountIT 在 MySQL 上断言。
+         */
+        @Test
+        @DisplayName("should assemble a 50-conversation page with two batched statements")
+        @SuppressWarnings("unchecked")
+        void getConversationList_usesTwoStatementsPerPage() {
+            List<Conversation> conversations = new ArrayList<>();
+            List<Account> accounts = new ArrayList<>();
+            List<Message> lastMessages = new ArrayList<>();
+            for (long i = 0; i < 50; i++) {
+                Long otherUserId = 3000L + i;
+                Conversation conversation = createConversation(USER_A, otherUserId);
+                conversation.setId(6000L + i);
+                conversation.setLastMessageId(9000L + i);
+                conversations.add(conversation);
+                accounts.add(createAccount(otherUserId, "user" + i));
+                lastMessages.add(createMessage(9000L + i, "message " + i));
+                conversation.setParticipantAUnread(i % 2 == 0 ? (int) i + 1 : 0);
+                conversation.setParticipantBUnread(99);
+            }
+            Page<Conversation> page = new Page<>(1, 50);
+            page.setRecords(conversations);
+            page.setTotal(50);
+
+            doReturn(page).when(conversationService).page(any(Page.class), any(LambdaQueryWrapper.class));
+            when(accountService.findAccountsByIds(anyCollection())).thenAnswer(inv -> {
+                Collection<Long> ids = inv.getArgument(0);
+                return accounts.stream().filter(account -> ids.contains(account.getId()))
+                        .collect(Collectors.toMap(Account::getId, account -> account));
+            });
+            when(messageMapper.selectBatchIds(anyCollection())).thenReturn(lastMessages);
+
+            IPage<ConversationVO> result = conversationService.getConversationList(USER_A, new Page<>(1, 50));
+
+            assertEquals(50, result.getRecords().size());
+            for (int i = 0; i < 50; i++) {
+                ConversationVO vo = result.getRecords().get(i);
+                assertEquals("ext_" + (6000L + i), vo.getId());
+                assertEquals("user" + i, vo.getOtherUsername());
+                assertEquals("message " + i, vo.getLastMessageContent());
+                assertEquals(i % 2 == 0 ? i + 1 : 0, vo.getUnreadCount());
+            }
+
+            ArgumentCaptor<Collection<Long>> userIds = ArgumentCaptor.forClass(Collection.class);
+            ArgumentCaptor<Collection<Long>> messageIds = ArgumentCaptor.forClass(Collection.class);
+            verify(accountService, times(1)).findAccountsByIds(userIds.capture());
+            verify(messageMapper, times(1)).selectBatchIds(messageIds.capture());
+            assertEquals(50, userIds.getValue().size());
+            assertEquals(50, messageIds.getValue().size());
+
+            // 列表路径上除上述 2 条批量语句外不再有任何逐行查询或未读统计
+            verifyNoMoreInteractions(accountService, messageMapper, messageService);
+            verify(conversationMapper, never()).selectById(any());
+        }
+
+        @Test
+        @DisplayName("should skip batched lookups for an empty page")
+        @SuppressWarnings("unchecked")
+        void getConversationList_emptyPage() {
+            Page<Conversation> page = new Page<>(1, 10);
+            page.setRecords(List.of());
+
+            doReturn(page).when(conversationService).page(any(Page.class), any(LambdaQueryWrapper.class));
+
+            IPage<ConversationVO> result = conversationService.getConversationList(USER_A, new Page<>(1, 10));
+
+            assertTrue(result.getRecords().isEmpty());
+            verifyNoInteractions(accountService, messageMapper, messageService);
         }
     }
 
@@ -269,6 +350,7 @@ class ConversationServiceImplTest {
         @DisplayName("should return conversation detail successfully")
         void getConversationDetail_success() {
             Conversation conv = createConversation(USER_A, USER_B);
+            conv.setParticipantAUnread(4);
             Account otherUser = createAccount(USER_B, "userB");
 
             Page<MessageVO> messagePage = new Page<>(1, 20);
@@ -287,8 +369,10 @@ class ConversationServiceImplTest {
             assertEquals("ext_" + CONVERSATION_ID, result.getConversation().getId());
             assertEquals("ext_" + USER_B, result.getConversation().getOtherUserId());
             assertEquals("userB", result.getConversation().getOtherUsername());
+            assertEquals(4, result.getConversation().getUnreadCount());
             assertNotNull(result.getMessages());
             assertEquals(1, result.getMessages().getRecords().size());
+            verify(messageService, never()).getUnreadCountInConversation(anyLong(), anyLong());
         }
 
         @Test
@@ -4,6 +4,7 @@ import cn.flying.common.constant.ResultEnum;
 import cn.flying.common.exception.GeneralException;
 import cn.flying.common.tenant.TenantContext;
 import cn.flying.common.util.IdUtils;
+import cn.flying.common.util.KeysetCursor;
 import cn.flying.dao.dto.Account;
 import cn.flying.dao.dto.File;
 import cn.flying.dao.dto.FileShare;
@@ -14,6 +15,7 @@ import cn.flying.dao.mapper.FileMapper;
 import cn.flying.dao.mapper.FileShareMapper;
 import cn.flying.dao.mapper.FileSourceMapper;
 import cn.flying.dao.mapper.ShareAccessLogMapper;
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.admin.AdminFileDetailVO;
 import cn.flying.dao.vo.admin.AdminFileQueryParam;
 import cn.flying.dao.vo.admin.AdminFileVO;
@@ -477,6 +479,55 @@ class FileAdminServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("getAllFilesByCursor - keyset pagination")
+    class GetAllFilesByCursor {
+
+        /**
+         * 验证游标分页多取一条判断下一页，并以当前页最后一条的 (创建时间, ID) 生成游标。
+         */
+        @Test
+        @DisplayName("should trim probe row and emit cursor from last returned row")
+        @SuppressWarnings("unchecked")
+        void shouldTrimProbeRowAndEmitCursor() {
+            File newest = createFile().setId(3L).setCreateTime(new Date(3_000L));
+            File middle = createFile().setId(2L).setCreateTime(new Date(2_000L));
+            File probe = createFile().setId(1L).setCreateTime(new Date(1_000L));
+            when(fileMapper.selectList(any(LambdaQueryWrapper.class))).thenReturn(List.of(newest, middle, probe));
+            when(accountMapper.selectById(USER_ID)).thenReturn(createAccount());
+
+            String cursor = KeysetCursor.of(new Date(4_000L), 4L).encode();
+            CursorPageVO<AdminFileVO> page = fileAdminService.getAllFilesByCursor(new AdminFileQueryParam(), cursor, 2);
+
+            assertEquals(2, page.records().size());
+            assertEquals("ext_3", page.records().get(0).getId());
+            assertEquals(new KeysetCursor(2_000L, 2L), KeysetCursor.decode(page.nextCursor()));
+
+            ArgumentCaptor<LambdaQueryWrapper<File>> captor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+            verify(fileMapper).selectList(captor.capture());
+            String sqlSegment = captor.getValue().getCustomSqlSegment();
+            assertTrue(sqlSegment.contains("create_time <"));
+            assertTrue(sqlSegment.contains("LIMIT 3"));
+            verify(fileMapper, never()).selectPage(any(Page.class), any(LambdaQueryWrapper.class));
+        }
+
+        /**
+         * 验证最后一页不返回游标。
+         */
+        @Test
+        @DisplayName("should return null cursor on last page")
+        @SuppressWarnings("unchecked")
+        void shouldReturnNullCursorOnLastPage() {
+            when(fileMapper.selectList(any(LambdaQueryWrapper.class))).thenReturn(List.of(createFile()));
+            when(accountMapper.selectById(USER_ID)).thenReturn(createAccount());
+
+            CursorPageVO<AdminFileVO> page = fileAdminService.getAllFilesByCursor(new AdminFileQueryParam(), null, 2);
+
+            assertEquals(1, page.records().size());
+            assertNull(page.nextCursor());
+        }
+    }
+
     @Nested
     @DisplayName("getAllShares - query and aggregation")
     class GetAllSharesQueryAndAggregation {
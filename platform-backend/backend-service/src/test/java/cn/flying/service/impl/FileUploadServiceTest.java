@@ -3947,29 +3947,27 @@ class FileUploadServiceTest {
         void shouldVerifyFramedChunksDuringCompletion() throws Throwable {
             FileUploadState state = framedState("framed-complete-processing", 1);
             String plainHash = "sha256:" + "00".repeat(32);
-            when(framedAeadWriter.verify(
-                    any(Path.class), any(byte[].class), any(byte[].class), eq(0), eq(1),
-                    eq(state.getFramePlainSize())))
-                    .thenReturn(new FramedAeadWriter.WriteResult(
-                            1024L, 100L, 1, plainHash, "sha256:" + "22".repeat(32)));
+            when(framedAeadWriter.verifyChunks(
+                    anyList(), any(byte[].class), any(byte[].class), eq(state.getFramePlainSize())))
+                    .thenReturn(List.of(new FramedAeadWriter.WriteResult(
+                            1024L, 100L, 1, plainHash, "sha256:" + "22".repeat(32))));
 
             assertDoesNotThrow(() -> invokeChecked(
                     "completeFileProcessing",
                     new Class<?>[]{String.class, FileUploadState.class},
                     SUID,
                     state));
-            verify(framedAeadWriter).verify(
-                    eq(Path.of("processed").toAbsolutePath().normalize()
-                            .resolve(SUID).resolve(state.getClientId()).resolve("encrypted_chunk_0")),
-                    same(state.getFileDataKey()), same(state.getFileNonce()), eq(0), eq(1),
+            verify(framedAeadWriter).verifyChunks(
+                    eq(List.of(Path.of("processed").toAbsolutePath().normalize()
+                            .resolve(SUID).resolve(state.getClientId()).resolve("encrypted_chunk_0"))),
+                    same(state.getFileDataKey()), same(state.getFileNonce()),
                     eq(state.getFramePlainSize()));
             verify(redisStateManager, never()).getChunkKeys(anyString());
 
-            when(framedAeadWriter.verify(
-                    any(Path.class), any(byte[].class), any(byte[].class), eq(0), eq(1),
-                    eq(state.getFramePlainSize())))
-                    .thenReturn(new FramedAeadWriter.WriteResult(
-                            1L, 100L, 1, plainHash, "sha256:" + "22".repeat(32)));
+            when(framedAeadWriter.verifyChunks(
+                    anyList(), any(byte[].class), any(byte[].class), eq(state.getFramePlainSize())))
+                    .thenReturn(List.of(new FramedAeadWriter.WriteResult(
+                            1L, 100L, 1, plainHash, "sha256:" + "22".repeat(32))));
             Throwable mismatch = assertThrows(
                     IOException.class,
                     () -> invokeChecked(
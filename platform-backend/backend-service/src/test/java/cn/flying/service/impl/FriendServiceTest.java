@@ -10,13 +10,19 @@ import cn.flying.dao.entity.Friendship;
 import cn.flying.dao.mapper.FriendRequestMapper;
 import cn.flying.dao.mapper.FriendshipMapper;
 import cn.flying.dao.vo.friend.SendFriendRequestVO;
+import cn.flying.dao.vo.friend.UserSearchVO;
 import cn.flying.service.AccountService;
 import cn.flying.service.sse.SseEmitterManager;
 import cn.flying.service.sse.SseEvent;
 import cn.flying.test.builders.AccountTestBuilder;
 import cn.flying.test.builders.FriendRequestTestBuilder;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -25,6 +31,12 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -62,6 +74,8 @@ class FriendServiceTest {
 
     @BeforeAll
     static void setUpClass() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Account.class);
+
         tenantContextMock = mockStatic(TenantContext.class);
         tenantContextMock.when(TenantContext::getTenantId).thenReturn(TENANT_ID);
 
@@ -468,6 +482,184 @@ class FriendServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Search Users")
+    class SearchUsers {
+
+        /**
+         * 种子数据：20 个候选用户，按 ID 取模分别为好友、我发出的待处理请求、对方发来的待处理请求、陌生人。
+         */
+        private List<Account> seedCandidates() {
+            List<Account> accounts = new ArrayList<>();
+            for (long id = 1001; id <= 1020; id++) {
+                long accountId = id;
+                accounts.add(AccountTestBuilder.anAccount(a -> {
+                    a.setId(accountId);
+                    a.setUsername("alice_" + accountId);
+                }));
+            }
+            return accounts;
+        }
+
+        @Test
+        @DisplayName("should resolve friendships and pending requests with one batched query each")
+        void shouldResolveRelationshipsInTwoBatchedQueries() {
+            // Given
+            List<Account> accounts = seedCandidates();
+            when(accountService.list(any(LambdaQueryWrapper.class))).thenReturn(accounts);
+            List<Long> friendIds = List.of(1001L, 1005L, 1009L, 1013L, 1017L);
+            // 1005 同时是好友和待处理请求对象，好友优先
+            List<Long> pendingIds = List.of(1002L, 1003L, 1005L, 1006L, 1007L);
+            when(friendshipMapper.selectFriendIdsAmong(eq(USER_A_ID), anyCollection(), eq(TENANT_ID)))
+                    .thenReturn(friendIds);
+            when(friendRequestMapper.selectPendingCounterpartIds(eq(USER_A_ID), anyCollection(), eq(TENANT_ID)))
+                    .thenReturn(pendingIds);
+
+            // When
+            List<UserSearchVO> result = friendService.searchUsers(USER_A_ID, "alice");
+
+            // Then
+            assertEquals(20, result.size());
+            Map<String, UserSearchVO> byId = result.stream()
+                    .collect(Collectors.toMap(UserSearchVO::getId, vo -> vo));
+            for (Account account : accounts) {
+                UserSearchVO vo = byId.get(encodeId(account.getId()));
+                boolean friend = friendIds.contains(account.getId());
+                assertEquals(friend, vo.getIsFriend(), "isFriend of " + account.getId());
+                assertEquals(!friend && pendingIds.contains(account.getId()), vo.getHasPendingRequest(),
+                        "hasPendingRequest of " + account.getId());
+                assertEquals(account.getUsername(), vo.getUsername());
+            }
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<Collection<Long>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
+            verify(friendshipMapper, times(1)).selectFriendIdsAmong(eq(USER_A_ID), idsCaptor.capture(), eq(TENANT_ID));
+            assertEquals(accounts.stream().map(Account::getId).toList(), List.copyOf(idsCaptor.getValue()));
+            verify(friendRequestMapper, times(1))
+                    .selectPendingCounterpartIds(eq(USER_A_ID), anyCollection(), eq(TENANT_ID));
+            verify(friendshipMapper, never()).areFriends(anyLong(), anyLong(), anyLong());
+            verify(friendRequestMapper, never()).countPendingBetween(anyLong(), anyLong(), anyLong());
+        }
+
+        @Test
+        @DisplayName("should search username and nickname by escaped prefix, then by substring")
+        void shouldSearchByEscapedPrefixThenSubstring() {
+            // Given
+            when(accountService.list(any(LambdaQueryWrapper.class))).thenReturn(List.of());
+
+            // When
+            friendService.searchUsers(USER_A_ID, " al_ice ");
+
+            // Then
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<LambdaQueryWrapper<Account>> wrapperCaptor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+            verify(accountService, times(2)).list(wrapperCaptor.capture());
+            LambdaQueryWrapper<Account> prefix = wrapperCaptor.getAllValues().get(0);
+            LambdaQueryWrapper<Account> substring = wrapperCaptor.getAllValues().get(1);
+            for (LambdaQueryWrapper<Account> wrapper : wrapperCaptor.getAllValues()) {
+                String sql = wrapper.getSqlSegment();
+                assertTrue(sql.contains("username LIKE"));
+                assertTrue(sql.contains("nickname LIKE"));
+                assertFalse(sql.contains("email"));
+            }
+            assertTrue(prefix.getParamNameValuesPairs().containsValue("al\\_ice%"));
+            assertFalse(prefix.getParamNameValuesPairs().values().stream()
+                    .anyMatch(value -> String.valueOf(value).startsWith("%")));
+            assertTrue(substring.getParamNameValuesPairs().containsValue("%al\\_ice%"));
+            verify(friendshipMapper, never()).selectFriendIdsAmong(anyLong(), anyCollection(), anyLong());
+            verify(friendRequestMapper, never()).selectPendingCounterpartIds(anyLong(), anyCollection(), anyLong());
+        }
+
+        @Test
+        @DisplayName("should fill a short prefix page with substring matches excluding prefix hits")
+        void shouldFillShortPrefixPageWithSubstringMatches() {
+            // Given
+            Account prefixHit = AccountTestBuilder.anAccount(a -> {
+                a.setId(1001L);
+                a.setUsername("emo_prefix");
+            });
+            Account substringHit = AccountTestBuilder.anAccount(a -> {
+                a.setId(1002L);
+                a.setUsername("demo");
+            });
+            when(accountService.list(any(LambdaQueryWrapper.class)))
+                    .thenReturn(List.of(prefixHit))
+                    .thenReturn(List.of(substringHit));
+            when(friendshipMapper.selectFriendIdsAmong(eq(USER_A_ID), anyCollection(), eq(TENANT_ID)))
+                    .thenReturn(List.of());
+            when(friendRequestMapper.selectPendingCounterpartIds(eq(USER_A_ID), anyCollection(), eq(TENANT_ID)))
+                    .thenReturn(List.of());
+
+            // When
+            List<UserSearchVO> result = friendService.searchUsers(USER_A_ID, "emo");
+
+            // Then
+            assertEquals(List.of("emo_prefix", "demo"), result.stream().map(UserSearchVO::getUsername).toList());
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<LambdaQueryWrapper<Account>> wrapperCaptor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+            verify(accountService, times(2)).list(wrapperCaptor.capture());
+            String substringSql = wrapperCaptor.getAllValues().get(1).getSqlSegment();
+            assertTrue(substringSql.contains("NOT IN"));
+            assertTrue(substringSql.endsWith("LIMIT 19"));
+            assertTrue(wrapperCaptor.getAllValues().get(1).getParamNameValuesPairs().containsValue(1001L));
+        }
+
+        @Test
+        @DisplayName("should not run the substring scan for keywords shorter than three characters")
+        void shouldSkipSubstringScanForShortKeyword() {
+            // Given
+            Account prefixHit = AccountTestBuilder.anAccount(a -> {
+                a.setId(1001L);
+                a.setUsername("mo_prefix");
+            });
+            when(accountService.list(any(LambdaQueryWrapper.class))).thenReturn(List.of(prefixHit));
+            when(friendshipMapper.selectFriendIdsAmong(eq(USER_A_ID), anyCollection(), eq(TENANT_ID)))
+                    .thenReturn(List.of());
+            when(friendRequestMapper.selectPendingCounterpartIds(eq(USER_A_ID), anyCollection(), eq(TENANT_ID)))
+                    .thenReturn(List.of());
+
+            // When
+            List<UserSearchVO> result = friendService.searchUsers(USER_A_ID, " 张三 ");
+
+            // Then
+            assertEquals(List.of("mo_prefix"), result.stream().map(UserSearchVO::getUsername).toList());
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<LambdaQueryWrapper<Account>> wrapperCaptor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+            verify(accountService, times(1)).list(wrapperCaptor.capture());
+            assertTrue(wrapperCaptor.getValue().getParamNameValuesPairs().containsValue("张三%"));
+        }
+
+        @Test
+        @DisplayName("should never match email addresses")
+        void shouldNotMatchEmail() {
+            // Given
+            when(accountService.list(any(LambdaQueryWrapper.class))).thenReturn(List.of());
+
+            // When
+            List<UserSearchVO> result = friendService.searchUsers(USER_A_ID, "alice@exa");
+
+            // Then
+            assertTrue(result.isEmpty());
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<LambdaQueryWrapper<Account>> wrapperCaptor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+            verify(accountService, times(2)).list(wrapperCaptor.capture());
+            for (LambdaQueryWrapper<Account> wrapper : wrapperCaptor.getAllValues()) {
+                assertFalse(wrapper.getSqlSegment().contains("email"));
+            }
+        }
+
+        @Test
+        @DisplayName("should return empty list for blank keyword without querying")
+        void shouldReturnEmptyForBlankKeyword() {
+            // When
+            List<UserSearchVO> result = friendService.searchUsers(USER_A_ID, "  ");
+
+            // Then
+            assertTrue(result.isEmpty());
+            verify(accountService, never()).list(any(LambdaQueryWrapper.class));
+        }
+    }
+
     // Helper method to simulate ID encoding (matches mocked IdUtils.toExternalId behavior)
     private String encodeId(Long id) {
         return "EXT_" + id;
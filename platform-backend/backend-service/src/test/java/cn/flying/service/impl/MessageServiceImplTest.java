@@ -7,6 +7,7 @@ import cn.flying.common.util.IdUtils;
 import cn.flying.dao.dto.Account;
 import cn.flying.dao.entity.Conversation;
 import cn.flying.dao.entity.Message;
+import cn.flying.dao.mapper.ConversationMapper;
 import cn.flying.dao.mapper.MessageMapper;
 import cn.flying.dao.vo.message.SendMessageVO;
 import cn.flying.service.AccountService;
@@ -34,6 +35,9 @@ class MessageServiceImplTest {
     @Mock
     private ConversationService conversationService;
 
+    @Mock
+    private ConversationMapper conversationMapper;
+
     @Mock
     private AccountService accountService;
 
@@ -112,6 +116,34 @@ class MessageServiceImplTest {
             verify(sseEmitterManager).sendToUser(eq(TENANT_ID), eq(RECEIVER_ID), any(SseEvent.class));
         }
 
+        @Test
+        @DisplayName("should increment the receiver's unread counter before inserting the message")
+        void sendMessage_incrementsUnreadBeforeInsert() {
+            SendMessageVO vo = createSendMessageVO();
+            when(accountService.findAccountById(RECEIVER_ID)).thenReturn(createAccount(RECEIVER_ID, "receiver"));
+            when(friendService.areFriends(SENDER_ID, RECEIVER_ID)).thenReturn(true);
+            when(conversationService.getOrCreateConversation(SENDER_ID, RECEIVER_ID)).thenReturn(createConversation());
+            doReturn(true).when(messageService).save(any(Message.class));
+
+            messageService.sendMessage(SENDER_ID, vo);
+
+            InOrder inOrder = inOrder(conversationMapper, messageService);
+            inOrder.verify(conversationMapper).incrementUnread(CONVERSATION_ID, RECEIVER_ID, TENANT_ID);
+            inOrder.verify(messageService).save(any(Message.class));
+        }
+
+        @Test
+        @DisplayName("should not touch the unread counter when the message is rejected")
+        void sendMessage_rejected_leavesCounterUntouched() {
+            SendMessageVO vo = createSendMessageVO();
+            when(accountService.findAccountById(RECEIVER_ID)).thenReturn(createAccount(RECEIVER_ID, "receiver"));
+            when(friendService.areFriends(SENDER_ID, RECEIVER_ID)).thenReturn(false);
+
+            assertThrows(GeneralException.class, () -> messageService.sendMessage(SENDER_ID, vo));
+
+            verifyNoInteractions(conversationMapper);
+        }
+
         @Test
         @DisplayName("should throw when sender equals receiver")
         void sendMessage_toSelf_throws() {
@@ -193,7 +225,21 @@ class MessageServiceImplTest {
 
             assertDoesNotThrow(() -> messageService.markAsRead(SENDER_ID, CONVERSATION_ID));
 
-            verify(messageMapper).markConversationAsRead(eq(CONVERSATION_ID), eq(SENDER_ID), any(), eq(TENANT_ID));
+            InOrder inOrder = inOrder(conversationMapper, messageMapper);
+            inOrder.verify(conversationMapper).resetUnread(CONVERSATION_ID, SENDER_ID, TENANT_ID);
+            inOrder.verify(messageMapper).markConversationAsRead(eq(CONVERSATION_ID), eq(SENDER_ID), any(), eq(TENANT_ID));
+        }
+
+        @Test
+        @DisplayName("should not reset counters for non-participants")
+        void markAsRead_notParticipant_leavesCounterUntouched() {
+            when(conversationService.getById(CONVERSATION_ID)).thenReturn(createConversation());
+
+            GeneralException ex = assertThrows(GeneralException.class,
+                    () -> messageService.markAsRead(9999L, CONVERSATION_ID));
+
+            assertEquals(ResultEnum.CONVERSATION_NOT_FOUND, ex.getResultEnum());
+            verifyNoInteractions(conversationMapper);
         }
 
         @Test
@@ -214,7 +260,7 @@ class MessageServiceImplTest {
         @Test
         @DisplayName("should return total unread count")
         void getTotalUnreadCount_success() {
-            when(messageMapper.countUnreadMessages(SENDER_ID, TENANT_ID)).thenReturn(10);
+            when(conversationMapper.sumUnreadMessages(SENDER_ID, TENANT_ID)).thenReturn(10);
 
             int count = messageService.getTotalUnreadCount(SENDER_ID);
 
@@ -224,7 +270,7 @@ class MessageServiceImplTest {
         @Test
         @DisplayName("should return zero when no unread messages")
         void getTotalUnreadCount_zero() {
-            when(messageMapper.countUnreadMessages(SENDER_ID, TENANT_ID)).thenReturn(0);
+            when(conversationMapper.sumUnreadMessages(SENDER_ID, TENANT_ID)).thenReturn(0);
 
             int count = messageService.getTotalUnreadCount(SENDER_ID);
 
@@ -239,7 +285,7 @@ class MessageServiceImplTest {
         @Test
         @DisplayName("should return unread count in conversation")
         void getUnreadCountInConversation_success() {
-            when(messageMapper.countUnreadInConversation(CONVERSATION_ID, SENDER_ID, TENANT_ID)).thenReturn(3);
+            when(conversationMapper.selectUnreadCount(CONVERSATION_ID, SENDER_ID, TENANT_ID)).thenReturn(3);
 
             int count = messageService.getUnreadCountInConversation(CONVERSATION_ID, SENDER_ID);
 
@@ -249,12 +295,20 @@ class MessageServiceImplTest {
         @Test
         @DisplayName("should return zero when no unread in conversation")
         void getUnreadCountInConversation_zero() {
-            when(messageMapper.countUnreadInConversation(CONVERSATION_ID, SENDER_ID, TENANT_ID)).thenReturn(0);
+            when(conversationMapper.selectUnreadCount(CONVERSATION_ID, SENDER_ID, TENANT_ID)).thenReturn(0);
 
             int count = messageService.getUnreadCountInConversation(CONVERSATION_ID, SENDER_ID);
 
             assertEquals(0, count);
         }
+
+        @Test
+        @DisplayName("should return zero when the conversation does not exist")
+        void getUnreadCountInConversation_missingConversation() {
+            when(conversationMapper.selectUnreadCount(CONVERSATION_ID, SENDER_ID, TENANT_ID)).thenReturn(null);
+
+            assertEquals(0, messageService.getUnreadCountInConversation(CONVERSATION_ID, SENDER_ID));
+        }
     }
 
     private SendMessageVO createSendMessageVO() {
@@ -1,13 +1,12 @@
 package cn.flying.service.impl;
 
-import cn.flying.common.util.CacheUtils;
-import cn.flying.common.util.Const;
 import cn.flying.common.util.IdUtils;
-import cn.flying.common.util.TenantKeyUtils;
 import cn.flying.dao.entity.SysPermission;
 import cn.flying.dao.entity.SysRolePermission;
 import cn.flying.dao.mapper.SysPermissionMapper;
 import cn.flying.dao.mapper.SysRolePermissionMapper;
+import cn.flying.service.permission.PermissionMatrix;
+import cn.flying.service.permission.PermissionSnapshotCache;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.MybatisConfiguration;
 import com.baomidou.mybatisplus.core.metadata.IPage;
@@ -24,8 +23,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,7 +48,7 @@ class PermissionServiceImplTest {
     private SysRolePermissionMapper rolePermissionMapper;
 
     @Mock
-    private CacheUtils cacheUtils;
+    private PermissionSnapshotCache snapshotCache;
 
     @InjectMocks
     private PermissionServiceImpl permissionService;
@@ -66,8 +72,20 @@ class PermissionServiceImplTest {
         TableInfoHelper.initTableInfo(assistant, SysRolePermission.class);
     }
 
-    private String buildExpectedCacheKey(String role, Long tenantId) {
-        return TenantKeyUtils.tenantKey(Const.PERMISSION_CACHE_PREFIX, tenantId) + role;
+    private static Map<String, Object> row(String role, String code) {
+        return Map.of("role", role, "code", code);
+    }
+
+    private void givenMatrix(Long tenantId, List<Map<String, Object>> rows) {
+        when(snapshotCache.matrix(tenantId)).thenReturn(PermissionMatrix.build(rows));
+    }
+
+    private void givenDefaultMatrix() {
+        givenMatrix(TENANT_ID, List.of(
+                row(ROLE_USER, PERM_FILE_READ),
+                row(ROLE_USER, PERM_FILE_WRITE),
+                row(ROLE_ADMIN, PERM_ADMIN_ALL),
+                row(ROLE_ADMIN, PERM_FILE_DELETE)));
     }
 
     @Nested
@@ -75,57 +93,35 @@ class PermissionServiceImplTest {
     class GetPermissionCodesSingleRole {
 
         @Test
-        @DisplayName("should return cached permissions on cache hit")
-        void cacheHit_returnsFromCache() {
-            String cacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            List<String> cachedList = List.of(PERM_FILE_READ, PERM_FILE_WRITE);
-            when(cacheUtils.takeListFormCache(cacheKey, String.class)).thenReturn(cachedList);
+        @DisplayName("should return role permissions from tenant snapshot")
+        void snapshot_returnsRolePermissions() {
+            givenDefaultMatrix();
 
             Set<String> result = permissionService.getPermissionCodes(ROLE_USER, TENANT_ID);
 
             assertEquals(Set.of(PERM_FILE_READ, PERM_FILE_WRITE), result);
-            verify(permissionMapper, never()).selectPermissionCodesByRole(anyString(), anyLong());
-            verify(cacheUtils, never()).saveToCache(anyString(), any(), anyLong());
-        }
-
-        @Test
-        @DisplayName("should query database and cache on cache miss")
-        void cacheMiss_queriesDatabaseAndCaches() {
-            String cacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            when(cacheUtils.takeListFormCache(cacheKey, String.class)).thenReturn(null);
-            Set<String> dbPermissions = Set.of(PERM_FILE_READ, PERM_FILE_WRITE);
-            when(permissionMapper.selectPermissionCodesByRole(ROLE_USER, TENANT_ID)).thenReturn(dbPermissions);
-
-            Set<String> result = permissionService.getPermissionCodes(ROLE_USER, TENANT_ID);
-
-            assertEquals(dbPermissions, result);
-            verify(permissionMapper).selectPermissionCodesByRole(ROLE_USER, TENANT_ID);
-            verify(cacheUtils).saveToCache(eq(cacheKey), eq(dbPermissions), eq(Const.PERMISSION_CACHE_TTL));
+            verifyNoInteractions(permissionMapper);
         }
 
         @Test
-        @DisplayName("should return empty set when database returns null")
-        void databaseReturnsNull_returnsEmptySet() {
-            String cacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            when(cacheUtils.takeListFormCache(cacheKey, String.class)).thenReturn(null);
-            when(permissionMapper.selectPermissionCodesByRole(ROLE_USER, TENANT_ID)).thenReturn(null);
+        @DisplayName("should return empty set when role is absent from snapshot")
+        void unknownRole_returnsEmptySet() {
+            givenDefaultMatrix();
 
-            Set<String> result = permissionService.getPermissionCodes(ROLE_USER, TENANT_ID);
+            Set<String> result = permissionService.getPermissionCodes("ROLE_GUEST", TENANT_ID);
 
             assertTrue(result.isEmpty());
-            verify(cacheUtils).saveToCache(eq(cacheKey), eq(new HashSet<>()), eq(Const.PERMISSION_CACHE_TTL));
         }
 
         @Test
-        @DisplayName("should return empty set when database returns empty")
-        void databaseReturnsEmpty_returnsEmptySet() {
-            String cacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            when(cacheUtils.takeListFormCache(cacheKey, String.class)).thenReturn(null);
-            when(permissionMapper.selectPermissionCodesByRole(ROLE_USER, TENANT_ID)).thenReturn(new HashSet<>());
+        @DisplayName("should return a mutable copy that does not affect the snapshot")
+        void returnedSet_isDetachedFromSnapshot() {
+            givenDefaultMatrix();
 
             Set<String> result = permissionService.getPermissionCodes(ROLE_USER, TENANT_ID);
+            result.add(PERM_ADMIN_ALL);
 
-            assertTrue(result.isEmpty());
+            assertFalse(permissionService.hasPermission(ROLE_USER, PERM_ADMIN_ALL, TENANT_ID));
         }
     }
 
@@ -139,7 +135,7 @@ class PermissionServiceImplTest {
             Set<String> result = permissionService.getPermissionCodes((List<String>) null, TENANT_ID);
 
             assertTrue(result.isEmpty());
-            verifyNoInteractions(cacheUtils);
+            verifyNoInteractions(snapshotCache);
             verifyNoInteractions(permissionMapper);
         }
 
@@ -149,85 +145,30 @@ class PermissionServiceImplTest {
             Set<String> result = permissionService.getPermissionCodes(List.of(), TENANT_ID);
 
             assertTrue(result.isEmpty());
-            verifyNoInteractions(cacheUtils);
+            verifyNoInteractions(snapshotCache);
             verifyNoInteractions(permissionMapper);
         }
 
         @Test
-        @DisplayName("should merge permissions from all cached roles")
-        void allCached_mergesPermissions() {
-            String userCacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            String adminCacheKey = buildExpectedCacheKey(ROLE_ADMIN, TENANT_ID);
-            when(cacheUtils.takeListFormCache(userCacheKey, String.class))
-                    .thenReturn(List.of(PERM_FILE_READ, PERM_FILE_WRITE));
-            when(cacheUtils.takeListFormCache(adminCacheKey, String.class))
-                    .thenReturn(List.of(PERM_ADMIN_ALL, PERM_FILE_DELETE));
+        @DisplayName("should merge permissions of all roles from one snapshot")
+        void multipleRoles_mergesPermissions() {
+            givenDefaultMatrix();
 
             Set<String> result = permissionService.getPermissionCodes(List.of(ROLE_USER, ROLE_ADMIN), TENANT_ID);
 
             assertEquals(Set.of(PERM_FILE_READ, PERM_FILE_WRITE, PERM_ADMIN_ALL, PERM_FILE_DELETE), result);
-            verify(permissionMapper, never()).selectPermissionCodesByRoles(any(), anyLong());
-        }
-
-        @Test
-        @DisplayName("should query database only for uncached roles")
-        void partiallyCached_queriesOnlyUncached() {
-            String userCacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            String adminCacheKey = buildExpectedCacheKey(ROLE_ADMIN, TENANT_ID);
-            when(cacheUtils.takeListFormCache(userCacheKey, String.class))
-                    .thenReturn(List.of(PERM_FILE_READ));
-            when(cacheUtils.takeListFormCache(adminCacheKey, String.class))
-                    .thenReturn(null);
-            when(permissionMapper.selectPermissionCodesByRoles(List.of(ROLE_ADMIN), TENANT_ID))
-                    .thenReturn(Set.of(PERM_ADMIN_ALL));
-            when(permissionMapper.selectPermissionCodesByRole(ROLE_ADMIN, TENANT_ID))
-                    .thenReturn(Set.of(PERM_ADMIN_ALL));
-
-            Set<String> result = permissionService.getPermissionCodes(List.of(ROLE_USER, ROLE_ADMIN), TENANT_ID);
-
-            assertEquals(Set.of(PERM_FILE_READ, PERM_ADMIN_ALL), result);
-            verify(permissionMapper).selectPermissionCodesByRoles(List.of(ROLE_ADMIN), TENANT_ID);
-            verify(permissionMapper).selectPermissionCodesByRole(ROLE_ADMIN, TENANT_ID);
-            verify(cacheUtils).saveToCache(eq(adminCacheKey), eq(Set.of(PERM_ADMIN_ALL)), eq(Const.PERMISSION_CACHE_TTL));
-        }
-
-        @Test
-        @DisplayName("should query all roles when none cached")
-        void noneCached_queriesAllRoles() {
-            String userCacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            String adminCacheKey = buildExpectedCacheKey(ROLE_ADMIN, TENANT_ID);
-            when(cacheUtils.takeListFormCache(userCacheKey, String.class)).thenReturn(null);
-            when(cacheUtils.takeListFormCache(adminCacheKey, String.class)).thenReturn(null);
-            
-            List<String> roles = List.of(ROLE_USER, ROLE_ADMIN);
-            when(permissionMapper.selectPermissionCodesByRoles(roles, TENANT_ID))
-                    .thenReturn(Set.of(PERM_FILE_READ, PERM_ADMIN_ALL));
-            when(permissionMapper.selectPermissionCodesByRole(ROLE_USER, TENANT_ID))
-                    .thenReturn(Set.of(PERM_FILE_READ));
-            when(permissionMapper.selectPermissionCodesByRole(ROLE_ADMIN, TENANT_ID))
-                    .thenReturn(Set.of(PERM_ADMIN_ALL));
-
-            Set<String> result = permissionService.getPermissionCodes(roles, TENANT_ID);
-
-            assertEquals(Set.of(PERM_FILE_READ, PERM_ADMIN_ALL), result);
-            verify(permissionMapper).selectPermissionCodesByRoles(roles, TENANT_ID);
-            verify(cacheUtils).saveToCache(eq(userCacheKey), eq(Set.of(PERM_FILE_READ)), eq(Const.PERMISSION_CACHE_TTL));
-            verify(cacheUtils).saveToCache(eq(adminCacheKey), eq(Set.of(PERM_ADMIN_ALL)), eq(Const.PERMISSION_CACHE_TTL));
+            verify(snapshotCache).matrix(TENANT_ID);
+            verifyNoInteractions(permissionMapper);
         }
 
         @Test
-        @DisplayName("should handle database returning null for batch query")
-        void databaseReturnsNullForBatch_handlesGracefully() {
-            String userCacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            when(cacheUtils.takeListFormCache(userCacheKey, String.class)).thenReturn(null);
-            List<String> roles = List.of(ROLE_USER);
-            when(permissionMapper.selectPermissionCodesByRoles(roles, TENANT_ID)).thenReturn(null);
-            when(permissionMapper.selectPermissionCodesByRole(ROLE_USER, TENANT_ID)).thenReturn(null);
+        @DisplayName("should ignore roles absent from snapshot")
+        void unknownRoles_ignored() {
+            givenDefaultMatrix();
 
-            Set<String> result = permissionService.getPermissionCodes(roles, TENANT_ID);
+            Set<String> result = permissionService.getPermissionCodes(List.of(ROLE_USER, "ROLE_GUEST"), TENANT_ID);
 
-            assertTrue(result.isEmpty());
-            verify(cacheUtils).saveToCache(eq(userCacheKey), eq(new HashSet<>()), eq(Const.PERMISSION_CACHE_TTL));
+            assertEquals(Set.of(PERM_FILE_READ, PERM_FILE_WRITE), result);
         }
     }
 
@@ -238,9 +179,7 @@ class PermissionServiceImplTest {
         @Test
         @DisplayName("should return true when permission exists")
         void permissionExists_returnsTrue() {
-            String cacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            when(cacheUtils.takeListFormCache(cacheKey, String.class))
-                    .thenReturn(List.of(PERM_FILE_READ, PERM_FILE_WRITE));
+            givenDefaultMatrix();
 
             boolean result = permissionService.hasPermission(ROLE_USER, PERM_FILE_READ, TENANT_ID);
 
@@ -250,9 +189,7 @@ class PermissionServiceImplTest {
         @Test
         @DisplayName("should return false when permission does not exist")
         void permissionNotExists_returnsFalse() {
-            String cacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            when(cacheUtils.takeListFormCache(cacheKey, String.class))
-                    .thenReturn(List.of(PERM_FILE_READ, PERM_FILE_WRITE));
+            givenDefaultMatrix();
 
             boolean result = permissionService.hasPermission(ROLE_USER, PERM_FILE_DELETE, TENANT_ID);
 
@@ -262,9 +199,7 @@ class PermissionServiceImplTest {
         @Test
         @DisplayName("should return false when role has no permissions")
         void noPermissions_returnsFalse() {
-            String cacheKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-            when(cacheUtils.takeListFormCache(cacheKey, String.class)).thenReturn(null);
-            when(permissionMapper.selectPermissionCodesByRole(ROLE_USER, TENANT_ID)).thenReturn(null);
+            givenMatrix(TENANT_ID, List.of());
 
             boolean result = permissionService.hasPermission(ROLE_USER, PERM_FILE_READ, TENANT_ID);
 
@@ -306,13 +241,11 @@ class PermissionServiceImplTest {
     class EvictCache {
 
         @Test
-        @DisplayName("should delete cache for role")
-        void evictCache_deletesRoleCache() {
-            String expectedKey = buildExpectedCacheKey(ROLE_USER, TENANT_ID);
-
+        @DisplayName("should invalidate tenant snapshot for role change")
+        void evictCache_invalidatesTenantSnapshot() {
             permissionService.evictCache(ROLE_USER, TENANT_ID);
 
-            verify(cacheUtils).deleteCache(expectedKey);
+            verify(snapshotCache).invalidateTenant(TENANT_ID);
         }
     }
 
@@ -321,13 +254,12 @@ class PermissionServiceImplTest {
     class EvictAllCache {
 
         @Test
-        @DisplayName("should delete all caches for tenant with pattern")
-        void evictAllCache_deletesWithPattern() {
-            String expectedPattern = TenantKeyUtils.tenantKey(Const.PERMISSION_CACHE_PREFIX, TENANT_ID) + "*";
-
+        @DisplayName("should invalidate tenant snapshot")
+        void evictAllCache_invalidatesTenantSnapshot() {
             permissionService.evictAllCache(TENANT_ID);
 
-            verify(cacheUtils).deleteCachePattern(expectedPattern);
+            verify(snapshotCache).invalidateTenant(TENANT_ID);
+            verify(snapshotCache, never()).invalidateAll();
         }
     }
 
@@ -430,15 +362,15 @@ class PermissionServiceImplTest {
             verify(permissionMapper, never()).selectById(anyLong());
             verify(permissionMapper).update(isNull(), any());
             verify(permissionMapper, never()).updateById(any(SysPermission.class));
-            verify(cacheUtils).deleteCachePattern(TenantKeyUtils.tenantKey(Const.PERMISSION_CACHE_PREFIX, TENANT_ID) + "*");
+            verify(snapshotCache).invalidateTenant(TENANT_ID);
         }
 
         /**
          * 验证全局权限定义更新会清理所有租户的角色权限缓存。
          */
         @Test
-        @DisplayName("should evict all tenant caches when global permission changes")
-        void updateGlobalPermission_evictsAllTenantCaches() {
+        @DisplayName("should invalidate all tenant snapshots when global permission changes")
+        void updateGlobalPermission_invalidatesAllTenantSnapshots() {
             Long globalTenantId = 0L;
             SysPermission permission = createPermission(10L, PERM_FILE_READ, "file");
             permission.setTenantId(globalTenantId);
@@ -455,16 +387,16 @@ class PermissionServiceImplTest {
             }
 
             verify(permissionMapper).update(isNull(), any());
-            verify(cacheUtils).deleteCachePattern("*" + Const.PERMISSION_CACHE_PREFIX + "*");
-            verify(cacheUtils, never()).deleteCachePattern(TenantKeyUtils.tenantKey(Const.PERMISSION_CACHE_PREFIX, globalTenantId) + "*");
+            verify(snapshotCache).invalidateAll();
+            verify(snapshotCache, never()).invalidateTenant(anyLong());
         }
 
         /**
-         * 验证未修改任何字段时不会执行 update，也不会清缓存。
+         * 验证未修改任何字段时不会执行 update，也不会使权限快照失效。
          */
         @Test
-        @DisplayName("should skip update and cache eviction when no fields change")
-        void updatePermissionWithoutChanges_skipsUpdateAndCacheEviction() {
+        @DisplayName("should skip update and snapshot invalidation when no fields change")
+        void updatePermissionWithoutChanges_skipsUpdateAndInvalidation() {
             SysPermission permission = createPermission(10L, PERM_FILE_READ, "file");
             when(permissionMapper.selectOne(any())).thenReturn(permission);
 
@@ -476,8 +408,7 @@ class PermissionServiceImplTest {
 
             assertSame(permission, result);
             verify(permissionMapper, never()).update(isNull(), any());
-            verify(cacheUtils, never()).deleteCachePattern(anyString());
-            verify(cacheUtils, never()).deleteCache(anyString());
+            verifyNoInteractions(snapshotCache);
         }
 
         /**
@@ -496,7 +427,7 @@ class PermissionServiceImplTest {
 
             assertNull(result);
             verify(permissionMapper, never()).update(isNull(), any());
-            verify(cacheUtils, never()).deleteCachePattern(anyString());
+            verifyNoInteractions(snapshotCache);
         }
 
         /**
@@ -517,11 +448,11 @@ class PermissionServiceImplTest {
             verify(rolePermissionMapper).delete(any(Wrapper.class));
             verify(permissionMapper).delete(any(Wrapper.class));
             verify(permissionMapper, never()).deleteById(anyLong());
-            verify(cacheUtils).deleteCachePattern(TenantKeyUtils.tenantKey(Const.PERMISSION_CACHE_PREFIX, TENANT_ID) + "*");
+            verify(snapshotCache).invalidateTenant(TENANT_ID);
         }
 
         /**
-         * 验证删除找不到当前租户权限时不会删除映射或清缓存。
+         * 验证删除找不到当前租户权限时不会删除映射或使权限快照失效。
          */
         @Test
         @DisplayName("should skip deletes when tenant scoped delete misses")
@@ -535,7 +466,7 @@ class PermissionServiceImplTest {
 
             verify(rolePermissionMapper, never()).delete(any(Wrapper.class));
             verify(permissionMapper, never()).delete(any(Wrapper.class));
-            verify(cacheUtils, never()).deleteCachePattern(anyString());
+            verifyNoInteractions(snapshotCache);
         }
 
         /**
@@ -589,11 +520,11 @@ class PermissionServiceImplTest {
         }
 
         /**
-         * 验证全局角色授权只按角色清理所有租户缓存。
+         * 验证全局角色授权使所有租户的权限快照失效。
          */
         @Test
-        @DisplayName("should evict role caches across tenants when assigning global role permission")
-        void assignGlobalPermissionToRole_evictsRoleCachesAcrossTenants() {
+        @DisplayName("should invalidate all tenant snapshots when assigning global role permission")
+        void assignGlobalPermissionToRole_invalidatesAllTenantSnapshots() {
             Long globalTenantId = 0L;
             SysPermission permission = createPermission(12L, PERM_FILE_WRITE, "file");
             permission.setTenantId(globalTenantId);
@@ -602,8 +533,8 @@ class PermissionServiceImplTest {
 
             permissionService.assignPermissionToRole(ROLE_USER, PERM_FILE_WRITE, globalTenantId);
 
-            verify(cacheUtils).deleteCachePattern("*" + Const.PERMISSION_CACHE_PREFIX + ROLE_USER);
-            verify(cacheUtils, never()).deleteCache(buildExpectedCacheKey(ROLE_USER, globalTenantId));
+            verify(snapshotCache).invalidateAll();
+            verify(snapshotCache, never()).invalidateTenant(anyLong());
         }
 
         /**
@@ -623,7 +554,7 @@ class PermissionServiceImplTest {
             assertTrue(sqlSegment.contains("role"));
             assertTrue(sqlSegment.contains("permission_id"));
             assertTrue(sqlSegment.contains("tenant_id"));
-            verify(cacheUtils).deleteCache(buildExpectedCacheKey(ROLE_USER, TENANT_ID));
+            verify(snapshotCache).invalidateTenant(TENANT_ID);
         }
 
         /**
@@ -641,11 +572,11 @@ class PermissionServiceImplTest {
         }
 
         /**
-         * 验证全局角色权限撤销会清理所有租户下该角色缓存。
+         * 验证全局角色权限撤销使所有租户的权限快照失效。
          */
         @Test
-        @DisplayName("should evict role caches across tenants when revoking global role permission")
-        void revokeGlobalPermissionFromRole_evictsRoleCachesAcrossTenants() {
+        @DisplayName("should invalidate all tenant snapshots when revoking global role permission")
+        void revokeGlobalPermissionFromRole_invalidatesAllTenantSnapshots() {
             Long globalTenantId = 0L;
             SysPermission permission = createPermission(13L, PERM_FILE_WRITE, "file");
             permission.setTenantId(globalTenantId);
@@ -654,8 +585,8 @@ class PermissionServiceImplTest {
             permissionService.revokePermissionFromRole(ROLE_USER, PERM_FILE_WRITE, globalTenantId);
 
             verify(rolePermissionMapper).delete(any(Wrapper.class));
-            verify(cacheUtils).deleteCachePattern("*" + Const.PERMISSION_CACHE_PREFIX + ROLE_USER);
-            verify(cacheUtils, never()).deleteCache(buildExpectedCacheKey(ROLE_USER, globalTenantId));
+            verify(snapshotCache).invalidateAll();
+            verify(snapshotCache, never()).invalidateTenant(anyLong());
         }
     }
 
@@ -664,17 +595,15 @@ class PermissionServiceImplTest {
     class MultiTenantIsolation {
 
         @Test
-        @DisplayName("should use different cache keys for different tenants")
-        void differentTenants_differentCacheKeys() {
+        @DisplayName("should read each tenant from its own snapshot")
+        void differentTenants_differentSnapshots() {
             Long tenant1 = 1L;
             Long tenant2 = 2L;
-            String cacheKey1 = buildExpectedCacheKey(ROLE_USER, tenant1);
-            String cacheKey2 = buildExpectedCacheKey(ROLE_USER, tenant2);
-
-            when(cacheUtils.takeListFormCache(cacheKey1, String.class))
-                    .thenReturn(List.of(PERM_FILE_READ));
-            when(cacheUtils.takeListFormCache(cacheKey2, String.class))
-                    .thenReturn(List.of(PERM_FILE_READ, PERM_FILE_WRITE, PERM_FILE_DELETE));
+            givenMatrix(tenant1, List.of(row(ROLE_USER, PERM_FILE_READ)));
+            givenMatrix(tenant2, List.of(
+                    row(ROLE_USER, PERM_FILE_READ),
+                    row(ROLE_USER, PERM_FILE_WRITE),
+                    row(ROLE_USER, PERM_FILE_DELETE)));
 
             Set<String> result1 = permissionService.getPermissionCodes(ROLE_USER, tenant1);
             Set<String> result2 = permissionService.getPermissionCodes(ROLE_USER, tenant2);
@@ -685,16 +614,89 @@ class PermissionServiceImplTest {
         }
 
         @Test
-        @DisplayName("should evict cache only for specified tenant")
+        @DisplayName("should invalidate snapshot only for specified tenant")
         void evictCache_isolatedByTenant() {
             Long tenant1 = 1L;
             Long tenant2 = 2L;
-            String expectedKey1 = buildExpectedCacheKey(ROLE_USER, tenant1);
 
             permissionService.evictCache(ROLE_USER, tenant1);
 
-            verify(cacheUtils).deleteCache(expectedKey1);
-            verify(cacheUtils, never()).deleteCache(buildExpectedCacheKey(ROLE_USER, tenant2));
+            verify(snapshotCache).invalidateTenant(tenant1);
+            verify(snapshotCache, never()).invalidateTenant(tenant2);
+            verify(snapshotCache, never()).invalidateAll();
+        }
+    }
+
+    @Nested
+    @DisplayName("snapshot invalidation vs. transaction commit")
+    class InvalidationAfterCommit {
+
+        /**
+         * 验证事务内授权在提交前不失效快照：并发请求在提交前按旧数据重建的快照，会在提交后被丢弃，
+         * 不会以新版本号长期缓存旧权限。
+         */
+        @Test
+        @DisplayName("should drop a snapshot rebuilt from uncommitted rows once the write commits")
+        @SuppressWarnings("unchecked")
+        void rebuildRacingUncommittedWrite_isDiscardedAfterCommit() {
+            AtomicBoolean committed = new AtomicBoolean();
+            AtomicLong tenantVersion = new AtomicLong();
+            StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+            ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.increment(anyString())).thenAnswer(invocation -> tenantVersion.incrementAndGet());
+            when(valueOperations.multiGet(anyCollection()))
+                    .thenAnswer(invocation -> List.of(String.valueOf(tenantVersion.get()), "0"));
+            when(permissionMapper.selectRolePermissionCodes(TENANT_ID)).thenAnswer(invocation -> committed.get()
+                    ? List.of(row(ROLE_USER, PERM_FILE_READ), row(ROLE_USER, PERM_FILE_WRITE))
+                    : List.of(row(ROLE_USER, PERM_FILE_READ)));
+            PermissionSnapshotCache cache = new PermissionSnapshotCache(
+                    permissionMapper, redisTemplate, mock(RedisMessageListenerContainer.class));
+            PermissionServiceImpl service = new PermissionServiceImpl(permissionMapper, rolePermissionMapper, cache);
+            when(permissionMapper.selectByCode(PERM_FILE_WRITE, TENANT_ID))
+                    .thenReturn(createPermission(12L, PERM_FILE_WRITE, "file"));
+            when(rolePermissionMapper.countByRoleAndPermission(ROLE_USER, PERM_FILE_WRITE, TENANT_ID)).thenReturn(0);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                service.assignPermissionToRole(ROLE_USER, PERM_FILE_WRITE, TENANT_ID);
+                assertEquals(0L, tenantVersion.get());
+
+                // 并发请求在写事务提交前重建快照，只能看到旧行
+                assertFalse(service.hasPermission(ROLE_USER, PERM_FILE_WRITE, TENANT_ID));
+
+                committed.set(true);
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCommit();
+                }
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertEquals(1L, tenantVersion.get());
+            assertTrue(service.hasPermission(ROLE_USER, PERM_FILE_WRITE, TENANT_ID));
+        }
+
+        /**
+         * 验证事务回滚时不推进版本也不广播。
+         */
+        @Test
+        @DisplayName("should not invalidate when the write transaction rolls back")
+        void rolledBackWrite_doesNotInvalidate() {
+            when(permissionMapper.selectByCode(PERM_FILE_WRITE, TENANT_ID))
+                    .thenReturn(createPermission(12L, PERM_FILE_WRITE, "file"));
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                permissionService.revokePermissionFromRole(ROLE_USER, PERM_FILE_WRITE, TENANT_ID);
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+                }
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            verifyNoInteractions(snapshotCache);
         }
     }
 
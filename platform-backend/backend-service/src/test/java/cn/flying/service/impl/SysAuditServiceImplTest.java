@@ -3,11 +3,17 @@ package cn.flying.service.impl;
 import cn.flying.common.exception.GeneralException;
 import cn.flying.common.constant.ResultEnum;
 import cn.flying.common.tenant.TenantContext;
+import cn.flying.common.util.IdUtils;
+import cn.flying.common.util.KeysetCursor;
+import cn.flying.common.util.SecureIdCodec;
 import cn.flying.dao.dto.SysOperationLog;
 import cn.flying.dao.mapper.SysOperationLogMapper;
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.audit.*;
+import cn.flying.service.audit.AuditRollupService;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,10 +21,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +45,9 @@ class SysAuditServiceImplTest {
     @Mock
     private SysOperationLogMapper operationLogMapper;
 
+    @Mock
+    private AuditRollupService auditRollupService;
+
     @InjectMocks
     private SysAuditServiceImpl sysAuditService;
 
@@ -127,6 +140,20 @@ class SysAuditServiceImplTest {
             assertThat(result.get(0).getOperationCount()).isEqualTo(100);
         }
 
+        @Test
+        @DisplayName("should read high frequency operations from rollups when enabled")
+        void shouldReadHighFrequencyOperationsFromRollups() {
+            HighFrequencyOperationVO operation = new HighFrequencyOperationVO();
+            operation.setUserId("user1");
+            when(auditRollupService.isEnabled()).thenReturn(true);
+            when(auditRollupService.highFrequencyOperations(any())).thenReturn(List.of(operation));
+
+            List<HighFrequencyOperationVO> result = sysAuditService.getHighFrequencyOperations();
+
+            assertThat(result).hasSize(1);
+            verify(operationLogMapper, never()).selectHighFrequencyOperations();
+        }
+
         @Test
         @DisplayName("should return empty list when no high frequency operations")
         void shouldReturnEmptyListWhenNoOperations() {
@@ -293,6 +320,84 @@ class SysAuditServiceImplTest {
             assertThat(result).hasSize(1);
             verify(operationLogMapper).selectList(any());
         }
+
+        @Test
+        @DisplayName("should stream logs row by row through result handler")
+        @SuppressWarnings("unchecked")
+        void shouldStreamLogsRowByRow() {
+            doAnswer(invocation -> {
+                ResultHandler<SysOperationLog> handler = invocation.getArgument(1);
+                for (long id = 1; id <= 3; id++) {
+                    ResultContext<SysOperationLog> context = mock(ResultContext.class);
+                    when(context.getResultObject()).thenReturn(createOperationLog(id));
+                    handler.handleResult(context);
+                }
+                return null;
+            }).when(operationLogMapper).streamByWrapper(any(), any());
+            List<Long> seen = new ArrayList<>();
+
+            long rows = sysAuditService.streamOperationLogs(defaultQuery, log -> seen.add(log.getId()));
+
+            assertThat(rows).isEqualTo(3L);
+            assertThat(seen).containsExactly(1L, 2L, 3L);
+            verify(operationLogMapper, never()).selectList(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("queryOperationLogsByCursor Tests")
+    class QueryOperationLogsByCursorTests {
+
+        private SecureIdCodec originalSecureIdCodec;
+
+        @BeforeEach
+        void setUpCodec() {
+            originalSecureIdCodec = (SecureIdCodec) ReflectionTestUtils.getField(IdUtils.class, "secureIdCodec");
+            ReflectionTestUtils.setField(
+                    IdUtils.class,
+                    "secureIdCodec",
+                    new SecureIdCodec("SecureTestKey4UnitTests2026XyZ789AbCdEfGhIjKlMnOpQrStUvWxYz1234"));
+        }
+
+        @AfterEach
+        void restoreCodec() {
+            ReflectionTestUtils.setField(IdUtils.class, "secureIdCodec", originalSecureIdCodec);
+        }
+
+        @Test
+        @DisplayName("should return next cursor from last row when more rows exist")
+        void shouldReturnNextCursorWhenMoreRowsExist() {
+            SysOperationLog first = createOperationLog(3L);
+            SysOperationLog second = createOperationLog(2L);
+            SysOperationLog extra = createOperationLog(1L);
+            when(operationLogMapper.selectList(any())).thenReturn(new ArrayList<>(List.of(first, second, extra)));
+
+            CursorPageVO<SysOperationLog> page = sysAuditService.queryOperationLogsByCursor(defaultQuery, null, 2);
+
+            assertThat(page.records()).containsExactly(first, second);
+            assertThat(KeysetCursor.decode(page.nextCursor()))
+                    .isEqualTo(KeysetCursor.of(second.getOperationTime(), 2L));
+            verify(operationLogMapper, never()).selectPage(any(), any());
+        }
+
+        @Test
+        @DisplayName("should return null cursor on last page")
+        void shouldReturnNullCursorOnLastPage() {
+            String cursor = KeysetCursor.of(LocalDateTime.now(), 10L).encode();
+            when(operationLogMapper.selectList(any())).thenReturn(List.of(createOperationLog(9L)));
+
+            CursorPageVO<SysOperationLog> page = sysAuditService.queryOperationLogsByCursor(defaultQuery, cursor, 2);
+
+            assertThat(page.records()).hasSize(1);
+            assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThrows(GeneralException.class,
+                    () -> sysAuditService.queryOperationLogsByCursor(defaultQuery, "not-a-cursor", 2));
+        }
     }
 
     @Nested
@@ -325,6 +430,24 @@ class SysAuditServiceImplTest {
             assertThat(result).containsKey("auditEnabled");
         }
 
+        @Test
+        @DisplayName("should read overview from rollups when enabled")
+        void shouldReadOverviewFromRollupsWhenEnabled() {
+            when(auditRollupService.isEnabled()).thenReturn(true);
+            doAnswer(invocation -> {
+                Map<String, Object> overview = invocation.getArgument(0);
+                overview.put("totalOperations", 1000L);
+                return null;
+            }).when(auditRollupService).fillOverview(anyMap(), any(), any(), eq(7));
+
+            Map<String, Object> result = sysAuditService.getAuditOverview();
+
+            assertThat(result.get("totalOperations")).isEqualTo(1000L);
+            assertThat(result).containsKey("auditEnabled");
+            verify(operationLogMapper, never()).selectTotalOperations();
+            verify(operationLogMapper, never()).selectDailyStats(anyInt());
+        }
+
         @Test
         @DisplayName("should handle overview errors gracefully")
         void shouldHandleOverviewErrorsGracefully() {
@@ -2,6 +2,7 @@ package cn.flying.service.impl;
 
 import cn.flying.dao.dto.SysOperationLog;
 import cn.flying.dao.mapper.SysOperationLogMapper;
+import cn.flying.service.audit.AuditRollupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,10 +11,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -24,6 +28,9 @@ class SysOperationLogServiceImplTest {
     @Mock
     private SysOperationLogMapper baseMapper;
 
+    @Mock
+    private AuditRollupService auditRollupService;
+
     @InjectMocks
     private SysOperationLogServiceImpl sysOperationLogService;
 
@@ -45,6 +52,60 @@ class SysOperationLogServiceImplTest {
 
             sysOperationLogService.saveOperationLog(log);
 
+            verify(baseMapper).insert(log);
+            verify(auditRollupService).record(log);
+        }
+
+        @Test
+        @DisplayName("should defer rollup until the log transaction commits")
+        void shouldDeferRollupUntilCommit() {
+            SysOperationLog log = createOperationLog();
+            when(baseMapper.insert(any(SysOperationLog.class))).thenReturn(1);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                sysOperationLogService.saveOperationLog(log);
+                verify(auditRollupService, never()).record(any());
+
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCommit();
+                }
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            verify(auditRollupService).record(log);
+        }
+
+        @Test
+        @DisplayName("should skip rollup when the log transaction rolls back")
+        void shouldSkipRollupOnRollback() {
+            SysOperationLog log = createOperationLog();
+            when(baseMapper.insert(any(SysOperationLog.class))).thenReturn(1);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                sysOperationLogService.saveOperationLog(log);
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+                }
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            verify(auditRollupService, never()).record(any());
+        }
+
+        @Test
+        @DisplayName("should keep the log when the rollup write fails")
+        void shouldSwallowRollupFailure() {
+            SysOperationLog log = createOperationLog();
+            when(baseMapper.insert(any(SysOperationLog.class))).thenReturn(1);
+            doThrow(new RuntimeException("Deadlock found when trying to get lock"))
+                    .when(auditRollupService).record(log);
+
+            assertThatCode(() -> sysOperationLogService.saveOperationLog(log)).doesNotThrowAnyException();
+
             verify(baseMapper).insert(log);
         }
 
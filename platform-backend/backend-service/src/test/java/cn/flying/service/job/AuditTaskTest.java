@@ -2,6 +2,7 @@ package cn.flying.service.job;
 
 import cn.flying.dao.mapper.TenantMapper;
 import cn.flying.service.SysAuditService;
+import cn.flying.service.audit.AuditRollupService;
 import cn.flying.service.sse.SseEmitterManager;
 import cn.flying.service.sse.SseEvent;
 import org.junit.jupiter.api.AfterEach;
@@ -12,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +39,9 @@ class AuditTaskTest {
     @Mock
     private TenantMapper tenantMapper;
 
+    @Mock
+    private AuditRollupService auditRollupService;
+
     private AuditTask auditTask;
 
     /**
@@ -48,10 +53,12 @@ class AuditTaskTest {
         ReflectionTestUtils.setField(auditTask, "sysAuditService", sysAuditService);
         ReflectionTestUtils.setField(auditTask, "sseEmitterManager", sseEmitterManager);
         ReflectionTestUtils.setField(auditTask, "tenantMapper", tenantMapper);
+        ReflectionTestUtils.setField(auditTask, "auditRollupService", auditRollupService);
         ReflectionTestUtils.setField(auditTask, "anomalyCheckEnabled", true);
         ReflectionTestUtils.setField(auditTask, "backupEnabled", true);
         ReflectionTestUtils.setField(auditTask, "logRetentionDays", 180);
         ReflectionTestUtils.setField(auditTask, "deleteAfterBackup", true);
+        ReflectionTestUtils.setField(auditTask, "backfillDaysPerRun", 3);
     }
 
     /**
@@ -97,4 +104,78 @@ class AuditTaskTest {
 
         verify(sysAuditService, times(2)).backupLogs(180, true);
     }
+
+    /**
+     * 验证预聚合对账按活跃租户重算前一天并清理分钟桶。
+     */
+    @Test
+    void shouldReconcileRollupsForEachActiveTenant() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        when(auditRollupService.isEnabled()).thenReturn(true);
+        when(tenantMapper.selectActiveTenantIds()).thenReturn(List.of(1L, 2L));
+
+        auditTask.reconcileRollupsScheduled();
+
+        verify(auditRollupService).reconcileDay(1L, yesterday);
+        verify(auditRollupService).reconcileDay(2L, yesterday);
+        verify(auditRollupService, times(2)).pruneMinuteBuckets(any());
+    }
+
+    /**
+     * 验证启动时按活跃租户把当日原始日志用户并入草图，覆盖升级前的当日日志。
+     */
+    @Test
+    void shouldBackfillTodaySketchForEachActiveTenantOnStartup() {
+        LocalDate today = LocalDate.now();
+        when(auditRollupService.isEnabled()).thenReturn(true);
+        when(tenantMapper.selectActiveTenantIds()).thenReturn(List.of(1L, 2L));
+
+        auditTask.backfillTodaySketchesOnStartup();
+
+        verify(auditRollupService).mergeSketchFromLog(1L, today);
+        verify(auditRollupService).mergeSketchFromLog(2L, today);
+    }
+
+    /**
+     * 验证历史回填每次最多重算配置的天数，回填完成的租户立即跳过。
+     */
+    @Test
+    void shouldBackfillBoundedDaysPerTenant() {
+        when(auditRollupService.isEnabled()).thenReturn(true);
+        when(tenantMapper.selectActiveTenantIds()).thenReturn(List.of(1L, 2L));
+        when(auditRollupService.backfillNextDay(1L)).thenReturn(true);
+        when(auditRollupService.backfillNextDay(2L)).thenReturn(true, false);
+
+        auditTask.backfillRollupsScheduled();
+
+        verify(auditRollupService, times(3)).backfillNextDay(1L);
+        verify(auditRollupService, times(2)).backfillNextDay(2L);
+    }
+
+    /**
+     * 验证单个租户回填失败不影响其他租户。
+     */
+    @Test
+    void shouldContinueBackfillAfterTenantFailure() {
+        when(auditRollupService.isEnabled()).thenReturn(true);
+        when(tenantMapper.selectActiveTenantIds()).thenReturn(List.of(1L, 2L));
+        when(auditRollupService.backfillNextDay(1L)).thenThrow(new IllegalStateException("lock wait timeout"));
+        when(auditRollupService.backfillNextDay(2L)).thenReturn(false);
+
+        auditTask.backfillRollupsScheduled();
+
+        verify(auditRollupService).backfillNextDay(2L);
+    }
+
+    /**
+     * 验证关闭预聚合时不执行对账。
+     */
+    @Test
+    void shouldSkipRollupReconcileWhenDisabled() {
+        when(auditRollupService.isEnabled()).thenReturn(false);
+
+        auditTask.reconcileRollupsScheduled();
+
+        verify(tenantMapper, never()).selectActiveTenantIds();
+    }
 }
@@ -0,0 +1,121 @@
+package cn.flying.service.job;
+
+import cn.flying.common.tenant.TenantContext;
+import cn.flying.dao.mapper.ConversationMapper;
+import cn.flying.dao.mapper.TenantMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * MessageUnreadCounterRepairTask 单元测试。
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageUnreadCounterRepairTaskTest {
+
+    private static final Long TENANT_ID = 1L;
+
+    @Mock
+    private ConversationMapper conversationMapper;
+
+    @Mock
+    private TenantMapper tenantMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MessageUnreadCounterRepairTask task;
+
+    /**
+     * 初始化任务，事务模板直接执行回调。
+     */
+    @BeforeEach
+    void setUp() {
+        task = new MessageUnreadCounterRepairTask();
+        ReflectionTestUtils.setField(task, "conversationMapper", conversationMapper);
+        ReflectionTestUtils.setField(task, "tenantMapper", tenantMapper);
+        ReflectionTestUtils.setField(task, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(task, "batchSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    /**
+     * 清理租户上下文，避免测试间污染。
+     */
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    /**
+     * 验证按会话ID游标分批，每批先加锁再按锁定的ID范围重算，直到不足一批为止。
+     */
+    @Test
+    void shouldLockThenRecomputeEachBatchUntilExhausted() {
+        when(conversationMapper.lockIdsForUnreadRepair(TENANT_ID, 0L, 2)).thenReturn(List.of(10L, 12L));
+        when(conversationMapper.lockIdsForUnreadRepair(TENANT_ID, 12L, 2)).thenReturn(List.of(15L));
+        when(conversationMapper.recomputeUnreadCounters(TENANT_ID, 10L, 12L)).thenReturn(1);
+        when(conversationMapper.recomputeUnreadCounters(TENANT_ID, 15L, 15L)).thenReturn(1);
+
+        int repaired = task.repairTenant(TENANT_ID);
+
+        assertEquals(2, repaired);
+        InOrder inOrder = inOrder(conversationMapper);
+        inOrder.verify(conversationMapper).lockIdsForUnreadRepair(TENANT_ID, 0L, 2);
+        inOrder.verify(conversationMapper).recomputeUnreadCounters(TENANT_ID, 10L, 12L);
+        inOrder.verify(conversationMapper).lockIdsForUnreadRepair(TENANT_ID, 12L, 2);
+        inOrder.verify(conversationMapper).recomputeUnreadCounters(TENANT_ID, 15L, 15L);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    /**
+     * 验证恰好整批结束时再取一次空批后停止，且空批不执行重算。
+     */
+    @Test
+    void shouldStopOnEmptyBatch() {
+        when(conversationMapper.lockIdsForUnreadRepair(TENANT_ID, 0L, 2)).thenReturn(List.of(1L, 2L));
+        when(conversationMapper.lockIdsForUnreadRepair(TENANT_ID, 2L, 2)).thenReturn(List.of());
+
+        int repaired = task.repairTenant(TENANT_ID);
+
+        assertEquals(0, repaired);
+        verify(conversationMapper, times(1)).recomputeUnreadCounters(anyLong(), anyLong(), anyLong());
+    }
+
+    /**
+     * 验证单个租户失败不影响其他租户的校准。
+     */
+    @Test
+    void shouldContinueWithNextTenantWhenOneFails() {
+        when(tenantMapper.selectActiveTenantIds()).thenReturn(List.of(TENANT_ID, 2L));
+        when(conversationMapper.lockIdsForUnreadRepair(eq(TENANT_ID), anyLong(), anyInt()))
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+        when(conversationMapper.lockIdsForUnreadRepair(2L, 0L, 2)).thenReturn(List.of(7L));
+
+        task.repairUnreadCounters();
+
+        verify(conversationMapper).recomputeUnreadCounters(2L, 7L, 7L);
+        verify(conversationMapper, never()).recomputeUnreadCounters(eq(TENANT_ID), anyLong(), anyLong());
+    }
+}
@@ -90,7 +90,7 @@ class FileKeyEnvelopeServiceTest {
                 .thenReturn("SUCCEEDED");
         envelopeService = new FileKeyEnvelopeService(
                 fileKeyEnvelopeMapper, fileKeyAuditLogMapper, wrappingRegistry, properties, suitePolicy,
-                rotationActivationService);
+                rotationActivationService, new UnwrappedDataKeyCache(properties, new SimpleMeterRegistry()));
     }
 
     /**
@@ -0,0 +1,181 @@
+package cn.flying.service.key;
+
+import cn.flying.dao.entity.FileKeyEnvelope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 验证已解封数据密钥缓存的租户开关、TTL、使用次数、容量与失效语义。
+ */
+class UnwrappedDataKeyCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private FileKeyEnvelopeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private UnwrappedDataKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FileKeyEnvelopeProperties();
+        properties.getUnwrapCache().setEnabled(true);
+        properties.getUnwrapCache().setTtl(Duration.ofSeconds(30));
+        properties.getUnwrapCache().setMaxUses(3);
+        properties.getUnwrapCache().setMaxEntriesPerTenant(2);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW);
+        cache = new UnwrappedDataKeyCache(properties, meterRegistry, clock);
+    }
+
+    /**
+     * 验证默认关闭，且租户 allowlist 之外的请求直接旁路。
+     */
+    @Test
+    void shouldBypassWhenDisabledOrTenantNotAllowed() {
+        properties.getUnwrapCache().setEnabled(false);
+        cache.put(envelope(1L, 10L, "wrapped-a"), "plain-a");
+        assertThat(cache.get(envelope(1L, 10L, "wrapped-a"))).isEmpty();
+
+        properties.getUnwrapCache().setEnabled(true);
+        properties.getUnwrapCache().setTenantIds(Set.of(2L));
+        cache.put(envelope(1L, 10L, "wrapped-a"), "plain-a");
+        assertThat(cache.get(envelope(1L, 10L, "wrapped-a"))).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(meterRegistry.counter("app.file.key_unwrap_cache.requests", "result", "bypass").count())
+                .isEqualTo(2.0);
+    }
+
+    /**
+     * 验证命中只在同租户同材料时生效，跨租户同 envelope id 不会串读。
+     */
+    @Test
+    void shouldIsolateTenantsAndRequireMatchingMaterial() {
+        cache.put(envelope(1L, 10L, "wrapped-a"), "plain-a");
+
+        assertThat(cache.get(envelope(1L, 10L, "wrapped-a"))).contains("plain-a");
+        assertThat(cache.get(envelope(2L, 10L, "wrapped-a"))).isEmpty();
+        assertThat(cache.get(envelope(1L, 10L, "wrapped-rotated"))).isEmpty();
+        assertThat(cache.get(envelope(1L, 10L, "wrapped-a"))).isEmpty();
+        assertThat(meterRegistry.counter("app.file.key_unwrap_cache.evictions", "reason", "material_changed")
+                .count()).isEqualTo(1.0);
+    }
+
+    /**
+     * 验证 TTL 到期与最大使用次数都会淘汰条目。
+     */
+    @Test
+    void shouldExpireByTtlAndMaxUses() {
+        FileKeyEnvelope envelope = envelope(1L, 10L, "wrapped-a");
+        cache.put(envelope, "plain-a");
+        assertThat(cache.get(envelope)).contains("plain-a");
+        assertThat(cache.get(envelope)).contains("plain-a");
+        assertThat(cache.get(envelope)).contains("plain-a");
+        assertThat(cache.get(envelope)).isEmpty();
+        assertThat(cache.size()).isZero();
+
+        cache.put(envelope, "plain-a");
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(cache.get(envelope)).isEmpty();
+        assertThat(meterRegistry.counter("app.file.key_unwrap_cache.evictions", "reason", "max_uses").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("app.file.key_unwrap_cache.evictions", "reason", "expired").count())
+                .isEqualTo(1.0);
+    }
+
+    /**
+     * 验证定时清扫无需查找即可清零过期条目，未过期条目保留。
+     */
+    @Test
+    void shouldSweepExpiredEntriesWithoutLookup() {
+        cache.put(envelope(1L, 10L, "wrapped-a"), "plain-a");
+        cache.put(envelope(2L, 20L, "wrapped-b"), "plain-b");
+        clock.advance(Duration.ofSeconds(10));
+        cache.put(envelope(1L, 11L, "wrapped-c"), "plain-c");
+
+        clock.advance(Duration.ofSeconds(20));
+        cache.evictExpired();
+
+        assertThat(cache.size()).isEqualTo(1L);
+        assertThat(meterRegistry.get("app.file.key_unwrap_cache.entries").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("app.file.key_unwrap_cache.evictions", "reason", "expired").count())
+                .isEqualTo(2.0);
+        assertThat(cache.get(envelope(1L, 11L, "wrapped-c"))).contains("plain-c");
+    }
+
+    /**
+     * 验证单租户容量按 LRU 淘汰，显式失效立即移除。
+     */
+    @Test
+    void shouldEvictLeastRecentlyUsedAndHonorInvalidation() {
+        cache.put(envelope(1L, 10L, "wrapped-a"), "plain-a");
+        cache.put(envelope(1L, 11L, "wrapped-b"), "plain-b");
+        assertThat(cache.get(envelope(1L, 10L, "wrapped-a"))).contains("plain-a");
+        cache.put(envelope(1L, 12L, "wrapped-c"), "plain-c");
+
+        assertThat(cache.get(envelope(1L, 11L, "wrapped-b"))).isEmpty();
+        assertThat(cache.get(envelope(1L, 10L, "wrapped-a"))).contains("plain-a");
+
+        cache.invalidate(1L, 10L);
+        assertThat(cache.get(envelope(1L, 10L, "wrapped-a"))).isEmpty();
+        cache.invalidate(1L, 12L);
+        assertThat(cache.get(envelope(1L, 12L, "wrapped-c"))).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(meterRegistry.get("app.file.key_unwrap_cache.entries").gauge().value()).isZero();
+    }
+
+    private FileKeyEnvelope envelope(Long tenantId, Long envelopeId, String wrapped) {
+        return new FileKeyEnvelope()
+                .setId(envelopeId)
+                .setTenantId(tenantId)
+                .setEncryptedDataKey(wrapped)
+                .setWrappingIv("iv")
+                .setAadHash("a".repeat(64))
+                .setKmsProvider("local")
+                .setProviderContractVersion(1)
+                .setKmsKeyId("local-file-key-v1")
+                .setKeyVersion(1)
+                .setContextSchema(WrappingContext.LOCAL_AAD_V1);
+    }
+
+    /**
+     * 可手动推进的测试时钟。
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
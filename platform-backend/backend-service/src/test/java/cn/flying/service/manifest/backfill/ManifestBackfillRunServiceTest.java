@@ -24,17 +24,32 @@ import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -42,7 +57,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
- * Verifies immutable derivative runs, crash recovery polling, and bounded retry exhaustion.
+ * Verifies immutable derivative runs, crash recovery polling, bounded retry exhaustion, and parallel apply workers.
  */
 @ExtendWith(MockitoExtension.class)
 class ManifestBackfillRunServiceTest {
@@ -70,6 +85,8 @@ class ManifestBackfillRunServiceTest {
     @Mock
     private SnowflakeIdGenerator snowflakeIdGenerator;
 
+    private ManifestBackfillWorkerPool workerPool;
+
     private ManifestBackfillRunService runService;
 
     /**
@@ -87,12 +104,25 @@ class ManifestBackfillRunServiceTest {
     @BeforeEach
     void setUp() {
         TenantContext.setTenantId(TENANT_ID);
-        runService = new ManifestBackfillRunService(
-                runMapper, itemMapper, fileMapper, evidenceResolver, claimService,
-                publisher, snowflakeIdGenerator, new SimpleMeterRegistry());
-        ReflectionTestUtils.setField(runService, "workerEnabled", true);
-        ReflectionTestUtils.setField(runService, "applyEnabled", true);
-        ReflectionTestUtils.setField(runService, "runLeaseSeconds", 300L);
+        workerPool = new ManifestBackfillWorkerPool(8, new SimpleMeterRegistry());
+        runService = newRunService(claimService);
+    }
+
+    /**
+     * Builds a rollout-enabled service over the given claim service with test-sized coordination settings.
+     */
+    private ManifestBackfillRunService newRunService(ManifestBackfillClaimService claims) {
+        ManifestBackfillRunService service = new ManifestBackfillRunService(
+                runMapper, itemMapper, fileMapper, evidenceResolver, claims,
+                publisher, snowflakeIdGenerator, new SimpleMeterRegistry(), workerPool);
+        ReflectionTestUtils.setField(service, "workerEnabled", true);
+        ReflectionTestUtils.setField(service, "applyEnabled", true);
+        ReflectionTestUtils.setField(service, "runLeaseSeconds", 300L);
+        ReflectionTestUtils.setField(service, "defaultApplyWorkers", 4);
+        ReflectionTestUtils.setField(service, "errorBudgetRatio", 0.25d);
+        ReflectionTestUtils.setField(service, "errorBudgetMinAttempts", 50L);
+        ReflectionTestUtils.setField(service, "coordinationIntervalMillis", 10L);
+        return service;
     }
 
     /**
@@ -101,6 +131,7 @@ class ManifestBackfillRunServiceTest {
     @AfterEach
     void tearDown() {
         TenantContext.clear();
+        workerPool.shutdown();
     }
 
     /**
@@ -292,6 +323,8 @@ class ManifestBackfillRunServiceTest {
         assertThat(scan.getFailedCount()).isZero();
         assertThat(dryRun.getSnapshotRunId()).isEqualTo(10L);
         assertThat(apply.getSnapshotRunId()).isEqualTo(10L);
+        assertThat(scan.getWorkerConcurrency()).isEqualTo(1);
+        assertThat(apply.getWorkerConcurrency()).isEqualTo(4);
         verify(runMapper, times(3)).insert(any(ManifestBackfillRun.class));
     }
 
@@ -615,6 +648,185 @@ class ManifestBackfillRunServiceTest {
         assertThat(finalUpdate.getFailedCount()).isEqualTo(1L);
     }
 
+    /**
+     * Completes every item exactly once while four workers claim disjoint pages through the skip-locked claim table.
+     */
+    @Test
+    void shouldCompleteEveryItemExactlyOnceAcrossConcurrentWorkers() {
+        ClaimTable table = wireClaimTable(sourceItems(400));
+        wireParallelApplyRun(new AtomicInteger(4));
+        CountDownLatch allWorkersPublishing = new CountDownLatch(4);
+        wirePublisher(table, (itemId, active) -> {
+            allWorkersPublishing.countDown();
+            awaitQuietly(allWorkersPublishing);
+        });
+
+        newRunService(new ManifestBackfillClaimService(itemMapper)).processPlannedRun(20L);
+
+        assertThat(allWorkersPublishing.getCount()).isZero();
+        assertThat(table.rows(20L)).hasSize(400)
+                .extracting(ManifestBackfillItem::getStatus).containsOnly("BACKFILLED");
+        assertThat(table.completionCounts()).hasSize(400).containsOnly(1);
+        verify(publisher, times(400)).publish(eq(TENANT_ID), eq(20L), any(Long.class), anyString());
+        ManifestBackfillRun finalUpdate = lastRunUpdate();
+        assertThat(finalUpdate.getStatus()).isEqualTo(ManifestBackfillRunStatus.COMPLETED.name());
+        assertThat(finalUpdate.getBackfilledCount()).isEqualTo(400L);
+        verify(runMapper, org.mockito.Mockito.atLeastOnce()).recordApplyProgress(
+                eq(20L), eq(TENANT_ID), any(Long.class), eq(0L), any(Long.class));
+    }
+
+    /**
+     * Lets a live worker take over a dead worker's items only after lease expiry and fences the dead worker's late writes.
+     */
+    @Test
+    void shouldTakeOverExpiredLeaseAfterWorkerDeath() {
+        ClaimTable table = wireClaimTable(List.of());
+        table.seedPending(20L, 3);
+        ManifestBackfillClaimService claims = new ManifestBackfillClaimService(itemMapper);
+        Instant start = Instant.now();
+
+        ManifestBackfillClaim dead = claims.claim(20L, TENANT_ID, 20, 3, 120L, start);
+        assertThat(claims.claim(20L, TENANT_ID, 20, 3, 120L, start.plusSeconds(60))).isNull();
+        table.setClock(start.plusSeconds(121));
+        ManifestBackfillClaim takeover = claims.claim(20L, TENANT_ID, 20, 3, 120L, start.plusSeconds(121));
+
+        assertThat(takeover.claimToken()).isNotEqualTo(dead.claimToken());
+        assertThat(takeover.items()).extracting(ManifestBackfillItem::getId)
+                .containsExactlyElementsOf(dead.items().stream().map(ManifestBackfillItem::getId).toList());
+        assertThat(takeover.items()).extracting(ManifestBackfillItem::getAttemptCount).containsOnly(2);
+        assertThat(table.complete(dead.items().getFirst().getId(), dead.claimToken(), "BACKFILLED")).isZero();
+        assertThatThrownBy(() -> claims.failClaim(dead.items().get(1), dead.claimToken(),
+                ManifestBackfillReason.DATABASE_TRANSIENT, true, "TransientDatabaseException"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(ManifestBackfillReason.CLAIM_LOST.name());
+        for (ManifestBackfillItem item : takeover.items()) {
+            assertThat(table.complete(item.getId(), takeover.claimToken(), "BACKFILLED")).isOne();
+        }
+        assertThat(table.completionCounts()).hasSize(3).containsOnly(1);
+    }
+
+    /**
+     * Reclaims a crashed worker's expired leases during a parallel apply run without publishing any item twice.
+     */
+    @Test
+    void shouldReclaimDeadWorkerLeasesDuringParallelApply() {
+        List<ManifestBackfillItem> sources = sourceItems(60);
+        ClaimTable table = wireClaimTable(sources);
+        sources.forEach(source -> table.insert(cloneOf(source, 1_000L + source.getId())));
+        ManifestBackfillClaim dead = new ManifestBackfillClaimService(itemMapper).claim(
+                20L, TENANT_ID, 20, 3, 120L, Instant.now().minusSeconds(600));
+        wireParallelApplyRun(new AtomicInteger(3));
+        wirePublisher(table, (itemId, active) -> {
+        });
+
+        newRunService(new ManifestBackfillClaimService(itemMapper)).processPlannedRun(20L);
+
+        assertThat(table.rows(20L)).hasSize(60)
+                .extracting(ManifestBackfillItem::getStatus).containsOnly("BACKFILLED");
+        assertThat(table.completionCounts()).hasSize(60).containsOnly(1);
+        assertThat(table.rows(20L)).filteredOn(row -> dead.items().stream()
+                        .anyMatch(claimed -> claimed.getId().equals(row.getId())))
+                .hasSize(20)
+                .extracting(ManifestBackfillItem::getAttemptCount).containsOnly(2);
+        assertThat(table.complete(dead.items().getFirst().getId(), dead.claimToken(), "FAILED")).isZero();
+        assertThat(lastRunUpdate().getStatus()).isEqualTo(ManifestBackfillRunStatus.COMPLETED.name());
+    }
+
+    /**
+     * Raises and lowers the worker count of an applying run without restarting it.
+     */
+    @Test
+    void shouldFollowRuntimeWorkerConcurrencyChanges() {
+        ClaimTable table = wireClaimTable(sourceItems(2_000));
+        AtomicInteger concurrency = new AtomicInteger(1);
+        wireParallelApplyRun(concurrency);
+        AtomicInteger published = new AtomicInteger();
+        AtomicInteger maxBeforeRaise = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicBoolean singleWorkerAfterLowering = new AtomicBoolean();
+        CountDownLatch raised = new CountDownLatch(4);
+        wirePublisher(table, (itemId, active) -> {
+            int count = published.incrementAndGet();
+            maxActive.accumulateAndGet(active, Math::max);
+            if (count < 50) {
+                maxBeforeRaise.accumulateAndGet(active, Math::max);
+            } else if (count == 50) {
+                concurrency.set(4);
+            } else if (raised.getCount() > 0) {
+                raised.countDown();
+                awaitQuietly(raised);
+                concurrency.set(1);
+            } else if (active == 1 && count > 400) {
+                singleWorkerAfterLowering.set(true);
+            }
+        });
+
+        newRunService(new ManifestBackfillClaimService(itemMapper)).processPlannedRun(20L);
+
+        assertThat(maxBeforeRaise.get()).isOne();
+        assertThat(raised.getCount()).isZero();
+        assertThat(maxActive.get()).isEqualTo(4);
+        assertThat(singleWorkerAfterLowering).isTrue();
+        assertThat(table.completionCounts()).hasSize(2_000).containsOnly(1);
+    }
+
+    /**
+     * Stops claiming and pauses the run once failures exceed the error budget instead of burning the whole snapshot.
+     */
+    @Test
+    void shouldPauseApplyRunWhenErrorBudgetIsExhausted() {
+        AtomicReference<String> status = wireParallelApplyRun(new AtomicInteger(2));
+        when(itemMapper.selectRunItems(10L, TENANT_ID)).thenReturn(List.of());
+        AtomicLong itemIds = new AtomicLong(500L);
+        when(claimService.claim(eq(20L), eq(TENANT_ID), eq(20), eq(3), eq(120L), any(Instant.class)))
+                .thenAnswer(invocation -> new ManifestBackfillClaim(TENANT_ID, 20L, "claim-" + itemIds.get(),
+                        IntStream.range(0, 20)
+                                .mapToObj(index -> runningItem(itemIds.incrementAndGet()))
+                                .toList()));
+        when(publisher.publish(eq(TENANT_ID), eq(20L), any(Long.class), anyString()))
+                .thenThrow(new DataAccessResourceFailureException("storage index unavailable"));
+        when(runMapper.update(isNull(), any())).thenAnswer(invocation -> {
+            status.set(ManifestBackfillRunStatus.PAUSED.name());
+            return 1;
+        });
+
+        runService.processPlannedRun(20L);
+
+        assertThat(status.get()).isEqualTo(ManifestBackfillRunStatus.PAUSED.name());
+        verify(runMapper).update(isNull(), any());
+        verify(claimService, org.mockito.Mockito.atLeast(50)).failClaim(any(ManifestBackfillItem.class),
+                anyString(), eq(ManifestBackfillReason.DATABASE_TRANSIENT), eq(true), anyString());
+        ArgumentCaptor<ManifestBackfillRun> updates = ArgumentCaptor.forClass(ManifestBackfillRun.class);
+        verify(runMapper, org.mockito.Mockito.atLeastOnce()).updateById(updates.capture());
+        assertThat(updates.getAllValues()).extracting(ManifestBackfillRun::getStatus).containsOnlyNulls();
+        ArgumentCaptor<Long> errorDeltas = ArgumentCaptor.forClass(Long.class);
+        verify(runMapper, org.mockito.Mockito.atLeastOnce()).recordApplyProgress(
+                eq(20L), eq(TENANT_ID), any(Long.class), errorDeltas.capture(), any(Long.class));
+        assertThat(errorDeltas.getAllValues().stream().mapToLong(Long::longValue).sum()).isGreaterThanOrEqualTo(50L);
+    }
+
+    /**
+     * Bounds administrator worker concurrency to the node pool and to unfinished apply runs.
+     */
+    @Test
+    void shouldUpdateWorkerConcurrencyOnlyWithinPoolForUnfinishedApplyRun() {
+        ManifestBackfillRun applying = derivativeRun(20L, ManifestBackfillMode.APPLY, "APPLYING", "digest");
+        when(runMapper.selectRunGlobally(20L)).thenReturn(applying);
+        when(runMapper.updateWorkerConcurrency(20L, TENANT_ID, 6)).thenReturn(1);
+        when(runMapper.updateWorkerConcurrency(20L, TENANT_ID, 2)).thenReturn(0);
+
+        assertThat(runService.updateWorkerConcurrency(TENANT_ID, 20L, 6)).isSameAs(applying);
+        assertThatThrownBy(() -> runService.updateWorkerConcurrency(TENANT_ID, 20L, 0))
+                .isInstanceOf(GeneralException.class);
+        assertThatThrownBy(() -> runService.updateWorkerConcurrency(TENANT_ID, 20L, 9))
+                .isInstanceOf(GeneralException.class);
+        assertThatThrownBy(() -> runService.updateWorkerConcurrency(TENANT_ID, 20L, null))
+                .isInstanceOf(GeneralException.class);
+        assertThatThrownBy(() -> runService.updateWorkerConcurrency(TENANT_ID, 20L, 2))
+                .isInstanceOf(GeneralException.class);
+        verify(runMapper, never()).updateWorkerConcurrency(any(), any(), eq(9));
+    }
+
     /**
      * Parses supported modes case-insensitively and rejects empty or unknown values.
      */
@@ -697,4 +909,249 @@ class ManifestBackfillRunServiceTest {
                 .setRetryable(retryable)
                 .setAttemptCount(attempts);
     }
+
+    /**
+     * Builds frozen BACKFILLABLE source items for distinct file IDs.
+     */
+    private List<ManifestBackfillItem> sourceItems(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(index -> backfillableItem(100_000L + index, 10L, "PENDING").setFileId(50_000L + index))
+                .toList();
+    }
+
+    /**
+     * Builds the apply clone a derivative run would insert for one source item.
+     */
+    private ManifestBackfillItem cloneOf(ManifestBackfillItem source, Long id) {
+        return backfillableItem(id, 20L, "PENDING").setFileId(source.getFileId());
+    }
+
+    /**
+     * Routes snapshot, claim, and completion mapper calls to one in-memory skip-locked claim table.
+     */
+    private ClaimTable wireClaimTable(List<ManifestBackfillItem> sources) {
+        ClaimTable table = new ClaimTable();
+        AtomicLong ids = new AtomicLong(900_000L);
+        lenient().when(snowflakeIdGenerator.nextId()).thenAnswer(invocation -> ids.incrementAndGet());
+        lenient().when(itemMapper.insertIgnoreSnapshot(any()))
+                .thenAnswer(invocation -> table.insert(invocation.getArgument(0)));
+        lenient().when(itemMapper.selectRunItems(any(), any())).thenAnswer(invocation ->
+                Long.valueOf(10L).equals(invocation.getArgument(0)) ? sources : table.rows(invocation.getArgument(0)));
+        lenient().when(itemMapper.selectClaimableForUpdate(any(), any(), any(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> table.selectClaimable(invocation.getArgument(0),
+                        invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4)));
+        lenient().when(itemMapper.claimSelected(any(), any(), anyList(), anyString(), any(), any()))
+                .thenAnswer(invocation -> table.claim(invocation.getArgument(2), invocation.getArgument(3),
+                        invocation.getArgument(4), invocation.getArgument(5)));
+        lenient().when(itemMapper.completeClaim(any(), any(), any(), anyString(), anyString(), anyString(),
+                        anyString(), any(), anyInt(), any(), any()))
+                .thenAnswer(invocation -> table.complete(invocation.getArgument(2), invocation.getArgument(3),
+                        invocation.getArgument(4)));
+        return table;
+    }
+
+    /**
+     * Drives run 20 from PLANNED to APPLYING with a worker limit that the test may change at any time.
+     */
+    private AtomicReference<String> wireParallelApplyRun(AtomicInteger concurrency) {
+        AtomicReference<String> status = new AtomicReference<>(ManifestBackfillRunStatus.PLANNED.name());
+        ManifestBackfillRun source = frozenScan(10L);
+        when(runMapper.selectRunGlobally(20L)).thenAnswer(invocation -> derivativeRun(
+                20L, ManifestBackfillMode.APPLY, status.get(), source.getSnapshotDigest())
+                .setWorkerConcurrency(concurrency.get()));
+        when(runMapper.selectRunGlobally(10L)).thenReturn(source);
+        when(runMapper.claimPlannedRun(eq(20L), eq("APPLYING"), any(Date.class))).thenAnswer(invocation -> {
+            status.set(ManifestBackfillRunStatus.APPLYING.name());
+            return 1;
+        });
+        when(runMapper.touchRunLease(20L, TENANT_ID, "APPLYING")).thenReturn(1);
+        return status;
+    }
+
+    /**
+     * Publishes through the claim-table fence exactly like the real publisher and reports concurrent publishers.
+     */
+    private void wirePublisher(ClaimTable table, PublishObserver observer) {
+        AtomicInteger active = new AtomicInteger();
+        when(publisher.publish(eq(TENANT_ID), eq(20L), any(Long.class), anyString())).thenAnswer(invocation -> {
+            assertThat(TenantContext.requireTenantId()).isEqualTo(TENANT_ID);
+            Long itemId = invocation.getArgument(2);
+            int concurrent = active.incrementAndGet();
+            try {
+                observer.observe(itemId, concurrent);
+                if (table.complete(itemId, invocation.getArgument(3), "BACKFILLED") != 1) {
+                    throw new IllegalStateException(ManifestBackfillReason.CLAIM_LOST.name());
+                }
+                return null;
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Waits for concurrent workers without letting a broken scheduler hang the suite.
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the final run counter update.
+     */
+    private ManifestBackfillRun lastRunUpdate() {
+        ArgumentCaptor<ManifestBackfillRun> updates = ArgumentCaptor.forClass(ManifestBackfillRun.class);
+        verify(runMapper, org.mockito.Mockito.atLeastOnce()).updateById(updates.capture());
+        return updates.getAllValues().getLast();
+    }
+
+    /**
+     * Observes one publication with the number of publishers currently inside publish.
+     */
+    @FunctionalInterface
+    private interface PublishObserver {
+        void observe(Long itemId, int activePublishers);
+    }
+
+    /**
+     * In-memory manifest_backfill_item rows with the claim SQL predicates, FOR UPDATE SKIP LOCKED between
+     * select and claim, and the token-plus-unexpired-lease completion fence.
+     */
+    private static final class ClaimTable {
+
+        private final Map<Long, ManifestBackfillItem> rows = new LinkedHashMap<>();
+        private final Map<Long, Thread> locks = new HashMap<>();
+        private final Map<Long, Integer> completions = new HashMap<>();
+        private Instant clock;
+
+        synchronized void setClock(Instant clock) {
+            this.clock = clock;
+        }
+
+        synchronized void seedPending(Long runId, int count) {
+            for (int index = 0; index < count; index++) {
+                insert(new ManifestBackfillItem()
+                        .setId(runId * 1_000L + index)
+                        .setRunId(runId)
+                        .setTenantId(TENANT_ID)
+                        .setFileId(60_000L + index)
+                        .setFileVersion(1)
+                        .setStatus(ManifestBackfillItemStatus.PENDING.name())
+                        .setClassification(ManifestBackfillClassification.BACKFILLABLE.name())
+                        .setRetryable(0)
+                        .setAttemptCount(0)
+                        .setDeleted(0));
+            }
+        }
+
+        synchronized int insert(ManifestBackfillItem item) {
+            boolean duplicate = rows.containsKey(item.getId()) || rows.values().stream().anyMatch(row ->
+                    row.getRunId().equals(item.getRunId())
+                            && row.getFileId().equals(item.getFileId())
+                            && row.getFileVersion().equals(item.getFileVersion()));
+            if (duplicate) {
+                return 0;
+            }
+            rows.put(item.getId(), copy(item));
+            return 1;
+        }
+
+        synchronized List<ManifestBackfillItem> rows(Long runId) {
+            return rows.values().stream()
+                    .filter(row -> row.getRunId().equals(runId))
+                    .sorted(Comparator.comparing(ManifestBackfillItem::getFileId)
+                            .thenComparing(ManifestBackfillItem::getId))
+                    .map(ClaimTable::copy)
+                    .toList();
+        }
+
+        synchronized List<ManifestBackfillItem> selectClaimable(Long runId, Date now, int maxAttempts, int limit) {
+            Thread owner = Thread.currentThread();
+            List<ManifestBackfillItem> page = rows.values().stream()
+                    .filter(row -> row.getRunId().equals(runId))
+                    .filter(row -> ManifestBackfillClassification.BACKFILLABLE.name().equals(row.getClassification()))
+                    .filter(row -> row.getAttemptCount() < maxAttempts)
+                    .filter(row -> claimable(row, now.toInstant(), true))
+                    .filter(row -> locks.getOrDefault(row.getId(), owner) == owner)
+                    .sorted(Comparator.comparing(ManifestBackfillItem::getFileId)
+                            .thenComparing(ManifestBackfillItem::getId))
+                    .limit(limit)
+                    .map(ClaimTable::copy)
+                    .toList();
+            page.forEach(row -> locks.put(row.getId(), owner));
+            return page;
+        }
+
+        synchronized int claim(List<Long> itemIds, String claimToken, Date now, Date leaseExpiresAt) {
+            int updated = 0;
+            for (Long itemId : itemIds) {
+                ManifestBackfillItem row = rows.get(itemId);
+                if (row != null && claimable(row, now.toInstant(), false)) {
+                    row.setStatus(ManifestBackfillItemStatus.RUNNING.name())
+                            .setClaimToken(claimToken)
+                            .setLeaseExpiresAt(leaseExpiresAt)
+                            .setAttemptCount(row.getAttemptCount() + 1)
+                            .setNextRetryAt(null)
+                            .setLastErrorClass(null);
+                    updated++;
+                }
+            }
+            locks.values().removeIf(owner -> owner == Thread.currentThread());
+            return updated;
+        }
+
+        synchronized int complete(Long itemId, String claimToken, String status) {
+            ManifestBackfillItem row = rows.get(itemId);
+            Instant now = clock == null ? Instant.now() : clock;
+            if (row == null
+                    || !ManifestBackfillItemStatus.RUNNING.name().equals(row.getStatus())
+                    || !Objects.equals(claimToken, row.getClaimToken())
+                    || !row.getLeaseExpiresAt().toInstant().isAfter(now)) {
+                return 0;
+            }
+            row.setStatus(status).setClaimToken(null).setLeaseExpiresAt(null);
+            completions.merge(itemId, 1, Integer::sum);
+            return 1;
+        }
+
+        synchronized List<Integer> completionCounts() {
+            return List.copyOf(completions.values());
+        }
+
+        private static boolean claimable(ManifestBackfillItem row, Instant now, boolean respectRetryTime) {
+            return switch (ManifestBackfillItemStatus.valueOf(row.getStatus())) {
+                case PENDING -> true;
+                case FAILED -> Integer.valueOf(1).equals(row.getRetryable())
+                        && (!respectRetryTime || row.getNextRetryAt() == null
+                        || !row.getNextRetryAt().toInstant().isAfter(now));
+                case RUNNING -> row.getLeaseExpiresAt() != null && !row.getLeaseExpiresAt().toInstant().isAfter(now);
+                default -> false;
+            };
+        }
+
+        private static ManifestBackfillItem copy(ManifestBackfillItem row) {
+            return new ManifestBackfillItem()
+                    .setId(row.getId())
+                    .setRunId(row.getRunId())
+                    .setTenantId(row.getTenantId())
+                    .setFileId(row.getFileId())
+                    .setFileVersion(row.getFileVersion())
+                    .setOwnerUserId(row.getOwnerUserId())
+                    .setStatus(row.getStatus())
+                    .setClassification(row.getClassification())
+                    .setReasonCode(row.getReasonCode())
+                    .setRetryable(row.getRetryable())
+                    .setEvidenceDigest(row.getEvidenceDigest())
+                    .setClaimToken(row.getClaimToken())
+                    .setLeaseExpiresAt(row.getLeaseExpiresAt())
+                    .setAttemptCount(row.getAttemptCount())
+                    .setNextRetryAt(row.getNextRetryAt())
+                    .setLastErrorClass(row.getLastErrorClass())
+                    .setDeleted(row.getDeleted());
+        }
+    }
 }
@@ -0,0 +1,181 @@
+package cn.flying.service.permission;
+
+import cn.flying.common.util.Const;
+import cn.flying.common.util.TenantKeyUtils;
+import cn.flying.dao.mapper.SysPermissionMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 验证进程内权限快照的加载、版本失效、广播处理与版本校验兜底。
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PermissionSnapshotCacheTest {
+
+    private static final Long TENANT_A = 1L;
+    private static final Long TENANT_B = 2L;
+
+    @Mock
+    private SysPermissionMapper permissionMapper;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private PermissionSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation -> {
+            int size = invocation.<Collection<String>>getArgument(0).size();
+            return Arrays.asList(new String[size]);
+        });
+        when(permissionMapper.selectRolePermissionCodes(TENANT_A)).thenReturn(List.of(
+                row("admin", "file:read"), row("admin", "file:delete"), row("user", "file:read")));
+        when(permissionMapper.selectRolePermissionCodes(TENANT_B)).thenReturn(List.of(row("user", "file:write")));
+        cache = new PermissionSnapshotCache(permissionMapper, stringRedisTemplate, listenerContainer);
+        cache.subscribe();
+    }
+
+    /**
+     * 验证快照构建后从内存判断权限，且只查询一次数据库。
+     */
+    @Test
+    void shouldServeChecksFromSnapshotAfterFirstLoad() {
+        PermissionMatrix matrix = cache.matrix(TENANT_A);
+
+        assertThat(matrix.has("admin", "file:delete")).isTrue();
+        assertThat(matrix.has("user", "file:delete")).isFalse();
+        assertThat(matrix.has("guest", "file:read")).isFalse();
+        assertThat(matrix.codesOf(List.of("admin", "user"))).containsExactlyInAnyOrder("file:read", "file:delete");
+        assertThat(cache.matrix(TENANT_A)).isSameAs(matrix);
+        verify(permissionMapper, times(1)).selectRolePermissionCodes(TENANT_A);
+        verify(listenerContainer).addMessageListener(cache, new ChannelTopic(Const.PERMISSION_INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 验证租户失效推进版本、广播租户 ID，且只丢弃该租户快照。
+     */
+    @Test
+    void shouldBumpVersionPublishAndDropOnlyTargetTenant() {
+        cache.matrix(TENANT_A);
+        cache.matrix(TENANT_B);
+
+        cache.invalidateTenant(TENANT_A);
+
+        verify(valueOperations).increment(TenantKeyUtils.tenantKey(Const.PERMISSION_VERSION_KEY, TENANT_A));
+        verify(stringRedisTemplate).convertAndSend(Const.PERMISSION_INVALIDATION_CHANNEL, "1");
+        assertThat(cache.size()).isEqualTo(1);
+        cache.matrix(TENANT_A);
+        verify(permissionMapper, times(2)).selectRolePermissionCodes(TENANT_A);
+        verify(permissionMapper, times(1)).selectRolePermissionCodes(TENANT_B);
+    }
+
+    /**
+     * 验证全局失效推进租户 0 版本并广播通配消息。
+     */
+    @Test
+    void shouldInvalidateAllTenantsForGlobalChange() {
+        cache.matrix(TENANT_A);
+        cache.matrix(TENANT_B);
+
+        cache.invalidateTenant(0L);
+
+        verify(valueOperations).increment(TenantKeyUtils.tenantKey(Const.PERMISSION_VERSION_KEY, 0L));
+        verify(stringRedisTemplate).convertAndSend(Const.PERMISSION_INVALIDATION_CHANNEL, "*");
+        assertThat(cache.size()).isZero();
+    }
+
+    /**
+     * 验证收到其他实例广播时按租户或通配丢弃快照，无法识别的消息被忽略。
+     */
+    @Test
+    void shouldApplyRemoteInvalidationMessages() {
+        cache.matrix(TENANT_A);
+        cache.matrix(TENANT_B);
+
+        cache.onMessage(message("not-a-tenant"), null);
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.onMessage(message("2"), null);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.onMessage(message("*"), null);
+        assertThat(cache.size()).isZero();
+    }
+
+    /**
+     * 验证版本校验只丢弃版本落后的快照。
+     */
+    @Test
+    void shouldEvictSnapshotsWhoseVersionMoved() {
+        cache.matrix(TENANT_A);
+        cache.matrix(TENANT_B);
+        String keyA = TenantKeyUtils.tenantKey(Const.PERMISSION_VERSION_KEY, TENANT_A);
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            return keys.stream().map(key -> key.equals(keyA) ? "3" : null).toList();
+        });
+
+        cache.evictStaleSnapshots();
+
+        assertThat(cache.size()).isEqualTo(1);
+        cache.matrix(TENANT_B);
+        verify(permissionMapper, times(1)).selectRolePermissionCodes(TENANT_B);
+    }
+
+    /**
+     * 验证 Redis 不可用时仍能从数据库构建快照，失效只作用于本地。
+     */
+    @Test
+    void shouldDegradeToLocalWhenRedisUnavailable() {
+        when(valueOperations.multiGet(anyCollection())).thenThrow(new RedisConnectionFailureException("down"));
+        when(valueOperations.increment(eq(TenantKeyUtils.tenantKey(Const.PERMISSION_VERSION_KEY, TENANT_A))))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(cache.matrix(TENANT_A).has("user", "file:read")).isTrue();
+
+        cache.invalidateTenant(TENANT_A);
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Map<String, Object> row(String role, String code) {
+        return Map.of("role", role, "code", code);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(Const.PERMISSION_INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
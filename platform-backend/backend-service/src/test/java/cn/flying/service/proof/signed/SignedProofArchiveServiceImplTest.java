@@ -7,6 +7,7 @@ import cn.flying.common.exception.RetryableException;
 import cn.flying.common.tenant.TenantContext;
 import cn.flying.common.util.IdUtils;
 import cn.flying.common.util.JsonConverter;
+import cn.flying.common.util.KeysetCursor;
 import cn.flying.common.util.SecureIdCodec;
 import cn.flying.common.util.SecurityUtils;
 import cn.flying.common.util.SnowflakeIdGenerator;
@@ -44,6 +45,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
@@ -57,28 +59,47 @@ import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.LongSupplier;
 import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -133,7 +154,12 @@ class SignedProofArchiveServiceImplTest {
     @Mock
     private TransactionTemplate transactionTemplate;
 
+    @TempDir
+    Path cacheRoot;
+
     private MerkleTreeService merkleTreeService;
+    private DeterministicProofArchiveBuilder archiveBuilder;
+    private ProofArchiveCache archiveCache;
     private ProofSigningProvider signingProvider;
     private ProofSigningProperties signingProperties;
     private SignedProofArchiveServiceImpl service;
@@ -166,8 +192,11 @@ class SignedProofArchiveServiceImplTest {
         ProofCanonicalizer canonicalizer = new ProofCanonicalizer();
         signingProperties = activeSigningProperties();
         signingProvider = new LocalEd25519ProofSigningProvider(signingProperties, canonicalizer);
-        DeterministicProofArchiveBuilder archiveBuilder =
-                new DeterministicProofArchiveBuilder(canonicalizer, signingProvider);
+        archiveBuilder = spy(new DeterministicProofArchiveBuilder(canonicalizer, signingProvider));
+        ProofArchiveCacheProperties cacheProperties = new ProofArchiveCacheProperties();
+        cacheProperties.setDirectory(cacheRoot.toString());
+        archiveCache = new ProofArchiveCache(canonicalizer, cacheProperties);
+        archiveCache.initialize();
         merkleTreeService = new MerkleTreeService();
         service = new SignedProofArchiveServiceImpl(
                 fileMapper,
@@ -184,7 +213,8 @@ class SignedProofArchiveServiceImplTest {
                 signingProvider,
                 canonicalizer,
                 snowflakeIdGenerator,
-                transactionTemplate);
+                transactionTemplate,
+                archiveCache);
         when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
             TransactionCallback<?> callback = invocation.getArgument(0);
             return callback.doInTransaction(mock(TransactionStatus.class));
@@ -196,6 +226,7 @@ class SignedProofArchiveServiceImplTest {
      */
     @AfterEach
     void tearDown() {
+        archiveCache.destroy();
         ReflectionTestUtils.setField(IdUtils.class, "secureIdCodec", originalSecureIdCodec);
         TenantContext.clear();
     }
@@ -272,6 +303,247 @@ class SignedProofArchiveServiceImplTest {
         }
     }
 
+    /**
+     * 验证历史 proof 首次重建写入磁盘缓存，再次导出命中缓存、跳过重建且与首次签发逐字节一致。
+     */
+    @Test
+    void shouldServeRepeatedRebuildFromArchiveCacheByteForByte() throws Exception {
+        try (MockedStatic<SecurityUtils> security = mockStatic(SecurityUtils.class)) {
+            security.when(SecurityUtils::isAdmin).thenReturn(false);
+            IssuedProof issued = issueAndRegister();
+
+            ProofArchive rebuilt = service.exportByLeafId(USER_ID, LEAF_ID);
+            ProofArchive cached = service.exportByLeafId(USER_ID, LEAF_ID);
+
+            assertThat(rebuilt.toByteArray()).isEqualTo(issued.archive().toByteArray());
+            assertThat(cached.toByteArray()).isEqualTo(issued.archive().toByteArray());
+            assertThat(cached.fileName()).isEqualTo(issued.archive().fileName());
+            assertThat(cached.manifestHash()).isEqualTo(issued.archive().manifestHash());
+            assertThat(cachedArchiveFiles(cacheRoot)).hasSize(1);
+            verify(archiveBuilder, times(1)).rebuild(any(), any(), any(), any(), any());
+            verify(fileRemoteClient, times(3)).headObject(STORAGE_PATH, CIPHER_HASH);
+        }
+    }
+
+    /**
+     * 验证缓存键覆盖全部 archive 输入：任一输入分量变化都得到不同的键，批次状态版本或 key 状态变化后服务重新重建。
+     */
+    @Test
+    void shouldMissArchiveCacheWhenAnyArchiveInputChanges() throws Exception {
+        try (MockedStatic<SecurityUtils> security = mockStatic(SecurityUtils.class)) {
+            security.when(SecurityUtils::isAdmin).thenReturn(false);
+            IssuedProof issued = issueAndRegister();
+            service.exportByLeafId(USER_ID, LEAF_ID);
+
+            when(batchMapper.selectById(BATCH_ID)).thenReturn(batch(leaf()).setStateVersion(2L));
+            ProofArchive afterBatchChange = service.exportByLeafId(USER_ID, LEAF_ID);
+            when(signingKeyMapper.selectByIdentity(issued.issuance().getKeyId(), issued.issuance().getKeyVersion()))
+                    .thenReturn(keyRecord(issued.issuance(), "RETIRED"));
+            ProofArchive afterKeyChange = service.exportByLeafId(USER_ID, LEAF_ID);
+
+            verify(archiveBuilder, times(3)).rebuild(any(), any(), any(), any(), any());
+            assertThat(afterBatchChange.toByteArray()).isEqualTo(issued.archive().toByteArray());
+            assertThat(afterKeyChange.toByteArray()).isEqualTo(issued.archive().toByteArray());
+        }
+
+        ProofArchiveCache.Inputs base = new ProofArchiveCache.Inputs(
+                TENANT_ID,
+                "record-proof-fileA-1.zip",
+                1_001L,
+                "ACTIVE",
+                1L,
+                MANIFEST_HASH,
+                "{}",
+                "header.payload.signature",
+                signingProvider.currentKey(),
+                "ACTIVE",
+                BATCH_ID,
+                "COMPLETED",
+                1L,
+                new SignedProofBundleModel.EvidencePayloads(
+                        CONTENT_HASH, null, null, null,
+                        SignedProofBundleContract.expectedVerificationPolicy(), "# Verify\n"));
+        String baseKey = archiveCache.key(base);
+        RecordComponent[] components = ProofArchiveCache.Inputs.class.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        for (int index = 0; index < components.length; index++) {
+            types[index] = components[index].getType();
+        }
+        for (int index = 0; index < components.length; index++) {
+            Object[] values = new Object[components.length];
+            for (int other = 0; other < components.length; other++) {
+                values[other] = components[other].getAccessor().invoke(base);
+            }
+            values[index] = changedInput(values[index]);
+            ProofArchiveCache.Inputs variant = ProofArchiveCache.Inputs.class
+                    .getDeclaredConstructor(types)
+                    .newInstance(values);
+
+            assertThat(archiveCache.key(variant))
+                    .as(components[index].getName())
+                    .isNotEqualTo(baseKey);
+        }
+        assertThat(archiveCache.key(base)).isEqualTo(baseKey);
+    }
+
+    /**
+     * 验证批次状态变为不可用或签名 key 被撤销时导出失败关闭，并删除对应的磁盘缓存 archive。
+     */
+    @Test
+    void shouldInvalidateArchiveCacheOnBatchStatusChangeAndKeyRevocation() throws Exception {
+        try (MockedStatic<SecurityUtils> security = mockStatic(SecurityUtils.class)) {
+            security.when(SecurityUtils::isAdmin).thenReturn(false);
+            IssuedProof issued = issueAndRegister();
+            service.exportByLeafId(USER_ID, LEAF_ID);
+            assertThat(cachedArchiveFiles(cacheRoot)).hasSize(1);
+
+            when(batchMapper.selectById(BATCH_ID)).thenReturn(batch(leaf()).setStatus("CHAIN_PENDING"));
+            assertFileRecordError(() -> service.exportByLeafId(USER_ID, LEAF_ID));
+            assertThat(cachedArchiveFiles(cacheRoot)).isEmpty();
+
+            when(batchMapper.selectById(BATCH_ID)).thenReturn(batch(leaf()));
+            service.exportByLeafId(USER_ID, LEAF_ID);
+            assertThat(cachedArchiveFiles(cacheRoot)).hasSize(1);
+
+            when(signingKeyMapper.selectByIdentity(issued.issuance().getKeyId(), issued.issuance().getKeyVersion()))
+                    .thenReturn(keyRecord(issued.issuance(), "REVOKED"));
+            assertThatThrownBy(() -> service.exportByLeafId(USER_ID, LEAF_ID))
+                    .isInstanceOf(GeneralException.class);
+            assertThat(cachedArchiveFiles(cacheRoot)).isEmpty();
+        }
+    }
+
+    /**
+     * 验证磁盘缓存按总字节上限淘汰最久未用条目，且被篡改的缓存文件按未命中剔除。
+     */
+    @Test
+    void shouldBoundArchiveCacheAndDropTamperedEntries() throws Exception {
+        IssuedProof issued;
+        try (MockedStatic<SecurityUtils> security = mockStatic(SecurityUtils.class)) {
+            security.when(SecurityUtils::isAdmin).thenReturn(false);
+            issued = issueAndRegister();
+        }
+        ProofArchive archive = issued.archive();
+        byte[] archiveBytes = archive.toByteArray();
+        SignedProofBundleModel.Manifest manifest =
+                new ProofCanonicalizer().parseManifest(issued.issuance().getManifestJson());
+        Path boundedRoot = cacheRoot.resolve("bounded");
+        ProofArchiveCacheProperties properties = new ProofArchiveCacheProperties();
+        properties.setDirectory(boundedRoot.toString());
+        properties.setMaxBytes(archiveBytes.length * 2L - 1);
+        ProofArchiveCache bounded = new ProofArchiveCache(new ProofCanonicalizer(), properties);
+        bounded.initialize();
+        try {
+            String first = "a".repeat(64);
+            String second = "b".repeat(64);
+            bounded.put(first, archive, BATCH_ID, issued.issuance().getKeyId(), issued.issuance().getKeyVersion());
+            bounded.put(second, archive, BATCH_ID, issued.issuance().getKeyId(), issued.issuance().getKeyVersion());
+
+            assertThat(bounded.find(first, archive.fileName(), manifest, archive.manifestHash(), archive.compactJws()))
+                    .isNull();
+            assertThat(bounded.find(second, archive.fileName(), manifest, archive.manifestHash(), archive.compactJws())
+                    .toByteArray()).isEqualTo(archiveBytes);
+            List<Path> stored = cachedArchiveFiles(boundedRoot);
+            assertThat(stored).hasSize(1);
+
+            byte[] tampered = Files.readAllBytes(stored.getFirst());
+            byte[] marker = "batchChainRoot".getBytes(StandardCharsets.UTF_8);
+            int offset = Collections.indexOfSubList(
+                    java.util.Arrays.asList(toBoxed(tampered)), java.util.Arrays.asList(toBoxed(marker)));
+            assertThat(offset).isNotNegative();
+            tampered[offset] ^= 0x20;
+            Files.write(stored.getFirst(), tampered);
+
+            assertThat(bounded.find(second, archive.fileName(), manifest, archive.manifestHash(), archive.compactJws()))
+                    .isNull();
+            assertThat(cachedArchiveFiles(boundedRoot)).isEmpty();
+        } finally {
+            bounded.destroy();
+        }
+    }
+
+    /**
+     * 验证启动时回收崩溃遗留的缓存目录，保留仍被其他实例持有的目录和无关目录，关闭后不留下本进程目录。
+     */
+    @Test
+    void shouldSweepOrphanedArchiveCacheDirectoriesOnStartup() throws Exception {
+        Path sweepRoot = cacheRoot.resolve("sweep");
+        ProofArchiveCacheProperties properties = new ProofArchiveCacheProperties();
+        properties.setDirectory(sweepRoot.toString());
+        ProofArchiveCache live = new ProofArchiveCache(new ProofCanonicalizer(), properties);
+        live.initialize();
+        Path orphan = Files.createDirectories(sweepRoot.resolve("proof-archive-cache-orphan"));
+        Files.write(orphan.resolve("c".repeat(64) + ".zip"), new byte[]{1, 2, 3});
+        Path unrelated = Files.createDirectories(sweepRoot.resolve("unrelated"));
+        List<Path> liveDirectories;
+        try (var entries = Files.list(sweepRoot)) {
+            liveDirectories = entries.filter(path -> !path.equals(orphan) && !path.equals(unrelated)).toList();
+        }
+
+        ProofArchiveCache restarted = new ProofArchiveCache(new ProofCanonicalizer(), properties);
+        restarted.initialize();
+        try {
+            assertThat(orphan).doesNotExist();
+            assertThat(unrelated).isDirectory();
+            assertThat(liveDirectories).hasSize(1).allSatisfy(path -> assertThat(path).isDirectory());
+        } finally {
+            restarted.destroy();
+            live.destroy();
+        }
+        try (var entries = Files.list(sweepRoot)) {
+            assertThat(entries.toList()).containsExactly(unrelated);
+        }
+    }
+
+    /**
+     * 验证同时启动的实例互不清理对方目录：尚未加锁的创建中目录对清理不可见，只有超过宽限期的才会被回收。
+     */
+    @Test
+    void shouldKeepDirectoriesOfOverlappingInitializations() throws Exception {
+        Path sweepRoot = cacheRoot.resolve("overlap");
+        ProofArchiveCacheProperties properties = new ProofArchiveCacheProperties();
+        properties.setDirectory(sweepRoot.toString());
+        Path starting = Files.createDirectories(sweepRoot.resolve(".pending-proof-archive-cache-starting"));
+        Path abandoned = Files.createDirectories(sweepRoot.resolve(".pending-proof-archive-cache-abandoned"));
+        Files.setLastModifiedTime(abandoned, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+
+        int instances = 8;
+        List<ProofArchiveCache> caches = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            caches.add(new ProofArchiveCache(new ProofCanonicalizer(), properties));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(instances)) {
+            List<Future<?>> initializations = caches.stream()
+                    .<Future<?>>map(cache -> executor.submit(() -> {
+                        start.await();
+                        cache.initialize();
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<?> initialization : initializations) {
+                initialization.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        try {
+            assertThat(starting).isDirectory();
+            assertThat(abandoned).doesNotExist();
+            assertThat(caches).allSatisfy(cache -> {
+                Path directory = (Path) ReflectionTestUtils.getField(cache, "directory");
+                assertThat(directory).isNotNull().isDirectory();
+                assertThat(directory.getFileName().toString()).startsWith("proof-archive-cache-");
+                assertThat(directory.resolve(".owner.lock")).exists();
+            });
+        } finally {
+            caches.forEach(ProofArchiveCache::destroy);
+        }
+        try (var entries = Files.list(sweepRoot)) {
+            assertThat(entries.toList()).containsExactly(starting);
+        }
+    }
+
     /**
      * 验证全局应急开关在访问文件或历史证据前同时阻断两种 ZIP 导出入口。
      */
@@ -1400,6 +1672,251 @@ class SignedProofArchiveServiceImplTest {
         verify(issuanceMapper, never()).update(eq(null), any(Wrapper.class));
     }
 
+    /**
+     * 验证批量导出按 keyset 页流式写出确定性 archive，batch 与合约注册表在同一次导出内只校验一次。
+     */
+    @Test
+    void shouldStreamBulkExportAndValidateSharedEvidenceOnce() throws Exception {
+        File file = file();
+        AttestationLeaf first = leaf();
+        AttestationLeaf second = leaf().setId(LEAF_ID + 1);
+        mockSuccessfulEvidence(file, first);
+        when(fileMapper.selectBatchIds(any())).thenReturn(List.of(file));
+        when(leafMapper.selectExportPage(eq(TENANT_ID), eq(USER_ID), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(first, second));
+
+        try (MockedStatic<SecurityUtils> security = mockStatic(SecurityUtils.class)) {
+            security.when(SecurityUtils::isAdmin).thenReturn(false);
+            BulkProofArchiveExport export = service.prepareBulkExport(
+                    USER_ID, new BulkProofArchiveExportRequest(null, null, null, null));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            BulkProofArchiveExportSummary summary = export.writeTo(output);
+
+            assertThat(summary.status()).isEqualTo(BulkProofArchiveExportSummary.STATUS_COMPLETE);
+            assertThat(summary.exported()).isEqualTo(2);
+            assertThat(summary.failures()).isEmpty();
+            assertThat(summary.nextCursor()).isNull();
+            List<String> names = new ArrayList<>();
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    names.add(entry.getName());
+                    byte[] bytes = zip.readAllBytes();
+                    if (entry.getName().startsWith(BulkProofArchiveExport.PROOFS_DIRECTORY)) {
+                        assertThat(zipEntryNames(bytes)).containsExactlyElementsOf(ProofArchive.ENTRY_ORDER);
+                    } else {
+                        BulkProofArchiveExportSummary written = JsonConverter.parse(
+                                new String(bytes, java.nio.charset.StandardCharsets.UTF_8),
+                                BulkProofArchiveExportSummary.class);
+                        assertThat(written).isEqualTo(summary);
+                    }
+                }
+            }
+            assertThat(names).containsExactly(
+                    "proofs/" + KeysetCursor.of(ISSUED_AT, LEAF_ID).encode() + "/record-proof-"
+                            + IdUtils.toExternalId(FILE_ID) + "-1.zip",
+                    "proofs/" + KeysetCursor.of(ISSUED_AT, LEAF_ID + 1).encode() + "/record-proof-"
+                            + IdUtils.toExternalId(FILE_ID) + "-1.zip",
+                    BulkProofArchiveExport.SUMMARY_ENTRY);
+            verify(batchMapper, times(1)).selectById(BATCH_ID);
+            verify(attestationBatchPersistenceService, times(1)).requireContractRegistry(any());
+            verify(fileMapper, times(1)).selectBatchIds(any());
+            verify(fileMapper, never()).selectById(any());
+            verify(issuanceMapper, times(2)).insert(any(ProofBundleIssuance.class));
+        }
+    }
+
+    /**
+     * 验证确定性失败被记录后继续，依赖不可用时停在最后处理位置，并可从返回游标续传剩余叶子。
+     */
+    @Test
+    void shouldSkipDeterministicFailuresAndResumeBulkExportAfterInterruption() {
+        File file = file();
+        AttestationLeaf exported = leaf();
+        AttestationLeaf orphan = leaf().setId(LEAF_ID + 1).setFileId(FILE_ID + 1);
+        AttestationLeaf unavailable = leaf().setId(LEAF_ID + 2);
+        mockSuccessfulEvidence(file, exported);
+        when(fileMapper.selectBatchIds(any())).thenReturn(List.of(file));
+        when(fileRemoteClient.headObject(STORAGE_PATH, CIPHER_HASH))
+                .thenReturn(Result.success(new StorageObjectHeadVO(
+                        true, STORAGE_PATH, CIPHER_HASH, TENANT_ID, TENANT_ID,
+                        "node-a", 3L, "etag", CIPHER_HASH)))
+                .thenThrow(new RetryableException(ResultEnum.SERVICE_UNAVAILABLE));
+        when(leafMapper.selectExportPage(eq(TENANT_ID), eq(null), any(), any(), eq(null), eq(null), anyInt()))
+                .thenReturn(List.of(exported, orphan, unavailable));
+
+        try (MockedStatic<SecurityUtils> security = mockStatic(SecurityUtils.class)) {
+            security.when(SecurityUtils::isAdmin).thenReturn(true);
+            BulkProofArchiveExportSummary interrupted = service.prepareBulkExport(
+                            USER_ID, new BulkProofArchiveExportRequest(null, null, null, null))
+                    .writeTo(new ByteArrayOutputStream());
+
+            String orphanCursor = KeysetCursor.of(ISSUED_AT, LEAF_ID + 1).encode();
+            assertThat(interrupted.status()).isEqualTo(BulkProofArchiveExportSummary.STATUS_INTERRUPTED);
+            assertThat(interrupted.exported()).isEqualTo(1);
+            assertThat(interrupted.failures()).singleElement().satisfies(failure -> {
+                assertThat(failure.leafId()).isEqualTo(IdUtils.toExternalId(LEAF_ID + 1));
+                assertThat(failure.cursor()).isEqualTo(orphanCursor);
+                assertThat(failure.code()).isEqualTo(ResultEnum.FILE_NOT_EXIST.getCode());
+            });
+            assertThat(interrupted.nextCursor()).isEqualTo(orphanCursor);
+
+            doReturn(Result.success(new StorageObjectHeadVO(
+                    true, STORAGE_PATH, CIPHER_HASH, TENANT_ID, TENANT_ID,
+                    "node-a", 3L, "etag", CIPHER_HASH)))
+                    .when(fileRemoteClient).headObject(STORAGE_PATH, CIPHER_HASH);
+            when(leafMapper.selectExportPage(
+                    eq(TENANT_ID), eq(null), any(), any(), eq(ISSUED_AT), eq(LEAF_ID + 1), anyInt()))
+                    .thenReturn(List.of(unavailable));
+            BulkProofArchiveExportSummary resumed = service.prepareBulkExport(
+                            USER_ID, new BulkProofArchiveExportRequest(null, null, interrupted.nextCursor(), null))
+                    .writeTo(new ByteArrayOutputStream());
+
+            assertThat(resumed.status()).isEqualTo(BulkProofArchiveExportSummary.STATUS_COMPLETE);
+            assertThat(resumed.exported()).isEqualTo(1);
+            assertThat(resumed.failures()).isEmpty();
+        }
+    }
+
+    /**
+     * 验证达到单次上限时返回 PARTIAL 与最后处理位置的游标。
+     */
+    @Test
+    void shouldStopBulkExportAtLimitWithResumeCursor() {
+        File file = file();
+        AttestationLeaf leaf = leaf();
+        mockSuccessfulEvidence(file, leaf);
+        when(fileMapper.selectBatchIds(any())).thenReturn(List.of(file));
+        when(leafMapper.selectExportPage(eq(TENANT_ID), eq(USER_ID), any(), any(), any(), any(), eq(1)))
+                .thenReturn(List.of(leaf));
+
+        try (MockedStatic<SecurityUtils> security = mockStatic(SecurityUtils.class)) {
+            security.when(SecurityUtils::isAdmin).thenReturn(false);
+            BulkProofArchiveExportSummary summary = service.prepareBulkExport(
+                            USER_ID, new BulkProofArchiveExportRequest(null, null, null, 1))
+                    .writeTo(new ByteArrayOutputStream());
+
+            assertThat(summary.status()).isEqualTo(BulkProofArchiveExportSummary.STATUS_PARTIAL);
+            assertThat(summary.exported()).isEqualTo(1);
+            assertThat(summary.nextCursor()).isEqualTo(KeysetCursor.of(ISSUED_AT, LEAF_ID).encode());
+        }
+    }
+
+    /**
+     * 验证批量导出容量耗尽时不读取叶子，并原样返回请求游标供重试。
+     */
+    @Test
+    void shouldReturnResumableSummaryWhenBulkExportCapacityIsExhausted() {
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(service, "bulkExportPermits");
+        int acquired = permits.drainPermits();
+        String cursor = KeysetCursor.of(ISSUED_AT, LEAF_ID).encode();
+        try (MockedStatic<SecurityUtils> security = mockStatic(SecurityUtils.class)) {
+            security.when(SecurityUtils::isAdmin).thenReturn(false);
+            BulkProofArchiveExportSummary summary = service.prepareBulkExport(
+                            USER_ID, new BulkProofArchiveExportRequest(null, null, cursor, null))
+                    .writeTo(new ByteArrayOutputStream());
+
+            assertThat(summary.status()).isEqualTo(BulkProofArchiveExportSummary.STATUS_INTERRUPTED);
+            assertThat(summary.exported()).isZero();
+            assertThat(summary.nextCursor()).isEqualTo(cursor);
+            verifyNoInteractions(leafMapper, fileMapper, fileRemoteClient);
+        } finally {
+            permits.release(acquired);
+        }
+    }
+
+    /**
+     * 验证签名关闭、时间范围倒置、数量越界和非法游标在开始写出前失败。
+     */
+    @Test
+    void shouldRejectInvalidBulkExportRequestsBeforeStreaming() {
+        try (MockedStatic<SecurityUtils> security = mockStatic(SecurityUtils.class)) {
+            security.when(SecurityUtils::isAdmin).thenReturn(false);
+            Date later = new Date(ISSUED_AT.getTime() + 1_000L);
+
+            assertParamInvalid(() -> service.prepareBulkExport(USER_ID, null));
+            assertParamInvalid(() -> service.prepareBulkExport(
+                    USER_ID, new BulkProofArchiveExportRequest(later, ISSUED_AT, null, null)));
+            assertParamInvalid(() -> service.prepareBulkExport(
+                    USER_ID, new BulkProofArchiveExportRequest(null, null, null, 0)));
+            assertParamInvalid(() -> service.prepareBulkExport(
+                    USER_ID, new BulkProofArchiveExportRequest(null, null, null, 2_001)));
+            assertParamInvalid(() -> service.prepareBulkExport(
+                    USER_ID, new BulkProofArchiveExportRequest(null, null, "not a cursor", null)));
+
+            signingProperties.setEnabled(false);
+            assertThatThrownBy(() -> service.prepareBulkExport(
+                    USER_ID, new BulkProofArchiveExportRequest(null, null, null, null)))
+                    .isInstanceOf(GeneralException.class)
+                    .satisfies(error -> assertThat(((GeneralException) error).getResultEnum())
+                            .isEqualTo(ResultEnum.PERMISSION_SIGNATURE_ERROR));
+            verifyNoInteractions(leafMapper, fileMapper);
+        }
+    }
+
+    /**
+     * 首次签发 proof，并把签发记录与 ACTIVE key 注册为后续历史重建的事实源。
+     */
+    private IssuedProof issueAndRegister() {
+        mockSuccessfulEvidence(file(), leaf());
+        when(snowflakeIdGenerator.nextId()).thenReturn(1_001L);
+        ProofArchive archive = service.exportByFileId(USER_ID, FILE_ID);
+        ArgumentCaptor<ProofBundleIssuance> issuanceCaptor = ArgumentCaptor.forClass(ProofBundleIssuance.class);
+        verify(issuanceMapper).insert(issuanceCaptor.capture());
+        ProofBundleIssuance issuance = issuanceCaptor.getValue();
+        when(issuanceMapper.selectOne(any())).thenReturn(issuance);
+        when(issuanceMapper.selectByLeafForUpdate(TENANT_ID, LEAF_ID)).thenReturn(issuance);
+        when(signingKeyMapper.selectByIdentity(issuance.getKeyId(), issuance.getKeyVersion()))
+                .thenReturn(keyRecord(issuance, "ACTIVE"));
+        return new IssuedProof(archive, issuance);
+    }
+
+    /**
+     * 按类型构造与原值不同的缓存输入分量。
+     */
+    private Object changedInput(Object value) {
+        if (value instanceof String text) {
+            return text + "-changed";
+        }
+        if (value instanceof Long number) {
+            return number + 1;
+        }
+        if (value instanceof ProofSigningKeyMetadata key) {
+            return new ProofSigningKeyMetadata(
+                    key.algorithm(), key.keyId(), key.keyVersion() + 1, key.publicKeySpki(), key.publicKeyFingerprint());
+        }
+        if (value instanceof SignedProofBundleModel.EvidencePayloads payloads) {
+            return new SignedProofBundleModel.EvidencePayloads(
+                    payloads.contentHash(),
+                    payloads.chunkManifest(),
+                    payloads.merkleProof(),
+                    payloads.blockchainReceipt(),
+                    payloads.verificationPolicy(),
+                    payloads.readme() + "changed\n");
+        }
+        throw new AssertionError("缓存输入分量缺少变更策略: " + value);
+    }
+
+    /**
+     * 列出缓存目录下的全部 archive 文件。
+     */
+    private List<Path> cachedArchiveFiles(Path root) throws java.io.IOException {
+        try (var files = Files.walk(root)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".zip")).toList();
+        }
+    }
+
+    /**
+     * 装箱字节数组以便查找子序列。
+     */
+    private Byte[] toBoxed(byte[] bytes) {
+        Byte[] boxed = new Byte[bytes.length];
+        for (int index = 0; index < bytes.length; index++) {
+            boxed[index] = bytes[index];
+        }
+        return boxed;
+    }
+
     /**
      * 配置全部成功证据与 mapper 返回值。
      */
@@ -1686,6 +2203,29 @@ class SignedProofArchiveServiceImplTest {
                         .isEqualTo(ResultEnum.FILE_RECORD_ERROR));
     }
 
+    /**
+     * 断言 runnable 以 PARAM_IS_INVALID 失败。
+     */
+    private void assertParamInvalid(Runnable action) {
+        assertThatThrownBy(action::run)
+                .isInstanceOf(GeneralException.class)
+                .satisfies(error -> assertThat(((GeneralException) error).getResultEnum())
+                        .isEqualTo(ResultEnum.PARAM_IS_INVALID));
+    }
+
+    /**
+     * 读取内层 proof ZIP 的条目顺序。
+     */
+    private List<String> zipEntryNames(byte[] archive) throws java.io.IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
     /**
      * 构造完整 ACTIVE proof signer 配置。
      */
@@ -1701,4 +2241,8 @@ class SignedProofArchiveServiceImplTest {
         properties.setPublicKeySpki(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
         return properties;
     }
+
+    /** 首次签发得到的 archive 与签发记录。 */
+    private record IssuedProof(ProofArchive archive, ProofBundleIssuance issuance) {
+    }
 }
@@ -30,13 +30,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -52,6 +59,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("FileSagaOrchestrator Tests")
 class FileSagaOrchestratorTest {
 
+    private static final ExecutorService UPLOAD_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
     @Mock
     private FileSagaMapper sagaMapper;
     @Mock
@@ -64,6 +73,8 @@ class FileSagaOrchestratorTest {
     private TenantMapper tenantMapper;
     @Mock
     private SagaCompensationHelper compensationHelper;
+    @Mock
+    private TaskExecutor chunkUploadExecutor;
 
     @InjectMocks
     private FileSagaOrchestrator orchestrator;
@@ -78,6 +89,11 @@ class FileSagaOrchestratorTest {
         ReflectionTestUtils.setField(orchestrator, "deadLetterEnabled", true);
         ReflectionTestUtils.setField(orchestrator, "maxInMemoryChunkBytes", 80L * 1024L * 1024L);
 
+        doAnswer(invocation -> {
+            UPLOAD_THREADS.execute(invocation.getArgument(0));
+            return null;
+        }).when(chunkUploadExecutor).execute(any(Runnable.class));
+
         // Default timer behavior
         when(sagaMetrics.startSagaTimer()).thenReturn(null);
         when(sagaMetrics.startCompensationTimer()).thenReturn(null);
@@ -352,6 +368,134 @@ class FileSagaOrchestratorTest {
             verify(fileRemoteClient, never()).storeFileOnChainOnce(any());
         }
 
+        /**
+         * 验证在途分片字节总量不超过实例预算，结果按分片序号归并且许可全部归还。
+         */
+        @Test
+        @DisplayName("should bound in-flight chunk bytes and reconcile references in order")
+        void shouldBoundInFlightChunkBytesAndReconcileInOrder() throws Exception {
+            ReflectionTestUtils.setField(orchestrator, "maxInMemoryChunkBytes", 2048L);
+            List<java.io.File> chunks = new ArrayList<>();
+            List<String> hashes = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                chunks.add(writeChunk("bounded-" + i + ".bin", new byte[1024]));
+                hashes.add("hash-bounded-" + i);
+            }
+            prepareNewSaga("req-bounded");
+            AtomicLong inFlightBytes = new AtomicLong();
+            AtomicLong peakInFlightBytes = new AtomicLong();
+            when(fileRemoteClient.storeFileChunk(any(byte[].class), anyString())).thenAnswer(invocation -> {
+                byte[] data = invocation.getArgument(0);
+                peakInFlightBytes.accumulateAndGet(inFlightBytes.addAndGet(data.length), Math::max);
+                Thread.sleep(30);
+                inFlightBytes.addAndGet(-data.length);
+                return Result.success("minio/tenant/77/" + invocation.getArgument(1));
+            });
+            when(fileRemoteClient.storeFileOnChainOnce(any(StoreFileRequest.class)))
+                    .thenReturn(Result.success(new StoreFileResponse("tx-bounded", "file-hash")));
+
+            FileUploadResult result = orchestrator.executeUpload(FileUploadCommand.builder()
+                    .requestId("req-bounded")
+                    .userId(100L)
+                    .fileName("bounded.bin")
+                    .fileList(chunks)
+                    .fileHashList(hashes)
+                    .build());
+
+            assertTrue(result.isSuccess());
+            assertTrue(peakInFlightBytes.get() <= 2048L, "peak in-flight bytes " + peakInFlightBytes.get());
+            ArgumentCaptor<StoreFileRequest> request = ArgumentCaptor.forClass(StoreFileRequest.class);
+            verify(fileRemoteClient).storeFileOnChainOnce(request.capture());
+            List<StoredObjectReference> references =
+                    StoredObjectReferenceCodec.parseChainContent(request.getValue().content());
+            for (int i = 0; i < references.size(); i++) {
+                assertEquals(i, references.get(i).index());
+                assertEquals("hash-bounded-" + i, references.get(i).cipherHash());
+                assertEquals("minio/tenant/77/hash-bounded-" + i, references.get(i).storagePath());
+            }
+            assertEquals(6, references.size());
+            Semaphore budget = (Semaphore) ReflectionTestUtils.getField(orchestrator, "uploadMemoryBudget");
+            assertEquals(2, budget.availablePermits());
+        }
+
+        /**
+         * 验证存储 RPC 较慢时分片并发上传，总耗时明显低于串行累加。
+         */
+        @Test
+        @DisplayName("should overlap slow storage RPCs within one saga")
+        void shouldOverlapSlowStorageRpcs() throws Exception {
+            int chunkCount = 8;
+            long rpcMillis = 150L;
+            List<java.io.File> chunks = new ArrayList<>();
+            List<String> hashes = new ArrayList<>();
+            for (int i = 0; i < chunkCount; i++) {
+                chunks.add(writeChunk("slow-" + i + ".bin", new byte[4096]));
+                hashes.add("hash-slow-" + i);
+            }
+            prepareNewSaga("req-slow");
+            AtomicInteger concurrent = new AtomicInteger();
+            AtomicInteger peakConcurrent = new AtomicInteger();
+            when(fileRemoteClient.storeFileChunk(any(byte[].class), anyString())).thenAnswer(invocation -> {
+                peakConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                Thread.sleep(rpcMillis);
+                concurrent.decrementAndGet();
+                return Result.success("minio/tenant/77/" + invocation.getArgument(1));
+            });
+            when(fileRemoteClient.storeFileOnChainOnce(any(StoreFileRequest.class)))
+                    .thenReturn(Result.success(new StoreFileResponse("tx-slow", "file-hash")));
+
+            long start = System.nanoTime();
+            FileUploadResult result = orchestrator.executeUpload(FileUploadCommand.builder()
+                    .requestId("req-slow")
+                    .userId(100L)
+                    .fileName("slow.bin")
+                    .fileList(chunks)
+                    .fileHashList(hashes)
+                    .build());
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+            assertTrue(result.isSuccess());
+            assertTrue(peakConcurrent.get() > 1, "peak concurrency " + peakConcurrent.get());
+            assertTrue(elapsedMillis < chunkCount * rpcMillis / 2,
+                    "elapsed " + elapsedMillis + "ms for " + chunkCount + " chunks");
+        }
+
+        /**
+         * 验证分片失败后不再分发后续分片，许可全部归还且不进入链上存证。
+         */
+        @Test
+        @DisplayName("should stop dispatching and release budget when a chunk store fails")
+        void shouldStopDispatchingWhenChunkStoreFails() throws Exception {
+            ReflectionTestUtils.setField(orchestrator, "maxInMemoryChunkBytes", 1024L);
+            List<java.io.File> chunks = new ArrayList<>();
+            List<String> hashes = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                chunks.add(writeChunk("failing-" + i + ".bin", new byte[1024]));
+                hashes.add("hash-failing-" + i);
+            }
+            prepareNewSaga("req-failing");
+            when(fileRemoteClient.storeFileChunk(any(byte[].class), eq("hash-failing-0")))
+                    .thenReturn(Result.success("minio/tenant/77/hash-failing-0"));
+            when(fileRemoteClient.storeFileChunk(any(byte[].class), eq("hash-failing-1")))
+                    .thenReturn(Result.success(null));
+
+            GeneralException exception = assertThrows(GeneralException.class, () ->
+                    orchestrator.executeUpload(FileUploadCommand.builder()
+                            .requestId("req-failing")
+                            .userId(100L)
+                            .fileName("failing.bin")
+                            .fileList(chunks)
+                            .fileHashList(hashes)
+                            .build()));
+
+            assertEquals(ResultEnum.FILE_UPLOAD_ERROR, exception.getResultEnum());
+            verify(fileRemoteClient, times(2)).storeFileChunk(any(byte[].class), anyString());
+            verify(fileRemoteClient, never()).storeFileChunk(any(byte[].class), eq("hash-failing-2"));
+            verify(fileRemoteClient, never()).storeFileOnChainOnce(any());
+            Semaphore budget = (Semaphore) ReflectionTestUtils.getField(orchestrator, "uploadMemoryBudget");
+            assertEquals(1, budget.availablePermits());
+        }
+
         /**
          * 创建临时分片文件并写入指定内容。
          */
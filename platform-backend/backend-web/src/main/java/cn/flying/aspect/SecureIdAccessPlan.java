@@ -0,0 +1,284 @@
+package cn.flying.aspect;
+
+import cn.flying.common.util.Const;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 单个类型的安全ID访问计划，按类只内省一次并缓存在 {@link ClassValue} 中。
+ * <p>
+ * 计划包含三部分：本类声明的可能承载 Long ID 的字段、用于写回外部ID的 externalId/extId 字段，
+ * 以及可能嵌套 VO、集合或分页对象、需要继续遍历的字段。集合与数组在构建时即归类，JDK 类型、枚举、Map 以及既无候选ID字段又无可遍历字段的类型
+ * 得到空计划，切面遇到时直接跳过。record 不可变，其ID应在构造 VO 时已转换为外部ID，因此只遍历其组件。
+ */
+@Slf4j
+final class SecureIdAccessPlan {
+
+    private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final String[] EXTERNAL_ID_FIELDS = {"externalId", "extId"};
+
+    /** 不可内省或无需处理的类型共用的空计划 */
+    static final SecureIdAccessPlan OPAQUE = container(Kind.OPAQUE);
+    private static final SecureIdAccessPlan COLLECTION = container(Kind.COLLECTION);
+    private static final SecureIdAccessPlan ARRAY = container(Kind.ARRAY);
+
+    private static final ClassValue<SecureIdAccessPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected SecureIdAccessPlan computeValue(Class<?> type) {
+            return build(type);
+        }
+    };
+
+    private final Kind kind;
+    private final Map<String, IdSlot> idSlots;
+    private final MethodHandle externalIdWriter;
+    private final String externalIdFieldName;
+    private final boolean userEntity;
+    private final MethodHandle[] children;
+
+    private SecureIdAccessPlan(Kind kind, Map<String, IdSlot> idSlots, MethodHandle externalIdWriter,
+                               String externalIdFieldName, boolean userEntity, MethodHandle[] children) {
+        this.kind = kind;
+        this.idSlots = idSlots;
+        this.externalIdWriter = externalIdWriter;
+        this.externalIdFieldName = externalIdFieldName;
+        this.userEntity = userEntity;
+        this.children = children;
+    }
+
+    /**
+     * 获取类型的访问计划，首次访问时构建并缓存。
+     *
+     * @param type 运行时类型
+     * @return 访问计划
+     */
+    static SecureIdAccessPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /** 节点类别；集合与数组的判断也在构建计划时完成，避免逐行做接口 instanceof */
+    Kind kind() {
+        return kind;
+    }
+
+    /**
+     * 判断该类型在指定ID字段名下是否无需任何处理。
+     *
+     * @param idField ID字段名
+     * @return 既无候选ID字段又无可遍历字段时返回 true
+     */
+    boolean skippable(String idField) {
+        return kind == Kind.OPAQUE || (kind == Kind.OBJECT && children.length == 0 && !idSlots.containsKey(idField));
+    }
+
+    /**
+     * 获取指定名称的候选ID字段。
+     *
+     * @param idField ID字段名
+     * @return 字段访问器；本类未声明可承载 Long 的同名字段时返回 null
+     */
+    IdSlot idSlot(String idField) {
+        return idSlots.get(idField);
+    }
+
+    /** 外部ID字段写入器；类型没有可写的 externalId/extId 字段时为 null */
+    MethodHandle externalIdWriter() {
+        return externalIdWriter;
+    }
+
+    /** 外部ID字段名 */
+    String externalIdFieldName() {
+        return externalIdFieldName;
+    }
+
+    /** 类名包含 user/account 时使用用户ID编码 */
+    boolean userEntity() {
+        return userEntity;
+    }
+
+    /** 需要继续遍历的字段读取器 */
+    MethodHandle[] children() {
+        return children;
+    }
+
+    private static SecureIdAccessPlan build(Class<?> type) {
+        if (Collection.class.isAssignableFrom(type)) {
+            return COLLECTION;
+        }
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? OPAQUE : ARRAY;
+        }
+        if (type.isEnum() || Enum.class.isAssignableFrom(type)
+                || Map.class.isAssignableFrom(type) || isPlatformType(type)) {
+            return OPAQUE;
+        }
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("无法访问类型 {} 的字段，跳过安全ID处理: {}", type.getName(), e.getMessage());
+            return OPAQUE;
+        }
+
+        Map<String, IdSlot> idSlots = new HashMap<>();
+        MethodHandle externalIdWriter = null;
+        String externalIdFieldName = null;
+        if (!type.isRecord()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (isInstanceField(field) && canHoldLong(field.getType())) {
+                    MethodHandle reader = reader(lookup, field);
+                    if (reader != null) {
+                        idSlots.put(field.getName(), new IdSlot(
+                                reader, field.getType().isPrimitive() ? null : writer(lookup, field)));
+                    }
+                }
+            }
+            for (String name : EXTERNAL_ID_FIELDS) {
+                Field field = declaredField(type, name);
+                if (field != null && isInstanceField(field) && field.getType().isAssignableFrom(String.class)) {
+                    externalIdWriter = writer(lookup, field);
+                    if (externalIdWriter != null) {
+                        externalIdFieldName = name;
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<MethodHandle> children = new ArrayList<>();
+        for (Class<?> current = type; current != null && !isPlatformType(current); current = current.getSuperclass()) {
+            MethodHandles.Lookup owner = current == type ? lookup : privateLookup(current);
+            if (owner == null) {
+                continue;
+            }
+            for (Field field : current.getDeclaredFields()) {
+                if (isInstanceField(field) && traversable(field.getType())) {
+                    MethodHandle reader = reader(owner, field);
+                    if (reader != null) {
+                        children.add(reader);
+                    }
+                }
+            }
+        }
+
+        if (idSlots.isEmpty() && children.isEmpty()) {
+            return OPAQUE;
+        }
+        String simpleName = type.getSimpleName().toLowerCase(Locale.ROOT);
+        return new SecureIdAccessPlan(
+                Kind.OBJECT,
+                Map.copyOf(idSlots),
+                externalIdWriter,
+                externalIdFieldName,
+                simpleName.contains(Const.USER_ENTITY) || simpleName.contains(Const.ACCOUNT_ENTITY),
+                children.toArray(new MethodHandle[0]));
+    }
+
+    private static SecureIdAccessPlan container(Kind kind) {
+        return new SecureIdAccessPlan(kind, Map.of(), null, null, false, new MethodHandle[0]);
+    }
+
+    /** 字段声明类型可能在运行时持有 Long 值 */
+    private static boolean canHoldLong(Class<?> type) {
+        return type == long.class || type.isAssignableFrom(Long.class);
+    }
+
+    /** 字段声明类型可能持有需要继续遍历的对象：业务类型、集合、对象数组或擦除后的泛型 */
+    private static boolean traversable(Class<?> type) {
+        if (type.isPrimitive() || type.isEnum()) {
+            return false;
+        }
+        if (type.isArray()) {
+            return traversable(type.getComponentType());
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return false;
+        }
+        return !isPlatformType(type)
+                || Collection.class.isAssignableFrom(type)
+                || type.isAssignableFrom(Collection.class)
+                || type.isAssignableFrom(Object[].class);
+    }
+
+    private static boolean isPlatformType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.")
+                || name.startsWith("sun.") || name.startsWith("com.sun.");
+    }
+
+    private static boolean isInstanceField(Field field) {
+        return !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic();
+    }
+
+    private static Field declaredField(Class<?> type, String name) {
+        try {
+            return type.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("无法访问父类 {} 的字段: {}", type.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static MethodHandle reader(MethodHandles.Lookup lookup, Field field) {
+        try {
+            return lookup.unreflectGetter(field).asType(READ_TYPE);
+        } catch (IllegalAccessException e) {
+            log.debug("无法读取字段 {}.{}: {}", field.getDeclaringClass().getName(), field.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /** final 字段需先 setAccessible 才能获得写句柄，record 字段不可写 */
+    private static MethodHandle writer(MethodHandles.Lookup lookup, Field field) {
+        try {
+            if (Modifier.isFinal(field.getModifiers()) && !field.trySetAccessible()) {
+                return null;
+            }
+            return lookup.unreflectSetter(field).asType(WRITE_TYPE);
+        } catch (IllegalAccessException e) {
+            log.debug("无法写入字段 {}.{}: {}", field.getDeclaringClass().getName(), field.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /** 节点类别 */
+    enum Kind {
+        /** JDK 类型、枚举、Map 或不含候选字段的类型，直接跳过 */
+        OPAQUE,
+        /** 集合，逐个遍历元素 */
+        COLLECTION,
+        /** 对象数组，逐个遍历元素 */
+        ARRAY,
+        /** 含候选ID字段或可遍历字段的业务类型 */
+        OBJECT
+    }
+
+    /**
+     * 候选ID字段的访问器。
+     *
+     * @param reader 读取器
+     * @param writer 写入器；基本类型或不可写字段为 null，此时无法隐藏原始ID
+     */
+    record IdSlot(MethodHandle reader, MethodHandle writer) {
+    }
+}
@@ -0,0 +1,24 @@
+package cn.flying.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis 发布订阅配置。
+ * <p>
+ * 提供共享的消息监听容器，用于跨实例广播进程内缓存失效（如权限快照）。
+ * 监听者在自身初始化时向容器注册频道。
+ * </p>
+ */
+@Configuration
+public class RedisPubSubConfiguration {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -134,15 +134,18 @@ public class AnnouncementController {
     /**
      * 标记全部公告为已读（REST 新路径）。
      *
-     * @param userId 当前用户 ID
+     * @param userId     当前用户 ID
+     * @param throughSeq 已加载列表中的最大发布序号
      * @return 操作结果
      */
     @PutMapping("/read-status")
     @Operation(summary = "标记全部公告为已读（REST）")
     @OperationLog(module = "公告模块", operationType = "修改", description = "标记全部公告已读（REST）")
     public Result<String> updateAllReadStatus(
-            @RequestAttribute(Const.ATTR_USER_ID) Long userId) {
-        announcementService.markAllAsRead(userId);
+            @RequestAttribute(Const.ATTR_USER_ID) Long userId,
+            @Parameter(description = "已加载列表中的最大发布序号，之后发布的公告保持未读；为空时标记当前全部公告")
+            @RequestParam(required = false) Long throughSeq) {
+        announcementService.markAllAsRead(userId, throughSeq);
         return Result.success("已全部标记为已读");
     }
 
@@ -2,6 +2,7 @@ package cn.flying.controller;
 
 import cn.flying.common.annotation.OperationLog;
 import cn.flying.common.constant.Result;
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.admin.AdminFileDetailVO;
 import cn.flying.dao.vo.admin.AdminFileQueryParam;
 import cn.flying.dao.vo.admin.AdminFileVO;
@@ -71,6 +72,19 @@ public class FileAdminController {
         return Result.success(files);
     }
 
+    /**
+     * 获取所有文件列表（游标分页）
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "获取所有文件列表（游标分页）")
+    @OperationLog(module = "管理员-文件审计", operationType = "查询", description = "游标获取所有文件列表")
+    public Result<CursorPageVO<AdminFileVO>> getAllFilesByCursor(
+            AdminFileQueryParam param,
+            @Parameter(description = "上一页返回的游标") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "20") Integer limit) {
+        return Result.success(fileAdminService.getAllFilesByCursor(param, cursor, limit));
+    }
+
     /**
      * 获取文件详情（含完整审计信息）
      */
@@ -140,6 +154,19 @@ public class FileAdminController {
         return Result.success(shares);
     }
 
+    /**
+     * 获取所有分享列表（游标分页）
+     */
+    @GetMapping("/shares/cursor")
+    @Operation(summary = "获取所有分享列表（游标分页）")
+    @OperationLog(module = "管理员-文件审计", operationType = "查询", description = "游标获取所有分享列表")
+    public Result<CursorPageVO<AdminShareVO>> getAllSharesByCursor(
+            AdminShareQueryParam param,
+            @Parameter(description = "上一页返回的游标") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "20") Integer limit) {
+        return Result.success(fileAdminService.getAllSharesByCursor(param, cursor, limit));
+    }
+
     /**
      * 强制取消分享
      */
@@ -168,6 +195,19 @@ public class FileAdminController {
         return Result.success(logs);
     }
 
+    /**
+     * 获取分享访问日志（游标分页）
+     */
+    @GetMapping("/shares/{shareCode}/logs/cursor")
+    @Operation(summary = "获取分享访问日志（游标分页）")
+    @OperationLog(module = "管理员-文件审计", operationType = "查询", description = "游标获取分享访问日志")
+    public Result<CursorPageVO<ShareAccessLogVO>> getShareAccessLogsByCursor(
+            @Parameter(description = "分享码") @PathVariable String shareCode,
+            @Parameter(description = "上一页返回的游标") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "20") Integer limit) {
+        return Result.success(shareAuditService.getShareAccessLogsByCursor(shareCode, cursor, limit));
+    }
+
     /**
      * 获取分享访问统计
      */
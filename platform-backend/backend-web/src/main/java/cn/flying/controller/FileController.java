@@ -24,6 +24,8 @@ import cn.flying.service.FileQueryService;
 import cn.flying.service.FileService;
 import cn.flying.service.ShareAuditService;
 import cn.flying.service.proof.ProofBundleService;
+import cn.flying.service.proof.signed.BulkProofArchiveExport;
+import cn.flying.service.proof.signed.BulkProofArchiveExportRequest;
 import cn.flying.service.proof.signed.ProofArchive;
 import cn.flying.service.proof.signed.SignedProofArchiveService;
 import com.baomidou.mybatisplus.core.metadata.IPage;
@@ -39,6 +41,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.http.CacheControl;
 import org.springframework.http.ContentDisposition;
@@ -57,6 +60,8 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -248,6 +253,70 @@ public class FileController {
         return proofArchiveResponse(signedProofArchiveService.exportByLeafId(userId, internalLeafId));
     }
 
+    /**
+     * 按存证叶子创建时间 keyset 顺序批量流式导出签名 proof ZIP；管理员导出整个租户，其他用户仅导出本人文件。
+     *
+     * @param userId 用户 ID
+     * @param createdFrom 叶子创建时间下界（含）
+     * @param createdTo 叶子创建时间上界（不含）
+     * @param cursor 上次导出汇总或最后一个完整条目中的续传游标
+     * @param limit 本次最多处理的叶子数
+     * @return application/zip 流式响应
+     */
+    @GetMapping(value = "/proof-bundles.zip", produces = "application/zip")
+    @Operation(summary = "批量导出签名文件证明 ZIP",
+            description = "每个证明位于 proofs/{cursor}/ 下，末尾 export-summary.json 给出状态、失败叶子和续传游标")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "按 keyset 顺序排列的签名证明 ZIP 集合",
+                    headers = {
+                            @Header(name = HttpHeaders.CONTENT_DISPOSITION,
+                                    description = "RFC 5987 编码的安全附件文件名",
+                                    schema = @Schema(type = "string")),
+                            @Header(name = HttpHeaders.CACHE_CONTROL,
+                                    description = "证明包禁止缓存并要求重新验证",
+                                    schema = @Schema(type = "string"))
+                    },
+                    content = @Content(mediaType = "application/zip",
+                            schema = @Schema(type = "string", format = "binary")))
+    })
+    @RateLimit(
+            limit = 2,
+            period = 60,
+            adminLimit = 6,
+            monitorLimit = 6,
+            type = RateLimit.LimitType.USER,
+            key = "proof:archive:bulk")
+    @OperationLog(module = "文件操作", operationType = "查询", description = "批量导出签名文件证明 ZIP")
+    public ResponseEntity<StreamingResponseBody> exportSignedProofArchives(
+            @RequestAttribute(Const.ATTR_USER_ID) Long userId,
+            @Parameter(description = "叶子创建时间下界（ISO-8601，含）")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            OffsetDateTime createdFrom,
+            @Parameter(description = "叶子创建时间上界（ISO-8601，不含）")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            OffsetDateTime createdTo,
+            @Parameter(description = "续传游标") @RequestParam(required = false) String cursor,
+            @Parameter(description = "本次最多导出的叶子数") @RequestParam(required = false) Integer limit) {
+        BulkProofArchiveExport export = signedProofArchiveService.prepareBulkExport(
+                userId,
+                new BulkProofArchiveExportRequest(
+                        createdFrom == null ? null : Date.from(createdFrom.toInstant()),
+                        createdTo == null ? null : Date.from(createdTo.toInstant()),
+                        cursor,
+                        limit));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(export.fileName(), StandardCharsets.UTF_8)
+                .build());
+        headers.setCacheControl(CacheControl.noStore().mustRevalidate());
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(export::writeTo);
+    }
+
     /**
      * 撤销当前用户有权管理的叶子证明，重复撤销保持幂等。
      *
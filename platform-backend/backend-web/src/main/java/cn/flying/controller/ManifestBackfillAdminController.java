@@ -10,6 +10,7 @@ import cn.flying.dao.entity.ManifestBackfillItem;
 import cn.flying.dao.entity.ManifestBackfillRun;
 import cn.flying.dao.entity.ManifestReferenceCensus;
 import cn.flying.dao.entity.ManifestReferenceSweepMark;
+import cn.flying.dao.vo.manifest.ManifestBackfillConcurrencyRequest;
 import cn.flying.dao.vo.manifest.ManifestBackfillCreateRequest;
 import cn.flying.dao.vo.manifest.ManifestBackfillItemPageVO;
 import cn.flying.dao.vo.manifest.ManifestBackfillItemVO;
@@ -29,6 +30,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -145,6 +147,22 @@ public class ManifestBackfillAdminController {
         return Result.success(toRunVO(runService.resume(tenantId, decodeExternalId(runId))));
     }
 
+    /**
+     * Changes the concurrent claim worker count of an unfinished apply run while it keeps running.
+     */
+    @PutMapping("/{runId}/concurrency")
+    @Operation(summary = "Change manifest backfill apply worker concurrency")
+    @OperationLog(module = "manifest-backfill", operationType = "update",
+            description = "Change manifest backfill worker concurrency")
+    public Result<ManifestBackfillRunVO> updateConcurrency(
+            @RequestAttribute(Const.ATTR_TENANT_ID) Long tenantId,
+            @PathVariable String runId,
+            @RequestBody @Valid ManifestBackfillConcurrencyRequest request
+    ) {
+        return Result.success(toRunVO(runService.updateWorkerConcurrency(
+                tenantId, decodeExternalId(runId), request.workerConcurrency())));
+    }
+
     /**
      * Requeues one retryable failed item under its owning run.
      */
@@ -223,7 +241,10 @@ public class ManifestBackfillAdminController {
                 run.getMode(), run.getStatus(), run.getSnapshotVersion(), run.getSnapshotDigest(),
                 value(run.getTotalCount()), value(run.getPendingCount()), value(run.getBackfilledCount()),
                 value(run.getReuploadCount()), value(run.getUnrecoverableCount()), value(run.getIgnoredCount()),
-                value(run.getFailedCount()), run.getLastErrorClass(), run.getStartedAt(), run.getCompletedAt(),
+                value(run.getFailedCount()),
+                run.getWorkerConcurrency() == null ? 1 : run.getWorkerConcurrency(),
+                value(run.getAttemptedCount()), value(run.getErrorCount()), value(run.getThroughputPerMinute()),
+                run.getLastErrorClass(), run.getStartedAt(), run.getCompletedAt(),
                 run.getCreateTime(), run.getUpdateTime());
     }
 
@@ -5,7 +5,9 @@ import cn.flying.common.constant.Result;
 import cn.flying.common.constant.ResultEnum;
 import cn.flying.common.exception.GeneralException;
 import cn.flying.common.util.IdUtils;
+import cn.flying.common.util.JsonConverter;
 import cn.flying.dao.dto.SysOperationLog;
+import cn.flying.dao.vo.CursorPageVO;
 import cn.flying.dao.vo.SysOperationLogVO;
 import cn.flying.dao.vo.audit.AuditConfigVO;
 import cn.flying.dao.vo.audit.AuditLogQueryVO;
@@ -38,13 +40,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * 系统审计控制器。
@@ -133,6 +140,123 @@ public class SysAuditController {
         doExportLogs(Objects.requireNonNullElseGet(queryVO, AuditLogQueryVO::new), response);
     }
 
+    /**
+     * 按游标查询审计日志，深翻页成本与首页相同。
+     *
+     * @param queryVO 查询条件（忽略 pageNum/pageSize）
+     * @param cursor  上一页返回的游标，空表示第一页
+     * @param limit   单页条数，最大 200
+     * @return 游标分页结果
+     */
+    @OperationLog(module = "系统审计", operationType = "查询", description = "getAuditLogsByCursor")
+    @GetMapping("/logs/cursor")
+    @Operation(summary = "游标分页查询审计日志")
+    public Result<CursorPageVO<AuditLogVO>> getAuditLogsByCursor(@ModelAttribute AuditLogQueryVO queryVO,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") Integer limit) {
+        CursorPageVO<SysOperationLog> page = auditService.queryOperationLogsByCursor(
+                Objects.requireNonNullElseGet(queryVO, AuditLogQueryVO::new), cursor, limit);
+        return Result.success(new CursorPageVO<>(
+                page.records().stream().map(this::toAuditLogVO).toList(), page.nextCursor()));
+    }
+
+    /**
+     * 流式导出审计日志（CSV 或 NDJSON），不设条数上限，逐行写出响应。
+     *
+     * @param queryVO  查询条件
+     * @param format   导出格式：csv 或 ndjson
+     * @param response HTTP 响应
+     * @throws IOException IO 异常
+     */
+    @OperationLog(module = "系统审计", operationType = "新增", description = "streamAuditLogs")
+    @PostMapping("/logs/export/stream")
+    @Operation(summary = "流式导出审计日志（CSV/NDJSON）")
+    public void streamAuditLogs(@RequestBody(required = false) AuditLogQueryVO queryVO,
+                                @RequestParam(defaultValue = "csv") String format,
+                                HttpServletResponse response) throws IOException {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"csv".equalsIgnoreCase(format)) {
+            throw new GeneralException(ResultEnum.PARAM_IS_INVALID, "format 仅支持 csv 或 ndjson");
+        }
+        String fileName = URLEncoder.encode("操作日志_" + System.currentTimeMillis() + (ndjson ? ".ndjson" : ".csv"),
+                StandardCharsets.UTF_8);
+        response.setContentType(ndjson ? "application/x-ndjson;charset=UTF-8" : "text/csv;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+        response.setHeader("Cache-Control", "no-store");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        Consumer<SysOperationLog> rowWriter = ndjson ? log -> writeNdjsonRow(writer, log) : log -> writeCsvRow(writer, log);
+        try {
+            if (!ndjson) {
+                writer.write('\uFEFF');
+                writer.write("ID,用户ID,用户名,操作模块,操作类型,操作描述,请求方法,请求URL,请求IP,操作状态,操作时间,执行时长(ms)\n");
+            }
+            long rows = auditService.streamOperationLogs(
+                    Objects.requireNonNullElseGet(queryVO, AuditLogQueryVO::new), rowWriter);
+            writer.flush();
+            log.info("流式导出审计日志完成: format={}, rows={}", ndjson ? "ndjson" : "csv", rows);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * 写出一行 CSV，列顺序与 Excel 导出一致。
+     */
+    private void writeCsvRow(Writer writer, SysOperationLog log) {
+        String[] cells = {
+                toCellString(log.getId()),
+                toCellString(log.getUserId()),
+                toCellString(log.getUsername()),
+                toCellString(log.getModule()),
+                toCellString(log.getOperationType()),
+                toCellString(log.getDescription()),
+                toCellString(log.getMethod()),
+                toCellString(log.getRequestUrl()),
+                toCellString(log.getRequestIp()),
+                Integer.valueOf(0).equals(log.getStatus()) ? "成功" : "失败",
+                log.getOperationTime() != null ? log.getOperationTime().format(DATETIME_FORMATTER) : "",
+                toCellString(log.getExecutionTime() != null ? log.getExecutionTime() : 0)
+        };
+        try {
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(toCsvField(cells[i]));
+            }
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * 写出一行 NDJSON，字段与审计日志展示 VO 一致。
+     */
+    private void writeNdjsonRow(Writer writer, SysOperationLog log) {
+        try {
+            writer.write(Objects.requireNonNullElse(JsonConverter.toJson(toAuditLogVO(log)), "{}"));
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * CSV 字段转义；以公式字符开头的值加前缀单引号，防止表格软件执行公式。
+     */
+    private String toCsvField(String value) {
+        String safe = value;
+        if (!safe.isEmpty() && "=+-@\t\r".indexOf(safe.charAt(0)) >= 0) {
+            safe = "'" + safe;
+        }
+        if (safe.indexOf(',') >= 0 || safe.indexOf('"') >= 0 || safe.indexOf('\n') >= 0 || safe.indexOf('\r') >= 0) {
+            return '"' + safe.replace("\"", "\"\"") + '"';
+        }
+        return safe;
+    }
+
     /**
      * 统一的审计日志分页查询：查询 SysOperationLog 并转换为前端展示 VO。
      *
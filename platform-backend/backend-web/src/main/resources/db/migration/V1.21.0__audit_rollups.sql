@@ -0,0 +1,57 @@
+-- V1.21.0: Add incrementally maintained audit rollups so the admin overview no longer scans sys_operation_log.
+-- Rollups are written after the operation log commits and reconciled nightly from the base table.
+-- Pre-upgrade history is backfilled by AuditTask one tenant-day per transaction, never inside this migration.
+
+CREATE TABLE IF NOT EXISTS `sys_audit_rollup` (
+    `tenant_id`    BIGINT      NOT NULL COMMENT 'Tenant boundary',
+    `granularity`  VARCHAR(8)  NOT NULL COMMENT 'MINUTE, HOUR, or DAY',
+    `bucket_start` DATETIME    NOT NULL COMMENT 'Inclusive bucket start truncated to granularity',
+    `total_count`  BIGINT      NOT NULL DEFAULT 0 COMMENT 'Operation log rows in bucket',
+    `error_count`  BIGINT      NOT NULL DEFAULT 0 COMMENT 'Operation log rows with status=1 in bucket',
+    `update_time`  DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'Last increment or reconciliation',
+    PRIMARY KEY (`tenant_id`, `granularity`, `bucket_start`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci COMMENT='Per-tenant operation log count rollups';
+
+-- HyperLogLog registers: one row per non-empty register, merged with GREATEST so concurrent writers commute.
+CREATE TABLE IF NOT EXISTS `sys_audit_user_sketch` (
+    `tenant_id`      BIGINT   NOT NULL COMMENT 'Tenant boundary',
+    `bucket_date`    DATE     NOT NULL COMMENT 'Day bucket',
+    `register_index` SMALLINT NOT NULL COMMENT 'HyperLogLog register index',
+    `register_rank`  TINYINT  NOT NULL COMMENT 'Maximum observed rank for the register',
+    PRIMARY KEY (`tenant_id`, `bucket_date`, `register_index`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci COMMENT='Per-tenant daily distinct-user sketches';
+
+CREATE TABLE IF NOT EXISTS `sys_audit_user_minute` (
+    `tenant_id`    BIGINT      NOT NULL COMMENT 'Tenant boundary',
+    `bucket_start` DATETIME    NOT NULL COMMENT 'Minute bucket start',
+    `user_id`      VARCHAR(50) NOT NULL COMMENT 'Operator user ID',
+    `request_ip`   VARCHAR(50) NOT NULL DEFAULT '' COMMENT 'Request IP',
+    `username`     VARCHAR(50) DEFAULT NULL COMMENT 'Last observed username',
+    `op_count`     BIGINT      NOT NULL DEFAULT 0 COMMENT 'Operations in minute',
+    PRIMARY KEY (`tenant_id`, `bucket_start`, `user_id`, `request_ip`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci COMMENT='Short-retention per-user minute rollups for high-frequency detection';
+
+CREATE TABLE IF NOT EXISTS `sys_audit_error_rollup` (
+    `tenant_id`        BIGINT       NOT NULL COMMENT 'Tenant boundary',
+    `bucket_date`      DATE         NOT NULL COMMENT 'Day bucket',
+    `module`           VARCHAR(50)  NOT NULL DEFAULT '' COMMENT 'Module',
+    `operation_type`   VARCHAR(20)  NOT NULL DEFAULT '' COMMENT 'Operation type',
+    `error_msg_hash`   CHAR(64)     NOT NULL COMMENT 'SHA-256 of the full error message',
+    `error_msg`        VARCHAR(1024) NOT NULL DEFAULT '' COMMENT 'Truncated error message sample',
+    `error_count`      BIGINT       NOT NULL DEFAULT 0 COMMENT 'Errors in bucket',
+    `first_occurrence` DATETIME     DEFAULT NULL COMMENT 'Earliest error in bucket',
+    `last_occurrence`  DATETIME     DEFAULT NULL COMMENT 'Latest error in bucket',
+    PRIMARY KEY (`tenant_id`, `bucket_date`, `module`, `operation_type`, `error_msg_hash`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci COMMENT='Per-tenant daily error rollups';
+
+-- Resumable history backfill cursor, walked backwards from the day before the first run.
+CREATE TABLE IF NOT EXISTS `sys_audit_rollup_backfill` (
+    `tenant_id`   BIGINT   NOT NULL COMMENT 'Tenant boundary',
+    `next_day`    DATE     DEFAULT NULL COMMENT 'Next day to recompute; NULL once history is covered',
+    `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'Last cursor move',
+    PRIMARY KEY (`tenant_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci COMMENT='Per-tenant audit rollup history backfill cursor';
+
+-- Reconciliation reads one tenant-day at a time from the base table.
+ALTER TABLE `sys_operation_log`
+    ADD INDEX `idx_operation_log_tenant_time` (`tenant_id`, `operation_time`);
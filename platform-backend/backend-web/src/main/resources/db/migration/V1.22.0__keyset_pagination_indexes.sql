@@ -0,0 +1,8 @@
+-- V1.22.0: Composite indexes for (time, id) keyset pagination on admin listings.
+-- sys_operation_log is covered by idx_operation_log_tenant_time from V1.21.0; file by idx_file_latest_list.
+
+ALTER TABLE `file_share`
+    ADD INDEX `idx_file_share_tenant_time` (`tenant_id`, `create_time`, `id`);
+
+ALTER TABLE `share_access_log`
+    ADD INDEX `idx_share_access_log_code_time` (`tenant_id`, `share_code`, `access_time`, `id`);
@@ -0,0 +1,23 @@
+-- V1.23.0: Per-participant unread counters on conversation.
+-- Counters are incremented with the message insert and reset on mark-read, so badge polls no longer COUNT message rows.
+-- Existing conversations are backfilled from unread messages; MessageUnreadCounterRepairTask re-runs the same recount.
+
+ALTER TABLE `conversation`
+    ADD COLUMN `participant_a_unread` INT NOT NULL DEFAULT 0 COMMENT '参与者A未读消息数' AFTER `participant_b_deleted`,
+    ADD COLUMN `participant_b_unread` INT NOT NULL DEFAULT 0 COMMENT '参与者B未读消息数' AFTER `participant_a_unread`;
+
+UPDATE `conversation` c
+    LEFT JOIN (
+        SELECT `tenant_id`, `conversation_id`, `receiver_id`, COUNT(*) AS `unread`
+        FROM `message`
+        WHERE `is_read` = 0 AND `deleted` = 0
+        GROUP BY `tenant_id`, `conversation_id`, `receiver_id`
+    ) ua ON ua.`tenant_id` = c.`tenant_id` AND ua.`conversation_id` = c.`id` AND ua.`receiver_id` = c.`participant_a`
+    LEFT JOIN (
+        SELECT `tenant_id`, `conversation_id`, `receiver_id`, COUNT(*) AS `unread`
+        FROM `message`
+        WHERE `is_read` = 0 AND `deleted` = 0
+        GROUP BY `tenant_id`, `conversation_id`, `receiver_id`
+    ) ub ON ub.`tenant_id` = c.`tenant_id` AND ub.`conversation_id` = c.`id` AND ub.`receiver_id` = c.`participant_b`
+SET c.`participant_a_unread` = COALESCE(ua.`unread`, 0),
+    c.`participant_b_unread` = COALESCE(ub.`unread`, 0);
@@ -0,0 +1,28 @@
+-- V1.24.0: Read-watermark model for announcements.
+-- publish_seq orders announcements by the moment they became published; drafts stay NULL until published.
+-- A user has read every announcement whose publish_seq is at or below their watermark.
+-- announcement_read keeps only sparse exceptions above the watermark.
+-- announcement_publish_sequence serializes sequence allocation per tenant: a publishing transaction locks its
+-- tenant row with SELECT ... FOR UPDATE until commit, so a watermark never skips a sequence that commits later.
+
+ALTER TABLE `announcement`
+    ADD COLUMN `publish_seq` BIGINT NULL COMMENT 'Publish sequence, assigned when first published' AFTER `publisher_id`;
+
+CREATE INDEX `idx_announcement_tenant_status_seq`
+    ON `announcement` (`tenant_id`, `status`, `publish_seq`);
+
+CREATE TABLE IF NOT EXISTS `announcement_read_watermark` (
+    `user_id`       BIGINT   NOT NULL COMMENT 'User ID',
+    `tenant_id`     BIGINT   NOT NULL DEFAULT 0 COMMENT 'Tenant ID',
+    `last_read_seq` BIGINT   NOT NULL DEFAULT 0 COMMENT 'Every announcement with publish_seq <= this value is read',
+    `update_time`   DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'Update time',
+    PRIMARY KEY (`user_id`),
+    INDEX `idx_announcement_read_watermark_tenant` (`tenant_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Announcement read watermark per user';
+
+CREATE TABLE IF NOT EXISTS `announcement_publish_sequence` (
+    `tenant_id`   BIGINT   NOT NULL COMMENT 'Tenant ID',
+    `last_seq`    BIGINT   NOT NULL DEFAULT 0 COMMENT 'Last publish sequence allocated in this tenant',
+    `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'Update time',
+    PRIMARY KEY (`tenant_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Announcement publish sequence per tenant';
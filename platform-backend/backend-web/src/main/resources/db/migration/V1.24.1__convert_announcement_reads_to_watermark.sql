@@ -0,0 +1,52 @@
+-- V1.24.1: Convert per-announcement read rows into watermarks plus sparse exceptions.
+-- Existing published and expired announcements get sequence numbers 1..n in (publish_time, id) order.
+-- Each tenant's publish sequence row is then seeded with its highest backfilled number (soft-deleted rows included),
+-- so announcements published from now on continue above every sequence already assigned.
+-- Each reader's watermark is the longest fully read prefix; rows under it are removed, the rest remain as exceptions.
+-- Every statement is re-runnable and leaves per-user read state unchanged.
+
+UPDATE `announcement` a
+    INNER JOIN (
+        SELECT `id`, ROW_NUMBER() OVER (ORDER BY `publish_time`, `id`) AS `seq`
+        FROM `announcement`
+        WHERE `status` IN (1, 2)
+          AND `publish_seq` IS NULL
+    ) s ON s.`id` = a.`id`
+SET a.`publish_seq` = s.`seq`;
+
+INSERT INTO `announcement_publish_sequence` (`tenant_id`, `last_seq`)
+SELECT `tenant_id`, MAX(`publish_seq`)
+FROM `announcement`
+WHERE `publish_seq` IS NOT NULL
+GROUP BY `tenant_id`
+ON DUPLICATE KEY UPDATE `last_seq` = GREATEST(`last_seq`, VALUES(`last_seq`));
+
+INSERT INTO `announcement_read_watermark` (`user_id`, `tenant_id`, `last_read_seq`)
+SELECT r.`user_id`,
+       r.`tenant_id`,
+       COALESCE(
+           (SELECT MIN(a.`publish_seq`) - 1
+            FROM `announcement` a
+            WHERE a.`tenant_id` = r.`tenant_id`
+              AND a.`publish_seq` IS NOT NULL
+              AND a.`deleted` = 0
+              AND NOT EXISTS (
+                  SELECT 1 FROM `announcement_read` x
+                  WHERE x.`announcement_id` = a.`id`
+                    AND x.`user_id` = r.`user_id`
+              )),
+           (SELECT COALESCE(MAX(a.`publish_seq`), 0)
+            FROM `announcement` a
+            WHERE a.`tenant_id` = r.`tenant_id`
+              AND a.`deleted` = 0)
+       )
+FROM (
+    SELECT DISTINCT `tenant_id`, `user_id` FROM `announcement_read`
+) r
+ON DUPLICATE KEY UPDATE `last_read_seq` = GREATEST(`last_read_seq`, VALUES(`last_read_seq`));
+
+DELETE ar FROM `announcement_read` ar
+    INNER JOIN `announcement` a ON a.`id` = ar.`announcement_id`
+    INNER JOIN `announcement_read_watermark` w ON w.`user_id` = ar.`user_id` AND w.`tenant_id` = ar.`tenant_id`
+WHERE a.`publish_seq` IS NOT NULL
+  AND a.`publish_seq` <= w.`last_read_seq`;
@@ -0,0 +1,7 @@
+-- V1.25.0: Tenant-leading indexes for prefix user search (username, nickname LIKE 'keyword%').
+-- The global uk_username key does not lead with tenant_id, and nickname had no index at all.
+-- Email is not searchable, so exact email lookups keep using the global uk_email key.
+
+ALTER TABLE `account`
+    ADD INDEX `idx_account_tenant_username` (`tenant_id`, `username`),
+    ADD INDEX `idx_account_tenant_nickname` (`tenant_id`, `nickname`);
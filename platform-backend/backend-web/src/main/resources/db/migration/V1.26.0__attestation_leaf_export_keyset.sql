@@ -0,0 +1,6 @@
+-- V1.26.0: Keyset index for bulk signed proof export over MANIFEST_HASH leaves.
+-- Export pages scan (tenant_id, evidence_type, deleted) in ascending (create_time, id) order,
+-- optionally bounded by a create_time range; no existing attestation_leaf key leads with create_time.
+
+ALTER TABLE `attestation_leaf`
+    ADD INDEX `idx_attestation_leaf_export` (`tenant_id`, `evidence_type`, `deleted`, `create_time`, `id`);
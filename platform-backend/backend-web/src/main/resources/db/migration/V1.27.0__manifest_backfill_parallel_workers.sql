@@ -0,0 +1,10 @@
+-- V1.27.0: Parallel claim-based manifest backfill apply workers.
+-- worker_concurrency is the administrator-tunable worker count re-read while a run applies; existing
+-- runs keep the previous single-worker behaviour. The attempt/error counters back the per-run error budget
+-- and are reset when a paused run resumes; throughput_per_minute is the most recent apply sample.
+
+ALTER TABLE `manifest_backfill_run`
+    ADD COLUMN `worker_concurrency`    INT    NOT NULL DEFAULT 1 COMMENT 'Concurrent apply workers for this run' AFTER `cursor_file_id`,
+    ADD COLUMN `attempted_count`       BIGINT NOT NULL DEFAULT 0 COMMENT 'Apply item attempts counted by the error budget' AFTER `failed_count`,
+    ADD COLUMN `error_count`           BIGINT NOT NULL DEFAULT 0 COMMENT 'Apply item failures counted by the error budget' AFTER `attempted_count`,
+    ADD COLUMN `throughput_per_minute` BIGINT NOT NULL DEFAULT 0 COMMENT 'Most recent apply items-per-minute sample' AFTER `error_count`;
@@ -0,0 +1,371 @@
+package cn.flying.aspect;
+
+import cn.flying.common.annotation.SecureId;
+import cn.flying.common.constant.Result;
+import cn.flying.common.constant.ResultEnum;
+import cn.flying.common.util.IdUtils;
+import cn.flying.common.util.SecureIdCodec;
+import cn.flying.dao.vo.file.FileVO;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * 验证 SecureIdAspect 基于缓存访问计划遍历嵌套 VO、分页、泛型包装和循环引用。
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SecureIdAspect Tests")
+class SecureIdAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private SecureIdAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        new IdUtils(null,
+                new SecureIdCodec("SecureTestKey4UnitTests2026XyZ789AbCdEfGhIjKlMnOpQrStUvWxYz1234"));
+        aspect = new SecureIdAspect();
+    }
+
+    @Nested
+    @DisplayName("Nested Values")
+    class NestedValues {
+
+        @Test
+        @DisplayName("should encode the root, nested VOs and collection elements with the matching ID type")
+        void nestedVos_areEncoded() throws Throwable {
+            UserAccountView owner = new UserAccountView(7L);
+            ItemView first = new ItemView(11L);
+            ItemView second = new ItemView(12L);
+            OrderView order = new OrderView(5L, owner, List.of(first, second));
+
+            Object returned = proceed(order, annotation("keepIds"));
+
+            assertThat(returned).isSameAs(order);
+            assertThat(order.externalId).isEqualTo(IdUtils.toExternalId(5L));
+            assertThat(owner.externalId).isEqualTo(IdUtils.toExternalUserId(7L));
+            assertThat(first.extId).isEqualTo(IdUtils.toExternalId(11L));
+            assertThat(second.extId).isEqualTo(IdUtils.toExternalId(12L));
+            assertThat(order.id).isEqualTo(5L);
+        }
+
+        @Test
+        @DisplayName("should null nested original IDs when hideOriginalId is set")
+        void hideOriginalId_appliesToNestedVos() throws Throwable {
+            ItemView item = new ItemView(21L);
+            OrderView order = new OrderView(20L, null, List.of(item));
+
+            proceed(Result.success(order), annotation("hideIds"));
+
+            assertThat(order.id).isNull();
+            assertThat(item.id).isNull();
+            assertThat(order.externalId).isEqualTo(IdUtils.toExternalId(20L));
+            assertThat(item.extId).isEqualTo(IdUtils.toExternalId(21L));
+        }
+
+        @Test
+        @DisplayName("should terminate on cyclic graphs and encode every node")
+        void cycles_terminateAndEncodeOnce() throws Throwable {
+            TreeNode root = new TreeNode(1L);
+            TreeNode child = new TreeNode(2L);
+            root.next = child;
+            child.next = root;
+            root.children.add(root);
+            root.children.add(child);
+
+            proceed(List.of(root, child), annotation("keepIds"));
+
+            assertThat(root.externalId).isEqualTo(IdUtils.toExternalId(1L));
+            assertThat(child.externalId).isEqualTo(IdUtils.toExternalId(2L));
+            assertThat(root.next.next).isSameAs(root);
+        }
+
+        @Test
+        @DisplayName("should follow erased generic fields, MyBatis-Plus pages and object arrays")
+        void genericsAndPages_areTraversed() throws Throwable {
+            ItemView pageItem = new ItemView(31L);
+            ItemView boxed = new ItemView(32L);
+            ItemView arrayItem = new ItemView(33L);
+            Page<ItemView> page = new Page<>(1, 10);
+            page.setRecords(List.of(pageItem));
+            Envelope<Page<ItemView>> envelope = new Envelope<>(page, boxed, new ItemView[]{arrayItem, null});
+
+            proceed(Result.success(envelope), annotation("keepIds"));
+
+            assertThat(pageItem.extId).isEqualTo(IdUtils.toExternalId(31L));
+            assertThat(boxed.extId).isEqualTo(IdUtils.toExternalId(32L));
+            assertThat(arrayItem.extId).isEqualTo(IdUtils.toExternalId(33L));
+        }
+
+        @Test
+        @DisplayName("should traverse record components while leaving record IDs untouched")
+        void records_areTraversedButNotRewritten() throws Throwable {
+            ItemView item = new ItemView(41L);
+            Holder holder = new Holder(40L, item);
+
+            proceed(holder, annotation("hideIds"));
+
+            assertThat(holder.id()).isEqualTo(40L);
+            assertThat(item.id).isNull();
+            assertThat(item.extId).isEqualTo(IdUtils.toExternalId(41L));
+        }
+
+        @Test
+        @DisplayName("should skip maps at the top level and inside VOs")
+        void maps_areSkipped() throws Throwable {
+            ItemView mapped = new ItemView(51L);
+            Map<String, ItemView> map = new LinkedHashMap<>();
+            map.put("item", mapped);
+
+            proceed(map, annotation("keepIds"));
+            proceed(new MapHolder(map), annotation("keepIds"));
+
+            assertThat(mapped.extId).isNull();
+        }
+
+        @Test
+        @DisplayName("should leave the result unchanged when the annotation is disabled")
+        void disabledAnnotation_isNoOp() throws Throwable {
+            ItemView item = new ItemView(61L);
+
+            proceed(item, annotation("disabled"));
+
+            assertThat(item.extId).isNull();
+            assertThat(item.id).isEqualTo(61L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Access Plans")
+    class AccessPlans {
+
+        @Test
+        @DisplayName("should build one plan per class and share the empty plan for ID-free records")
+        void plans_areCachedPerClass() {
+            assertThat(SecureIdAccessPlan.of(ItemView.class)).isSameAs(SecureIdAccessPlan.of(ItemView.class));
+            assertThat(SecureIdAccessPlan.of(FileVO.class)).isSameAs(SecureIdAccessPlan.OPAQUE);
+            assertThat(SecureIdAccessPlan.of(FileVO.class).skippable("id")).isTrue();
+            assertThat(SecureIdAccessPlan.of(String.class)).isSameAs(SecureIdAccessPlan.OPAQUE);
+            assertThat(SecureIdAccessPlan.of(ResultEnum.class)).isSameAs(SecureIdAccessPlan.OPAQUE);
+            assertThat(SecureIdAccessPlan.of(LinkedHashMap.class)).isSameAs(SecureIdAccessPlan.OPAQUE);
+        }
+
+        @Test
+        @DisplayName("should pass a 1,000-row FileVO page through without touching its external IDs")
+        void fileVoPage_isLeftUnchanged() throws Throwable {
+            List<FileVO> rows = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                rows.add(fileVo(i));
+            }
+            Result<List<FileVO>> page = Result.success(rows);
+
+            Object result = proceed(page, annotation("keepIds"));
+
+            assertThat(result).isSameAs(page);
+            assertThat(page.getData()).containsExactlyElementsOf(rows);
+            assertThat(page.getData()).extracting(FileVO::id).startsWith("F0", "F1").endsWith("F999");
+        }
+    }
+
+    @Nested
+    @DisplayName("Page Cost Report")
+    @EnabledIfSystemProperty(named = "backend.benchmark", matches = "true")
+    class PageCostReport {
+
+        private static final int ROWS = 1_000;
+        private static final int ITERATIONS = 2_000;
+
+        /**
+         * 输出 1,000 行 FileVO 分页与可变 ID VO 分页在缓存访问计划和逐行反射下的单页耗时，只报告不断言；
+         * 用 {@code -Dbackend.benchmark=true} 运行。
+         */
+        @Test
+        @DisplayName("should report per-page cost of cached plans against per-row reflection")
+        void reportPageCost() throws Throwable {
+            List<FileVO> fileRows = new ArrayList<>();
+            List<DocumentView> documentRows = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                fileRows.add(fileVo(i));
+                documentRows.add(new DocumentView(1_000_000L + i, "doc-" + i));
+            }
+            Result<List<FileVO>> filePage = Result.success(fileRows);
+            Result<List<DocumentView>> documentPage = Result.success(documentRows);
+            SecureId secureId = annotation("keepIds");
+
+            for (boolean measured : new boolean[]{false, true}) {
+                when(joinPoint.proceed()).thenReturn(filePage);
+                report(measured, "FileVO", "cached-plan", time(() -> aspect.aroundSecureId(joinPoint, secureId)));
+                report(measured, "FileVO", "legacy-reflection", time(() -> LegacyReflection.process(fileRows)));
+                when(joinPoint.proceed()).thenReturn(documentPage);
+                report(measured, "mutable-VO", "cached-plan", time(() -> aspect.aroundSecureId(joinPoint, secureId)));
+                report(measured, "mutable-VO", "legacy-reflection", time(() -> LegacyReflection.process(documentRows)));
+            }
+        }
+
+        private long time(ThrowingRunnable task) throws Throwable {
+            long started = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                task.run();
+            }
+            return System.nanoTime() - started;
+        }
+
+        private void report(boolean measured, String rows, String path, long nanos) {
+            if (measured) {
+                System.out.printf("SecureIdAspect %,d-row %-10s page %-17s %8.1f us/page%n",
+                        ROWS, rows, path, nanos / 1_000.0 / ITERATIONS);
+            }
+        }
+    }
+
+    private Object proceed(Object value, SecureId secureId) throws Throwable {
+        when(joinPoint.proceed()).thenReturn(value);
+        return aspect.aroundSecureId(joinPoint, secureId);
+    }
+
+    private static SecureId annotation(String methodName) throws NoSuchMethodException {
+        return AnnotatedEndpoints.class.getDeclaredMethod(methodName).getAnnotation(SecureId.class);
+    }
+
+    private static FileVO fileVo(int index) {
+        return new FileVO("F" + index, "file-" + index + ".pdf", "document", null, "sha256:" + index,
+                "0x" + index, 1, 1024L + index, "application/pdf", 1, 1, "G" + index, null,
+                "owner", null, null, new Date(0));
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Throwable;
+    }
+
+    /**
+     * 原始实现的逐行反射路径：每个元素都 getDeclaredField 并 setAccessible，再按类名选择ID类型写回 externalId。
+     */
+    private static final class LegacyReflection {
+
+        private static void process(List<?> rows) throws Exception {
+            for (Object row : rows) {
+                Class<?> type = row.getClass();
+                try {
+                    Field field = type.getDeclaredField("id");
+                    field.setAccessible(true);
+                    if (field.get(row) instanceof Long id) {
+                        String name = type.getSimpleName().toLowerCase();
+                        String externalId = name.contains("user") || name.contains("account")
+                                ? IdUtils.toExternalUserId(id) : IdUtils.toExternalId(id);
+                        Field externalIdField = type.getDeclaredField("externalId");
+                        externalIdField.setAccessible(true);
+                        externalIdField.set(row, externalId);
+                    }
+                } catch (NoSuchFieldException ignored) {
+                    // 与原实现一致：缺少ID字段时跳过
+                }
+            }
+        }
+    }
+
+    private static final class AnnotatedEndpoints {
+
+        @SecureId
+        void keepIds() {
+        }
+
+        @SecureId(hideOriginalId = true)
+        void hideIds() {
+        }
+
+        @SecureId(false)
+        void disabled() {
+        }
+    }
+
+    private static final class ItemView {
+        private Long id;
+        private String extId;
+
+        private ItemView(Long id) {
+            this.id = id;
+        }
+    }
+
+    private static final class DocumentView {
+        private Long id;
+        private String externalId;
+        private final String name;
+
+        private DocumentView(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private static final class UserAccountView {
+        private final Long id;
+        private String externalId;
+
+        private UserAccountView(Long id) {
+            this.id = id;
+        }
+    }
+
+    private static final class OrderView {
+        private Long id;
+        private String externalId;
+        private UserAccountView owner;
+        private List<ItemView> items;
+
+        private OrderView(Long id, UserAccountView owner, List<ItemView> items) {
+            this.id = id;
+            this.owner = owner;
+            this.items = items;
+        }
+    }
+
+    private static final class TreeNode {
+        private Long id;
+        private String externalId;
+        private TreeNode next;
+        private final List<TreeNode> children = new ArrayList<>();
+
+        private TreeNode(Long id) {
+            this.id = id;
+        }
+    }
+
+    private static final class Envelope<T> {
+        private final T payload;
+        private final Object extra;
+        private final Object[] attachments;
+
+        private Envelope(T payload, Object extra, Object[] attachments) {
+            this.payload = payload;
+            this.extra = extra;
+            this.attachments = attachments;
+        }
+    }
+
+    private record Holder(Long id, ItemView item) {
+    }
+
+    private record MapHolder(Map<String, ItemView> items) {
+    }
+}
@@ -345,6 +345,8 @@ class OpenApiContractExportTest {
         assertThat(rootNode.path("paths").has("/api/v1/admin/manifest-backfill-runs")).isTrue();
         assertThat(rootNode.path("paths").has(
                 "/api/v1/admin/manifest-backfill-runs/{runId}/items")).isTrue();
+        assertThat(rootNode.path("paths").has(
+                "/api/v1/admin/manifest-backfill-runs/{runId}/concurrency")).isTrue();
         assertThat(rootNode.path("paths").has(
                 "/api/v1/admin/manifest-backfill-runs/reference-census")).isTrue();
         assertThat(rootNode.path("paths").has(
@@ -365,6 +367,8 @@ class OpenApiContractExportTest {
                 "/api/v1/files/{id}/proof-bundle.zip")).isTrue();
         assertThat(rootNode.path("paths").has(
                 "/api/v1/files/attestation-leaves/{leafId}/proof-bundle.zip")).isTrue();
+        assertThat(rootNode.path("paths").path("/api/v1/files/proof-bundles.zip").path("get")
+                .path("responses").path("200").path("content").has("application/zip")).isTrue();
         assertThat(rootNode.path("paths").has(
                 "/api/v1/public/proofs/{proofId}/status")).isTrue();
         assertThat(rootNode.path("paths").has(
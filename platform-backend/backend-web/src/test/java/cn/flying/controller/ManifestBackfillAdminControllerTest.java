@@ -7,7 +7,9 @@ import cn.flying.dao.entity.ManifestBackfillItem;
 import cn.flying.dao.entity.ManifestBackfillRun;
 import cn.flying.dao.entity.ManifestReferenceCensus;
 import cn.flying.dao.entity.ManifestReferenceSweepMark;
+import cn.flying.dao.vo.manifest.ManifestBackfillConcurrencyRequest;
 import cn.flying.dao.vo.manifest.ManifestBackfillCreateRequest;
+import cn.flying.dao.vo.manifest.ManifestBackfillRunVO;
 import cn.flying.dao.vo.manifest.ManifestReferenceSweepMarkRequest;
 import cn.flying.service.manifest.backfill.ManifestBackfillMode;
 import cn.flying.service.manifest.backfill.ManifestBackfillRunService;
@@ -125,6 +127,31 @@ class ManifestBackfillAdminControllerTest {
         verify(runService).retryItem(TENANT_ID, 101L, 201L);
     }
 
+    /**
+     * Changes apply worker concurrency by external run ID and exposes the per-run error budget counters.
+     */
+    @Test
+    void shouldUpdateApplyWorkerConcurrencyWithExternalId() {
+        ManifestBackfillRun run = run(101L, null, "APPLY", "APPLYING")
+                .setWorkerConcurrency(6)
+                .setAttemptedCount(120L)
+                .setErrorCount(3L)
+                .setThroughputPerMinute(480L);
+        when(runService.updateWorkerConcurrency(TENANT_ID, 101L, 6)).thenReturn(run);
+
+        ManifestBackfillRunVO response = controller.updateConcurrency(
+                TENANT_ID, IdUtils.toExternalId(101L), new ManifestBackfillConcurrencyRequest(6)).getData();
+
+        assertThat(response.workerConcurrency()).isEqualTo(6);
+        assertThat(response.attemptedCount()).isEqualTo(120L);
+        assertThat(response.errorCount()).isEqualTo(3L);
+        assertThat(response.throughputPerMinute()).isEqualTo(480L);
+        assertThatThrownBy(() -> controller.updateConcurrency(
+                TENANT_ID, "not-an-id", new ManifestBackfillConcurrencyRequest(6)))
+                .isInstanceOf(GeneralException.class);
+        verify(runService).updateWorkerConcurrency(TENANT_ID, 101L, 6);
+    }
+
     /**
      * Maps item pages without exposing evidence payloads and emits a cursor only for a full page.
      */
@@ -3,6 +3,8 @@ package cn.flying.controller;
 import cn.flying.common.annotation.OperationLog;
 import cn.flying.common.annotation.RateLimit;
 import cn.flying.common.constant.Result;
+import cn.flying.common.constant.ResultEnum;
+import cn.flying.common.exception.GeneralException;
 import cn.flying.common.util.IdUtils;
 import cn.flying.common.util.SecureIdCodec;
 import cn.flying.config.IdSecurityConfiguration;
@@ -13,6 +15,7 @@ import cn.flying.service.FileQueryService;
 import cn.flying.service.FileService;
 import cn.flying.service.ShareAuditService;
 import cn.flying.service.proof.ProofBundleService;
+import cn.flying.service.proof.signed.BulkProofArchiveExportRequest;
 import cn.flying.service.proof.signed.ProofArchive;
 import cn.flying.service.proof.signed.SignedProofArchiveService;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -21,6 +24,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
@@ -31,11 +35,14 @@ import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBo
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.time.OffsetDateTime;
 import java.util.Date;
 import java.util.List;
 import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -178,6 +185,45 @@ class SignedProofControllerTest {
         assertThat(byLeaf.period()).isEqualTo(byFile.period());
     }
 
+    /**
+     * 验证批量导出把时间窗口、游标和数量原样交给服务预检，预检失败时不返回流式响应。
+     */
+    @Test
+    void shouldPrecheckBulkExportBeforeStreaming() {
+        OffsetDateTime from = OffsetDateTime.parse("2026-01-01T00:00:00+08:00");
+        OffsetDateTime to = OffsetDateTime.parse("2026-02-01T00:00:00+08:00");
+        ArgumentCaptor<BulkProofArchiveExportRequest> request =
+                ArgumentCaptor.forClass(BulkProofArchiveExportRequest.class);
+        when(signedProofArchiveService.prepareBulkExport(eq(USER_ID), request.capture()))
+                .thenThrow(new GeneralException(ResultEnum.PARAM_IS_INVALID, "导出游标无效"));
+
+        assertThatThrownBy(() -> fileController.exportSignedProofArchives(USER_ID, from, to, "bad", 50))
+                .isInstanceOf(GeneralException.class);
+
+        assertThat(request.getValue().createdFrom()).isEqualTo(Date.from(from.toInstant()));
+        assertThat(request.getValue().createdTo()).isEqualTo(Date.from(to.toInstant()));
+        assertThat(request.getValue().cursor()).isEqualTo("bad");
+        assertThat(request.getValue().limit()).isEqualTo(50);
+    }
+
+    /**
+     * 验证批量导出使用独立且更严格的用户限流桶，不占用单个证明导出的配额。
+     */
+    @Test
+    void shouldRateLimitBulkSignedProofExportSeparately() throws Exception {
+        RateLimit bulk = FileController.class
+                .getMethod("exportSignedProofArchives", Long.class, OffsetDateTime.class,
+                        OffsetDateTime.class, String.class, Integer.class)
+                .getAnnotation(RateLimit.class);
+
+        assertThat(bulk).isNotNull();
+        assertThat(bulk.key()).isEqualTo("proof:archive:bulk");
+        assertThat(bulk.type()).isEqualTo(RateLimit.LimitType.USER);
+        assertThat(bulk.limit()).isEqualTo(2);
+        assertThat(bulk.adminLimit()).isEqualTo(6);
+        assertThat(bulk.period()).isEqualTo(60);
+    }
+
     /**
      * 验证撤销证明使用独立用户限流桶，避免枚举或重复写请求绕过导出限流。
      */
@@ -52,6 +52,14 @@ class FlywayMigrationVersionTest {
         assertTrue(migrationFiles.contains("V1.18.0__key_wrapping_provider_metadata.sql"));
         assertTrue(migrationFiles.contains("V1.19.0__automated_key_rotation.sql"));
         assertTrue(migrationFiles.contains("V1.20.0__runtime_crypto_agility.sql"));
+        assertTrue(migrationFiles.contains("V1.21.0__audit_rollups.sql"));
+        assertTrue(migrationFiles.contains("V1.22.0__keyset_pagination_indexes.sql"));
+        assertTrue(migrationFiles.contains("V1.23.0__conversation_unread_counters.sql"));
+        assertTrue(migrationFiles.contains("V1.24.0__announcement_read_watermark.sql"));
+        assertTrue(migrationFiles.contains("V1.24.1__convert_announcement_reads_to_watermark.sql"));
+        assertTrue(migrationFiles.contains("V1.25.0__account_search_prefix_indexes.sql"));
+        assertTrue(migrationFiles.contains("V1.26.0__attestation_leaf_export_keyset.sql"));
+        assertTrue(migrationFiles.contains("V1.27.0__manifest_backfill_parallel_workers.sql"));
         assertFalse(migrationFiles.contains("V1.0.1__add_account_nickname.sql"));
         assertFalse(migrationFiles.contains("V1.5.0__integrity_alert.sql"));
 
@@ -118,6 +126,66 @@ class FlywayMigrationVersionTest {
         assertFalse(normalizedSql.matches("(?is).*DROP\\s+(TABLE|COLUMN).*"));
     }
 
+    /**
+     * Proves V1.21 only adds rollup tables and the tenant/time index, without scanning the operation log on boot.
+     */
+    @Test
+    void shouldAddAuditRollupsThroughForwardMigration() throws IOException {
+        String sql = Files.readString(resolveMigrationDir().resolve("V1.21.0__audit_rollups.sql"));
+        String normalizedSql = sql.replaceAll("\\s+", " ").trim();
+
+        assertTrue(normalizedSql.contains("CREATE TABLE IF NOT EXISTS `sys_audit_rollup`"));
+        assertTrue(normalizedSql.contains("PRIMARY KEY (`tenant_id`, `granularity`, `bucket_start`)"));
+        assertTrue(normalizedSql.contains("CREATE TABLE IF NOT EXISTS `sys_audit_user_sketch`"));
+        assertTrue(normalizedSql.contains("CREATE TABLE IF NOT EXISTS `sys_audit_user_minute`"));
+        assertTrue(normalizedSql.contains("CREATE TABLE IF NOT EXISTS `sys_audit_error_rollup`"));
+        assertTrue(normalizedSql.contains("CREATE TABLE IF NOT EXISTS `sys_audit_rollup_backfill`"));
+        assertFalse(normalizedSql.contains("FROM `sys_operation_log`"));
+        assertTrue(normalizedSql.contains("ADD INDEX `idx_operation_log_tenant_time` (`tenant_id`, `operation_time`)"));
+        assertFalse(normalizedSql.matches("(?is).*DROP\\s+(TABLE|COLUMN).*"));
+    }
+
+    /**
+     * Proves V1.22 only adds the composite indexes that back (time, id) keyset pagination.
+     */
+    @Test
+    void shouldAddKeysetPaginationIndexesThroughForwardMigration() throws IOException {
+        String sql = Files.readString(resolveMigrationDir().resolve("V1.22.0__keyset_pagination_indexes.sql"));
+        String normalizedSql = sql.replaceAll("\\s+", " ").trim();
+
+        assertTrue(normalizedSql.contains("ADD INDEX `idx_file_share_tenant_time` (`tenant_id`, `create_time`, `id`)"));
+        assertTrue(normalizedSql.contains(
+                "ADD INDEX `idx_share_access_log_code_time` (`tenant_id`, `share_code`, `access_time`, `id`)"));
+        assertFalse(normalizedSql.matches("(?is).*DROP\\s+(TABLE|COLUMN|INDEX).*"));
+    }
+
+    /**
+     * Proves V1.24 adds the publish sequence, watermark and per-tenant sequence tables, seeds each tenant's sequence
+     * row above every backfilled sequence, and only prunes rows under a watermark.
+     */
+    @Test
+    void shouldConvertAnnouncementReadsToWatermarkThroughForwardMigration() throws IOException {
+        String schema = Files.readString(resolveMigrationDir().resolve("V1.24.0__announcement_read_watermark.sql"))
+                .replaceAll("\\s+", " ").trim();
+        String conversion = Files.readString(
+                resolveMigrationDir().resolve("V1.24.1__convert_announcement_reads_to_watermark.sql"))
+                .replaceAll("\\s+", " ").trim();
+
+        assertTrue(schema.contains("ADD COLUMN `publish_seq` BIGINT NULL"));
+        assertTrue(schema.contains("CREATE TABLE IF NOT EXISTS `announcement_read_watermark`"));
+        assertTrue(schema.contains("CREATE TABLE IF NOT EXISTS `announcement_publish_sequence`"));
+        assertTrue(schema.contains("PRIMARY KEY (`tenant_id`)"));
+        assertTrue(conversion.contains(
+                "SELECT `tenant_id`, MAX(`publish_seq`) FROM `announcement` WHERE `publish_seq` IS NOT NULL"));
+        assertTrue(conversion.contains("GREATEST(`last_seq`, VALUES(`last_seq`))"));
+        assertTrue(conversion.indexOf("SET a.`publish_seq` = s.`seq`")
+                < conversion.indexOf("INSERT INTO `announcement_publish_sequence`"));
+        assertTrue(conversion.contains("GREATEST(`last_read_seq`, VALUES(`last_read_seq`))"));
+        assertTrue(conversion.contains("AND a.`publish_seq` <= w.`last_read_seq`"));
+        assertFalse(schema.matches("(?is).*DROP\\s+(TABLE|COLUMN|INDEX).*"));
+        assertFalse(conversion.matches("(?is).*DROP\\s+(TABLE|COLUMN|INDEX).*"));
+    }
+
     /**
      * 验证初始化迁移保持历史列名，由后续前向迁移负责改名。
      */
@@ -0,0 +1,312 @@
+package cn.flying.test.announcement;
+
+import cn.flying.common.constant.AnnouncementStatus;
+import cn.flying.common.tenant.TenantContext;
+import cn.flying.common.util.IdUtils;
+import cn.flying.dao.entity.Announcement;
+import cn.flying.dao.vo.announcement.AnnouncementCreateVO;
+import cn.flying.dao.vo.announcement.AnnouncementVO;
+import cn.flying.service.AnnouncementService;
+import cn.flying.test.BaseIntegrationTest;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 在生成数据上对比逐条已读模型与水位模型：迁移转换后及后续随机操作后，每个用户的未读数与已读标记必须一致。
+ */
+@Execution(ExecutionMode.SAME_THREAD)
+class AnnouncementReadWatermarkEquivalenceIT extends BaseIntegrationTest {
+
+    private static final Long TENANT_ID = 97_145_001L;
+    private static final Long PUBLISHER_ID = 97_145_000L;
+    private static final long FIRST_USER_ID = 97_145_100L;
+    private static final String CONVERSION_SCRIPT = "db/migration/V1.24.1__convert_announcement_reads_to_watermark.sql";
+    private static final int ANNOUNCEMENTS = 120;
+    private static final int USERS = 60;
+    private static final int USER_BATCH = 20;
+
+    @Autowired
+    private AnnouncementService announcementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final Random random = new Random(20261018L);
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<GeneratedAnnouncement> announcements = new ArrayList<>();
+
+    @BeforeEach
+    void setUpAnnouncementFixtures() {
+        TenantContext.setTenantId(TENANT_ID);
+        cleanUpAnnouncementFixtures();
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(FIRST_USER_ID + i);
+        }
+    }
+
+    @AfterEach
+    void tearDownAnnouncementFixtures() {
+        try {
+            cleanUpAnnouncementFixtures();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * 以旧模型生成逐条已读数据，执行 V1.24.1 转换脚本后，分批比较两种模型的未读数与列表已读标记，
+     * 并确认被水位覆盖的记录已清理、发布序号行从回填的最大序号继续。
+     */
+    @Test
+    void conversionPreservesUnreadCountsAndReadFlags() {
+        generateLegacyAnnouncements();
+        Map<Long, Set<Long>> legacyReads = generateLegacyReads();
+        Map<Long, Integer> legacyCounts = legacyUnreadCounts();
+        int legacyRows = countReadRows();
+
+        new ResourceDatabasePopulator(new ClassPathResource(CONVERSION_SCRIPT)).execute(dataSource);
+
+        for (int from = 0; from < userIds.size(); from += USER_BATCH) {
+            for (Long userId : userIds.subList(from, Math.min(from + USER_BATCH, userIds.size()))) {
+                assertThat(unreadCount(userId)).as("user %d unread count", userId).isEqualTo(legacyCounts.get(userId));
+                assertThat(readFlags(userId)).as("user %d read flags", userId)
+                        .isEqualTo(expectedFlags(legacyReads.get(userId)));
+            }
+        }
+        assertThat(countReadRows()).isLessThan(legacyRows);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM announcement WHERE tenant_id = ? AND status IN (1, 2) AND publish_seq IS NULL",
+                Integer.class, TENANT_ID)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT last_seq FROM announcement_publish_sequence WHERE tenant_id = ?", Long.class, TENANT_ID))
+                .isEqualTo(jdbcTemplate.queryForObject(
+                        "SELECT MAX(publish_seq) FROM announcement WHERE tenant_id = ?", Long.class, TENANT_ID));
+
+        new ResourceDatabasePopulator(new ClassPathResource(CONVERSION_SCRIPT)).execute(dataSource);
+        for (Long userId : userIds) {
+            assertThat(unreadCount(userId)).as("re-run user %d", userId).isEqualTo(legacyCounts.get(userId));
+        }
+    }
+
+    /**
+     * 转换后对两种模型同步施加随机的单条已读、全部已读、新发布和草稿发布操作，每轮后分批比较未读数。
+     */
+    @Test
+    void randomOperationsKeepModelsEquivalent() {
+        generateLegacyAnnouncements();
+        Map<Long, Set<Long>> shadowReads = generateLegacyReads();
+        // 转换脚本同时以回填的最大序号初始化序号行，新发布从其后继续分配
+        new ResourceDatabasePopulator(new ClassPathResource(CONVERSION_SCRIPT)).execute(dataSource);
+
+        for (int round = 0; round < 6; round++) {
+            for (Long userId : userIds) {
+                int operation = random.nextInt(10);
+                if (operation < 5) {
+                    GeneratedAnnouncement target = announcements.get(random.nextInt(announcements.size()));
+                    TenantContext.runWithTenant(TENANT_ID, () -> announcementService.markAsRead(userId, target.id()));
+                    shadowReads.get(userId).add(target.id());
+                } else if (operation < 7) {
+                    TenantContext.runWithTenant(TENANT_ID, () -> announcementService.markAllAsRead(userId, null));
+                    for (GeneratedAnnouncement announcement : announcements) {
+                        if (announcement.status() == AnnouncementStatus.PUBLISHED.getCode() && !announcement.deleted()) {
+                            shadowReads.get(userId).add(announcement.id());
+                        }
+                    }
+                }
+            }
+            publishNewAnnouncement();
+            publishOneDraft();
+
+            for (int from = 0; from < userIds.size(); from += USER_BATCH) {
+                for (Long userId : userIds.subList(from, Math.min(from + USER_BATCH, userIds.size()))) {
+                    assertThat(unreadCount(userId)).as("round %d user %d", round, userId)
+                            .isEqualTo(shadowUnreadCount(shadowReads.get(userId)));
+                }
+            }
+        }
+    }
+
+    private void generateLegacyAnnouncements() {
+        Instant base = Instant.now().minus(400, ChronoUnit.DAYS);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ANNOUNCEMENTS; i++) {
+            int roll = random.nextInt(10);
+            int status = roll < 7 ? 1 : roll < 8 ? 2 : roll < 9 ? 0 : 1;
+            boolean deleted = roll == 9;
+            long id = IdUtils.nextEntityId();
+            // 发布时间与ID顺序故意不一致，验证序号按 (publish_time, id) 回填
+            Timestamp publishTime = status == 0 ? null
+                    : Timestamp.from(base.plus(random.nextInt(390), ChronoUnit.DAYS));
+            rows.add(new Object[]{id, TENANT_ID, "A" + i, "content", publishTime, status, PUBLISHER_ID, deleted ? 1 : 0});
+            announcements.add(new GeneratedAnnouncement(id, status, deleted));
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO announcement (id, tenant_id, title, content, priority, is_pinned, publish_time,
+                                          status, publisher_id, deleted)
+                VALUES (?, ?, ?, ?, 0, 0, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    /**
+     * 按旧 markAllAsRead 行为生成已读前缀，再叠加稀疏的单条已读；部分用户完全未读或全部已读。
+     */
+    private Map<Long, Set<Long>> generateLegacyReads() {
+        List<Long> published = jdbcTemplate.queryForList("""
+                SELECT id FROM announcement
+                WHERE tenant_id = ? AND status IN (1, 2)
+                ORDER BY publish_time, id
+                """, Long.class, TENANT_ID);
+        List<Long> drafts = jdbcTemplate.queryForList(
+                "SELECT id FROM announcement WHERE tenant_id = ? AND status = 0", Long.class, TENANT_ID);
+
+        Map<Long, Set<Long>> reads = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Long userId : userIds) {
+            Set<Long> read = new HashSet<>();
+            int pattern = random.nextInt(4);
+            int prefix = switch (pattern) {
+                case 0 -> 0;
+                case 1 -> published.size();
+                default -> random.nextInt(published.size());
+            };
+            read.addAll(published.subList(0, prefix));
+            if (pattern != 0) {
+                for (int i = 0; i < 5; i++) {
+                    read.add(published.get(random.nextInt(published.size())));
+                }
+                if (!drafts.isEmpty() && random.nextBoolean()) {
+                    read.add(drafts.get(random.nextInt(drafts.size())));
+                }
+            }
+            for (Long announcementId : read) {
+                rows.add(new Object[]{IdUtils.nextEntityId(), TENANT_ID, announcementId, userId});
+            }
+            reads.put(userId, read);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO announcement_read (id, tenant_id, announcement_id, user_id) VALUES (?, ?, ?, ?)", rows);
+        return reads;
+    }
+
+    /**
+     * 旧模型未读数：逐条已读表上的 NOT EXISTS 统计。
+     */
+    private Map<Long, Integer> legacyUnreadCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Long userId : userIds) {
+            counts.put(userId, jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM announcement a
+                    WHERE a.tenant_id = ? AND a.status = 1 AND a.deleted = 0
+                      AND NOT EXISTS (
+                        SELECT 1 FROM announcement_read ar
+                        WHERE ar.announcement_id = a.id AND ar.user_id = ?
+                      )
+                    """, Integer.class, TENANT_ID, userId));
+        }
+        return counts;
+    }
+
+    private void publishNewAnnouncement() {
+        AnnouncementCreateVO vo = new AnnouncementCreateVO();
+        vo.setTitle("new");
+        vo.setContent("content");
+        vo.setStatus(1);
+        Announcement created = TenantContext.callWithTenant(TENANT_ID,
+                () -> announcementService.publish(PUBLISHER_ID, vo));
+        announcements.add(new GeneratedAnnouncement(created.getId(), AnnouncementStatus.PUBLISHED.getCode(), false));
+    }
+
+    /**
+     * 发布一条早于现有水位创建的草稿，确认其在水位模型中仍为未读。
+     */
+    private void publishOneDraft() {
+        for (int i = 0; i < announcements.size(); i++) {
+            GeneratedAnnouncement draft = announcements.get(i);
+            if (draft.status() == AnnouncementStatus.DRAFT.getCode() && !draft.deleted()) {
+                AnnouncementCreateVO vo = new AnnouncementCreateVO();
+                vo.setTitle("draft published");
+                vo.setContent("content");
+                vo.setStatus(1);
+                TenantContext.runWithTenant(TENANT_ID, () -> announcementService.update(draft.id(), vo));
+                announcements.set(i, new GeneratedAnnouncement(draft.id(), AnnouncementStatus.PUBLISHED.getCode(), false));
+                return;
+            }
+        }
+    }
+
+    private int shadowUnreadCount(Set<Long> reads) {
+        int unread = 0;
+        for (GeneratedAnnouncement announcement : announcements) {
+            if (announcement.status() == AnnouncementStatus.PUBLISHED.getCode()
+                    && !announcement.deleted()
+                    && !reads.contains(announcement.id())) {
+                unread++;
+            }
+        }
+        return unread;
+    }
+
+    private int unreadCount(Long userId) {
+        return TenantContext.callWithTenant(TENANT_ID, () -> announcementService.getUnreadCount(userId));
+    }
+
+    private Map<String, Boolean> readFlags(Long userId) {
+        List<AnnouncementVO> records = TenantContext.callWithTenant(TENANT_ID,
+                () -> announcementService.getPublishedList(userId, new Page<>(1, ANNOUNCEMENTS * 2)).getRecords());
+        Map<String, Boolean> flags = new HashMap<>();
+        for (AnnouncementVO record : records) {
+            flags.put(record.getId(), record.getRead());
+        }
+        return flags;
+    }
+
+    private Map<String, Boolean> expectedFlags(Set<Long> legacyReads) {
+        Map<String, Boolean> flags = new HashMap<>();
+        for (GeneratedAnnouncement announcement : announcements) {
+            if (announcement.status() == AnnouncementStatus.PUBLISHED.getCode() && !announcement.deleted()) {
+                flags.put(IdUtils.toExternalId(announcement.id()), legacyReads.contains(announcement.id()));
+            }
+        }
+        return flags;
+    }
+
+    private int countReadRows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM announcement_read WHERE tenant_id = ?", Integer.class, TENANT_ID);
+    }
+
+    private void cleanUpAnnouncementFixtures() {
+        jdbcTemplate.update("DELETE FROM announcement_read WHERE tenant_id = ?", TENANT_ID);
+        jdbcTemplate.update("DELETE FROM announcement_read_watermark WHERE tenant_id = ?", TENANT_ID);
+        jdbcTemplate.update("DELETE FROM announcement_publish_sequence WHERE tenant_id = ?", TENANT_ID);
+        jdbcTemplate.update("DELETE FROM announcement WHERE tenant_id = ?", TENANT_ID);
+    }
+
+    private record GeneratedAnnouncement(long id, int status, boolean deleted) {
+    }
+}
@@ -0,0 +1,195 @@
+package cn.flying.test.friend;
+
+import cn.flying.common.tenant.TenantContext;
+import cn.flying.common.util.IdUtils;
+import cn.flying.dao.vo.friend.UserSearchVO;
+import cn.flying.service.FriendService;
+import cn.flying.test.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 使用真实 MySQL 验证用户搜索的前缀匹配与批量关系解析：结果与逐对查询得到的好友、待处理请求状态一致。
+ */
+@Execution(ExecutionMode.SAME_THREAD)
+class FriendSearchIT extends BaseIntegrationTest {
+
+    private static final Long TENANT_ID = 97_146_001L;
+    private static final Long OTHER_TENANT_ID = 97_146_002L;
+    private static final long SEARCHER_ID = 97_146_100L;
+    private static final long FIRST_CANDIDATE_ID = 97_146_200L;
+    private static final int CANDIDATES = 24;
+
+    @Autowired
+    private FriendService friendService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUpSearchFixtures() {
+        TenantContext.setTenantId(TENANT_ID);
+        cleanUpSearchFixtures();
+        insertAccount(TENANT_ID, SEARCHER_ID, "fs_searcher", "Searcher", "fs_searcher@test.com");
+        for (int i = 0; i < CANDIDATES; i++) {
+            long id = FIRST_CANDIDATE_ID + i;
+            // 一半用户名命中前缀，另一半仅昵称命中前缀
+            String username = i % 2 == 0 ? "fsmatch_" + i : "fsother_" + i;
+            String nickname = i % 2 == 0 ? "Nick " + i : "fsmatch nick " + i;
+            insertAccount(TENANT_ID, id, username, nickname, "fs_user" + i + "@test.com");
+            switch (i % 4) {
+                case 0 -> insertFriendship(SEARCHER_ID, id);
+                case 1 -> insertRequest(SEARCHER_ID, id, 0);
+                case 2 -> insertRequest(id, SEARCHER_ID, i % 8 == 2 ? 0 : 2);
+                default -> {
+                    // 陌生人
+                }
+            }
+        }
+        // 中间包含关键字的用户只在前缀命中不足一页时补入
+        insertAccount(TENANT_ID, FIRST_CANDIDATE_ID + 100, "x_fsmatch", "x fsmatch wild", "x_fsmatch@test.com");
+        // 通配符字符按字面量匹配
+        insertAccount(TENANT_ID, FIRST_CANDIDATE_ID + 101, "fsmatchXwild", "wild", "wild@test.com");
+        // 其他租户的同前缀用户不可见
+        insertAccount(OTHER_TENANT_ID, FIRST_CANDIDATE_ID + 102, "fsmatch_other_tenant", "other", "fs_other@test.com");
+    }
+
+    @AfterEach
+    void tearDownSearchFixtures() {
+        try {
+            cleanUpSearchFixtures();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * 用户名或昵称前缀命中的用户按上限 20 返回，关系标记与逐对查询一致；前缀已满一页时不补入中间命中，其他租户的用户不返回。
+     */
+    @Test
+    void searchUsers_matchesPerPairRelationshipState() {
+        List<UserSearchVO> result = TenantContext.callWithTenant(TENANT_ID,
+                () -> friendService.searchUsers(SEARCHER_ID, "fsmatch"));
+
+        assertThat(result).hasSize(20);
+        for (UserSearchVO vo : result) {
+            Long accountId = IdUtils.fromExternalId(vo.getId());
+            assertThat(accountId).isNotIn(FIRST_CANDIDATE_ID + 100, FIRST_CANDIDATE_ID + 102);
+            boolean friend = TenantContext.callWithTenant(TENANT_ID,
+                    () -> friendService.areFriends(SEARCHER_ID, accountId));
+            assertThat(vo.getIsFriend()).as("isFriend of %d", accountId).isEqualTo(friend);
+            assertThat(vo.getHasPendingRequest()).as("hasPendingRequest of %d", accountId)
+                    .isEqualTo(!friend && countPendingBetween(SEARCHER_ID, accountId) > 0);
+        }
+    }
+
+    /**
+     * 结果覆盖好友、双向待处理请求和已拒绝请求的全部组合。
+     */
+    @Test
+    void searchUsers_flagsEachRelationshipKind() {
+        Map<Long, UserSearchVO> byId = TenantContext.callWithTenant(TENANT_ID,
+                () -> friendService.searchUsers(SEARCHER_ID, "fsmatch_")).stream()
+                .collect(Collectors.toMap(vo -> IdUtils.fromExternalId(vo.getId()), Function.identity()));
+
+        // 仅用户名以 fsmatch_ 开头的偶数序号用户命中，"_" 不作为通配符
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < CANDIDATES; i += 2) {
+            expectedIds.add(FIRST_CANDIDATE_ID + i);
+        }
+        assertThat(byId.keySet()).containsExactlyInAnyOrderElementsOf(expectedIds);
+        for (int i = 0; i < CANDIDATES; i += 2) {
+            UserSearchVO vo = byId.get(FIRST_CANDIDATE_ID + i);
+            assertThat(vo.getIsFriend()).isEqualTo(i % 4 == 0);
+            assertThat(vo.getHasPendingRequest()).isEqualTo(i % 8 == 2);
+        }
+    }
+
+    /**
+     * 前缀命中不足一页时以子串匹配补齐，前缀命中排在前面；不足三个字符的关键字只做前缀匹配。
+     */
+    @Test
+    void searchUsers_fillsWithSubstringMatchesAfterPrefixMatches() {
+        List<Long> ids = TenantContext.callWithTenant(TENANT_ID,
+                () -> friendService.searchUsers(SEARCHER_ID, "wild")).stream()
+                .map(vo -> IdUtils.fromExternalId(vo.getId()))
+                .toList();
+        // fsmatchXwild 昵称前缀命中，x_fsmatch 仅昵称子串命中
+        assertThat(ids).containsExactly(FIRST_CANDIDATE_ID + 101, FIRST_CANDIDATE_ID + 100);
+
+        List<Long> substringIds = TenantContext.callWithTenant(TENANT_ID,
+                () -> friendService.searchUsers(SEARCHER_ID, "_fsmatch")).stream()
+                .map(vo -> IdUtils.fromExternalId(vo.getId()))
+                .toList();
+        assertThat(substringIds).containsExactly(FIRST_CANDIDATE_ID + 100);
+
+        // 单字符关键字不补子串，fsmatchXwild 不返回
+        List<Long> shortIds = TenantContext.callWithTenant(TENANT_ID,
+                () -> friendService.searchUsers(SEARCHER_ID, "x")).stream()
+                .map(vo -> IdUtils.fromExternalId(vo.getId()))
+                .toList();
+        assertThat(shortIds).containsExactly(FIRST_CANDIDATE_ID + 100);
+    }
+
+    /**
+     * 邮箱不参与搜索，完整或部分邮箱地址都查不到用户；也不返回自己。
+     */
+    @Test
+    void searchUsers_ignoresEmailAndExcludesSelf() {
+        assertThat(TenantContext.callWithTenant(TENANT_ID,
+                () -> friendService.searchUsers(SEARCHER_ID, "fs_user1@"))).isEmpty();
+        assertThat(TenantContext.callWithTenant(TENANT_ID,
+                () -> friendService.searchUsers(SEARCHER_ID, "fs_user1@test.com"))).isEmpty();
+        assertThat(TenantContext.callWithTenant(TENANT_ID,
+                () -> friendService.searchUsers(SEARCHER_ID, "fs_searcher"))).isEmpty();
+    }
+
+    private int countPendingBetween(long userA, long userB) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM friend_request
+                WHERE ((requester_id = ? AND addressee_id = ?) OR (requester_id = ? AND addressee_id = ?))
+                  AND status = 0 AND deleted = 0 AND tenant_id = ?
+                """, Integer.class, userA, userB, userB, userA, TENANT_ID);
+    }
+
+    private void insertAccount(Long tenantId, long id, String username, String nickname, String email) {
+        jdbcTemplate.update("""
+                INSERT INTO account (id, tenant_id, username, password, email, role, nickname, deleted)
+                VALUES (?, ?, ?, 'hashed_password', ?, 'user', ?, 0)
+                """, id, tenantId, username, email, nickname);
+    }
+
+    private void insertFriendship(long userA, long userB) {
+        jdbcTemplate.update("""
+                INSERT INTO friendship (id, tenant_id, user_a, user_b, request_id, deleted)
+                VALUES (?, ?, ?, ?, ?, 0)
+                """, IdUtils.nextEntityId(), TENANT_ID, Math.min(userA, userB), Math.max(userA, userB),
+                IdUtils.nextEntityId());
+    }
+
+    private void insertRequest(long requesterId, long addresseeId, int status) {
+        jdbcTemplate.update("""
+                INSERT INTO friend_request (id, tenant_id, requester_id, addressee_id, status, deleted)
+                VALUES (?, ?, ?, ?, ?, 0)
+                """, IdUtils.nextEntityId(), TENANT_ID, requesterId, addresseeId, status);
+    }
+
+    private void cleanUpSearchFixtures() {
+        jdbcTemplate.update("DELETE FROM friend_request WHERE tenant_id = ?", TENANT_ID);
+        jdbcTemplate.update("DELETE FROM friendship WHERE tenant_id = ?", TENANT_ID);
+        jdbcTemplate.update("DELETE FROM account WHERE tenant_id IN (?, ?)", TENANT_ID, OTHER_TENANT_ID);
+    }
+}
@@ -0,0 +1,188 @@
+package cn.flying.test.message;
+
+import cn.flying.common.tenant.TenantContext;
+import cn.flying.common.util.IdUtils;
+import cn.flying.dao.dto.Account;
+import cn.flying.dao.entity.Conversation;
+import cn.flying.dao.mapper.AccountMapper;
+import cn.flying.dao.vo.message.ConversationVO;
+import cn.flying.dao.vo.message.SendMessageVO;
+import cn.flying.service.ConversationService;
+import cn.flying.service.FriendService;
+import cn.flying.service.MessageService;
+import cn.flying.test.BaseIntegrationTest;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * 使用真实 MySQL 统计会话列表一页实际执行的 SQL 条数，确认不随会话行数增长。
+ */
+class ConversationListStatementCountIT extends BaseIntegrationTest {
+
+    private static final Long TENANT_ID = 97_143_001L;
+    private static final Long USER_ID = 97_143_100L;
+    private static final long FIRST_PEER_ID = 97_143_200L;
+    private static final int PEERS = 50;
+    private static final StatementRecorder STATEMENT_RECORDER = new StatementRecorder();
+
+    @Autowired
+    private ConversationService conversationService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private AccountMapper accountMapper;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private FriendService friendService;
+
+    /**
+     * 注册语句计数插件，并以真实发送路径为当前用户建立 50 个各有最后一条消息的会话。
+     */
+    @BeforeEach
+    void setUpConversations() {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        if (!configuration.getInterceptors().contains(STATEMENT_RECORDER)) {
+            configuration.addInterceptor(STATEMENT_RECORDER);
+        }
+        TenantContext.setTenantId(TENANT_ID);
+        cleanUpConversationFixtures();
+        when(friendService.areFriends(anyLong(), anyLong())).thenReturn(true);
+        accountMapper.insert(createAccount(USER_ID, "stmt_owner"));
+        TenantContext.runWithTenant(TENANT_ID, () -> {
+            for (int i = 0; i < PEERS; i++) {
+                long peerId = FIRST_PEER_ID + i;
+                accountMapper.insert(createAccount(peerId, "stmt_peer_" + i));
+                messageService.sendMessage(peerId, sendVo(USER_ID, "hello " + i));
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDownConversations() {
+        try {
+            cleanUpConversationFixtures();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * 5 行与 50 行的会话页执行相同条数的 SQL：分页计数、会话页、对方账号 IN 查询、最后一条消息 IN 查询。
+     */
+    @Test
+    void getConversationList_statementCountIndependentOfPageSize() {
+        List<String> smallPage = new ArrayList<>();
+        IPage<ConversationVO> small = record(smallPage, () -> TenantContext.callWithTenant(TENANT_ID,
+                () -> conversationService.getConversationList(USER_ID, new Page<Conversation>(1, 5))));
+        List<String> fullPage = new ArrayList<>();
+        IPage<ConversationVO> full = record(fullPage, () -> TenantContext.callWithTenant(TENANT_ID,
+                () -> conversationService.getConversationList(USER_ID, new Page<Conversation>(1, PEERS))));
+
+        assertThat(small.getRecords()).hasSize(5);
+        assertThat(full.getRecords()).hasSize(PEERS);
+        assertThat(full.getRecords()).allSatisfy(vo -> {
+            assertThat(vo.getOtherUsername()).startsWith("stmt_peer_");
+            assertThat(vo.getLastMessageContent()).startsWith("hello ");
+            assertThat(vo.getUnreadCount()).isEqualTo(1);
+        });
+        assertThat(fullPage).as("50 行会话页实际执行的 SQL: %s", fullPage).hasSize(4);
+        assertThat(fullPage).hasSameSizeAs(smallPage);
+    }
+
+    private static <T> T record(List<String> statements, Supplier<T> action) {
+        STATEMENT_RECORDER.start(statements);
+        try {
+            return action.get();
+        } finally {
+            STATEMENT_RECORDER.stop();
+        }
+    }
+
+    private static SendMessageVO sendVo(Long receiverId, String content) {
+        SendMessageVO vo = new SendMessageVO();
+        vo.setReceiverId(IdUtils.toExternalId(receiverId));
+        vo.setContent(content);
+        vo.setContentType("text");
+        return vo;
+    }
+
+    private static Account createAccount(Long userId, String username) {
+        Account account = new Account();
+        account.setId(userId);
+        account.setUsername(username);
+        account.setPassword("hashed_password_" + UUID.randomUUID());
+        account.setEmail(username + "@test.com");
+        account.setRole("user");
+        account.setAvatar("https://example.com/avatar.png");
+        account.setNickname("Test " + username);
+        account.setTenantId(TENANT_ID);
+        account.setRegisterTime(new Date());
+        account.setUpdateTime(new Date());
+        account.setDeleted(0);
+        return account;
+    }
+
+    private void cleanUpConversationFixtures() {
+        jdbcTemplate.update("DELETE FROM message WHERE tenant_id = ?", TENANT_ID);
+        jdbcTemplate.update("DELETE FROM conversation WHERE tenant_id = ?", TENANT_ID);
+        jdbcTemplate.update("DELETE FROM account WHERE tenant_id = ?", TENANT_ID);
+    }
+
+    /**
+     * 在 StatementHandler 准备 JDBC 语句时记录 SQL；只记录开启记录的线程，其他测试与后台任务不受影响。
+     */
+    @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+    private static final class StatementRecorder implements Interceptor {
+
+        private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+        void start(List<String> target) {
+            statements.set(target);
+        }
+
+        void stop() {
+            statements.remove();
+        }
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            List<String> target = statements.get();
+            if (target != null) {
+                target.add(((StatementHandler) invocation.getTarget()).getBoundSql().getSql());
+            }
+            return invocation.proceed();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package cn.flying.test.message;
+
+import cn.flying.common.tenant.TenantContext;
+import cn.flying.common.util.IdUtils;
+import cn.flying.dao.dto.Account;
+import cn.flying.dao.entity.Conversation;
+import cn.flying.dao.mapper.AccountMapper;
+import cn.flying.dao.vo.message.SendMessageVO;
+import cn.flying.service.ConversationService;
+import cn.flying.service.FriendService;
+import cn.flying.service.MessageService;
+import cn.flying.service.job.MessageUnreadCounterRepairTask;
+import cn.flying.test.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * 使用真实 MySQL 验证会话未读计数在并发发送、标记已读和校准任务下与 message 表保持一致。
+ */
+@Execution(ExecutionMode.SAME_THREAD)
+class ConversationUnreadCounterIT extends BaseIntegrationTest {
+
+    private static final Long TENANT_ID = 97_144_001L;
+    private static final Long USER_A = 97_144_101L;
+    private static final Long USER_B = 97_144_102L;
+    private static final int WORKERS = 4;
+    private static final int MESSAGES_PER_WORKER = 25;
+    private static final int WAIT_SECONDS = 60;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ConversationService conversationService;
+
+    @Autowired
+    private MessageUnreadCounterRepairTask repairTask;
+
+    @Autowired
+    private AccountMapper accountMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private FriendService friendService;
+
+    private ExecutorService executor;
+
+    /**
+     * 清理本租户数据并创建互为好友的两个账号。
+     */
+    @BeforeEach
+    void setUpMessagingFixtures() {
+        TenantContext.setTenantId(TENANT_ID);
+        cleanUpMessagingFixtures();
+        accountMapper.insert(createAccount(USER_A, "unread_a"));
+        accountMapper.insert(createAccount(USER_B, "unread_b"));
+        when(friendService.areFriends(anyLong(), anyLong())).thenReturn(true);
+        executor = Executors.newFixedThreadPool(WORKERS * 2);
+    }
+
+    /**
+     * 停止 worker 后清理数据。
+     */
+    @AfterEach
+    void tearDownMessagingFixtures() throws InterruptedException {
+        boolean terminated = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            terminated = executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        try {
+            cleanUpMessagingFixtures();
+        } finally {
+            TenantContext.clear();
+        }
+        assertThat(terminated).as("并发 worker 必须在清理数据库前全部退出").isTrue();
+    }
+
+    /**
+     * 双向并发发送的同时双方反复标记已读，结束后计数必须与 message 表逐条统计一致，
+     * 且计数不会被已读操作清掉尚未读到的新消息。
+     */
+    @Test
+    void concurrentSendAndMarkAsRead_keepCountersExact() throws Exception {
+        Long conversationId = TenantContext.callWithTenant(TENANT_ID,
+                () -> conversationService.getOrCreateConversation(USER_A, USER_B).getId());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int worker = 0; worker < WORKERS; worker++) {
+            Long sender = worker % 2 == 0 ? USER_A : USER_B;
+            Long receiver = sender.equals(USER_A) ? USER_B : USER_A;
+            futures.add(executor.submit(() -> runInTenant(start, () -> {
+                for (int i = 0; i < MESSAGES_PER_WORKER; i++) {
+                    messageService.sendMessage(sender, sendVo(receiver, "m" + i));
+                }
+            })));
+            futures.add(executor.submit(() -> runInTenant(start, () -> {
+                for (int i = 0; i < MESSAGES_PER_WORKER / 5; i++) {
+                    messageService.markAsRead(receiver, conversationId);
+                }
+            })));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        assertThat(countMessages(conversationId)).isEqualTo(WORKERS * MESSAGES_PER_WORKER);
+        assertCountersMatchMessages(conversationId);
+
+        TenantContext.runWithTenant(TENANT_ID, () -> messageService.markAsRead(USER_B, conversationId));
+        assertThat(counter(conversationId, "participant_b_unread")).isZero();
+        assertThat(countUnread(conversationId, USER_B)).isZero();
+        assertThat(repairTask.repairTenant(TENANT_ID)).as("服务路径维护的计数无需校准").isZero();
+    }
+
+    /**
+     * 计数被外部改坏后，校准任务只改写偏差行，并让读接口恢复正确值。
+     */
+    @Test
+    void repair_restoresDriftedCounters() {
+        Long conversationId = TenantContext.callWithTenant(TENANT_ID, () -> {
+            for (int i = 0; i < 3; i++) {
+                messageService.sendMessage(USER_A, sendVo(USER_B, "drift" + i));
+            }
+            messageService.sendMessage(USER_B, sendVo(USER_A, "reply"));
+            return conversationService.getOrCreateConversation(USER_A, USER_B).getId();
+        });
+        jdbcTemplate.update(
+                "UPDATE conversation SET participant_a_unread = 9, participant_b_unread = 0 WHERE id = ?",
+                conversationId);
+
+        assertThat(repairTask.repairTenant(TENANT_ID)).isEqualTo(1);
+        assertCountersMatchMessages(conversationId);
+        assertThat(TenantContext.callWithTenant(TENANT_ID,
+                () -> messageService.getUnreadCountInConversation(conversationId, USER_B))).isEqualTo(3);
+        assertThat(TenantContext.callWithTenant(TENANT_ID,
+                () -> messageService.getTotalUnreadCount(USER_A))).isEqualTo(1);
+        assertThat(TenantContext.callWithTenant(TENANT_ID,
+                () -> conversationService.getUnreadConversationCount(USER_B))).isEqualTo(1);
+        assertThat(repairTask.repairTenant(TENANT_ID)).isZero();
+    }
+
+    /**
+     * 校准与发送并发时，校准锁定会话行后重算，不会漏计或重复计入正在提交的消息。
+     */
+    @Test
+    void repairConcurrentWithSends_doesNotLoseMessages() throws Exception {
+        Long conversationId = TenantContext.callWithTenant(TENANT_ID,
+                () -> conversationService.getOrCreateConversation(USER_A, USER_B).getId());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int worker = 0; worker < WORKERS; worker++) {
+            futures.add(executor.submit(() -> runInTenant(start, () -> {
+                for (int i = 0; i < MESSAGES_PER_WORKER; i++) {
+                    messageService.sendMessage(USER_A, sendVo(USER_B, "r" + i));
+                }
+            })));
+        }
+        futures.add(executor.submit(() -> runInTenant(start, () -> {
+            for (int i = 0; i < 10; i++) {
+                repairTask.repairTenant(TENANT_ID);
+            }
+        })));
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        assertThat(counter(conversationId, "participant_b_unread")).isEqualTo(WORKERS * MESSAGES_PER_WORKER);
+        assertCountersMatchMessages(conversationId);
+    }
+
+    private void runInTenant(CountDownLatch start, Runnable action) {
+        try {
+            assertThat(start.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        TenantContext.runWithTenant(TENANT_ID, action);
+    }
+
+    private void assertCountersMatchMessages(Long conversationId) {
+        Conversation conversation = TenantContext.callWithTenant(TENANT_ID,
+                () -> conversationService.getById(conversationId));
+        assertThat(conversation.getParticipantAUnread())
+                .isEqualTo(countUnread(conversationId, conversation.getParticipantA()));
+        assertThat(conversation.getParticipantBUnread())
+                .isEqualTo(countUnread(conversationId, conversation.getParticipantB()));
+    }
+
+    private int counter(Long conversationId, String column) {
+        return jdbcTemplate.queryForObject(
+                "SELECT " + column + " FROM conversation WHERE id = ?", Integer.class, conversationId);
+    }
+
+    private int countUnread(Long conversationId, Long receiverId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM message WHERE conversation_id = ? AND receiver_id = ? AND is_read = 0 AND deleted = 0",
+                Integer.class, conversationId, receiverId);
+    }
+
+    private int countMessages(Long conversationId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM message WHERE conversation_id = ?", Integer.class, conversationId);
+    }
+
+    private static SendMessageVO sendVo(Long receiverId, String content) {
+        SendMessageVO vo = new SendMessageVO();
+        vo.setReceiverId(IdUtils.toExternalId(receiverId));
+        vo.setContent(content);
+        vo.setContentType("text");
+        return vo;
+    }
+
+    private static Account createAccount(Long userId, String username) {
+        Account account = new Account();
+        account.setId(userId);
+        account.setUsername(username);
+        account.setPassword("hashed_password_" + UUID.randomUUID());
+        account.setEmail(username + "@test.com");
+        account.setRole("user");
+        account.setAvatar("https://example.com/avatar.png");
+        account.setNickname("Test " + username);
+        account.setTenantId(TENANT_ID);
+        account.setRegisterTime(new Date());
+        account.setUpdateTime(new Date());
+        account.setDeleted(0);
+        return account;
+    }
+
+    private void cleanUpMessagingFixtures() {
+        jdbcTemplate.update("DELETE FROM message WHERE tenant_id = ?", TENANT_ID);
+        jdbcTemplate.update("DELETE FROM conversation WHERE tenant_id = ?", TENANT_ID);
+        jdbcTemplate.update("DELETE FROM account WHERE tenant_id = ?", TENANT_ID);
+    }
+}
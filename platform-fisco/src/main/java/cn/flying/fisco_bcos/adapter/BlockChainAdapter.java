@@ -13,6 +13,7 @@ import java.util.List;
  *   <li>{@code LocalFiscoAdapter} - 本地 FISCO BCOS 节点</li>
  *   <li>{@code BsnFiscoAdapter} - BSN 托管的 FISCO BCOS 节点</li>
  *   <li>{@code BsnBesuAdapter} - BSN 托管的 Hyperledger Besu 节点</li>
+ *   <li>{@code InMemoryChainAdapter} - 进程内模拟账本，用于离线压测</li>
  * </ul>
  *
  * <p>通过 Spring 的 {@code @ConditionalOnProperty} 注解实现配置驱动的链切换
@@ -80,6 +81,29 @@ public interface BlockChainAdapter {
      */
     List<ChainFileInfo> getUserFiles(String uploader);
 
+    /**
+     * 按偏移量分页获取用户的文件列表
+     *
+     * <p>当前 Storage 合约未提供分页读取调用，默认实现每页都读取完整列表后在适配层切片，
+     * 遍历 N 个文件的代价为 O(页数 × N)，不能视为分页优化。FISCO 与 Besu 适配器覆盖本方法，
+     * 在遍历起点读取一次完整列表并缓存快照供后续页切片；能直接按区间读取的适配器同样应覆盖本方法。
+     * 合约删除文件时以末尾元素填补空位，删除并发时相邻页可能出现遗漏或重复。
+     *
+     * @param uploader 上传者标识
+     * @param offset   起始偏移量，从 0 开始
+     * @param limit    单页最大条数，必须为正数
+     * @return 当前页文件与文件总数
+     * @throws ChainException 链操作异常或分页参数非法
+     */
+    default ChainFilePage getUserFilesPage(String uploader, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new ChainException(getChainType(), "getUserFilesPage",
+                    "offset must be >= 0 and limit must be > 0");
+        }
+        List<ChainFileInfo> files = getUserFiles(uploader);
+        return ChainFilePage.slice(files, offset, limit);
+    }
+
     /**
      * 获取指定文件的详情
      *
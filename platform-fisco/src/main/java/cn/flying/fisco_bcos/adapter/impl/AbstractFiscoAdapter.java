@@ -3,9 +3,11 @@ package cn.flying.fisco_bcos.adapter.impl;
 import cn.flying.fisco_bcos.adapter.BlockChainAdapter;
 import cn.flying.fisco_bcos.adapter.model.*;
 import cn.flying.fisco_bcos.model.bo.*;
+import cn.flying.fisco_bcos.monitor.ChainLoadMetrics;
 import cn.flying.fisco_bcos.service.SharingService;
 import cn.flying.fisco_bcos.utils.Convert;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransaction;
 import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
 import org.fisco.bcos.sdk.v3.client.protocol.response.TotalTransactionCount;
@@ -33,6 +35,9 @@ import static cn.flying.fisco_bcos.parser.ContractResponseParser.*;
 @Slf4j
 public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
 
+    private ChainLoadMetrics loadMetrics = ChainLoadMetrics.unregistered();
+    private final UserFileListSnapshots userFileSnapshots = new UserFileListSnapshots();
+
     /**
      * 获取 SharingService 实例
      * 由子类通过依赖注入提供
@@ -46,13 +51,21 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
         return "[" + getChainType().getDisplayName() + "]";
     }
 
+    /**
+     * 注入链调用饱和度指标；脱离 Spring 构造时保留未注册的本地实例
+     */
+    @Autowired
+    void setLoadMetrics(ChainLoadMetrics loadMetrics) {
+        this.loadMetrics = loadMetrics;
+    }
+
     // ==================== 文件存储操作 ====================
 
     @Override
     public ChainReceipt storeFile(String uploader, String fileName, String content, String param) {
         try {
-            TransactionResponse response = getSharingService().storeFile(
-                    new SharingStoreFileInputBO(fileName, uploader, content, param));
+            TransactionResponse response = sdk("storeFile", () -> getSharingService().storeFile(
+                    new SharingStoreFileInputBO(fileName, uploader, content, param)));
 
             if (response == null) {
                 throw new ChainException(getChainType(), "storeFile", "Response is null");
@@ -111,14 +124,14 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
     ) {
         try {
             byte[] merkleRootBytes = toBytes32Hash(merkleRoot, "storeAttestationBatch");
-            TransactionResponse response = getSharingService().storeAttestationBatch(
+            TransactionResponse response = sdk("storeAttestationBatch", () -> getSharingService().storeAttestationBatch(
                     new SharingStoreAttestationBatchInputBO(
                             String.valueOf(tenantId),
                             BigInteger.valueOf(batchId),
                             batchNo,
                             proofAlgorithm,
                             merkleRootBytes,
-                            BigInteger.valueOf(leafCount)));
+                            BigInteger.valueOf(leafCount))));
 
             if (response == null) {
                 throw new ChainException(getChainType(), "storeAttestationBatch", "Response is null");
@@ -169,10 +182,10 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
     @Override
     public ChainAttestationBatch getAttestationBatch(Long tenantId, Long batchId) {
         try {
-            CallResponse response = getSharingService().getAttestationBatch(
+            CallResponse response = sdk("getAttestationBatch", () -> getSharingService().getAttestationBatch(
                     new SharingGetAttestationBatchInputBO(
                             String.valueOf(tenantId),
-                            BigInteger.valueOf(batchId)));
+                            BigInteger.valueOf(batchId))));
             if (response == null) {
                 throw new ChainException(getChainType(), "getAttestationBatch", "Invalid return value");
             }
@@ -216,7 +229,8 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
     @Override
     public List<ChainFileInfo> getUserFiles(String uploader) {
         try {
-            CallResponse response = getSharingService().getUserFiles(new SharingGetUserFilesInputBO(uploader));
+            CallResponse response = sdk(
+                    "getUserFiles", () -> getSharingService().getUserFiles(new SharingGetUserFilesInputBO(uploader)));
             List<ChainFileInfo> fileList = new ArrayList<>();
 
             if (response == null || !(response.getReturnObject() instanceof List<?> files) || files.isEmpty()) {
@@ -249,11 +263,23 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
         }
     }
 
+    /**
+     * 遍历起点整表读取并缓存快照，后续页在快照有效期内直接切片。
+     */
+    @Override
+    public ChainFilePage getUserFilesPage(String uploader, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new ChainException(getChainType(), "getUserFilesPage",
+                    "offset must be >= 0 and limit must be > 0");
+        }
+        return userFileSnapshots.page(uploader, offset, limit, () -> getUserFiles(uploader));
+    }
+
     @Override
     public ChainFileDetail getFile(String uploader, String fileHash) {
         try {
-            CallResponse response = getSharingService().getFile(
-                    new SharingGetFileInputBO(uploader, Convert.hexTobyte(fileHash)));
+            CallResponse response = sdk("getFile", () -> getSharingService().getFile(
+                    new SharingGetFileInputBO(uploader, Convert.hexTobyte(fileHash))));
 
             if (response == null || !(response.getReturnObject() instanceof List<?> returnList) || returnList.isEmpty()) {
                 throw new ChainException(getChainType(), "getFile", "File not found");
@@ -294,8 +320,8 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
                     .map(Convert::hexTobyte)
                     .toList();
 
-            TransactionResponse response = getSharingService().deleteFiles(
-                    new SharingDeleteFilesInputBO(uploader, fileHashArr));
+            TransactionResponse response = sdk("deleteFiles", () -> getSharingService().deleteFiles(
+                    new SharingDeleteFilesInputBO(uploader, fileHashArr)));
 
             if (response != null && response.getReturnCode() == 0) {
                 TransactionReceipt receipt = response.getTransactionReceipt();
@@ -326,8 +352,8 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
                     .map(Convert::hexTobyte)
                     .toList();
 
-            TransactionResponse response = getSharingService().shareFiles(
-                    new SharingShareFilesInputBO(uploader, fileHashArr, expireMinutes));
+            TransactionResponse response = sdk("shareFiles", () -> getSharingService().shareFiles(
+                    new SharingShareFilesInputBO(uploader, fileHashArr, expireMinutes)));
 
             if (response == null) {
                 throw new ChainException(getChainType(), "shareFiles", "Response is null");
@@ -364,8 +390,8 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
     @Override
     public ChainShareInfo getSharedFiles(String shareCode) {
         try {
-            CallResponse response = getSharingService().getSharedFilesReadOnly(
-                    new SharingGetSharedFilesInputBO(shareCode));
+            CallResponse response = sdk("getSharedFilesReadOnly", () -> getSharingService().getSharedFilesReadOnly(
+                    new SharingGetSharedFilesInputBO(shareCode)));
 
             if (response == null) {
                 throw new ChainException(getChainType(), "getSharedFiles", "Share not found");
@@ -409,8 +435,8 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
     @Override
     public ChainReceipt cancelShare(String shareCode, String uploader) {
         try {
-            TransactionResponse response = getSharingService().cancelShare(
-                    new SharingCancelShareInputBO(shareCode, uploader));
+            TransactionResponse response = sdk("cancelShare", () -> getSharingService().cancelShare(
+                    new SharingCancelShareInputBO(shareCode, uploader)));
 
             if (response == null) {
                 throw new ChainException(getChainType(), "cancelShare", "Response is null");
@@ -438,8 +464,8 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
     @Override
     public List<String> getUserShareCodes(String uploader) {
         try {
-            CallResponse response = getSharingService().getUserShareCodes(
-                    new SharingGetUserShareCodesInputBO(uploader));
+            CallResponse response = sdk("getUserShareCodes", () -> getSharingService().getUserShareCodes(
+                    new SharingGetUserShareCodesInputBO(uploader)));
 
             if (response == null || !(response.getReturnObject() instanceof List<?> returnList)) {
                 return new ArrayList<>();
@@ -473,8 +499,8 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
     @Override
     public ChainShareInfo getShareInfo(String shareCode) {
         try {
-            CallResponse response = getSharingService().getShareInfo(
-                    new SharingGetShareInfoInputBO(shareCode));
+            CallResponse response = sdk("getShareInfo", () -> getSharingService().getShareInfo(
+                    new SharingGetShareInfoInputBO(shareCode)));
 
             if (response == null) {
                 throw new ChainException(getChainType(), "getShareInfo", "Share not found");
@@ -529,7 +555,8 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
     @Override
     public ChainStatus getChainStatus() {
         try {
-            TotalTransactionCount totalTransactionCount = getSharingService().getCurrentBlockChainMessage();
+            TotalTransactionCount totalTransactionCount = sdk(
+                    "getCurrentBlockChainMessage", () -> getSharingService().getCurrentBlockChainMessage());
             ChainStatus.ChainStatusBuilder builder = ChainStatus.builder()
                     .chainType(getChainType())
                     .healthy(true)
@@ -570,12 +597,14 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
     @Override
     public ChainTransaction getTransaction(String txHash) {
         try {
-            BcosTransaction transaction = getSharingService().getTransactionByHash(txHash);
+            BcosTransaction transaction = sdk(
+                    "getTransactionByHash", () -> getSharingService().getTransactionByHash(txHash));
             if (transaction == null || transaction.getResult() == null) {
                 throw new ChainException(getChainType(), "getTransaction", "Transaction not found");
             }
 
-            BcosTransactionReceipt receipt = getSharingService().getTransactionReceipt(txHash);
+            BcosTransactionReceipt receipt = sdk(
+                    "getTransactionReceipt", () -> getSharingService().getTransactionReceipt(txHash));
 
             var result = transaction.getResult();
 
@@ -615,6 +644,23 @@ public abstract class AbstractFiscoAdapter implements BlockChainAdapter {
 
     // ==================== 私有辅助方法 ====================
 
+    /**
+     * 执行一次 SDK 调用，并在调用期间计入在途调用数与耗时直方图
+     */
+    private <T> T sdk(String operation, SdkCall<T> call) throws Exception {
+        try (ChainLoadMetrics.Lease ignored = loadMetrics.sdkCall(getChainType(), operation)) {
+            return call.execute();
+        }
+    }
+
+    /**
+     * 可抛出受检异常的 SDK 调用
+     */
+    @FunctionalInterface
+    private interface SdkCall<T> {
+        T execute() throws Exception;
+    }
+
     /**
      * 解析十六进制字符串为 long
      * 支持带或不带 0x/0X 前缀的格式
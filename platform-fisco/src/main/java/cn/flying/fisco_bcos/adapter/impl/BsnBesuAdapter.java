@@ -3,6 +3,7 @@ package cn.flying.fisco_bcos.adapter.impl;
 import cn.flying.fisco_bcos.adapter.BlockChainAdapter;
 import cn.flying.fisco_bcos.adapter.model.*;
 import cn.flying.fisco_bcos.config.BsnBesuConfig;
+import cn.flying.fisco_bcos.monitor.ChainLoadMetrics;
 import cn.flying.fisco_bcos.registry.ContractRegistryService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -58,6 +59,9 @@ public class BsnBesuAdapter implements BlockChainAdapter {
     private final BsnBesuConfig besuConfig;
     private final ContractRegistryService contractRegistryService;
     private final BsnBesuNonceCoordinator nonceCoordinator;
+    private final BsnBesuReceiptTracker receiptTracker;
+    private final ChainLoadMetrics loadMetrics;
+    private final UserFileListSnapshots userFileSnapshots = new UserFileListSnapshots();
 
     private String sharingContractAddress;
 
@@ -329,6 +333,18 @@ public class BsnBesuAdapter implements BlockChainAdapter {
         }
     }
 
+    /**
+     * 遍历起点整表读取并缓存快照，后续页在快照有效期内直接切片。
+     */
+    @Override
+    public ChainFilePage getUserFilesPage(String uploader, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new ChainException(ChainType.BSN_BESU, "getUserFilesPage",
+                    "offset must be >= 0 and limit must be > 0");
+        }
+        return userFileSnapshots.page(uploader, offset, limit, () -> getUserFiles(uploader));
+    }
+
     @Override
     public ChainFileDetail getFile(String uploader, String fileHash) {
         try {
@@ -714,14 +730,17 @@ public class BsnBesuAdapter implements BlockChainAdapter {
     private List<Type> callContract(org.web3j.abi.datatypes.Function abiFunction) throws Exception {
         String encodedFunction = FunctionEncoder.encode(abiFunction);
 
-        EthCall response = web3j.ethCall(
-                Transaction.createEthCallTransaction(
-                        credentials.getAddress(),
-                        sharingContractAddress,
-                        encodedFunction
-                ),
-                DefaultBlockParameterName.LATEST
-        ).send();
+        EthCall response;
+        try (ChainLoadMetrics.Lease ignored = loadMetrics.sdkCall(ChainType.BSN_BESU, abiFunction.getName())) {
+            response = web3j.ethCall(
+                    Transaction.createEthCallTransaction(
+                            credentials.getAddress(),
+                            sharingContractAddress,
+                            encodedFunction
+                    ),
+                    DefaultBlockParameterName.LATEST
+            ).send();
+        }
 
         if (response.hasError()) {
             throw new ChainException(ChainType.BSN_BESU, "callContract", response.getError().getMessage());
@@ -740,9 +759,12 @@ public class BsnBesuAdapter implements BlockChainAdapter {
                 credentials.getAddress(),
                 this::loadPendingNonce,
                 nonce -> buildSignedRawTransaction(abiFunction, nonce),
-                signedRawTransaction -> web3j
-                        .ethSendRawTransaction(signedRawTransaction)
-                        .send()
+                signedRawTransaction -> {
+                    try (ChainLoadMetrics.Lease ignored =
+                                 loadMetrics.sdkCall(ChainType.BSN_BESU, abiFunction.getName())) {
+                        return web3j.ethSendRawTransaction(signedRawTransaction).send();
+                    }
+                }
         );
     }
 
@@ -750,10 +772,13 @@ public class BsnBesuAdapter implements BlockChainAdapter {
      * 查询并严格校验节点 PENDING nonce，避免忽略 JSON-RPC 错误。
      */
     private BigInteger loadPendingNonce() throws Exception {
-        EthGetTransactionCount response = web3j.ethGetTransactionCount(
-                credentials.getAddress(),
-                DefaultBlockParameterName.PENDING
-        ).send();
+        EthGetTransactionCount response;
+        try (ChainLoadMetrics.Lease ignored = loadMetrics.sdkCall(ChainType.BSN_BESU, "getPendingNonce")) {
+            response = web3j.ethGetTransactionCount(
+                    credentials.getAddress(),
+                    DefaultBlockParameterName.PENDING
+            ).send();
+        }
         if (response == null) {
             throw new ChainException(
                     ChainType.BSN_BESU,
@@ -791,28 +816,10 @@ public class BsnBesuAdapter implements BlockChainAdapter {
         return Numeric.toHexString(signedMessage);
     }
 
-    private TransactionReceipt waitForReceipt(String txHash) throws Exception {
-        int attempts = 0;
-        int maxAttempts = 40;
-
-        while (attempts < maxAttempts) {
-            EthGetTransactionReceipt receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
-
-            if (receiptResponse.getTransactionReceipt().isPresent()) {
-                return receiptResponse.getTransactionReceipt().get();
-            }
-
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                // 恢复中断状态并终止等待
-                Thread.currentThread().interrupt();
-                throw new ChainException(ChainType.BSN_BESU, "waitForReceipt", "等待交易确认被中断");
-            }
-            attempts++;
+    private TransactionReceipt waitForReceipt(String txHash) {
+        try (ChainLoadMetrics.Lease ignored = loadMetrics.enqueue(ChainType.BSN_BESU, ChainLoadMetrics.Queue.RECEIPT)) {
+            return receiptTracker.awaitReceipt(txHash);
         }
-
-        throw new ChainException(ChainType.BSN_BESU, "waitForReceipt", "Transaction not confirmed in time");
     }
 
     private String extractFileHashFromLogs(TransactionReceipt receipt) {
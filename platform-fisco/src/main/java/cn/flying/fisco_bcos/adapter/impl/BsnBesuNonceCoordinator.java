@@ -1,6 +1,10 @@
 package cn.flying.fisco_bcos.adapter.impl;
 
+import cn.flying.fisco_bcos.adapter.model.ChainType;
+import cn.flying.fisco_bcos.config.BsnBesuConfig;
+import cn.flying.fisco_bcos.monitor.ChainLoadMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.web3j.crypto.Hash;
@@ -11,9 +15,12 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Locale;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
@@ -22,6 +29,14 @@ import java.util.regex.Pattern;
  *
  * <p>同一 signer 的临界区覆盖 PENDING 同步、本地构造/签名、广播结果分类和状态推进，
  * 但不覆盖交易回执确认；不同 signer 使用独立锁并行发送。
+ *
+ * <p>流水线模式（{@code pipelineWindow > 1}）下临界区只负责分配 nonce：按排队调用方数量
+ * 预留连续窗口，仅查询一次 PENDING 并落盘一次 {@link BsnBesuNonceStateStore.Outcome#RESERVED}，
+ * 签名与广播在锁外并行进行。本地失败或节点明确拒绝的 nonce 进入空洞集合，由下一次发送优先补齐；
+ * 结果不确定的 nonce 与串行模式一样阻止新窗口，直到节点 PENDING 越过它。空洞只保存在内存中，
+ * 重启后窗口内任意 nonce 都可能已广播也可能是空洞，因此 PENDING 越过落盘的窗口终点前进入补洞模式：
+ * 每次发送持锁查询 PENDING 并直接以它作为 nonce 串行签名和广播，PENDING 处必然没有已进入 mempool 的交易。
+ * 以串行模式重启时同样按落盘窗口补洞，补洞结果不落盘，PENDING 越过窗口终点后恢复常规串行推进。
  */
 @Slf4j
 @Component
@@ -51,12 +66,39 @@ public final class BsnBesuNonceCoordinator {
 
     private final ConcurrentMap<String, SignerState> signerStates = new ConcurrentHashMap<>();
     private final BsnBesuNonceStateStore stateStore;
+    private final int pipelineWindow;
+    private final ChainLoadMetrics loadMetrics;
 
     /**
-     * 创建使用指定 durable state store 的 nonce coordinator。
+     * 创建使用指定 durable state store 的串行 nonce coordinator。
      */
     public BsnBesuNonceCoordinator(BsnBesuNonceStateStore stateStore) {
+        this(stateStore, 1);
+    }
+
+    /**
+     * 按 {@code blockchain.bsn-besu.nonce.pipeline-window} 创建 nonce coordinator。
+     */
+    @Autowired
+    public BsnBesuNonceCoordinator(
+            BsnBesuNonceStateStore stateStore,
+            BsnBesuConfig besuConfig,
+            ChainLoadMetrics loadMetrics
+    ) {
+        this(stateStore, besuConfig.getNonce().getPipelineWindow(), loadMetrics);
+    }
+
+    BsnBesuNonceCoordinator(BsnBesuNonceStateStore stateStore, int pipelineWindow) {
+        this(stateStore, pipelineWindow, ChainLoadMetrics.unregistered());
+    }
+
+    BsnBesuNonceCoordinator(BsnBesuNonceStateStore stateStore, int pipelineWindow, ChainLoadMetrics loadMetrics) {
+        if (pipelineWindow < 1) {
+            throw new IllegalArgumentException("BSN Besu nonce pipeline window must be positive");
+        }
         this.stateStore = stateStore;
+        this.pipelineWindow = pipelineWindow;
+        this.loadMetrics = loadMetrics;
     }
 
     /**
@@ -80,11 +122,29 @@ public final class BsnBesuNonceCoordinator {
                 canonicalSigner,
                 ignored -> new SignerState()
         );
+        if (pipelineWindow > 1) {
+            return sendPipelined(
+                    canonicalSigner,
+                    state,
+                    pendingNonceSupplier,
+                    transactionFactory,
+                    broadcaster
+            );
+        }
 
         lockInterruptibly(state.lock);
         try {
             initializeState(canonicalSigner, state);
             BigInteger nodePending = requireValidNonce(pendingNonceSupplier.get());
+            if (reconcilesReservedWindow(canonicalSigner, state, nodePending)) {
+                return broadcastPipelined(
+                        canonicalSigner,
+                        state,
+                        new NonceLease(nodePending, true),
+                        transactionFactory,
+                        broadcaster
+                );
+            }
             requireResolvedBroadcast(canonicalSigner, state, nodePending);
             BigInteger nonce = state.nextNonce == null
                     ? nodePending
@@ -208,6 +268,257 @@ public final class BsnBesuNonceCoordinator {
         }
     }
 
+    /**
+     * 流水线模式：仅在锁内分配 nonce，签名与广播在锁外执行，结果回写 signer 内存状态。
+     */
+    private EthSendTransaction sendPipelined(
+            String canonicalSigner,
+            SignerState state,
+            PendingNonceSupplier pendingNonceSupplier,
+            SignedRawTransactionFactory transactionFactory,
+            RawTransactionBroadcaster broadcaster
+    ) throws Exception {
+        NonceLease lease = acquirePipelinedNonce(canonicalSigner, state, pendingNonceSupplier);
+        try {
+            return broadcastPipelined(canonicalSigner, state, lease, transactionFactory, broadcaster);
+        } finally {
+            if (lease.reconciling()) {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 使用已分配的 nonce 签名并广播；补洞模式下调用方仍持有 signer 锁，串行模式补洞也复用此路径。
+     */
+    private EthSendTransaction broadcastPipelined(
+            String canonicalSigner,
+            SignerState state,
+            NonceLease lease,
+            SignedRawTransactionFactory transactionFactory,
+            RawTransactionBroadcaster broadcaster
+    ) throws Exception {
+        BigInteger nonce = lease.nonce();
+        String signedRawTransaction;
+        String localTransactionHash;
+        try {
+            signedRawTransaction = requireSignedRawTransaction(transactionFactory.build(nonce));
+            localTransactionHash = Hash.sha3(signedRawTransaction);
+        } catch (Exception exception) {
+            releaseNonce(state, lease);
+            log.warn(
+                    "[BSN Besu nonce] 本地构造或签名失败，nonce 留给下一请求补齐, signer={}, nonce={}",
+                    canonicalSigner,
+                    nonce
+            );
+            throw exception;
+        }
+
+        EthSendTransaction response;
+        try {
+            response = broadcaster.broadcast(signedRawTransaction);
+        } catch (Exception exception) {
+            markUnresolved(state, nonce);
+            log.warn(
+                    "[BSN Besu nonce] 广播结果不确定，禁止回退 nonce, signer={}, nonce={}, cause={}",
+                    canonicalSigner,
+                    nonce,
+                    exception.getClass().getSimpleName()
+            );
+            throw exception;
+        }
+
+        BroadcastOutcome outcome = classify(response, localTransactionHash);
+        if (outcome == BroadcastOutcome.DEFINITE_REJECT) {
+            releaseNonce(state, lease);
+            log.warn(
+                    "[BSN Besu nonce] 节点明确拒绝交易，nonce 留给下一请求补齐, signer={}, nonce={}, code={}",
+                    canonicalSigner,
+                    nonce,
+                    response.getError().getCode()
+            );
+        } else if (outcome == BroadcastOutcome.UNKNOWN) {
+            markUnresolved(state, nonce);
+            log.warn(
+                    "[BSN Besu nonce] 广播响应无法证明交易未进入 mempool，禁止回退 nonce, signer={}, nonce={}",
+                    canonicalSigner,
+                    nonce
+            );
+        } else {
+            log.debug(
+                    "[BSN Besu nonce] 交易已接受, signer={}, nonce={}, txHash={}",
+                    canonicalSigner,
+                    nonce,
+                    response.getTransactionHash()
+            );
+        }
+
+        if (response == null || (!response.hasError()
+                && outcome != BroadcastOutcome.ACCEPTED)) {
+            throw new IOException("BSN Besu returned an empty or invalid transaction response");
+        }
+        return response;
+    }
+
+    /**
+     * 依次从空洞、当前窗口剩余 nonce 和新预留窗口中取得 nonce。
+     *
+     * <p>新窗口大小为当前排队调用方数量与 {@code pipelineWindow} 的较小值，避免预留无人使用的 nonce。
+     * 重启后 PENDING 未越过落盘窗口终点时返回补洞租约，此时 signer 锁不释放，由调用方在广播结束后释放。
+     */
+    private NonceLease acquirePipelinedNonce(
+            String canonicalSigner,
+            SignerState state,
+            PendingNonceSupplier pendingNonceSupplier
+    ) throws Exception {
+        state.waiting.incrementAndGet();
+        try {
+            lockInterruptibly(state.lock);
+        } catch (InterruptedException exception) {
+            state.waiting.decrementAndGet();
+            throw exception;
+        }
+        boolean reconciling = false;
+        try {
+            state.waiting.decrementAndGet();
+            if (!state.initialized) {
+                initializeState(canonicalSigner, state);
+                BsnBesuNonceStateStore.PersistedState persistedState = state.persistedState;
+                if (persistedState != null
+                        && persistedState.outcome() == BsnBesuNonceStateStore.Outcome.RESERVED) {
+                    // 重启前窗口内的空洞未落盘，PENDING 越过窗口终点前只在 PENDING 处补洞
+                    state.reconcileEnd = persistedState.nextNonce();
+                } else {
+                    // 串行模式遗留的未决广播可能仍在网络中，PENDING 越过前不得重新分配
+                    state.unresolvedNonce = persistedState == null
+                            ? null
+                            : persistedState.highestUnresolvedNonce();
+                }
+            }
+
+            BigInteger nodePending;
+            if (state.reconcileEnd != null) {
+                nodePending = requireValidNonce(pendingNonceSupplier.get());
+                requirePassedUnresolvedNonce(canonicalSigner, state, nodePending);
+                if (nodePending.compareTo(state.reconcileEnd) < 0) {
+                    log.info(
+                            "[BSN Besu nonce] PENDING 未越过重启前窗口，在 PENDING 处补洞, signer={}, pending={}, windowEnd={}",
+                            canonicalSigner,
+                            nodePending,
+                            state.reconcileEnd
+                    );
+                    reconciling = true;
+                    return new NonceLease(nodePending, true);
+                }
+                log.info(
+                        "[BSN Besu nonce] PENDING 已越过重启前窗口，恢复流水线分配, signer={}, pending={}",
+                        canonicalSigner,
+                        nodePending
+                );
+                state.reconcileEnd = null;
+            } else {
+                BigInteger hole = state.holes.pollFirst();
+                if (hole != null) {
+                    return new NonceLease(hole, false);
+                }
+                if (state.windowCursor != null && state.windowCursor.compareTo(state.windowEnd) < 0) {
+                    BigInteger nonce = state.windowCursor;
+                    state.windowCursor = nonce.add(BigInteger.ONE);
+                    return new NonceLease(nonce, false);
+                }
+                nodePending = requireValidNonce(pendingNonceSupplier.get());
+                requirePassedUnresolvedNonce(canonicalSigner, state, nodePending);
+            }
+
+            BigInteger start = state.nextNonce == null
+                    ? nodePending
+                    : nodePending.max(state.nextNonce);
+            // 窗口覆盖当前调用方和 PENDING 查询期间仍在排队的调用方
+            int demand = 1 + state.waiting.get();
+            BigInteger end = start.add(BigInteger.valueOf(Math.min(pipelineWindow, demand)));
+            persistState(
+                    canonicalSigner,
+                    state,
+                    new BsnBesuNonceStateStore.PersistedState(
+                            end,
+                            start,
+                            BsnBesuNonceStateStore.Outcome.RESERVED,
+                            null,
+                            null
+                    )
+            );
+            state.windowCursor = start.add(BigInteger.ONE);
+            state.windowEnd = end;
+            log.debug(
+                    "[BSN Besu nonce] 已预留 nonce 窗口, signer={}, start={}, end={}",
+                    canonicalSigner,
+                    start,
+                    end
+            );
+            return new NonceLease(start, false);
+        } finally {
+            if (!reconciling) {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 流水线模式下存在结果不确定的 nonce 时，只有节点 PENDING 已越过它才允许预留新窗口。
+     */
+    private void requirePassedUnresolvedNonce(
+            String canonicalSigner,
+            SignerState state,
+            BigInteger nodePending
+    ) {
+        BigInteger unresolvedNonce = state.unresolvedNonce;
+        if (unresolvedNonce == null) {
+            return;
+        }
+        if (nodePending.compareTo(unresolvedNonce) <= 0) {
+            throw new IllegalStateException(
+                    "BSN Besu signer has an unresolved broadcast; manual reconciliation is required"
+            );
+        }
+        log.info(
+                "[BSN Besu nonce] PENDING 已越过未决 nonce，允许继续发送, signer={}, nonce={}, pending={}",
+                canonicalSigner,
+                unresolvedNonce,
+                nodePending
+        );
+        state.unresolvedNonce = null;
+    }
+
+    /**
+     * 将确定未进入 mempool 的 nonce 放回空洞集合，后续请求优先使用以消除窗口中的缺口。
+     * 补洞模式下的 nonce 不入集合，下一请求重新按 PENDING 选择。
+     */
+    private void releaseNonce(SignerState state, NonceLease lease) {
+        if (lease.reconciling()) {
+            return;
+        }
+        state.lock.lock();
+        try {
+            state.holes.add(lease.nonce());
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 记录结果不确定的 nonce，阻止预留新窗口直到 PENDING 越过它。
+     */
+    private void markUnresolved(SignerState state, BigInteger nonce) {
+        state.lock.lock();
+        try {
+            if (state.unresolvedNonce == null || state.unresolvedNonce.compareTo(nonce) < 0) {
+                state.unresolvedNonce = nonce;
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
     /**
      * 首次使用 signer 时从 durable state 恢复本地 nonce 高水位和未决广播。
      */
@@ -221,6 +532,34 @@ public final class BsnBesuNonceCoordinator {
         state.initialized = true;
     }
 
+    /**
+     * 串行模式下判断是否仍处于流水线模式遗留的 RESERVED 窗口内；是则由调用方在 PENDING 处补洞。
+     *
+     * <p>串行模式从不写入 RESERVED，该状态只可能来自重启前的流水线窗口，首次常规发送落盘后自然退出补洞。
+     */
+    private boolean reconcilesReservedWindow(
+            String canonicalSigner,
+            SignerState state,
+            BigInteger nodePending
+    ) {
+        BsnBesuNonceStateStore.PersistedState persistedState = state.persistedState;
+        if (persistedState == null
+                || persistedState.outcome() != BsnBesuNonceStateStore.Outcome.RESERVED) {
+            return false;
+        }
+        requirePassedUnresolvedNonce(canonicalSigner, state, nodePending);
+        if (nodePending.compareTo(persistedState.nextNonce()) >= 0) {
+            return false;
+        }
+        log.info(
+                "[BSN Besu nonce] PENDING 未越过重启前窗口，在 PENDING 处补洞, signer={}, pending={}, windowEnd={}",
+                canonicalSigner,
+                nodePending,
+                persistedState.nextNonce()
+        );
+        return true;
+    }
+
     /**
      * 未决广播只有在节点 PENDING 已越过对应 nonce 时才允许继续分配新 payload。
      */
@@ -233,7 +572,7 @@ public final class BsnBesuNonceCoordinator {
         if (persistedState == null || !persistedState.isUnresolvedBroadcast()) {
             return;
         }
-        BigInteger unresolvedNonce = persistedState.lastNonce();
+        BigInteger unresolvedNonce = persistedState.highestUnresolvedNonce();
         if (unresolvedNonce == null || nodePending.compareTo(unresolvedNonce) <= 0) {
             throw new IllegalStateException(
                     "BSN Besu signer has an unresolved broadcast; manual reconciliation is required"
@@ -248,10 +587,10 @@ public final class BsnBesuNonceCoordinator {
     }
 
     /**
-     * 以可中断方式获取 signer 锁，并在中断时恢复线程中断标记。
+     * 以可中断方式获取 signer 锁，并在中断时恢复线程中断标记；等待期间计入 nonce 锁队列深度。
      */
     private void lockInterruptibly(ReentrantLock lock) throws InterruptedException {
-        try {
+        try (ChainLoadMetrics.Lease ignored = loadMetrics.enqueue(ChainType.BSN_BESU, ChainLoadMetrics.Queue.NONCE_LOCK)) {
             lock.lockInterruptibly();
         } catch (InterruptedException exception) {
             Thread.currentThread().interrupt();
@@ -462,13 +801,25 @@ public final class BsnBesuNonceCoordinator {
     }
 
     /**
-     * 同一 signer 的本地 nonce 高水位和互斥状态。
+     * 同一 signer 的本地 nonce 高水位和互斥状态；流水线字段仅在持锁时读写。
      */
     private static final class SignerState {
         private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final NavigableSet<BigInteger> holes = new TreeSet<>();
         private boolean initialized;
         private BigInteger nextNonce;
         private BsnBesuNonceStateStore.PersistedState persistedState;
+        private BigInteger windowCursor;
+        private BigInteger windowEnd;
+        private BigInteger unresolvedNonce;
+        private BigInteger reconcileEnd;
+    }
+
+    /**
+     * 流水线模式分配出的 nonce；{@code reconciling} 为 true 时分配方仍持有 signer 锁。
+     */
+    private record NonceLease(BigInteger nonce, boolean reconciling) {
     }
 
     /**
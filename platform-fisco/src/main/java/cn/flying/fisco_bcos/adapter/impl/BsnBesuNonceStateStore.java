@@ -27,11 +27,17 @@ public interface BsnBesuNonceStateStore {
         BROADCASTING,
         ACCEPTED,
         DEFINITE_REJECT,
-        UNKNOWN
+        UNKNOWN,
+        /**
+         * 流水线模式预留的 nonce 窗口 [lastNonce, nextNonce)，窗口内任意 nonce 都可能已广播
+         */
+        RESERVED
     }
 
     /**
      * signer 的 durable nonce 快照；nextNonce 是后续分配不得低于的本地高水位。
+     *
+     * <p>{@link Outcome#RESERVED} 时 lastNonce 为窗口起点，nextNonce 为窗口终点（不含）。
      */
     record PersistedState(
             BigInteger nextNonce,
@@ -56,11 +62,12 @@ public interface BsnBesuNonceStateStore {
             if (outcome == null) {
                 throw new IllegalArgumentException("outcome is required");
             }
-            BigInteger expectedNextNonce = switch (outcome) {
-                case LOCAL_FAILURE, DEFINITE_REJECT -> lastNonce;
-                case BROADCASTING, ACCEPTED, UNKNOWN -> lastNonce.add(BigInteger.ONE);
+            boolean consistentNextNonce = switch (outcome) {
+                case LOCAL_FAILURE, DEFINITE_REJECT -> lastNonce.equals(nextNonce);
+                case BROADCASTING, ACCEPTED, UNKNOWN -> lastNonce.add(BigInteger.ONE).equals(nextNonce);
+                case RESERVED -> nextNonce.compareTo(lastNonce) > 0;
             };
-            if (!expectedNextNonce.equals(nextNonce)) {
+            if (!consistentNextNonce) {
                 throw new IllegalArgumentException("nextNonce is inconsistent with outcome");
             }
             requireValidTransactionHash(localTransactionHash, "localTransactionHash");
@@ -85,6 +92,10 @@ public interface BsnBesuNonceStateStore {
                         outcome
                 );
                 case UNKNOWN -> requireHashPresence(localTransactionHash != null, outcome);
+                case RESERVED -> requireHashPresence(
+                        localTransactionHash == null && remoteTransactionHash == null,
+                        outcome
+                );
             }
         }
 
@@ -92,7 +103,16 @@ public interface BsnBesuNonceStateStore {
          * 判断该快照是否仍包含无法证明已接受或已拒绝的广播。
          */
         public boolean isUnresolvedBroadcast() {
-            return outcome == Outcome.BROADCASTING || outcome == Outcome.UNKNOWN;
+            return outcome == Outcome.BROADCASTING
+                    || outcome == Outcome.UNKNOWN
+                    || outcome == Outcome.RESERVED;
+        }
+
+        /**
+         * 返回节点 PENDING 必须越过才能继续分配的最高未决 nonce；无未决广播时返回 {@code null}。
+         */
+        public BigInteger highestUnresolvedNonce() {
+            return isUnresolvedBroadcast() ? nextNonce.subtract(BigInteger.ONE) : null;
         }
 
         /**
@@ -0,0 +1,312 @@
+package cn.flying.fisco_bcos.adapter.impl;
+
+import cn.flying.fisco_bcos.adapter.model.ChainException;
+import cn.flying.fisco_bcos.adapter.model.ChainType;
+import cn.flying.fisco_bcos.config.BsnBesuConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 共享的 BSN Besu 交易回执跟踪器。
+ *
+ * <p>所有在途交易共用一个后台轮询线程：每轮只查询一次最新区块高度，逐个读取新区块的交易哈希列表，
+ * 仅对命中的待确认交易查询回执并完成对应的 {@link CompletableFuture}。
+ * 新登记的交易在区块扫描之后直接查询一次回执，覆盖登记前已被打包的情况；
+ * 区块扫描不可用时退化为逐笔查询，保证不丢失确认。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blockchain.active", havingValue = "bsn-besu")
+public class BsnBesuReceiptTracker {
+
+    private final Web3j web3j;
+    private final long pollIntervalMillis;
+    private final long timeoutMillis;
+    private final int maxBlocksPerPoll;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, PendingReceipt> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * 已扫描到的区块高度，-1 表示尚未建立区块基线；仅在 {@link #pollOnce()} 内访问
+     */
+    private long lastScannedBlock = -1L;
+
+    /**
+     * 按 {@code blockchain.bsn-besu.receipt} 配置创建跟踪器。
+     */
+    @Autowired
+    public BsnBesuReceiptTracker(Web3j web3j, BsnBesuConfig besuConfig) {
+        this(web3j,
+                besuConfig.getReceipt().getPollIntervalMs(),
+                besuConfig.getReceipt().getTimeoutMs(),
+                besuConfig.getReceipt().getMaxBlocksPerPoll(),
+                Clock.systemUTC());
+    }
+
+    BsnBesuReceiptTracker(
+            Web3j web3j,
+            long pollIntervalMillis,
+            long timeoutMillis,
+            int maxBlocksPerPoll,
+            Clock clock
+    ) {
+        if (pollIntervalMillis <= 0 || timeoutMillis <= 0 || maxBlocksPerPoll <= 0) {
+            throw new IllegalArgumentException("receipt tracker settings must be positive");
+        }
+        this.web3j = web3j;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.maxBlocksPerPoll = maxBlocksPerPoll;
+        this.clock = clock;
+    }
+
+    /**
+     * 登记交易并返回回执句柄；同一交易重复登记共享同一等待项。
+     *
+     * @param txHash 交易哈希
+     * @return 打包后完成、超时后以 {@link ChainException} 异常完成的回执句柄
+     */
+    public CompletableFuture<TransactionReceipt> track(String txHash) {
+        if (txHash == null || txHash.isBlank()) {
+            throw new ChainException(ChainType.BSN_BESU, "waitForReceipt", "Transaction hash is empty");
+        }
+        PendingReceipt entry = pending.computeIfAbsent(
+                canonicalize(txHash), key -> new PendingReceipt(txHash, clock.millis() + timeoutMillis));
+        wake();
+        return entry.future.copy();
+    }
+
+    /**
+     * 登记交易并阻塞等待回执。
+     *
+     * @param txHash 交易哈希
+     * @return 交易回执
+     * @throws ChainException 超时、被中断或回执查询失败
+     */
+    public TransactionReceipt awaitReceipt(String txHash) {
+        CompletableFuture<TransactionReceipt> receipt = track(txHash);
+        try {
+            // 跟踪器自身负责超时；额外两个轮询周期仅作为轮询线程异常时的兜底
+            return receipt.get(timeoutMillis + 2 * pollIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChainException(ChainType.BSN_BESU, "waitForReceipt", "等待交易确认被中断");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ChainException chainException) {
+                throw chainException;
+            }
+            throw new ChainException(ChainType.BSN_BESU, "waitForReceipt",
+                    String.valueOf(e.getCause().getMessage()), e.getCause());
+        } catch (TimeoutException e) {
+            throw new ChainException(ChainType.BSN_BESU, "waitForReceipt", "Transaction not confirmed in time");
+        }
+    }
+
+    /**
+     * 当前等待确认的交易数。
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 执行一轮回执跟踪：清理超时项、扫描新区块、直接查询新登记交易。
+     */
+    synchronized void pollOnce() {
+        if (pending.isEmpty()) {
+            // 空闲时放弃区块基线，避免下次登记时补扫大量历史区块
+            lastScannedBlock = -1L;
+            return;
+        }
+        expireOverdue();
+        scanNewBlocks();
+        boolean baselineEstablished = lastScannedBlock >= 0;
+        for (PendingReceipt entry : pending.values()) {
+            if (!entry.directlyChecked) {
+                // 区块基线建立后明确查无回执，才说明交易不在基线及之前的区块中，之后只依赖区块扫描；
+                // 查询失败不能下此结论，下轮继续直接查询
+                entry.directlyChecked = lookup(entry) == LookupResult.NOT_FOUND && baselineEstablished;
+            }
+        }
+    }
+
+    /**
+     * 关闭轮询线程，并让仍在等待的交易以异常结束。
+     */
+    @PreDestroy
+    public void shutdown() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null) {
+            current.shutdownNow();
+        }
+        for (PendingReceipt entry : pending.values()) {
+            entry.future.completeExceptionally(new ChainException(
+                    ChainType.BSN_BESU, "waitForReceipt", "Receipt tracker is shutting down"));
+        }
+        pending.clear();
+    }
+
+    private void scanNewBlocks() {
+        long latest;
+        try {
+            latest = web3j.ethBlockNumber().send().getBlockNumber().longValue();
+        } catch (Exception e) {
+            log.warn("[BSN Besu] 读取最新区块高度失败，本轮回退为逐笔回执查询: {}", e.getMessage());
+            lastScannedBlock = -1L;
+            return;
+        }
+        if (lastScannedBlock < 0 || latest < lastScannedBlock || latest - lastScannedBlock > maxBlocksPerPoll) {
+            // 首次建立基线、区块回退或落后过多时从最新高度重新开始，所有待确认交易重新直接查询一次
+            lastScannedBlock = latest;
+            pending.values().forEach(entry -> entry.directlyChecked = false);
+            return;
+        }
+        for (long number = lastScannedBlock + 1; number <= latest; number++) {
+            EthBlock.Block block;
+            try {
+                block = web3j.ethGetBlockByNumber(
+                        DefaultBlockParameter.valueOf(BigInteger.valueOf(number)), false).send().getBlock();
+            } catch (Exception e) {
+                log.warn("[BSN Besu] 读取区块 {} 失败，下轮重试: {}", number, e.getMessage());
+                return;
+            }
+            if (block == null) {
+                return;
+            }
+            for (EthBlock.TransactionResult<?> transaction : block.getTransactions()) {
+                Object value = transaction.get();
+                String hash = value instanceof EthBlock.TransactionObject object ? object.getHash() : String.valueOf(value);
+                PendingReceipt entry = pending.get(canonicalize(hash));
+                if (entry != null && lookup(entry) != LookupResult.FOUND) {
+                    // 区块已包含交易但节点尚未返回回执时，下轮直接查询
+                    entry.directlyChecked = false;
+                }
+            }
+            lastScannedBlock = number;
+        }
+    }
+
+    private LookupResult lookup(PendingReceipt entry) {
+        try {
+            Optional<TransactionReceipt> receipt =
+                    web3j.ethGetTransactionReceipt(entry.txHash).send().getTransactionReceipt();
+            if (receipt.isPresent()) {
+                pending.remove(canonicalize(entry.txHash), entry);
+                entry.future.complete(receipt.get());
+                return LookupResult.FOUND;
+            }
+            return LookupResult.NOT_FOUND;
+        } catch (Exception e) {
+            log.warn("[BSN Besu] 查询交易回执失败，下轮重试: txHash={}, error={}", entry.txHash, e.getMessage());
+            return LookupResult.ERROR;
+        }
+    }
+
+    private void expireOverdue() {
+        long now = clock.millis();
+        Iterator<PendingReceipt> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            PendingReceipt entry = iterator.next();
+            if (entry.deadlineMillis <= now) {
+                iterator.remove();
+                entry.future.completeExceptionally(new ChainException(
+                        ChainType.BSN_BESU, "waitForReceipt", "Transaction not confirmed in time"));
+            }
+        }
+    }
+
+    private void wake() {
+        ScheduledExecutorService current = ensureStarted();
+        if (wakeScheduled.compareAndSet(false, true)) {
+            current.execute(() -> {
+                wakeScheduled.set(false);
+                pollSafely();
+            });
+        }
+    }
+
+    private ScheduledExecutorService ensureStarted() {
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            synchronized (this) {
+                current = scheduler;
+                if (current == null) {
+                    current = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "besu-receipt-tracker");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    current.scheduleWithFixedDelay(
+                            this::pollSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+                    scheduler = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private void pollSafely() {
+        try {
+            pollOnce();
+        } catch (RuntimeException e) {
+            log.error("[BSN Besu] 回执跟踪轮询异常", e);
+        }
+    }
+
+    private static String canonicalize(String txHash) {
+        return txHash.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 单次回执查询结果；只有 {@link #NOT_FOUND} 是节点给出的明确否定答复。
+     */
+    private enum LookupResult {
+        FOUND,
+        NOT_FOUND,
+        ERROR
+    }
+
+    /**
+     * 单笔待确认交易。
+     */
+    private static final class PendingReceipt {
+        private final String txHash;
+        private final long deadlineMillis;
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+
+        /**
+         * 是否已在区块基线建立后直接查询过；仅由轮询线程读写
+         */
+        private boolean directlyChecked;
+
+        private PendingReceipt(String txHash, long deadlineMillis) {
+            this.txHash = txHash;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
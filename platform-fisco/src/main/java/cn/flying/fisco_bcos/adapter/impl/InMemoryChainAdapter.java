@@ -0,0 +1,843 @@
+package cn.flying.fisco_bcos.adapter.impl;
+
+import cn.flying.fisco_bcos.adapter.BlockChainAdapter;
+import cn.flying.fisco_bcos.adapter.model.*;
+import cn.flying.fisco_bcos.config.InMemoryChainConfig;
+import cn.flying.fisco_bcos.constants.ContractConstants;
+import cn.flying.fisco_bcos.registry.ContractDeploymentReceiptProbe;
+import cn.flying.fisco_bcos.registry.ContractIdentityProbe;
+import cn.flying.fisco_bcos.utils.Convert;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+import java.util.regex.Pattern;
+
+/**
+ * 进程内模拟链适配器
+ * 用于离线压测和本地联调，在内存账本上复现 Storage/Sharing 合约的校验、状态变更与返回值语义
+ *
+ * <p>激活条件: {@code blockchain.active=in-memory}
+ *
+ * <p>账本特性：
+ * <ul>
+ *   <li>交易哈希、文件哈希、分享码和合约地址只由种子、交易序号与调用参数决定，相同的调用序列得到相同结果</li>
+ *   <li>写交易在下一个区块边界打包，调用方等待出块与确认延迟后才拿到回执</li>
+ *   <li>按配置概率注入“执行前拒绝”和“已上链但回执丢失”两类故障，抽样同样由种子和序号决定</li>
+ * </ul>
+ *
+ * <p>启动时在创世区块“部署”Sharing 与 Storage，并提供与真实链一致的 runtime code、
+ * 合约自声明身份和部署回执，供 {@code ContractRegistryService} 完成注册表核验。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blockchain.active", havingValue = "in-memory")
+public class InMemoryChainAdapter implements BlockChainAdapter {
+
+    private static final String SHARE_CODE_CHARSET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int SHARE_CODE_LENGTH = 6;
+    private static final int MAX_EXPIRE_MINUTES = 43200;
+    private static final long GENESIS_BLOCK = 1L;
+    private static final Pattern HASH_PATTERN = Pattern.compile("(?i)(?:0x)?[0-9a-f]{64}");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String chainId;
+    private final String seed;
+    private final long blockIntervalMillis;
+    private final long confirmationLatencyMillis;
+    private final int nodeCount;
+    private final double rejectRate;
+    private final double lostReceiptRate;
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final long genesisMillis;
+    private final String operatorAddress;
+
+    /**
+     * 创世部署的合约，按合约名索引；创建后只读
+     */
+    private final Map<String, DeployedContract> contracts = new LinkedHashMap<>();
+
+    // 以下账本状态均由 this 锁保护
+    private final Map<String, StoredFile> files = new HashMap<>();
+    private final Map<String, UserFileIndex> userFiles = new HashMap<>();
+    private final Map<String, ShareRecord> shares = new HashMap<>();
+    private final Map<String, List<String>> userShareCodes = new HashMap<>();
+    private final Map<String, AttestationRecord> attestations = new HashMap<>();
+    private final Map<String, TransactionRecord> transactions = new HashMap<>();
+    private long sequence;
+    private long shareNonce;
+    private long latestBlock = GENESIS_BLOCK;
+    private long transactionCount;
+    private long failedTransactionCount;
+
+    /**
+     * 按 {@code blockchain.in-memory} 配置创建模拟链。
+     */
+    @Autowired
+    public InMemoryChainAdapter(InMemoryChainConfig config) {
+        this(config, Clock.systemUTC(), Thread::sleep);
+    }
+
+    InMemoryChainAdapter(InMemoryChainConfig config, Clock clock, Sleeper sleeper) {
+        InMemoryChainConfig.FailureConfig failure = config.getFailure();
+        if (config.getChainId() == null || config.getChainId().isBlank()
+                || config.getSeed() == null || config.getSeed().isEmpty()) {
+            throw new IllegalArgumentException("in-memory chain id and seed must not be empty");
+        }
+        if (config.getBlockIntervalMs() < 0 || config.getConfirmationLatencyMs() < 0 || config.getNodeCount() <= 0) {
+            throw new IllegalArgumentException("in-memory block interval, latency and node count are out of range");
+        }
+        if (!isProbability(failure.getRejectRate()) || !isProbability(failure.getLostReceiptRate())
+                || failure.getRejectRate() + failure.getLostReceiptRate() > 1.0) {
+            throw new IllegalArgumentException("in-memory failure rates must be within [0, 1] and sum to at most 1");
+        }
+        this.chainId = config.getChainId();
+        this.seed = config.getSeed();
+        this.blockIntervalMillis = config.getBlockIntervalMs();
+        this.confirmationLatencyMillis = config.getConfirmationLatencyMs();
+        this.nodeCount = config.getNodeCount();
+        this.rejectRate = failure.getRejectRate();
+        this.lostReceiptRate = failure.getLostReceiptRate();
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.genesisMillis = clock.millis();
+        this.operatorAddress = address("operator");
+        deployGenesis("Sharing", "2.0.0", ContractConstants.SharingRuntimeBinary);
+        deployGenesis("Storage", "1.0.0", ContractConstants.StorageRuntimeBinary);
+        log.info("{} 模拟链已启动: chainId={}, blockIntervalMs={}, confirmationLatencyMs={}, rejectRate={}, lostReceiptRate={}",
+                logPrefix(), chainId, blockIntervalMillis, confirmationLatencyMillis, rejectRate, lostReceiptRate);
+    }
+
+    @Override
+    public ChainType getChainType() {
+        return ChainType.IN_MEMORY;
+    }
+
+    // ==================== 文件存储操作 ====================
+
+    @Override
+    public ChainReceipt storeFile(String uploader, String fileName, String content, String param) {
+        String safeParam = param == null ? "" : param;
+        Committed<String> committed = transact("storeFile", sealMillis -> {
+            require(notEmpty(fileName), "File name cannot be empty");
+            require(notEmpty(uploader), "Uploader name cannot be empty");
+            require(notEmpty(content), "File content cannot be empty");
+            String fileHash = upperHex(sha256(encode(fileName, uploader, content, safeParam, Long.toString(sealMillis))));
+            require(!files.containsKey(fileHash), "File already exists");
+            files.put(fileHash, new StoredFile(fileName, uploader, content, safeParam, fileHash, sealMillis));
+            userFiles.computeIfAbsent(uploader, key -> new UserFileIndex()).add(fileHash);
+            return fileHash;
+        }, fileName, uploader, content, safeParam);
+        return ChainReceipt.builder()
+                .transactionHash(committed.transactionHash())
+                .fileHash(committed.result())
+                .blockNumber(committed.blockNumber())
+                .success(true)
+                .build();
+    }
+
+    @Override
+    public ChainReceipt storeAttestationBatch(
+            Long tenantId,
+            Long batchId,
+            String batchNo,
+            String proofAlgorithm,
+            String merkleRoot,
+            Integer leafCount
+    ) {
+        String root = requireHash(merkleRoot, "storeAttestationBatch", "Hash must be 32 bytes");
+        String tenant = String.valueOf(tenantId);
+        Committed<String> committed = transact("storeAttestationBatch", sealMillis -> {
+            require(tenantId != null, "Tenant cannot be empty");
+            require(batchId != null && batchId > 0, "Batch ID must be greater than 0");
+            require(notEmpty(batchNo), "Batch number cannot be empty");
+            require(notEmpty(proofAlgorithm), "Proof algorithm cannot be empty");
+            require(!root.equals("0".repeat(64)), "Merkle root cannot be empty");
+            require(leafCount != null && leafCount > 0, "Leaf count must be greater than 0");
+            String key = attestationKey(tenant, batchId);
+            require(!attestations.containsKey(key), "Attestation batch already exists");
+            attestations.put(key, new AttestationRecord(batchNo, proofAlgorithm, root, leafCount, sealMillis));
+            return root;
+        }, tenant, String.valueOf(batchId), batchNo, proofAlgorithm, root, String.valueOf(leafCount));
+        return ChainReceipt.builder()
+                .transactionHash(committed.transactionHash())
+                .fileHash(committed.result())
+                .blockNumber(committed.blockNumber())
+                .success(true)
+                .build();
+    }
+
+    @Override
+    public synchronized ChainAttestationBatch getAttestationBatch(Long tenantId, Long batchId) {
+        AttestationRecord batch = attestations.get(attestationKey(String.valueOf(tenantId), batchId));
+        if (batch == null) {
+            return ChainAttestationBatch.notFound(tenantId, batchId);
+        }
+        return ChainAttestationBatch.builder()
+                .exists(true)
+                .tenantId(tenantId)
+                .batchId(batchId)
+                .batchNo(batch.batchNo())
+                .proofAlgorithm(batch.proofAlgorithm())
+                .merkleRoot(batch.merkleRoot())
+                .leafCount(batch.leafCount())
+                .recordedTime(batch.recordedTime())
+                .build();
+    }
+
+    @Override
+    public synchronized List<ChainFileInfo> getUserFiles(String uploader) {
+        call("getUserFiles", () -> require(notEmpty(uploader), "Uploader name cannot be empty"));
+        UserFileIndex index = userFiles.get(uploader);
+        return index == null ? new ArrayList<>() : toFileInfos(index.hashes);
+    }
+
+    /**
+     * 直接按区间读取账本索引，避免为单页结果复制上传者的完整文件列表。
+     */
+    @Override
+    public synchronized ChainFilePage getUserFilesPage(String uploader, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new ChainException(ChainType.IN_MEMORY, "getUserFilesPage",
+                    "offset must be >= 0 and limit must be > 0");
+        }
+        call("getUserFilesPage", () -> require(notEmpty(uploader), "Uploader name cannot be empty"));
+        UserFileIndex index = userFiles.get(uploader);
+        List<String> hashes = index == null ? List.of() : index.hashes;
+        int total = hashes.size();
+        int from = Math.min(offset, total);
+        int to = (int) Math.min((long) from + limit, total);
+        return ChainFilePage.builder()
+                .files(toFileInfos(hashes.subList(from, to)))
+                .total(total)
+                .nextOffset(to < total ? to : null)
+                .build();
+    }
+
+    private List<ChainFileInfo> toFileInfos(List<String> fileHashes) {
+        List<ChainFileInfo> fileList = new ArrayList<>(fileHashes.size());
+        for (String fileHash : fileHashes) {
+            fileList.add(ChainFileInfo.builder()
+                    .fileName(files.get(fileHash).fileName())
+                    .fileHash(fileHash)
+                    .build());
+        }
+        return fileList;
+    }
+
+    @Override
+    public synchronized ChainFileDetail getFile(String uploader, String fileHash) {
+        String key = requireHash(fileHash, "getFile", "Invalid file hash");
+        call("getFile", () -> {
+            require(notEmpty(uploader), "Uploader name cannot be empty");
+            require(files.containsKey(key), "File does not exist");
+            require(files.get(key).uploader().equals(uploader), "File does not belong to this user");
+        });
+        StoredFile file = files.get(key);
+        return ChainFileDetail.builder()
+                .fileName(file.fileName())
+                .uploader(file.uploader())
+                .content(file.content())
+                .param(file.param())
+                .fileHash(fileHash)
+                .uploadTimestamp(file.uploadTime())
+                .uploadTimeFormatted(Convert.timeStampToDate(file.uploadTime()))
+                .build();
+    }
+
+    @Override
+    public ChainReceipt deleteFiles(String uploader, List<String> fileHashes) {
+        List<String> keys = requireHashes(fileHashes, "deleteFiles");
+        Committed<Boolean> committed = transact("deleteFiles", sealMillis -> {
+            require(notEmpty(uploader), "Uploader name cannot be empty");
+            require(!keys.isEmpty(), "File hashes array cannot be empty");
+            // 合约在同一交易内逐个删除，任一失败整体回滚；先按删除顺序校验再统一落账
+            Set<String> deleted = new HashSet<>();
+            for (String key : keys) {
+                require(files.containsKey(key) && !deleted.contains(key), "One of the files does not exist");
+                require(files.get(key).uploader().equals(uploader), "Not owner of one of the files");
+                deleted.add(key);
+            }
+            UserFileIndex index = userFiles.get(uploader);
+            for (String key : keys) {
+                files.remove(key);
+                index.remove(key);
+            }
+            return true;
+        }, prepend(uploader, keys).toArray(String[]::new));
+        return ChainReceipt.builder()
+                .transactionHash(committed.transactionHash())
+                .blockNumber(committed.blockNumber())
+                .success(true)
+                .build();
+    }
+
+    // ==================== 文件分享操作 ====================
+
+    @Override
+    public ChainReceipt shareFiles(String uploader, List<String> fileHashes, int expireMinutes) {
+        List<String> keys = requireHashes(fileHashes, "shareFiles");
+        Committed<String> committed = transact("shareFiles", sealMillis -> {
+            require(notEmpty(uploader), "Uploader name cannot be empty");
+            require(!keys.isEmpty(), "File hashes array cannot be empty");
+            require(expireMinutes > 0, "Expire minutes must be greater than 0");
+            require(expireMinutes <= MAX_EXPIRE_MINUTES, "Expire minutes cannot exceed 30 days");
+            for (String key : keys) {
+                require(files.containsKey(key), "One of the files does not exist");
+                require(files.get(key).uploader().equals(uploader), "Not owner of one of the files");
+            }
+            String shareCode = nextShareCode(uploader, keys, expireMinutes);
+            while (shares.containsKey(shareCode) && shares.get(shareCode).valid) {
+                shareCode = nextShareCode(uploader, keys, expireMinutes);
+            }
+            long expireTime = sealMillis + expireMinutes * 60_000L;
+            shares.put(shareCode, new ShareRecord(uploader, List.copyOf(keys), expireTime));
+            userShareCodes.computeIfAbsent(uploader, key -> new ArrayList<>()).add(shareCode);
+            return shareCode;
+        }, prepend(uploader, prepend(String.valueOf(expireMinutes), keys)).toArray(String[]::new));
+        return ChainReceipt.builder()
+                .transactionHash(committed.transactionHash())
+                .shareCode(committed.result())
+                .blockNumber(committed.blockNumber())
+                .success(true)
+                .build();
+    }
+
+    /**
+     * 查询分享码对应的文件列表（取消分享时 expireTime=-1，过期时返回原过期时间且文件列表为空）
+     */
+    @Override
+    public synchronized ChainShareInfo getSharedFiles(String shareCode) {
+        ShareRecord share = requireShare(shareCode, "getSharedFiles");
+        List<String> fileList = new ArrayList<>();
+        long expireTime;
+        if (!share.valid) {
+            expireTime = -1L;
+        } else {
+            expireTime = share.expireTime();
+            if (expireTime > clock.millis()) {
+                call("getSharedFiles", () -> {
+                    for (String key : share.fileHashes()) {
+                        require(files.containsKey(key), "One of the shared files does not exist");
+                        require(files.get(key).uploader().equals(share.uploader()), "Shared file owner mismatch");
+                    }
+                });
+                fileList.addAll(share.fileHashes());
+            }
+        }
+        return ChainShareInfo.builder()
+                .uploader(share.uploader())
+                .fileHashList(fileList)
+                .shareCode(shareCode)
+                .expireTimestamp(expireTime)
+                .isValid(expireTime >= 0)
+                .build();
+    }
+
+    @Override
+    public ChainReceipt cancelShare(String shareCode, String uploader) {
+        Committed<Boolean> committed = transact("cancelShare", sealMillis -> {
+            require(shareCode != null && shareCode.length() == SHARE_CODE_LENGTH, "Invalid share code length");
+            require(notEmpty(uploader), "Uploader cannot be empty");
+            ShareRecord share = shares.get(shareCode);
+            require(share != null && share.valid, "Share not found or already cancelled");
+            require(share.uploader().equals(uploader), "Only uploader can cancel");
+            share.valid = false;
+            return true;
+        }, shareCode, uploader);
+        return ChainReceipt.builder()
+                .transactionHash(committed.transactionHash())
+                .blockNumber(committed.blockNumber())
+                .success(true)
+                .build();
+    }
+
+    @Override
+    public synchronized List<String> getUserShareCodes(String uploader) {
+        return new ArrayList<>(userShareCodes.getOrDefault(uploader, List.of()));
+    }
+
+    @Override
+    public synchronized ChainShareInfo getShareInfo(String shareCode) {
+        ShareRecord share = requireShare(shareCode, "getShareInfo");
+        return ChainShareInfo.builder()
+                .uploader(share.uploader())
+                .fileHashList(new ArrayList<>(share.fileHashes()))
+                .shareCode(shareCode)
+                .expireTimestamp(share.expireTime())
+                .isValid(share.valid)
+                .build();
+    }
+
+    // ==================== 链状态查询 ====================
+
+    @Override
+    public synchronized ChainStatus getChainStatus() {
+        long now = clock.millis();
+        return ChainStatus.builder()
+                .chainType(ChainType.IN_MEMORY)
+                .blockNumber(sealedBlock(now))
+                .transactionCount(transactionCount)
+                .failedTransactionCount(failedTransactionCount)
+                .nodeCount(nodeCount)
+                .healthy(true)
+                .lastUpdateTime(now)
+                .build();
+    }
+
+    @Override
+    public synchronized ChainTransaction getTransaction(String txHash) {
+        TransactionRecord transaction = txHash == null ? null : transactions.get(normalizeTxHash(txHash));
+        // 尚未出块的交易与真实节点一样不可查询
+        if (transaction == null || transaction.blockNumber() > sealedBlock(clock.millis())) {
+            throw new ChainException(ChainType.IN_MEMORY, "getTransaction", "Transaction not found");
+        }
+        return ChainTransaction.builder()
+                .hash("0x" + transaction.hash())
+                .chainId(chainId)
+                .from(operatorAddress)
+                .to(contracts.get("Sharing").address())
+                .input(transaction.input())
+                .importTime(transaction.importTime())
+                .blockNumber(transaction.blockNumber())
+                .success(transaction.success())
+                .build();
+    }
+
+    @Override
+    public boolean isHealthy() {
+        ChainStatus status = getChainStatus();
+        return status.isHealthy() && status.getBlockNumber() != null && status.getBlockNumber() > 0;
+    }
+
+    // ==================== 合约注册表核验 ====================
+
+    /**
+     * 模拟链 ID。
+     */
+    public String chainId() {
+        return chainId;
+    }
+
+    /**
+     * 返回创世部署的合约地址。
+     *
+     * @param contractName 合约名称（Sharing / Storage）
+     * @return 小写 0x 地址；未部署时返回 null
+     */
+    public String contractAddress(String contractName) {
+        DeployedContract contract = contracts.get(contractName);
+        return contract == null ? null : contract.address();
+    }
+
+    /**
+     * 返回创世部署交易哈希。
+     *
+     * @param contractName 合约名称（Sharing / Storage）
+     * @return 小写 0x 交易哈希；未部署时返回 null
+     */
+    public String deploymentTransaction(String contractName) {
+        DeployedContract contract = contracts.get(contractName);
+        return contract == null ? null : contract.deploymentTransaction();
+    }
+
+    /**
+     * 读取地址上的 runtime code。
+     *
+     * @return runtime code；地址无合约时返回 "0x"
+     */
+    public String getCode(String address) {
+        DeployedContract contract = findContract(address);
+        return contract == null ? "0x" : contract.runtimeCode();
+    }
+
+    /**
+     * 模拟只读调用合约的 contractIdentity 方法。
+     *
+     * @throws IllegalStateException 地址无合约
+     */
+    public ContractIdentityProbe.ContractIdentity contractIdentity(String address) {
+        DeployedContract contract = findContract(address);
+        if (contract == null) {
+            throw new IllegalStateException("No in-memory contract at " + address);
+        }
+        return new ContractIdentityProbe.ContractIdentity(contract.name(), contract.semanticVersion());
+    }
+
+    /**
+     * 读取创世部署交易回执。
+     *
+     * @throws IllegalStateException 交易不是部署交易
+     */
+    public ContractDeploymentReceiptProbe.DeploymentReceipt deploymentReceipt(String transactionHash) {
+        for (DeployedContract contract : contracts.values()) {
+            if (contract.deploymentTransaction().equalsIgnoreCase(transactionHash)) {
+                return new ContractDeploymentReceiptProbe.DeploymentReceipt(
+                        contract.deploymentTransaction(), contract.address(), GENESIS_BLOCK);
+            }
+        }
+        throw new IllegalStateException("No in-memory deployment receipt for " + transactionHash);
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 执行一笔写交易：在账本锁内分配序号与区块、抽样故障并执行合约逻辑，锁外等待出块与确认。
+     */
+    private <T> Committed<T> transact(String operation, LongFunction<T> contract, String... args) {
+        byte[] input = encode(prepend(operation, Arrays.asList(args)).toArray(String[]::new));
+        String txHash;
+        long blockNumber;
+        long confirmAt;
+        T result = null;
+        String revertReason = null;
+        boolean receiptLost;
+        synchronized (this) {
+            long txSequence = ++sequence;
+            long now = clock.millis();
+            double draw = fraction(sha256(encode("fault", seed, Long.toString(txSequence))));
+            if (draw < rejectRate) {
+                log.debug("{} [{}] 注入故障: 交易被拒绝, sequence={}", logPrefix(), operation, txSequence);
+                throw new ChainException(ChainType.IN_MEMORY, operation, "Injected failure: transaction rejected");
+            }
+            receiptLost = draw < rejectRate + lostReceiptRate;
+            txHash = lowerHex(sha256(encode(seed, chainId, Long.toString(txSequence)), input));
+            blockNumber = blockIntervalMillis == 0 ? ++latestBlock : sealedBlock(now) + 1;
+            long sealMillis = blockIntervalMillis == 0
+                    ? now
+                    : genesisMillis + (blockNumber - GENESIS_BLOCK) * blockIntervalMillis;
+            try {
+                result = contract.apply(sealMillis);
+            } catch (ContractRevert e) {
+                revertReason = e.getMessage();
+            }
+            transactions.put(txHash, new TransactionRecord(
+                    txHash, "0x" + lowerHex(input), blockNumber, now, revertReason == null));
+            transactionCount++;
+            if (revertReason != null) {
+                failedTransactionCount++;
+            }
+            confirmAt = sealMillis + confirmationLatencyMillis;
+        }
+        awaitConfirmation(operation, confirmAt);
+        if (receiptLost) {
+            log.debug("{} [{}] 注入故障: 回执丢失, txHash={}", logPrefix(), operation, txHash);
+            throw new ChainException(ChainType.IN_MEMORY, operation,
+                    "Injected failure: receipt lost for transaction " + txHash);
+        }
+        if (revertReason != null) {
+            log.warn("{} [{}] 合约返回错误: {}", logPrefix(), operation, revertReason);
+            throw new ChainException(ChainType.IN_MEMORY, operation, revertReason);
+        }
+        return new Committed<>(txHash, blockNumber, result);
+    }
+
+    /**
+     * 执行只读调用中的合约校验，把 require 失败转为链操作异常。
+     */
+    private void call(String operation, Runnable checks) {
+        try {
+            checks.run();
+        } catch (ContractRevert e) {
+            throw new ChainException(ChainType.IN_MEMORY, operation, e.getMessage());
+        }
+    }
+
+    private void awaitConfirmation(String operation, long confirmAt) {
+        long delay = confirmAt - clock.millis();
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            sleeper.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChainException(ChainType.IN_MEMORY, operation, "等待交易确认被中断");
+        }
+    }
+
+    /**
+     * 指定时刻已封装的最新区块；创世区块包含两笔合约部署交易。
+     */
+    private long sealedBlock(long now) {
+        if (blockIntervalMillis == 0) {
+            return latestBlock;
+        }
+        return GENESIS_BLOCK + Math.max(0L, now - genesisMillis) / blockIntervalMillis;
+    }
+
+    private ShareRecord requireShare(String shareCode, String operation) {
+        if (shareCode == null || shareCode.length() != SHARE_CODE_LENGTH) {
+            throw new ChainException(ChainType.IN_MEMORY, operation, "Invalid share code length");
+        }
+        ShareRecord share = shares.get(shareCode);
+        if (share == null) {
+            throw new ChainException(ChainType.IN_MEMORY, operation, "Share code does not exist");
+        }
+        return share;
+    }
+
+    /**
+     * 与合约 generateShareCode 相同：由分享参数和递增 nonce 派生 6 位分享码。
+     */
+    private String nextShareCode(String uploader, List<String> fileHashes, int expireMinutes) {
+        List<String> fields = new ArrayList<>(List.of(seed, uploader, Integer.toString(expireMinutes),
+                Long.toString(shareNonce++)));
+        fields.addAll(fileHashes);
+        BigInteger entropy = new BigInteger(1, sha256(encode(fields.toArray(String[]::new))));
+        BigInteger radix = BigInteger.valueOf(SHARE_CODE_CHARSET.length());
+        StringBuilder code = new StringBuilder(SHARE_CODE_LENGTH);
+        for (int i = 0; i < SHARE_CODE_LENGTH; i++) {
+            BigInteger[] division = entropy.divideAndRemainder(radix);
+            code.append(SHARE_CODE_CHARSET.charAt(division[1].intValue()));
+            entropy = division[0];
+        }
+        return code.toString();
+    }
+
+    private void deployGenesis(String name, String semanticVersion, String runtimeCode) {
+        String deploymentHash = lowerHex(sha256(encode("deploy", seed, chainId, name)));
+        contracts.put(name, new DeployedContract(
+                name, semanticVersion, address("contract", name), "0x" + deploymentHash, runtimeCode));
+        transactions.put(deploymentHash, new TransactionRecord(
+                deploymentHash, "0x" + lowerHex(encode("deploy", name)), GENESIS_BLOCK, genesisMillis, true));
+        transactionCount++;
+    }
+
+    private DeployedContract findContract(String address) {
+        for (DeployedContract contract : contracts.values()) {
+            if (contract.address().equalsIgnoreCase(address)) {
+                return contract;
+            }
+        }
+        return null;
+    }
+
+    private String address(String... fields) {
+        String hex = lowerHex(sha256(encode(prepend(seed, Arrays.asList(fields)).toArray(String[]::new))));
+        return "0x" + hex.substring(hex.length() - 40);
+    }
+
+    private String requireHash(String hash, String operation, String message) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new ChainException(ChainType.IN_MEMORY, operation, message);
+        }
+        String hex = hash.startsWith("0x") || hash.startsWith("0X") ? hash.substring(2) : hash;
+        return hex.toUpperCase(Locale.ROOT);
+    }
+
+    private List<String> requireHashes(List<String> hashes, String operation) {
+        if (hashes == null) {
+            return List.of();
+        }
+        return hashes.stream().map(hash -> requireHash(hash, operation, "Invalid file hash")).toList();
+    }
+
+    private static String normalizeTxHash(String txHash) {
+        String hex = txHash.startsWith("0x") || txHash.startsWith("0X") ? txHash.substring(2) : txHash;
+        return hex.toLowerCase(Locale.ROOT);
+    }
+
+    private static String attestationKey(String tenantId, Long batchId) {
+        return tenantId + ":" + batchId;
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new ContractRevert(message);
+        }
+    }
+
+    private static boolean notEmpty(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    private static boolean isProbability(double value) {
+        return value >= 0.0 && value <= 1.0;
+    }
+
+    private static List<String> prepend(String head, List<String> tail) {
+        List<String> fields = new ArrayList<>(tail.size() + 1);
+        fields.add(head);
+        fields.addAll(tail);
+        return fields;
+    }
+
+    /**
+     * 长度前缀编码，保证不同字段切分得到不同字节序列。
+     */
+    private static byte[] encode(String... fields) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (String field : fields) {
+            byte[] bytes = (field == null ? "" : field).getBytes(StandardCharsets.UTF_8);
+            output.write(bytes.length >>> 24);
+            output.write(bytes.length >>> 16);
+            output.write(bytes.length >>> 8);
+            output.write(bytes.length);
+            output.writeBytes(bytes);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    /**
+     * 取摘要前 53 位映射到 [0, 1)。
+     */
+    private static double fraction(byte[] digest) {
+        return (new BigInteger(1, digest).shiftRight(digest.length * 8 - 53).longValue()) / (double) (1L << 53);
+    }
+
+    private static String lowerHex(byte[] bytes) {
+        return HEX.formatHex(bytes);
+    }
+
+    private static String upperHex(byte[] bytes) {
+        return HEX.withUpperCase().formatHex(bytes);
+    }
+
+    private String logPrefix() {
+        return "[" + ChainType.IN_MEMORY.getDisplayName() + "]";
+    }
+
+    /**
+     * 等待出块与确认的休眠策略；测试中替换为推进时钟。
+     */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    /**
+     * 合约 require 失败。
+     */
+    private static final class ContractRevert extends RuntimeException {
+        private ContractRevert(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * 已确认写交易的结果。
+     */
+    private record Committed<T>(String transactionHash, long blockNumber, T result) {
+    }
+
+    private record DeployedContract(
+            String name,
+            String semanticVersion,
+            String address,
+            String deploymentTransaction,
+            String runtimeCode
+    ) {
+    }
+
+    private record StoredFile(
+            String fileName,
+            String uploader,
+            String content,
+            String param,
+            String fileHash,
+            long uploadTime
+    ) {
+    }
+
+    private record AttestationRecord(
+            String batchNo,
+            String proofAlgorithm,
+            String merkleRoot,
+            int leafCount,
+            long recordedTime
+    ) {
+    }
+
+    private record TransactionRecord(
+            String hash,
+            String input,
+            long blockNumber,
+            long importTime,
+            boolean success
+    ) {
+    }
+
+    /**
+     * 分享记录；仅 valid 可被取消操作修改。
+     */
+    private static final class ShareRecord {
+        private final String uploader;
+        private final List<String> fileHashes;
+        private final long expireTime;
+        private boolean valid = true;
+
+        private ShareRecord(String uploader, List<String> fileHashes, long expireTime) {
+            this.uploader = uploader;
+            this.fileHashes = fileHashes;
+            this.expireTime = expireTime;
+        }
+
+        private String uploader() {
+            return uploader;
+        }
+
+        private List<String> fileHashes() {
+            return fileHashes;
+        }
+
+        private long expireTime() {
+            return expireTime;
+        }
+    }
+
+    /**
+     * 用户文件列表，删除时与合约相同地用末尾元素填补空位。
+     */
+    private static final class UserFileIndex {
+        private final List<String> hashes = new ArrayList<>();
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        private void add(String fileHash) {
+            positions.put(fileHash, hashes.size());
+            hashes.add(fileHash);
+        }
+
+        private void remove(String fileHash) {
+            int index = positions.remove(fileHash);
+            int lastIndex = hashes.size() - 1;
+            String last = hashes.remove(lastIndex);
+            if (index != lastIndex) {
+                hashes.set(index, last);
+                positions.put(last, index);
+            }
+        }
+    }
+}
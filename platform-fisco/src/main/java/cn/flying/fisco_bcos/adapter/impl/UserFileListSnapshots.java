@@ -0,0 +1,84 @@
+package cn.flying.fisco_bcos.adapter.impl;
+
+import cn.flying.fisco_bcos.adapter.model.ChainFileInfo;
+import cn.flying.fisco_bcos.adapter.model.ChainFilePage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 按上传者缓存一次分页遍历所用的完整文件列表快照。
+ *
+ * <p>已部署的 Storage/Sharing 合约只提供整表读取，单页请求若各自整表读取，遍历 N 个文件的代价为
+ * O(页数 × N)。{@code offset == 0} 视为一次新遍历的起点，总是重新读取链上列表并保存快照；
+ * 后续页在快照有效期内直接切片，使整次遍历只读取一次合约，并且各页来自同一视图，
+ * 不会因为并发删除的末尾填补而重复或遗漏。快照过期或被容量上限挤出时退回整表读取。
+ */
+final class UserFileListSnapshots {
+
+    static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+    static final int DEFAULT_MAX_UPLOADERS = 1024;
+
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxUploaders;
+    private final LongSupplier nanoClock;
+
+    /**
+     * 使用默认有效期和容量创建快照缓存。
+     */
+    UserFileListSnapshots() {
+        this(DEFAULT_TTL, DEFAULT_MAX_UPLOADERS, System::nanoTime);
+    }
+
+    /**
+     * 使用指定有效期、容量和单调时钟创建快照缓存。
+     */
+    UserFileListSnapshots(Duration ttl, int maxUploaders, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxUploaders = maxUploaders;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 返回指定页；遍历起点或快照失效时通过 loader 整表读取一次。
+     *
+     * @param uploader 上传者标识
+     * @param offset   起始偏移量，调用方已校验非负
+     * @param limit    单页最大条数，调用方已校验为正数
+     * @param loader   整表读取上传者文件列表
+     * @return 当前页文件与文件总数
+     */
+    ChainFilePage page(String uploader, int offset, int limit, Supplier<List<ChainFileInfo>> loader) {
+        long now = nanoClock.getAsLong();
+        Snapshot snapshot = offset == 0 ? null : snapshots.get(uploader);
+        if (snapshot == null || now - snapshot.loadedAtNanos() > ttlNanos) {
+            snapshot = new Snapshot(List.copyOf(loader.get()), now);
+            store(uploader, snapshot, now);
+        }
+        return ChainFilePage.slice(snapshot.files(), offset, limit);
+    }
+
+    /**
+     * 保存快照；达到容量上限时先清理过期快照，仍无空位则本次不缓存。
+     */
+    private void store(String uploader, Snapshot snapshot, long now) {
+        if (!snapshots.containsKey(uploader) && snapshots.size() >= maxUploaders) {
+            snapshots.values().removeIf(existing -> now - existing.loadedAtNanos() > ttlNanos);
+            if (snapshots.size() >= maxUploaders) {
+                return;
+            }
+        }
+        snapshots.put(uploader, snapshot);
+    }
+
+    /**
+     * 一次整表读取的不可变结果与读取时刻。
+     */
+    private record Snapshot(List<ChainFileInfo> files, long loadedAtNanos) {
+    }
+}
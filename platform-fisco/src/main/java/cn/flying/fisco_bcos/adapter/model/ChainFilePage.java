@@ -0,0 +1,53 @@
+package cn.flying.fisco_bcos.adapter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 区块链用户文件分页结果
+ * 用于按偏移量分页读取上传者的文件列表
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChainFilePage {
+
+    /**
+     * 当前页文件基本信息
+     */
+    private List<ChainFileInfo> files;
+
+    /**
+     * 上传者在链上的文件总数
+     */
+    private long total;
+
+    /**
+     * 下一页起始偏移量；已读到末尾时为 null
+     */
+    private Integer nextOffset;
+
+    /**
+     * 从完整列表中截取一页
+     *
+     * @param files  上传者的完整文件列表
+     * @param offset 起始偏移量
+     * @param limit  单页最大条数
+     * @return 分页结果；偏移量越界时返回空页
+     */
+    public static ChainFilePage slice(List<ChainFileInfo> files, int offset, int limit) {
+        int total = files.size();
+        int from = Math.min(offset, total);
+        int to = (int) Math.min((long) from + limit, total);
+        return ChainFilePage.builder()
+                .files(List.copyOf(files.subList(from, to)))
+                .total(total)
+                .nextOffset(to < total ? to : null)
+                .build();
+    }
+}
@@ -25,7 +25,13 @@ public enum ChainType {
      * BSN 托管的 Hyperledger Besu 节点
      * 以太坊兼容链
      */
-    BSN_BESU("bsn-besu", "BSN Hyperledger Besu");
+    BSN_BESU("bsn-besu", "BSN Hyperledger Besu"),
+
+    /**
+     * 进程内模拟账本
+     * 用于离线压测与本地联调，不连接任何节点
+     */
+    IN_MEMORY("in-memory", "内存模拟链");
 
     private final String configValue;
     private final String displayName;
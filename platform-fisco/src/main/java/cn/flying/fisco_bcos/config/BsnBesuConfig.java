@@ -47,6 +47,11 @@ public class BsnBesuConfig {
      */
     private NonceConfig nonce = new NonceConfig();
 
+    /**
+     * 交易回执跟踪配置
+     */
+    private ReceiptConfig receipt = new ReceiptConfig();
+
     @Data
     public static class Wallet {
         /**
@@ -92,5 +97,28 @@ public class BsnBesuConfig {
          * 持久 nonce 状态和 signer 独占锁目录
          */
         private String stateDirectory;
+
+        /**
+         * 单 signer 流水线预留的最大 nonce 窗口；1 表示逐笔串行广播
+         */
+        private Integer pipelineWindow = 1;
+    }
+
+    @Data
+    public static class ReceiptConfig {
+        /**
+         * 区块轮询间隔 (毫秒)
+         */
+        private Long pollIntervalMs = 1_000L;
+
+        /**
+         * 单笔交易等待确认的超时时间 (毫秒)
+         */
+        private Long timeoutMs = 40_000L;
+
+        /**
+         * 单轮最多补扫的区块数，超出时从最新区块重建基线并逐笔查询回执
+         */
+        private Integer maxBlocksPerPoll = 64;
     }
 }
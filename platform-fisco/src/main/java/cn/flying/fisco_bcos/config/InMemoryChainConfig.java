@@ -0,0 +1,62 @@
+package cn.flying.fisco_bcos.config;
+
+import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 内存模拟链配置类
+ * 用于离线压测和本地联调，账本仅存在于当前进程，重启即清空
+ *
+ * <p>激活条件: {@code blockchain.active=in-memory}
+ */
+@Data
+@Configuration
+@ConditionalOnProperty(name = "blockchain.active", havingValue = "in-memory")
+@ConfigurationProperties(prefix = "blockchain.in-memory")
+public class InMemoryChainConfig {
+
+    /**
+     * 模拟链 ID，写入合约注册表条目
+     */
+    private String chainId = "in-memory";
+
+    /**
+     * 确定性种子，参与合约地址、交易哈希、分享码和故障注入的计算
+     */
+    private String seed = "record-platform";
+
+    /**
+     * 出块间隔（毫秒），交易在提交后的下一个区块边界打包；0 表示每笔交易单独出块
+     */
+    private long blockIntervalMs = 1000;
+
+    /**
+     * 区块打包后到返回回执前的额外确认延迟（毫秒），模拟共识与回执传播耗时
+     */
+    private long confirmationLatencyMs = 0;
+
+    /**
+     * 模拟节点数量，仅用于链状态上报
+     */
+    private int nodeCount = 1;
+
+    /**
+     * 故障注入配置
+     */
+    private FailureConfig failure = new FailureConfig();
+
+    @Data
+    public static class FailureConfig {
+        /**
+         * 写交易在执行前被拒绝的概率 [0, 1]，账本状态不变
+         */
+        private double rejectRate = 0.0;
+
+        /**
+         * 写交易已上链但调用方收不到回执的概率 [0, 1]，用于验证链上对账与重试幂等
+         */
+        private double lostReceiptRate = 0.0;
+    }
+}
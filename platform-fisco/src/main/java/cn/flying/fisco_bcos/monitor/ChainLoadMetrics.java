@@ -0,0 +1,228 @@
+package cn.flying.fisco_bcos.monitor;
+
+import cn.flying.fisco_bcos.adapter.model.ChainType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 区块链调用饱和度指标。
+ * 记录阻塞在链 SDK 上的在途调用、nonce 锁与回执等待队列深度，并以 SLO 分桶直方图记录对应耗时。
+ *
+ * <p>仅依赖 {@link MeterRegistry}，适配器和 nonce coordinator 可直接注入，
+ * 不会与依赖适配器的 {@link FiscoMetrics} 形成循环依赖。
+ */
+@Component
+public class ChainLoadMetrics {
+
+    /**
+     * 链操作耗时直方图的 SLO 分桶边界
+     */
+    public static final Duration[] LATENCY_SLOS = {
+            Duration.ofMillis(50),
+            Duration.ofMillis(100),
+            Duration.ofMillis(250),
+            Duration.ofMillis(500),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(2),
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(30)
+    };
+
+    static final String IN_FLIGHT = "blockchain.inflight";
+    static final String CALL_DURATION = "blockchain.call.duration";
+    static final String QUEUE_DEPTH = "blockchain.queue.depth";
+    static final String QUEUE_WAIT = "blockchain.queue.wait";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<MeterKey, Level> levels = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChainLoadMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 创建不接入导出端的本地实例，供脱离 Spring 容器构造的组件使用。
+     */
+    public static ChainLoadMetrics unregistered() {
+        return new ChainLoadMetrics(new SimpleMeterRegistry());
+    }
+
+    /**
+     * 标记一次阻塞在链 SDK 上的调用开始。
+     *
+     * @param chain     链类型
+     * @param operation 合约方法或 RPC 名称
+     * @return 调用结束时关闭的租约，关闭时记录耗时并减少在途数
+     */
+    public Lease sdkCall(ChainType chain, String operation) {
+        MeterKey key = new MeterKey(chain, "operation", operation);
+        return open(
+                level(IN_FLIGHT, key, "阻塞在链 SDK 上的在途调用数"),
+                timer(CALL_DURATION, key, "链 SDK 调用耗时"));
+    }
+
+    /**
+     * 标记一次排队等待开始。
+     *
+     * @param chain 链类型
+     * @param queue 等待的队列
+     * @return 等待结束时关闭的租约，关闭时记录等待耗时并减少队列深度
+     */
+    public Lease enqueue(ChainType chain, Queue queue) {
+        MeterKey key = new MeterKey(chain, "queue", queue.getTag());
+        return open(
+                level(QUEUE_DEPTH, key, "排队等待的调用数"),
+                timer(QUEUE_WAIT, key, "排队等待耗时"));
+    }
+
+    /**
+     * 读取各在途与队列仪表的当前值及上次读取以来的峰值，并将峰值重置为当前值。
+     *
+     * @return 按指标名与标签排序的饱和度快照
+     */
+    public List<Saturation> drainSaturation() {
+        List<Saturation> snapshot = new ArrayList<>();
+        levels.forEach((key, level) -> {
+            int current = level.current.get();
+            int peak = level.peak.getAndSet(current);
+            snapshot.add(new Saturation(level.meter, key, current, Math.max(peak, current)));
+        });
+        snapshot.sort(Comparator.comparing(Saturation::meter)
+                .thenComparing(s -> s.key().chain())
+                .thenComparing(s -> s.key().tagValue()));
+        return snapshot;
+    }
+
+    private Lease open(Level level, Timer timer) {
+        level.enter();
+        return new Lease(level, timer, System.nanoTime());
+    }
+
+    private Level level(String meter, MeterKey key, String description) {
+        // operation 与 queue 两类标签分别对应在途与队列仪表，标签本身即可唯一确定仪表
+        return levels.computeIfAbsent(key, ignored -> {
+            Level level = new Level(meter);
+            Gauge.builder(meter, level.current, AtomicInteger::get)
+                    .description(description)
+                    .tag("chain", key.chain().getConfigValue())
+                    .tag(key.tagKey(), key.tagValue())
+                    .register(registry);
+            return level;
+        });
+    }
+
+    private Timer timer(String meter, MeterKey key, String description) {
+        return timers.computeIfAbsent(key, ignored -> Timer.builder(meter)
+                .description(description)
+                .tag("chain", key.chain().getConfigValue())
+                .tag(key.tagKey(), key.tagValue())
+                .serviceLevelObjectives(LATENCY_SLOS)
+                .register(registry));
+    }
+
+    /**
+     * 等待队列类型
+     */
+    @Getter
+    public enum Queue {
+
+        /**
+         * 等待 signer nonce 锁的发送方
+         */
+        NONCE_LOCK("nonce_lock"),
+
+        /**
+         * 已广播、等待回执的交易
+         */
+        RECEIPT("receipt");
+
+        private final String tag;
+
+        Queue(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * 仪表标签
+     *
+     * @param chain    链类型
+     * @param tagKey   区分维度，operation 或 queue
+     * @param tagValue 维度取值
+     */
+    public record MeterKey(ChainType chain, String tagKey, String tagValue) {
+    }
+
+    /**
+     * 单个仪表的饱和度快照
+     *
+     * @param meter   指标名
+     * @param key     仪表标签
+     * @param current 当前值
+     * @param peak    上次读取以来的峰值
+     */
+    public record Saturation(String meter, MeterKey key, int current, int peak) {
+    }
+
+    /**
+     * 在途或排队租约，关闭操作幂等。
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final Level level;
+        private final Timer timer;
+        private final long startNanos;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(Level level, Timer timer, long startNanos) {
+            this.level = level;
+            this.timer = timer;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                level.exit();
+                timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static final class Level {
+        private final String meter;
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        private Level(String meter) {
+            this.meter = meter;
+        }
+
+        private void enter() {
+            int now = current.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+        }
+
+        private void exit() {
+            current.decrementAndGet();
+        }
+    }
+}
@@ -18,7 +18,7 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * 多链 Prometheus 监控指标 v2.0
  * 支持 LOCAL_FISCO, BSN_FISCO, BSN_BESU 多链监控。
- * 提供区块链操作的计数器、计时器和状态仪表盘。
+ * 提供区块链操作的计数器、计时器和状态仪表盘；在途调用与排队深度见 {@link ChainLoadMetrics}。
  *
  * @see BlockChainAdapter
  */
@@ -71,12 +71,13 @@ public class FiscoMetrics {
                 .tag("type", "connection")
                 .register(registry);
 
-        // 操作计时器 (按链类型区分)
+        // 操作计时器 (按链类型区分)，SLO 分桶供 Prometheus 跨实例聚合分位数
         storeFileTimer = Timer.builder("blockchain.operation.duration")
                 .description("文件存储操作耗时")
                 .tag("chain", chainTag)
                 .tag("operation", "storeFile")
                 .publishPercentiles(0.5, 0.95, 0.99)
+                .serviceLevelObjectives(ChainLoadMetrics.LATENCY_SLOS)
                 .register(registry);
 
         queryFileTimer = Timer.builder("blockchain.operation.duration")
@@ -84,6 +85,7 @@ public class FiscoMetrics {
                 .tag("chain", chainTag)
                 .tag("operation", "queryFile")
                 .publishPercentiles(0.5, 0.95, 0.99)
+                .serviceLevelObjectives(ChainLoadMetrics.LATENCY_SLOS)
                 .register(registry);
 
         deleteFileTimer = Timer.builder("blockchain.operation.duration")
@@ -91,6 +93,7 @@ public class FiscoMetrics {
                 .tag("chain", chainTag)
                 .tag("operation", "deleteFile")
                 .publishPercentiles(0.5, 0.95, 0.99)
+                .serviceLevelObjectives(ChainLoadMetrics.LATENCY_SLOS)
                 .register(registry);
 
         shareFileTimer = Timer.builder("blockchain.operation.duration")
@@ -98,6 +101,7 @@ public class FiscoMetrics {
                 .tag("chain", chainTag)
                 .tag("operation", "shareFile")
                 .publishPercentiles(0.5, 0.95, 0.99)
+                .serviceLevelObjectives(ChainLoadMetrics.LATENCY_SLOS)
                 .register(registry);
 
         // 区块链状态仪表盘 (按链类型区分)
@@ -6,9 +6,12 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * FISCO 监控指标定时刷新任务。
- * 定期从区块链获取最新状态并更新 Prometheus 指标。
+ * 定期从区块链获取最新状态并更新 Prometheus 指标，并输出链调用饱和度摘要。
  */
 @Slf4j
 @Component
@@ -17,6 +20,7 @@ import org.springframework.stereotype.Component;
 public class FiscoMetricsScheduler {
 
     private final FiscoMetrics fiscoMetrics;
+    private final ChainLoadMetrics chainLoadMetrics;
 
     /**
      * 每分钟刷新区块链状态指标
@@ -30,4 +34,30 @@ public class FiscoMetricsScheduler {
             log.warn("刷新区块链状态指标失败: {}", e.getMessage());
         }
     }
+
+    /**
+     * 输出上个周期内的在途调用与排队峰值；周期内没有任何调用时不输出。
+     */
+    @Scheduled(fixedDelayString = "${fisco.metrics.saturation-summary-interval-ms:60000}")
+    public void logSaturationSummary() {
+        try {
+            List<ChainLoadMetrics.Saturation> busy = chainLoadMetrics.drainSaturation().stream()
+                    .filter(saturation -> saturation.peak() > 0)
+                    .toList();
+            if (busy.isEmpty()) {
+                return;
+            }
+            log.info("区块链调用饱和度: {}", busy.stream()
+                    .map(FiscoMetricsScheduler::describe)
+                    .collect(Collectors.joining(", ")));
+        } catch (Exception e) {
+            log.warn("输出区块链调用饱和度摘要失败: {}", e.getMessage());
+        }
+    }
+
+    static String describe(ChainLoadMetrics.Saturation saturation) {
+        ChainLoadMetrics.MeterKey key = saturation.key();
+        return key.chain().getConfigValue() + "/" + key.tagKey() + "=" + key.tagValue()
+                + " current=" + saturation.current() + " peak=" + saturation.peak();
+    }
 }
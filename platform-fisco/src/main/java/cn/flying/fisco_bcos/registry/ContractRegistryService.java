@@ -1,5 +1,6 @@
 package cn.flying.fisco_bcos.registry;
 
+import cn.flying.fisco_bcos.adapter.impl.InMemoryChainAdapter;
 import cn.flying.fisco_bcos.constants.ContractConstants;
 import cn.flying.platformapi.response.ContractRegistryEntryResponse;
 import jakarta.annotation.PostConstruct;
@@ -65,6 +66,7 @@ public class ContractRegistryService {
     private final Environment environment;
     private final ObjectProvider<Client> clientProvider;
     private final ObjectProvider<Web3j> web3jProvider;
+    private final ObjectProvider<InMemoryChainAdapter> inMemoryChainProvider;
 
     private Map<String, ContractRegistryEntryResponse> activeEntries = Map.of();
 
@@ -79,7 +81,8 @@ public class ContractRegistryService {
             ResourceLoader resourceLoader,
             Environment environment,
             ObjectProvider<Client> clientProvider,
-            ObjectProvider<Web3j> web3jProvider
+            ObjectProvider<Web3j> web3jProvider,
+            ObjectProvider<InMemoryChainAdapter> inMemoryChainProvider
     ) {
         this.properties = properties;
         this.fingerprintService = fingerprintService;
@@ -89,6 +92,7 @@ public class ContractRegistryService {
         this.environment = environment;
         this.clientProvider = clientProvider;
         this.web3jProvider = web3jProvider;
+        this.inMemoryChainProvider = inMemoryChainProvider;
     }
 
     /**
@@ -108,7 +112,7 @@ public class ContractRegistryService {
         Set<String> resolvedTransactions = new LinkedHashSet<>();
         for (String contractName : List.of("Sharing", "Storage")) {
             ContractArtifactCatalog.ContractArtifact artifact = activeArtifacts.get(contractName);
-            String address = resolveContractAddress(runtime.mode(), contractName);
+            String address = resolveContractAddress(runtime, contractName);
             if (!resolvedAddresses.add(address)) {
                 throw new IllegalStateException(
                         "Sharing and Storage must use distinct contract addresses");
@@ -414,6 +418,7 @@ public class ContractRegistryService {
         return switch (mode) {
             case "local-fisco", "bsn-fisco" -> inspectFiscoRuntime(mode);
             case "bsn-besu" -> inspectBesuRuntime(mode);
+            case "in-memory" -> inspectInMemoryRuntime(mode);
             default -> throw new IllegalStateException("Unsupported blockchain.active: " + mode);
         };
     }
@@ -461,7 +466,7 @@ public class ContractRegistryService {
                     "Unsupported FISCO crypto type: " + actualCryptoType);
         }
         String chainType = "bsn-fisco".equals(mode) ? "BSN_FISCO" : "LOCAL_FISCO";
-        return new RuntimeContext(mode, chainType, chainId, groupId, cryptoType, client, null);
+        return new RuntimeContext(mode, chainType, chainId, groupId, cryptoType, client, null, null);
     }
 
     /**
@@ -484,16 +489,26 @@ public class ContractRegistryService {
                 throw new IllegalStateException(
                         "Besu chainId mismatch: configured=" + configured + ", actual=" + chainId);
             }
-            return new RuntimeContext(mode, "BSN_BESU", chainId, null, "ecc", null, web3j);
+            return new RuntimeContext(mode, "BSN_BESU", chainId, null, "ecc", null, web3j, null);
         } catch (IOException | NumberFormatException e) {
             throw new IllegalStateException("Cannot verify Besu chain identity", e);
         }
     }
 
     /**
-     * 从当前模式唯一允许的配置命名空间解析合约地址。
+     * 读取进程内模拟链身份；模拟链固定使用 ECC 产物且没有群组概念。
      */
-    private String resolveContractAddress(String mode, String contractName) {
+    private RuntimeContext inspectInMemoryRuntime(String mode) {
+        InMemoryChainAdapter ledger = requireBean(inMemoryChainProvider, "In-memory chain");
+        String chainId = requireChainIdentifier(ledger.chainId(), "in-memory chainId");
+        return new RuntimeContext(mode, "IN_MEMORY", chainId, null, "ecc", null, null, ledger);
+    }
+
+    /**
+     * 从当前模式唯一允许的配置命名空间解析合约地址；模拟链使用其创世部署地址。
+     */
+    private String resolveContractAddress(RuntimeContext runtime, String contractName) {
+        String mode = runtime.mode();
         String suffix = contractName.toLowerCase(Locale.ROOT);
         String address = switch (mode) {
             case "local-fisco" -> firstConfiguredProperty(
@@ -504,6 +519,7 @@ public class ContractRegistryService {
                     "blockchain.bsn-fisco.contracts." + suffix);
             case "bsn-besu" -> environment.getProperty(
                     "blockchain.bsn-besu.contracts." + suffix);
+            case "in-memory" -> runtime.ledger().contractAddress(contractName);
             default -> null;
         };
         if (address == null || !ADDRESS_PATTERN.matcher(address.trim()).matches()) {
@@ -521,6 +537,13 @@ public class ContractRegistryService {
      * 从节点读取目标地址的 runtime code；空代码或 RPC 错误立即失败。
      */
     private String readRuntimeCode(RuntimeContext runtime, String address) {
+        if (runtime.ledger() != null) {
+            String code = runtime.ledger().getCode(address);
+            if (isEmptyCode(code)) {
+                throw new IllegalStateException("No in-memory runtime code at " + address);
+            }
+            return code;
+        }
         if (runtime.client() != null) {
             Code response = runtime.client().getCode(address);
             if (response == null
@@ -568,12 +591,17 @@ public class ContractRegistryService {
             ContractArtifactCatalog.ContractArtifact artifact,
             String address
     ) {
-        ContractIdentityProbe.ContractIdentity identity = runtime.client() != null
-                ? identityProbe.inspectFisco(
-                        runtime.client(),
-                        address,
-                        packagedAbi(artifact.contractName()))
-                : identityProbe.inspectBesu(runtime.web3j(), address);
+        ContractIdentityProbe.ContractIdentity identity;
+        if (runtime.ledger() != null) {
+            identity = runtime.ledger().contractIdentity(address);
+        } else if (runtime.client() != null) {
+            identity = identityProbe.inspectFisco(
+                    runtime.client(),
+                    address,
+                    packagedAbi(artifact.contractName()));
+        } else {
+            identity = identityProbe.inspectBesu(runtime.web3j(), address);
+        }
         if (identity == null) {
             throw new IllegalStateException(
                     "Contract identity probe returned no result at " + address);
@@ -643,6 +671,9 @@ public class ContractRegistryService {
             ContractArtifactCatalog.ContractArtifact artifact,
             String configuredAddress
     ) {
+        if (runtime.ledger() != null) {
+            return resolveInMemoryDeploymentEvidence(runtime.ledger(), artifact, configuredAddress);
+        }
         ContractRegistryProperties.DeploymentEvidence evidence =
                 deploymentEvidence(artifact.contractName());
         String contractName = artifact.contractName();
@@ -715,6 +746,30 @@ public class ContractRegistryService {
         }
     }
 
+    /**
+     * 模拟链每次启动重新创世，部署证据取自其创世回执，生效时间沿用 artifact 生效时间。
+     */
+    private ResolvedDeploymentEvidence resolveInMemoryDeploymentEvidence(
+            InMemoryChainAdapter ledger,
+            ContractArtifactCatalog.ContractArtifact artifact,
+            String address
+    ) {
+        String contractName = artifact.contractName();
+        String transactionHash = ledger.deploymentTransaction(contractName);
+        if (transactionHash == null || !TRANSACTION_HASH_PATTERN.matcher(transactionHash).matches()) {
+            throw new IllegalStateException("Invalid in-memory deployment transaction for " + contractName);
+        }
+        ContractDeploymentReceiptProbe.DeploymentReceipt receipt = ledger.deploymentReceipt(transactionHash);
+        if (!address.equals(receipt.contractAddress())) {
+            throw new IllegalStateException(
+                    contractName + " contract address does not match deployment receipt");
+        }
+        return new ResolvedDeploymentEvidence(
+                receipt.transactionHash(),
+                receipt.blockNumber(),
+                OffsetDateTime.parse(artifact.effectiveAt()).toInstant().toString());
+    }
+
     /**
      * 返回打包 ABI 文本。
      */
@@ -841,7 +896,8 @@ public class ContractRegistryService {
             String groupId,
             String cryptoType,
             Client client,
-            Web3j web3j
+            Web3j web3j,
+            InMemoryChainAdapter ledger
     ) {
     }
 
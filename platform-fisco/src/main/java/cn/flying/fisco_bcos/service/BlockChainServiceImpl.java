@@ -12,6 +12,7 @@ import cn.flying.platformapi.request.CancelShareRequest;
 import cn.flying.platformapi.request.DeleteFilesRequest;
 import cn.flying.platformapi.request.GetShareInfoRequest;
 import cn.flying.platformapi.request.GetAttestationBatchRequest;
+import cn.flying.platformapi.request.GetUserFilesPageRequest;
 import cn.flying.platformapi.request.GetUserShareCodesRequest;
 import cn.flying.platformapi.request.ShareFilesRequest;
 import cn.flying.platformapi.request.StoreAttestationBatchRequest;
@@ -46,6 +47,7 @@ import java.util.List;
 public class BlockChainServiceImpl implements BlockChainService {
 
     private static final int MAX_EXPIRE_MINUTES = 43_200;
+    private static final int MAX_USER_FILES_PAGE_SIZE = 500;
 
     @Resource
     private BlockChainAdapter chainAdapter;
@@ -275,13 +277,7 @@ public class BlockChainServiceImpl implements BlockChainService {
             List<ChainFileInfo> chainFiles = chainAdapter.getUserFiles(uploader);
 
             List<FileVO> fileList = chainFiles.stream()
-                    .map(f -> new FileVO(
-                            f.getFileName(),
-                            f.getFileHash(),
-                            null,
-                            null,
-                            null
-                    ))
+                    .map(BlockChainServiceImpl::toFileVO)
                     .toList();
 
             return Result.success(fileList);
@@ -291,6 +287,35 @@ public class BlockChainServiceImpl implements BlockChainService {
         }
     }
 
+    @Override
+    @Retry(name = "blockchain")
+    @ApiDoc(value = "分页获取用户文件列表")
+    public Result<UserFilePageVO> getUserFilesPage(GetUserFilesPageRequest request) {
+        requireTrustedRpcCaller();
+        try {
+            int offset = request != null && request.offset() != null ? request.offset() : 0;
+            if (!hasText(request != null ? request.uploader() : null) || offset < 0
+                    || request.limit() == null || request.limit() <= 0
+                    || request.limit() > MAX_USER_FILES_PAGE_SIZE) {
+                return new Result<>(
+                        ResultEnum.PARAM_IS_INVALID.getCode(),
+                        "参数错误：offset 不能为负数，limit 需在 1-" + MAX_USER_FILES_PAGE_SIZE + " 范围内",
+                        null
+                );
+            }
+            ChainFilePage page = chainAdapter.getUserFilesPage(request.uploader(), offset, request.limit());
+
+            List<FileVO> fileList = page.getFiles().stream()
+                    .map(BlockChainServiceImpl::toFileVO)
+                    .toList();
+
+            return Result.success(new UserFilePageVO(fileList, page.getTotal(), page.getNextOffset()));
+
+        } catch (Exception e) {
+            return BlockChainExceptionHandler.handle(e, "getUserFilesPage", ResultEnum.GET_USER_FILE_ERROR);
+        }
+    }
+
     @Override
     @Retry(name = "blockchain")
     @ApiDoc(value = "获取单个文件")
@@ -532,6 +557,13 @@ public class BlockChainServiceImpl implements BlockChainService {
         );
     }
 
+    /**
+     * 将链上文件基本信息映射为文件视图，链上不记录大小、时间与类型。
+     */
+    private static FileVO toFileVO(ChainFileInfo file) {
+        return new FileVO(file.getFileName(), file.getFileHash(), null, null, null);
+    }
+
     /**
      * 校验 Dubbo 调用是否携带后端服务共享令牌。
      */
@@ -2,8 +2,11 @@ package cn.flying.fisco_bcos.adapter.impl;
 
 import cn.flying.fisco_bcos.adapter.model.ChainException;
 import cn.flying.fisco_bcos.config.BsnBesuConfig;
+import cn.flying.fisco_bcos.monitor.ChainLoadMetrics;
 import cn.flying.fisco_bcos.registry.ContractRegistryService;
 import cn.flying.platformapi.response.ContractRegistryEntryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +29,7 @@ import org.web3j.utils.Numeric;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -80,6 +84,9 @@ class BsnBesuAdapterTest {
     private final List<String> capturedRawTransactions =
             Collections.synchronizedList(new ArrayList<>());
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BsnBesuReceiptTracker receiptTracker;
     private BsnBesuAdapter adapter;
 
     /**
@@ -104,19 +111,28 @@ class BsnBesuAdapterTest {
 
         BsnBesuConfig config = new BsnBesuConfig();
         config.setChainId(1337L);
+        ChainLoadMetrics loadMetrics = new ChainLoadMetrics(meterRegistry);
         BsnBesuNonceCoordinator coordinator =
-                new BsnBesuNonceCoordinator(new InMemoryStateStore());
+                new BsnBesuNonceCoordinator(new InMemoryStateStore(), 1, loadMetrics);
+        receiptTracker = new BsnBesuReceiptTracker(web3j, 10L, 5_000L, 64, Clock.systemUTC());
         adapter = new BsnBesuAdapter(
                 web3j,
                 CREDENTIALS,
                 new StaticGasProvider(BigInteger.ONE, BigInteger.valueOf(4_500_000L)),
                 config,
                 contractRegistryService,
-                coordinator
+                coordinator,
+                receiptTracker,
+                loadMetrics
         );
         adapter.init();
     }
 
+    @AfterEach
+    void tearDown() {
+        receiptTracker.shutdown();
+    }
+
     /**
      * 验证 batch 与普通文件写并发时获得唯一连续 nonce 和不同 payload。
      */
@@ -312,6 +328,29 @@ class BsnBesuAdapterTest {
         verifyPendingNonceOnly();
     }
 
+    /**
+     * 验证写交易的 PENDING 查询、广播、nonce 锁与回执等待均计入饱和度指标，结束后在途数归零。
+     */
+    @Test
+    void shouldPublishSaturationMetricsForWritePath() {
+        nodePending.set(BigInteger.valueOf(120));
+
+        adapter.storeFile("uploader", "file", "[]", "{}");
+
+        assertThat(meterRegistry.get("blockchain.call.duration")
+                .tags("chain", "bsn-besu", "operation", "getPendingNonce").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("blockchain.call.duration")
+                .tags("chain", "bsn-besu", "operation", "storeFile").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("blockchain.queue.wait")
+                .tags("chain", "bsn-besu", "queue", "nonce_lock").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("blockchain.queue.wait")
+                .tags("chain", "bsn-besu", "queue", "receipt").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("blockchain.inflight").gauges())
+                .allSatisfy(gauge -> assertThat(gauge.value()).isZero());
+        assertThat(meterRegistry.get("blockchain.queue.depth").gauges())
+                .allSatisfy(gauge -> assertThat(gauge.value()).isZero());
+    }
+
     /**
      * 同步启动两个写调用，并在有界时间内等待完成。
      */
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.web3j.crypto.Credentials;
 import org.web3j.crypto.Hash;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthSendTransaction;
 
 import java.io.IOException;
@@ -15,6 +16,7 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -144,6 +146,204 @@ class BsnBesuFileNonceStateStoreTest {
         }
     }
 
+    /**
+     * 验证流水线窗口广播中途进程退出后，重启实例在 PENDING 越过整个窗口前只在 PENDING 处发送，
+     * 不重用节点已持有的窗口内 nonce，越过后从窗口终点继续而不跳过 nonce。
+     */
+    @Test
+    void shouldNeitherReuseNorSkipReservedWindowAfterRestart() throws Exception {
+        BsnBesuFileNonceStateStore firstStore = newStore(CHAIN_ID, FIRST_CREDENTIALS);
+        firstStore.initialize();
+        BsnBesuNonceCoordinator firstCoordinator = new BsnBesuNonceCoordinator(firstStore, 4);
+        BsnBesuQueuedSenders.Result result = BsnBesuQueuedSenders.sendConcurrently(
+                firstCoordinator,
+                FIRST_CREDENTIALS.getAddress(),
+                4,
+                BigInteger.valueOf(25),
+                raw -> {
+                    // 模拟进程在 nonce 27、28 离开本机前退出
+                    if (BsnBesuQueuedSenders.nonceOf(raw).compareTo(BigInteger.valueOf(27)) >= 0) {
+                        throw new IOException("process killed");
+                    }
+                    return accepted(raw);
+                }
+        );
+        assertThat(result.signedNonces()).hasSize(4);
+        firstStore.close();
+
+        BsnBesuFileNonceStateStore restartedStore = newStore(CHAIN_ID, FIRST_CREDENTIALS);
+        try {
+            restartedStore.initialize();
+            assertThat(restartedStore.load(FIRST_CREDENTIALS.getAddress())).isEqualTo(
+                    new BsnBesuNonceStateStore.PersistedState(
+                            BigInteger.valueOf(29),
+                            BigInteger.valueOf(25),
+                            BsnBesuNonceStateStore.Outcome.RESERVED,
+                            null,
+                            null
+                    )
+            );
+            BsnBesuNonceCoordinator pipelined = new BsnBesuNonceCoordinator(restartedStore, 4);
+            List<BigInteger> selected = new ArrayList<>();
+            for (long pending = 27; pending <= 29; pending++) {
+                long nodePending = pending;
+                pipelined.send(
+                        FIRST_CREDENTIALS.getAddress(),
+                        () -> BigInteger.valueOf(nodePending),
+                        nonce -> {
+                            selected.add(nonce);
+                            return BsnBesuQueuedSenders.payload(nonce, 9);
+                        },
+                        BsnBesuFileNonceStateStoreTest::accepted
+                );
+            }
+            assertThat(selected).containsExactly(
+                    BigInteger.valueOf(27),
+                    BigInteger.valueOf(28),
+                    BigInteger.valueOf(29)
+            );
+        } finally {
+            restartedStore.close();
+        }
+    }
+
+    /**
+     * 验证流水线窗口中途留下空洞后以串行模式重启，串行 coordinator 在 PENDING 处补洞而不是永久要求人工对账，
+     * 补洞结果不确定时仍阻止重用，PENDING 越过窗口终点后恢复常规串行推进。
+     */
+    @Test
+    void shouldRefillReservedWindowHoleAfterRestartInSerialMode() throws Exception {
+        BsnBesuFileNonceStateStore firstStore = newStore(CHAIN_ID, FIRST_CREDENTIALS);
+        firstStore.initialize();
+        BsnBesuNonceCoordinator firstCoordinator = new BsnBesuNonceCoordinator(firstStore, 4);
+        EthSendTransaction rejected = new EthSendTransaction();
+        rejected.setError(new Response.Error(-32000, "intrinsic gas too low"));
+        BsnBesuQueuedSenders.sendConcurrently(
+                firstCoordinator,
+                FIRST_CREDENTIALS.getAddress(),
+                4,
+                BigInteger.valueOf(60),
+                raw -> {
+                    BigInteger nonce = BsnBesuQueuedSenders.nonceOf(raw);
+                    return nonce.equals(BigInteger.valueOf(61)) || nonce.equals(BigInteger.valueOf(63))
+                            ? rejected
+                            : accepted(raw);
+                }
+        );
+        firstStore.close();
+
+        BsnBesuFileNonceStateStore restartedStore = newStore(CHAIN_ID, FIRST_CREDENTIALS);
+        try {
+            restartedStore.initialize();
+            BsnBesuNonceCoordinator serial = new BsnBesuNonceCoordinator(restartedStore);
+            List<BigInteger> selected = new ArrayList<>();
+            serial.send(
+                    FIRST_CREDENTIALS.getAddress(),
+                    () -> BigInteger.valueOf(61),
+                    nonce -> {
+                        selected.add(nonce);
+                        return BsnBesuQueuedSenders.payload(nonce, 9);
+                    },
+                    BsnBesuFileNonceStateStoreTest::accepted
+            );
+            assertThat(selected).containsExactly(BigInteger.valueOf(61));
+
+            // 补齐 61 后 PENDING 停在第二个空洞 63，补洞广播超时
+            assertThatThrownBy(() -> serial.send(
+                    FIRST_CREDENTIALS.getAddress(),
+                    () -> BigInteger.valueOf(63),
+                    nonce -> BsnBesuQueuedSenders.payload(nonce, 10),
+                    raw -> {
+                        throw new IOException("timeout");
+                    }
+            )).isInstanceOf(IOException.class);
+            assertThatThrownBy(() -> serial.send(
+                    FIRST_CREDENTIALS.getAddress(),
+                    () -> BigInteger.valueOf(63),
+                    nonce -> BsnBesuQueuedSenders.payload(nonce, 11),
+                    BsnBesuFileNonceStateStoreTest::accepted
+            )).isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("unresolved broadcast");
+
+            // 超时的补洞交易最终进入 mempool，PENDING 越过窗口终点后恢复常规串行推进
+            serial.send(
+                    FIRST_CREDENTIALS.getAddress(),
+                    () -> BigInteger.valueOf(64),
+                    nonce -> {
+                        selected.add(nonce);
+                        return BsnBesuQueuedSenders.payload(nonce, 12);
+                    },
+                    BsnBesuFileNonceStateStoreTest::accepted
+            );
+            assertThat(selected).containsExactly(BigInteger.valueOf(61), BigInteger.valueOf(64));
+            BsnBesuNonceStateStore.PersistedState persisted =
+                    restartedStore.load(FIRST_CREDENTIALS.getAddress());
+            assertThat(persisted.outcome()).isEqualTo(BsnBesuNonceStateStore.Outcome.ACCEPTED);
+            assertThat(persisted.nextNonce()).isEqualTo(BigInteger.valueOf(65));
+        } finally {
+            restartedStore.close();
+        }
+    }
+
+    /**
+     * 验证窗口内被拒绝的 nonce 补齐后重启，节点 nonce 序列连续且每个 nonce 只被接受一次。
+     */
+    @Test
+    void shouldKeepNonceSequenceContiguousAcrossGapRefillAndRestart() throws Exception {
+        BsnBesuFileNonceStateStore firstStore = newStore(CHAIN_ID, FIRST_CREDENTIALS);
+        firstStore.initialize();
+        BsnBesuNonceCoordinator firstCoordinator = new BsnBesuNonceCoordinator(firstStore, 4);
+        List<BigInteger> acceptedNonces = Collections.synchronizedList(new ArrayList<>());
+        EthSendTransaction rejected = new EthSendTransaction();
+        rejected.setError(new Response.Error(-32000, "intrinsic gas too low"));
+        BsnBesuNonceCoordinator.RawTransactionBroadcaster node = raw -> {
+            BigInteger nonce = BsnBesuQueuedSenders.nonceOf(raw);
+            if (nonce.equals(BigInteger.valueOf(41)) && !raw.endsWith("0009")) {
+                return rejected;
+            }
+            acceptedNonces.add(nonce);
+            return accepted(raw);
+        };
+
+        BsnBesuQueuedSenders.sendConcurrently(
+                firstCoordinator,
+                FIRST_CREDENTIALS.getAddress(),
+                4,
+                BigInteger.valueOf(40),
+                node
+        );
+        firstCoordinator.send(
+                FIRST_CREDENTIALS.getAddress(),
+                () -> BigInteger.valueOf(41),
+                nonce -> BsnBesuQueuedSenders.payload(nonce, 9),
+                node
+        );
+        firstStore.close();
+
+        BsnBesuFileNonceStateStore restartedStore = newStore(CHAIN_ID, FIRST_CREDENTIALS);
+        try {
+            restartedStore.initialize();
+            BsnBesuNonceCoordinator restartedCoordinator =
+                    new BsnBesuNonceCoordinator(restartedStore, 4);
+            restartedCoordinator.send(
+                    FIRST_CREDENTIALS.getAddress(),
+                    () -> BigInteger.valueOf(44),
+                    nonce -> BsnBesuQueuedSenders.payload(nonce, 10),
+                    node
+            );
+        } finally {
+            restartedStore.close();
+        }
+
+        assertThat(acceptedNonces).containsExactlyInAnyOrder(
+                BigInteger.valueOf(40),
+                BigInteger.valueOf(41),
+                BigInteger.valueOf(42),
+                BigInteger.valueOf(43),
+                BigInteger.valueOf(44)
+        );
+    }
+
     /**
      * 验证不同 signer 在同一持久目录中使用独立锁和状态文件。
      */
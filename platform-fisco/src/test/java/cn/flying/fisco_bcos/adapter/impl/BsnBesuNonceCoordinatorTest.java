@@ -1,5 +1,7 @@
 package cn.flying.fisco_bcos.adapter.impl;
 
+import cn.flying.fisco_bcos.monitor.ChainLoadMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.web3j.crypto.Hash;
 import org.web3j.protocol.core.Response;
@@ -15,6 +17,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -396,6 +399,273 @@ class BsnBesuNonceCoordinatorTest {
                 .hasMessageContaining("inconsistent with outcome ACCEPTED");
     }
 
+    /**
+     * 验证串行模式下等待 signer 锁的发送方计入 nonce 锁队列深度，全部完成后归零并保留峰值。
+     */
+    @Test
+    void shouldPublishNonceLockQueueDepth() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ChainLoadMetrics loadMetrics = new ChainLoadMetrics(meterRegistry);
+        BsnBesuNonceCoordinator coordinator = new BsnBesuNonceCoordinator(new InMemoryStateStore(), 1, loadMetrics);
+        AtomicInteger depthAtFirstBroadcast = new AtomicInteger(-1);
+
+        BsnBesuQueuedSenders.Result result = BsnBesuQueuedSenders.sendConcurrently(
+                coordinator,
+                SIGNER,
+                4,
+                BigInteger.valueOf(60),
+                raw -> {
+                    depthAtFirstBroadcast.compareAndSet(-1, (int) meterRegistry.get("blockchain.queue.depth")
+                            .tags("chain", "bsn-besu", "queue", "nonce_lock").gauge().value());
+                    return accepted(raw);
+                }
+        );
+
+        assertThat(result.failures()).isEmpty();
+        assertThat(depthAtFirstBroadcast).hasValue(3);
+        assertThat(meterRegistry.get("blockchain.queue.wait")
+                .tags("chain", "bsn-besu", "queue", "nonce_lock").timer().count()).isEqualTo(4L);
+        assertThat(loadMetrics.drainSaturation()).singleElement().satisfies(saturation -> {
+            assertThat(saturation.current()).isZero();
+            assertThat(saturation.peak()).isEqualTo(3);
+        });
+    }
+
+    /**
+     * 验证流水线模式为排队调用方只查询一次 PENDING、落盘一次窗口，并在锁外并行广播。
+     */
+    @Test
+    void shouldReserveOneWindowAndBroadcastOutsideSignerLock() throws Exception {
+        InMemoryStateStore stateStore = new InMemoryStateStore();
+        BsnBesuNonceCoordinator coordinator = new BsnBesuNonceCoordinator(stateStore, 8);
+        CyclicBarrier broadcastBarrier = new CyclicBarrier(4);
+
+        BsnBesuQueuedSenders.Result result = BsnBesuQueuedSenders.sendConcurrently(
+                coordinator,
+                SIGNER,
+                4,
+                BigInteger.valueOf(60),
+                raw -> awaitAndAccept(broadcastBarrier, raw)
+        );
+
+        assertThat(result.failures()).isEmpty();
+        assertThat(result.signedNonces()).containsExactlyInAnyOrder(
+                BigInteger.valueOf(60), BigInteger.valueOf(61), BigInteger.valueOf(62), BigInteger.valueOf(63));
+        assertThat(stateStore.saves).hasValue(1);
+        assertThat(stateStore.load(SIGNER)).isEqualTo(new BsnBesuNonceStateStore.PersistedState(
+                BigInteger.valueOf(64),
+                BigInteger.valueOf(60),
+                BsnBesuNonceStateStore.Outcome.RESERVED,
+                null,
+                null
+        ));
+    }
+
+    /**
+     * 验证窗口中被明确拒绝的 nonce 由下一请求优先补齐，之后才推进到新窗口。
+     */
+    @Test
+    void shouldRefillRejectedNonceBeforeReservingNextWindow() throws Exception {
+        InMemoryStateStore stateStore = new InMemoryStateStore();
+        BsnBesuNonceCoordinator coordinator = new BsnBesuNonceCoordinator(stateStore, 8);
+        EthSendTransaction rejected = new EthSendTransaction();
+        rejected.setError(new Response.Error(-32602, "invalid params"));
+
+        BsnBesuQueuedSenders.Result result = BsnBesuQueuedSenders.sendConcurrently(
+                coordinator,
+                SIGNER,
+                4,
+                BigInteger.valueOf(60),
+                raw -> BsnBesuQueuedSenders.nonceOf(raw).equals(BigInteger.valueOf(61))
+                        ? rejected
+                        : accepted(raw)
+        );
+        assertThat(result.failures()).isEmpty();
+
+        AtomicInteger pendingQueries = new AtomicInteger();
+        AtomicReference<BigInteger> refilledNonce = new AtomicReference<>();
+        coordinator.send(
+                SIGNER,
+                () -> {
+                    pendingQueries.incrementAndGet();
+                    return BigInteger.valueOf(61);
+                },
+                nonce -> {
+                    refilledNonce.set(nonce);
+                    return BsnBesuQueuedSenders.payload(nonce, 9);
+                },
+                BsnBesuNonceCoordinatorTest::accepted
+        );
+        AtomicReference<BigInteger> nextNonce = new AtomicReference<>();
+        coordinator.send(
+                SIGNER,
+                () -> BigInteger.valueOf(64),
+                nonce -> {
+                    nextNonce.set(nonce);
+                    return BsnBesuQueuedSenders.payload(nonce, 10);
+                },
+                BsnBesuNonceCoordinatorTest::accepted
+        );
+
+        assertThat(refilledNonce).hasValue(BigInteger.valueOf(61));
+        assertThat(pendingQueries).hasValue(0);
+        assertThat(nextNonce).hasValue(BigInteger.valueOf(64));
+    }
+
+    /**
+     * 验证本地签名失败释放的 nonce 同样由下一请求补齐。
+     */
+    @Test
+    void shouldRefillNonceReleasedByLocalFailure() throws Exception {
+        InMemoryStateStore stateStore = new InMemoryStateStore();
+        BsnBesuNonceCoordinator coordinator = new BsnBesuNonceCoordinator(stateStore, 4);
+        assertThatThrownBy(() -> coordinator.send(
+                SIGNER,
+                () -> BigInteger.valueOf(70),
+                nonce -> {
+                    throw new IOException("local signing failed");
+                },
+                BsnBesuNonceCoordinatorTest::accepted
+        )).isInstanceOf(IOException.class);
+
+        AtomicReference<BigInteger> reusedNonce = new AtomicReference<>();
+        coordinator.send(
+                SIGNER,
+                () -> BigInteger.valueOf(70),
+                nonce -> {
+                    reusedNonce.set(nonce);
+                    return "0x70";
+                },
+                BsnBesuNonceCoordinatorTest::accepted
+        );
+
+        assertThat(reusedNonce).hasValue(BigInteger.valueOf(70));
+    }
+
+    /**
+     * 验证窗口中结果不确定的 nonce 在 PENDING 越过前阻止预留新窗口，且不会被补齐重用。
+     */
+    @Test
+    void shouldBlockNewWindowUntilPendingPassesUnknownMidWindowNonce() throws Exception {
+        InMemoryStateStore stateStore = new InMemoryStateStore();
+        BsnBesuNonceCoordinator coordinator = new BsnBesuNonceCoordinator(stateStore, 8);
+
+        BsnBesuQueuedSenders.Result result = BsnBesuQueuedSenders.sendConcurrently(
+                coordinator,
+                SIGNER,
+                4,
+                BigInteger.valueOf(80),
+                raw -> {
+                    if (BsnBesuQueuedSenders.nonceOf(raw).equals(BigInteger.valueOf(82))) {
+                        throw new IOException("connection reset");
+                    }
+                    return accepted(raw);
+                }
+        );
+        assertThat(result.failures()).singleElement().isInstanceOf(IOException.class);
+
+        assertThatThrownBy(() -> coordinator.send(
+                SIGNER,
+                () -> BigInteger.valueOf(82),
+                nonce -> BsnBesuQueuedSenders.payload(nonce, 9),
+                BsnBesuNonceCoordinatorTest::accepted
+        )).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("manual reconciliation");
+
+        AtomicReference<BigInteger> nextNonce = new AtomicReference<>();
+        coordinator.send(
+                SIGNER,
+                () -> BigInteger.valueOf(84),
+                nonce -> {
+                    nextNonce.set(nonce);
+                    return BsnBesuQueuedSenders.payload(nonce, 10);
+                },
+                BsnBesuNonceCoordinatorTest::accepted
+        );
+        assertThat(nextNonce).hasValue(BigInteger.valueOf(84));
+    }
+
+    /**
+     * 验证窗口中途留下空洞后进程崩溃，重启后在 PENDING 处补洞，PENDING 越过窗口终点后恢复新窗口。
+     */
+    @Test
+    void shouldRefillHoleAtPendingAfterRestartWithHoleMidWindow() throws Exception {
+        InMemoryStateStore stateStore = new InMemoryStateStore();
+        BsnBesuNonceCoordinator crashedCoordinator = new BsnBesuNonceCoordinator(stateStore, 8);
+        EthSendTransaction rejected = new EthSendTransaction();
+        rejected.setError(new Response.Error(-32602, "invalid params"));
+
+        BsnBesuQueuedSenders.Result result = BsnBesuQueuedSenders.sendConcurrently(
+                crashedCoordinator,
+                SIGNER,
+                4,
+                BigInteger.valueOf(90),
+                raw -> BsnBesuQueuedSenders.nonceOf(raw).equals(BigInteger.valueOf(91))
+                        ? rejected
+                        : accepted(raw)
+        );
+        assertThat(result.failures()).isEmpty();
+
+        // 节点 PENDING 停在空洞 91，92、93 在 mempool 中排队
+        AtomicReference<BigInteger> nodePending = new AtomicReference<>(BigInteger.valueOf(91));
+        BsnBesuNonceCoordinator restartedCoordinator = new BsnBesuNonceCoordinator(stateStore, 8);
+        AtomicReference<BigInteger> refilledNonce = new AtomicReference<>();
+        restartedCoordinator.send(
+                SIGNER,
+                nodePending::get,
+                nonce -> {
+                    refilledNonce.set(nonce);
+                    return BsnBesuQueuedSenders.payload(nonce, 9);
+                },
+                raw -> {
+                    nodePending.set(BigInteger.valueOf(94));
+                    return accepted(raw);
+                }
+        );
+        assertThat(refilledNonce).hasValue(BigInteger.valueOf(91));
+        assertThat(stateStore.saves).hasValue(1);
+
+        AtomicReference<BigInteger> nextNonce = new AtomicReference<>();
+        restartedCoordinator.send(
+                SIGNER,
+                nodePending::get,
+                nonce -> {
+                    nextNonce.set(nonce);
+                    return BsnBesuQueuedSenders.payload(nonce, 10);
+                },
+                BsnBesuNonceCoordinatorTest::accepted
+        );
+        assertThat(nextNonce).hasValue(BigInteger.valueOf(94));
+        assertThat(stateStore.load(SIGNER)).isEqualTo(new BsnBesuNonceStateStore.PersistedState(
+                BigInteger.valueOf(95),
+                BigInteger.valueOf(94),
+                BsnBesuNonceStateStore.Outcome.RESERVED,
+                null,
+                null
+        ));
+    }
+
+    /**
+     * 验证 RESERVED 状态必须是非空窗口且不携带交易哈希。
+     */
+    @Test
+    void shouldRejectEmptyOrHashedReservationState() {
+        assertThatThrownBy(() -> new BsnBesuNonceStateStore.PersistedState(
+                BigInteger.valueOf(5),
+                BigInteger.valueOf(5),
+                BsnBesuNonceStateStore.Outcome.RESERVED,
+                null,
+                null
+        )).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BsnBesuNonceStateStore.PersistedState(
+                BigInteger.valueOf(8),
+                BigInteger.valueOf(5),
+                BsnBesuNonceStateStore.Outcome.RESERVED,
+                "0x" + "a".repeat(64),
+                null
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
     /**
      * 在 barrier 中等待另一个 signer 后返回与本地 payload 匹配的成功响应。
      */
@@ -426,6 +696,7 @@ class BsnBesuNonceCoordinatorTest {
      */
     private static final class InMemoryStateStore implements BsnBesuNonceStateStore {
         private final Map<String, PersistedState> states = new ConcurrentHashMap<>();
+        private final AtomicInteger saves = new AtomicInteger();
 
         /**
          * 按规范化 signer 读取测试状态。
@@ -440,6 +711,7 @@ class BsnBesuNonceCoordinatorTest {
          */
         @Override
         public void save(String canonicalSigner, PersistedState state) {
+            saves.incrementAndGet();
             states.put(canonicalSigner.toLowerCase(), state);
         }
     }
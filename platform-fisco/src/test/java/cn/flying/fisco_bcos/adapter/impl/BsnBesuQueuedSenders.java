@@ -0,0 +1,116 @@
+package cn.flying.fisco_bcos.adapter.impl;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 让多个调用方同时排队在同一 signer 上发送，用于构造流水线 nonce 窗口。
+ *
+ * <p>首个调用方在 PENDING 查询中等待其余调用方全部阻塞在 signer 锁上，
+ * 因此首个窗口覆盖全部调用方。签名 payload 编码 nonce 与调用方序号，可由 {@link #nonceOf} 还原。
+ */
+final class BsnBesuQueuedSenders {
+
+    private BsnBesuQueuedSenders() {
+    }
+
+    /**
+     * 并发发送并等待全部调用方结束。
+     *
+     * @param coordinator 流水线 coordinator
+     * @param signer      签名地址
+     * @param callers     并发调用方数量
+     * @param pending     节点 PENDING nonce
+     * @param broadcaster 广播器
+     * @return 每个调用方签名所用 nonce 与失败信息；广播未返回的调用方在超时后仍以守护线程存在
+     */
+    static Result sendConcurrently(
+            BsnBesuNonceCoordinator coordinator,
+            String signer,
+            int callers,
+            BigInteger pending,
+            BsnBesuNonceCoordinator.RawTransactionBroadcaster broadcaster
+    ) throws Exception {
+        List<BigInteger> signedNonces = Collections.synchronizedList(new ArrayList<>());
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> followers = new ArrayList<>();
+        CountDownLatch leaderQuerying = new CountDownLatch(1);
+
+        Thread leader = new Thread(() -> send(coordinator, signer, 0, () -> {
+            leaderQuerying.countDown();
+            awaitParked(followers);
+            return pending;
+        }, broadcaster, signedNonces, failures), "queued-sender-0");
+        for (int i = 1; i < callers; i++) {
+            int caller = i;
+            followers.add(new Thread(() -> send(coordinator, signer, caller, () -> pending,
+                    broadcaster, signedNonces, failures), "queued-sender-" + i));
+        }
+
+        leader.setDaemon(true);
+        followers.forEach(follower -> follower.setDaemon(true));
+        leader.start();
+        if (!leaderQuerying.await(5, TimeUnit.SECONDS)) {
+            throw new AssertionError("leader did not reach PENDING query");
+        }
+        followers.forEach(Thread::start);
+        leader.join(TimeUnit.SECONDS.toMillis(10));
+        for (Thread follower : followers) {
+            follower.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        return new Result(List.copyOf(signedNonces), List.copyOf(failures));
+    }
+
+    /**
+     * 从 {@link #payload} 生成的签名 payload 中还原 nonce。
+     */
+    static BigInteger nonceOf(String signedRawTransaction) {
+        return new BigInteger(signedRawTransaction.substring(2, 10), 16);
+    }
+
+    /**
+     * 生成编码 nonce 与调用方序号的伪签名 payload。
+     */
+    static String payload(BigInteger nonce, int caller) {
+        return String.format("0x%08x%04x", nonce, caller);
+    }
+
+    private static void send(
+            BsnBesuNonceCoordinator coordinator,
+            String signer,
+            int caller,
+            BsnBesuNonceCoordinator.PendingNonceSupplier pendingNonceSupplier,
+            BsnBesuNonceCoordinator.RawTransactionBroadcaster broadcaster,
+            List<BigInteger> signedNonces,
+            List<Throwable> failures
+    ) {
+        try {
+            coordinator.send(signer, pendingNonceSupplier, nonce -> {
+                signedNonces.add(nonce);
+                return payload(nonce, caller);
+            }, broadcaster);
+        } catch (Throwable throwable) {
+            failures.add(throwable);
+        }
+    }
+
+    private static void awaitParked(List<Thread> followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!followers.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("followers did not queue on the signer lock");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * 并发发送结果。
+     */
+    record Result(List<BigInteger> signedNonces, List<Throwable> failures) {
+    }
+}
@@ -0,0 +1,363 @@
+package cn.flying.fisco_bcos.adapter.impl;
+
+import cn.flying.fisco_bcos.adapter.model.ChainException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 使用进程内 JSON-RPC 假节点验证共享回执跟踪器的区块扫描、补查与超时行为。
+ */
+class BsnBesuReceiptTrackerTest {
+
+    private static final long IDLE_POLL_INTERVAL_MILLIS = 60_000L;
+
+    private FakeBesuNode node;
+    private Web3j web3j;
+    private BsnBesuReceiptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        node = new FakeBesuNode();
+        web3j = Web3j.build(node);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (tracker != null) {
+            tracker.shutdown();
+        }
+        web3j.shutdown();
+    }
+
+    /**
+     * 验证大量在途交易由一次区块扫描批量确认，空闲轮次只查询区块高度。
+     */
+    @Test
+    void shouldResolveManyInFlightTransactionsFromOneBlockScan() throws Exception {
+        tracker = new BsnBesuReceiptTracker(web3j, IDLE_POLL_INTERVAL_MILLIS, 30_000L, 64, Clock.systemUTC());
+        List<String> hashes = transactionHashes("bulk", 50);
+        List<CompletableFuture<TransactionReceipt>> receipts = new ArrayList<>();
+        for (String hash : hashes) {
+            node.submit(hash);
+            receipts.add(tracker.track(hash));
+        }
+        awaitCondition(() -> node.receiptCalls.get() == hashes.size());
+
+        for (int i = 0; i < 5; i++) {
+            tracker.pollOnce();
+        }
+        assertThat(node.receiptCalls.get()).isEqualTo(hashes.size());
+        assertThat(node.blockByNumberCalls.get()).isZero();
+        assertThat(receipts).noneMatch(CompletableFuture::isDone);
+
+        long minedBlock = node.mine();
+        tracker.pollOnce();
+
+        for (int i = 0; i < hashes.size(); i++) {
+            TransactionReceipt receipt = receipts.get(i).get(1, TimeUnit.SECONDS);
+            assertThat(receipt.getTransactionHash()).isEqualTo(hashes.get(i));
+            assertThat(receipt.getBlockNumber()).isEqualTo(BigInteger.valueOf(minedBlock));
+            assertThat(receipt.isStatusOK()).isTrue();
+        }
+        assertThat(node.blockByNumberCalls.get()).isEqualTo(1);
+        assertThat(node.receiptCalls.get()).isEqualTo(2 * hashes.size());
+        assertThat(tracker.pendingCount()).isZero();
+    }
+
+    /**
+     * 验证登记前已打包的交易通过登记后的直接查询确认。
+     */
+    @Test
+    void shouldResolveTransactionMinedBeforeTracking() throws Exception {
+        tracker = new BsnBesuReceiptTracker(web3j, IDLE_POLL_INTERVAL_MILLIS, 30_000L, 64, Clock.systemUTC());
+        String hash = Hash.sha3String("already-mined");
+        node.submit(hash);
+        node.mine();
+
+        TransactionReceipt receipt = tracker.awaitReceipt(hash);
+
+        assertThat(receipt.getTransactionHash()).isEqualTo(hash);
+        assertThat(node.blockByNumberCalls.get()).isZero();
+    }
+
+    /**
+     * 验证落后区块超过单轮上限时重建基线并逐笔补查，而不是扫描全部历史区块。
+     */
+    @Test
+    void shouldRebaseWhenTooManyBlocksWereMissed() throws Exception {
+        tracker = new BsnBesuReceiptTracker(web3j, IDLE_POLL_INTERVAL_MILLIS, 30_000L, 4, Clock.systemUTC());
+        String hash = Hash.sha3String("after-gap");
+        node.submit(hash);
+        CompletableFuture<TransactionReceipt> receipt = tracker.track(hash);
+        awaitCondition(() -> node.receiptCalls.get() == 1);
+
+        for (int i = 0; i < 10; i++) {
+            node.mine();
+        }
+        tracker.pollOnce();
+
+        assertThat(receipt.get(1, TimeUnit.SECONDS).getTransactionHash()).isEqualTo(hash);
+        assertThat(node.blockByNumberCalls.get()).isZero();
+    }
+
+    /**
+     * 验证基线建立后的直接回执查询遇到一次节点错误时不标记为已查询，下轮重试后确认基线之前打包的交易。
+     */
+    @Test
+    void shouldRetryDirectLookupAfterTransientReceiptError() throws Exception {
+        tracker = new BsnBesuReceiptTracker(web3j, IDLE_POLL_INTERVAL_MILLIS, 30_000L, 64, Clock.systemUTC());
+        String hash = Hash.sha3String("transient-error");
+        node.submit(hash);
+        node.mine();
+        node.failNextReceiptCalls.set(1);
+
+        CompletableFuture<TransactionReceipt> receipt = tracker.track(hash);
+        awaitCondition(() -> node.receiptCalls.get() == 1);
+        assertThat(receipt).isNotDone();
+
+        tracker.pollOnce();
+
+        assertThat(receipt.get(1, TimeUnit.SECONDS).getTransactionHash()).isEqualTo(hash);
+        assertThat(node.receiptCalls.get()).isEqualTo(2);
+        assertThat(node.blockByNumberCalls.get()).isZero();
+        assertThat(tracker.pendingCount()).isZero();
+    }
+
+    /**
+     * 验证超过等待时间仍未打包的交易以超时异常结束并移出跟踪表。
+     */
+    @Test
+    void shouldFailTransactionsThatAreNeverMined() throws Exception {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        tracker = new BsnBesuReceiptTracker(web3j, IDLE_POLL_INTERVAL_MILLIS, 1_000L, 64, clock);
+        String hash = Hash.sha3String("dropped");
+        node.submit(hash);
+        CompletableFuture<TransactionReceipt> receipt = tracker.track(hash);
+
+        clock.advance(Duration.ofSeconds(2));
+        tracker.pollOnce();
+
+        assertThatThrownBy(() -> receipt.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("Transaction not confirmed in time");
+        assertThat(tracker.pendingCount()).isZero();
+    }
+
+    /**
+     * 验证并发等待的调用方共享同一轮询线程，回执查询次数与交易数成线性而非与等待时长成正比。
+     */
+    @Test
+    void shouldServeConcurrentCallersFromOnePoller() throws Exception {
+        tracker = new BsnBesuReceiptTracker(web3j, 20L, 30_000L, 64, Clock.systemUTC());
+        int callers = 32;
+        List<String> hashes = transactionHashes("concurrent", callers);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        ScheduledExecutorService miner = Executors.newSingleThreadScheduledExecutor();
+        try {
+            miner.scheduleAtFixedRate(node::mine, 50L, 50L, TimeUnit.MILLISECONDS);
+            List<Future<TransactionReceipt>> results = new ArrayList<>();
+            for (String hash : hashes) {
+                results.add(executor.submit(() -> {
+                    node.submit(hash);
+                    return tracker.awaitReceipt(hash);
+                }));
+            }
+            for (int i = 0; i < callers; i++) {
+                assertThat(results.get(i).get(10, TimeUnit.SECONDS).getTransactionHash()).isEqualTo(hashes.get(i));
+            }
+
+            assertThat(node.receiptCalls.get()).isLessThanOrEqualTo(2 * callers);
+            assertThat(tracker.pendingCount()).isZero();
+        } finally {
+            miner.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<String> transactionHashes(String prefix, int count) {
+        List<String> hashes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hashes.add(Hash.sha3String(prefix + "-" + i));
+        }
+        return hashes;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not reached in time").isLessThan(deadline);
+            Thread.sleep(5L);
+        }
+    }
+
+    /**
+     * 按需出块的进程内 JSON-RPC 节点，仅实现回执跟踪所需的方法。
+     */
+    private static final class FakeBesuNode extends Service {
+
+        private final List<String> mempool = new ArrayList<>();
+        private final List<List<String>> blocks = new ArrayList<>();
+        private final Map<String, Long> minedIn = new HashMap<>();
+
+        private final AtomicInteger blockNumberCalls = new AtomicInteger();
+        private final AtomicInteger blockByNumberCalls = new AtomicInteger();
+        private final AtomicInteger receiptCalls = new AtomicInteger();
+        private final AtomicInteger failNextReceiptCalls = new AtomicInteger();
+
+        private FakeBesuNode() {
+            super(false);
+            blocks.add(List.of());
+        }
+
+        synchronized void submit(String txHash) {
+            mempool.add(txHash);
+        }
+
+        /**
+         * 将当前交易池打包为新区块并返回区块高度。
+         */
+        synchronized long mine() {
+            long number = blocks.size();
+            blocks.add(List.copyOf(mempool));
+            mempool.forEach(hash -> minedIn.put(hash, number));
+            mempool.clear();
+            return number;
+        }
+
+        @Override
+        protected InputStream performIO(String payload) throws IOException {
+            JsonNode request = objectMapper.readTree(payload);
+            JsonNode params = request.path("params");
+            Object result = switch (request.path("method").asText()) {
+                case "eth_blockNumber" -> {
+                    blockNumberCalls.incrementAndGet();
+                    yield Numeric.encodeQuantity(BigInteger.valueOf(latestBlock()));
+                }
+                case "eth_getBlockByNumber" -> {
+                    blockByNumberCalls.incrementAndGet();
+                    yield block(Numeric.decodeQuantity(params.get(0).asText()).longValue());
+                }
+                case "eth_getTransactionReceipt" -> {
+                    receiptCalls.incrementAndGet();
+                    if (failNextReceiptCalls.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                        throw new IOException("injected receipt lookup failure");
+                    }
+                    yield receipt(params.get(0).asText());
+                }
+                default -> throw new IOException("unsupported method " + request.path("method").asText());
+            };
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("jsonrpc", "2.0");
+            response.put("id", request.path("id").asLong());
+            response.put("result", result);
+            return new ByteArrayInputStream(objectMapper.writeValueAsBytes(response));
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private synchronized long latestBlock() {
+            return blocks.size() - 1L;
+        }
+
+        private synchronized Map<String, Object> block(long number) {
+            if (number < 0 || number >= blocks.size()) {
+                return null;
+            }
+            Map<String, Object> block = new LinkedHashMap<>();
+            block.put("number", Numeric.encodeQuantity(BigInteger.valueOf(number)));
+            block.put("hash", blockHash(number));
+            block.put("transactions", blocks.get((int) number));
+            return block;
+        }
+
+        private synchronized Map<String, Object> receipt(String txHash) {
+            Long number = minedIn.get(txHash);
+            if (number == null) {
+                return null;
+            }
+            Map<String, Object> receipt = new LinkedHashMap<>();
+            receipt.put("transactionHash", txHash);
+            receipt.put("transactionIndex", "0x0");
+            receipt.put("blockHash", blockHash(number));
+            receipt.put("blockNumber", Numeric.encodeQuantity(BigInteger.valueOf(number)));
+            receipt.put("cumulativeGasUsed", "0x5208");
+            receipt.put("gasUsed", "0x5208");
+            receipt.put("status", "0x1");
+            receipt.put("logs", List.of());
+            return receipt;
+        }
+
+        private static String blockHash(long number) {
+            return Hash.sha3String("block-" + number);
+        }
+    }
+
+    /**
+     * 可手动推进的测试时钟。
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package cn.flying.fisco_bcos.adapter.impl;
+
+import cn.flying.fisco_bcos.adapter.model.ChainAttestationBatch;
+import cn.flying.fisco_bcos.adapter.model.ChainException;
+import cn.flying.fisco_bcos.adapter.model.ChainFileInfo;
+import cn.flying.fisco_bcos.adapter.model.ChainFilePage;
+import cn.flying.fisco_bcos.adapter.model.ChainReceipt;
+import cn.flying.fisco_bcos.adapter.model.ChainShareInfo;
+import cn.flying.fisco_bcos.adapter.model.ChainType;
+import cn.flying.fisco_bcos.config.InMemoryChainConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 使用可推进时钟验证内存模拟链的合约语义、出块确认与故障注入。
+ */
+class InMemoryChainAdapterTest {
+
+    private static final Instant GENESIS = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String MERKLE_ROOT = "ab".repeat(32);
+
+    private MutableClock clock;
+    private List<Long> sleeps;
+    private InMemoryChainConfig config;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(GENESIS);
+        sleeps = new ArrayList<>();
+        config = new InMemoryChainConfig();
+        config.setBlockIntervalMs(0);
+    }
+
+    /**
+     * 验证相同种子和调用序列得到相同的交易哈希、文件哈希与分享码。
+     */
+    @Test
+    void shouldProduceDeterministicHashesForSameCallSequence() {
+        List<String> first = runScript(new MutableClock(GENESIS));
+        List<String> second = runScript(new MutableClock(GENESIS));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.get(0)).matches("[0-9a-f]{64}");
+        assertThat(first.get(1)).matches("[0-9A-F]{64}");
+        assertThat(first.get(2)).hasSize(6);
+
+        config.setSeed("another-seed");
+        assertThat(runScript(new MutableClock(GENESIS)).get(0)).isNotEqualTo(first.get(0));
+    }
+
+    /**
+     * 验证文件存取、按合约规则的列表顺序以及批量删除的整体回滚。
+     */
+    @Test
+    void shouldApplyStorageContractSemantics() {
+        InMemoryChainAdapter adapter = newAdapter();
+        String a = adapter.storeFile("alice", "a.txt", "[\"a\"]", "{}").getFileHash();
+        String b = adapter.storeFile("alice", "b.txt", "[\"b\"]", "{}").getFileHash();
+        String c = adapter.storeFile("alice", "c.txt", "[\"c\"]", "{}").getFileHash();
+
+        assertThat(adapter.getFile("alice", "0x" + b.toLowerCase()).getFileName()).isEqualTo("b.txt");
+        assertThat(adapter.getFile("alice", a).getUploadTimestamp()).isEqualTo(GENESIS.toEpochMilli());
+        assertThatThrownBy(() -> adapter.getFile("bob", a))
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("File does not belong to this user");
+
+        assertThatThrownBy(() -> adapter.deleteFiles("alice", List.of(a, "00".repeat(32))))
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("One of the files does not exist");
+        assertThat(adapter.getUserFiles("alice")).hasSize(3);
+
+        adapter.deleteFiles("alice", List.of(a));
+
+        // 合约用末尾元素填补被删除的位置
+        assertThat(adapter.getUserFiles("alice")).extracting(ChainFileInfo::getFileHash).containsExactly(c, b);
+        assertThat(adapter.getChainStatus().getFailedTransactionCount()).isEqualTo(1L);
+    }
+
+    /**
+     * 验证分页读取与完整列表顺序一致，越界偏移返回空页。
+     */
+    @Test
+    void shouldPageUserFilesInContractOrder() {
+        InMemoryChainAdapter adapter = newAdapter();
+        for (int i = 0; i < 5; i++) {
+            adapter.storeFile("alice", "f" + i + ".txt", "[\"" + i + "\"]", "{}");
+        }
+        List<String> all = adapter.getUserFiles("alice").stream().map(ChainFileInfo::getFileHash).toList();
+
+        ChainFilePage first = adapter.getUserFilesPage("alice", 0, 2);
+        ChainFilePage last = adapter.getUserFilesPage("alice", 4, 2);
+
+        assertThat(first.getFiles()).extracting(ChainFileInfo::getFileHash).containsExactlyElementsOf(all.subList(0, 2));
+        assertThat(first.getTotal()).isEqualTo(5L);
+        assertThat(first.getNextOffset()).isEqualTo(2);
+        assertThat(last.getFiles()).extracting(ChainFileInfo::getFileHash).containsExactly(all.get(4));
+        assertThat(last.getNextOffset()).isNull();
+        assertThat(adapter.getUserFilesPage("alice", 9, 2).getFiles()).isEmpty();
+        assertThat(adapter.getUserFilesPage("bob", 0, 2).getTotal()).isZero();
+        assertThatThrownBy(() -> adapter.getUserFilesPage("alice", -1, 2))
+                .isInstanceOf(ChainException.class);
+    }
+
+    /**
+     * 验证分享的创建、查询、过期与取消语义。
+     */
+    @Test
+    void shouldApplySharingContractSemantics() {
+        InMemoryChainAdapter adapter = newAdapter();
+        String fileHash = adapter.storeFile("alice", "a.txt", "[\"a\"]", "{}").getFileHash();
+        assertThatThrownBy(() -> adapter.shareFiles("bob", List.of(fileHash), 10))
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("Not owner of one of the files");
+
+        String expiring = adapter.shareFiles("alice", List.of(fileHash), 1).getShareCode();
+        String cancelled = adapter.shareFiles("alice", List.of(fileHash), 10).getShareCode();
+
+        assertThat(adapter.getSharedFiles(expiring).getFileHashList()).containsExactly(fileHash);
+        assertThat(adapter.getUserShareCodes("alice")).containsExactly(expiring, cancelled);
+        assertThatThrownBy(() -> adapter.cancelShare(cancelled, "bob"))
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("Only uploader can cancel");
+
+        adapter.cancelShare(cancelled, "alice");
+        clock.advance(Duration.ofMinutes(2));
+
+        ChainShareInfo expired = adapter.getSharedFiles(expiring);
+        assertThat(expired.getFileHashList()).isEmpty();
+        assertThat(expired.getIsValid()).isTrue();
+        ChainShareInfo revoked = adapter.getSharedFiles(cancelled);
+        assertThat(revoked.getExpireTimestamp()).isEqualTo(-1L);
+        assertThat(revoked.getIsValid()).isFalse();
+        assertThat(adapter.getShareInfo(cancelled).getFileHashList()).containsExactly(fileHash);
+        assertThatThrownBy(() -> adapter.getShareInfo("ZZZZZZ"))
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("Share code does not exist");
+    }
+
+    /**
+     * 验证批量存证按租户与批次去重，并可按业务键对账。
+     */
+    @Test
+    void shouldStoreAttestationBatchOncePerBusinessKey() {
+        InMemoryChainAdapter adapter = newAdapter();
+
+        ChainReceipt receipt = adapter.storeAttestationBatch(7L, 1L, "B-1", "sha256-merkle", MERKLE_ROOT, 3);
+
+        assertThat(receipt.getFileHash()).isEqualTo(MERKLE_ROOT.toUpperCase());
+        ChainAttestationBatch batch = adapter.getAttestationBatch(7L, 1L);
+        assertThat(batch.getExists()).isTrue();
+        assertThat(batch.getLeafCount()).isEqualTo(3);
+        assertThat(adapter.getAttestationBatch(8L, 1L).getExists()).isFalse();
+        assertThatThrownBy(() -> adapter.storeAttestationBatch(7L, 1L, "B-1", "sha256-merkle", MERKLE_ROOT, 3))
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("Attestation batch already exists");
+    }
+
+    /**
+     * 验证写交易在下一个区块边界打包，并在确认延迟后返回回执。
+     */
+    @Test
+    void shouldWaitForNextBlockAndConfirmationLatency() {
+        config.setBlockIntervalMs(1_000);
+        config.setConfirmationLatencyMs(250);
+        InMemoryChainAdapter adapter = newAdapter();
+        clock.advance(Duration.ofMillis(400));
+
+        ChainReceipt receipt = adapter.storeFile("alice", "a.txt", "[\"a\"]", "{}");
+
+        assertThat(receipt.getBlockNumber()).isEqualTo(2L);
+        assertThat(sleeps).containsExactly(850L);
+        assertThat(adapter.getChainStatus().getBlockNumber()).isEqualTo(2L);
+        assertThat(adapter.getTransaction("0x" + receipt.getTransactionHash()).getBlockNumber()).isEqualTo(2L);
+        assertThat(adapter.getFile("alice", receipt.getFileHash()).getUploadTimestamp())
+                .isEqualTo(GENESIS.plusSeconds(1).toEpochMilli());
+    }
+
+    /**
+     * 验证出块间隔为 0 时每笔交易单独出块且不等待。
+     */
+    @Test
+    void shouldSealOneBlockPerTransactionWithoutInterval() {
+        InMemoryChainAdapter adapter = newAdapter();
+
+        ChainReceipt first = adapter.storeFile("alice", "a.txt", "[\"a\"]", "{}");
+        ChainReceipt second = adapter.storeFile("alice", "b.txt", "[\"b\"]", "{}");
+
+        assertThat(first.getBlockNumber()).isEqualTo(2L);
+        assertThat(second.getBlockNumber()).isEqualTo(3L);
+        assertThat(sleeps).isEmpty();
+        assertThat(adapter.isHealthy()).isTrue();
+        assertThat(adapter.getChainStatus().getChainType()).isEqualTo(ChainType.IN_MEMORY);
+    }
+
+    /**
+     * 验证被拒绝的交易不改变账本，回执丢失的交易已上链且可对账。
+     */
+    @Test
+    void shouldInjectRejectedAndLostReceiptFailures() {
+        config.getFailure().setRejectRate(1.0);
+        InMemoryChainAdapter rejecting = newAdapter();
+        assertThatThrownBy(() -> rejecting.storeFile("alice", "a.txt", "[\"a\"]", "{}"))
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("transaction rejected");
+        assertThat(rejecting.getUserFiles("alice")).isEmpty();
+
+        config.getFailure().setRejectRate(0.0);
+        config.getFailure().setLostReceiptRate(1.0);
+        InMemoryChainAdapter losing = newAdapter();
+        assertThatThrownBy(() -> losing.storeAttestationBatch(7L, 1L, "B-1", "sha256-merkle", MERKLE_ROOT, 3))
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("receipt lost");
+        assertThat(losing.getAttestationBatch(7L, 1L).getExists()).isTrue();
+    }
+
+    /**
+     * 验证部分比例注入按序号确定性抽样，两次运行失败位置一致。
+     */
+    @Test
+    void shouldSampleFailuresDeterministically() {
+        config.getFailure().setRejectRate(0.3);
+        List<Integer> first = rejectedPositions(newAdapter());
+        List<Integer> second = rejectedPositions(newAdapter());
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEmpty().hasSizeLessThan(100);
+    }
+
+    /**
+     * 验证非法故障比例在启动时被拒绝。
+     */
+    @Test
+    void shouldRejectInvalidFailureRates() {
+        config.getFailure().setRejectRate(0.6);
+        config.getFailure().setLostReceiptRate(0.6);
+
+        assertThatThrownBy(this::newAdapter).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 验证创世部署的合约地址、runtime code 与合约自声明身份。
+     */
+    @Test
+    void shouldExposeGenesisDeployments() {
+        InMemoryChainAdapter adapter = newAdapter();
+        String sharing = adapter.contractAddress("Sharing");
+
+        assertThat(sharing).matches("0x[0-9a-f]{40}").isNotEqualTo(adapter.contractAddress("Storage"));
+        assertThat(adapter.getCode(sharing)).isNotEqualTo("0x");
+        assertThat(adapter.contractIdentity(sharing).semanticVersion()).isEqualTo("2.0.0");
+        assertThat(adapter.deploymentReceipt(adapter.deploymentTransaction("Sharing")).contractAddress())
+                .isEqualTo(sharing);
+        assertThatThrownBy(() -> adapter.getTransaction("0x" + "0".repeat(64)))
+                .isInstanceOf(ChainException.class)
+                .hasMessageContaining("Transaction not found");
+    }
+
+    private InMemoryChainAdapter newAdapter() {
+        return new InMemoryChainAdapter(config, clock, millis -> {
+            sleeps.add(millis);
+            clock.advance(Duration.ofMillis(millis));
+        });
+    }
+
+    /**
+     * 在独立时钟上执行固定调用序列，返回各步产生的标识。
+     */
+    private List<String> runScript(MutableClock scriptClock) {
+        InMemoryChainAdapter adapter = new InMemoryChainAdapter(config, scriptClock, millis -> {
+        });
+        ChainReceipt stored = adapter.storeFile("alice", "a.txt", "[\"a\"]", "{}");
+        ChainReceipt shared = adapter.shareFiles("alice", List.of(stored.getFileHash()), 10);
+        ChainReceipt attested = adapter.storeAttestationBatch(7L, 1L, "B-1", "sha256-merkle", MERKLE_ROOT, 3);
+        return List.of(
+                stored.getTransactionHash(),
+                stored.getFileHash(),
+                shared.getShareCode(),
+                shared.getTransactionHash(),
+                attested.getTransactionHash());
+    }
+
+    private List<Integer> rejectedPositions(InMemoryChainAdapter adapter) {
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            try {
+                adapter.storeFile("alice", "f" + i, "[\"" + i + "\"]", "{}");
+            } catch (ChainException e) {
+                rejected.add(i);
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * 可手动推进的测试时钟。
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package cn.flying.fisco_bcos.adapter.impl;
+
+import cn.flying.fisco_bcos.adapter.model.ChainFileInfo;
+import cn.flying.fisco_bcos.adapter.model.ChainFilePage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 验证用户文件分页遍历只整表读取一次，且快照过期、容量满时退回整表读取。
+ */
+class UserFileListSnapshotsTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<ChainFileInfo> chainFiles = new ArrayList<>(files(5));
+
+    /**
+     * 验证一次完整遍历只读取一次链上列表，后续页看到的是遍历起点的同一视图。
+     */
+    @Test
+    void shouldReadFullListOncePerTraversal() {
+        UserFileListSnapshots snapshots = new UserFileListSnapshots(Duration.ofSeconds(60), 8, nanos::get);
+
+        ChainFilePage first = snapshots.page("alice", 0, 2, loader());
+        chainFiles.remove(0);
+        ChainFilePage second = snapshots.page("alice", 2, 2, loader());
+        ChainFilePage last = snapshots.page("alice", 4, 2, loader());
+
+        assertThat(loads).hasValue(1);
+        assertThat(first.getFiles()).extracting(ChainFileInfo::getFileName).containsExactly("f0", "f1");
+        assertThat(second.getFiles()).extracting(ChainFileInfo::getFileName).containsExactly("f2", "f3");
+        assertThat(last.getFiles()).extracting(ChainFileInfo::getFileName).containsExactly("f4");
+        assertThat(last.getTotal()).isEqualTo(5);
+        assertThat(last.getNextOffset()).isNull();
+
+        snapshots.page("alice", 0, 2, loader());
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * 验证快照过期后的后续页重新读取链上列表。
+     */
+    @Test
+    void shouldReloadExpiredSnapshot() {
+        UserFileListSnapshots snapshots = new UserFileListSnapshots(Duration.ofSeconds(60), 8, nanos::get);
+
+        snapshots.page("alice", 0, 2, loader());
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+        ChainFilePage second = snapshots.page("alice", 2, 2, loader());
+
+        assertThat(loads).hasValue(2);
+        assertThat(second.getTotal()).isEqualTo(5);
+    }
+
+    /**
+     * 验证达到容量上限时不缓存新上传者，但仍返回正确分页结果。
+     */
+    @Test
+    void shouldBypassCacheWhenFullOfLiveSnapshots() {
+        UserFileListSnapshots snapshots = new UserFileListSnapshots(Duration.ofSeconds(60), 1, nanos::get);
+
+        snapshots.page("alice", 0, 2, loader());
+        snapshots.page("bob", 0, 2, loader());
+        ChainFilePage bobSecond = snapshots.page("bob", 2, 2, loader());
+        snapshots.page("alice", 2, 2, loader());
+
+        assertThat(loads).hasValue(3);
+        assertThat(bobSecond.getFiles()).extracting(ChainFileInfo::getFileName).containsExactly("f2", "f3");
+    }
+
+    /**
+     * 返回计数的整表读取器。
+     */
+    private Supplier<List<ChainFileInfo>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return List.copyOf(chainFiles);
+        };
+    }
+
+    /**
+     * 生成指定数量的文件基本信息。
+     */
+    private static List<ChainFileInfo> files(int count) {
+        List<ChainFileInfo> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(ChainFileInfo.builder().fileName("f" + i).fileHash("%064x".formatted(i)).build());
+        }
+        return files;
+    }
+}
@@ -0,0 +1,101 @@
+package cn.flying.fisco_bcos.monitor;
+
+import cn.flying.fisco_bcos.adapter.model.ChainType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChainLoadMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ChainLoadMetrics metrics = new ChainLoadMetrics(registry);
+
+    /**
+     * 验证在途调用按链类型与操作分别计数，租约关闭后归零且重复关闭不会重复扣减。
+     */
+    @Test
+    void shouldTrackInFlightCallsPerOperation() {
+        ChainLoadMetrics.Lease first = metrics.sdkCall(ChainType.LOCAL_FISCO, "storeFile");
+        ChainLoadMetrics.Lease second = metrics.sdkCall(ChainType.LOCAL_FISCO, "storeFile");
+        ChainLoadMetrics.Lease query = metrics.sdkCall(ChainType.LOCAL_FISCO, "getFile");
+
+        assertThat(inFlight("storeFile")).isEqualTo(2.0);
+        assertThat(inFlight("getFile")).isEqualTo(1.0);
+
+        first.close();
+        first.close();
+        second.close();
+        query.close();
+
+        assertThat(inFlight("storeFile")).isZero();
+        assertThat(registry.get("blockchain.call.duration")
+                .tags("chain", "local-fisco", "operation", "storeFile").timer().count()).isEqualTo(2L);
+    }
+
+    /**
+     * 验证耗时直方图按 SLO 边界分桶。
+     */
+    @Test
+    void shouldBucketDurationsBySlo() {
+        metrics.enqueue(ChainType.BSN_BESU, ChainLoadMetrics.Queue.RECEIPT).close();
+        Timer timer = registry.get("blockchain.queue.wait")
+                .tags("chain", "bsn-besu", "queue", "receipt").timer();
+        timer.record(700, TimeUnit.MILLISECONDS);
+
+        CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+
+        assertThat(buckets).extracting(bucket -> (long) bucket.bucket(TimeUnit.MILLISECONDS))
+                .containsExactlyElementsOf(Arrays.stream(ChainLoadMetrics.LATENCY_SLOS)
+                        .map(Duration::toMillis)
+                        .toList());
+        assertThat(buckets[3].count()).isEqualTo(1.0);
+        assertThat(buckets[4].count()).isEqualTo(2.0);
+    }
+
+    /**
+     * 验证饱和度快照报告周期峰值，读取后峰值重置为当前值。
+     */
+    @Test
+    void shouldReportAndResetPeaks() {
+        ChainLoadMetrics.Lease first = metrics.enqueue(ChainType.BSN_BESU, ChainLoadMetrics.Queue.NONCE_LOCK);
+        ChainLoadMetrics.Lease second = metrics.enqueue(ChainType.BSN_BESU, ChainLoadMetrics.Queue.NONCE_LOCK);
+        second.close();
+
+        assertThat(metrics.drainSaturation()).singleElement().satisfies(saturation -> {
+            assertThat(saturation.meter()).isEqualTo("blockchain.queue.depth");
+            assertThat(saturation.current()).isEqualTo(1);
+            assertThat(saturation.peak()).isEqualTo(2);
+        });
+
+        first.close();
+
+        assertThat(metrics.drainSaturation()).singleElement().satisfies(saturation ->
+                assertThat(saturation.peak()).isEqualTo(1));
+        assertThat(metrics.drainSaturation()).singleElement().satisfies(saturation ->
+                assertThat(saturation.peak()).isZero());
+    }
+
+    /**
+     * 验证调度器摘要包含链、维度与峰值。
+     */
+    @Test
+    void shouldDescribeSaturationForSummary() {
+        metrics.sdkCall(ChainType.BSN_FISCO, "shareFiles").close();
+
+        String summary = FiscoMetricsScheduler.describe(metrics.drainSaturation().getFirst());
+
+        assertThat(summary).isEqualTo("bsn-fisco/operation=shareFiles current=0 peak=1");
+    }
+
+    private double inFlight(String operation) {
+        return registry.get("blockchain.inflight")
+                .tags("chain", "local-fisco", "operation", operation).gauge().value();
+    }
+}
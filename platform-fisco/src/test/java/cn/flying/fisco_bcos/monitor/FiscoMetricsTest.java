@@ -0,0 +1,36 @@
+package cn.flying.fisco_bcos.monitor;
+
+import cn.flying.fisco_bcos.adapter.BlockChainAdapter;
+import cn.flying.fisco_bcos.adapter.model.ChainType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FiscoMetricsTest {
+
+    /**
+     * 验证各操作计时器按链类型打标并发布 SLO 分桶直方图。
+     */
+    @Test
+    void shouldPublishSloHistogramsPerOperationAndChain() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BlockChainAdapter adapter = mock(BlockChainAdapter.class);
+        when(adapter.getChainType()).thenReturn(ChainType.BSN_BESU);
+        FiscoMetrics metrics = new FiscoMetrics(registry, adapter);
+        metrics.init();
+
+        metrics.stopStoreTimer(metrics.startStoreTimer());
+
+        for (String operation : new String[]{"storeFile", "queryFile", "deleteFile", "shareFile"}) {
+            Timer timer = registry.get("blockchain.operation.duration")
+                    .tags("chain", "bsn-besu", "operation", operation).timer();
+            assertThat(timer.takeSnapshot().histogramCounts()).hasSize(ChainLoadMetrics.LATENCY_SLOS.length);
+        }
+        assertThat(registry.get("blockchain.operation.duration")
+                .tags("chain", "bsn-besu", "operation", "storeFile").timer().count()).isEqualTo(1L);
+    }
+}
@@ -1,5 +1,7 @@
 package cn.flying.fisco_bcos.registry;
 
+import cn.flying.fisco_bcos.adapter.impl.InMemoryChainAdapter;
+import cn.flying.fisco_bcos.config.InMemoryChainConfig;
 import cn.flying.fisco_bcos.constants.ContractConstants;
 import cn.flying.platformapi.response.ContractRegistryEntryResponse;
 import org.fisco.bcos.sdk.v3.client.Client;
@@ -65,6 +67,9 @@ class ContractRegistryServiceTest {
     @Mock
     private ObjectProvider<Web3j> web3jProvider;
 
+    @Mock
+    private ObjectProvider<InMemoryChainAdapter> inMemoryChainProvider;
+
     @Mock
     private ContractIdentityProbe identityProbe;
 
@@ -864,6 +869,43 @@ class ContractRegistryServiceTest {
         verify(identityProbe, never()).inspectBesu(any(), anyString());
     }
 
+    /**
+     * 验证模拟链模式使用创世部署地址、回执和 runtime code，且不依赖部署证据配置与 RPC 探测。
+     */
+    @Test
+    void shouldBuildVerifiedInMemoryEntries() {
+        InMemoryChainAdapter ledger = new InMemoryChainAdapter(new InMemoryChainConfig());
+        environment.setProperty("blockchain.active", "in-memory");
+        when(inMemoryChainProvider.getIfAvailable()).thenReturn(ledger);
+        service = newService(new ContractRegistryProperties());
+
+        service.initialize();
+
+        ContractRegistryEntryResponse sharing = service.getActiveEntry("Sharing");
+        ContractRegistryEntryResponse storage = service.getActiveEntry("Storage");
+        assertThat(sharing.chainType()).isEqualTo("IN_MEMORY");
+        assertThat(sharing.chainId()).isEqualTo("in-memory");
+        assertThat(sharing.contractAddress()).isEqualTo(ledger.contractAddress("Sharing"));
+        assertThat(storage.contractAddress()).isEqualTo(ledger.contractAddress("Storage"));
+        assertThat(sharing.deploymentTransactionHash()).isEqualTo(ledger.deploymentTransaction("Sharing"));
+        assertThat(sharing.deploymentBlockNumber()).isEqualTo(1L);
+        verify(identityProbe, never()).inspectFisco(any(), anyString(), anyString());
+        verify(deploymentReceiptProbe, never()).inspectFisco(any(), anyString());
+    }
+
+    /**
+     * 验证模拟链模式缺少模拟链 bean 时启动失败。
+     */
+    @Test
+    void shouldRejectInMemoryModeWithoutLedger() {
+        environment.setProperty("blockchain.active", "in-memory");
+        service = newService();
+
+        assertThatThrownBy(service::initialize)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("In-memory chain is unavailable");
+    }
+
     /**
      * 配置可重复的 Besu chainId、地址和 eth_getCode 响应。
      */
@@ -966,6 +1008,7 @@ class ContractRegistryServiceTest {
                 new DefaultResourceLoader(),
                 environment,
                 clientProvider,
-                web3jProvider);
+                web3jProvider,
+                inMemoryChainProvider);
     }
 }
@@ -624,6 +624,73 @@ class BlockChainServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Get User Files Page Operations")
+    class GetUserFilesPageTests {
+
+        /**
+         * 验证分页结果映射总数与下一页偏移量。
+         */
+        @Test
+        void getUserFilesPage_shouldMapPage() {
+            when(chainAdapter.getUserFilesPage("user123", 2, 2)).thenReturn(ChainFilePage.builder()
+                    .files(List.of(createChainFileInfo("file3.pdf", "hash3")))
+                    .total(3)
+                    .build());
+
+            Result<UserFilePageVO> result = blockChainService.getUserFilesPage(
+                    new GetUserFilesPageRequest("user123", 2, 2));
+
+            assertThat(result.getCode()).isEqualTo(200);
+            assertThat(result.getData().files()).extracting(FileVO::fileHash).containsExactly("hash3");
+            assertThat(result.getData().total()).isEqualTo(3L);
+            assertThat(result.getData().nextOffset()).isNull();
+        }
+
+        /**
+         * 验证合约缺少分页调用的适配器回退为整表读取后切片。
+         */
+        @Test
+        void getUserFilesPage_shouldSliceFullListWhenContractLacksPagedCall() {
+            when(chainAdapter.getUserFilesPage(anyString(), anyInt(), anyInt())).thenCallRealMethod();
+            when(chainAdapter.getUserFiles("user123")).thenReturn(List.of(
+                    createChainFileInfo("file1.pdf", "hash1"),
+                    createChainFileInfo("file2.doc", "hash2"),
+                    createChainFileInfo("file3.txt", "hash3")
+            ));
+
+            Result<UserFilePageVO> first = blockChainService.getUserFilesPage(
+                    new GetUserFilesPageRequest("user123", null, 2));
+            Result<UserFilePageVO> beyond = blockChainService.getUserFilesPage(
+                    new GetUserFilesPageRequest("user123", 5, 2));
+
+            assertThat(first.getData().files()).extracting(FileVO::fileHash).containsExactly("hash1", "hash2");
+            assertThat(first.getData().total()).isEqualTo(3L);
+            assertThat(first.getData().nextOffset()).isEqualTo(2);
+            assertThat(beyond.getCode()).isEqualTo(200);
+            assertThat(beyond.getData().files()).isEmpty();
+            assertThat(beyond.getData().nextOffset()).isNull();
+        }
+
+        /**
+         * 验证非法分页参数不会触发链查询。
+         */
+        @Test
+        void getUserFilesPage_shouldRejectInvalidRange() {
+            Result<UserFilePageVO> negativeOffset = blockChainService.getUserFilesPage(
+                    new GetUserFilesPageRequest("user123", -1, 10));
+            Result<UserFilePageVO> oversized = blockChainService.getUserFilesPage(
+                    new GetUserFilesPageRequest("user123", 0, 501));
+            Result<UserFilePageVO> missingUploader = blockChainService.getUserFilesPage(
+                    new GetUserFilesPageRequest(" ", 0, 10));
+
+            assertThat(negativeOffset.getCode()).isEqualTo(ResultEnum.PARAM_IS_INVALID.getCode());
+            assertThat(oversized.getCode()).isEqualTo(ResultEnum.PARAM_IS_INVALID.getCode());
+            assertThat(missingUploader.getCode()).isEqualTo(ResultEnum.PARAM_IS_INVALID.getCode());
+            verifyNoInteractions(chainAdapter);
+        }
+    }
+
     @Nested
     @DisplayName("Get File Operations")
     class GetFileTests {
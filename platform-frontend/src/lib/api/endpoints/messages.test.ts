@@ -42,6 +42,7 @@ async function callAllMessageApis(): Promise<void> {
   await messageApi.getUnreadAnnouncementCount();
   await messageApi.markAnnouncementAsRead("a2");
   await messageApi.markAllAnnouncementsAsRead();
+  await messageApi.markAllAnnouncementsAsRead("900");
 }
 
 describe("messages endpoints", () => {
@@ -119,5 +120,11 @@ describe("messages endpoints", () => {
       3,
       "/announcements/read-status",
     );
+    expect(clientMocks.api.put).toHaveBeenNthCalledWith(
+      4,
+      "/announcements/read-status",
+      undefined,
+      { params: { throughSeq: "900" } },
+    );
   });
 });
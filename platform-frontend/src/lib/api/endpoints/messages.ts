@@ -159,7 +159,17 @@ export async function markAnnouncementAsRead(id: string): Promise<void> {
 
 /**
  * 标记全部公告已读。
+ *
+ * @param throughSeq 已加载列表中的最大发布序号，之后发布的公告保持未读；省略时标记当前全部公告
  */
-export async function markAllAnnouncementsAsRead(): Promise<void> {
-  await api.put(`${ANN_BASE}/read-status`);
+export async function markAllAnnouncementsAsRead(
+  throughSeq?: string,
+): Promise<void> {
+  if (throughSeq === undefined) {
+    await api.put(`${ANN_BASE}/read-status`);
+    return;
+  }
+  await api.put(`${ANN_BASE}/read-status`, undefined, {
+    params: { throughSeq },
+  });
 }
@@ -52,6 +52,7 @@ export interface AnnouncementVO {
   publisherId?: string;
   author?: string;
   read?: boolean;
+  publishSeq?: string;
   createTime: string;
 }
 
@@ -0,0 +1,320 @@
+package cn.flying.verifier.cli;
+
+import cn.flying.verifier.ProofVerifier;
+import cn.flying.verifier.VerificationContext;
+import cn.flying.verifier.crypto.CanonicalJson;
+import cn.flying.verifier.model.ChainQuery;
+import cn.flying.verifier.model.ChainRootEvidence;
+import cn.flying.verifier.model.PublicSigningKey;
+import cn.flying.verifier.model.VerificationOutcome;
+import cn.flying.verifier.model.VerificationReport;
+import cn.flying.verifier.resolver.ChainRootResolver;
+import cn.flying.verifier.resolver.Resolution;
+import cn.flying.verifier.resolver.ResolutionState;
+import cn.flying.verifier.resolver.SigningKeyResolver;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Verifies many original/proof pairs in one process with a bounded worker pool and run-scoped resolver caches.
+ */
+final class BatchVerification {
+
+    static final String SCHEMA_VERSION = "record-platform-verification-batch.v1";
+    static final String ARCHIVE_SUFFIX = ".zip";
+    static final int MAX_PARALLELISM = 64;
+
+    private final ProofVerifier verifier;
+    private final CanonicalJson canonicalJson = new CanonicalJson();
+    private final int parallelism;
+
+    /**
+     * Creates a batch runner.
+     *
+     * @param verifier shared thread-safe verifier
+     * @param parallelism concurrent verifications
+     */
+    BatchVerification(ProofVerifier verifier, int parallelism) {
+        if (parallelism < 1 || parallelism > MAX_PARALLELISM) {
+            throw new IllegalArgumentException("--parallelism must be between 1 and " + MAX_PARALLELISM);
+        }
+        this.verifier = verifier;
+        this.parallelism = parallelism;
+    }
+
+    /** Returns the default pool size: all cores up to four, since each verification also streams a file. */
+    static int defaultParallelism() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Pairs every regular {@code <name>.zip} archive under the directory with its sibling original {@code <name>}.
+     *
+     * @param directory corpus root, walked recursively without following links
+     * @return pairs in stable path order
+     * @throws IOException when the directory cannot be walked
+     */
+    static List<Pair> discover(Path directory) throws IOException {
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IllegalArgumentException("--dir must be an existing directory");
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths
+                    .filter(path -> Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS))
+                    .filter(BatchVerification::isArchiveName)
+                    .sorted()
+                    .map(proof -> {
+                        String name = proof.getFileName().toString();
+                        Path original = proof.resolveSibling(name.substring(0, name.length() - ARCHIVE_SUFFIX.length()));
+                        return new Pair(
+                                directory.relativize(original).toString(),
+                                directory.relativize(proof).toString(),
+                                original,
+                                proof);
+                    })
+                    .toList();
+        }
+    }
+
+    /**
+     * Reads {@code <original>TAB<proof>} lines; relative paths resolve against the manifest directory.
+     *
+     * @param manifest UTF-8 pair manifest; blank lines and {@code #} comments are ignored
+     * @return pairs in manifest order
+     * @throws IOException when the manifest cannot be read
+     */
+    static List<Pair> readManifest(Path manifest) throws IOException {
+        Path base = manifest.toAbsolutePath().getParent();
+        List<String> lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+        List<Pair> pairs = new ArrayList<>();
+        for (int index = 0; index < lines.size(); index++) {
+            String line = lines.get(index).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 2 || fields[0].isBlank() || fields[1].isBlank()) {
+                throw new IllegalArgumentException(
+                        "--manifest line " + (index + 1) + " must contain <original> TAB <proof>");
+            }
+            pairs.add(new Pair(
+                    fields[0].strip(),
+                    fields[1].strip(),
+                    resolve(base, fields[0].strip(), index + 1),
+                    resolve(base, fields[1].strip(), index + 1)));
+        }
+        return pairs;
+    }
+
+    /**
+     * Wraps key and chain-root resolvers with single-flight caches shared by every pair in this run.
+     * Only definitive answers are kept; unavailable or failed lookups are retried by later pairs.
+     * Current proof status stays uncached so revocation is always read live.
+     *
+     * @param context base verification context
+     * @return context whose key and chain lookups are deduplicated across the run
+     */
+    static VerificationContext shareResolvers(VerificationContext context) {
+        SigningKeyResolver keyResolver = context.signingKeyResolver();
+        ChainRootResolver chainResolver = context.chainRootResolver();
+        RunCache<String, PublicSigningKey> keys = new RunCache<>();
+        RunCache<ChainQuery, ChainRootEvidence> roots = new RunCache<>();
+        return new VerificationContext(
+                context.limits(),
+                (keyId, keyVersion) -> keys.resolve(
+                        keyId + ":" + keyVersion, () -> keyResolver.resolve(keyId, keyVersion)),
+                context.proofStatusResolver(),
+                query -> roots.resolve(query, () -> chainResolver.resolve(query)),
+                context.clock());
+    }
+
+    /**
+     * Verifies every pair, writes one JSON line per pair in input order, then one summary line.
+     *
+     * @param pairs pairs to verify
+     * @param context shared verification context
+     * @param out JSONL destination
+     * @return batch exit code: any INVALID, else any ERROR, else any INDETERMINATE, else VALID
+     */
+    int run(List<Pair> pairs, VerificationContext context, PrintStream out) {
+        Map<VerificationOutcome, Integer> counts = new EnumMap<>(VerificationOutcome.class);
+        for (VerificationOutcome outcome : VerificationOutcome.values()) {
+            counts.put(outcome, 0);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, workerThreads());
+        // The window bounds reports held in memory; results are still written in input order.
+        Deque<Future<Map<String, Object>>> window = new ArrayDeque<>();
+        try {
+            for (int index = 0; index < pairs.size(); index++) {
+                int position = index;
+                Pair pair = pairs.get(index);
+                window.addLast(pool.submit(() -> verifyOne(position, pair, context)));
+                if (window.size() >= parallelism * 2) {
+                    emit(await(window.removeFirst()), counts, out);
+                }
+            }
+            while (!window.isEmpty()) {
+                emit(await(window.removeFirst()), counts, out);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int exitCode = exitCode(counts);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("type", "summary");
+        summary.put("schemaVersion", SCHEMA_VERSION);
+        summary.put("total", pairs.size());
+        for (VerificationOutcome outcome : VerificationOutcome.values()) {
+            summary.put(outcome.name().toLowerCase(Locale.ROOT), counts.get(outcome));
+        }
+        summary.put("exitCode", exitCode);
+        writeLine(summary, out);
+        out.flush();
+        return exitCode;
+    }
+
+    /** Verifies one pair, converting an unexpected verifier failure into an ERROR line that names its cause. */
+    private Map<String, Object> verifyOne(int index, Pair pair, VerificationContext context) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", "result");
+        line.put("schemaVersion", SCHEMA_VERSION);
+        line.put("index", index);
+        line.put("original", pair.originalLabel());
+        line.put("proof", pair.proofLabel());
+        try {
+            VerificationReport report = verifier.verify(pair.original(), pair.proof(), context);
+            line.put("outcome", report.outcome());
+            line.put("report", report);
+        } catch (RuntimeException e) {
+            line.put("outcome", VerificationOutcome.ERROR);
+            line.put("report", null);
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("class", e.getClass().getName());
+            error.put("message", VerifierCli.safeMessage(e, "no message"));
+            line.put("error", error);
+        }
+        return line;
+    }
+
+    private void emit(Map<String, Object> line, Map<VerificationOutcome, Integer> counts, PrintStream out) {
+        counts.merge((VerificationOutcome) line.get("outcome"), 1, Integer::sum);
+        writeLine(line, out);
+    }
+
+    private void writeLine(Map<String, Object> line, PrintStream out) {
+        out.println(new String(canonicalJson.canonicalBytes(line), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Object> await(Future<Map<String, Object>> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch verification was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch verification worker failed", e.getCause());
+        }
+    }
+
+    /** Ranks deterministic tampering first so automation never mistakes a mixed batch for an outage. */
+    private static int exitCode(Map<VerificationOutcome, Integer> counts) {
+        if (counts.get(VerificationOutcome.INVALID) > 0) {
+            return VerifierCli.EXIT_INVALID;
+        }
+        if (counts.get(VerificationOutcome.ERROR) > 0) {
+            return VerifierCli.EXIT_ERROR;
+        }
+        if (counts.get(VerificationOutcome.INDETERMINATE) > 0) {
+            return VerifierCli.EXIT_INDETERMINATE;
+        }
+        return VerifierCli.EXIT_VALID;
+    }
+
+    private static boolean isArchiveName(Path path) {
+        String name = path.getFileName().toString();
+        return name.length() > ARCHIVE_SUFFIX.length()
+                && name.toLowerCase(Locale.ROOT).endsWith(ARCHIVE_SUFFIX);
+    }
+
+    private static Path resolve(Path base, String value, int lineNumber) {
+        try {
+            return base.resolve(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("--manifest line " + lineNumber + " contains an invalid path", e);
+        }
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "proof-batch-verifier-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One original/proof pair with the labels echoed into the JSONL report.
+     *
+     * @param originalLabel original path as supplied or relative to the corpus root
+     * @param proofLabel proof path as supplied or relative to the corpus root
+     * @param original resolved original path
+     * @param proof resolved proof archive path
+     */
+    record Pair(String originalLabel, String proofLabel, Path original, Path proof) {
+    }
+
+    /** Run-scoped single-flight cache that keeps only definitive resolver answers. */
+    private static final class RunCache<K, V> {
+
+        private final ConcurrentMap<K, CompletableFuture<Resolution<V>>> results = new ConcurrentHashMap<>();
+
+        private Resolution<V> resolve(K key, Supplier<Resolution<V>> loader) {
+            CompletableFuture<Resolution<V>> pending = new CompletableFuture<>();
+            CompletableFuture<Resolution<V>> existing = results.putIfAbsent(key, pending);
+            if (existing != null) {
+                return existing.join();
+            }
+            Resolution<V> resolution;
+            try {
+                resolution = loader.get();
+            } catch (RuntimeException e) {
+                results.remove(key, pending);
+                pending.completeExceptionally(e);
+                throw e;
+            }
+            if (resolution == null
+                    || (resolution.state() != ResolutionState.RESOLVED
+                    && resolution.state() != ResolutionState.NOT_FOUND)) {
+                results.remove(key, pending);
+            }
+            pending.complete(resolution);
+            return resolution;
+        }
+    }
+}
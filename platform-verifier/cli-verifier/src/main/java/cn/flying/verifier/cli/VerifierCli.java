@@ -16,9 +16,12 @@ import cn.flying.verifier.resolver.Resolution;
 import cn.flying.verifier.resolver.SigningKeyResolver;
 import cn.flying.verifier.resolver.TrustedEvidenceLoader;
 
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
@@ -50,7 +53,7 @@ public final class VerifierCli {
     }
 
     /**
-     * Parses arguments, invokes the SDK once, renders the report, and returns a stable exit code.
+     * Parses arguments, invokes the SDK once per pair, renders the report, and returns a stable exit code.
      *
      * @param args command arguments
      * @param out standard output
@@ -65,6 +68,9 @@ public final class VerifierCli {
                 return EXIT_VALID;
             }
             VerificationContext context = buildContext(options);
+            if (options.batch()) {
+                return runBatch(options, context, out);
+            }
             VerificationReport report = new DefaultProofVerifier().verify(
                     options.originalFile(), options.proofArchive(), context);
             if ("text".equals(options.format())) {
@@ -77,12 +83,42 @@ public final class VerifierCli {
             err.println("Usage error: " + safeMessage(e));
             err.print(usage());
             return EXIT_USAGE;
+        } catch (UncheckedIOException e) {
+            err.println("Verifier error: unable to read the batch input or write the batch report");
+            return EXIT_ERROR;
         } catch (RuntimeException e) {
             err.println("Verifier error: unable to initialize the requested verification context");
             return EXIT_ERROR;
         }
     }
 
+    /** Verifies every discovered pair with one shared context and writes the JSONL batch report. */
+    private static int runBatch(CliOptions options, VerificationContext context, PrintStream out) {
+        try {
+            List<BatchVerification.Pair> pairs = options.batchDirectory() != null
+                    ? BatchVerification.discover(options.batchDirectory())
+                    : BatchVerification.readManifest(options.batchManifest());
+            if (pairs.isEmpty()) {
+                throw new IllegalArgumentException("the batch input contains no proof archives");
+            }
+            BatchVerification batch = new BatchVerification(new DefaultProofVerifier(), options.parallelism());
+            VerificationContext shared = BatchVerification.shareResolvers(context);
+            if (options.reportFile() == null) {
+                return batch.run(pairs, shared, out);
+            }
+            try (PrintStream report = new PrintStream(
+                    Files.newOutputStream(options.reportFile()), false, StandardCharsets.UTF_8)) {
+                int exitCode = batch.run(pairs, shared, report);
+                if (report.checkError()) {
+                    throw new IOException("Batch report could not be written");
+                }
+                return exitCode;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /** Builds explicit local and optional online trust resolvers from CLI options. */
     private static VerificationContext buildContext(CliOptions options) {
         HttpProofResolvers onlineResolvers = null;
@@ -161,9 +197,14 @@ public final class VerifierCli {
 
     /** Produces a bounded safe error message without paths or raw input. */
     private static String safeMessage(IllegalArgumentException error) {
+        return safeMessage(error, "invalid arguments");
+    }
+
+    /** Produces a bounded single-line error message, or the fallback when the error has no message. */
+    static String safeMessage(Throwable error, String fallback) {
         String value = error.getMessage();
         if (value == null || value.isBlank()) {
-            return "invalid arguments";
+            return fallback;
         }
         StringBuilder safe = new StringBuilder(Math.min(value.length(), 256));
         for (int index = 0; index < value.length() && safe.length() < 256; index++) {
@@ -186,6 +227,8 @@ public final class VerifierCli {
                 Usage:
                   java -jar record-platform-verifier-exec.jar verify \\
                     --file <original-file> --proof <proof.zip> [options]
+                  java -jar record-platform-verifier-exec.jar verify-batch \\
+                    (--dir <directory> | --manifest <pairs.tsv>) [batch options] [options]
 
                 Options:
                   --trusted-key <key.json>       Explicit local trust anchor for Ed25519 verification
@@ -199,6 +242,15 @@ public final class VerifierCli {
                   --allow-private-addresses      Explicitly allow private/loopback DNS targets for local/test use
                   --help                         Show this help
 
+                Batch options:
+                  --dir <directory>              Pair each <name>.zip with its sibling <name>, recursively
+                  --manifest <pairs.tsv>         One <original> TAB <proof> pair per line; # starts a comment
+                  --parallelism <n>              Concurrent verifications, 1-64 (default: cores, at most 4)
+                  --report <report.jsonl>        Write the JSONL report to a file instead of standard output
+
+                verify-batch writes one JSON line per pair plus a summary line. Its exit code is
+                2 if any pair is INVALID, else 4 if any is ERROR, else 3 if any is INDETERMINATE, else 0.
+
                 Chain template placeholders:
                   {chainType} {chainId} {groupId} {contractAddress} {batchNo}
 
@@ -209,6 +261,7 @@ public final class VerifierCli {
     /** Parsed immutable CLI options. */
     private record CliOptions(
             boolean help,
+            boolean batch,
             Path originalFile,
             Path proofArchive,
             Path trustedKey,
@@ -219,23 +272,57 @@ public final class VerifierCli {
             String chainUrlTemplate,
             Set<String> allowedHosts,
             boolean allowHttp,
-            boolean allowPrivateAddresses
+            boolean allowPrivateAddresses,
+            Path batchDirectory,
+            Path batchManifest,
+            int parallelism,
+            Path reportFile
     ) {
 
         /** Parses the small explicit option grammar without a second command framework. */
         private static CliOptions parse(String[] args) {
             List<String> values = args == null ? List.of() : List.of(args);
             if (values.contains("--help") || values.contains("-h")) {
-                return new CliOptions(true, null, null, null, "json",
+                return new CliOptions(true, false, null, null, null, "json",
                         VerificationLimits.defaults().maxOriginalFileBytes(), false,
-                        null, null, Set.of(), false, false);
+                        null, null, Set.of(), false, false, null, null, 1, null);
             }
-            if (values.isEmpty() || !"verify".equals(values.getFirst())) {
-                throw new IllegalArgumentException("the verify command is required");
+            if (values.isEmpty() || !Set.of("verify", "verify-batch").contains(values.getFirst())) {
+                throw new IllegalArgumentException("the verify or verify-batch command is required");
             }
+            boolean batch = "verify-batch".equals(values.getFirst());
             Map<String, List<String>> parsed = parseOptions(values.subList(1, values.size()));
-            Path file = requiredPath(parsed, "--file");
-            Path proof = requiredPath(parsed, "--proof");
+            Path file = null;
+            Path proof = null;
+            Path batchDirectory = optionalPath(parsed, "--dir");
+            Path batchManifest = optionalPath(parsed, "--manifest");
+            Path reportFile = optionalPath(parsed, "--report");
+            String parallelismValue = single(parsed, "--parallelism", null);
+            int parallelism = BatchVerification.defaultParallelism();
+            if (batch) {
+                if (parsed.containsKey("--file") || parsed.containsKey("--proof") || parsed.containsKey("--format")) {
+                    throw new IllegalArgumentException(
+                            "verify-batch reads pairs from --dir or --manifest and always writes JSONL");
+                }
+                if ((batchDirectory == null) == (batchManifest == null)) {
+                    throw new IllegalArgumentException("verify-batch requires exactly one of --dir or --manifest");
+                }
+                if (parallelismValue != null) {
+                    long requested = parsePositiveLong(parallelismValue, "--parallelism");
+                    if (requested > BatchVerification.MAX_PARALLELISM) {
+                        throw new IllegalArgumentException(
+                                "--parallelism must be between 1 and " + BatchVerification.MAX_PARALLELISM);
+                    }
+                    parallelism = (int) requested;
+                }
+            } else {
+                if (batchDirectory != null || batchManifest != null || reportFile != null
+                        || parallelismValue != null) {
+                    throw new IllegalArgumentException("batch options require the verify-batch command");
+                }
+                file = requiredPath(parsed, "--file");
+                proof = requiredPath(parsed, "--proof");
+            }
             Path trustedKey = optionalPath(parsed, "--trusted-key");
             String format = single(parsed, "--format", "json").toLowerCase(Locale.ROOT);
             if (!Set.of("json", "text").contains(format)) {
@@ -260,15 +347,17 @@ public final class VerifierCli {
                 throw new IllegalArgumentException(
                         "--online requires --issuer-base-url, --chain-url-template, and at least one --allow-host");
             }
-            return new CliOptions(false, file, proof, trustedKey, format, maxBytes, online,
-                    issuer, chainTemplate, Set.copyOf(allowedHosts), allowHttp, allowPrivate);
+            return new CliOptions(false, batch, file, proof, trustedKey, format, maxBytes, online,
+                    issuer, chainTemplate, Set.copyOf(allowedHosts), allowHttp, allowPrivate,
+                    batchDirectory, batchManifest, parallelism, reportFile);
         }
 
         /** Parses repeated flags and key/value options while rejecting unknown names. */
         private static Map<String, List<String>> parseOptions(List<String> args) {
             Set<String> flags = Set.of("--online", "--allow-http", "--allow-private-addresses");
             Set<String> valued = Set.of("--file", "--proof", "--trusted-key", "--format",
-                    "--max-file-bytes", "--issuer-base-url", "--chain-url-template", "--allow-host");
+                    "--max-file-bytes", "--issuer-base-url", "--chain-url-template", "--allow-host",
+                    "--dir", "--manifest", "--parallelism", "--report");
             Map<String, List<String>> parsed = new LinkedHashMap<>();
             for (int index = 0; index < args.size(); index++) {
                 String option = args.get(index);
@@ -0,0 +1,304 @@
+package cn.flying.verifier.cli;
+
+import cn.flying.verifier.VerificationContext;
+import cn.flying.verifier.VerifierTestFixture;
+import cn.flying.verifier.crypto.CanonicalJson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch CLI tests over a generated corpus of valid, tampered, mismatched, corrupt, and orphaned pairs.
+ */
+class BatchVerificationTest {
+
+    private static final int VALID_PAIRS = 6;
+
+    @TempDir
+    Path directory;
+
+    private VerifierTestFixture.Fixture fixture;
+    private Path trustedKey;
+    private Path corpus;
+
+    private final AtomicInteger keyRequests = new AtomicInteger();
+    private final AtomicInteger statusRequests = new AtomicInteger();
+    private final AtomicInteger chainRequests = new AtomicInteger();
+
+    /** Generates one signed fixture, its local trust anchor, and a mixed corpus built from it. */
+    @BeforeEach
+    void setUp() throws Exception {
+        fixture = new VerifierTestFixture().create(directory.resolve("fixture"));
+        trustedKey = directory.resolve("trusted-key.json");
+        Files.write(trustedKey, new CanonicalJson().canonicalBytes(fixture.key()));
+        corpus = directory.resolve("corpus");
+        Files.createDirectories(corpus.resolve("nested"));
+        for (int index = 0; index < VALID_PAIRS; index++) {
+            Path folder = index % 2 == 0 ? corpus : corpus.resolve("nested");
+            writePair(folder, "valid-" + index + ".txt", fixture.originalBytes(), proofBytes());
+        }
+    }
+
+    /** Reports every corrupted or mismatched pair in input order and ranks INVALID above ERROR. */
+    @Test
+    void shouldReportMixedCorpusAsJsonLines() throws Exception {
+        byte[] tampered = fixture.originalBytes();
+        tampered[0] ^= 1;
+        writePair(corpus, "tampered.txt", tampered, proofBytes());
+        writePair(corpus, "mismatched.txt",
+                "a different original paired with the fixture proof\n".getBytes(StandardCharsets.UTF_8),
+                proofBytes());
+        byte[] proof = proofBytes();
+        writePair(corpus, "corrupt.txt", fixture.originalBytes(), Arrays.copyOf(proof, proof.length / 2));
+        Files.write(corpus.resolve("orphan.txt.zip"), proofBytes());
+        Files.writeString(corpus.resolve("notes.txt"), "not part of any pair");
+
+        Invocation invocation = invoke(
+                "verify-batch", "--dir", corpus.toString(),
+                "--trusted-key", trustedKey.toString(), "--parallelism", "3");
+
+        List<String> lines = invocation.stdout().lines().toList();
+        assertThat(invocation.exitCode()).isEqualTo(VerifierCli.EXIT_INVALID);
+        assertThat(invocation.stderr()).isEmpty();
+        assertThat(lines).hasSize(VALID_PAIRS + 5);
+        List<String> results = lines.subList(0, lines.size() - 1);
+        for (int index = 0; index < results.size(); index++) {
+            assertThat(results.get(index)).contains(
+                    "\"type\":\"result\"",
+                    "\"index\":" + index,
+                    "\"schemaVersion\":\"record-platform-verification-batch.v1\"");
+        }
+        assertThat(line(results, "tampered.txt.zip"))
+                .contains("\"outcome\":\"INVALID\"", "FILE_HASH_MISMATCH");
+        assertThat(line(results, "mismatched.txt.zip"))
+                .contains("\"outcome\":\"INVALID\"", "FILE_HASH_MISMATCH");
+        assertThat(line(results, "corrupt.txt.zip")).contains("\"outcome\":\"ERROR\"");
+        assertThat(line(results, "orphan.txt.zip"))
+                .contains("\"outcome\":\"ERROR\"", "VERIFICATION_IO_ERROR");
+        assertThat(line(results, Path.of("nested", "valid-1.txt.zip").toString()))
+                .contains("\"outcome\":\"INDETERMINATE\"", "\"original\":\"" + Path.of("nested", "valid-1.txt") + "\"");
+        assertThat(lines.getLast())
+                .contains("\"type\":\"summary\"", "\"total\":" + (VALID_PAIRS + 4), "\"invalid\":2",
+                        "\"error\":2", "\"indeterminate\":" + VALID_PAIRS, "\"valid\":0", "\"exitCode\":2");
+    }
+
+    /** Reads manifest pairs relative to the manifest and writes the report file instead of standard output. */
+    @Test
+    void shouldVerifyManifestPairsIntoReportFile() throws Exception {
+        Path manifest = corpus.resolve("pairs.tsv");
+        Files.writeString(manifest, """
+                # original<TAB>proof
+                valid-0.txt\tvalid-0.txt.zip
+
+                nested/valid-1.txt\tnested/valid-1.txt.zip
+                """);
+        Path report = directory.resolve("report.jsonl");
+
+        Invocation invocation = invoke(
+                "verify-batch", "--manifest", manifest.toString(),
+                "--trusted-key", trustedKey.toString(), "--report", report.toString());
+
+        List<String> lines = Files.readAllLines(report, StandardCharsets.UTF_8);
+        assertThat(invocation.exitCode()).isEqualTo(VerifierCli.EXIT_INDETERMINATE);
+        assertThat(invocation.stdout()).isEmpty();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).contains("\"proof\":\"valid-0.txt.zip\"", "\"outcome\":\"INDETERMINATE\"");
+        assertThat(lines.get(1)).contains("\"proof\":\"nested/valid-1.txt.zip\"");
+        assertThat(lines.get(2)).contains("\"total\":2", "\"exitCode\":3");
+    }
+
+    /** Shares one key and chain-root lookup across concurrent pairs while reading status live per pair. */
+    @Test
+    void shouldShareResolverLookupsAcrossTheRun() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::respondWithTrustEvidence);
+        server.start();
+        String origin = "http://127.0.0.1:" + server.getAddress().getPort();
+        try {
+            Invocation invocation = invoke(
+                    "verify-batch", "--dir", corpus.toString(), "--parallelism", "4",
+                    "--online",
+                    "--issuer-base-url", origin + "/issuer",
+                    "--chain-url-template",
+                    origin + "/chain/{chainType}/{chainId}/{groupId}/{contractAddress}/{batchNo}",
+                    "--allow-host", "127.0.0.1",
+                    "--allow-http",
+                    "--allow-private-addresses");
+
+            assertThat(invocation.exitCode()).isEqualTo(VerifierCli.EXIT_VALID);
+            assertThat(invocation.stdout().lines().toList().getLast())
+                    .contains("\"valid\":" + VALID_PAIRS, "\"exitCode\":0");
+            assertThat(keyRequests).hasValue(1);
+            assertThat(chainRequests).hasValue(1);
+            assertThat(statusRequests).hasValue(VALID_PAIRS);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /** Names the failure class and message when the verifier throws instead of returning a report. */
+    @Test
+    void shouldReportVerifierFailureCause() {
+        BatchVerification batch = new BatchVerification((original, proof, context) -> {
+            throw new IllegalStateException("archive reader\nfailed");
+        }, 1);
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+
+        int exitCode = batch.run(
+                List.of(new BatchVerification.Pair(
+                        "a.txt", "a.txt.zip", corpus.resolve("a.txt"), corpus.resolve("a.txt.zip"))),
+                VerificationContext.offline(),
+                new PrintStream(stdout, true, StandardCharsets.UTF_8));
+
+        assertThat(exitCode).isEqualTo(VerifierCli.EXIT_ERROR);
+        assertThat(stdout.toString(StandardCharsets.UTF_8).lines().findFirst().orElseThrow()).contains(
+                "\"outcome\":\"ERROR\"",
+                "\"class\":\"java.lang.IllegalStateException\"",
+                "\"message\":\"archive reader failed\"");
+    }
+
+    /** Rejects mixed single and batch options, empty corpora, malformed manifests, and bad pool sizes. */
+    @Test
+    void shouldRejectInvalidBatchArguments() throws Exception {
+        Path empty = Files.createDirectories(directory.resolve("empty"));
+        Path malformed = directory.resolve("malformed.tsv");
+        Files.writeString(malformed, "only-one-column\n");
+
+        Invocation bothInputs = invoke(
+                "verify-batch", "--dir", corpus.toString(), "--manifest", malformed.toString());
+        Invocation noInput = invoke("verify-batch");
+        Invocation singleOptions = invoke(
+                "verify-batch", "--dir", corpus.toString(), "--file", fixture.original().toString());
+        Invocation batchOnVerify = invoke(
+                "verify", "--file", fixture.original().toString(),
+                "--proof", fixture.proof().toString(), "--dir", corpus.toString());
+        Invocation emptyCorpus = invoke("verify-batch", "--dir", empty.toString());
+        Invocation badManifest = invoke("verify-batch", "--manifest", malformed.toString());
+        Invocation missingManifest = invoke(
+                "verify-batch", "--manifest", directory.resolve("missing.tsv").toString());
+        Invocation tooParallel = invoke(
+                "verify-batch", "--dir", corpus.toString(), "--parallelism", "65");
+
+        assertThat(bothInputs.stderr()).contains("exactly one of --dir or --manifest");
+        assertThat(noInput.stderr()).contains("exactly one of --dir or --manifest");
+        assertThat(singleOptions.stderr()).contains("verify-batch reads pairs from --dir or --manifest");
+        assertThat(batchOnVerify.stderr()).contains("batch options require the verify-batch command");
+        assertThat(emptyCorpus.stderr()).contains("contains no proof archives");
+        assertThat(badManifest.stderr()).contains("--manifest line 1 must contain");
+        assertThat(tooParallel.stderr()).contains("--parallelism must be between 1 and 64");
+        assertThat(List.of(bothInputs, noInput, singleOptions, batchOnVerify, emptyCorpus, badManifest, tooParallel))
+                .allSatisfy(invocation -> assertThat(invocation.exitCode()).isEqualTo(VerifierCli.EXIT_USAGE));
+        assertThat(missingManifest.exitCode()).isEqualTo(VerifierCli.EXIT_ERROR);
+        assertThat(missingManifest.stderr()).contains("unable to read the batch input");
+    }
+
+    /** Writes one original and its {@code .zip} proof sibling. */
+    private static void writePair(Path folder, String name, byte[] original, byte[] proof) throws IOException {
+        Files.write(folder.resolve(name), original);
+        Files.write(folder.resolve(name + ".zip"), proof);
+    }
+
+    private byte[] proofBytes() throws IOException {
+        return Files.readAllBytes(fixture.proof());
+    }
+
+    private static String line(List<String> results, String proof) {
+        return results.stream()
+                .filter(result -> result.contains("\"proof\":\"" + proof + "\""))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /** Serves issuer key, status, and chain evidence while counting requests per resolver. */
+    private void respondWithTrustEvidence(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        byte[] body;
+        if (path.contains("/api/v1/public/proof-keys/")) {
+            keyRequests.incrementAndGet();
+            Map<String, Object> key = new LinkedHashMap<>();
+            key.put("algorithm", fixture.key().algorithm());
+            key.put("keyId", fixture.key().keyId());
+            key.put("keyVersion", fixture.key().keyVersion());
+            key.put("publicKeyFingerprint", fixture.key().publicKeyFingerprint());
+            key.put("publicKeySpki", fixture.key().publicKeySpki());
+            body = envelope(key);
+        } else if (path.contains("/api/v1/public/proofs/")) {
+            statusRequests.incrementAndGet();
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("issuedAt", fixture.status().issuedAt());
+            status.put("issuedStatus", fixture.status().issuedStatus());
+            status.put("keyId", fixture.status().keyId());
+            status.put("keyVersion", fixture.status().keyVersion());
+            status.put("proofId", fixture.status().proofId());
+            status.put("reason", null);
+            status.put("status", fixture.status().status());
+            status.put("statusVersion", 1);
+            status.put("updatedAt", fixture.status().updatedAt());
+            body = envelope(status);
+        } else if (path.startsWith("/chain/")) {
+            chainRequests.incrementAndGet();
+            Map<String, Object> chain = new LinkedHashMap<>();
+            chain.put("batchNo", fixture.chain().batchNo());
+            chain.put("blockNumber", fixture.chain().blockNumber());
+            chain.put("chainId", fixture.chain().chainId());
+            chain.put("chainType", fixture.chain().chainType());
+            chain.put("contractAddress", fixture.chain().contractAddress());
+            chain.put("groupId", fixture.chain().groupId());
+            chain.put("merkleRoot", fixture.chain().merkleRoot());
+            chain.put("schemaVersion", fixture.chain().schemaVersion());
+            chain.put("transactionHash", fixture.chain().transactionHash());
+            body = new CanonicalJson().canonicalBytes(chain);
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static byte[] envelope(Object data) {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("code", 200);
+        envelope.put("data", data);
+        envelope.put("message", "success");
+        return new CanonicalJson().canonicalBytes(envelope);
+    }
+
+    /** Captures one in-process CLI invocation without terminating the test JVM. */
+    private Invocation invoke(String... arguments) {
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        int exit = VerifierCli.run(
+                arguments,
+                new PrintStream(stdout, true, StandardCharsets.UTF_8),
+                new PrintStream(stderr, true, StandardCharsets.UTF_8));
+        return new Invocation(
+                exit,
+                stdout.toString(StandardCharsets.UTF_8),
+                stderr.toString(StandardCharsets.UTF_8));
+    }
+
+    /** Captured process result for concise command assertions. */
+    private record Invocation(int exitCode, String stdout, String stderr) {
+    }
+}
@@ -6,6 +6,7 @@ import cn.flying.verifier.crypto.CanonicalJson;
 import cn.flying.verifier.crypto.ContractRegistryFingerprint;
 import cn.flying.verifier.crypto.MerkleProofs;
 import cn.flying.verifier.crypto.ProofHashes;
+import cn.flying.verifier.internal.OriginalContentHasher;
 import cn.flying.verifier.internal.ParsedProofArchive;
 import cn.flying.verifier.internal.ProofArchiveReader;
 import cn.flying.verifier.internal.ProofFormatException;
@@ -25,6 +26,7 @@ import cn.flying.verifier.resolver.TrustedEvidenceLoader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -53,7 +55,7 @@ import java.util.regex.Pattern;
 /**
  * Default Spring-free signed proof ZIP v2 verification engine.
  */
-public final class DefaultProofVerifier implements ProofVerifier {
+public final class DefaultProofVerifier implements StreamingProofVerifier {
 
     private static final Pattern PROOF_ID = Pattern.compile("^rp-proof-[0-9a-f]{64}$");
     private static final Pattern EXTERNAL_ID = Pattern.compile("^[A-Za-z0-9_-]{1,192}$");
@@ -67,10 +69,10 @@ public final class DefaultProofVerifier implements ProofVerifier {
     private static final Set<String> FISCO_CHAIN_TYPES = Set.of("LOCAL_FISCO", "BSN_FISCO");
     private static final Set<String> ISSUED_STATUSES = Set.of("ACTIVE", "SUPERSEDED");
     private static final Set<String> REGISTRY_STATUSES = Set.of("ACTIVE", "DEPRECATED");
-    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
 
     private final CanonicalJson canonicalJson;
     private final ProofArchiveReader archiveReader;
+    private final OriginalContentHasher contentHasher;
 
     /** Creates the default strict verifier. */
     public DefaultProofVerifier() {
@@ -79,8 +81,18 @@ public final class DefaultProofVerifier implements ProofVerifier {
 
     /** Creates a verifier with explicit shared parser components for deterministic tests. */
     DefaultProofVerifier(CanonicalJson canonicalJson, ProofArchiveReader archiveReader) {
+        this(canonicalJson, archiveReader, OriginalContentHasher.defaults());
+    }
+
+    /** Creates a verifier with an explicit original-file hasher for parallelism tests. */
+    DefaultProofVerifier(
+            CanonicalJson canonicalJson,
+            ProofArchiveReader archiveReader,
+            OriginalContentHasher contentHasher
+    ) {
         this.canonicalJson = Objects.requireNonNull(canonicalJson);
         this.archiveReader = Objects.requireNonNull(archiveReader);
+        this.contentHasher = Objects.requireNonNull(contentHasher);
     }
 
     /**
@@ -88,6 +100,30 @@ public final class DefaultProofVerifier implements ProofVerifier {
      */
     @Override
     public VerificationReport verify(Path originalFile, Path proofArchive, VerificationContext suppliedContext) {
+        return verify(proofArchive, suppliedContext, (evidence, limits, checks, summary) ->
+                verifyOriginalFile(originalFile, evidence, limits, checks, summary));
+    }
+
+    /**
+     * Verifies the same evidence as the path variant while hashing the original stream in its single read.
+     */
+    @Override
+    public VerificationReport verify(
+            InputStream originalContent,
+            long originalSize,
+            Path proofArchive,
+            VerificationContext suppliedContext
+    ) {
+        return verify(proofArchive, suppliedContext, (evidence, limits, checks, summary) ->
+                verifyOriginalStream(originalContent, originalSize, evidence, limits, checks, summary));
+    }
+
+    /** Runs every check in a fixed order, delegating only the original-content read to the input variant. */
+    private VerificationReport verify(
+            Path proofArchive,
+            VerificationContext suppliedContext,
+            OriginalContentCheck originalCheck
+    ) {
         VerificationContext context = suppliedContext == null ? VerificationContext.offline() : suppliedContext;
         VerificationAccumulator checks = new VerificationAccumulator();
         VerificationSummaryBuilder summary = new VerificationSummaryBuilder();
@@ -105,7 +141,7 @@ public final class DefaultProofVerifier implements ProofVerifier {
             validatePolicyAndReadme(evidence, archive, checks);
             boolean chunkManifestValid = validateChunkManifestShape(evidence, context.limits(), checks);
             if (chunkManifestValid) {
-                verifyOriginalFile(originalFile, evidence, context.limits(), checks, summary);
+                originalCheck.verify(evidence, context.limits(), checks, summary);
             } else {
                 checks.indeterminate(
                         "content.original",
@@ -401,7 +437,7 @@ public final class DefaultProofVerifier implements ProofVerifier {
         return valid;
     }
 
-    /** Streams the original file once while computing whole-file and per-chunk SHA-256 values. */
+    /** Reads the original file once while computing whole-file and per-chunk SHA-256 values. */
     private void verifyOriginalFile(
             Path originalFile,
             ParsedEvidence evidence,
@@ -421,45 +457,77 @@ public final class DefaultProofVerifier implements ProofVerifier {
             return;
         }
         Set<OpenOption> options = Set.of(StandardOpenOption.READ, LinkOption.NOFOLLOW_LINKS);
-        try (SeekableByteChannel channel = Files.newByteChannel(originalFile, options);
-             InputStream input = Channels.newInputStream(channel)) {
-            long fileSize = channel.size();
+        try (SeekableByteChannel channel = Files.newByteChannel(originalFile, options)) {
+            verifyOriginalContent(channel, channel.size(), evidence, limits, checks, summary);
+        } catch (IOException e) {
+            checks.error("content.io", "content", VerificationCode.VERIFICATION_IO_ERROR,
+                    "Original file could not be read completely");
+        }
+    }
+
+    /** Hashes a caller-owned original stream once; size checks use the declared length before any read. */
+    private void verifyOriginalStream(
+            InputStream originalContent,
+            long originalSize,
+            ParsedEvidence evidence,
+            VerificationLimits limits,
+            VerificationAccumulator checks,
+            VerificationSummaryBuilder summary
+    ) {
+        if (originalContent == null || originalSize < 0) {
+            checks.error("content.input", "content", VerificationCode.VERIFICATION_IO_ERROR,
+                    "Original input must be a readable stream with a non-negative length");
+            return;
+        }
+        SignedProofBundleModel.ChunkManifestEvidence chunk = evidence.chunkManifest();
+        if (chunk.chunks() == null || chunk.chunks().isEmpty()) {
+            return;
+        }
+        try {
+            verifyOriginalContent(
+                    Channels.newChannel(originalContent), originalSize, evidence, limits, checks, summary);
+        } catch (IOException e) {
+            checks.error("content.io", "content", VerificationCode.VERIFICATION_IO_ERROR,
+                    "Original file could not be read completely");
+        }
+    }
+
+    /** Computes whole-file and per-chunk SHA-256 values from one sequential read of the original bytes. */
+    private void verifyOriginalContent(
+            ReadableByteChannel channel,
+            long fileSize,
+            ParsedEvidence evidence,
+            VerificationLimits limits,
+            VerificationAccumulator checks,
+            VerificationSummaryBuilder summary
+    ) throws IOException {
+        SignedProofBundleModel.ChunkManifestEvidence chunk = evidence.chunkManifest();
+        try {
             if (fileSize > limits.maxOriginalFileBytes()) {
                 checks.error("content.limit", "content", VerificationCode.FILE_TOO_LARGE,
                         "Original file exceeds the configured verification byte limit");
                 return;
             }
             if (fileSize != chunk.totalSize()) {
-                checks.fail("content.size", "content", VerificationCode.FILE_HASH_MISMATCH,
-                        "Original file size does not match signed chunk evidence");
+                failOriginalSize(checks);
                 return;
             }
-            MessageDigest wholeDigest = ProofHashes.newDigest();
-            boolean chunksMatch = true;
-            byte[] buffer = new byte[STREAM_BUFFER_BYTES];
-            for (SignedProofBundleModel.ChunkEvidence item : chunk.chunks()) {
-                MessageDigest chunkDigest = ProofHashes.newDigest();
-                long remaining = item.size();
-                while (remaining > 0) {
-                    int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
-                    if (read < 0) {
-                        chunksMatch = false;
-                        break;
-                    }
-                    wholeDigest.update(buffer, 0, read);
-                    chunkDigest.update(buffer, 0, read);
-                    remaining -= read;
-                }
-                if (remaining != 0
-                        || !ProofHashes.equalsSha256(item.plainHash(),
-                        ProofHashes.formatDigest(chunkDigest.digest()))) {
-                    chunksMatch = false;
-                }
+            List<SignedProofBundleModel.ChunkEvidence> items = chunk.chunks();
+            long[] chunkSizes = new long[items.size()];
+            for (int index = 0; index < chunkSizes.length; index++) {
+                chunkSizes[index] = items.get(index).size();
             }
-            if (input.read() != -1) {
-                chunksMatch = false;
+            OriginalContentHasher.ContentHashes hashes = contentHasher.hash(channel, chunkSizes);
+            if (hashes.truncated() || hashes.trailingBytes()) {
+                // The bytes actually read disagree with the declared length, exactly as a size mismatch would
+                failOriginalSize(checks);
+                return;
+            }
+            boolean chunksMatch = true;
+            for (int index = 0; index < chunkSizes.length && chunksMatch; index++) {
+                chunksMatch = ProofHashes.equalsSha256(items.get(index).plainHash(), hashes.chunkHashes().get(index));
             }
-            String computed = ProofHashes.formatDigest(wholeDigest.digest());
+            String computed = hashes.contentHash();
             summary.computedContentHash = computed;
             String fileHashEntry = parseFileHashEntry(evidence.archiveFileHashBytes());
             boolean fullHashMatches = ProofHashes.equalsSha256(computed, fileHashEntry)
@@ -480,12 +548,14 @@ public final class DefaultProofVerifier implements ProofVerifier {
             }
         } catch (ProofFormatException e) {
             checks.fail("content.file-hash-entry", "content", e.code(), e.getMessage());
-        } catch (IOException e) {
-            checks.error("content.io", "content", VerificationCode.VERIFICATION_IO_ERROR,
-                    "Original file could not be read completely");
         }
     }
 
+    private void failOriginalSize(VerificationAccumulator checks) {
+        checks.fail("content.size", "content", VerificationCode.FILE_HASH_MISMATCH,
+                "Original file size does not match signed chunk evidence");
+    }
+
     /** Validates the Merkle evidence hash, leaf, ordered path, and declared root. */
     private void verifyMerkle(
             ParsedEvidence evidence,
@@ -1044,6 +1114,16 @@ public final class DefaultProofVerifier implements ProofVerifier {
     }
 
     /** Strict protected JWS header. */
+    /** Reads the original input variant once after the signed chunk evidence has been validated. */
+    @FunctionalInterface
+    private interface OriginalContentCheck {
+        void verify(
+                ParsedEvidence evidence,
+                VerificationLimits limits,
+                VerificationAccumulator checks,
+                VerificationSummaryBuilder summary);
+    }
+
     private record JwsHeader(String alg, String kid, Integer keyVersion, String typ) {
     }
 
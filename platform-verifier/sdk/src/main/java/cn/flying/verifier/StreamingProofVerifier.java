@@ -0,0 +1,29 @@
+package cn.flying.verifier;
+
+import cn.flying.verifier.model.VerificationReport;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/** Optional SDK capability for verifying original bytes that can only be read once, such as an upload. */
+public interface StreamingProofVerifier extends ProofVerifier {
+
+    /**
+     * Verifies original content read sequentially at most once, with the same verdicts as {@link #verify}.
+     *
+     * <p>The proof archive is parsed first; the original stream is consumed only when signed chunk evidence
+     * is valid, and never beyond the declared chunk bytes plus one probe byte. A stream whose length differs
+     * from {@code originalSize} fails the content size check. The caller keeps ownership of the stream.
+     *
+     * @param originalContent original bytes positioned at the first content byte
+     * @param originalSize declared original byte length
+     * @param proofArchive signed proof ZIP path
+     * @param context explicit limits and trust resolvers
+     * @return complete stable report
+     */
+    VerificationReport verify(
+            InputStream originalContent,
+            long originalSize,
+            Path proofArchive,
+            VerificationContext context);
+}
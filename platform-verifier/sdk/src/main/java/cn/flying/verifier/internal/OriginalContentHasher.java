@@ -0,0 +1,365 @@
+package cn.flying.verifier.internal;
+
+import cn.flying.verifier.crypto.ProofHashes;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Computes the whole-content SHA-256 and ordered per-chunk SHA-256 values from one sequential read.
+ *
+ * <p>The whole-content digest is a single SHA-256 chain and stays on the reading thread. In parallel mode
+ * each slice is read once into a pooled buffer, fed to the whole-content digest, and split at chunk
+ * boundaries. Each chunk is pinned to one worker lane, so its segments are digested in order while
+ * different chunks hash on different cores. Memory is bounded by {@code (parallelism + 2) * sliceBytes}.
+ *
+ * <p>Lanes are serial queues drained by one process-wide daemon pool sized to the available processors, so
+ * repeated or concurrent hash calls reuse the same bounded set of threads instead of starting new ones.
+ */
+public final class OriginalContentHasher {
+
+    /** Default slice size read from the original file per pooled buffer. */
+    public static final int DEFAULT_SLICE_BYTES = 1024 * 1024;
+
+    private static final int MAX_DEFAULT_PARALLELISM = 8;
+    private static final int SEQUENTIAL_BUFFER_BYTES = 64 * 1024;
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+
+    private final int parallelism;
+    private final int sliceBytes;
+
+    /**
+     * Creates a hasher.
+     *
+     * @param parallelism chunk-hashing worker lanes; {@code 0} hashes everything on the calling thread
+     * @param sliceBytes bytes read per pooled buffer in parallel mode
+     */
+    public OriginalContentHasher(int parallelism, int sliceBytes) {
+        if (parallelism < 0 || sliceBytes <= 0) {
+            throw new IllegalArgumentException("Hasher parallelism must be non-negative and slice size positive");
+        }
+        this.parallelism = parallelism;
+        this.sliceBytes = sliceBytes;
+    }
+
+    /**
+     * Creates a hasher that leaves one core for the reading thread and uses at most eight worker lanes.
+     *
+     * @return default hasher; sequential on single-core hosts
+     */
+    public static OriginalContentHasher defaults() {
+        int workers = Math.min(MAX_DEFAULT_PARALLELISM, Runtime.getRuntime().availableProcessors() - 1);
+        return new OriginalContentHasher(Math.max(0, workers), DEFAULT_SLICE_BYTES);
+    }
+
+    /**
+     * Reads exactly the declared chunk ranges from the channel and hashes them.
+     *
+     * @param channel source positioned at the first content byte
+     * @param chunkSizes positive ordered chunk sizes
+     * @return computed digests and framing state
+     * @throws IOException when the channel cannot be read or hashing is interrupted
+     */
+    public ContentHashes hash(ReadableByteChannel channel, long[] chunkSizes) throws IOException {
+        long total = 0;
+        for (long size : chunkSizes) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Chunk sizes must be positive");
+            }
+            total = Math.addExact(total, size);
+        }
+        if (parallelism == 0 || chunkSizes.length < 2 || total <= 2L * sliceBytes) {
+            return hashSequential(channel, chunkSizes);
+        }
+        return hashParallel(channel, chunkSizes, Math.min(parallelism, chunkSizes.length));
+    }
+
+    private ContentHashes hashSequential(ReadableByteChannel channel, long[] chunkSizes) throws IOException {
+        MessageDigest whole = ProofHashes.newDigest();
+        String[] chunkHashes = new String[chunkSizes.length];
+        ByteBuffer buffer = ByteBuffer.allocate(SEQUENTIAL_BUFFER_BYTES);
+        boolean truncated = false;
+        for (int index = 0; index < chunkSizes.length && !truncated; index++) {
+            MessageDigest chunkDigest = ProofHashes.newDigest();
+            long remaining = chunkSizes[index];
+            while (remaining > 0) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    truncated = true;
+                    break;
+                }
+                whole.update(buffer.array(), 0, read);
+                chunkDigest.update(buffer.array(), 0, read);
+                remaining -= read;
+            }
+            if (!truncated) {
+                chunkHashes[index] = ProofHashes.formatDigest(chunkDigest.digest());
+            }
+        }
+        return new ContentHashes(
+                ProofHashes.formatDigest(whole.digest()),
+                Arrays.asList(chunkHashes),
+                truncated,
+                !truncated && hasTrailingBytes(channel));
+    }
+
+    private ContentHashes hashParallel(ReadableByteChannel channel, long[] chunkSizes, int lanes)
+            throws IOException {
+        BlockingQueue<byte[]> pool = new ArrayBlockingQueue<>(lanes + 2);
+        for (int index = 0; index < lanes + 2; index++) {
+            pool.add(new byte[sliceBytes]);
+        }
+        Lane[] workers = new Lane[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            workers[lane] = new Lane(SharedWorkers.POOL);
+        }
+        InFlight inFlight = new InFlight();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        MessageDigest whole = ProofHashes.newDigest();
+        MessageDigest[] chunkDigests = new MessageDigest[chunkSizes.length];
+        String[] chunkHashes = new String[chunkSizes.length];
+        AtomicReference<RuntimeException> workerFailure = new AtomicReference<>();
+        boolean truncated = false;
+        boolean drained = false;
+        try {
+            int chunk = 0;
+            long chunkRemaining = chunkSizes[0];
+            while (chunk < chunkSizes.length && workerFailure.get() == null) {
+                byte[] slice = takeBuffer(pool);
+                int filled = readSlice(channel, slice, totalRemaining(chunkSizes, chunk, chunkRemaining));
+                if (filled == 0) {
+                    pool.add(slice);
+                    truncated = true;
+                    break;
+                }
+                whole.update(slice, 0, filled);
+
+                List<Segment> segments = new ArrayList<>();
+                int offset = 0;
+                while (offset < filled) {
+                    int length = (int) Math.min(filled - offset, chunkRemaining);
+                    chunkRemaining -= length;
+                    segments.add(new Segment(chunk, offset, length, chunkRemaining == 0));
+                    offset += length;
+                    if (chunkRemaining == 0 && ++chunk < chunkSizes.length) {
+                        chunkRemaining = chunkSizes[chunk];
+                    }
+                }
+                AtomicInteger pending = new AtomicInteger(segments.size());
+                for (Segment segment : segments) {
+                    inFlight.add();
+                    workers[segment.chunk() % lanes].execute(() -> {
+                        try {
+                            if (abandoned.get()) {
+                                return;
+                            }
+                            MessageDigest digest = chunkDigests[segment.chunk()];
+                            if (digest == null) {
+                                digest = ProofHashes.newDigest();
+                                chunkDigests[segment.chunk()] = digest;
+                            }
+                            digest.update(slice, segment.offset(), segment.length());
+                            if (segment.completesChunk()) {
+                                chunkHashes[segment.chunk()] = ProofHashes.formatDigest(digest.digest());
+                                chunkDigests[segment.chunk()] = null;
+                            }
+                        } catch (RuntimeException e) {
+                            workerFailure.compareAndSet(null, e);
+                        } finally {
+                            if (pending.decrementAndGet() == 0) {
+                                pool.add(slice);
+                            }
+                            inFlight.done();
+                        }
+                    });
+                }
+            }
+            awaitWorkers(inFlight);
+            drained = true;
+        } finally {
+            if (!drained) {
+                // Queued segments of a failed call only release their buffers; shared threads stay alive.
+                abandoned.set(true);
+            }
+        }
+        if (workerFailure.get() != null) {
+            throw workerFailure.get();
+        }
+        return new ContentHashes(
+                ProofHashes.formatDigest(whole.digest()),
+                Arrays.asList(chunkHashes),
+                truncated,
+                !truncated && hasTrailingBytes(channel));
+    }
+
+    private long totalRemaining(long[] chunkSizes, int chunk, long chunkRemaining) {
+        long remaining = chunkRemaining;
+        for (int index = chunk + 1; index < chunkSizes.length; index++) {
+            remaining += chunkSizes[index];
+        }
+        return remaining;
+    }
+
+    /** Fills the slice up to the remaining declared length; returns fewer bytes only at end of stream. */
+    private int readSlice(ReadableByteChannel channel, byte[] slice, long remaining) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(slice, 0, (int) Math.min(slice.length, remaining));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
+    private boolean hasTrailingBytes(ReadableByteChannel channel) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(1);
+        int read;
+        do {
+            read = channel.read(probe);
+        } while (read == 0);
+        return read > 0;
+    }
+
+    private byte[] takeBuffer(BlockingQueue<byte[]> pool) throws InterruptedIOException {
+        try {
+            return pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Original-file hashing was interrupted");
+        }
+    }
+
+    private void awaitWorkers(InFlight inFlight) throws InterruptedIOException {
+        try {
+            inFlight.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Original-file hashing was interrupted");
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "proof-chunk-hasher-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Segment(int chunk, int offset, int length, boolean completesChunk) {
+    }
+
+    /** Process-wide worker pool; idle threads time out, so an unused hasher holds no threads. */
+    private static final class SharedWorkers {
+
+        private static final ThreadPoolExecutor POOL = newPool();
+
+        private static ThreadPoolExecutor newPool() {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    threads,
+                    threads,
+                    WORKER_KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    daemonThreads());
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    /** Runs its tasks one at a time, in submission order, on the shared pool. */
+    private static final class Lane implements Executor {
+
+        private final Executor pool;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean draining;
+
+        private Lane(Executor pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            synchronized (this) {
+                tasks.add(task);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            pool.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                task.run();
+            }
+        }
+    }
+
+    /** Counts submitted segments of one hash call that have not finished yet. */
+    private static final class InFlight {
+
+        private long count;
+
+        private synchronized void add() {
+            count++;
+        }
+
+        private synchronized void done() {
+            if (--count == 0) {
+                notifyAll();
+            }
+        }
+
+        private synchronized void await() throws InterruptedException {
+            while (count > 0) {
+                wait();
+            }
+        }
+    }
+
+    /**
+     * Digests computed from one read of the original content.
+     *
+     * @param contentHash prefixed SHA-256 of every byte read for the declared chunks
+     * @param chunkHashes prefixed SHA-256 per chunk; {@code null} for chunks cut short by end of stream
+     * @param truncated whether the stream ended before all declared chunk bytes were read
+     * @param trailingBytes whether bytes remain after the declared chunks
+     */
+    public record ContentHashes(
+            String contentHash,
+            List<String> chunkHashes,
+            boolean truncated,
+            boolean trailingBytes
+    ) {
+    }
+}
@@ -0,0 +1,187 @@
+package cn.flying.verifier;
+
+import cn.flying.verifier.model.VerificationCode;
+import cn.flying.verifier.model.VerificationOutcome;
+import cn.flying.verifier.model.VerificationReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Proves single-read stream verification returns the same reports as path verification on good and tampered input.
+ */
+class StreamingProofVerifierTest {
+
+    private static final int CHUNK_BYTES = 256 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private DefaultProofVerifier verifier;
+    private VerifierTestFixture.Fixture small;
+    private VerifierTestFixture.Fixture chunked;
+
+    /** Creates a single-chunk fixture and a multi-chunk fixture large enough for parallel chunk hashing. */
+    @BeforeEach
+    void setUp() throws Exception {
+        verifier = new DefaultProofVerifier();
+        small = new VerifierTestFixture().create(directory.resolve("small"));
+        byte[] content = new byte[12 * CHUNK_BYTES + 1234];
+        new Random(47L).nextBytes(content);
+        chunked = new VerifierTestFixture().createChunked(directory.resolve("chunked"), content, CHUNK_BYTES);
+    }
+
+    /** Matches path reports for every corpus variant, with both honest and signed-size declared lengths. */
+    @Test
+    void shouldMatchPathVerificationOnGoodAndTamperedCorpus() throws Exception {
+        for (VerifierTestFixture.Fixture fixture : new VerifierTestFixture.Fixture[]{small, chunked}) {
+            long signedSize = fixture.originalBytes().length;
+            for (Map.Entry<String, byte[]> variant : corpus(fixture.originalBytes()).entrySet()) {
+                Path file = directory.resolve("variant-" + variant.getKey() + ".bin");
+                Files.write(file, variant.getValue());
+                VerificationReport expected = verifier.verify(file, fixture.proof(), VerifierTestFixture.context(fixture));
+
+                VerificationReport streamed = verifier.verify(
+                        new ByteArrayInputStream(variant.getValue()),
+                        variant.getValue().length,
+                        fixture.proof(),
+                        VerifierTestFixture.context(fixture));
+                VerificationReport misdeclared = verifier.verify(
+                        new ByteArrayInputStream(variant.getValue()),
+                        signedSize,
+                        fixture.proof(),
+                        VerifierTestFixture.context(fixture));
+
+                assertThat(streamed).as("declared actual length: %s", variant.getKey()).isEqualTo(expected);
+                assertThat(misdeclared).as("declared signed length: %s", variant.getKey()).isEqualTo(expected);
+                if (!"good".equals(variant.getKey())) {
+                    assertThat(streamed.outcome()).as(variant.getKey()).isEqualTo(VerificationOutcome.INVALID);
+                }
+            }
+            assertThat(verifier.verify(
+                    new ByteArrayInputStream(fixture.originalBytes()),
+                    signedSize,
+                    fixture.proof(),
+                    VerifierTestFixture.context(fixture)).outcome()).isEqualTo(VerificationOutcome.VALID);
+        }
+    }
+
+    /** Stops reading after the signed chunk bytes plus one probe byte, however long the stream is. */
+    @Test
+    void shouldReadAtMostSignedBytesPlusProbe() {
+        byte[] original = chunked.originalBytes();
+        byte[] padded = Arrays.copyOf(original, original.length + 4 * CHUNK_BYTES);
+        CountingInputStream input = new CountingInputStream(new ByteArrayInputStream(padded));
+
+        VerificationReport report = verifier.verify(
+                input, original.length, chunked.proof(), VerifierTestFixture.context(chunked));
+
+        assertThat(report.outcome()).isEqualTo(VerificationOutcome.INVALID);
+        assertThat(report.checks()).extracting(check -> check.id()).contains("content.size");
+        assertThat(input.consumed).isEqualTo(original.length + 1L);
+    }
+
+    /** Leaves the original stream untouched when the proof archive cannot be trusted to declare chunk sizes. */
+    @Test
+    void shouldNotReadOriginalWhenProofIsMalformed() throws Exception {
+        Path malformed = directory.resolve("malformed.zip");
+        Files.write(malformed, new byte[]{1, 2, 3});
+        CountingInputStream input = new CountingInputStream(new ByteArrayInputStream(small.originalBytes()));
+
+        VerificationReport report = verifier.verify(
+                input, small.originalBytes().length, malformed, VerifierTestFixture.context(small));
+
+        assertThat(report.outcome()).isEqualTo(VerificationOutcome.ERROR);
+        assertThat(input.consumed).isZero();
+    }
+
+    /** Reports an unreadable stream as an explicit processing error, like an unreadable original path. */
+    @Test
+    void shouldReportStreamReadFailureAsError() {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("upload aborted");
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                throw new IOException("upload aborted");
+            }
+        };
+
+        VerificationReport report = verifier.verify(
+                failing, small.originalBytes().length, small.proof(), VerifierTestFixture.context(small));
+
+        assertThat(report.outcome()).isEqualTo(VerificationOutcome.ERROR);
+        assertThat(report.checks()).extracting(check -> check.code())
+                .contains(VerificationCode.VERIFICATION_IO_ERROR);
+    }
+
+    /** Builds the good original plus same-length, shortened, and lengthened tampering variants. */
+    private Map<String, byte[]> corpus(byte[] original) {
+        Map<String, byte[]> corpus = new LinkedHashMap<>();
+        corpus.put("good", original.clone());
+        corpus.put("first-byte", flip(original, 0));
+        corpus.put("middle-byte", flip(original, original.length / 2));
+        corpus.put("last-byte", flip(original, original.length - 1));
+        corpus.put("truncated", Arrays.copyOf(original, original.length - 1));
+        corpus.put("appended", Arrays.copyOf(original, original.length + 1));
+        corpus.put("empty", new byte[0]);
+        if (original.length > CHUNK_BYTES) {
+            corpus.put("chunk-dropped", Arrays.copyOfRange(original, CHUNK_BYTES, original.length));
+            byte[] swapped = original.clone();
+            System.arraycopy(original, 0, swapped, CHUNK_BYTES, CHUNK_BYTES);
+            System.arraycopy(original, CHUNK_BYTES, swapped, 0, CHUNK_BYTES);
+            corpus.put("chunks-swapped", swapped);
+        }
+        return corpus;
+    }
+
+    private byte[] flip(byte[] original, int index) {
+        byte[] tampered = original.clone();
+        tampered[index] ^= 1;
+        return tampered;
+    }
+
+    /** Counts bytes handed to the verifier. */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long consumed;
+
+        private CountingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                consumed++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                consumed += read;
+            }
+            return read;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -68,10 +69,26 @@ public final class VerifierTestFixture {
         return create(directory, "CHAIN_QUERY_AFTER_WRITE", null);
     }
 
+    /** Creates a valid fixture signing the given original bytes split into fixed-size chunks. */
+    public Fixture createChunked(Path directory, byte[] originalBytes, int chunkSize) throws Exception {
+        return create(directory, "CHAIN_WRITE", TRANSACTION_HASH, originalBytes, chunkSize);
+    }
+
     /** Creates one fixture for the selected valid receipt-source and transaction-hash combination. */
     private Fixture create(Path directory, String confirmationSource, String batchTransactionHash) throws Exception {
-        Files.createDirectories(directory);
         byte[] originalBytes = "RecordPlatform public verifier fixture\n".getBytes(StandardCharsets.UTF_8);
+        return create(directory, confirmationSource, batchTransactionHash, originalBytes, originalBytes.length);
+    }
+
+    /** Creates one fixture whose signed chunk evidence covers the given original bytes. */
+    private Fixture create(
+            Path directory,
+            String confirmationSource,
+            String batchTransactionHash,
+            byte[] originalBytes,
+            int chunkSize
+    ) throws Exception {
+        Files.createDirectories(directory);
         Path original = directory.resolve("original.txt");
         Files.write(original, originalBytes);
 
@@ -83,6 +100,19 @@ public final class VerifierTestFixture {
 
         String contentHash = ProofHashes.sha256(originalBytes);
         String sourceManifestHash = ProofHashes.sha256("source-manifest-v1");
+        List<SignedProofBundleModel.ChunkEvidence> chunkEvidence = new ArrayList<>();
+        for (int offset = 0; offset < originalBytes.length; offset += chunkSize) {
+            int index = chunkEvidence.size();
+            byte[] plain = Arrays.copyOfRange(
+                    originalBytes, offset, Math.min(originalBytes.length, offset + chunkSize));
+            chunkEvidence.add(new SignedProofBundleModel.ChunkEvidence(
+                    index,
+                    ProofHashes.sha256(plain),
+                    ProofHashes.sha256("cipher-object-v" + (index + 1)),
+                    plain.length,
+                    "tenant/public/file/1/chunk/" + index,
+                    "SHA-256"));
+        }
         SignedProofBundleModel.ChunkManifestEvidence chunks = new SignedProofBundleModel.ChunkManifestEvidence(
                 SignedProofBundleContract.CHUNK_SCHEMA,
                 FILE_ID,
@@ -92,18 +122,12 @@ public final class VerifierTestFixture {
                 sourceManifestHash,
                 SignedProofBundleContract.SOURCE_CHUNK_MANIFEST_SCHEMA,
                 "SHA-256",
-                originalBytes.length,
-                1,
+                chunkSize,
+                chunkEvidence.size(),
                 originalBytes.length,
                 "AES-256-GCM",
                 "S3_COMPATIBLE",
-                List.of(new SignedProofBundleModel.ChunkEvidence(
-                        0,
-                        contentHash,
-                        ProofHashes.sha256("cipher-object-v1"),
-                        originalBytes.length,
-                        "tenant/public/file/1/chunk/0",
-                        "SHA-256")));
+                chunkEvidence);
 
         String leafHash = MerkleProofs.calculateLeafHash(sourceManifestHash);
         SignedProofBundleModel.MerkleProofEvidence merkle = new SignedProofBundleModel.MerkleProofEvidence(
@@ -0,0 +1,200 @@
+package cn.flying.verifier.internal;
+
+import cn.flying.verifier.crypto.ProofHashes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Verifies that parallel original-file hashing matches the single-threaded digest contract. */
+class OriginalContentHasherTest {
+
+    private static final int SLICE_BYTES = 4096;
+
+    /** Produces identical digests for sequential, parallel, and direct hashing when chunks straddle slices. */
+    @Test
+    void shouldMatchSequentialDigestsAcrossUnalignedChunks() throws IOException {
+        long[] chunkSizes = {5000, 1, 12_289, 4096, 7, 30_000, 2048};
+        byte[] content = randomBytes(Arrays.stream(chunkSizes).sum(), 7);
+
+        OriginalContentHasher.ContentHashes sequential =
+                new OriginalContentHasher(0, SLICE_BYTES).hash(channel(content), chunkSizes);
+        OriginalContentHasher.ContentHashes parallel =
+                new OriginalContentHasher(3, SLICE_BYTES).hash(shortReadChannel(content), chunkSizes);
+
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel.contentHash()).isEqualTo(ProofHashes.sha256(content));
+        assertThat(parallel.chunkHashes()).containsExactlyElementsOf(directChunkHashes(content, chunkSizes));
+        assertThat(parallel.truncated()).isFalse();
+        assertThat(parallel.trailingBytes()).isFalse();
+    }
+
+    /** Reports truncation with the same partial digests when the stream ends inside a later chunk. */
+    @Test
+    void shouldReportTruncationIdenticallyInBothModes() throws IOException {
+        long[] chunkSizes = {6000, 6000, 6000, 6000};
+        byte[] content = Arrays.copyOf(randomBytes(24_000, 11), 14_000);
+
+        OriginalContentHasher.ContentHashes sequential =
+                new OriginalContentHasher(0, SLICE_BYTES).hash(channel(content), chunkSizes);
+        OriginalContentHasher.ContentHashes parallel =
+                new OriginalContentHasher(2, SLICE_BYTES).hash(channel(content), chunkSizes);
+
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel.truncated()).isTrue();
+        assertThat(parallel.contentHash()).isEqualTo(ProofHashes.sha256(content));
+        assertThat(parallel.chunkHashes().subList(0, 2))
+                .containsExactlyElementsOf(directChunkHashes(Arrays.copyOf(content, 12_000), new long[]{6000, 6000}));
+        assertThat(parallel.chunkHashes().subList(2, 4)).containsOnlyNulls();
+    }
+
+    /** Detects bytes after the declared chunks without folding them into any digest. */
+    @Test
+    void shouldDetectTrailingBytesAfterDeclaredChunks() throws IOException {
+        long[] chunkSizes = {9000, 9000};
+        byte[] declared = randomBytes(18_000, 13);
+        byte[] content = Arrays.copyOf(declared, declared.length + 1);
+
+        OriginalContentHasher.ContentHashes parallel =
+                new OriginalContentHasher(2, SLICE_BYTES).hash(channel(content), chunkSizes);
+
+        assertThat(parallel.trailingBytes()).isTrue();
+        assertThat(parallel.truncated()).isFalse();
+        assertThat(parallel.contentHash()).isEqualTo(ProofHashes.sha256(declared));
+    }
+
+    /** Reuses one bounded worker pool across calls instead of starting new lane threads per hash. */
+    @Test
+    void shouldReuseBoundedWorkerThreadsAcrossCalls() throws IOException {
+        long[] chunkSizes = {9000, 9000, 9000, 9000};
+        byte[] content = randomBytes(Arrays.stream(chunkSizes).sum(), 19);
+        OriginalContentHasher hasher = new OriginalContentHasher(4, SLICE_BYTES);
+        OriginalContentHasher.ContentHashes expected =
+                new OriginalContentHasher(0, SLICE_BYTES).hash(channel(content), chunkSizes);
+
+        for (int call = 0; call < 20; call++) {
+            assertThat(new OriginalContentHasher(4, SLICE_BYTES).hash(channel(content), chunkSizes))
+                    .isEqualTo(expected);
+            assertThat(hasher.hash(shortReadChannel(content), chunkSizes)).isEqualTo(expected);
+        }
+
+        long hasherThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("proof-chunk-hasher-"))
+                .count();
+        assertThat(hasherThreads).isBetween(1L, (long) Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Rejects invalid hasher settings and non-positive chunk sizes before reading. */
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new OriginalContentHasher(-1, SLICE_BYTES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OriginalContentHasher(1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OriginalContentHasher(1, SLICE_BYTES)
+                .hash(channel(new byte[1]), new long[]{1, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Compares single-threaded and parallel hashing of a large file; run with {@code -Dverifier.benchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "verifier.benchmark", matches = "true")
+    void shouldCompareSequentialAndParallelThroughput(@TempDir Path directory) throws IOException {
+        int chunkBytes = 4 * 1024 * 1024;
+        long[] chunkSizes = new long[128];
+        Arrays.fill(chunkSizes, chunkBytes);
+        Path original = directory.resolve("original.bin");
+        byte[] block = randomBytes(chunkBytes, 17);
+        try (FileChannel out = FileChannel.open(original, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for (int index = 0; index < chunkSizes.length; index++) {
+                out.write(ByteBuffer.wrap(block));
+            }
+        }
+        OriginalContentHasher sequential = new OriginalContentHasher(0, OriginalContentHasher.DEFAULT_SLICE_BYTES);
+        OriginalContentHasher parallel = OriginalContentHasher.defaults();
+
+        OriginalContentHasher.ContentHashes expected = timeHash(sequential, original, chunkSizes, "warmup-sequential");
+        timeHash(parallel, original, chunkSizes, "warmup-parallel");
+        timeHash(sequential, original, chunkSizes, "sequential");
+        OriginalContentHasher.ContentHashes actual = timeHash(parallel, original, chunkSizes, "parallel");
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(Files.size(original)).isEqualTo((long) chunkBytes * chunkSizes.length);
+    }
+
+    private static OriginalContentHasher.ContentHashes timeHash(
+            OriginalContentHasher hasher, Path original, long[] chunkSizes, String label) throws IOException {
+        long started = System.nanoTime();
+        try (FileChannel input = FileChannel.open(original, StandardOpenOption.READ)) {
+            OriginalContentHasher.ContentHashes result = hasher.hash(input, chunkSizes);
+            long millis = (System.nanoTime() - started) / 1_000_000;
+            System.out.printf("original-file hashing %-18s %6d ms%n", label, millis);
+            return result;
+        }
+    }
+
+    private static List<String> directChunkHashes(byte[] content, long[] chunkSizes) {
+        List<String> hashes = new ArrayList<>();
+        int offset = 0;
+        for (long size : chunkSizes) {
+            hashes.add(ProofHashes.sha256(Arrays.copyOfRange(content, offset, offset + (int) size)));
+            offset += (int) size;
+        }
+        return hashes;
+    }
+
+    private static byte[] randomBytes(long size, long seed) {
+        byte[] bytes = new byte[Math.toIntExact(size)];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static ReadableByteChannel channel(byte[] content) {
+        return Channels.newChannel(new ByteArrayInputStream(content));
+    }
+
+    /** Returns at most 1000 bytes per read so slice filling must loop. */
+    private static ReadableByteChannel shortReadChannel(byte[] content) {
+        ReadableByteChannel delegate = channel(content);
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer target) throws IOException {
+                ByteBuffer window = target.slice();
+                window.limit(Math.min(window.limit(), 1000));
+                int read = delegate.read(window);
+                if (read > 0) {
+                    target.position(target.position() + read);
+                }
+                return read;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return delegate.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package cn.flying.verifier.web;
 
 import cn.flying.verifier.ProofVerifier;
+import cn.flying.verifier.StreamingProofVerifier;
 import cn.flying.verifier.VerificationContext;
 import cn.flying.verifier.contract.SignedProofBundleContract;
 import cn.flying.verifier.model.VerificationReport;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -22,7 +24,10 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Streams multipart inputs to private temporary files and invokes the SDK under a concurrency bound.
+ * Streams multipart inputs into the SDK under a concurrency bound.
+ *
+ * <p>Streaming-capable verifiers hash the original part while reading it once; only the proof archive, which
+ * needs random access, is copied to a private temporary file. Path-only verifiers receive both parts as files.
  */
 @Service
 public final class VerificationService {
@@ -62,8 +67,6 @@ public final class VerificationService {
         Path directory = null;
         try {
             directory = Files.createTempDirectory("record-platform-verifier-");
-            Path originalPath = copyToTemp(
-                    original, directory, "original-", properties.maxOriginalFileBytes(), "ORIGINAL_TOO_LARGE");
             Path proofPath = copyToTemp(
                     proof, directory, "proof-", SignedProofBundleContract.MAX_ARCHIVE_BYTES, "PROOF_TOO_LARGE");
             byte[] trustedKeyBytes = readOptionalBytes(
@@ -74,6 +77,11 @@ public final class VerificationService {
             } catch (IllegalArgumentException e) {
                 throw badRequest("TRUSTED_KEY_INVALID", "The trusted key JSON is invalid");
             }
+            if (verifier instanceof StreamingProofVerifier streamingVerifier) {
+                return verifyStreaming(streamingVerifier, original, proofPath, context);
+            }
+            Path originalPath = copyToTemp(
+                    original, directory, "original-", properties.maxOriginalFileBytes(), "ORIGINAL_TOO_LARGE");
             return verifier.verify(originalPath, proofPath, context);
         } catch (VerificationRequestException e) {
             throw e;
@@ -88,6 +96,30 @@ public final class VerificationService {
         }
     }
 
+    /** Hashes the original part in its single read and applies the same byte limit as the temporary copy. */
+    private VerificationReport verifyStreaming(
+            StreamingProofVerifier streamingVerifier,
+            MultipartFile original,
+            Path proofPath,
+            VerificationContext context
+    ) throws IOException {
+        long maxBytes = properties.maxOriginalFileBytes();
+        rejectDeclaredOversize(original, maxBytes, "ORIGINAL_TOO_LARGE");
+        try (BoundedInputStream input = new BoundedInputStream(original.getInputStream(), maxBytes)) {
+            VerificationReport report = streamingVerifier.verify(input, original.getSize(), proofPath, context);
+            if (input.limitExceeded) {
+                throw new VerificationRequestException(
+                        HttpStatus.PAYLOAD_TOO_LARGE,
+                        "ORIGINAL_TOO_LARGE",
+                        "An uploaded part exceeds its configured byte limit");
+            }
+            if (input.readFailed) {
+                throw new IOException("The original part could not be read completely");
+            }
+            return report;
+        }
+    }
+
     /** Rejects a missing multipart part while permitting a legitimate zero-byte original file. */
     private void requirePart(MultipartFile part, String name) {
         if (part == null) {
@@ -208,4 +240,49 @@ public final class VerificationService {
     private VerificationRequestException badRequest(String code, String message) {
         return new VerificationRequestException(HttpStatus.BAD_REQUEST, code, message);
     }
+
+    /** Fails the first read beyond the limit and remembers failures, since the SDK reports read errors in-band. */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long total;
+        private boolean limitExceeded;
+        private boolean readFailed;
+
+        private BoundedInputStream(InputStream input, long maxBytes) {
+            super(input);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read;
+            try {
+                read = super.read(buffer, offset, length);
+            } catch (IOException e) {
+                readFailed = true;
+                throw e;
+            }
+            if (read > 0) {
+                total = Math.addExact(total, read);
+                if (total > maxBytes) {
+                    limitExceeded = true;
+                    throw new IOException("Uploaded part exceeds its configured byte limit");
+                }
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            throw new IOException("Skipping an uploaded part is not supported");
+        }
+    }
 }
@@ -1,10 +1,15 @@
 package cn.flying.verifier.web;
 
+import cn.flying.verifier.DefaultProofVerifier;
 import cn.flying.verifier.ProofVerifier;
+import cn.flying.verifier.StreamingProofVerifier;
+import cn.flying.verifier.VerificationContext;
+import cn.flying.verifier.VerifierTestFixture;
 import cn.flying.verifier.model.VerificationOutcome;
 import cn.flying.verifier.model.VerificationReport;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -13,12 +18,19 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -28,7 +40,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
- * Request-service tests for byte limits, bounded concurrency, and fixed-window admission.
+ * Request-service tests for byte limits, streaming verification, bounded concurrency, and fixed-window admission.
  */
 class VerificationServiceTest {
 
@@ -198,6 +210,113 @@ class VerificationServiceTest {
         assertThat(temporaryVerifierDirectories()).isEqualTo(before);
     }
 
+    /** Returns the same reports as path verification for good and tampered originals uploaded as streams. */
+    @Test
+    void shouldMatchPathVerificationWhenStreamingOriginal(@TempDir Path directory) throws Exception {
+        VerifierProperties properties = properties(16L * 1024 * 1024, 1, Duration.ofMillis(10));
+        VerificationContextFactory contextFactory = new VerificationContextFactory(
+                properties, Clock.fixed(VerifierTestFixture.NOW, ZoneOffset.UTC));
+        DefaultProofVerifier verifier = new DefaultProofVerifier();
+        VerificationService service = new VerificationService(verifier, contextFactory, properties);
+        byte[] content = new byte[9 * 256 * 1024 + 17];
+        new Random(47L).nextBytes(content);
+        VerifierTestFixture.Fixture fixture = new VerifierTestFixture()
+                .createChunked(directory.resolve("fixture"), content, 256 * 1024);
+        byte[] proofBytes = Files.readAllBytes(fixture.proof());
+        byte[] tampered = content.clone();
+        tampered[content.length / 2] ^= 1;
+        Map<String, byte[]> corpus = new LinkedHashMap<>();
+        corpus.put("good", content);
+        corpus.put("tampered", tampered);
+        corpus.put("truncated", Arrays.copyOf(content, content.length - 1));
+        corpus.put("appended", Arrays.copyOf(content, content.length + 1));
+
+        for (Map.Entry<String, byte[]> variant : corpus.entrySet()) {
+            Path file = directory.resolve(variant.getKey() + ".bin");
+            Files.write(file, variant.getValue());
+            VerificationReport expected = verifier.verify(file, fixture.proof(), contextFactory.create(null));
+
+            VerificationReport streamed = service.verify(
+                    new MockMultipartFile("original", variant.getValue()),
+                    new MockMultipartFile("proof", proofBytes),
+                    null);
+
+            assertThat(streamed).as(variant.getKey()).isEqualTo(expected);
+        }
+    }
+
+    /** Copies only the proof archive to temporary storage when the verifier can hash the original stream. */
+    @Test
+    void shouldNotSpillOriginalForStreamingVerifier() {
+        VerifierProperties properties = properties(1024, 1, Duration.ofMillis(10));
+        List<String> temporaryFiles = new ArrayList<>();
+        StreamingProofVerifier verifier = new StreamingProofVerifier() {
+            @Override
+            public VerificationReport verify(Path original, Path proof, VerificationContext context) {
+                throw new AssertionError("path verification must not be used for a streaming verifier");
+            }
+
+            @Override
+            public VerificationReport verify(
+                    InputStream original, long originalSize, Path proof, VerificationContext context) {
+                try (var paths = Files.list(proof.getParent())) {
+                    paths.forEach(path -> temporaryFiles.add(path.getFileName().toString()));
+                    assertThat(original.readAllBytes()).containsExactly(1, 2, 3);
+                } catch (java.io.IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+                assertThat(originalSize).isEqualTo(3L);
+                return report();
+            }
+        };
+        VerificationService service = new VerificationService(
+                verifier, new VerificationContextFactory(properties, Clock.systemUTC()), properties);
+
+        service.verify(
+                new MockMultipartFile("original", new byte[]{1, 2, 3}),
+                new MockMultipartFile("proof", new byte[]{2}),
+                null);
+
+        assertThat(temporaryFiles).hasSize(1).allMatch(name -> name.startsWith("proof-"));
+    }
+
+    /** Enforces the streaming byte limit for streaming verifiers even when the SDK swallows the read failure. */
+    @Test
+    void shouldRejectStreamingOriginalLimitBypassForStreamingVerifier() {
+        VerifierProperties properties = properties(4, 1, Duration.ofMillis(10));
+        StreamingProofVerifier verifier = new StreamingProofVerifier() {
+            @Override
+            public VerificationReport verify(Path original, Path proof, VerificationContext context) {
+                throw new AssertionError("path verification must not be used for a streaming verifier");
+            }
+
+            @Override
+            public VerificationReport verify(
+                    InputStream original, long originalSize, Path proof, VerificationContext context) {
+                try {
+                    original.readAllBytes();
+                } catch (java.io.IOException ignored) {
+                    // The SDK reports read failures inside the report rather than throwing.
+                }
+                return report();
+            }
+        };
+        VerificationService service = new VerificationService(
+                verifier, new VerificationContextFactory(properties, Clock.systemUTC()), properties);
+        MockMultipartFile understated = new MockMultipartFile("original", new byte[5]) {
+            @Override
+            public long getSize() {
+                return 4L;
+            }
+        };
+
+        assertThatThrownBy(() -> service.verify(understated, new MockMultipartFile("proof", new byte[]{2}), null))
+                .isInstanceOfSatisfying(VerificationRequestException.class, error -> {
+                    assertThat(error.status()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+                    assertThat(error.code()).isEqualTo("ORIGINAL_TOO_LARGE");
+                });
+    }
+
     /** Returns the complete public 429 contract when the direct-peer fixed window is exhausted. */
     @Test
     void shouldReturnRateLimitHttpResponse() throws Exception {